@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.presto.CompressionCodec;
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.BlockEncodingManager;
+import com.facebook.presto.execution.buffer.PagesSerdeFactory;
+import com.facebook.presto.spi.page.PagesSerde;
+import com.facebook.presto.spi.page.SerializedPage;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+
+import static com.facebook.presto.CompressionCodec.NONE;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkSuite.runBenchmark;
+import static com.facebook.presto.benchmark.jmh.TpchPages.tpchPages;
+import static com.facebook.presto.spi.page.PagesSerdeUtil.readSerializedPages;
+import static com.facebook.presto.spi.page.PagesSerdeUtil.writeSerializedPage;
+import static io.airlift.tpch.TpchTable.LINE_ITEM;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+/**
+ * What an exchange does with the response of an upstream task: split the serialized pages out of the
+ * response body, then decompress and deserialize them as the exchange operator does.
+ */
+@State(Thread)
+@OutputTimeUnit(MILLISECONDS)
+@BenchmarkMode(AverageTime)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BenchmarkTpchExchangeDeserialization
+{
+    @State(Thread)
+    public static class Context
+            extends OperatorBenchmarkContext
+    {
+        @Param({"NONE", "LZ4", "ZSTD"})
+        private CompressionCodec codec = NONE;
+
+        private PagesSerde pagesSerde;
+        private Slice response;
+
+        @Setup
+        public void setup()
+        {
+            TpchPages lineitem = tpchPages(LINE_ITEM, scaleFactor, "orderkey", "partkey", "quantity", "extendedprice", "shipdate", "comment");
+            pagesSerde = new PagesSerdeFactory(new BlockEncodingManager(), codec).createPagesSerde();
+
+            DynamicSliceOutput output = new DynamicSliceOutput(1024);
+            for (Page page : lineitem.getPages()) {
+                writeSerializedPage(output, pagesSerde.serialize(page));
+            }
+            response = output.slice();
+        }
+    }
+
+    @Benchmark
+    public long deserialize(Context context)
+    {
+        long sizeInBytes = 0;
+        Iterator<SerializedPage> serializedPages = readSerializedPages(context.response.getInput());
+        while (serializedPages.hasNext()) {
+            sizeInBytes += context.pagesSerde.deserialize(serializedPages.next()).getLoadedPage().getSizeInBytes();
+        }
+        return sizeInBytes;
+    }
+
+    @Test
+    public void verifyDeserialize()
+    {
+        Context context = new Context();
+        context.setup();
+        deserialize(context);
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        runBenchmark(BenchmarkTpchExchangeDeserialization.class);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.metadata.FunctionAndTypeManager;
+import com.facebook.presto.metadata.MetadataManager;
+import com.facebook.presto.operator.HashAggregationOperator.HashAggregationOperatorFactory;
+import com.facebook.presto.operator.OperatorFactory;
+import com.facebook.presto.spi.function.JavaAggregationFunctionImplementation;
+import com.facebook.presto.spi.plan.AggregationNode.Step;
+import com.facebook.presto.spi.plan.PlanNodeId;
+import com.facebook.presto.sql.gen.JoinCompiler;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.createDriver;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.runToCompletion;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkSuite.runBenchmark;
+import static com.facebook.presto.benchmark.jmh.TpchPages.tpchPages;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.metadata.MetadataManager.createTestMetadataManager;
+import static com.facebook.presto.operator.aggregation.GenericAccumulatorFactory.generateAccumulatorFactory;
+import static com.facebook.presto.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.tpch.TpchTable.LINE_ITEM;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+/**
+ * select [grouping keys], sum(quantity), sum(extendedprice) from lineitem group by [grouping keys]
+ */
+@State(Thread)
+@OutputTimeUnit(MILLISECONDS)
+@BenchmarkMode(AverageTime)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BenchmarkTpchHashAggregation
+{
+    @State(Thread)
+    public static class Context
+            extends OperatorBenchmarkContext
+    {
+        private static final MetadataManager METADATA = createTestMetadataManager();
+        private static final JoinCompiler JOIN_COMPILER = new JoinCompiler(METADATA);
+
+        // orderkey has about a fourth as many groups as rows, the flags only have a handful of groups
+        @Param({"orderkey", "returnflag,linestatus"})
+        private String groupingKeys = "orderkey";
+
+        private TpchPages lineitem;
+        private int groupingKeyCount;
+        private JavaAggregationFunctionImplementation doubleSum;
+
+        @Setup
+        public void setup()
+        {
+            String[] keys = groupingKeys.split(",");
+            groupingKeyCount = keys.length;
+            lineitem = tpchPages(LINE_ITEM, scaleFactor, ImmutableList.<String>builder()
+                    .add(keys)
+                    .add("quantity", "extendedprice")
+                    .build()
+                    .toArray(new String[0]));
+
+            FunctionAndTypeManager functionAndTypeManager = METADATA.getFunctionAndTypeManager();
+            doubleSum = functionAndTypeManager.getJavaAggregateFunctionImplementation(
+                    functionAndTypeManager.lookupFunction("sum", fromTypes(DOUBLE)));
+        }
+
+        // operator factories can't be reused once their driver factory is done
+        public OperatorFactory createAggregation()
+        {
+            return new HashAggregationOperatorFactory(
+                    1,
+                    new PlanNodeId("aggregation"),
+                    lineitem.getTypes().subList(0, groupingKeyCount),
+                    IntStream.range(0, groupingKeyCount).boxed().collect(toImmutableList()),
+                    ImmutableList.of(),
+                    ImmutableList.of(),
+                    Step.SINGLE,
+                    ImmutableList.of(
+                            generateAccumulatorFactory(doubleSum, ImmutableList.of(groupingKeyCount), Optional.empty()),
+                            generateAccumulatorFactory(doubleSum, ImmutableList.of(groupingKeyCount + 1), Optional.empty())),
+                    Optional.empty(),
+                    Optional.empty(),
+                    10_000,
+                    Optional.of(new DataSize(16, MEGABYTE)),
+                    JOIN_COMPILER,
+                    false);
+        }
+    }
+
+    @Benchmark
+    public void hashAggregation(Context context)
+    {
+        runToCompletion(ImmutableList.of(createDriver(context.createDriverContext(), context.lineitem.getPages(), ImmutableList.of(context.createAggregation()))));
+    }
+
+    @Test
+    public void verifyHashAggregation()
+    {
+        Context context = new Context();
+        context.setupExecutors();
+        try {
+            context.setup();
+            hashAggregation(context);
+        }
+        finally {
+            context.shutdownExecutors();
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        runBenchmark(BenchmarkTpchHashAggregation.class);
+    }
+}
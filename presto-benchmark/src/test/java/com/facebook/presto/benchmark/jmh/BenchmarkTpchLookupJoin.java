@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.presto.operator.Driver;
+import com.facebook.presto.operator.HashBuilderOperator.HashBuilderOperatorFactory;
+import com.facebook.presto.operator.JoinBridgeManager;
+import com.facebook.presto.operator.LookupJoinOperators;
+import com.facebook.presto.operator.OperatorFactory;
+import com.facebook.presto.operator.PagesIndex;
+import com.facebook.presto.operator.PartitionedLookupSourceFactory;
+import com.facebook.presto.operator.TaskContext;
+import com.facebook.presto.spi.plan.PlanNodeId;
+import com.facebook.presto.spiller.SingleStreamSpillerFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.createDriver;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.runToCompletion;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkSuite.runBenchmark;
+import static com.facebook.presto.benchmark.jmh.TpchPages.tpchPages;
+import static com.facebook.presto.spiller.PartitioningSpillerFactory.unsupportedPartitioningSpillerFactory;
+import static io.airlift.tpch.TpchTable.LINE_ITEM;
+import static io.airlift.tpch.TpchTable.ORDERS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+/**
+ * select l.orderkey, l.quantity, o.totalprice from lineitem l join orders o on l.orderkey = o.orderkey
+ */
+@State(Thread)
+@OutputTimeUnit(MILLISECONDS)
+@BenchmarkMode(AverageTime)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BenchmarkTpchLookupJoin
+{
+    private static final LookupJoinOperators LOOKUP_JOIN_OPERATORS = new LookupJoinOperators();
+
+    @State(Thread)
+    public static class Context
+            extends OperatorBenchmarkContext
+    {
+        private TpchPages orders;
+        private TpchPages lineitem;
+
+        @Setup
+        public void setup()
+        {
+            orders = tpchPages(ORDERS, scaleFactor, "orderkey", "totalprice");
+            lineitem = tpchPages(LINE_ITEM, scaleFactor, "orderkey", "quantity");
+        }
+    }
+
+    @Benchmark
+    public void lookupJoin(Context context)
+    {
+        JoinBridgeManager<PartitionedLookupSourceFactory> lookupSourceFactoryManager = JoinBridgeManager.lookupAllAtOnce(new PartitionedLookupSourceFactory(
+                context.orders.getTypes(),
+                context.orders.getTypes(),
+                context.orders.getTypes().subList(0, 1),
+                1,
+                ImmutableMap.of(),
+                false));
+        HashBuilderOperatorFactory hashBuilder = new HashBuilderOperatorFactory(
+                1,
+                new PlanNodeId("build"),
+                lookupSourceFactoryManager,
+                ImmutableList.of(0, 1),
+                ImmutableList.of(0),
+                OptionalInt.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                ImmutableList.of(),
+                (int) context.orders.getPositionCount(),
+                new PagesIndex.TestingFactory(false),
+                false,
+                SingleStreamSpillerFactory.unsupportedSingleStreamSpillerFactory(),
+                false);
+        OperatorFactory join = LOOKUP_JOIN_OPERATORS.innerJoin(
+                2,
+                new PlanNodeId("join"),
+                lookupSourceFactoryManager,
+                context.lineitem.getTypes(),
+                ImmutableList.of(0),
+                OptionalInt.empty(),
+                Optional.empty(),
+                OptionalInt.empty(),
+                unsupportedPartitioningSpillerFactory(),
+                false);
+
+        TaskContext taskContext = context.createTaskContext();
+        Driver buildDriver = createDriver(taskContext.addPipelineContext(0, true, false, false).addDriverContext(), context.orders.getPages(), ImmutableList.of(hashBuilder));
+        Driver probeDriver = createDriver(taskContext.addPipelineContext(1, true, true, false).addDriverContext(), context.lineitem.getPages(), ImmutableList.of(join));
+        runToCompletion(ImmutableList.of(buildDriver, probeDriver));
+    }
+
+    @Test
+    public void verifyLookupJoin()
+    {
+        Context context = new Context();
+        context.setupExecutors();
+        try {
+            context.setup();
+            lookupJoin(context);
+        }
+        finally {
+            context.shutdownExecutors();
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        runBenchmark(BenchmarkTpchLookupJoin.class);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.presto.operator.OperatorFactory;
+import com.facebook.presto.operator.OrderByOperator.OrderByOperatorFactory;
+import com.facebook.presto.operator.PagesIndex;
+import com.facebook.presto.spi.plan.PlanNodeId;
+import com.facebook.presto.sql.gen.OrderingCompiler;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.createDriver;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.runToCompletion;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkSuite.runBenchmark;
+import static com.facebook.presto.benchmark.jmh.TpchPages.tpchPages;
+import static com.facebook.presto.common.block.SortOrder.ASC_NULLS_LAST;
+import static com.facebook.presto.common.block.SortOrder.DESC_NULLS_LAST;
+import static io.airlift.tpch.TpchTable.ORDERS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+/**
+ * select orderkey, [sort key], totalprice from orders order by [sort key] desc, orderkey
+ */
+@State(Thread)
+@OutputTimeUnit(MILLISECONDS)
+@BenchmarkMode(AverageTime)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BenchmarkTpchOrderBy
+{
+    private static final OrderingCompiler ORDERING_COMPILER = new OrderingCompiler();
+
+    @State(Thread)
+    public static class Context
+            extends OperatorBenchmarkContext
+    {
+        // a date has few distinct values so the second key is compared often, a varchar key is compared slowly
+        @Param({"orderdate", "clerk"})
+        private String sortKey = "orderdate";
+
+        private TpchPages orders;
+
+        @Setup
+        public void setup()
+        {
+            orders = tpchPages(ORDERS, scaleFactor, "orderkey", sortKey, "totalprice");
+        }
+
+        public OperatorFactory createOrderBy()
+        {
+            return new OrderByOperatorFactory(
+                    1,
+                    new PlanNodeId("orderBy"),
+                    orders.getTypes(),
+                    ImmutableList.of(0, 1, 2),
+                    (int) orders.getPositionCount(),
+                    ImmutableList.of(1, 0),
+                    ImmutableList.of(DESC_NULLS_LAST, ASC_NULLS_LAST),
+                    new PagesIndex.TestingFactory(false),
+                    false,
+                    Optional.empty(),
+                    ORDERING_COMPILER);
+        }
+    }
+
+    @Benchmark
+    public void orderBy(Context context)
+    {
+        runToCompletion(ImmutableList.of(createDriver(context.createDriverContext(), context.orders.getPages(), ImmutableList.of(context.createOrderBy()))));
+    }
+
+    @Test
+    public void verifyOrderBy()
+    {
+        Context context = new Context();
+        context.setupExecutors();
+        try {
+            context.setup();
+            orderBy(context);
+        }
+        finally {
+            context.shutdownExecutors();
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        runBenchmark(BenchmarkTpchOrderBy.class);
+    }
+}
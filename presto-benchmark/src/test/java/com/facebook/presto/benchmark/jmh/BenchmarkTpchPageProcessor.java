@@ -0,0 +1,187 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.function.OperatorType;
+import com.facebook.presto.metadata.FunctionAndTypeManager;
+import com.facebook.presto.metadata.MetadataManager;
+import com.facebook.presto.operator.DriverYieldSignal;
+import com.facebook.presto.operator.project.PageProcessor;
+import com.facebook.presto.spi.relation.RowExpression;
+import com.facebook.presto.sql.gen.ExpressionCompiler;
+import com.facebook.presto.sql.gen.PageFunctionCompiler;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkSuite.runBenchmark;
+import static com.facebook.presto.benchmark.jmh.TpchPages.tpchPages;
+import static com.facebook.presto.common.function.OperatorType.GREATER_THAN_OR_EQUAL;
+import static com.facebook.presto.common.function.OperatorType.LESS_THAN;
+import static com.facebook.presto.common.function.OperatorType.LESS_THAN_OR_EQUAL;
+import static com.facebook.presto.common.function.OperatorType.MULTIPLY;
+import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.common.type.DateType.DATE;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.metadata.MetadataManager.createTestMetadataManager;
+import static com.facebook.presto.spi.relation.SpecialFormExpression.Form.AND;
+import static com.facebook.presto.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static com.facebook.presto.sql.relational.Expressions.call;
+import static com.facebook.presto.sql.relational.Expressions.constant;
+import static com.facebook.presto.sql.relational.Expressions.field;
+import static com.facebook.presto.sql.relational.Expressions.specialForm;
+import static com.facebook.presto.testing.TestingSession.testSessionBuilder;
+import static io.airlift.tpch.TpchTable.LINE_ITEM;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+/**
+ * The filter and projection of TPC-H Q6 (selective) or Q1 (almost nothing filtered) over lineitem.
+ */
+@State(Thread)
+@OutputTimeUnit(MILLISECONDS)
+@BenchmarkMode(AverageTime)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BenchmarkTpchPageProcessor
+{
+    private static final int SHIP_DATE = 0;
+    private static final int DISCOUNT = 1;
+    private static final int QUANTITY = 2;
+    private static final int EXTENDED_PRICE = 3;
+
+    // days since epoch of 1994-01-01, 1995-01-01 and 1998-09-02
+    private static final long Q6_MIN_SHIP_DATE = 8766;
+    private static final long Q6_MAX_SHIP_DATE = 9131;
+    private static final long Q1_MAX_SHIP_DATE = 10471;
+
+    @State(Thread)
+    public static class Context
+            extends OperatorBenchmarkContext
+    {
+        private static final MetadataManager METADATA = createTestMetadataManager();
+
+        @Param({"q6", "q1"})
+        private String query = "q6";
+
+        private TpchPages lineitem;
+        private PageProcessor pageProcessor;
+
+        @Setup
+        public void setup()
+        {
+            lineitem = tpchPages(LINE_ITEM, scaleFactor, "shipdate", "discount", "quantity", "extendedprice");
+
+            FunctionAndTypeManager functionAndTypeManager = METADATA.getFunctionAndTypeManager();
+            RowExpression filter;
+            switch (query) {
+                case "q6":
+                    // shipdate >= date '1994-01-01' and shipdate < date '1995-01-01' and discount >= 0.05 and discount <= 0.07 and quantity < 24
+                    filter = specialForm(
+                            AND,
+                            BOOLEAN,
+                            compare(functionAndTypeManager, GREATER_THAN_OR_EQUAL, field(SHIP_DATE, DATE), constant(Q6_MIN_SHIP_DATE, DATE)),
+                            specialForm(
+                                    AND,
+                                    BOOLEAN,
+                                    compare(functionAndTypeManager, LESS_THAN, field(SHIP_DATE, DATE), constant(Q6_MAX_SHIP_DATE, DATE)),
+                                    specialForm(
+                                            AND,
+                                            BOOLEAN,
+                                            compare(functionAndTypeManager, GREATER_THAN_OR_EQUAL, field(DISCOUNT, DOUBLE), constant(0.05, DOUBLE)),
+                                            specialForm(
+                                                    AND,
+                                                    BOOLEAN,
+                                                    compare(functionAndTypeManager, LESS_THAN_OR_EQUAL, field(DISCOUNT, DOUBLE), constant(0.07, DOUBLE)),
+                                                    compare(functionAndTypeManager, LESS_THAN, field(QUANTITY, DOUBLE), constant(24.0, DOUBLE))))));
+                    break;
+                case "q1":
+                    // shipdate <= date '1998-09-02'
+                    filter = compare(functionAndTypeManager, LESS_THAN_OR_EQUAL, field(SHIP_DATE, DATE), constant(Q1_MAX_SHIP_DATE, DATE));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported query: " + query);
+            }
+            // extendedprice * discount, quantity
+            List<RowExpression> projections = ImmutableList.of(
+                    call(
+                            MULTIPLY.name(),
+                            functionAndTypeManager.resolveOperator(MULTIPLY, fromTypes(DOUBLE, DOUBLE)),
+                            DOUBLE,
+                            field(EXTENDED_PRICE, DOUBLE),
+                            field(DISCOUNT, DOUBLE)),
+                    field(QUANTITY, DOUBLE));
+
+            pageProcessor = new ExpressionCompiler(METADATA, new PageFunctionCompiler(METADATA, 0))
+                    .compilePageProcessor(testSessionBuilder().build().getSqlFunctionProperties(), Optional.of(filter), projections)
+                    .get();
+        }
+
+        private static RowExpression compare(FunctionAndTypeManager functionAndTypeManager, OperatorType operator, RowExpression left, RowExpression right)
+        {
+            return call(operator.name(), functionAndTypeManager.resolveOperator(operator, fromTypes(left.getType(), right.getType())), BOOLEAN, left, right);
+        }
+    }
+
+    @Benchmark
+    public long pageProcessor(Context context)
+    {
+        long outputPositions = 0;
+        for (Page page : context.lineitem.getPages()) {
+            Iterator<Optional<Page>> output = context.pageProcessor.process(
+                    null,
+                    new DriverYieldSignal(),
+                    newSimpleAggregatedMemoryContext().newLocalMemoryContext(PageProcessor.class.getSimpleName()),
+                    page);
+            while (output.hasNext()) {
+                Optional<Page> outputPage = output.next();
+                if (outputPage.isPresent()) {
+                    outputPositions += outputPage.get().getPositionCount();
+                }
+            }
+        }
+        return outputPositions;
+    }
+
+    @Test
+    public void verifyPageProcessor()
+    {
+        Context context = new Context();
+        context.setup();
+        pageProcessor(context);
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        runBenchmark(BenchmarkTpchPageProcessor.class);
+    }
+}
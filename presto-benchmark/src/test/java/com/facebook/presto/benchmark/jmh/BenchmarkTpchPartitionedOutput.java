@@ -0,0 +1,170 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.CompressionCodec;
+import com.facebook.presto.common.block.BlockEncodingManager;
+import com.facebook.presto.execution.Lifespan;
+import com.facebook.presto.execution.StateMachine;
+import com.facebook.presto.execution.buffer.OutputBuffers;
+import com.facebook.presto.execution.buffer.PagesSerdeFactory;
+import com.facebook.presto.execution.buffer.PartitionedOutputBuffer;
+import com.facebook.presto.memory.context.SimpleLocalMemoryContext;
+import com.facebook.presto.operator.InterpretedHashGenerator;
+import com.facebook.presto.operator.OperatorFactory;
+import com.facebook.presto.operator.exchange.LocalPartitionGenerator;
+import com.facebook.presto.operator.repartition.PartitionedOutputOperator.PartitionedOutputFactory;
+import com.facebook.presto.spi.page.SerializedPage;
+import com.facebook.presto.spi.plan.PlanNodeId;
+import com.facebook.presto.sql.planner.OutputPartitioning;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Function;
+
+import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.CompressionCodec.NONE;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.createDriver;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.runToCompletion;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkSuite.runBenchmark;
+import static com.facebook.presto.benchmark.jmh.TpchPages.tpchPages;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.execution.buffer.BufferState.OPEN;
+import static com.facebook.presto.execution.buffer.BufferState.TERMINAL_BUFFER_STATES;
+import static com.facebook.presto.execution.buffer.OutputBuffers.BufferType.PARTITIONED;
+import static com.facebook.presto.execution.buffer.OutputBuffers.createInitialEmptyOutputBuffers;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static io.airlift.tpch.TpchTable.LINE_ITEM;
+import static java.util.Collections.nCopies;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+/**
+ * Repartitions lineitem on orderkey, the way the output of a stage feeding a distributed join is produced.
+ */
+@State(Thread)
+@OutputTimeUnit(MILLISECONDS)
+@BenchmarkMode(AverageTime)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BenchmarkTpchPartitionedOutput
+{
+    private static final DataSize MAX_PARTITION_BUFFER_SIZE = new DataSize(256, MEGABYTE);
+
+    @State(Thread)
+    public static class Context
+            extends OperatorBenchmarkContext
+    {
+        @Param({"16", "256"})
+        private int partitionCount = 16;
+
+        @Param({"NONE", "LZ4"})
+        private CompressionCodec codec = NONE;
+
+        private TpchPages lineitem;
+
+        @Setup
+        public void setup()
+        {
+            lineitem = tpchPages(LINE_ITEM, scaleFactor, "orderkey", "partkey", "quantity", "extendedprice", "shipdate", "comment");
+        }
+
+        public OperatorFactory createPartitionedOutput()
+        {
+            OutputBuffers buffers = createInitialEmptyOutputBuffers(PARTITIONED);
+            for (int partition = 0; partition < partitionCount; partition++) {
+                buffers = buffers.withBuffer(new OutputBuffers.OutputBufferId(partition), partition);
+            }
+            PartitionedOutputBuffer buffer = new DiscardingPartitionedOutputBuffer(buffers.withNoMoreBufferIds(), this);
+            buffer.registerLifespanCompletionCallback(ignore -> {});
+
+            OutputPartitioning outputPartitioning = new OutputPartitioning(
+                    new LocalPartitionGenerator(new InterpretedHashGenerator(ImmutableList.of(BIGINT), new int[] {0}), partitionCount),
+                    ImmutableList.of(0),
+                    nCopies(lineitem.getTypes().size(), Optional.empty()),
+                    false,
+                    OptionalInt.empty());
+            return new PartitionedOutputFactory(buffer, MAX_PARTITION_BUFFER_SIZE).createOutputOperator(
+                    1,
+                    new PlanNodeId("output"),
+                    lineitem.getTypes(),
+                    Function.identity(),
+                    Optional.of(outputPartitioning),
+                    new PagesSerdeFactory(new BlockEncodingManager(), codec));
+        }
+    }
+
+    @Benchmark
+    public void partitionedOutput(Context context)
+    {
+        runToCompletion(ImmutableList.of(createDriver(context.createDriverContext(), context.lineitem.getPages(), ImmutableList.of(context.createPartitionedOutput()))));
+    }
+
+    @Test
+    public void verifyPartitionedOutput()
+    {
+        Context context = new Context();
+        context.setupExecutors();
+        try {
+            context.setup();
+            partitionedOutput(context);
+        }
+        finally {
+            context.shutdownExecutors();
+        }
+    }
+
+    private static class DiscardingPartitionedOutputBuffer
+            extends PartitionedOutputBuffer
+    {
+        public DiscardingPartitionedOutputBuffer(OutputBuffers outputBuffers, OperatorBenchmarkContext context)
+        {
+            super(
+                    "task-instance-id",
+                    new StateMachine<>("bufferState", context.getScheduledExecutor(), OPEN, TERMINAL_BUFFER_STATES),
+                    outputBuffers,
+                    Long.MAX_VALUE,
+                    () -> new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
+                    context.getScheduledExecutor());
+        }
+
+        // the serialized pages are dropped, so only serialization and partitioning are measured
+        @Override
+        public void enqueue(Lifespan lifespan, int partitionNumber, List<SerializedPage> pages)
+        {
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        runBenchmark(BenchmarkTpchPartitionedOutput.class);
+    }
+}
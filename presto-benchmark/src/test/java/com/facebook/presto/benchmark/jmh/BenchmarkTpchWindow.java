@@ -0,0 +1,146 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.presto.operator.OperatorFactory;
+import com.facebook.presto.operator.PagesIndex;
+import com.facebook.presto.operator.WindowFunctionDefinition;
+import com.facebook.presto.operator.WindowOperator.WindowOperatorFactory;
+import com.facebook.presto.operator.window.FrameInfo;
+import com.facebook.presto.operator.window.RankFunction;
+import com.facebook.presto.operator.window.ReflectionWindowFunctionSupplier;
+import com.facebook.presto.operator.window.RowNumberFunction;
+import com.facebook.presto.spi.plan.PlanNodeId;
+import com.facebook.presto.spiller.SpillerFactory;
+import com.facebook.presto.sql.gen.OrderingCompiler;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.createDriver;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkContext.runToCompletion;
+import static com.facebook.presto.benchmark.jmh.OperatorBenchmarkSuite.runBenchmark;
+import static com.facebook.presto.benchmark.jmh.TpchPages.tpchPages;
+import static com.facebook.presto.common.block.SortOrder.ASC_NULLS_LAST;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.operator.WindowFunctionDefinition.window;
+import static com.facebook.presto.spi.plan.WindowNode.Frame.BoundType.UNBOUNDED_FOLLOWING;
+import static com.facebook.presto.spi.plan.WindowNode.Frame.BoundType.UNBOUNDED_PRECEDING;
+import static com.facebook.presto.spi.plan.WindowNode.Frame.WindowType.RANGE;
+import static io.airlift.tpch.TpchTable.LINE_ITEM;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+/**
+ * select orderkey, linenumber, quantity, [function]() over (partition by orderkey order by linenumber) from lineitem
+ */
+@State(Thread)
+@OutputTimeUnit(MILLISECONDS)
+@BenchmarkMode(AverageTime)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BenchmarkTpchWindow
+{
+    private static final OrderingCompiler ORDERING_COMPILER = new OrderingCompiler();
+    private static final FrameInfo UNBOUNDED_FRAME = new FrameInfo(RANGE, UNBOUNDED_PRECEDING, Optional.empty(), Optional.empty(), UNBOUNDED_FOLLOWING, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+    private static final SpillerFactory UNSUPPORTED_SPILLER_FACTORY = (types, spillContext, memoryContext) -> {
+        throw new UnsupportedOperationException();
+    };
+
+    @State(Thread)
+    public static class Context
+            extends OperatorBenchmarkContext
+    {
+        @Param({"row_number", "rank"})
+        private String function = "row_number";
+
+        private TpchPages lineitem;
+        private WindowFunctionDefinition windowFunction;
+
+        @Setup
+        public void setup()
+        {
+            lineitem = tpchPages(LINE_ITEM, scaleFactor, "orderkey", "linenumber", "quantity");
+            switch (function) {
+                case "row_number":
+                    windowFunction = window(new ReflectionWindowFunctionSupplier<>("row_number", BIGINT, ImmutableList.of(), RowNumberFunction.class), BIGINT, UNBOUNDED_FRAME);
+                    break;
+                case "rank":
+                    windowFunction = window(new ReflectionWindowFunctionSupplier<>("rank", BIGINT, ImmutableList.of(), RankFunction.class), BIGINT, UNBOUNDED_FRAME);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported window function: " + function);
+            }
+        }
+
+        public OperatorFactory createWindow()
+        {
+            return new WindowOperatorFactory(
+                    1,
+                    new PlanNodeId("window"),
+                    lineitem.getTypes(),
+                    ImmutableList.of(0, 1, 2),
+                    ImmutableList.of(windowFunction),
+                    ImmutableList.of(0),
+                    ImmutableList.of(),
+                    ImmutableList.of(1),
+                    ImmutableList.of(ASC_NULLS_LAST),
+                    0,
+                    (int) lineitem.getPositionCount(),
+                    new PagesIndex.TestingFactory(false),
+                    false,
+                    UNSUPPORTED_SPILLER_FACTORY,
+                    ORDERING_COMPILER);
+        }
+    }
+
+    @Benchmark
+    public void windowOperator(Context context)
+    {
+        runToCompletion(ImmutableList.of(createDriver(context.createDriverContext(), context.lineitem.getPages(), ImmutableList.of(context.createWindow()))));
+    }
+
+    @Test
+    public void verifyWindow()
+    {
+        Context context = new Context();
+        context.setupExecutors();
+        try {
+            context.setup();
+            windowOperator(context);
+        }
+        finally {
+            context.shutdownExecutors();
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        runBenchmark(BenchmarkTpchWindow.class);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.abs;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compares two JMH result files written in the JSON format, usually the results of the same benchmarks on a
+ * baseline build and on a candidate build, and reports the benchmarks that got slower.
+ * <p>
+ * A benchmark regressed when its score got worse by more than the threshold (5% by default) and by more than the
+ * sum of the two score errors, so the noise of a run isn't reported. The process exits with 1 if any benchmark
+ * regressed.
+ * <pre>
+ * JmhResultComparator baseline.json candidate.json [threshold]
+ * </pre>
+ */
+public final class JmhResultComparator
+{
+    private static final double DEFAULT_THRESHOLD = 0.05;
+
+    private JmhResultComparator() {}
+
+    public static void main(String[] args)
+            throws IOException
+    {
+        checkArgument(args.length == 2 || args.length == 3, "Usage: JmhResultComparator <baseline.json> <candidate.json> [threshold]");
+        double threshold = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        List<Comparison> comparisons = compare(readResults(new File(args[0])), readResults(new File(args[1])), threshold);
+        boolean regressed = false;
+        for (Comparison comparison : comparisons) {
+            System.out.println(comparison);
+            regressed |= comparison.isRegression();
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+
+    public static Map<String, BenchmarkResult> readResults(File file)
+            throws IOException
+    {
+        return readResults(new ObjectMapper().readTree(file));
+    }
+
+    static Map<String, BenchmarkResult> readResults(JsonNode results)
+    {
+        checkArgument(results.isArray(), "JMH results must be a JSON array");
+        Map<String, BenchmarkResult> benchmarks = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder name = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null) {
+                ImmutableSortedMap.Builder<String, String> sortedParams = ImmutableSortedMap.naturalOrder();
+                params.fields().forEachRemaining(param -> sortedParams.put(param.getKey(), param.getValue().asText()));
+                name.append(sortedParams.build());
+            }
+            JsonNode metric = result.get("primaryMetric");
+            double scoreError = metric.get("scoreError").asDouble();
+            benchmarks.put(name.toString(), new BenchmarkResult(
+                    metric.get("score").asDouble(),
+                    // the error is NaN when there are too few iterations to compute it
+                    Double.isNaN(scoreError) ? 0 : scoreError,
+                    metric.get("scoreUnit").asText(),
+                    !result.get("mode").asText().equals("thrpt")));
+        }
+        return benchmarks;
+    }
+
+    /**
+     * Compares the benchmarks present in both results, benchmarks only present in one of them are ignored.
+     */
+    public static List<Comparison> compare(Map<String, BenchmarkResult> baseline, Map<String, BenchmarkResult> candidate, double threshold)
+    {
+        ImmutableList.Builder<Comparison> comparisons = ImmutableList.builder();
+        for (Map.Entry<String, BenchmarkResult> entry : baseline.entrySet()) {
+            BenchmarkResult candidateResult = candidate.get(entry.getKey());
+            if (candidateResult != null) {
+                comparisons.add(new Comparison(entry.getKey(), entry.getValue(), candidateResult, threshold));
+            }
+        }
+        return comparisons.build();
+    }
+
+    public static class BenchmarkResult
+    {
+        private final double score;
+        private final double scoreError;
+        private final String scoreUnit;
+        private final boolean lowerIsBetter;
+
+        public BenchmarkResult(double score, double scoreError, String scoreUnit, boolean lowerIsBetter)
+        {
+            this.score = score;
+            this.scoreError = scoreError;
+            this.scoreUnit = requireNonNull(scoreUnit, "scoreUnit is null");
+            this.lowerIsBetter = lowerIsBetter;
+        }
+
+        public double getScore()
+        {
+            return score;
+        }
+
+        public double getScoreError()
+        {
+            return scoreError;
+        }
+
+        public String getScoreUnit()
+        {
+            return scoreUnit;
+        }
+
+        public boolean isLowerBetter()
+        {
+            return lowerIsBetter;
+        }
+    }
+
+    public static class Comparison
+    {
+        private final String benchmark;
+        private final BenchmarkResult baseline;
+        private final BenchmarkResult candidate;
+        private final double threshold;
+
+        public Comparison(String benchmark, BenchmarkResult baseline, BenchmarkResult candidate, double threshold)
+        {
+            this.benchmark = requireNonNull(benchmark, "benchmark is null");
+            this.baseline = requireNonNull(baseline, "baseline is null");
+            this.candidate = requireNonNull(candidate, "candidate is null");
+            checkArgument(baseline.getScoreUnit().equals(candidate.getScoreUnit()), "%s has different units: %s and %s", benchmark, baseline.getScoreUnit(), candidate.getScoreUnit());
+            this.threshold = threshold;
+        }
+
+        public String getBenchmark()
+        {
+            return benchmark;
+        }
+
+        /**
+         * Relative change of the score, positive when the candidate is better.
+         */
+        public double getImprovement()
+        {
+            double change = (candidate.getScore() - baseline.getScore()) / baseline.getScore();
+            return baseline.isLowerBetter() ? -change : change;
+        }
+
+        public boolean isRegression()
+        {
+            return getImprovement() < -threshold && isSignificant();
+        }
+
+        public boolean isImprovement()
+        {
+            return getImprovement() > threshold && isSignificant();
+        }
+
+        private boolean isSignificant()
+        {
+            return abs(candidate.getScore() - baseline.getScore()) > baseline.getScoreError() + candidate.getScoreError();
+        }
+
+        @Override
+        public String toString()
+        {
+            String verdict = isRegression() ? "REGRESSION" : isImprovement() ? "improvement" : "unchanged";
+            return format(
+                    "%-11s %+7.2f%%  %s: %.3f ± %.3f -> %.3f ± %.3f %s",
+                    verdict,
+                    getImprovement() * 100,
+                    benchmark,
+                    baseline.getScore(),
+                    baseline.getScoreError(),
+                    candidate.getScore(),
+                    candidate.getScoreError(),
+                    candidate.getScoreUnit());
+        }
+    }
+}
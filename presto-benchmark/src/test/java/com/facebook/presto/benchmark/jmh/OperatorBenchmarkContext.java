@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.common.Page;
+import com.facebook.presto.operator.Driver;
+import com.facebook.presto.operator.DriverContext;
+import com.facebook.presto.operator.DriverFactory;
+import com.facebook.presto.operator.OperatorFactory;
+import com.facebook.presto.operator.TaskContext;
+import com.facebook.presto.operator.ValuesOperator.ValuesOperatorFactory;
+import com.facebook.presto.spi.plan.PlanNodeId;
+import com.facebook.presto.testing.NullOutputOperator.NullOutputOperatorFactory;
+import com.facebook.presto.testing.TestingTaskContext;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
+import static com.facebook.presto.operator.PipelineExecutionStrategy.UNGROUPED_EXECUTION;
+import static com.facebook.presto.testing.TestingSession.testSessionBuilder;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+/**
+ * Base state of the operator benchmarks: the TPC-H scale factor and the executors the drivers run with.
+ * The input pages are passed to the benchmarked operators through a {@code ValuesOperator}.
+ */
+@State(Thread)
+public abstract class OperatorBenchmarkContext
+{
+    private static final DataSize MAX_MEMORY = new DataSize(4, GIGABYTE);
+
+    // the field default is only used when the benchmarks are verified outside of JMH
+    @Param("0.1")
+    protected double scaleFactor = 0.01;
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+
+    @Setup(Level.Trial)
+    public void setupExecutors()
+    {
+        executor = newCachedThreadPool(daemonThreadsNamed("benchmark-executor-%s"));
+        scheduledExecutor = newScheduledThreadPool(2, daemonThreadsNamed("benchmark-scheduled-executor-%s"));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownExecutors()
+    {
+        executor.shutdownNow();
+        scheduledExecutor.shutdownNow();
+    }
+
+    public ScheduledExecutorService getScheduledExecutor()
+    {
+        return scheduledExecutor;
+    }
+
+    public TaskContext createTaskContext()
+    {
+        return TestingTaskContext.builder(executor, scheduledExecutor, testSessionBuilder().build())
+                .setMemoryPoolSize(MAX_MEMORY)
+                .setQueryMaxTotalMemory(MAX_MEMORY)
+                .build();
+    }
+
+    public DriverContext createDriverContext()
+    {
+        return createTaskContext()
+                .addPipelineContext(0, true, true, false)
+                .addDriverContext();
+    }
+
+    /**
+     * Creates a driver reading {@code input} and discarding the output of the last operator.
+     * The ids of the given operator factories must be between 1 and 998.
+     */
+    public static Driver createDriver(DriverContext driverContext, List<Page> input, List<OperatorFactory> operatorFactories)
+    {
+        List<OperatorFactory> factories = ImmutableList.<OperatorFactory>builder()
+                .add(new ValuesOperatorFactory(0, new PlanNodeId("values"), input))
+                .addAll(operatorFactories)
+                .add(new NullOutputOperatorFactory(999, new PlanNodeId("output")))
+                .build();
+        DriverFactory driverFactory = new DriverFactory(0, true, true, factories, OptionalInt.empty(), UNGROUPED_EXECUTION, Optional.empty());
+        Driver driver = driverFactory.createDriver(driverContext);
+        driverFactory.noMoreDrivers();
+        return driver;
+    }
+
+    /**
+     * Runs the drivers round robin until all of them are finished, so a driver blocked on another one makes progress.
+     */
+    public static void runToCompletion(List<Driver> drivers)
+    {
+        boolean done = false;
+        while (!done) {
+            done = true;
+            for (Driver driver : drivers) {
+                if (!driver.isFinished()) {
+                    driver.process();
+                    done = false;
+                }
+            }
+        }
+        for (Driver driver : drivers) {
+            driver.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import static java.util.regex.Pattern.quote;
+
+/**
+ * Runs the JMH operator benchmarks and writes the results as JSON, to be compared with {@link JmhResultComparator}.
+ * <p>
+ * Build the test classes with {@code ./mvnw test-compile -pl presto-benchmark} and run this class with the
+ * test classpath. The arguments are the result file (defaults to {@code jmh-result.json}) and an optional
+ * regular expression selecting the benchmarks, for example {@code BenchmarkTpchHashAggregation}.
+ */
+public final class OperatorBenchmarkSuite
+{
+    private OperatorBenchmarkSuite() {}
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        String resultFile = args.length > 0 ? args[0] : "jmh-result.json";
+        String include = args.length > 1 ? args[1] : "";
+        new Runner(options()
+                .include(quote(OperatorBenchmarkSuite.class.getPackage().getName() + ".") + ".*" + include + ".*")
+                .result(resultFile)
+                .build())
+                .run();
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass)
+            throws RunnerException
+    {
+        new Runner(options()
+                .include(quote(benchmarkClass.getName()) + ".*")
+                .result(benchmarkClass.getSimpleName() + ".json")
+                .build())
+                .run();
+    }
+
+    private static ChainedOptionsBuilder options()
+    {
+        return new OptionsBuilder()
+                .verbosity(VerboseMode.NORMAL)
+                .jvmArgs("-Xmx8g")
+                .resultFormat(ResultFormatType.JSON);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.presto.benchmark.jmh.JmhResultComparator.BenchmarkResult;
+import com.facebook.presto.benchmark.jmh.JmhResultComparator.Comparison;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static com.facebook.presto.benchmark.jmh.JmhResultComparator.compare;
+import static com.facebook.presto.benchmark.jmh.JmhResultComparator.readResults;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestJmhResultComparator
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testReadResults()
+            throws IOException
+    {
+        Map<String, BenchmarkResult> results = readResults(MAPPER.readTree("[" +
+                result("Benchmark.agg", "avgt", "{\"b\": \"1\", \"a\": \"x\"}", 10, 1, "ms/op") + "," +
+                result("Benchmark.agg", "thrpt", null, 100, Double.NaN, "ops/s") +
+                "]"));
+
+        assertEquals(results.keySet().size(), 2);
+        BenchmarkResult averageTime = results.get("Benchmark.agg{a=x, b=1}");
+        assertEquals(averageTime.getScore(), 10.0);
+        assertEquals(averageTime.getScoreError(), 1.0);
+        assertEquals(averageTime.getScoreUnit(), "ms/op");
+        assertTrue(averageTime.isLowerBetter());
+
+        BenchmarkResult throughput = results.get("Benchmark.agg");
+        assertEquals(throughput.getScoreError(), 0.0);
+        assertFalse(throughput.isLowerBetter());
+    }
+
+    @Test
+    public void testCompare()
+    {
+        Map<String, BenchmarkResult> baseline = ImmutableMap.of(
+                "slower", new BenchmarkResult(100, 2, "ms/op", true),
+                "noisy", new BenchmarkResult(100, 10, "ms/op", true),
+                "faster", new BenchmarkResult(100, 2, "ms/op", true),
+                "fewerOps", new BenchmarkResult(100, 2, "ops/s", false),
+                "removed", new BenchmarkResult(100, 2, "ms/op", true));
+        Map<String, BenchmarkResult> candidate = ImmutableMap.of(
+                "slower", new BenchmarkResult(110, 2, "ms/op", true),
+                "noisy", new BenchmarkResult(110, 10, "ms/op", true),
+                "faster", new BenchmarkResult(80, 2, "ms/op", true),
+                "fewerOps", new BenchmarkResult(90, 2, "ops/s", false),
+                "added", new BenchmarkResult(100, 2, "ms/op", true));
+
+        List<Comparison> comparisons = compare(baseline, candidate, 0.05);
+        assertEquals(comparisons.size(), 4);
+        for (Comparison comparison : comparisons) {
+            switch (comparison.getBenchmark()) {
+                case "slower":
+                case "fewerOps":
+                    assertTrue(comparison.isRegression(), comparison.toString());
+                    break;
+                case "noisy":
+                    assertFalse(comparison.isRegression(), comparison.toString());
+                    assertFalse(comparison.isImprovement(), comparison.toString());
+                    break;
+                case "faster":
+                    assertTrue(comparison.isImprovement(), comparison.toString());
+                    assertEquals(comparison.getImprovement(), 0.2, 1e-9);
+                    break;
+                default:
+                    throw new AssertionError("Unexpected benchmark: " + comparison.getBenchmark());
+            }
+        }
+    }
+
+    private static String result(String benchmark, String mode, String params, double score, double scoreError, String scoreUnit)
+    {
+        return "{" +
+                "\"benchmark\": \"" + benchmark + "\", " +
+                "\"mode\": \"" + mode + "\", " +
+                (params == null ? "" : "\"params\": " + params + ", ") +
+                "\"primaryMetric\": {\"score\": " + score + ", \"scoreError\": " + (Double.isNaN(scoreError) ? "\"NaN\"" : scoreError) + ", \"scoreUnit\": \"" + scoreUnit + "\"}" +
+                "}";
+    }
+}
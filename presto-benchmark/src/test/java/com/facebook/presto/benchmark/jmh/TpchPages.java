@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.benchmark.jmh;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.spi.RecordPageSource;
+import com.facebook.presto.tpch.TpchRecordSet;
+import com.google.common.collect.ImmutableList;
+import io.airlift.tpch.TpchColumn;
+import io.airlift.tpch.TpchEntity;
+import io.airlift.tpch.TpchTable;
+
+import java.util.List;
+
+import static com.facebook.presto.tpch.TpchRecordSet.createTpchRecordSet;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * Generated TPC-H data, fully loaded in memory so the benchmarks only measure the operators.
+ */
+public final class TpchPages
+{
+    private final List<Type> types;
+    private final List<Page> pages;
+
+    private TpchPages(List<Type> types, List<Page> pages)
+    {
+        this.types = types;
+        this.pages = pages;
+    }
+
+    public static <E extends TpchEntity> TpchPages tpchPages(TpchTable<E> table, double scaleFactor, String... columnNames)
+    {
+        List<TpchColumn<E>> columns = ImmutableList.copyOf(columnNames).stream()
+                .map(table::getColumn)
+                .collect(toImmutableList());
+        TpchRecordSet<E> recordSet = createTpchRecordSet(table, columns, scaleFactor, 1, 1, TupleDomain.all());
+
+        ImmutableList.Builder<Page> pages = ImmutableList.builder();
+        try (RecordPageSource pageSource = new RecordPageSource(recordSet)) {
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page != null) {
+                    pages.add(page.getLoadedPage());
+                }
+            }
+        }
+        return new TpchPages(recordSet.getColumnTypes(), pages.build());
+    }
+
+    public List<Type> getTypes()
+    {
+        return types;
+    }
+
+    public List<Page> getPages()
+    {
+        return pages;
+    }
+
+    public long getPositionCount()
+    {
+        return pages.stream()
+                .mapToLong(Page::getPositionCount)
+                .sum();
+    }
+}
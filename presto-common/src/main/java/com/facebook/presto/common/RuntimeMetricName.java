@@ -82,6 +82,8 @@ public class RuntimeMetricName
     // Size of the data retrieved by read call to storage
     public static final String STORAGE_READ_DATA_BYTES = "storageReadDataBytes";
     public static final String WRITTEN_FILES_COUNT = "writtenFilesCount";
+    // Input rows a partial aggregation passed through without aggregating them because its row reduction was too low
+    public static final String PARTIAL_AGGREGATION_SKIPPED_ROWS = "partialAggregationSkippedRows";
     public static final String HISTORY_OPTIMIZER_QUERY_REGISTRATION_GET_PLAN_NODE_HASHES = "historyOptimizerQueryRegistrationGetPlanNodeHashes";
     public static final String HISTORY_OPTIMIZER_QUERY_REGISTRATION_GET_STATISTICS = "historyOptimizerQueryRegistrationGetStatistics";
     public static final String DIRECTORY_LISTING_CACHE_HIT = "directoryListingCacheHit";
@@ -20,12 +20,16 @@ import org.openjdk.jol.info.ClassLayout;
 import java.util.OptionalInt;
 import java.util.function.ObjLongConsumer;
 
+import static com.facebook.presto.common.block.BlockUtil.checkArrayRange;
 import static java.util.Objects.requireNonNull;
 
 public class LazyBlock
         implements Block
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(LazyBlock.class).instanceSize();
+    private static final LazyBlockLoader<LazyBlock> SELECTIVELY_LOADED = block -> {
+        throw new IllegalStateException("Only selected positions of the lazy block were loaded");
+    };
 
     private final int positionCount;
     private LazyBlockLoader<LazyBlock> loader;
@@ -305,6 +309,56 @@ public class LazyBlock
         return block;
     }
 
+    /**
+     * Returns the given positions of this block, which must be in ascending order. If this block is not
+     * loaded and its loader is a {@link PositionsLazyBlockLoader}, only these positions are loaded, and
+     * this block can not be used anymore afterwards.
+     */
+    public Block loadPositions(int[] positions, int offset, int length)
+    {
+        if (block != null || !(loader instanceof PositionsLazyBlockLoader)) {
+            return getPositions(positions, offset, length);
+        }
+        checkArrayRange(positions, offset, length);
+
+        int[] distinctPositions = new int[length];
+        int distinctCount = 0;
+        // the ids of the positions in the loaded block, only set once a position is repeated
+        int[] ids = null;
+        for (int i = 0; i < length; i++) {
+            int position = positions[offset + i];
+            if (position < 0 || position >= positionCount) {
+                throw new IllegalArgumentException("Invalid position " + position + " in block with " + positionCount + " positions");
+            }
+            if (distinctCount > 0 && position <= distinctPositions[distinctCount - 1]) {
+                if (position < distinctPositions[distinctCount - 1]) {
+                    throw new IllegalArgumentException("positions are not in ascending order");
+                }
+                if (ids == null) {
+                    ids = new int[length];
+                    for (int j = 0; j < i; j++) {
+                        ids[j] = j;
+                    }
+                }
+                ids[i] = distinctCount - 1;
+                continue;
+            }
+            if (ids != null) {
+                ids[i] = distinctCount;
+            }
+            distinctPositions[distinctCount++] = position;
+        }
+
+        @SuppressWarnings("unchecked")
+        PositionsLazyBlockLoader<LazyBlock> positionsLoader = (PositionsLazyBlockLoader<LazyBlock>) loader;
+        loader = SELECTIVELY_LOADED;
+        Block loadedPositions = positionsLoader.loadPositions(distinctPositions, distinctCount);
+        if (loadedPositions.getPositionCount() != distinctCount) {
+            throw new IllegalArgumentException("Lazy block loader did not load the requested positions");
+        }
+        return ids == null ? loadedPositions : new DictionaryBlock(length, loadedPositions, ids);
+    }
+
     private void assureLoaded()
     {
         if (block != null) {
@@ -0,0 +1,28 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.common.block;
+
+/**
+ * A {@link LazyBlockLoader} which can also load only some positions of the block, for example
+ * the rows of a scan which survive a join, without decoding the others.
+ */
+public interface PositionsLazyBlockLoader<T extends Block>
+        extends LazyBlockLoader<T>
+{
+    /**
+     * Returns a block of the given positions, which are distinct and in ascending order. The loader
+     * is not used anymore after this call.
+     */
+    Block loadPositions(int[] positions, int length);
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.common.block;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class TestLazyBlock
+{
+    @Test
+    public void testLoadPositions()
+    {
+        TestingPositionsLoader loader = new TestingPositionsLoader(10);
+        LazyBlock lazyBlock = new LazyBlock(10, loader);
+
+        Block block = lazyBlock.loadPositions(new int[] {-1, 2, 5, 7}, 1, 2);
+        assertEquals(loader.loadedPositions, new int[] {2, 5});
+        assertFalse(block instanceof DictionaryBlock);
+        assertValues(block, 2, 5);
+
+        assertFalse(lazyBlock.isLoaded());
+        try {
+            lazyBlock.getLong(0);
+            fail("expected IllegalStateException");
+        }
+        catch (IllegalStateException e) {
+            assertEquals(e.getMessage(), "Only selected positions of the lazy block were loaded");
+        }
+    }
+
+    @Test
+    public void testLoadRepeatedPositions()
+    {
+        TestingPositionsLoader loader = new TestingPositionsLoader(10);
+        Block block = new LazyBlock(10, loader).loadPositions(new int[] {1, 1, 3, 8, 8, 8}, 0, 6);
+        assertEquals(loader.loadedPositions, new int[] {1, 3, 8});
+        assertTrue(block instanceof DictionaryBlock);
+        assertValues(block, 1, 1, 3, 8, 8, 8);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "positions are not in ascending order")
+    public void testLoadUnorderedPositions()
+    {
+        new LazyBlock(10, new TestingPositionsLoader(10)).loadPositions(new int[] {3, 1}, 0, 2);
+    }
+
+    @Test
+    public void testLoadPositionsOfLoadedBlock()
+    {
+        TestingPositionsLoader loader = new TestingPositionsLoader(10);
+        LazyBlock lazyBlock = new LazyBlock(10, loader);
+        lazyBlock.getLoadedBlock();
+
+        assertValues(lazyBlock.loadPositions(new int[] {4, 6}, 0, 2), 4, 6);
+        assertNull(loader.loadedPositions);
+    }
+
+    @Test
+    public void testLoadPositionsWithoutPositionsLoader()
+    {
+        LazyBlock lazyBlock = new LazyBlock(10, block -> block.setBlock(createBlock(10)));
+
+        assertValues(lazyBlock.loadPositions(new int[] {0, 9}, 0, 2), 0, 9);
+        assertTrue(lazyBlock.isLoaded());
+    }
+
+    private static void assertValues(Block block, long... expected)
+    {
+        assertEquals(block.getPositionCount(), expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(block.getLong(i), expected[i]);
+        }
+    }
+
+    private static Block createBlock(int positionCount)
+    {
+        long[] values = new long[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            values[i] = i;
+        }
+        return new LongArrayBlock(positionCount, Optional.empty(), values);
+    }
+
+    private static class TestingPositionsLoader
+            implements PositionsLazyBlockLoader<LazyBlock>
+    {
+        private final Block block;
+        private int[] loadedPositions;
+
+        private TestingPositionsLoader(int positionCount)
+        {
+            this.block = createBlock(positionCount);
+        }
+
+        @Override
+        public void load(LazyBlock lazyBlock)
+        {
+            lazyBlock.setBlock(block);
+        }
+
+        @Override
+        public Block loadPositions(int[] positions, int length)
+        {
+            loadedPositions = Arrays.copyOf(positions, length);
+            return block.copyPositions(positions, 0, length);
+        }
+    }
+}
@@ -14,14 +14,21 @@
 package com.facebook.presto.hive.metastore;
 
 import com.facebook.airlift.stats.CounterStat;
+import com.facebook.airlift.stats.TimeStat;
 import com.google.common.cache.LoadingCache;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 public class HiveMetastoreCacheStats
         implements MetastoreCacheStats
 {
     private final CounterStat partitionsWithColumnCountGreaterThanThreshold = new CounterStat();
+    private final CounterStat fetchedPartitions = new CounterStat();
+    private final TimeStat partitionBatchFetchTime = new TimeStat(MILLISECONDS);
+    private final TimeStat partitionBatchWaitTime = new TimeStat(MILLISECONDS);
     private LoadingCache<?, ?> tableCache;
     private LoadingCache<?, ?> partitionNamesCache;
     private LoadingCache<?, ?> partitionCache;
@@ -141,4 +148,41 @@ public class HiveMetastoreCacheStats
     {
         return partitionsWithColumnCountGreaterThanThreshold;
     }
+
+    @Override
+    public void recordPartitionBatchFetch(int partitionCount, long fetchTimeNanos)
+    {
+        fetchedPartitions.update(partitionCount);
+        partitionBatchFetchTime.add(fetchTimeNanos, NANOSECONDS);
+    }
+
+    @Override
+    public void recordPartitionBatchWait(long waitTimeNanos)
+    {
+        partitionBatchWaitTime.add(waitTimeNanos, NANOSECONDS);
+    }
+
+    @Managed
+    @Nested
+    @Override
+    public CounterStat getFetchedPartitions()
+    {
+        return fetchedPartitions;
+    }
+
+    @Managed
+    @Nested
+    @Override
+    public TimeStat getPartitionBatchFetchTime()
+    {
+        return partitionBatchFetchTime;
+    }
+
+    @Managed
+    @Nested
+    @Override
+    public TimeStat getPartitionBatchWaitTime()
+    {
+        return partitionBatchWaitTime;
+    }
 }
@@ -816,135 +816,159 @@ public class InMemoryCachingHiveMetastore
 
     public void invalidateCache(MetastoreContext metastoreContext, String databaseName)
     {
-        checkArgument(databaseName != null && !databaseName.isEmpty(), "databaseName cannot be null or empty");
+        invalidateDatabase(getContextPredicate(metastoreContext), databaseName);
+    }
 
-        MetastoreContext newMetastoreContext = applyImpersonationToMetastoreContext(metastoreContext);
+    /**
+     * Invalidates the cached metadata of the database and its tables for all the metastore contexts,
+     * e.g. when notified of a change made outside of Presto.
+     */
+    public void invalidateCache(String databaseName)
+    {
+        invalidateDatabase(context -> true, databaseName);
+    }
+
+    private void invalidateDatabase(Predicate<MetastoreContext> contextPredicate, String databaseName)
+    {
+        checkArgument(databaseName != null && !databaseName.isEmpty(), "databaseName cannot be null or empty");
 
         // Invalidate Database Cache
         invalidateCacheForKey(
                 databaseCache,
-                newMetastoreContext,
+                contextPredicate,
                 databaseKey -> databaseKey.getKey().equals(databaseName));
 
         // Invalidate Database Names Cache
-        invalidateCacheForKey(databaseNamesCache, newMetastoreContext, databaseNamesKey -> true);
+        invalidateCacheForKey(databaseNamesCache, contextPredicate, databaseNamesKey -> true);
 
         // Invalidate table specific caches for all the tables in this database
         invalidateCacheForKey(
                 tableCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableHandleKeyAndContext -> hiveTableHandleKeyAndContext.getKey().getSchemaName().equals(databaseName));
 
         invalidateCacheForKey(
                 tableNamesCache,
-                newMetastoreContext,
+                contextPredicate,
                 databaseNameKey -> databaseNameKey.getKey().equals(databaseName));
 
         invalidateCacheForKey(
                 tableConstraintsCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableNameKeyAndContext -> hiveTableNameKeyAndContext.getKey().getDatabaseName().equals(databaseName));
 
         invalidateCacheForKey(
                 tablePrivilegesCache,
-                newMetastoreContext,
+                contextPredicate,
                 userTableKeyKeyAndContext -> userTableKeyKeyAndContext.getKey().getDatabase().equals(databaseName));
 
         invalidateCacheForKey(
                 tableStatisticsCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableNameKeyAndContext -> hiveTableNameKeyAndContext.getKey().getDatabaseName().equals(databaseName));
 
         invalidateCacheForKey(
                 viewNamesCache,
-                newMetastoreContext,
+                contextPredicate,
                 databaseNameKey -> databaseNameKey.getKey().equals(databaseName));
 
         // Invalidate partition cache for partitions in all the tables in the given database
         invalidateCacheForKey(
                 partitionNamesCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableNameKeyAndContext -> hiveTableNameKeyAndContext.getKey().getDatabaseName().equals(databaseName));
 
         invalidateCacheForKey(
                 partitionCache,
-                newMetastoreContext,
+                contextPredicate,
                 hivePartitionNameKeyAndContext -> hivePartitionNameKeyAndContext.getKey().getHiveTableName().getDatabaseName().equals(databaseName));
 
         invalidateCacheForKey(
                 partitionFilterCache,
-                newMetastoreContext,
+                contextPredicate,
                 partitionFilterKeyAndContext -> partitionFilterKeyAndContext.getKey().getHiveTableName().getDatabaseName().equals(databaseName));
 
         invalidateCacheForKey(
                 partitionStatisticsCache,
-                newMetastoreContext,
+                contextPredicate,
                 hivePartitionNameKeyAndContext -> hivePartitionNameKeyAndContext.getKey().getHiveTableName().getDatabaseName().equals(databaseName));
     }
 
     public void invalidateCache(MetastoreContext metastoreContext, String databaseName, String tableName)
+    {
+        invalidateTable(getContextPredicate(metastoreContext), databaseName, tableName);
+    }
+
+    /**
+     * Invalidates the cached metadata of the table and its partitions for all the metastore contexts.
+     */
+    public void invalidateCache(String databaseName, String tableName)
+    {
+        invalidateTable(context -> true, databaseName, tableName);
+    }
+
+    private void invalidateTable(Predicate<MetastoreContext> contextPredicate, String databaseName, String tableName)
     {
         checkArgument(databaseName != null && !databaseName.isEmpty(), "databaseName cannot be null or empty");
         checkArgument(tableName != null && !tableName.isEmpty(), "tableName cannot be null or empty");
 
-        MetastoreContext newMetastoreContext = applyImpersonationToMetastoreContext(metastoreContext);
         HiveTableName hiveTableName = hiveTableName(databaseName, tableName);
 
         // Invalidate Table Cache
         invalidateCacheForKey(
                 tableCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableHandleKeyAndContext -> isSameTable(hiveTableHandleKeyAndContext.getKey(), hiveTableName));
 
         // Invalidate Table Names Cache
         invalidateCacheForKey(
                 tableNamesCache,
-                newMetastoreContext,
+                contextPredicate,
                 databaseNameKey -> databaseNameKey.getKey().equals(databaseName));
 
         // Invalidate Table Constraints Cache
         invalidateCacheForKey(
                 tableConstraintsCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableNameKeyAndContext -> hiveTableNameKeyAndContext.getKey().equals(hiveTableName));
 
         // Invalidate Table Privileges Cache
         invalidateCacheForKey(
                 tablePrivilegesCache,
-                newMetastoreContext,
+                contextPredicate,
                 userTableKeyKeyAndContext -> userTableKeyKeyAndContext.getKey().matches(databaseName, tableName));
 
         // Invalidate Table Statistics Cache
         invalidateCacheForKey(
                 tableStatisticsCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableNameKeyAndContext -> hiveTableNameKeyAndContext.getKey().equals(hiveTableName));
 
         // Invalidate View Names Cache
         invalidateCacheForKey(
                 viewNamesCache,
-                newMetastoreContext,
+                contextPredicate,
                 databaseNameKey -> databaseNameKey.getKey().equals(databaseName));
 
         // Invalidate partition cache for all partitions in the given table
         invalidateCacheForKey(
                 partitionNamesCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableNameKeyAndContext -> hiveTableNameKeyAndContext.getKey().equals(hiveTableName));
 
         invalidateCacheForKey(
                 partitionCache,
-                newMetastoreContext,
+                contextPredicate,
                 hivePartitionNameKeyAndContext -> hivePartitionNameKeyAndContext.getKey().getHiveTableName().equals(hiveTableName));
 
         invalidateCacheForKey(
                 partitionFilterCache,
-                newMetastoreContext,
+                contextPredicate,
                 partitionFilterKeyAndContext -> partitionFilterKeyAndContext.getKey().getHiveTableName().equals(hiveTableName));
 
         invalidateCacheForKey(
                 partitionStatisticsCache,
-                newMetastoreContext,
+                contextPredicate,
                 hivePartitionNameKeyAndContext -> hivePartitionNameKeyAndContext.getKey().getHiveTableName().equals(hiveTableName));
     }
 
@@ -961,8 +985,23 @@ public class InMemoryCachingHiveMetastore
         checkArgument(partitionValues != null && !partitionValues.isEmpty(), "partitionValues cannot be null or empty");
         checkArgument(partitionColumnNames.size() == partitionValues.size(), "partitionColumnNames and partitionValues should be of same length");
 
-        MetastoreContext newMetastoreContext = applyImpersonationToMetastoreContext(metastoreContext);
-        String partitionName = makePartName(partitionColumnNames, partitionValues);
+        invalidatePartition(getContextPredicate(metastoreContext), databaseName, tableName, makePartName(partitionColumnNames, partitionValues));
+    }
+
+    /**
+     * Invalidates the cached metadata of the partition, given by its name, e.g. {@code ds=2024-01-01/hour=00}, for all the metastore contexts.
+     */
+    public void invalidateCache(String databaseName, String tableName, String partitionName)
+    {
+        checkArgument(databaseName != null && !databaseName.isEmpty(), "databaseName cannot be null or empty");
+        checkArgument(tableName != null && !tableName.isEmpty(), "tableName cannot be null or empty");
+        checkArgument(partitionName != null && !partitionName.isEmpty(), "partitionName cannot be null or empty");
+
+        invalidatePartition(context -> true, databaseName, tableName, partitionName);
+    }
+
+    private void invalidatePartition(Predicate<MetastoreContext> contextPredicate, String databaseName, String tableName, String partitionName)
+    {
         HiveTableName hiveTableName = hiveTableName(databaseName, tableName);
 
         Predicate<KeyAndContext<HivePartitionName>> hivePartitionNamePredicate = hivePartitionNameKeyAndContext ->
@@ -972,26 +1011,32 @@ public class InMemoryCachingHiveMetastore
         // Invalidate Partition Names Cache
         invalidateCacheForKey(
                 partitionNamesCache,
-                newMetastoreContext,
+                contextPredicate,
                 hiveTableNameKeyAndContext -> hiveTableNameKeyAndContext.getKey().equals(hiveTableName));
 
         // Invalidate Partition Cache
-        invalidateCacheForKey(partitionCache, newMetastoreContext, hivePartitionNamePredicate);
+        invalidateCacheForKey(partitionCache, contextPredicate, hivePartitionNamePredicate);
 
         // Invalidate Partition Filter Cache
         invalidateCacheForKey(
                 partitionFilterCache,
-                newMetastoreContext,
+                contextPredicate,
                 partitionFilterKeyAndContext -> partitionFilterKeyAndContext.getKey().getHiveTableName().equals(hiveTableName));
 
         // Invalidate Partition Statistics Cache
-        invalidateCacheForKey(partitionStatisticsCache, newMetastoreContext, hivePartitionNamePredicate);
+        invalidateCacheForKey(partitionStatisticsCache, contextPredicate, hivePartitionNamePredicate);
+    }
+
+    private Predicate<MetastoreContext> getContextPredicate(MetastoreContext metastoreContext)
+    {
+        MetastoreContext newMetastoreContext = applyImpersonationToMetastoreContext(metastoreContext);
+        return context -> !newMetastoreContext.isImpersonationEnabled() || context.equals(newMetastoreContext);
     }
 
-    private <K> void invalidateCacheForKey(LoadingCache<KeyAndContext<K>, ?> cache, MetastoreContext newMetastoreContext, Predicate<KeyAndContext<K>> keyPredicate)
+    private <K> void invalidateCacheForKey(LoadingCache<KeyAndContext<K>, ?> cache, Predicate<MetastoreContext> contextPredicate, Predicate<KeyAndContext<K>> keyPredicate)
     {
         cache.asMap().keySet().stream()
-                .filter(key -> (!newMetastoreContext.isImpersonationEnabled() || key.getContext().equals(newMetastoreContext)) && keyPredicate.test(key))
+                .filter(key -> contextPredicate.test(key.getContext()) && keyPredicate.test(key))
                 .forEach(cache::invalidate);
     }
 
@@ -14,6 +14,7 @@
 package com.facebook.presto.hive.metastore;
 
 import com.facebook.airlift.stats.CounterStat;
+import com.facebook.airlift.stats.TimeStat;
 import com.google.common.cache.LoadingCache;
 
 public interface MetastoreCacheStats
@@ -51,4 +52,21 @@ public interface MetastoreCacheStats
     long getPartitionCacheSize();
 
     CounterStat getPartitionsWithColumnCountGreaterThanThreshold();
+
+    /**
+     * Records the fetching of the metadata of a batch of partitions for the loading of the splits of a query.
+     */
+    void recordPartitionBatchFetch(int partitionCount, long fetchTimeNanos);
+
+    /**
+     * Records the time the loading of the splits waited for a batch of partitions, which is less than the fetch
+     * time when the batches are fetched concurrently.
+     */
+    void recordPartitionBatchWait(long waitTimeNanos);
+
+    CounterStat getFetchedPartitions();
+
+    TimeStat getPartitionBatchFetchTime();
+
+    TimeStat getPartitionBatchWaitTime();
 }
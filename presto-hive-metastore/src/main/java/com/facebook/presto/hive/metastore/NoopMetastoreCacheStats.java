@@ -14,6 +14,7 @@
 package com.facebook.presto.hive.metastore;
 
 import com.facebook.airlift.stats.CounterStat;
+import com.facebook.airlift.stats.TimeStat;
 import com.google.common.cache.LoadingCache;
 
 public class NoopMetastoreCacheStats
@@ -106,4 +107,32 @@ public class NoopMetastoreCacheStats
     {
         return null;
     }
+
+    @Override
+    public void recordPartitionBatchFetch(int partitionCount, long fetchTimeNanos)
+    {
+    }
+
+    @Override
+    public void recordPartitionBatchWait(long waitTimeNanos)
+    {
+    }
+
+    @Override
+    public CounterStat getFetchedPartitions()
+    {
+        return null;
+    }
+
+    @Override
+    public TimeStat getPartitionBatchFetchTime()
+    {
+        return null;
+    }
+
+    @Override
+    public TimeStat getPartitionBatchWaitTime()
+    {
+        return null;
+    }
 }
@@ -748,34 +748,66 @@ public class SemiTransactionalHiveMetastore
         }
     }
 
-    public synchronized Map<String, Optional<Partition>> getPartitionsByNames(MetastoreContext metastoreContext, String databaseName, String tableName, List<PartitionNameWithVersion> partitionNames)
+    public Map<String, Optional<Partition>> getPartitionsByNames(MetastoreContext metastoreContext, String databaseName, String tableName, List<PartitionNameWithVersion> partitionNames)
+    {
+        List<PartitionNameWithVersion> partitionNamesToQuery = getPartitionNamesToQuery(databaseName, tableName, partitionNames);
+
+        // the lock is not held while fetching the partitions from the metastore, so that several batches of partitions can be fetched concurrently
+        Map<String, Optional<Partition>> delegateResult = metastoreContext.getRuntimeStats().recordWallTime(GET_PARTITIONS_BY_NAMES_TIME_NANOS, () -> delegate.getPartitionsByNames(metastoreContext, databaseName, tableName, partitionNamesToQuery));
+
+        return mergePartitionsByNames(databaseName, tableName, partitionNames, delegateResult);
+    }
+
+    /**
+     * Returns the names of the partitions to fetch from the metastore, i.e. those of a pre-existing table not added or altered in this transaction.
+     */
+    private synchronized List<PartitionNameWithVersion> getPartitionNamesToQuery(String databaseName, String tableName, List<PartitionNameWithVersion> partitionNames)
+    {
+        checkReadable();
+        if (getTableSource(databaseName, tableName) == TableSource.CREATED_IN_THIS_TRANSACTION) {
+            return ImmutableList.of();
+        }
+        Map<List<String>, Action<PartitionAndMore>> partitionActionsOfTable = partitionActions.getOrDefault(new SchemaTableName(databaseName, tableName), ImmutableMap.of());
+        return partitionNames.stream()
+                .filter(partitionNameWithVersion -> !partitionActionsOfTable.containsKey(toPartitionValues(partitionNameWithVersion.getPartitionName())))
+                .collect(toImmutableList());
+    }
+
+    /**
+     * Combines the partitions fetched from the metastore with the partitions added or altered in this transaction. The transaction state
+     * is read again, as it may have changed while the partitions were fetched, so the result is the same as if the lock had been held
+     * during the fetch.
+     */
+    private synchronized Map<String, Optional<Partition>> mergePartitionsByNames(
+            String databaseName,
+            String tableName,
+            List<PartitionNameWithVersion> partitionNames,
+            Map<String, Optional<Partition>> delegateResult)
     {
         checkReadable();
         TableSource tableSource = getTableSource(databaseName, tableName);
         Map<List<String>, Action<PartitionAndMore>> partitionActionsOfTable = partitionActions.computeIfAbsent(new SchemaTableName(databaseName, tableName), k -> new HashMap<>());
-        ImmutableList.Builder<PartitionNameWithVersion> partitionNamesToQuery = ImmutableList.builder();
         ImmutableMap.Builder<String, Optional<Partition>> resultBuilder = ImmutableMap.builder();
         for (PartitionNameWithVersion partitionNameWithVersion : partitionNames) {
-            List<String> partitionValues = toPartitionValues(partitionNameWithVersion.getPartitionName());
-            Action<PartitionAndMore> partitionAction = partitionActionsOfTable.get(partitionValues);
+            String partitionName = partitionNameWithVersion.getPartitionName();
+            Action<PartitionAndMore> partitionAction = partitionActionsOfTable.get(toPartitionValues(partitionName));
             if (partitionAction == null) {
                 switch (tableSource) {
                     case PRE_EXISTING_TABLE:
-                        partitionNamesToQuery.add(partitionNameWithVersion);
+                        // a partition added during the fetch and dropped since is not in the metastore
+                        resultBuilder.put(partitionName, delegateResult.getOrDefault(partitionName, Optional.empty()));
                         break;
                     case CREATED_IN_THIS_TRANSACTION:
-                        resultBuilder.put(partitionNameWithVersion.getPartitionName(), Optional.empty());
+                        resultBuilder.put(partitionName, Optional.empty());
                         break;
                     default:
                         throw new UnsupportedOperationException("unknown table source");
                 }
             }
             else {
-                resultBuilder.put(partitionNameWithVersion.getPartitionName(), getPartitionFromPartitionAction(partitionAction));
+                resultBuilder.put(partitionName, getPartitionFromPartitionAction(partitionAction));
             }
         }
-        Map<String, Optional<Partition>> delegateResult = metastoreContext.getRuntimeStats().recordWallTime(GET_PARTITIONS_BY_NAMES_TIME_NANOS, () -> delegate.getPartitionsByNames(metastoreContext, databaseName, tableName, partitionNamesToQuery.build()));
-        resultBuilder.putAll(delegateResult);
 
         cacheLastDataCommitTimes(delegateResult, databaseName, tableName);
 
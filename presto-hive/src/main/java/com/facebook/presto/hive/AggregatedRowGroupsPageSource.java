@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.type.TypeManager;
+import com.facebook.presto.hive.HiveAggregatedPageSourceFactory.FileRangeReader;
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.function.StandardFunctionResolution;
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.facebook.presto.hive.PartialAggregationPageSource.getArgumentColumnIndexes;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Returns the pushed down partial aggregations of a file with a filter: the aggregations of the row groups
+ * fully matching the filter, answered from their statistics, followed by the aggregations of the rows matching
+ * the filter in the partially matching row groups, which are read one run of consecutive row groups at a time.
+ */
+public class AggregatedRowGroupsPageSource
+        implements ConnectorPageSource
+{
+    private final Queue<Supplier<ConnectorPageSource>> pageSources;
+
+    private ConnectorPageSource current;
+    private long completedBytes;
+    private long completedPositions;
+    private long readTimeNanos;
+
+    private AggregatedRowGroupsPageSource(List<Supplier<ConnectorPageSource>> pageSources)
+    {
+        this.pageSources = new ArrayDeque<>(requireNonNull(pageSources, "pageSources is null"));
+        advance();
+    }
+
+    /**
+     * @param rowGroupOffsets the offsets by which the splits select the row groups of the file, in file order
+     */
+    public static AggregatedRowGroupsPageSource create(
+            List<HiveColumnHandle> columns,
+            Optional<Supplier<ConnectorPageSource>> statisticsPageSource,
+            List<Long> rowGroupOffsets,
+            List<RowGroupMatch> matches,
+            FileRangeReader partiallyMatchedRowGroupReader,
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution)
+    {
+        checkArgument(rowGroupOffsets.size() == matches.size(), "rowGroupOffsets and matches have different sizes");
+        ImmutableList.Builder<Supplier<ConnectorPageSource>> pageSources = ImmutableList.builder();
+        statisticsPageSource.ifPresent(pageSources::add);
+        List<Integer> argumentColumnIndexes = getArgumentColumnIndexes(columns);
+
+        int runStart = -1;
+        for (int i = 0; i <= matches.size(); i++) {
+            boolean partial = i < matches.size() && matches.get(i) == RowGroupMatch.PARTIAL;
+            if (partial && runStart < 0) {
+                runStart = i;
+            }
+            else if (!partial && runStart >= 0) {
+                long start = rowGroupOffsets.get(runStart);
+                long length = rowGroupOffsets.get(i - 1) - start + 1;
+                pageSources.add(() -> new PartialAggregationPageSource(
+                        partiallyMatchedRowGroupReader.read(start, length, argumentColumnIndexes),
+                        columns,
+                        argumentColumnIndexes,
+                        typeManager,
+                        functionResolution));
+                runStart = -1;
+            }
+        }
+        return new AggregatedRowGroupsPageSource(pageSources.build());
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes + (current == null ? 0 : current.getCompletedBytes());
+    }
+
+    @Override
+    public long getCompletedPositions()
+    {
+        return completedPositions + (current == null ? 0 : current.getCompletedPositions());
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos + (current == null ? 0 : current.getReadTimeNanos());
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return current == null;
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        while (current != null) {
+            Page page = current.getNextPage();
+            if (page != null || !current.isFinished()) {
+                return page;
+            }
+            closeCurrent();
+            advance();
+        }
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<?> isBlocked()
+    {
+        return current == null ? NOT_BLOCKED : current.isBlocked();
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return current == null ? 0 : current.getSystemMemoryUsage();
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        pageSources.clear();
+        if (current != null) {
+            ConnectorPageSource pageSource = current;
+            current = null;
+            pageSource.close();
+        }
+    }
+
+    private void advance()
+    {
+        Supplier<ConnectorPageSource> next = pageSources.poll();
+        current = next == null ? null : next.get();
+    }
+
+    private void closeCurrent()
+    {
+        completedBytes += current.getCompletedBytes();
+        completedPositions += current.getCompletedPositions();
+        readTimeNanos += current.getReadTimeNanos();
+        try {
+            current.close();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        current = null;
+    }
+}
@@ -22,7 +22,9 @@ import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.PrestoException;
 import com.google.common.util.concurrent.ListenableFuture;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.Map;
@@ -66,6 +68,8 @@ public class BackgroundHiveSplitLoader
     //   see a series of operations involving two or more of the operations carried out half way.
     private final ReentrantReadWriteLock taskExecutionLock = new ReentrantReadWriteLock();
 
+    private final Closeable partitionsCloser;
+
     private HiveSplitSource hiveSplitSource;
     private volatile boolean stopped;
 
@@ -83,12 +87,49 @@ public class BackgroundHiveSplitLoader
             boolean recursiveDirWalkerEnabled,
             boolean schedulerUsesHostAddresses,
             boolean partialAggregationsPushedDown)
+    {
+        this(
+                table,
+                partitions,
+                infoColumnConstraints,
+                tableBucketInfo,
+                session,
+                hdfsEnvironment,
+                namenodeStats,
+                directoryLister,
+                executor,
+                loaderConcurrency,
+                recursiveDirWalkerEnabled,
+                schedulerUsesHostAddresses,
+                partialAggregationsPushedDown,
+                () -> {});
+    }
+
+    /**
+     * @param partitionsCloser closed when the loader is stopped, to release the resources used to produce the partitions not loaded yet
+     */
+    public BackgroundHiveSplitLoader(
+            Table table,
+            Iterable<HivePartitionMetadata> partitions,
+            Map<Integer, Domain> infoColumnConstraints,
+            Optional<BucketSplitInfo> tableBucketInfo,
+            ConnectorSession session,
+            HdfsEnvironment hdfsEnvironment,
+            NamenodeStats namenodeStats,
+            DirectoryLister directoryLister,
+            Executor executor,
+            int loaderConcurrency,
+            boolean recursiveDirWalkerEnabled,
+            boolean schedulerUsesHostAddresses,
+            boolean partialAggregationsPushedDown,
+            Closeable partitionsCloser)
     {
         this.loaderConcurrency = loaderConcurrency;
         checkArgument(loaderConcurrency > 0, "loaderConcurrency must be > 0, found: %s", loaderConcurrency);
         this.executor = requireNonNull(executor, "executor is null");
         this.partitions = new ConcurrentLazyQueue<>(requireNonNull(partitions, "partitions is null"));
         this.delegatingPartitionLoader = new DelegatingPartitionLoader(table, infoColumnConstraints, tableBucketInfo, session, hdfsEnvironment, namenodeStats, directoryLister, fileIterators, recursiveDirWalkerEnabled, schedulerUsesHostAddresses, partialAggregationsPushedDown);
+        this.partitionsCloser = requireNonNull(partitionsCloser, "partitionsCloser is null");
     }
 
     @Override
@@ -104,6 +145,12 @@ public class BackgroundHiveSplitLoader
     public void stop()
     {
         stopped = true;
+        try {
+            partitionsCloser.close();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private class HiveSplitLoaderTask
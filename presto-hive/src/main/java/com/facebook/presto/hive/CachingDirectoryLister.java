@@ -165,6 +165,15 @@ public class CachingDirectoryLister
         }
     }
 
+    /**
+     * Invalidates the cached listings of the directory and of the directories below it, e.g. the partitions of a table.
+     */
+    public void invalidateDirectoryListCacheRecursively(String directoryPath)
+    {
+        String path = directoryPath.endsWith("/") ? directoryPath.substring(0, directoryPath.length() - 1) : directoryPath;
+        cache.asMap().keySet().removeIf(key -> key.equals(path) || key.startsWith(path + "/"));
+    }
+
     @Managed
     public void flushCache()
     {
@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.hive.metastore.MetastoreCacheStats;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static com.facebook.airlift.concurrent.MoreFutures.getFutureValue;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Loads the metadata of the batches of partitions in order, with up to {@code concurrency} batches fetched
+ * from the metastore ahead of the one being iterated, so that the splits of the first partitions are loaded
+ * while the metadata of the next ones is still being fetched. The batches are loaded by the iterating thread
+ * when the concurrency is 1. Once closed, e.g. when the split source is closed before all partitions are
+ * loaded, the batches being fetched are cancelled, so that they no longer hold the threads of the executor.
+ */
+public class ConcurrentPartitionBatchLoader
+        implements Iterable<List<HivePartitionMetadata>>, Closeable
+{
+    private final Iterable<List<HivePartition>> partitionBatches;
+    private final Function<List<HivePartition>, List<HivePartitionMetadata>> batchLoader;
+    private final Executor executor;
+    private final int concurrency;
+    private final MetastoreCacheStats metastoreCacheStats;
+    // the batches submitted to the executor and not yet returned, of all the iterators
+    private final Set<Future<?>> pendingFetches = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    public ConcurrentPartitionBatchLoader(
+            Iterable<List<HivePartition>> partitionBatches,
+            Function<List<HivePartition>, List<HivePartitionMetadata>> batchLoader,
+            Executor executor,
+            int concurrency,
+            MetastoreCacheStats metastoreCacheStats)
+    {
+        this.partitionBatches = requireNonNull(partitionBatches, "partitionBatches is null");
+        this.batchLoader = requireNonNull(batchLoader, "batchLoader is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        checkArgument(concurrency >= 1, "concurrency must be at least 1");
+        this.concurrency = concurrency;
+        this.metastoreCacheStats = requireNonNull(metastoreCacheStats, "metastoreCacheStats is null");
+    }
+
+    @Override
+    public Iterator<List<HivePartitionMetadata>> iterator()
+    {
+        Iterator<List<HivePartition>> batches = partitionBatches.iterator();
+        Deque<ListenableFutureTask<List<HivePartitionMetadata>>> pendingBatches = new ArrayDeque<>(concurrency);
+        return new AbstractIterator<List<HivePartitionMetadata>>()
+        {
+            @Override
+            protected List<HivePartitionMetadata> computeNext()
+            {
+                checkState(!closed, "partition batch loader is closed");
+                long start = System.nanoTime();
+                List<HivePartitionMetadata> metadata;
+                if (concurrency == 1) {
+                    if (!batches.hasNext()) {
+                        return endOfData();
+                    }
+                    metadata = loadBatch(batches.next());
+                }
+                else {
+                    while (pendingBatches.size() < concurrency && batches.hasNext()) {
+                        List<HivePartition> batch = batches.next();
+                        ListenableFutureTask<List<HivePartitionMetadata>> fetch = ListenableFutureTask.create(() -> loadBatch(batch));
+                        pendingFetches.add(fetch);
+                        // the loader may have been closed before the fetch was added
+                        if (closed) {
+                            fetch.cancel(true);
+                        }
+                        pendingBatches.add(fetch);
+                        executor.execute(fetch);
+                    }
+                    if (pendingBatches.isEmpty()) {
+                        return endOfData();
+                    }
+                    ListenableFutureTask<List<HivePartitionMetadata>> fetch = pendingBatches.poll();
+                    try {
+                        metadata = getFutureValue(fetch);
+                    }
+                    finally {
+                        pendingFetches.remove(fetch);
+                    }
+                }
+                metastoreCacheStats.recordPartitionBatchWait(System.nanoTime() - start);
+                return metadata;
+            }
+        };
+    }
+
+    @Override
+    public void close()
+    {
+        closed = true;
+        // the batches not started yet are not run, and the threads fetching the others are interrupted
+        pendingFetches.forEach(fetch -> fetch.cancel(true));
+        pendingFetches.clear();
+    }
+
+    private List<HivePartitionMetadata> loadBatch(List<HivePartition> batch)
+    {
+        long start = System.nanoTime();
+        List<HivePartitionMetadata> metadata = batchLoader.apply(batch);
+        metastoreCacheStats.recordPartitionBatchFetch(batch.size(), System.nanoTime() - start);
+        return metadata;
+    }
+}
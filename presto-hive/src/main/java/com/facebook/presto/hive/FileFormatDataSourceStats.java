@@ -15,6 +15,7 @@ package com.facebook.presto.hive;
 
 import com.facebook.airlift.stats.DistributionStat;
 import com.facebook.airlift.stats.TimeStat;
+import com.facebook.presto.parquet.ParquetPrefetchStats;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
@@ -22,6 +23,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class FileFormatDataSourceStats
+        implements ParquetPrefetchStats
 {
     private final DistributionStat readBytes = new DistributionStat();
     private final DistributionStat maxCombinedBytesPerRow = new DistributionStat();
@@ -29,6 +31,9 @@ public class FileFormatDataSourceStats
     private final TimeStat time100KBto1MB = new TimeStat(MILLISECONDS);
     private final TimeStat time1MBto10MB = new TimeStat(MILLISECONDS);
     private final TimeStat time10MBPlus = new TimeStat(MILLISECONDS);
+    private final DistributionStat prefetchReadBytes = new DistributionStat();
+    private final DistributionStat prefetchWastedBytes = new DistributionStat();
+    private final TimeStat prefetchWaitTime = new TimeStat(MILLISECONDS);
 
     @Managed
     @Nested
@@ -72,6 +77,27 @@ public class FileFormatDataSourceStats
         return time10MBPlus;
     }
 
+    @Managed
+    @Nested
+    public DistributionStat getPrefetchReadBytes()
+    {
+        return prefetchReadBytes;
+    }
+
+    @Managed
+    @Nested
+    public DistributionStat getPrefetchWastedBytes()
+    {
+        return prefetchWastedBytes;
+    }
+
+    @Managed
+    @Nested
+    public TimeStat getPrefetchWaitTime()
+    {
+        return prefetchWaitTime;
+    }
+
     public void readDataBytesPerSecond(long bytes, long nanos)
     {
         readBytes.add(bytes);
@@ -93,4 +119,22 @@ public class FileFormatDataSourceStats
     {
         maxCombinedBytesPerRow.add(bytes);
     }
+
+    @Override
+    public void addPrefetchReadBytes(long bytes)
+    {
+        prefetchReadBytes.add(bytes);
+    }
+
+    @Override
+    public void addPrefetchWastedBytes(long bytes)
+    {
+        prefetchWastedBytes.add(bytes);
+    }
+
+    @Override
+    public void addPrefetchWaitTime(long nanos)
+    {
+        prefetchWaitTime.add(nanos, NANOSECONDS);
+    }
 }
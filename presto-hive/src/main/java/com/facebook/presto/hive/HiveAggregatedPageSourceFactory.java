@@ -14,6 +14,7 @@
 
 package com.facebook.presto.hive;
 
+import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.hive.metastore.Storage;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
@@ -24,6 +25,12 @@ import java.util.Optional;
 
 public interface HiveAggregatedPageSourceFactory
 {
+    /**
+     * Creates a page source answering the pushed down partial aggregations of a file from its statistics.
+     * With a filter, the row groups (stripes for ORC) are answered from their statistics when these show
+     * that all their rows match the filter, skipped when none of their rows match it, and read with the
+     * given reader otherwise.
+     */
     Optional<? extends ConnectorPageSource> createPageSource(
             Configuration configuration,
             ConnectorSession session,
@@ -31,5 +38,16 @@ public interface HiveAggregatedPageSourceFactory
             Storage storage,
             List<HiveColumnHandle> columns,
             HiveFileContext hiveFileContext,
-            Optional<EncryptionInformation> encryptionInformation);
+            Optional<EncryptionInformation> encryptionInformation,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileRangeReader partiallyMatchedRowGroupReader);
+
+    interface FileRangeReader
+    {
+        /**
+         * Returns the given columns of the rows matching the filter of the scan, in the row groups starting
+         * in the given range of the file.
+         */
+        ConnectorPageSource read(long start, long length, List<Integer> hiveColumnIndexes);
+    }
 }
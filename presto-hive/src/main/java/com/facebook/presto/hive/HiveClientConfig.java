@@ -33,6 +33,7 @@ import jakarta.validation.constraints.NotNull;
 import org.joda.time.DateTimeZone;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
@@ -70,6 +71,7 @@ public class HiveClientConfig
     private int maxSplitIteratorThreads = 1_000;
     private int minPartitionBatchSize = 10;
     private int maxPartitionBatchSize = 100;
+    private int partitionBatchFetchConcurrency = 1;
     private int maxInitialSplits = 200;
     private int splitLoaderConcurrency = 4;
     private DataSize maxInitialSplitSize;
@@ -163,12 +165,16 @@ public class HiveClientConfig
     private Duration fileStatusCacheExpireAfterWrite = new Duration(0, TimeUnit.SECONDS);
     private DataSize fileStatusCacheMaxRetainedSize = new DataSize(0, KILOBYTE);
     private List<String> fileStatusCacheTables = ImmutableList.of();
+    private String cacheInvalidationFeedFile;
+    private Duration cacheInvalidationPollInterval = new Duration(10, TimeUnit.SECONDS);
 
     private DataSize pageFileStripeMaxSize = new DataSize(24, MEGABYTE);
+    private boolean pageFileColumnarWriterEnabled;
     private boolean parquetDereferencePushdownEnabled;
 
     private boolean isPartialAggregationPushdownEnabled;
     private boolean isPartialAggregationPushdownForVariableLengthDatatypesEnabled;
+    private boolean isPartialAggregationPushdownWithFilterEnabled;
 
     private boolean fileRenamingEnabled;
     private boolean preferManifestToListFiles;
@@ -194,6 +200,11 @@ public class HiveClientConfig
     private boolean userDefinedTypeEncodingEnabled;
 
     private boolean columnIndexFilterEnabled;
+    private boolean parquetBloomFilterEnabled = true;
+    private boolean parquetPrefetchEnabled;
+    private DataSize parquetPrefetchMaxMergeDistance = new DataSize(1, MEGABYTE);
+    private DataSize parquetPrefetchMaxReadSize = new DataSize(16, MEGABYTE);
+    private int parquetPrefetchMaxConcurrentReads = 64;
     private boolean fileSplittable = true;
     private Protocol thriftProtocol = Protocol.BINARY;
     private DataSize thriftBufferSize = new DataSize(128, BYTE);
@@ -454,6 +465,20 @@ public class HiveClientConfig
         return this;
     }
 
+    @Min(1)
+    public int getPartitionBatchFetchConcurrency()
+    {
+        return partitionBatchFetchConcurrency;
+    }
+
+    @Config("hive.metastore.partition-batch-fetch-concurrency")
+    @ConfigDescription("Number of batches of partitions fetched concurrently from the metastore, ahead of the loading of the splits")
+    public HiveClientConfig setPartitionBatchFetchConcurrency(int partitionBatchFetchConcurrency)
+    {
+        this.partitionBatchFetchConcurrency = partitionBatchFetchConcurrency;
+        return this;
+    }
+
     @NotNull
     public List<String> getResourceConfigFiles()
     {
@@ -838,6 +863,33 @@ public class HiveClientConfig
         return this;
     }
 
+    public Optional<String> getCacheInvalidationFeedFile()
+    {
+        return Optional.ofNullable(cacheInvalidationFeedFile);
+    }
+
+    @Config("hive.cache-invalidation.feed-file")
+    @ConfigDescription("File of the changes made outside of Presto, appended to by an external notification source, which invalidate the metastore and directory listing caches")
+    public HiveClientConfig setCacheInvalidationFeedFile(String cacheInvalidationFeedFile)
+    {
+        this.cacheInvalidationFeedFile = cacheInvalidationFeedFile;
+        return this;
+    }
+
+    @MinDuration("1ms")
+    public Duration getCacheInvalidationPollInterval()
+    {
+        return cacheInvalidationPollInterval;
+    }
+
+    @Config("hive.cache-invalidation.poll-interval")
+    @ConfigDescription("Interval between the polls of the cache invalidation feed")
+    public HiveClientConfig setCacheInvalidationPollInterval(Duration cacheInvalidationPollInterval)
+    {
+        this.cacheInvalidationPollInterval = cacheInvalidationPollInterval;
+        return this;
+    }
+
     public enum HdfsAuthenticationType
     {
         NONE,
@@ -1343,6 +1395,19 @@ public class HiveClientConfig
         return this;
     }
 
+    public boolean isPageFileColumnarWriterEnabled()
+    {
+        return pageFileColumnarWriterEnabled;
+    }
+
+    @Config("hive.pagefile.writer.columnar-enabled")
+    @ConfigDescription("Write page files column by column, with column statistics, so that readers can skip columns and stripes")
+    public HiveClientConfig setPageFileColumnarWriterEnabled(boolean pageFileColumnarWriterEnabled)
+    {
+        this.pageFileColumnarWriterEnabled = pageFileColumnarWriterEnabled;
+        return this;
+    }
+
     @Config("hive.enable-parquet-dereference-pushdown")
     @ConfigDescription("enable parquet dereference pushdown")
     public HiveClientConfig setParquetDereferencePushdownEnabled(boolean parquetDereferencePushdownEnabled)
@@ -1382,6 +1447,19 @@ public class HiveClientConfig
         return this.isPartialAggregationPushdownForVariableLengthDatatypesEnabled;
     }
 
+    @Config("hive.partial_aggregation_pushdown_with_filter_enabled")
+    @ConfigDescription("enable partial aggregation pushdown for scans with a filter on primitive columns, answering the row groups fully matching the filter from their statistics")
+    public HiveClientConfig setPartialAggregationPushdownWithFilterEnabled(boolean partialAggregationPushdownWithFilterEnabled)
+    {
+        this.isPartialAggregationPushdownWithFilterEnabled = partialAggregationPushdownWithFilterEnabled;
+        return this;
+    }
+
+    public boolean isPartialAggregationPushdownWithFilterEnabled()
+    {
+        return this.isPartialAggregationPushdownWithFilterEnabled;
+    }
+
     @Config("hive.file_renaming_enabled")
     @ConfigDescription("enable file renaming")
     public HiveClientConfig setFileRenamingEnabled(boolean fileRenamingEnabled)
@@ -1512,6 +1590,75 @@ public class HiveClientConfig
         return this.columnIndexFilterEnabled;
     }
 
+    @Config("hive.parquet-bloom-filter-enabled")
+    @ConfigDescription("Skip Parquet row groups whose Bloom filters rule out the values of an equality or IN predicate")
+    public HiveClientConfig setParquetBloomFilterEnabled(boolean parquetBloomFilterEnabled)
+    {
+        this.parquetBloomFilterEnabled = parquetBloomFilterEnabled;
+        return this;
+    }
+
+    public boolean isParquetBloomFilterEnabled()
+    {
+        return this.parquetBloomFilterEnabled;
+    }
+
+    @Config("hive.parquet-prefetch-enabled")
+    @ConfigDescription("Read the column chunks of the next Parquet row group asynchronously while the current one is decoded")
+    public HiveClientConfig setParquetPrefetchEnabled(boolean parquetPrefetchEnabled)
+    {
+        this.parquetPrefetchEnabled = parquetPrefetchEnabled;
+        return this;
+    }
+
+    public boolean isParquetPrefetchEnabled()
+    {
+        return parquetPrefetchEnabled;
+    }
+
+    @NotNull
+    public DataSize getParquetPrefetchMaxMergeDistance()
+    {
+        return parquetPrefetchMaxMergeDistance;
+    }
+
+    @Config("hive.parquet-prefetch-max-merge-distance")
+    @ConfigDescription("Maximum gap between two Parquet column chunks that are read ahead with a single read")
+    public HiveClientConfig setParquetPrefetchMaxMergeDistance(DataSize parquetPrefetchMaxMergeDistance)
+    {
+        this.parquetPrefetchMaxMergeDistance = parquetPrefetchMaxMergeDistance;
+        return this;
+    }
+
+    @NotNull
+    @MinDataSize("1B")
+    public DataSize getParquetPrefetchMaxReadSize()
+    {
+        return parquetPrefetchMaxReadSize;
+    }
+
+    @Config("hive.parquet-prefetch-max-read-size")
+    @ConfigDescription("Maximum size of a read of Parquet column chunks ahead of the reader, larger column chunks are read by the column readers")
+    public HiveClientConfig setParquetPrefetchMaxReadSize(DataSize parquetPrefetchMaxReadSize)
+    {
+        this.parquetPrefetchMaxReadSize = parquetPrefetchMaxReadSize;
+        return this;
+    }
+
+    @Min(1)
+    public int getParquetPrefetchMaxConcurrentReads()
+    {
+        return parquetPrefetchMaxConcurrentReads;
+    }
+
+    @Config("hive.parquet-prefetch-max-concurrent-reads")
+    @ConfigDescription("Maximum number of reads of Parquet column chunks in flight on a worker")
+    public HiveClientConfig setParquetPrefetchMaxConcurrentReads(int parquetPrefetchMaxConcurrentReads)
+    {
+        this.parquetPrefetchMaxConcurrentReads = parquetPrefetchMaxConcurrentReads;
+        return this;
+    }
+
     @Config("hive.size-based-split-weights-enabled")
     public HiveClientConfig setSizeBasedSplitWeightsEnabled(boolean sizeBasedSplitWeightsEnabled)
     {
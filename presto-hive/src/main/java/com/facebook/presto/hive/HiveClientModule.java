@@ -21,6 +21,8 @@ import com.facebook.drift.codec.utils.DefaultThriftCodecsModule;
 import com.facebook.presto.cache.ForCachingFileSystem;
 import com.facebook.presto.hive.HiveDwrfEncryptionProvider.ForCryptoService;
 import com.facebook.presto.hive.HiveDwrfEncryptionProvider.ForUnknown;
+import com.facebook.presto.hive.cache.CacheInvalidationFeed;
+import com.facebook.presto.hive.cache.CacheInvalidationManager;
 import com.facebook.presto.hive.cache.HiveCachingHdfsConfiguration;
 import com.facebook.presto.hive.datasink.DataSinkFactory;
 import com.facebook.presto.hive.datasink.OutputStreamDataSinkFactory;
@@ -28,6 +30,7 @@ import com.facebook.presto.hive.metastore.ExtendedHiveMetastore;
 import com.facebook.presto.hive.metastore.HiveMetastoreCacheStats;
 import com.facebook.presto.hive.metastore.HivePartitionMutator;
 import com.facebook.presto.hive.metastore.MetastoreCacheStats;
+import com.facebook.presto.hive.orc.DecompressedStreamCacheStatsMBean;
 import com.facebook.presto.hive.orc.DwrfAggregatedPageSourceFactory;
 import com.facebook.presto.hive.orc.DwrfBatchPageSourceFactory;
 import com.facebook.presto.hive.orc.DwrfSelectivePageSourceFactory;
@@ -37,6 +40,7 @@ import com.facebook.presto.hive.orc.OrcSelectivePageSourceFactory;
 import com.facebook.presto.hive.orc.TupleDomainFilterCache;
 import com.facebook.presto.hive.pagefile.PageFilePageSourceFactory;
 import com.facebook.presto.hive.pagefile.PageFileWriterFactory;
+import com.facebook.presto.hive.parquet.ColumnChunkPrefetcherFactory;
 import com.facebook.presto.hive.parquet.ParquetAggregatedPageSourceFactory;
 import com.facebook.presto.hive.parquet.ParquetFileWriterFactory;
 import com.facebook.presto.hive.parquet.ParquetPageSourceFactory;
@@ -48,6 +52,9 @@ import com.facebook.presto.hive.s3select.S3SelectRecordCursorProvider;
 import com.facebook.presto.hive.statistics.ParquetQuickStatsBuilder;
 import com.facebook.presto.hive.statistics.QuickStatsProvider;
 import com.facebook.presto.orc.CachingStripeMetadataSource;
+import com.facebook.presto.orc.DecompressedStreamCache;
+import com.facebook.presto.orc.DecompressedStreamCache.CacheableDecompressedStream;
+import com.facebook.presto.orc.DecompressedStreamCachingStripeMetadataSource;
 import com.facebook.presto.orc.DwrfAwareStripeMetadataSourceFactory;
 import com.facebook.presto.orc.EncryptionLibrary;
 import com.facebook.presto.orc.OrcDataSourceId;
@@ -99,6 +106,7 @@ import static com.facebook.presto.orc.StripeMetadataSource.CacheableRowGroupIndi
 import static com.facebook.presto.orc.StripeMetadataSource.CacheableSlice;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
+import static com.google.inject.multibindings.OptionalBinder.newOptionalBinder;
 import static java.lang.Math.toIntExact;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newFixedThreadPool;
@@ -141,6 +149,10 @@ public class HiveClientModule
         newExporter(binder).export(DirectoryLister.class)
                 .as(generatedNameOf(CachingDirectoryLister.class, connectorId));
 
+        newOptionalBinder(binder, CacheInvalidationFeed.class);
+        binder.bind(CacheInvalidationManager.class).asEagerSingleton();
+        newExporter(binder).export(CacheInvalidationManager.class).as(generatedNameOf(CacheInvalidationManager.class, connectorId));
+
         Multibinder<HiveRecordCursorProvider> recordCursorProviderBinder = newSetBinder(binder, HiveRecordCursorProvider.class);
         recordCursorProviderBinder.addBinding().to(S3SelectRecordCursorProvider.class).in(Scopes.SINGLETON);
         recordCursorProviderBinder.addBinding().to(GenericHiveRecordCursorProvider.class).in(Scopes.SINGLETON);
@@ -194,6 +206,7 @@ public class HiveClientModule
         configBinder(binder).bindConfig(OrcCacheConfig.class, connectorId);
 
         binder.bind(TupleDomainFilterCache.class).in(Scopes.SINGLETON);
+        binder.bind(ColumnChunkPrefetcherFactory.class).in(Scopes.SINGLETON);
 
         binder.bind(HdfsEnvironment.class).in(Scopes.SINGLETON);
         binder.bind(HdfsConfiguration.class).annotatedWith(ForMetastoreHdfsEnvironment.class).to(HiveCachingHdfsConfiguration.class).in(Scopes.SINGLETON);
@@ -263,6 +276,39 @@ public class HiveClientModule
                                 hiveClientConfig.getMaxConcurrentFileRenames())));
     }
 
+    @ForParquetPrefetch
+    @Singleton
+    @Provides
+    public ExecutorService createParquetPrefetchExecutor(HiveConnectorId hiveClientId, HiveClientConfig hiveClientConfig)
+    {
+        return new ExecutorServiceAdapter(
+                new BoundedExecutor(
+                        newCachedThreadPool(daemonThreadsNamed("hive-parquet-prefetch-" + hiveClientId + "-%s")),
+                        hiveClientConfig.getParquetPrefetchMaxConcurrentReads()));
+    }
+
+    @ForParquetWriter
+    @Singleton
+    @Provides
+    public ExecutorService createParquetWriterExecutor(HiveConnectorId hiveClientId, ParquetFileWriterConfig parquetFileWriterConfig)
+    {
+        return new ExecutorServiceAdapter(
+                new BoundedExecutor(
+                        newCachedThreadPool(daemonThreadsNamed("hive-parquet-writer-" + hiveClientId + "-%s")),
+                        parquetFileWriterConfig.getMaxConcurrentColumnEncodings()));
+    }
+
+    @ForOrcWriter
+    @Singleton
+    @Provides
+    public ExecutorService createOrcWriterExecutor(HiveConnectorId hiveClientId, OrcFileWriterConfig orcFileWriterConfig)
+    {
+        return new ExecutorServiceAdapter(
+                new BoundedExecutor(
+                        newCachedThreadPool(daemonThreadsNamed("hive-orc-writer-" + hiveClientId + "-%s")),
+                        orcFileWriterConfig.getMaxConcurrentStripeEncodings()));
+    }
+
     @ForZeroRowFileCreator
     @Singleton
     @Provides
@@ -332,6 +378,17 @@ public class HiveClientModule
             }
             stripeMetadataSource = new CachingStripeMetadataSource(stripeMetadataSource, footerCache, streamCache, rowGroupIndexCache);
         }
+        if (orcCacheConfig.isDecompressedStreamCacheEnabled()) {
+            Cache<StripeStreamId, CacheableDecompressedStream> decompressedStreamCache = CacheBuilder.newBuilder()
+                    .maximumWeight(orcCacheConfig.getDecompressedStreamCacheSize().toBytes())
+                    .weigher((id, stream) -> toIntExact(((CacheableDecompressedStream) stream).getStream().getRetainedSizeInBytes()))
+                    .expireAfterAccess(orcCacheConfig.getDecompressedStreamCacheTtlSinceLastAccess().toMillis(), MILLISECONDS)
+                    .recordStats()
+                    .build();
+            DecompressedStreamCache cache = new DecompressedStreamCache(decompressedStreamCache);
+            exporter.export(generatedNameOf(DecompressedStreamCacheStatsMBean.class, connectorId + "_DecompressedStream"), new DecompressedStreamCacheStatsMBean(cache));
+            stripeMetadataSource = new DecompressedStreamCachingStripeMetadataSource(stripeMetadataSource, cache);
+        }
         StripeMetadataSourceFactory factory = StripeMetadataSourceFactory.of(stripeMetadataSource);
         if (orcCacheConfig.isDwrfStripeCacheEnabled()) {
             factory = new DwrfAwareStripeMetadataSourceFactory(factory);
@@ -23,6 +23,7 @@ import com.facebook.presto.common.predicate.NullableValue;
 import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.common.type.Type;
 import com.facebook.presto.common.type.TypeManager;
+import com.facebook.presto.hive.HiveAggregatedPageSourceFactory.FileRangeReader;
 import com.facebook.presto.hive.HiveSplit.BucketConversion;
 import com.facebook.presto.hive.metastore.Column;
 import com.facebook.presto.hive.metastore.Storage;
@@ -183,7 +184,36 @@ public class HivePageSourceProvider
                         hiveSplit.getFileSplit().getPath()));
             }
 
-            return createAggregatedPageSource(aggregatedPageSourceFactories, configuration, session, hiveSplit, hiveLayout, selectedColumns, fileContext, encryptionInformation);
+            // the partition keys are enforced by partition pruning, so the filter of the files is on their regular columns
+            TupleDomain<HiveColumnHandle> dataColumnPredicate = hiveLayout.getDomainPredicate()
+                    .transform(Subfield::getRootName)
+                    .transform(hiveLayout.getPredicateColumns()::get)
+                    .transform(column -> column.getColumnType() == REGULAR ? column : null);
+            if (dataColumnPredicate.isNone()) {
+                return new HiveEmptySplitPageSource();
+            }
+
+            // the row groups partially matching the filter are read by the regular page sources, with the filter of the layout
+            FileRangeReader partiallyMatchedRowGroupReader = (start, length, hiveColumnIndexes) -> createPageSource(
+                    transaction,
+                    session,
+                    withFileRange(hiveSplit, start, length),
+                    layout,
+                    getDataColumnHandles(hiveLayout, hiveColumnIndexes),
+                    splitContext,
+                    runtimeStats);
+
+            return createAggregatedPageSource(
+                    aggregatedPageSourceFactories,
+                    configuration,
+                    session,
+                    hiveSplit,
+                    hiveLayout,
+                    selectedColumns,
+                    fileContext,
+                    encryptionInformation,
+                    dataColumnPredicate,
+                    partiallyMatchedRowGroupReader);
         }
         if (hiveLayout.isPushdownFilterEnabled()) {
             Optional<ConnectorPageSource> selectivePageSource = createSelectivePageSource(
@@ -258,7 +288,9 @@ public class HivePageSourceProvider
             HiveTableLayoutHandle hiveLayout,
             List<HiveColumnHandle> selectedColumns,
             HiveFileContext fileContext,
-            Optional<EncryptionInformation> encryptionInformation)
+            Optional<EncryptionInformation> encryptionInformation,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileRangeReader partiallyMatchedRowGroupReader)
     {
         List<ColumnMapping> columnMappings = ColumnMapping.buildColumnMappings(
                 hiveSplit.getPartitionKeys(),
@@ -278,7 +310,9 @@ public class HivePageSourceProvider
                     hiveSplit.getStorage(),
                     toColumnHandles(regularAndInterimColumnMappings, true),
                     fileContext,
-                    encryptionInformation);
+                    encryptionInformation,
+                    effectivePredicate,
+                    partiallyMatchedRowGroupReader);
             if (pageSource.isPresent()) {
                 return pageSource.get();
             }
@@ -291,6 +325,57 @@ public class HivePageSourceProvider
                         hiveSplit.getStorage().getStorageFormat().getSerDe()));
     }
 
+    private static HiveSplit withFileRange(HiveSplit split, long start, long length)
+    {
+        HiveFileSplit fileSplit = split.getFileSplit();
+        return new HiveSplit(
+                new HiveFileSplit(
+                        fileSplit.getPath(),
+                        start,
+                        length,
+                        fileSplit.getFileSize(),
+                        fileSplit.getFileModifiedTime(),
+                        fileSplit.getExtraFileInfo(),
+                        fileSplit.getCustomSplitInfo(),
+                        fileSplit.getAffinitySchedulingFileSectionIndex()),
+                split.getDatabase(),
+                split.getTable(),
+                split.getPartitionName(),
+                split.getStorage(),
+                split.getPartitionKeys(),
+                split.getAddresses(),
+                split.getReadBucketNumber(),
+                split.getTableBucketNumber(),
+                split.getNodeSelectionStrategy(),
+                split.getPartitionDataColumnCount(),
+                split.getTableToPartitionMapping(),
+                split.getBucketConversion(),
+                split.isS3SelectPushdownEnabled(),
+                split.getCacheQuotaRequirement(),
+                split.getEncryptionInformation(),
+                split.getRedundantColumnDomains(),
+                split.getSplitWeight(),
+                split.getRowIdPartitionComponent());
+    }
+
+    private static List<ColumnHandle> getDataColumnHandles(HiveTableLayoutHandle hiveLayout, List<Integer> hiveColumnIndexes)
+    {
+        List<Column> dataColumns = hiveLayout.getDataColumns();
+        return hiveColumnIndexes.stream()
+                .map(index -> {
+                    Column column = dataColumns.get(index);
+                    return new HiveColumnHandle(
+                            column.getName(),
+                            column.getType(),
+                            column.getType().getTypeSignature(),
+                            index,
+                            REGULAR,
+                            column.getComment(),
+                            Optional.empty());
+                })
+                .collect(toImmutableList());
+    }
+
     @VisibleForTesting
     protected static CacheQuota generateCacheQuota(HiveSplit hiveSplit)
     {
@@ -382,6 +467,7 @@ public class HivePageSourceProvider
                     session,
                     split.getFileSplit(),
                     split.getStorage(),
+                    new SchemaTableName(split.getDatabase(), split.getTable()),
                     columnHandles,
                     prefilledValues,
                     coercers,
@@ -57,7 +57,9 @@ public final class HiveSessionProperties
     private static final String ORC_OPTIMIZED_WRITER_STRING_DICTIONARY_SORTING_ENABLED = "orc_optimized_writer_string_dictionary_sorting_enabled";
     private static final String ORC_OPTIMIZED_WRITER_FLAT_MAP_WRITER_ENABLED = "orc_optimized_writer_flat_map_writer_enabled";
     private static final String ORC_OPTIMIZED_WRITER_COMPRESSION_LEVEL = "orc_optimized_writer_compression_level";
+    private static final String ORC_OPTIMIZED_WRITER_BACKGROUND_STRIPE_ENCODING_ENABLED = "orc_optimized_writer_background_stripe_encoding_enabled";
     private static final String PAGEFILE_WRITER_MAX_STRIPE_SIZE = "pagefile_writer_max_stripe_size";
+    private static final String PAGEFILE_WRITER_COLUMNAR_ENABLED = "pagefile_writer_columnar_enabled";
     public static final String HIVE_STORAGE_FORMAT = "hive_storage_format";
     static final String COMPRESSION_CODEC = "compression_codec";
     private static final String ORC_COMPRESSION_CODEC = "orc_compression_codec";
@@ -67,6 +69,7 @@ public final class HiveSessionProperties
     private static final String PARQUET_WRITER_PAGE_SIZE = "parquet_writer_page_size";
     private static final String PARQUET_OPTIMIZED_WRITER_ENABLED = "parquet_optimized_writer_enabled";
     private static final String PARQUET_WRITER_VERSION = "parquet_writer_version";
+    private static final String PARQUET_WRITER_PARALLEL_ENCODING_ENABLED = "parquet_writer_parallel_encoding_enabled";
     private static final String MAX_SPLIT_SIZE = "max_split_size";
     private static final String MAX_INITIAL_SPLIT_SIZE = "max_initial_split_size";
     private static final String SYMLINK_OPTIMIZED_READER_ENABLED = "symlink_optimized_reader_enabled";
@@ -106,6 +109,7 @@ public final class HiveSessionProperties
     public static final String IGNORE_UNREADABLE_PARTITION = "ignore_unreadable_partition";
     public static final String PARTIAL_AGGREGATION_PUSHDOWN_ENABLED = "partial_aggregation_pushdown_enabled";
     public static final String PARTIAL_AGGREGATION_PUSHDOWN_FOR_VARIABLE_LENGTH_DATATYPES_ENABLED = "partial_aggregation_pushdown_for_variable_length_datatypes_enabled";
+    public static final String PARTIAL_AGGREGATION_PUSHDOWN_WITH_FILTER_ENABLED = "partial_aggregation_pushdown_with_filter_enabled";
     public static final String FILE_RENAMING_ENABLED = "file_renaming_enabled";
     public static final String PREFER_MANIFESTS_TO_LIST_FILES = "prefer_manifests_to_list_files";
     public static final String MANIFEST_VERIFICATION_ENABLED = "manifest_verification_enabled";
@@ -119,6 +123,8 @@ public final class HiveSessionProperties
     private static final String DWRF_WRITER_STRIPE_CACHE_ENABLED = "dwrf_writer_stripe_cache_enabled";
     private static final String DWRF_WRITER_STRIPE_CACHE_SIZE = "dwrf_writer_stripe_cache_size";
     public static final String USE_COLUMN_INDEX_FILTER = "use_column_index_filter";
+    public static final String PARQUET_BLOOM_FILTER_ENABLED = "parquet_bloom_filter_enabled";
+    public static final String PARQUET_PREFETCH_ENABLED = "parquet_prefetch_enabled";
     public static final String SIZE_BASED_SPLIT_WEIGHTS_ENABLED = "size_based_split_weights_enabled";
     public static final String MINIMUM_ASSIGNED_SPLIT_WEIGHT = "minimum_assigned_split_weight";
     private static final String USE_RECORD_PAGE_SOURCE_FOR_CUSTOM_SPLIT = "use_record_page_source_for_custom_split";
@@ -136,6 +142,7 @@ public final class HiveSessionProperties
     public static final String LEGACY_TIMESTAMP_BUCKETING = "legacy_timestamp_bucketing";
     public static final String OPTIMIZE_PARSING_OF_PARTITION_VALUES = "optimize_parsing_of_partition_values";
     public static final String OPTIMIZE_PARSING_OF_PARTITION_VALUES_THRESHOLD = "optimize_parsing_of_partition_values_threshold";
+    public static final String PARTITION_BATCH_FETCH_CONCURRENCY = "partition_batch_fetch_concurrency";
 
     public static final String NATIVE_STATS_BASED_FILTER_REORDER_DISABLED = "native_stats_based_filter_reorder_disabled";
 
@@ -221,11 +228,21 @@ public final class HiveSessionProperties
                         "Experimental: ORC: Compression level, works only for ZSTD and ZLIB compression kinds",
                         orcFileWriterConfig.getCompressionLevel(),
                         false),
+                booleanProperty(
+                        ORC_OPTIMIZED_WRITER_BACKGROUND_STRIPE_ENCODING_ENABLED,
+                        "ORC: Encode and write the closed stripes in the background while buffering the next stripe",
+                        orcFileWriterConfig.isBackgroundStripeEncodingEnabled(),
+                        false),
                 dataSizeSessionProperty(
                         PAGEFILE_WRITER_MAX_STRIPE_SIZE,
                         "PAGEFILE: Max stripe size",
                         hiveClientConfig.getPageFileStripeMaxSize(),
                         false),
+                booleanProperty(
+                        PAGEFILE_WRITER_COLUMNAR_ENABLED,
+                        "PAGEFILE: Write columns separately with column statistics",
+                        hiveClientConfig.isPageFileColumnarWriterEnabled(),
+                        false),
                 stringProperty(
                         HIVE_STORAGE_FORMAT,
                         "Default storage format for new tables or partitions",
@@ -443,6 +460,11 @@ public final class HiveSessionProperties
                         "Experimental: Enable optimized writer",
                         parquetFileWriterConfig.isParquetOptimizedWriterEnabled(),
                         false),
+                booleanProperty(
+                        PARQUET_WRITER_PARALLEL_ENCODING_ENABLED,
+                        "Parquet: Encode and compress the columns of a row group concurrently",
+                        parquetFileWriterConfig.isParallelEncodingEnabled(),
+                        false),
                 new PropertyMetadata<>(
                         PARQUET_WRITER_VERSION,
                         "Parquet: Writer version",
@@ -490,6 +512,11 @@ public final class HiveSessionProperties
                         "Is partial aggregation pushdown enabled for variable length datatypes",
                         hiveClientConfig.isPartialAggregationPushdownForVariableLengthDatatypesEnabled(),
                         false),
+                booleanProperty(
+                        PARTIAL_AGGREGATION_PUSHDOWN_WITH_FILTER_ENABLED,
+                        "Is partial aggregation pushdown enabled for scans with a filter on primitive columns",
+                        hiveClientConfig.isPartialAggregationPushdownWithFilterEnabled(),
+                        false),
                 booleanProperty(
                         FILE_RENAMING_ENABLED,
                         "Enable renaming the files written by writers",
@@ -569,6 +596,16 @@ public final class HiveSessionProperties
                         "should use column index statistics filtering",
                         hiveClientConfig.getReadColumnIndexFilter(),
                         false),
+                booleanProperty(
+                        PARQUET_BLOOM_FILTER_ENABLED,
+                        "Use Parquet Bloom filters to skip row groups",
+                        hiveClientConfig.isParquetBloomFilterEnabled(),
+                        false),
+                booleanProperty(
+                        PARQUET_PREFETCH_ENABLED,
+                        "Read the column chunks of the next Parquet row group while the current one is decoded",
+                        hiveClientConfig.isParquetPrefetchEnabled(),
+                        false),
                 booleanProperty(
                         SIZE_BASED_SPLIT_WEIGHTS_ENABLED,
                         "Enable estimating split weights based on size in bytes",
@@ -674,6 +711,11 @@ public final class HiveSessionProperties
                         "When OPTIMIZE_PARSING_OF_PARTITION_VALUES is set to true, enable this optimizations when number of partitions exceed the threshold here",
                         hiveClientConfig.getOptimizeParsingOfPartitionValuesThreshold(),
                         false),
+                integerProperty(
+                        PARTITION_BATCH_FETCH_CONCURRENCY,
+                        "Number of batches of partitions fetched concurrently from the metastore, ahead of the loading of the splits",
+                        hiveClientConfig.getPartitionBatchFetchConcurrency(),
+                        false),
                 booleanProperty(
                         NATIVE_STATS_BASED_FILTER_REORDER_DISABLED,
                         "Native Execution only. Disable stats based filter reordering.",
@@ -761,6 +803,11 @@ public final class HiveSessionProperties
         return session.getProperty(ORC_OPTIMIZED_WRITER_FLAT_MAP_WRITER_ENABLED, Boolean.class);
     }
 
+    public static boolean isOrcOptimizedWriterBackgroundStripeEncodingEnabled(ConnectorSession session)
+    {
+        return session.getProperty(ORC_OPTIMIZED_WRITER_BACKGROUND_STRIPE_ENCODING_ENABLED, Boolean.class);
+    }
+
     public static OptionalInt getCompressionLevel(ConnectorSession session)
     {
         int value = session.getProperty(ORC_OPTIMIZED_WRITER_COMPRESSION_LEVEL, Integer.class);
@@ -775,6 +822,11 @@ public final class HiveSessionProperties
         return session.getProperty(PAGEFILE_WRITER_MAX_STRIPE_SIZE, DataSize.class);
     }
 
+    public static boolean isPageFileColumnarWriterEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PAGEFILE_WRITER_COLUMNAR_ENABLED, Boolean.class);
+    }
+
     public static HiveStorageFormat getHiveStorageFormat(ConnectorSession session)
     {
         return HiveStorageFormat.valueOf(session.getProperty(HIVE_STORAGE_FORMAT, String.class).toUpperCase(ENGLISH));
@@ -1001,6 +1053,11 @@ public final class HiveSessionProperties
         return session.getProperty(PARQUET_OPTIMIZED_WRITER_ENABLED, Boolean.class);
     }
 
+    public static boolean isParquetWriterParallelEncodingEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_WRITER_PARALLEL_ENCODING_ENABLED, Boolean.class);
+    }
+
     public static ParquetProperties.WriterVersion getParquetWriterVersion(ConnectorSession session)
     {
         return session.getProperty(PARQUET_WRITER_VERSION, ParquetProperties.WriterVersion.class);
@@ -1031,6 +1088,11 @@ public final class HiveSessionProperties
         return session.getProperty(PARTIAL_AGGREGATION_PUSHDOWN_FOR_VARIABLE_LENGTH_DATATYPES_ENABLED, Boolean.class);
     }
 
+    public static boolean isPartialAggregationPushdownWithFilterEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PARTIAL_AGGREGATION_PUSHDOWN_WITH_FILTER_ENABLED, Boolean.class);
+    }
+
     public static boolean isFileRenamingEnabled(ConnectorSession session)
     {
         return session.getProperty(FILE_RENAMING_ENABLED, Boolean.class);
@@ -1096,6 +1158,16 @@ public final class HiveSessionProperties
         return session.getProperty(USE_COLUMN_INDEX_FILTER, Boolean.class);
     }
 
+    public static boolean isParquetBloomFilterEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_BLOOM_FILTER_ENABLED, Boolean.class);
+    }
+
+    public static boolean isParquetPrefetchEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_PREFETCH_ENABLED, Boolean.class);
+    }
+
     public static boolean isSizeBasedSplitWeightsEnabled(ConnectorSession session)
     {
         return session.getProperty(SIZE_BASED_SPLIT_WEIGHTS_ENABLED, Boolean.class);
@@ -1186,4 +1258,13 @@ public final class HiveSessionProperties
     {
         return session.getProperty(SYMLINK_OPTIMIZED_READER_ENABLED, Boolean.class);
     }
+
+    public static int getPartitionBatchFetchConcurrency(ConnectorSession session)
+    {
+        int concurrency = session.getProperty(PARTITION_BATCH_FETCH_CONCURRENCY, Integer.class);
+        if (concurrency < 1) {
+            throw new PrestoException(INVALID_SESSION_PROPERTY, format("%s must be greater than 0: %s", PARTITION_BATCH_FETCH_CONCURRENCY, concurrency));
+        }
+        return concurrency;
+    }
 }
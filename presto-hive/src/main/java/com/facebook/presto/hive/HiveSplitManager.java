@@ -33,6 +33,7 @@ import com.facebook.presto.hive.metastore.DecimalStatistics;
 import com.facebook.presto.hive.metastore.DoubleStatistics;
 import com.facebook.presto.hive.metastore.HiveColumnStatistics;
 import com.facebook.presto.hive.metastore.IntegerStatistics;
+import com.facebook.presto.hive.metastore.MetastoreCacheStats;
 import com.facebook.presto.hive.metastore.MetastoreContext;
 import com.facebook.presto.hive.metastore.Partition;
 import com.facebook.presto.hive.metastore.PartitionStatistics;
@@ -60,6 +61,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
+import com.google.common.io.Closer;
 import io.airlift.slice.Slice;
 import jakarta.inject.Inject;
 import org.apache.hadoop.hive.ql.io.parquet.serde.ParquetHiveSerDe;
@@ -97,6 +99,7 @@ import static com.facebook.presto.hive.HiveErrorCode.HIVE_TRANSACTION_NOT_FOUND;
 import static com.facebook.presto.hive.HivePartition.UNPARTITIONED_ID;
 import static com.facebook.presto.hive.HiveSessionProperties.getHiveMaxInitialSplitSize;
 import static com.facebook.presto.hive.HiveSessionProperties.getLeaseDuration;
+import static com.facebook.presto.hive.HiveSessionProperties.getPartitionBatchFetchConcurrency;
 import static com.facebook.presto.hive.HiveSessionProperties.isDynamicSplitSizesEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isOfflineDataDebugModeEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isPartitionStatisticsBasedOptimizationEnabled;
@@ -123,7 +126,6 @@ import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Iterables.getOnlyElement;
-import static com.google.common.collect.Iterables.transform;
 import static java.lang.Double.isFinite;
 import static java.lang.Float.floatToIntBits;
 import static java.lang.Math.max;
@@ -159,6 +161,8 @@ public class HiveSplitManager
     private final CacheQuotaRequirementProvider cacheQuotaRequirementProvider;
     private final HiveEncryptionInformationProvider encryptionInformationProvider;
     private final PartitionSkippabilityChecker partitionSkippabilityChecker;
+    private final Executor partitionFetchExecutor;
+    private final MetastoreCacheStats metastoreCacheStats;
 
     @Inject
     public HiveSplitManager(
@@ -172,7 +176,8 @@ public class HiveSplitManager
             @ForHiveClient ExecutorService executorService,
             CoercionPolicy coercionPolicy,
             HiveEncryptionInformationProvider encryptionInformationProvider,
-            PartitionSkippabilityChecker partitionSkippabilityChecker)
+            PartitionSkippabilityChecker partitionSkippabilityChecker,
+            MetastoreCacheStats metastoreCacheStats)
     {
         this(
                 hiveClientConfig.getDateTimeZone(),
@@ -192,7 +197,9 @@ public class HiveSplitManager
                 hiveClientConfig.getRecursiveDirWalkerEnabled(),
                 cacheQuotaRequirementProvider,
                 encryptionInformationProvider,
-                partitionSkippabilityChecker);
+                partitionSkippabilityChecker,
+                executorService,
+                metastoreCacheStats);
     }
 
     public HiveSplitManager(
@@ -213,7 +220,9 @@ public class HiveSplitManager
             boolean recursiveDfsWalkerEnabled,
             CacheQuotaRequirementProvider cacheQuotaRequirementProvider,
             HiveEncryptionInformationProvider encryptionInformationProvider,
-            PartitionSkippabilityChecker partitionSkippabilityChecker)
+            PartitionSkippabilityChecker partitionSkippabilityChecker,
+            Executor partitionFetchExecutor,
+            MetastoreCacheStats metastoreCacheStats)
     {
         this.timeZone = requireNonNull(timeZone, "timeZone is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
@@ -234,6 +243,9 @@ public class HiveSplitManager
         this.cacheQuotaRequirementProvider = requireNonNull(cacheQuotaRequirementProvider, "cacheQuotaRequirementProvider is null");
         this.encryptionInformationProvider = requireNonNull(encryptionInformationProvider, "encryptionInformationProvider is null");
         this.partitionSkippabilityChecker = requireNonNull(partitionSkippabilityChecker, "partitionSkippabilityChecker is null");
+        // the partitions are fetched apart from the split loaders, which wait for them
+        this.partitionFetchExecutor = new ErrorCodedExecutor(partitionFetchExecutor);
+        this.metastoreCacheStats = requireNonNull(metastoreCacheStats, "metastoreCacheStats is null");
     }
 
     @Override
@@ -303,7 +315,10 @@ public class HiveSplitManager
         // sort partitions
         partitions = Ordering.natural().onResultOf(HivePartition::getPartitionId).reverse().sortedCopy(partitions);
 
+        // closed when the split loader stops, to cancel the fetches of the partitions no longer loaded
+        Closer partitionLoaderCloser = Closer.create();
         Iterable<HivePartitionMetadata> hivePartitions = getPartitionMetadata(
+                partitionLoaderCloser,
                 metastore,
                 table,
                 tableName,
@@ -330,7 +345,8 @@ public class HiveSplitManager
                 min(splitLoaderConcurrency, partitions.size()), // Avoid over-committing split loader concurrency
                 recursiveDfsWalkerEnabled,
                 splitSchedulingContext.schedulerUsesHostAddresses(),
-                layout.isPartialAggregationsPushedDown());
+                layout.isPartialAggregationsPushedDown(),
+                partitionLoaderCloser);
 
         // Validate that partition-aware column mapping only references actual partition columns.
         // This catches bugs where DiscretePredicates returns non-partition columns.
@@ -511,6 +527,7 @@ public class HiveSplitManager
     }
 
     private Iterable<HivePartitionMetadata> getPartitionMetadata(
+            Closer partitionLoaderCloser,
             SemiTransactionalHiveMetastore metastore,
             Table table,
             SchemaTableName tableName,
@@ -555,12 +572,12 @@ public class HiveSplitManager
         }
 
         Iterable<List<HivePartition>> partitionNameBatches = partitionExponentially(hivePartitions, minPartitionBatchSize, maxPartitionBatchSize);
-        Iterable<List<HivePartitionMetadata>> partitionBatches = computePartitionMetadata(partitionNameBatches, session, table, metastore,
+        ConcurrentPartitionBatchLoader partitionBatches = computePartitionMetadata(partitionNameBatches, session, table, metastore,
                 tableName, predicateColumns, domains, allRequestedColumns, hiveBucketHandle, resolvedHiveStorageFormat, warningCollector);
-        return concat(partitionBatches);
+        return concat(partitionLoaderCloser.register(partitionBatches));
     }
 
-    private Iterable<List<HivePartitionMetadata>> computePartitionMetadata(Iterable<List<HivePartition>> partitionNameBatches,
+    private ConcurrentPartitionBatchLoader computePartitionMetadata(Iterable<List<HivePartition>> partitionNameBatches,
                                                                            ConnectorSession session,
                                                                            Table table,
                                                                            SemiTransactionalHiveMetastore metastore,
@@ -572,7 +589,7 @@ public class HiveSplitManager
                                                                            Optional<HiveStorageFormat> resolvedHiveStorageFormat,
                                                                            WarningCollector warningCollector)
     {
-        Iterable<List<HivePartitionMetadata>> partitionBatches = transform(partitionNameBatches, partitionBatch -> {
+        Function<List<HivePartition>, List<HivePartitionMetadata>> partitionBatchLoader = partitionBatch -> {
             Map<String, PartitionSplitInfo> partitionSplitInfo = getPartitionSplitInfo(session, metastore, tableName, partitionBatch, predicateColumns, domains);
             if (partitionBatch.size() != partitionSplitInfo.size()) {
                 throw new PrestoException(GENERIC_INTERNAL_ERROR, format("Expected %s partitions but found %s", partitionBatch.size(), partitionSplitInfo.size()));
@@ -677,8 +694,8 @@ public class HiveSplitManager
                 warningCollector.add(new PrestoWarning(PARTITION_NOT_READABLE, warningMessage.toString()));
             }
             return results.build();
-        });
-        return partitionBatches;
+        };
+        return new ConcurrentPartitionBatchLoader(partitionNameBatches, partitionBatchLoader, partitionFetchExecutor, getPartitionBatchFetchConcurrency(session), metastoreCacheStats);
     }
 
     /**
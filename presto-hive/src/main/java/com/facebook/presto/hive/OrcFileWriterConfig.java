@@ -20,6 +20,7 @@ import com.facebook.presto.orc.DefaultOrcWriterFlushPolicy;
 import com.facebook.presto.orc.OrcWriterOptions;
 import com.facebook.presto.orc.metadata.DwrfStripeCacheMode;
 import com.facebook.presto.orc.writer.StreamLayoutFactory;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.OptionalInt;
@@ -55,6 +56,8 @@ public class OrcFileWriterConfig
     private boolean isStringDictionarySortingEnabled = OrcWriterOptions.DEFAULT_STRING_DICTIONARY_SORTING_ENABLED;
     private boolean isFlatMapWriterEnabled = DEFAULT_FLAT_MAP_WRITER_ENABLED;
     private boolean addHostnameToFileMetadataEnabled = true;
+    private boolean backgroundStripeEncodingEnabled;
+    private int maxConcurrentStripeEncodings = Runtime.getRuntime().availableProcessors();
 
     public OrcWriterOptions.Builder toOrcWriterOptionsBuilder()
     {
@@ -296,6 +299,33 @@ public class OrcFileWriterConfig
         return this;
     }
 
+    public boolean isBackgroundStripeEncodingEnabled()
+    {
+        return backgroundStripeEncodingEnabled;
+    }
+
+    @Config("hive.orc.writer.background-stripe-encoding-enabled")
+    @ConfigDescription("Encode and write the closed stripes in the background while the writer buffers the next stripe")
+    public OrcFileWriterConfig setBackgroundStripeEncodingEnabled(boolean backgroundStripeEncodingEnabled)
+    {
+        this.backgroundStripeEncodingEnabled = backgroundStripeEncodingEnabled;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxConcurrentStripeEncodings()
+    {
+        return maxConcurrentStripeEncodings;
+    }
+
+    @Config("hive.orc.writer.max-concurrent-stripe-encodings")
+    @ConfigDescription("Maximum number of stripes encoded concurrently in the background by all the ORC writers of a worker")
+    public OrcFileWriterConfig setMaxConcurrentStripeEncodings(int maxConcurrentStripeEncodings)
+    {
+        this.maxConcurrentStripeEncodings = maxConcurrentStripeEncodings;
+        return this;
+    }
+
     private static StreamLayoutFactory getStreamLayoutFactory(StreamLayoutType type)
     {
         switch (type) {
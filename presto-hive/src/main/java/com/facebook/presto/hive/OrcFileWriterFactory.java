@@ -59,6 +59,8 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
@@ -83,6 +85,7 @@ import static com.facebook.presto.hive.HiveSessionProperties.isDwrfWriterStripeC
 import static com.facebook.presto.hive.HiveSessionProperties.isExecutionBasedMemoryAccountingEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isFlatMapWriterEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isIntegerDictionaryEncodingEnabled;
+import static com.facebook.presto.hive.HiveSessionProperties.isOrcOptimizedWriterBackgroundStripeEncodingEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isStringDictionaryEncodingEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isStringDictionarySortingEnabled;
 import static com.facebook.presto.hive.HiveType.toHiveTypes;
@@ -143,6 +146,7 @@ public class OrcFileWriterFactory
     private final OrcWriterStats stats = new OrcWriterStats();
     private final OrcFileWriterConfig orcFileWriterConfig;
     private final DwrfEncryptionProvider dwrfEncryptionProvider;
+    private final Optional<Executor> stripeEncodingExecutor;
 
     @Inject
     public OrcFileWriterFactory(
@@ -153,7 +157,8 @@ public class OrcFileWriterFactory
             HiveClientConfig hiveClientConfig,
             FileFormatDataSourceStats readStats,
             OrcFileWriterConfig orcFileWriterConfig,
-            HiveDwrfEncryptionProvider dwrfEncryptionProvider)
+            HiveDwrfEncryptionProvider dwrfEncryptionProvider,
+            @ForOrcWriter ExecutorService stripeEncodingExecutor)
     {
         this(
                 hdfsEnvironment,
@@ -163,7 +168,8 @@ public class OrcFileWriterFactory
                 requireNonNull(hiveClientConfig, "hiveClientConfig is null").getDateTimeZone(),
                 readStats,
                 orcFileWriterConfig,
-                dwrfEncryptionProvider);
+                dwrfEncryptionProvider,
+                Optional.of(stripeEncodingExecutor));
     }
 
     public OrcFileWriterFactory(
@@ -175,6 +181,20 @@ public class OrcFileWriterFactory
             FileFormatDataSourceStats readStats,
             OrcFileWriterConfig orcFileWriterConfig,
             HiveDwrfEncryptionProvider dwrfEncryptionProvider)
+    {
+        this(hdfsEnvironment, dataSinkFactory, typeManager, nodeVersion, hiveStorageTimeZone, readStats, orcFileWriterConfig, dwrfEncryptionProvider, Optional.empty());
+    }
+
+    public OrcFileWriterFactory(
+            HdfsEnvironment hdfsEnvironment,
+            DataSinkFactory dataSinkFactory,
+            TypeManager typeManager,
+            NodeVersion nodeVersion,
+            DateTimeZone hiveStorageTimeZone,
+            FileFormatDataSourceStats readStats,
+            OrcFileWriterConfig orcFileWriterConfig,
+            HiveDwrfEncryptionProvider dwrfEncryptionProvider,
+            Optional<Executor> stripeEncodingExecutor)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.dataSinkFactory = requireNonNull(dataSinkFactory, "dataSinkFactory is null");
@@ -184,6 +204,7 @@ public class OrcFileWriterFactory
         this.readStats = requireNonNull(readStats, "stats is null");
         this.orcFileWriterConfig = requireNonNull(orcFileWriterConfig, "orcFileWriterConfig is null");
         this.dwrfEncryptionProvider = requireNonNull(dwrfEncryptionProvider, "DwrfEncryptionProvider is null").toDwrfEncryptionProvider();
+        this.stripeEncodingExecutor = requireNonNull(stripeEncodingExecutor, "stripeEncodingExecutor is null");
     }
 
     @Managed
@@ -321,6 +342,7 @@ public class OrcFileWriterFactory
                 .withMaxFlattenedMapKeyCount(flatMapKeyLimit)
                 .withMapStatisticsEnabled(mapStatisticsEnabled)
                 .withCompressionLevel(getCompressionLevel(session))
+                .withStripeEncodingExecutor(isOrcOptimizedWriterBackgroundStripeEncodingEnabled(session) ? stripeEncodingExecutor : Optional.empty())
                 .build();
     }
 
@@ -14,8 +14,10 @@
 package com.facebook.presto.hive;
 
 import com.facebook.airlift.configuration.Config;
+import com.facebook.airlift.configuration.ConfigDescription;
 import com.facebook.airlift.units.DataSize;
 import com.facebook.presto.parquet.writer.ParquetWriterOptions;
+import jakarta.validation.constraints.Min;
 import org.apache.parquet.hadoop.ParquetWriter;
 
 import static com.facebook.airlift.units.DataSize.Unit.BYTE;
@@ -28,6 +30,8 @@ public class ParquetFileWriterConfig
     private DataSize blockSize = new DataSize(ParquetWriter.DEFAULT_BLOCK_SIZE, BYTE);
     private DataSize pageSize = new DataSize(ParquetWriter.DEFAULT_PAGE_SIZE, BYTE);
     private WriterVersion writerVersion = ParquetWriterOptions.DEFAULT_WRITER_VERSION;
+    private boolean parallelEncodingEnabled;
+    private int maxConcurrentColumnEncodings = Runtime.getRuntime().availableProcessors();
 
     public DataSize getBlockSize()
     {
@@ -76,4 +80,31 @@ public class ParquetFileWriterConfig
         this.parquetOptimizedWriterEnabled = parquetOptimizedWriterEnabled;
         return this;
     }
+
+    public boolean isParallelEncodingEnabled()
+    {
+        return parallelEncodingEnabled;
+    }
+
+    @Config("hive.parquet.writer.parallel-encoding-enabled")
+    @ConfigDescription("Encode and compress the columns of a row group concurrently")
+    public ParquetFileWriterConfig setParallelEncodingEnabled(boolean parallelEncodingEnabled)
+    {
+        this.parallelEncodingEnabled = parallelEncodingEnabled;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxConcurrentColumnEncodings()
+    {
+        return maxConcurrentColumnEncodings;
+    }
+
+    @Config("hive.parquet.writer.max-concurrent-column-encodings")
+    @ConfigDescription("Maximum number of columns encoded concurrently by all the Parquet writers of a worker")
+    public ParquetFileWriterConfig setMaxConcurrentColumnEncodings(int maxConcurrentColumnEncodings)
+    {
+        this.maxConcurrentColumnEncodings = maxConcurrentColumnEncodings;
+        return this;
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.RuntimeStats;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.common.type.TypeManager;
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.function.FunctionHandle;
+import com.facebook.presto.spi.function.StandardFunctionResolution;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.facebook.presto.spi.plan.AggregationNode.Aggregation;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Computes the pushed down partial aggregations (count, min and max) of the rows returned by a page source
+ * reading their argument columns, and returns them as a single row once the delegate is finished.
+ */
+public class PartialAggregationPageSource
+        implements ConnectorPageSource
+{
+    private final ConnectorPageSource delegate;
+    private final Type[] types;
+    private final int[] argumentChannels;
+    private final boolean[] isCount;
+    private final boolean[] isMin;
+
+    private final long[] counts;
+    // single position blocks holding the current min or max value of the columns
+    private final Block[] values;
+
+    private boolean completed;
+
+    /**
+     * @param argumentColumnIndexes the indexes of the columns read by the delegate, in the order of the channels of its pages
+     */
+    public PartialAggregationPageSource(
+            ConnectorPageSource delegate,
+            List<HiveColumnHandle> aggregatedColumns,
+            List<Integer> argumentColumnIndexes,
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+
+        int columnCount = aggregatedColumns.size();
+        this.types = new Type[columnCount];
+        this.argumentChannels = new int[columnCount];
+        this.isCount = new boolean[columnCount];
+        this.isMin = new boolean[columnCount];
+        this.counts = new long[columnCount];
+        this.values = new Block[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            HiveColumnHandle column = aggregatedColumns.get(i);
+            Aggregation aggregation = column.getPartialAggregation().orElseThrow(() -> new IllegalArgumentException("Column is not aggregated: " + column));
+            FunctionHandle functionHandle = aggregation.getFunctionHandle();
+            types[i] = typeManager.getType(column.getTypeSignature());
+            isCount[i] = functionResolution.isCountFunction(functionHandle);
+            isMin[i] = functionResolution.isMinFunction(functionHandle);
+            if (!isCount[i] && !isMin[i] && !functionResolution.isMaxFunction(functionHandle)) {
+                throw new UnsupportedOperationException(functionHandle + " is not supported");
+            }
+            argumentChannels[i] = -1;
+            if (!aggregation.getArguments().isEmpty()) {
+                argumentChannels[i] = argumentColumnIndexes.indexOf(column.getHiveColumnIndex());
+                checkArgument(argumentChannels[i] >= 0, "Argument of aggregated column %s is not read", column);
+            }
+        }
+    }
+
+    /**
+     * Returns the indexes of the columns the aggregations are computed on.
+     */
+    public static List<Integer> getArgumentColumnIndexes(List<HiveColumnHandle> aggregatedColumns)
+    {
+        return aggregatedColumns.stream()
+                .filter(column -> !column.getPartialAggregation().get().getArguments().isEmpty())
+                .map(HiveColumnHandle::getHiveColumnIndex)
+                .distinct()
+                .collect(toImmutableList());
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return delegate.getCompletedBytes();
+    }
+
+    @Override
+    public long getCompletedPositions()
+    {
+        return delegate.getCompletedPositions();
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return delegate.getReadTimeNanos();
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return completed;
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (completed) {
+            return null;
+        }
+        if (!delegate.isFinished()) {
+            Page page = delegate.getNextPage();
+            if (page != null) {
+                accumulate(page.getLoadedPage());
+            }
+            if (!delegate.isFinished()) {
+                return null;
+            }
+        }
+
+        Block[] blocks = new Block[types.length];
+        for (int i = 0; i < types.length; i++) {
+            BlockBuilder blockBuilder = types[i].createBlockBuilder(null, 1);
+            if (isCount[i]) {
+                types[i].writeLong(blockBuilder, counts[i]);
+            }
+            else if (values[i] == null) {
+                blockBuilder.appendNull();
+            }
+            else {
+                types[i].appendTo(values[i], 0, blockBuilder);
+            }
+            blocks[i] = blockBuilder.build();
+        }
+        completed = true;
+        return new Page(1, blocks);
+    }
+
+    private void accumulate(Page page)
+    {
+        for (int i = 0; i < types.length; i++) {
+            if (argumentChannels[i] < 0) {
+                counts[i] += page.getPositionCount();
+                continue;
+            }
+            Block block = page.getBlock(argumentChannels[i]);
+            int best = -1;
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                if (block.isNull(position)) {
+                    continue;
+                }
+                if (isCount[i]) {
+                    counts[i]++;
+                }
+                else if (best < 0 || isBetter(types[i], block, position, block, best, isMin[i])) {
+                    best = position;
+                }
+            }
+            if (best >= 0 && (values[i] == null || isBetter(types[i], block, best, values[i], 0, isMin[i]))) {
+                values[i] = block.getSingleValueBlock(best);
+            }
+        }
+    }
+
+    private static boolean isBetter(Type type, Block block, int position, Block currentBlock, int currentPosition, boolean isMin)
+    {
+        int comparison = type.compareTo(block, position, currentBlock, currentPosition);
+        return isMin ? comparison < 0 : comparison > 0;
+    }
+
+    @Override
+    public CompletableFuture<?> isBlocked()
+    {
+        return delegate.isBlocked();
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return delegate.getSystemMemoryUsage();
+    }
+
+    @Override
+    public RuntimeStats getRuntimeStats()
+    {
+        return delegate.getRuntimeStats();
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        delegate.close();
+    }
+}
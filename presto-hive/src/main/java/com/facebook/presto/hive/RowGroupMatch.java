@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.type.Type;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.RealType.REAL;
+
+/**
+ * How the rows of a row group (a stripe for ORC) match the filter of a scan, as far as the statistics of the row group tell.
+ */
+public enum RowGroupMatch
+{
+    /**
+     * None of the rows match the filter, so the row group is skipped.
+     */
+    NONE,
+    /**
+     * All the rows match the filter, so the aggregations of the row group are answered from its statistics.
+     */
+    ALL,
+    /**
+     * Some of the rows may match the filter, so the row group is read.
+     */
+    PARTIAL;
+
+    /**
+     * Matches the domains of the filter with the domains of the statistics of a row group, which are
+     * {@link Domain#all} for the columns without statistics.
+     */
+    public static RowGroupMatch match(Map<HiveColumnHandle, Domain> predicateDomains, Function<HiveColumnHandle, Domain> statisticsDomains)
+    {
+        RowGroupMatch match = ALL;
+        for (Map.Entry<HiveColumnHandle, Domain> entry : predicateDomains.entrySet()) {
+            Domain predicateDomain = entry.getValue();
+            Domain statisticsDomain = statisticsDomains.apply(entry.getKey());
+            if (predicateDomain.intersect(statisticsDomain).isNone()) {
+                return NONE;
+            }
+            // the statistics of floating point columns do not tell whether there are NaN values, which match no range
+            if (!predicateDomain.contains(statisticsDomain) || isFloatingPointType(predicateDomain.getType())) {
+                match = PARTIAL;
+            }
+        }
+        return match;
+    }
+
+    private static boolean isFloatingPointType(Type type)
+    {
+        return type.equals(DOUBLE) || type.equals(REAL);
+    }
+}
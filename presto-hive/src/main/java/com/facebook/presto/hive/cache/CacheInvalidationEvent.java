@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.Scope.DATABASE;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.Scope.DIRECTORY;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.Scope.PARTITION;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.Scope.TABLE;
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A change made to a database, table, partition or directory outside of this connector, whose cached metadata
+ * and directory listings are stale. The location, when known, is the directory of the table or partition.
+ */
+public final class CacheInvalidationEvent
+{
+    public enum Scope
+    {
+        DATABASE,
+        TABLE,
+        PARTITION,
+        DIRECTORY,
+    }
+
+    private final Scope scope;
+    private final Optional<String> schemaName;
+    private final Optional<String> tableName;
+    private final Optional<String> partitionName;
+    private final Optional<String> location;
+
+    private CacheInvalidationEvent(Scope scope, Optional<String> schemaName, Optional<String> tableName, Optional<String> partitionName, Optional<String> location)
+    {
+        this.scope = requireNonNull(scope, "scope is null");
+        this.schemaName = requireNonNull(schemaName, "schemaName is null");
+        this.tableName = requireNonNull(tableName, "tableName is null");
+        this.partitionName = requireNonNull(partitionName, "partitionName is null");
+        this.location = requireNonNull(location, "location is null");
+        schemaName.ifPresent(name -> checkArgument(!name.isEmpty(), "schemaName is empty"));
+        tableName.ifPresent(name -> checkArgument(!name.isEmpty(), "tableName is empty"));
+        partitionName.ifPresent(name -> checkArgument(!name.isEmpty(), "partitionName is empty"));
+        location.ifPresent(path -> checkArgument(!path.isEmpty(), "location is empty"));
+    }
+
+    public static CacheInvalidationEvent databaseChanged(String schemaName)
+    {
+        return new CacheInvalidationEvent(DATABASE, Optional.of(schemaName), Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    public static CacheInvalidationEvent tableChanged(String schemaName, String tableName, Optional<String> location)
+    {
+        return new CacheInvalidationEvent(TABLE, Optional.of(schemaName), Optional.of(tableName), Optional.empty(), location);
+    }
+
+    /**
+     * @param partitionName the name of the partition in the metastore, e.g. {@code ds=2024-01-01/hour=00}
+     */
+    public static CacheInvalidationEvent partitionChanged(String schemaName, String tableName, String partitionName, Optional<String> location)
+    {
+        return new CacheInvalidationEvent(PARTITION, Optional.of(schemaName), Optional.of(tableName), Optional.of(partitionName), location);
+    }
+
+    public static CacheInvalidationEvent directoryChanged(String location)
+    {
+        return new CacheInvalidationEvent(DIRECTORY, Optional.empty(), Optional.empty(), Optional.empty(), Optional.of(location));
+    }
+
+    public Scope getScope()
+    {
+        return scope;
+    }
+
+    public Optional<String> getSchemaName()
+    {
+        return schemaName;
+    }
+
+    public Optional<String> getTableName()
+    {
+        return tableName;
+    }
+
+    public Optional<String> getPartitionName()
+    {
+        return partitionName;
+    }
+
+    public Optional<String> getLocation()
+    {
+        return location;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CacheInvalidationEvent that = (CacheInvalidationEvent) o;
+        return scope == that.scope &&
+                Objects.equals(schemaName, that.schemaName) &&
+                Objects.equals(tableName, that.tableName) &&
+                Objects.equals(partitionName, that.partitionName) &&
+                Objects.equals(location, that.location);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(scope, schemaName, tableName, partitionName, location);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .omitNullValues()
+                .add("scope", scope)
+                .add("schemaName", schemaName.orElse(null))
+                .add("tableName", tableName.orElse(null))
+                .add("partitionName", partitionName.orElse(null))
+                .add("location", location.orElse(null))
+                .toString();
+    }
+}
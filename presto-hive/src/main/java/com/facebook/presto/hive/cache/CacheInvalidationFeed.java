@@ -0,0 +1,33 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A source of notifications of the changes made outside of this connector, e.g. by other engines writing to the
+ * same metastore, which evict the stale entries of the metastore and directory listing caches. With a feed in place,
+ * the expiration of these caches no longer bounds how stale they are, so it can be set long.
+ * <p>
+ * A feed is bound with {@code newOptionalBinder(binder, CacheInvalidationFeed.class).setBinding()}.
+ */
+public interface CacheInvalidationFeed
+{
+    /**
+     * Returns the events received since the previous call, without waiting for new ones.
+     */
+    List<CacheInvalidationEvent> poll()
+            throws IOException;
+}
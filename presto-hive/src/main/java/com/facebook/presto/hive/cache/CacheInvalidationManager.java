@@ -0,0 +1,150 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import com.facebook.airlift.log.Logger;
+import com.facebook.airlift.stats.CounterStat;
+import com.facebook.airlift.units.Duration;
+import com.facebook.presto.hive.CachingDirectoryLister;
+import com.facebook.presto.hive.DirectoryLister;
+import com.facebook.presto.hive.HiveClientConfig;
+import com.facebook.presto.hive.metastore.ExtendedHiveMetastore;
+import com.facebook.presto.hive.metastore.InMemoryCachingHiveMetastore;
+import com.google.common.annotations.VisibleForTesting;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+
+/**
+ * Periodically polls the {@link CacheInvalidationFeed}, if any, and evicts the entries of the metastore and directory
+ * listing caches that its events made stale. Without a bound feed, the events are read from the
+ * {@code hive.cache-invalidation.feed-file} file, when configured.
+ */
+public class CacheInvalidationManager
+{
+    private static final Logger log = Logger.get(CacheInvalidationManager.class);
+
+    private final Optional<CacheInvalidationFeed> feed;
+    private final Optional<InMemoryCachingHiveMetastore> cachingMetastore;
+    private final Optional<CachingDirectoryLister> cachingDirectoryLister;
+    private final Duration pollInterval;
+    // only created when there is a feed to poll
+    private final Optional<ScheduledExecutorService> executor;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final CounterStat processedEvents = new CounterStat();
+    private final CounterStat failedPolls = new CounterStat();
+
+    @Inject
+    public CacheInvalidationManager(HiveClientConfig hiveClientConfig, Optional<CacheInvalidationFeed> feed, ExtendedHiveMetastore metastore, DirectoryLister directoryLister)
+    {
+        this(
+                requireNonNull(feed, "feed is null").isPresent() ? feed : hiveClientConfig.getCacheInvalidationFeedFile().map(file -> new FileCacheInvalidationFeed(Paths.get(file))),
+                metastore,
+                directoryLister,
+                hiveClientConfig.getCacheInvalidationPollInterval());
+    }
+
+    public CacheInvalidationManager(Optional<CacheInvalidationFeed> feed, ExtendedHiveMetastore metastore, DirectoryLister directoryLister, Duration pollInterval)
+    {
+        this.feed = requireNonNull(feed, "feed is null");
+        requireNonNull(metastore, "metastore is null");
+        requireNonNull(directoryLister, "directoryLister is null");
+        this.cachingMetastore = metastore instanceof InMemoryCachingHiveMetastore ? Optional.of((InMemoryCachingHiveMetastore) metastore) : Optional.empty();
+        this.cachingDirectoryLister = directoryLister instanceof CachingDirectoryLister ? Optional.of((CachingDirectoryLister) directoryLister) : Optional.empty();
+        this.pollInterval = requireNonNull(pollInterval, "pollInterval is null");
+        this.executor = feed.map(ignored -> newSingleThreadScheduledExecutor(daemonThreadsNamed("hive-cache-invalidation")));
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        if (executor.isPresent() && !started.getAndSet(true)) {
+            executor.get().scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        executor.ifPresent(ScheduledExecutorService::shutdownNow);
+    }
+
+    @VisibleForTesting
+    void poll()
+    {
+        try {
+            for (CacheInvalidationEvent event : feed.get().poll()) {
+                invalidate(event);
+                processedEvents.update(1);
+            }
+        }
+        catch (Throwable e) {
+            // Catch all exceptions here since throwing an exception from executor#scheduleWithFixedDelay method
+            // suppresses all future scheduled invocations
+            failedPolls.update(1);
+            log.error(e, "Error polling the cache invalidation feed, flushing the caches");
+            // the events of the failed poll may be lost
+            cachingMetastore.ifPresent(InMemoryCachingHiveMetastore::invalidateAll);
+            cachingDirectoryLister.ifPresent(CachingDirectoryLister::flushCache);
+        }
+    }
+
+    public void invalidate(CacheInvalidationEvent event)
+    {
+        switch (event.getScope()) {
+            case DATABASE:
+                cachingMetastore.ifPresent(metastore -> metastore.invalidateCache(event.getSchemaName().get()));
+                break;
+            case TABLE:
+                cachingMetastore.ifPresent(metastore -> metastore.invalidateCache(event.getSchemaName().get(), event.getTableName().get()));
+                break;
+            case PARTITION:
+                cachingMetastore.ifPresent(metastore -> metastore.invalidateCache(event.getSchemaName().get(), event.getTableName().get(), event.getPartitionName().get()));
+                break;
+            case DIRECTORY:
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported cache invalidation event: " + event.getScope());
+        }
+        // the files of a table or partition may be in the directories below its location
+        event.getLocation().ifPresent(location -> cachingDirectoryLister.ifPresent(lister -> lister.invalidateDirectoryListCacheRecursively(location)));
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getProcessedEvents()
+    {
+        return processedEvents;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getFailedPolls()
+    {
+        return failedPolls;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import com.facebook.airlift.log.Logger;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.databaseChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.directoryChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.partitionChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.tableChanged;
+import static com.google.common.base.CharMatcher.whitespace;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Locale.ENGLISH;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the events appended to a local file by an external notification source, one per line:
+ * <pre>
+ * DATABASE &lt;schema&gt;
+ * TABLE &lt;schema&gt; &lt;table&gt; [&lt;location&gt;]
+ * PARTITION &lt;schema&gt; &lt;table&gt; &lt;partition name&gt; [&lt;location&gt;]
+ * DIRECTORY &lt;location&gt;
+ * </pre>
+ * The events written before the feed is created are skipped, as nothing is cached yet. The file may be
+ * truncated to start over, and the lines that are empty, start with {@code #} or are invalid are ignored.
+ */
+public class FileCacheInvalidationFeed
+        implements CacheInvalidationFeed
+{
+    private static final Logger log = Logger.get(FileCacheInvalidationFeed.class);
+    private static final int MAX_READ_SIZE = 16 * 1024 * 1024;
+    private static final Splitter SPLITTER = Splitter.on(whitespace()).trimResults().omitEmptyStrings();
+
+    private final Path file;
+    @GuardedBy("this")
+    private long offset;
+
+    public FileCacheInvalidationFeed(Path file)
+    {
+        this.file = requireNonNull(file, "file is null");
+        try {
+            this.offset = Files.size(file);
+        }
+        catch (IOException e) {
+            this.offset = 0;
+        }
+    }
+
+    @Override
+    public synchronized List<CacheInvalidationEvent> poll()
+            throws IOException
+    {
+        byte[] bytes;
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                // the file was truncated, all its lines are new
+                offset = 0;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(toIntExact(min(size - offset, MAX_READ_SIZE)));
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+                // read until the buffer is full
+            }
+            bytes = buffer.array();
+        }
+        catch (NoSuchFileException e) {
+            return ImmutableList.of();
+        }
+
+        // the last line may still be written
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] != '\n') {
+            length--;
+        }
+        offset += length;
+
+        ImmutableList.Builder<CacheInvalidationEvent> events = ImmutableList.builder();
+        for (String line : Splitter.on('\n').split(new String(bytes, 0, length, UTF_8))) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                events.add(parseEvent(line));
+            }
+            catch (IllegalArgumentException e) {
+                log.warn("Invalid cache invalidation event in %s: %s", file, line);
+            }
+        }
+        return events.build();
+    }
+
+    @VisibleForTesting
+    static CacheInvalidationEvent parseEvent(String line)
+    {
+        List<String> fields = SPLITTER.limit(2).splitToList(line);
+        String arguments = fields.size() > 1 ? fields.get(1) : "";
+        switch (fields.get(0).toUpperCase(ENGLISH)) {
+            case "DATABASE":
+                fields = parseArguments(arguments, 1, 1);
+                return databaseChanged(fields.get(0));
+            case "TABLE":
+                fields = parseArguments(arguments, 2, 3);
+                return tableChanged(fields.get(0), fields.get(1), getLocation(fields, 2));
+            case "PARTITION":
+                fields = parseArguments(arguments, 3, 4);
+                return partitionChanged(fields.get(0), fields.get(1), fields.get(2), getLocation(fields, 3));
+            case "DIRECTORY":
+                fields = parseArguments(arguments, 1, 1);
+                return directoryChanged(fields.get(0));
+            default:
+                throw new IllegalArgumentException("Unknown cache invalidation event: " + fields.get(0));
+        }
+    }
+
+    // the location is the last argument, so that it can contain spaces
+    private static List<String> parseArguments(String arguments, int minCount, int maxCount)
+    {
+        List<String> fields = SPLITTER.limit(maxCount).splitToList(arguments);
+        if (fields.size() < minCount) {
+            throw new IllegalArgumentException("Missing arguments: " + arguments);
+        }
+        return fields;
+    }
+
+    private static Optional<String> getLocation(List<String> fields, int index)
+    {
+        return fields.size() > index ? Optional.of(fields.get(index)) : Optional.empty();
+    }
+}
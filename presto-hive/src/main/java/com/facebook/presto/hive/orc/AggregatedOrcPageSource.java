@@ -43,7 +43,9 @@ public class AggregatedOrcPageSource
         implements ConnectorPageSource
 {
     private final List<HiveColumnHandle> columnHandles;
-    private final Footer footer;
+    private final List<OrcType> types;
+    private final long numberOfRows;
+    private final List<ColumnStatistics> fileStats;
     private final TypeManager typeManager;
     private final StandardFunctionResolution functionResolution;
 
@@ -55,9 +57,26 @@ public class AggregatedOrcPageSource
     private long completedBytes;
 
     public AggregatedOrcPageSource(List<HiveColumnHandle> columnHandles, Footer footer, TypeManager typeManager, StandardFunctionResolution functionResolution)
+    {
+        this(columnHandles, types, numberOfRows, fileStats, typeManager, functionResolution);
+    }
+
+    /**
+     * Creates a page source answering the aggregations from the given column statistics, which are
+     * the statistics of the whole file or the merged statistics of some of its stripes.
+     */
+    public AggregatedOrcPageSource(
+            List<HiveColumnHandle> columnHandles,
+            List<OrcType> types,
+            long numberOfRows,
+            List<ColumnStatistics> fileStats,
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution)
     {
         this.columnHandles = requireNonNull(columnHandles, "columnHandles is null");
-        this.footer = requireNonNull(footer, "footer is null");
+        this.types = requireNonNull(types, "types is null");
+        this.numberOfRows = numberOfRows;
+        this.fileStats = requireNonNull(fileStats, "fileStats is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.functionResolution = requireNonNull(functionResolution, "functionResolution is null");
     }
@@ -105,7 +124,7 @@ public class AggregatedOrcPageSource
 
             if (functionResolution.isCountFunction(functionHandle)) {
                 if (aggregation.getArguments().isEmpty()) {
-                    blockBuilder = blockBuilder.writeLong(footer.getNumberOfRows());
+                    blockBuilder = blockBuilder.writeLong(numberOfRows);
                 }
                 else {
                     writeNonNullCount(columnIndex, blockBuilder);
@@ -131,8 +150,8 @@ public class AggregatedOrcPageSource
 
     private void writeMinMax(int columnIndex, Type type, HiveType hiveType, BlockBuilder blockBuilder, boolean isMin)
     {
-        ColumnStatistics columnStatistics = footer.getFileStats().get(columnIndex + 1);
-        OrcType orcType = footer.getTypes().get(columnIndex + 1);
+        ColumnStatistics columnStatistics = fileStats.get(columnIndex + 1);
+        OrcType orcType = types.get(columnIndex + 1);
 
         if (type instanceof FixedWidthType) {
             completedBytes += ((FixedWidthType) type).getFixedSize();
@@ -231,7 +250,7 @@ public class AggregatedOrcPageSource
 
     private void writeNonNullCount(int columnIndex, BlockBuilder blockBuilder)
     {
-        ColumnStatistics columnStatistics = footer.getFileStats().get(columnIndex + 1);
+        ColumnStatistics columnStatistics = fileStats.get(columnIndex + 1);
         if (!columnStatistics.hasNumberOfValues()) {
             throw new UnsupportedOperationException("Number of values not set for orc file. Set session property hive.pushdown_partial_aggregations_into_scan=false and execute query again");
         }
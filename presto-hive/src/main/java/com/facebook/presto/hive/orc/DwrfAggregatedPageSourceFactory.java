@@ -14,6 +14,7 @@
 package com.facebook.presto.hive.orc;
 
 import com.facebook.hive.orc.OrcSerde;
+import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.common.type.TypeManager;
 import com.facebook.presto.hive.EncryptionInformation;
 import com.facebook.presto.hive.FileFormatDataSourceStats;
@@ -77,7 +78,9 @@ public class DwrfAggregatedPageSourceFactory
             Storage storage,
             List<HiveColumnHandle> columns,
             HiveFileContext hiveFileContext,
-            Optional<EncryptionInformation> encryptionInformation)
+            Optional<EncryptionInformation> encryptionInformation,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileRangeReader partiallyMatchedRowGroupReader)
     {
         if (!OrcSerde.class.getName().equals(storage.getStorageFormat().getSerDe())) {
             return Optional.empty();
@@ -104,6 +107,8 @@ public class DwrfAggregatedPageSourceFactory
                 encryptionInformation,
                 NO_ENCRYPTION,
                 false,
-                Optional.empty()));
+                Optional.empty(),
+                effectivePredicate,
+                partiallyMatchedRowGroupReader));
     }
 }
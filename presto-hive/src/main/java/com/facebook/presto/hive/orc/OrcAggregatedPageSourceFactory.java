@@ -14,7 +14,11 @@
 package com.facebook.presto.hive.orc;
 
 import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.type.Type;
 import com.facebook.presto.common.type.TypeManager;
+import com.facebook.presto.hive.AggregatedRowGroupsPageSource;
 import com.facebook.presto.hive.EncryptionInformation;
 import com.facebook.presto.hive.FileFormatDataSourceStats;
 import com.facebook.presto.hive.HdfsEnvironment;
@@ -22,6 +26,7 @@ import com.facebook.presto.hive.HiveAggregatedPageSourceFactory;
 import com.facebook.presto.hive.HiveColumnHandle;
 import com.facebook.presto.hive.HiveFileContext;
 import com.facebook.presto.hive.HiveFileSplit;
+import com.facebook.presto.hive.RowGroupMatch;
 import com.facebook.presto.hive.metastore.Storage;
 import com.facebook.presto.orc.DwrfEncryptionProvider;
 import com.facebook.presto.orc.OrcDataSource;
@@ -29,20 +34,29 @@ import com.facebook.presto.orc.OrcEncoding;
 import com.facebook.presto.orc.OrcReader;
 import com.facebook.presto.orc.OrcReaderOptions;
 import com.facebook.presto.orc.StripeMetadataSourceFactory;
+import com.facebook.presto.orc.TupleDomainOrcPredicate;
 import com.facebook.presto.orc.cache.OrcFileTailSource;
+import com.facebook.presto.orc.metadata.OrcType;
+import com.facebook.presto.orc.metadata.StripeInformation;
+import com.facebook.presto.orc.metadata.statistics.ColumnStatistics;
+import com.facebook.presto.orc.metadata.statistics.StripeStatistics;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.FixedPageSource;
 import com.facebook.presto.spi.function.StandardFunctionResolution;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import jakarta.inject.Inject;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getOrcMaxMergeDistance;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getOrcMaxReadBlockSize;
@@ -50,11 +64,17 @@ import static com.facebook.presto.hive.HiveCommonSessionProperties.getOrcTinyStr
 import static com.facebook.presto.hive.HiveCommonSessionProperties.isOrcZstdJniDecompressionEnabled;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.isUseOrcColumnNames;
 import static com.facebook.presto.hive.HiveUtil.getPhysicalHiveColumnHandles;
+import static com.facebook.presto.hive.RowGroupMatch.ALL;
+import static com.facebook.presto.hive.RowGroupMatch.PARTIAL;
 import static com.facebook.presto.hive.orc.OrcPageSourceFactoryUtils.getOrcDataSource;
 import static com.facebook.presto.hive.orc.OrcPageSourceFactoryUtils.getOrcReader;
 import static com.facebook.presto.hive.orc.OrcPageSourceFactoryUtils.mapToPrestoException;
 import static com.facebook.presto.orc.DwrfEncryptionProvider.NO_ENCRYPTION;
 import static com.facebook.presto.orc.OrcEncoding.ORC;
+import static com.facebook.presto.orc.metadata.statistics.ColumnStatistics.mergeColumnStatistics;
+import static com.facebook.presto.spi.plan.AggregationNode.Aggregation;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Collections.nCopies;
 import static java.util.Objects.requireNonNull;
 
 public class OrcAggregatedPageSourceFactory
@@ -92,7 +112,9 @@ public class OrcAggregatedPageSourceFactory
             Storage storage,
             List<HiveColumnHandle> columns,
             HiveFileContext hiveFileContext,
-            Optional<EncryptionInformation> encryptionInformation)
+            Optional<EncryptionInformation> encryptionInformation,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileRangeReader partiallyMatchedRowGroupReader)
     {
         if (!OrcSerde.class.getName().equals(storage.getStorageFormat().getSerDe())) {
             return Optional.empty();
@@ -120,7 +142,9 @@ public class OrcAggregatedPageSourceFactory
                 encryptionInformation,
                 NO_ENCRYPTION,
                 false,
-                Optional.empty()));
+                Optional.empty(),
+                effectivePredicate,
+                partiallyMatchedRowGroupReader));
     }
 
     public static ConnectorPageSource createOrcPageSource(
@@ -140,7 +164,9 @@ public class OrcAggregatedPageSourceFactory
             Optional<EncryptionInformation> encryptionInformation,
             DwrfEncryptionProvider dwrfEncryptionProvider,
             boolean appendRowNumberEnabled,
-            Optional<byte[]> rowIDPartitionComponent)
+            Optional<byte[]> rowIDPartitionComponent,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileRangeReader partiallyMatchedRowGroupReader)
     {
         OrcDataSource orcDataSource = getOrcDataSource(session, fileSplit, hdfsEnvironment, configuration, hiveFileContext, stats);
 
@@ -173,7 +199,16 @@ public class OrcAggregatedPageSourceFactory
 
             List<HiveColumnHandle> physicalColumns = getPhysicalHiveColumnHandles(columns, useOrcColumnNames, reader.getTypes(), path);
 
-            return new AggregatedOrcPageSource(physicalColumns, reader.getFooter(), typeManager, functionResolution);
+            if (effectivePredicate.isAll()) {
+                return new AggregatedOrcPageSource(physicalColumns, reader.getFooter(), typeManager, functionResolution);
+            }
+            List<HiveColumnHandle> predicateColumns = ImmutableList.copyOf(effectivePredicate.getDomains().get().keySet());
+            List<HiveColumnHandle> physicalPredicateColumns = getPhysicalHiveColumnHandles(predicateColumns, useOrcColumnNames, reader.getTypes(), path);
+            ImmutableMap.Builder<HiveColumnHandle, Domain> predicateDomains = ImmutableMap.builder();
+            for (int i = 0; i < predicateColumns.size(); i++) {
+                predicateDomains.put(physicalPredicateColumns.get(i), effectivePredicate.getDomains().get().get(predicateColumns.get(i)));
+            }
+            return createFilteredPageSource(columns, physicalColumns, reader, typeManager, functionResolution, predicateDomains.build(), partiallyMatchedRowGroupReader);
         }
         catch (Exception e) {
             throw mapToPrestoException(e, path, fileSplit);
@@ -186,4 +221,105 @@ public class OrcAggregatedPageSourceFactory
             }
         }
     }
+
+    private static ConnectorPageSource createFilteredPageSource(
+            List<HiveColumnHandle> columns,
+            List<HiveColumnHandle> physicalColumns,
+            OrcReader reader,
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution,
+            Map<HiveColumnHandle, Domain> predicateDomains,
+            FileRangeReader partiallyMatchedRowGroupReader)
+    {
+        List<StripeInformation> stripes = reader.getFooter().getStripes();
+        List<StripeStatistics> stripeStatistics = reader.getMetadata().getStripeStatsList();
+        // without statistics for every stripe, all the stripes are read
+        boolean hasStripeStatistics = stripeStatistics.size() == stripes.size();
+
+        ImmutableList.Builder<Long> stripeOffsets = ImmutableList.builder();
+        ImmutableList.Builder<RowGroupMatch> stripeMatches = ImmutableList.builder();
+        List<List<ColumnStatistics>> matchedStripeStatistics = new ArrayList<>();
+        long matchedRows = 0;
+        for (int i = 0; i < stripes.size(); i++) {
+            StripeInformation stripe = stripes.get(i);
+            RowGroupMatch match = PARTIAL;
+            if (hasStripeStatistics) {
+                List<ColumnStatistics> statistics = stripeStatistics.get(i).getColumnStatistics();
+                match = RowGroupMatch.match(predicateDomains, column -> getDomain(statistics, column, stripe.getNumberOfRows(), typeManager));
+                if (match == ALL && !hasAggregationStatistics(statistics, physicalColumns, stripe.getNumberOfRows(), typeManager, functionResolution)) {
+                    match = PARTIAL;
+                }
+                if (match == ALL) {
+                    matchedStripeStatistics.add(statistics);
+                    matchedRows += stripe.getNumberOfRows();
+                }
+            }
+            stripeOffsets.add(stripe.getOffset());
+            stripeMatches.add(match);
+        }
+
+        Optional<Supplier<ConnectorPageSource>> statisticsPageSource = Optional.empty();
+        if (!matchedStripeStatistics.isEmpty()) {
+            List<OrcType> types = reader.getTypes();
+            List<ColumnStatistics> fileStats = new ArrayList<>(nCopies(types.size(), null));
+            for (HiveColumnHandle column : physicalColumns) {
+                int node = column.getHiveColumnIndex() + 1;
+                if (node > 0 && node < fileStats.size() && fileStats.get(node) == null) {
+                    fileStats.set(node, mergeColumnStatistics(matchedStripeStatistics.stream()
+                            .map(statistics -> statistics.get(node))
+                            .collect(toImmutableList())));
+                }
+            }
+            long numberOfRows = matchedRows;
+            statisticsPageSource = Optional.of(() -> new AggregatedOrcPageSource(physicalColumns, types, numberOfRows, fileStats, typeManager, functionResolution));
+        }
+        return AggregatedRowGroupsPageSource.create(
+                columns,
+                statisticsPageSource,
+                stripeOffsets.build(),
+                stripeMatches.build(),
+                partiallyMatchedRowGroupReader,
+                typeManager,
+                functionResolution);
+    }
+
+    private static Domain getDomain(List<ColumnStatistics> statistics, HiveColumnHandle column, long rowCount, TypeManager typeManager)
+    {
+        Type type = typeManager.getType(column.getTypeSignature());
+        int node = column.getHiveColumnIndex() + 1;
+        if (node <= 0 || node >= statistics.size()) {
+            return Domain.all(type);
+        }
+        return TupleDomainOrcPredicate.getDomain(type, rowCount, statistics.get(node));
+    }
+
+    private static boolean hasAggregationStatistics(
+            List<ColumnStatistics> statistics,
+            List<HiveColumnHandle> columns,
+            long rowCount,
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution)
+    {
+        for (HiveColumnHandle column : columns) {
+            Aggregation aggregation = column.getPartialAggregation().get();
+            if (aggregation.getArguments().isEmpty()) {
+                continue;
+            }
+            int node = column.getHiveColumnIndex() + 1;
+            if (node <= 0 || node >= statistics.size()) {
+                return false;
+            }
+            ColumnStatistics columnStatistics = statistics.get(node);
+            if (columnStatistics == null || !columnStatistics.hasNumberOfValues()) {
+                return false;
+            }
+            if (!functionResolution.isCountFunction(aggregation.getFunctionHandle())) {
+                Domain domain = TupleDomainOrcPredicate.getDomain(typeManager.getType(column.getTypeSignature()), rowCount, columnStatistics);
+                if (domain.getValues().isNone() || domain.getValues().isAll()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
 }
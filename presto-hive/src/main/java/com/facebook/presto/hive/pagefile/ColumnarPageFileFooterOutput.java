@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.facebook.presto.common.block.BlockEncodingSerde;
+import com.facebook.presto.common.io.DataOutput;
+import com.facebook.presto.hive.HiveCompressionCodec;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+
+import java.util.List;
+
+import static io.airlift.slice.SizeOf.SIZE_OF_INT;
+import static io.airlift.slice.Slices.utf8Slice;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The footer of a columnar page file. Unlike the footer of a row-wise page file, it is followed by a magic
+ * number, and describes for every stripe the number of rows, and the length and statistics of every column.
+ */
+public class ColumnarPageFileFooterOutput
+        implements DataOutput
+{
+    // "PFC2" in little endian
+    public static final int COLUMNAR_PAGE_FILE_MAGIC = 0x32434650;
+    // the footer length and the magic number
+    public static final int COLUMNAR_FOOTER_TAIL_LENGTH_IN_BYTES = 2 * SIZE_OF_INT;
+
+    private final Slice footer;
+
+    public ColumnarPageFileFooterOutput(List<PageFileStripe> stripes, int columnCount, HiveCompressionCodec compressionCodec, BlockEncodingSerde blockEncodingSerde)
+    {
+        requireNonNull(stripes, "stripes is null");
+        requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
+        Slice compressionSlice = utf8Slice(requireNonNull(compressionCodec, "compressionCodec is null").name());
+
+        SliceOutput output = new DynamicSliceOutput(SIZE_OF_INT * 3 + compressionSlice.length() + stripes.size() * columnCount * 32);
+        output.writeInt(compressionSlice.length());
+        output.writeBytes(compressionSlice);
+        output.writeInt(columnCount);
+        output.writeInt(stripes.size());
+        for (PageFileStripe stripe : stripes) {
+            output.writeLong(stripe.getOffset());
+            output.writeLong(stripe.getRowCount());
+            for (PageFileColumnChunk column : stripe.getColumns()) {
+                output.writeLong(column.getLength());
+                output.writeLong(column.getNullCount());
+                output.writeBoolean(column.getMinMax().isPresent());
+                column.getMinMax().ifPresent(minMax -> blockEncodingSerde.writeBlock(output, minMax));
+            }
+        }
+        footer = output.slice();
+    }
+
+    @Override
+    public long size()
+    {
+        return footer.length() + COLUMNAR_FOOTER_TAIL_LENGTH_IN_BYTES;
+    }
+
+    @Override
+    public void writeData(SliceOutput sliceOutput)
+    {
+        sliceOutput.writeBytes(footer);
+        sliceOutput.writeInt(toIntExact(size()));
+        sliceOutput.writeInt(COLUMNAR_PAGE_FILE_MAGIC);
+    }
+}
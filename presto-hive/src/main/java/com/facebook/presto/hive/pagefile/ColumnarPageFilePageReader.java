@@ -0,0 +1,120 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.page.PagesSerde;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.Slices;
+import org.apache.hadoop.fs.FSDataInputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.facebook.presto.hive.HiveErrorCode.HIVE_BAD_DATA;
+import static com.facebook.presto.spi.page.PagesSerdeUtil.readSerializedPage;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the given columns of the given stripes of a columnar page file, reading only the serialized blocks
+ * of these columns, and assembles them back into pages.
+ */
+public class ColumnarPageFilePageReader
+        implements Iterator<Page>
+{
+    private final Iterator<PageFileStripe> stripes;
+    private final int[] columns;
+    private final FSDataInputStream inputStream;
+    private final PagesSerde pagesSerde;
+    private final SliceInput[] columnInputs;
+
+    private long currentStripeRemainingRows;
+
+    public ColumnarPageFilePageReader(
+            List<PageFileStripe> stripes,
+            int[] columns,
+            FSDataInputStream inputStream,
+            PagesSerde pagesSerde)
+    {
+        this.stripes = ImmutableList.copyOf(requireNonNull(stripes, "stripes is null")).iterator();
+        this.columns = requireNonNull(columns, "columns is null").clone();
+        this.inputStream = requireNonNull(inputStream, "inputStream is null");
+        this.pagesSerde = requireNonNull(pagesSerde, "pagesSerde is null");
+        this.columnInputs = new SliceInput[columns.length];
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        while (currentStripeRemainingRows == 0) {
+            if (!stripes.hasNext()) {
+                return false;
+            }
+            openStripe(stripes.next());
+        }
+        return true;
+    }
+
+    @Override
+    public Page next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (columns.length == 0) {
+            // no column is read, only the number of rows is needed
+            Page page = new Page(toIntExact(currentStripeRemainingRows));
+            currentStripeRemainingRows = 0;
+            return page;
+        }
+
+        Block[] blocks = new Block[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (!columnInputs[i].isReadable()) {
+                throw new PrestoException(HIVE_BAD_DATA, "Malformed PageFile format, column chunk has fewer rows than its stripe");
+            }
+            blocks[i] = pagesSerde.deserialize(readSerializedPage(columnInputs[i])).getBlock(0);
+            if (blocks[i].getPositionCount() != blocks[0].getPositionCount()) {
+                throw new PrestoException(HIVE_BAD_DATA, "Malformed PageFile format, column chunks of a stripe have different pages");
+            }
+        }
+        currentStripeRemainingRows -= blocks[0].getPositionCount();
+        if (currentStripeRemainingRows < 0) {
+            throw new PrestoException(HIVE_BAD_DATA, "Malformed PageFile format, column chunk has more rows than its stripe");
+        }
+        return new Page(blocks[0].getPositionCount(), blocks);
+    }
+
+    private void openStripe(PageFileStripe stripe)
+    {
+        currentStripeRemainingRows = stripe.getRowCount();
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                byte[] buffer = new byte[toIntExact(stripe.getColumns().get(columns[i]).getLength())];
+                inputStream.readFully(stripe.getColumnOffset(columns[i]), buffer);
+                columnInputs[i] = Slices.wrappedBuffer(buffer).getInput();
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
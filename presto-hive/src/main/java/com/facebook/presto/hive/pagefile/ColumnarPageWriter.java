@@ -0,0 +1,304 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.block.BlockEncodingSerde;
+import com.facebook.presto.common.io.DataOutput;
+import com.facebook.presto.common.io.DataSink;
+import com.facebook.presto.common.type.CharType;
+import com.facebook.presto.common.type.DecimalType;
+import com.facebook.presto.common.type.TimestampType;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.common.type.VarcharType;
+import com.facebook.presto.hive.HiveCompressionCodec;
+import com.facebook.presto.spi.page.PageDataOutput;
+import com.facebook.presto.spi.page.PagesSerde;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.common.type.DateType.DATE;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
+import static com.facebook.presto.common.type.SmallintType.SMALLINT;
+import static com.facebook.presto.common.type.TinyintType.TINYINT;
+import static com.facebook.presto.common.type.VarbinaryType.VARBINARY;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes pages into a columnar page file: the pages are split into their blocks, and the serialized blocks
+ * of each column are stored together in every stripe, along with the null count and the min and max values
+ * of the column, so that readers only read the columns they need, and skip stripes not matching a filter.
+ */
+public class ColumnarPageWriter
+        implements Closeable
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(ColumnarPageWriter.class).instanceSize();
+    // min and max values longer than this are not kept in the footer
+    private static final int MAX_STATISTICS_SLICE_LENGTH = 256;
+
+    private final DataSink dataSink;
+    private final HiveCompressionCodec compressionCodec;
+    private final PagesSerde pagesSerde;
+    private final BlockEncodingSerde blockEncodingSerde;
+    private final List<ColumnWriter> columnWriters;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final long maxBufferedBytes;
+    private final List<PageFileStripe> stripes = new ArrayList<>();
+    private long bufferedBytes;
+    private long retainedBytes;
+    private long bufferedRows;
+    private long stripeOffset;
+
+    public ColumnarPageWriter(
+            DataSink dataSink,
+            List<Type> types,
+            PagesSerde pagesSerde,
+            BlockEncodingSerde blockEncodingSerde,
+            HiveCompressionCodec compressionCodec,
+            DataSize pageFileStripeMaxSize)
+    {
+        this.dataSink = requireNonNull(dataSink, "dataSink is null");
+        this.pagesSerde = requireNonNull(pagesSerde, "pagesSerde is null");
+        this.blockEncodingSerde = requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
+        this.compressionCodec = requireNonNull(compressionCodec, "compressionCodec is null");
+        this.maxBufferedBytes = requireNonNull(pageFileStripeMaxSize, "pageFileStripeMaxSize is null").toBytes();
+        ImmutableList.Builder<ColumnWriter> columnWriters = ImmutableList.builder();
+        for (Type type : requireNonNull(types, "types is null")) {
+            columnWriters.add(new ColumnWriter(type));
+        }
+        this.columnWriters = columnWriters.build();
+    }
+
+    /**
+     * Number of bytes already flushed to the data sink.
+     */
+    public long getWrittenBytes()
+    {
+        return dataSink.size();
+    }
+
+    public void write(Page page)
+            throws IOException
+    {
+        checkArgument(page.getChannelCount() == columnWriters.size(), "Expected %s channels, but page has %s", columnWriters.size(), page.getChannelCount());
+        if (page.getPositionCount() == 0) {
+            return;
+        }
+
+        List<PageDataOutput> serializedBlocks = new ArrayList<>(columnWriters.size());
+        long writtenSize = 0;
+        for (int channel = 0; channel < columnWriters.size(); channel++) {
+            PageDataOutput serializedBlock = new PageDataOutput(pagesSerde.serialize(new Page(page.getPositionCount(), page.getBlock(channel))));
+            serializedBlocks.add(serializedBlock);
+            writtenSize += serializedBlock.size();
+        }
+        if (bufferedRows > 0 && maxBufferedBytes - bufferedBytes < writtenSize) {
+            flushStripe();
+        }
+        for (int channel = 0; channel < columnWriters.size(); channel++) {
+            PageDataOutput serializedBlock = serializedBlocks.get(channel);
+            columnWriters.get(channel).write(page.getBlock(channel), serializedBlock);
+            retainedBytes += serializedBlock.size();
+        }
+        bufferedBytes += writtenSize;
+        bufferedRows += page.getPositionCount();
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (bufferedRows > 0) {
+            flushStripe();
+        }
+        dataSink.write(ImmutableList.of(new ColumnarPageFileFooterOutput(stripes, columnWriters.size(), compressionCodec, blockEncodingSerde)));
+        dataSink.close();
+    }
+
+    public void closeWithoutWrite()
+            throws IOException
+    {
+        if (closed.compareAndSet(false, true)) {
+            dataSink.close();
+        }
+    }
+
+    public long getRetainedBytes()
+    {
+        return INSTANCE_SIZE + retainedBytes + dataSink.getRetainedSizeInBytes();
+    }
+
+    private void flushStripe()
+            throws IOException
+    {
+        ImmutableList.Builder<PageFileColumnChunk> columns = ImmutableList.builder();
+        for (ColumnWriter columnWriter : columnWriters) {
+            dataSink.write(columnWriter.getBufferedBlocks());
+            columns.add(columnWriter.flush());
+        }
+        stripes.add(new PageFileStripe(stripeOffset, bufferedRows, columns.build()));
+        stripeOffset += bufferedBytes;
+        bufferedBytes = 0;
+        retainedBytes = 0;
+        bufferedRows = 0;
+    }
+
+    private static class ColumnWriter
+    {
+        private final Type type;
+        private final boolean statisticsSupported;
+        private final boolean longValues;
+        private final boolean sliceValues;
+        private final List<DataOutput> bufferedBlocks = new ArrayList<>();
+        private long bufferedBytes;
+        private long nullCount;
+        private boolean statisticsValid;
+        private Block min;
+        private Block max;
+
+        public ColumnWriter(Type type)
+        {
+            this.type = requireNonNull(type, "type is null");
+            this.statisticsSupported = isStatisticsSupported(type);
+            this.longValues = type.getJavaType() == long.class;
+            this.sliceValues = type.getJavaType() == Slice.class;
+            this.statisticsValid = statisticsSupported;
+        }
+
+        /**
+         * The min and max are only kept for the types of the column domains a stripe can be skipped on. The min and max
+         * of floating point columns are not kept, as they do not tell whether there are NaN values.
+         */
+        private static boolean isStatisticsSupported(Type type)
+        {
+            return type.equals(BOOLEAN)
+                    || type.equals(TINYINT)
+                    || type.equals(SMALLINT)
+                    || type.equals(INTEGER)
+                    || type.equals(BIGINT)
+                    || type.equals(DATE)
+                    || type.equals(VARBINARY)
+                    || type instanceof TimestampType
+                    || type instanceof DecimalType
+                    || type instanceof VarcharType
+                    || type instanceof CharType;
+        }
+
+        public void write(Block block, PageDataOutput serializedBlock)
+        {
+            bufferedBlocks.add(serializedBlock);
+            bufferedBytes += serializedBlock.size();
+
+            if (block.mayHaveNull()) {
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (block.isNull(position)) {
+                        nullCount++;
+                    }
+                }
+            }
+            if (statisticsValid) {
+                updateMinMax(block);
+            }
+        }
+
+        public List<DataOutput> getBufferedBlocks()
+        {
+            return bufferedBlocks;
+        }
+
+        public PageFileColumnChunk flush()
+        {
+            Optional<Block> minMax = Optional.empty();
+            if (statisticsValid && min != null) {
+                BlockBuilder blockBuilder = type.createBlockBuilder(null, 2);
+                type.appendTo(min, 0, blockBuilder);
+                type.appendTo(max, 0, blockBuilder);
+                minMax = Optional.of(blockBuilder.build());
+            }
+            PageFileColumnChunk columnChunk = new PageFileColumnChunk(bufferedBytes, nullCount, minMax);
+
+            bufferedBlocks.clear();
+            bufferedBytes = 0;
+            nullCount = 0;
+            statisticsValid = statisticsSupported;
+            min = null;
+            max = null;
+            return columnChunk;
+        }
+
+        private void updateMinMax(Block block)
+        {
+            // find the min and max of the block first, so that they are the only values compared with those of the stripe and copied
+            int minPosition = -1;
+            int maxPosition = -1;
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                if (block.isNull(position)) {
+                    continue;
+                }
+                if (sliceValues && block.getSliceLength(position) > MAX_STATISTICS_SLICE_LENGTH) {
+                    statisticsValid = false;
+                    min = null;
+                    max = null;
+                    return;
+                }
+                if (minPosition < 0) {
+                    minPosition = position;
+                    maxPosition = position;
+                }
+                else if (compare(block, position, minPosition) < 0) {
+                    minPosition = position;
+                }
+                else if (compare(block, position, maxPosition) > 0) {
+                    maxPosition = position;
+                }
+            }
+            if (minPosition < 0) {
+                return;
+            }
+
+            if (min == null || type.compareTo(block, minPosition, min, 0) < 0) {
+                min = block.getSingleValueBlock(minPosition);
+            }
+            if (max == null || type.compareTo(block, maxPosition, max, 0) > 0) {
+                max = block.getSingleValueBlock(maxPosition);
+            }
+        }
+
+        private int compare(Block block, int leftPosition, int rightPosition)
+        {
+            if (longValues) {
+                // the supported types stored as longs are all ordered by their signed value
+                return Long.compare(type.getLong(block, leftPosition), type.getLong(block, rightPosition));
+            }
+            return type.compareTo(block, leftPosition, block, rightPosition);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.facebook.presto.common.type.Type;
+
+import java.util.Optional;
+
+import static com.facebook.presto.common.type.TypeUtils.readNativeValue;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The location and statistics of the serialized blocks of one column in a stripe of a columnar page file.
+ */
+public class PageFileColumnChunk
+{
+    private final long length;
+    private final long nullCount;
+    // the min and max values of the column, as the two positions of a block
+    private final Optional<Block> minMax;
+
+    public PageFileColumnChunk(long length, long nullCount, Optional<Block> minMax)
+    {
+        checkArgument(length >= 0, "length is negative");
+        checkArgument(nullCount >= 0, "nullCount is negative");
+        this.length = length;
+        this.nullCount = nullCount;
+        this.minMax = requireNonNull(minMax, "minMax is null");
+        minMax.ifPresent(block -> checkArgument(block.getPositionCount() == 2, "minMax must have two positions"));
+    }
+
+    public long getLength()
+    {
+        return length;
+    }
+
+    public long getNullCount()
+    {
+        return nullCount;
+    }
+
+    public Optional<Block> getMinMax()
+    {
+        return minMax;
+    }
+
+    /**
+     * Returns the domain of the values of the column in a stripe with the given number of rows.
+     */
+    public Domain getDomain(Type type, long rowCount)
+    {
+        if (nullCount == rowCount) {
+            return Domain.onlyNull(type);
+        }
+        if (!minMax.isPresent()) {
+            return Domain.all(type);
+        }
+        Object min = readNativeValue(type, minMax.get(), 0);
+        Object max = readNativeValue(type, minMax.get(), 1);
+        return Domain.create(ValueSet.ofRanges(Range.range(type, min, true, max, true)), nullCount > 0);
+    }
+}
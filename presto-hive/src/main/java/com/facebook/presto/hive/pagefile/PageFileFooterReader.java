@@ -13,10 +13,13 @@
  */
 package com.facebook.presto.hive.pagefile;
 
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockEncodingSerde;
 import com.facebook.presto.hive.HiveCompressionCodec;
 import com.facebook.presto.spi.PrestoException;
 import com.google.common.collect.ImmutableList;
 import io.airlift.slice.FixedLengthSliceInput;
+import io.airlift.slice.SliceInput;
 import io.airlift.slice.Slices;
 import org.apache.hadoop.fs.FSDataInputStream;
 
@@ -26,8 +29,11 @@ import java.util.Optional;
 
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_BAD_DATA;
 import static com.facebook.presto.hive.HiveStorageFormat.PAGEFILE;
+import static com.facebook.presto.hive.pagefile.ColumnarPageFileFooterOutput.COLUMNAR_FOOTER_TAIL_LENGTH_IN_BYTES;
+import static com.facebook.presto.hive.pagefile.ColumnarPageFileFooterOutput.COLUMNAR_PAGE_FILE_MAGIC;
 import static com.facebook.presto.hive.pagefile.PageFileFooterOutput.FOOTER_LENGTH_IN_BYTES;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static io.airlift.slice.SizeOf.SIZE_OF_INT;
 import static io.airlift.slice.SizeOf.SIZE_OF_LONG;
 import static java.lang.Math.min;
@@ -42,20 +48,67 @@ public class PageFileFooterReader
     private final List<Long> stripeOffsets;
     private final long footerOffset;
     private final Optional<HiveCompressionCodec> compressionCodec;
+    // the stripes of a columnar page file, empty for a page file storing whole pages
+    private final Optional<List<PageFileStripe>> columnarStripes;
+    private final int columnCount;
 
     public PageFileFooterReader(
             FSDataInputStream inputStream,
-            long fileSize)
+            long fileSize,
+            BlockEncodingSerde blockEncodingSerde)
             throws IOException
     {
         checkArgument(fileSize >= FOOTER_LENGTH_IN_BYTES, "Malformed PageFile format, footer length is missing.");
         requireNonNull(inputStream, "inputStream is null");
+        requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
         ImmutableList.Builder<Long> stripeOffsetsBuilder = ImmutableList.builder();
 
         byte[] buffer = new byte[toIntExact(min(fileSize, ESTIMATED_FOOTER_SIZE))];
         inputStream.readFully(fileSize - buffer.length, buffer);
-        int footerSize = Slices.wrappedBuffer(buffer, buffer.length - FOOTER_LENGTH_IN_BYTES, FOOTER_LENGTH_IN_BYTES).getInt(0);
+        int lastInt = Slices.wrappedBuffer(buffer, buffer.length - SIZE_OF_INT, SIZE_OF_INT).getInt(0);
+        if (buffer.length >= COLUMNAR_FOOTER_TAIL_LENGTH_IN_BYTES && lastInt == COLUMNAR_PAGE_FILE_MAGIC) {
+            int footerSize = Slices.wrappedBuffer(buffer, buffer.length - COLUMNAR_FOOTER_TAIL_LENGTH_IN_BYTES, SIZE_OF_INT).getInt(0);
+            footerOffset = fileSize - footerSize;
+            if (footerOffset < 0 || footerSize < COLUMNAR_FOOTER_TAIL_LENGTH_IN_BYTES) {
+                throw new PrestoException(HIVE_BAD_DATA, "Malformed PageFile format, incorrect footer length.");
+            }
+            if (footerSize > buffer.length) {
+                buffer = new byte[footerSize];
+                inputStream.readFully(footerOffset, buffer);
+            }
+            SliceInput sliceInput = Slices.wrappedBuffer(buffer, buffer.length - footerSize, footerSize - COLUMNAR_FOOTER_TAIL_LENGTH_IN_BYTES).getInput();
+            compressionCodec = Optional.of(readCompression(sliceInput));
+            columnCount = sliceInput.readInt();
+            int stripeCount = sliceInput.readInt();
+            if (columnCount < 0 || stripeCount < 0) {
+                throw new PrestoException(HIVE_BAD_DATA, "Malformed PageFile format, incorrect column or stripe count.");
+            }
+            ImmutableList.Builder<PageFileStripe> stripes = ImmutableList.builder();
+            for (int i = 0; i < stripeCount; i++) {
+                long stripeOffset = sliceInput.readLong();
+                long rowCount = sliceInput.readLong();
+                ImmutableList.Builder<PageFileColumnChunk> columns = ImmutableList.builder();
+                for (int column = 0; column < columnCount; column++) {
+                    long length = sliceInput.readLong();
+                    long nullCount = sliceInput.readLong();
+                    Optional<Block> minMax = sliceInput.readBoolean() ? Optional.of(blockEncodingSerde.readBlock(sliceInput)) : Optional.empty();
+                    columns.add(new PageFileColumnChunk(length, nullCount, minMax));
+                }
+                PageFileStripe stripe = new PageFileStripe(stripeOffset, rowCount, columns.build());
+                stripes.add(stripe);
+                stripeOffsetsBuilder.add(stripeOffset);
+            }
+            if (sliceInput.isReadable()) {
+                throw new PrestoException(HIVE_BAD_DATA, "Malformed PageFile format, incorrect stripe count.");
+            }
+            columnarStripes = Optional.of(stripes.build());
+            stripeOffsets = stripeOffsetsBuilder.build();
+            return;
+        }
+        columnarStripes = Optional.empty();
+        columnCount = -1;
 
+        int footerSize = lastInt;
         footerOffset = fileSize - footerSize;
         HiveCompressionCodec compression;
         if (footerOffset < 0) {
@@ -70,19 +123,8 @@ public class PageFileFooterReader
             FixedLengthSliceInput sliceInput = Slices.wrappedBuffer(buffer, buffer.length - footerSize, footerSize - FOOTER_LENGTH_IN_BYTES).getInput();
             long remainingSize = sliceInput.length();
             // read compression
-            int compressionStringSize = sliceInput.readInt();
-            remainingSize -= SIZE_OF_INT;
-            String compressionName = sliceInput.readSlice(compressionStringSize).toStringUtf8();
-            remainingSize -= compressionStringSize;
-
-            try {
-                compression = HiveCompressionCodec.valueOf(compressionName);
-            }
-            catch (Exception e) {
-                throw new PrestoException(
-                        HIVE_BAD_DATA,
-                        format("%s is invalid compression method in the footer of %s", compressionName, PAGEFILE.getInputFormat()));
-            }
+            compression = readCompression(sliceInput);
+            remainingSize -= sliceInput.position();
 
             // read stripeOffsets
             int stripeCount = sliceInput.readInt();
@@ -116,4 +158,35 @@ public class PageFileFooterReader
     {
         return compressionCodec;
     }
+
+    public boolean isColumnar()
+    {
+        return columnarStripes.isPresent();
+    }
+
+    public List<PageFileStripe> getColumnarStripes()
+    {
+        checkState(isColumnar(), "not a columnar page file");
+        return columnarStripes.get();
+    }
+
+    public int getColumnCount()
+    {
+        checkState(isColumnar(), "not a columnar page file");
+        return columnCount;
+    }
+
+    private static HiveCompressionCodec readCompression(SliceInput sliceInput)
+    {
+        int compressionStringSize = sliceInput.readInt();
+        String compressionName = sliceInput.readSlice(compressionStringSize).toStringUtf8();
+        try {
+            return HiveCompressionCodec.valueOf(compressionName);
+        }
+        catch (Exception e) {
+            throw new PrestoException(
+                    HIVE_BAD_DATA,
+                    format("%s is invalid compression method in the footer of %s", compressionName, PAGEFILE.getInputFormat()));
+        }
+    }
 }
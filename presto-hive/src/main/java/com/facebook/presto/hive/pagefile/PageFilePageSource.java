@@ -16,6 +16,8 @@ package com.facebook.presto.hive.pagefile;
 import com.facebook.presto.common.Page;
 import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.block.BlockEncodingSerde;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.hive.HiveColumnHandle;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.PrestoException;
@@ -24,10 +26,13 @@ import org.apache.hadoop.fs.FSDataInputStream;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.REGULAR;
 import static com.facebook.presto.hive.pagefile.PageFileWriterFactory.createPagesSerdeForPageFile;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.Objects.requireNonNull;
 
 public class PageFilePageSource
@@ -49,11 +54,42 @@ public class PageFilePageSource
             long splitLength,
             long fileSize,
             BlockEncodingSerde blockEncodingSerde,
-            List<HiveColumnHandle> columns)
+            List<HiveColumnHandle> columns,
+            TupleDomain<HiveColumnHandle> effectivePredicate)
             throws IOException
     {
         this.inputStream = requireNonNull(inputStream, "inputStream is null");
-        PageFileFooterReader pageFileFooterReader = new PageFileFooterReader(inputStream, fileSize);
+        requireNonNull(effectivePredicate, "effectivePredicate is null");
+        PageFileFooterReader pageFileFooterReader = new PageFileFooterReader(inputStream, fileSize, blockEncodingSerde);
+
+        int size = requireNonNull(columns, "columns is null").size();
+        this.hiveColumnIndexes = new int[size];
+
+        if (pageFileFooterReader.isColumnar()) {
+            // the columnar reader returns only the requested columns, in the requested order
+            int[] fileColumns = new int[size];
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                fileColumns[columnIndex] = columns.get(columnIndex).getHiveColumnIndex();
+                if (fileColumns[columnIndex] >= pageFileFooterReader.getColumnCount()) {
+                    throw new PrestoException(
+                            NOT_SUPPORTED,
+                            "schema evolution is not supported for PageFile format");
+                }
+                hiveColumnIndexes[columnIndex] = columnIndex;
+            }
+            List<PageFileStripe> stripes = pageFileFooterReader.getColumnarStripes().stream()
+                    .filter(stripe -> splitContainsStripe(start, splitLength, stripe.getOffset()))
+                    .filter(stripe -> stripeMatches(stripe, effectivePredicate))
+                    .collect(toImmutableList());
+            pageReader = new ColumnarPageFilePageReader(
+                    stripes,
+                    fileColumns,
+                    inputStream,
+                    createPagesSerdeForPageFile(
+                            blockEncodingSerde,
+                            pageFileFooterReader.getCompression()));
+            return;
+        }
 
         OffsetAndLength readStartAndLength = getReadStartAndLength(
                 start,
@@ -69,9 +105,6 @@ public class PageFilePageSource
                         blockEncodingSerde,
                         pageFileFooterReader.getCompression()));
 
-        int size = requireNonNull(columns, "columns is null").size();
-        this.hiveColumnIndexes = new int[size];
-
         for (int columnIndex = 0; columnIndex < size; columnIndex++) {
             HiveColumnHandle column = columns.get(columnIndex);
             hiveColumnIndexes[columnIndex] = column.getHiveColumnIndex();
@@ -174,6 +207,25 @@ public class PageFilePageSource
         return new OffsetAndLength(readStart, readEnd - readStart);
     }
 
+    private static boolean stripeMatches(PageFileStripe stripe, TupleDomain<HiveColumnHandle> effectivePredicate)
+    {
+        if (effectivePredicate.isNone()) {
+            return false;
+        }
+        for (Map.Entry<HiveColumnHandle, Domain> entry : effectivePredicate.getDomains().get().entrySet()) {
+            HiveColumnHandle column = entry.getKey();
+            if (column.getColumnType() != REGULAR || column.getHiveColumnIndex() >= stripe.getColumns().size()) {
+                continue;
+            }
+            Domain domain = entry.getValue();
+            Domain stripeDomain = stripe.getColumns().get(column.getHiveColumnIndex()).getDomain(domain.getType(), stripe.getRowCount());
+            if (!domain.overlaps(stripeDomain)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static boolean splitContainsStripe(long splitStart, long splitLength, long stripeOffset)
     {
         return splitStart <= stripeOffset && stripeOffset < splitStart + splitLength;
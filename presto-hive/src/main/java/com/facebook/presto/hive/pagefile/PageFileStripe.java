@@ -0,0 +1,70 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.pagefile;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A stripe of a columnar page file, in which the serialized blocks of each column are stored
+ * one column after the other, starting at the offset of the stripe.
+ */
+public class PageFileStripe
+{
+    private final long offset;
+    private final long rowCount;
+    private final List<PageFileColumnChunk> columns;
+
+    public PageFileStripe(long offset, long rowCount, List<PageFileColumnChunk> columns)
+    {
+        checkArgument(offset >= 0, "offset is negative");
+        checkArgument(rowCount >= 0, "rowCount is negative");
+        this.offset = offset;
+        this.rowCount = rowCount;
+        this.columns = ImmutableList.copyOf(requireNonNull(columns, "columns is null"));
+    }
+
+    public long getOffset()
+    {
+        return offset;
+    }
+
+    public long getRowCount()
+    {
+        return rowCount;
+    }
+
+    public List<PageFileColumnChunk> getColumns()
+    {
+        return columns;
+    }
+
+    public long getColumnOffset(int column)
+    {
+        long columnOffset = offset;
+        for (int i = 0; i < column; i++) {
+            columnOffset += columns.get(i).getLength();
+        }
+        return columnOffset;
+    }
+
+    public long getLength()
+    {
+        return getColumnOffset(columns.size()) - offset;
+    }
+}
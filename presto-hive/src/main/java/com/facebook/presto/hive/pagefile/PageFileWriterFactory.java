@@ -15,6 +15,8 @@ package com.facebook.presto.hive.pagefile;
 
 import com.facebook.presto.common.block.BlockEncodingSerde;
 import com.facebook.presto.common.io.DataSink;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.common.type.TypeManager;
 import com.facebook.presto.hive.EncryptionInformation;
 import com.facebook.presto.hive.HdfsEnvironment;
 import com.facebook.presto.hive.HiveCompressionCodec;
@@ -31,6 +33,7 @@ import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.page.PageCompressor;
 import com.facebook.presto.spi.page.PageDecompressor;
 import com.facebook.presto.spi.page.PagesSerde;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import io.airlift.compress.lz4.Lz4Compressor;
 import io.airlift.compress.lz4.Lz4Decompressor;
@@ -50,13 +53,18 @@ import java.util.concurrent.Callable;
 
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_WRITER_OPEN_ERROR;
 import static com.facebook.presto.hive.HiveSessionProperties.getPageFileStripeMaxSize;
+import static com.facebook.presto.hive.HiveSessionProperties.isPageFileColumnarWriterEnabled;
 import static com.facebook.presto.hive.HiveStorageFormat.PAGEFILE;
+import static com.facebook.presto.hive.HiveType.toHiveTypes;
 import static com.facebook.presto.hive.pagefile.PageFileFooterOutput.createEmptyPageFileFooterOutput;
 import static com.facebook.presto.hive.util.ConfigurationUtils.PAGE_FILE_COMPRESSION;
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_USER_ERROR;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.apache.hadoop.hive.metastore.api.hive_metastoreConstants.META_TABLE_COLUMNS;
+import static org.apache.hadoop.hive.metastore.api.hive_metastoreConstants.META_TABLE_COLUMN_TYPES;
 
 public class PageFileWriterFactory
         implements HiveFileWriterFactory
@@ -64,16 +72,19 @@ public class PageFileWriterFactory
     private final HdfsEnvironment hdfsEnvironment;
     private final DataSinkFactory dataSinkFactory;
     private final BlockEncodingSerde blockEncodingSerde;
+    private final TypeManager typeManager;
 
     @Inject
     public PageFileWriterFactory(
             HdfsEnvironment hdfsEnvironment,
             DataSinkFactory dataSinkFactory,
-            BlockEncodingSerde blockEncodingSerde)
+            BlockEncodingSerde blockEncodingSerde,
+            TypeManager typeManager)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.dataSinkFactory = requireNonNull(dataSinkFactory, "dataSinkFactory is null");
         this.blockEncodingSerde = requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
+        this.typeManager = requireNonNull(typeManager, "typeManager is null");
     }
 
     @Override
@@ -106,6 +117,26 @@ public class PageFileWriterFactory
                 fileSystem.delete(path, false);
                 return null;
             };
+            if (isPageFileColumnarWriterEnabled(session)) {
+                // existing tables and partitions may have columns in a different order than the writer is providing, so build
+                // an index to rearrange columns in the proper order
+                List<String> fileColumnNames = Splitter.on(',').trimResults().omitEmptyStrings().splitToList(schema.getProperty(META_TABLE_COLUMNS, ""));
+                List<Type> fileColumnTypes = toHiveTypes(schema.getProperty(META_TABLE_COLUMN_TYPES, "")).stream()
+                        .map(hiveType -> hiveType.getType(typeManager))
+                        .collect(toImmutableList());
+                int[] fileInputColumnIndexes = fileColumnNames.stream()
+                        .mapToInt(inputColumnNames::indexOf)
+                        .toArray();
+                return Optional.of(new ColumnarPageFileWriter(
+                        dataSink,
+                        fileColumnTypes,
+                        fileInputColumnIndexes,
+                        pagesSerde,
+                        blockEncodingSerde,
+                        compression,
+                        getPageFileStripeMaxSize(session),
+                        rollbackAction));
+            }
             return Optional.of(new PageFileWriter(dataSink, pagesSerde, compression, getPageFileStripeMaxSize(session), rollbackAction));
         }
         catch (IOException e) {
@@ -32,6 +32,7 @@ import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.PrimitiveType;
 
 import java.io.IOException;
@@ -50,7 +51,8 @@ public class AggregatedParquetPageSource
         implements ConnectorPageSource
 {
     private final List<HiveColumnHandle> columnHandles;
-    private final ParquetMetadata parquetMetadata;
+    private final List<BlockMetaData> blocks;
+    private final MessageType fileSchema;
     private final TypeManager typeManager;
     private final StandardFunctionResolution functionResolution;
 
@@ -62,9 +64,23 @@ public class AggregatedParquetPageSource
     private long completedBytes;
 
     public AggregatedParquetPageSource(List<HiveColumnHandle> columnHandles, ParquetMetadata parquetMetadata, TypeManager typeManager, StandardFunctionResolution functionResolution)
+    {
+        this(columnHandles, parquetMetadata.getBlocks(), parquetMetadata.getFileMetaData().getSchema(), typeManager, functionResolution);
+    }
+
+    /**
+     * Creates a page source answering the aggregations from the statistics of the given row groups of the file.
+     */
+    public AggregatedParquetPageSource(
+            List<HiveColumnHandle> columnHandles,
+            List<BlockMetaData> blocks,
+            MessageType fileSchema,
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution)
     {
         this.columnHandles = requireNonNull(columnHandles, "columnHandles is null");
-        this.parquetMetadata = requireNonNull(parquetMetadata, "fileMetadata is null");
+        this.blocks = requireNonNull(blocks, "blocks is null");
+        this.fileSchema = requireNonNull(fileSchema, "fileSchema is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.functionResolution = requireNonNull(functionResolution, "functionResolution is null");
     }
@@ -111,17 +127,17 @@ public class AggregatedParquetPageSource
             FunctionHandle functionHandle = aggregation.getFunctionHandle();
 
             if (functionResolution.isCountFunction(functionHandle)) {
-                long rowCount = getRowCountFromParquetMetadata(parquetMetadata);
+                long rowCount = getRowCount();
                 if (!aggregation.getArguments().isEmpty()) {
-                    rowCount -= getNumNulls(parquetMetadata, columnIndex);
+                    rowCount -= getNumNulls(columnIndex);
                 }
                 blockBuilder = blockBuilder.writeLong(rowCount);
             }
             else if (functionResolution.isMaxFunction(functionHandle)) {
-                writeMinMax(parquetMetadata, columnIndex, blockBuilder, type, columnHandle.getHiveType(), false);
+                writeMinMax(columnIndex, blockBuilder, type, columnHandle.getHiveType(), false);
             }
             else if (functionResolution.isMinFunction(functionHandle)) {
-                writeMinMax(parquetMetadata, columnIndex, blockBuilder, type, columnHandle.getHiveType(), true);
+                writeMinMax(columnIndex, blockBuilder, type, columnHandle.getHiveType(), true);
             }
             else {
                 throw new UnsupportedOperationException(aggregation.getFunctionHandle().toString() + " is not supported");
@@ -134,20 +150,20 @@ public class AggregatedParquetPageSource
         return new Page(batchSize, blocks);
     }
 
-    private long getRowCountFromParquetMetadata(ParquetMetadata parquetMetadata)
+    private long getRowCount()
     {
         long rowCount = 0;
-        for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
+        for (BlockMetaData blockMetaData : blocks) {
             rowCount += blockMetaData.getRowCount();
         }
         completedBytes += INTEGER.getFixedSize();
         return rowCount;
     }
 
-    private long getNumNulls(ParquetMetadata parquetMetadata, int columnIndex)
+    private long getNumNulls(int columnIndex)
     {
         long numNulls = 0;
-        for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
+        for (BlockMetaData blockMetaData : blocks) {
             Statistics statistics = blockMetaData.getColumns().get(columnIndex).getStatistics();
             if (!statistics.isNumNullsSet()) {
                 throw new UnsupportedOperationException("Number of nulls not set for parquet file. Set session property hive.pushdown_partial_aggregations_into_scan=false and execute query again");
@@ -158,15 +174,15 @@ public class AggregatedParquetPageSource
         return numNulls;
     }
 
-    private void writeMinMax(ParquetMetadata parquetMetadata, int columnIndex, BlockBuilder blockBuilder, Type type, HiveType hiveType, boolean isMin)
+    private void writeMinMax(int columnIndex, BlockBuilder blockBuilder, Type type, HiveType hiveType, boolean isMin)
     {
-        org.apache.parquet.schema.Type parquetType = parquetMetadata.getFileMetaData().getSchema().getType(columnIndex);
+        org.apache.parquet.schema.Type parquetType = fileSchema.getType(columnIndex);
         if (parquetType instanceof GroupType) {
             throw new IllegalArgumentException("Unsupported type : " + parquetType.toString());
         }
 
         Object value = null;
-        for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
+        for (BlockMetaData blockMetaData : blocks) {
             Statistics statistics = blockMetaData.getColumns().get(columnIndex).getStatistics();
             if (!statistics.hasNonNullValue()) {
                 throw new UnsupportedOperationException("No min/max found for parquet file. Set session property hive.pushdown_partial_aggregations_into_scan=false and execute query again");
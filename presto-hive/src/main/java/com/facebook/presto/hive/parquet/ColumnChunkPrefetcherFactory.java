@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.parquet;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.hive.FileFormatDataSourceStats;
+import com.facebook.presto.hive.ForParquetPrefetch;
+import com.facebook.presto.hive.HiveClientConfig;
+import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.facebook.presto.parquet.ParquetDataSource;
+import com.facebook.presto.parquet.ParquetPrefetchStats;
+import com.facebook.presto.parquet.reader.ColumnChunkPrefetcher;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates the prefetchers of the Parquet files read by this worker, which share a bounded I/O executor.
+ */
+public class ColumnChunkPrefetcherFactory
+{
+    private final Executor executor;
+    private final DataSize maxMergeDistance;
+    private final DataSize maxReadSize;
+    private final ParquetPrefetchStats stats;
+
+    @Inject
+    public ColumnChunkPrefetcherFactory(@ForParquetPrefetch ExecutorService executor, HiveClientConfig hiveClientConfig, FileFormatDataSourceStats stats)
+    {
+        this(executor, hiveClientConfig.getParquetPrefetchMaxMergeDistance(), hiveClientConfig.getParquetPrefetchMaxReadSize(), stats);
+    }
+
+    public ColumnChunkPrefetcherFactory(Executor executor, DataSize maxMergeDistance, DataSize maxReadSize, ParquetPrefetchStats stats)
+    {
+        this.executor = requireNonNull(executor, "executor is null");
+        this.maxMergeDistance = requireNonNull(maxMergeDistance, "maxMergeDistance is null");
+        this.maxReadSize = requireNonNull(maxReadSize, "maxReadSize is null");
+        this.stats = requireNonNull(stats, "stats is null");
+    }
+
+    public ColumnChunkPrefetcher create(ParquetDataSource dataSource, AggregatedMemoryContext systemMemoryContext)
+    {
+        return new ColumnChunkPrefetcher(
+                dataSource,
+                executor,
+                maxMergeDistance,
+                maxReadSize,
+                stats,
+                systemMemoryContext.newLocalMemoryContext(ColumnChunkPrefetcher.class.getSimpleName()));
+    }
+}
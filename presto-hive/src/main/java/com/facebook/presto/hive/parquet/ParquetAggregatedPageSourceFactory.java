@@ -13,7 +13,11 @@
  */
 package com.facebook.presto.hive.parquet;
 
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.type.Type;
 import com.facebook.presto.common.type.TypeManager;
+import com.facebook.presto.hive.AggregatedRowGroupsPageSource;
 import com.facebook.presto.hive.EncryptionInformation;
 import com.facebook.presto.hive.FileFormatDataSourceStats;
 import com.facebook.presto.hive.HdfsEnvironment;
@@ -21,29 +25,42 @@ import com.facebook.presto.hive.HiveAggregatedPageSourceFactory;
 import com.facebook.presto.hive.HiveColumnHandle;
 import com.facebook.presto.hive.HiveFileContext;
 import com.facebook.presto.hive.HiveFileSplit;
+import com.facebook.presto.hive.RowGroupMatch;
 import com.facebook.presto.hive.metastore.Storage;
 import com.facebook.presto.parquet.ParquetDataSource;
+import com.facebook.presto.parquet.ParquetDataSourceId;
 import com.facebook.presto.parquet.cache.ParquetMetadataSource;
+import com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.function.StandardFunctionResolution;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import jakarta.inject.Inject;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.crypto.InternalFileDecryptor;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getReadNullMaskedParquetEncryptedValue;
+import static com.facebook.presto.hive.RowGroupMatch.ALL;
+import static com.facebook.presto.hive.RowGroupMatch.PARTIAL;
 import static com.facebook.presto.hive.parquet.HdfsParquetDataSource.buildHdfsParquetDataSource;
 import static com.facebook.presto.hive.parquet.ParquetPageSourceFactory.createDecryptor;
+import static com.facebook.presto.hive.parquet.ParquetPageSourceFactory.findFirstNonHiddenColumnId;
 import static com.facebook.presto.hive.parquet.ParquetPageSourceFactoryUtils.mapToPrestoException;
+import static com.facebook.presto.spi.plan.AggregationNode.Aggregation;
 import static java.util.Objects.requireNonNull;
 
 public class ParquetAggregatedPageSourceFactory
@@ -82,7 +99,9 @@ public class ParquetAggregatedPageSourceFactory
             Storage storage,
             List<HiveColumnHandle> columns,
             HiveFileContext hiveFileContext,
-            Optional<EncryptionInformation> encryptionInformation)
+            Optional<EncryptionInformation> encryptionInformation,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileRangeReader partiallyMatchedRowGroupReader)
     {
         if (!PARQUET_SERDE_CLASS_NAMES.contains(storage.getStorageFormat().getSerDe())) {
             return Optional.empty();
@@ -98,7 +117,9 @@ public class ParquetAggregatedPageSourceFactory
                 functionResolution,
                 stats,
                 hiveFileContext,
-                parquetMetadataSource));
+                parquetMetadataSource,
+                effectivePredicate,
+                partiallyMatchedRowGroupReader));
     }
 
     public static ConnectorPageSource createParquetPageSource(
@@ -111,7 +132,9 @@ public class ParquetAggregatedPageSourceFactory
             StandardFunctionResolution functionResolution,
             FileFormatDataSourceStats stats,
             HiveFileContext hiveFileContext,
-            ParquetMetadataSource parquetMetadataSource)
+            ParquetMetadataSource parquetMetadataSource,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileRangeReader partiallyMatchedRowGroupReader)
     {
         String user = session.getUser();
         boolean readMaskedValue = getReadNullMaskedParquetEncryptedValue(session);
@@ -132,7 +155,10 @@ public class ParquetAggregatedPageSourceFactory
                     fileDecryptor,
                     readMaskedValue).getParquetMetadata());
 
-            return new AggregatedParquetPageSource(columns, parquetMetadata, typeManager, functionResolution);
+            if (effectivePredicate.isAll()) {
+                return new AggregatedParquetPageSource(columns, parquetMetadata, typeManager, functionResolution);
+            }
+            return createFilteredPageSource(columns, parquetMetadata, typeManager, functionResolution, effectivePredicate, partiallyMatchedRowGroupReader, parquetDataSource.getId());
         }
         catch (Exception e) {
             throw mapToPrestoException(e, path, fileSplit);
@@ -147,4 +173,93 @@ public class ParquetAggregatedPageSourceFactory
             }
         }
     }
+
+    private static ConnectorPageSource createFilteredPageSource(
+            List<HiveColumnHandle> columns,
+            ParquetMetadata parquetMetadata,
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileRangeReader partiallyMatchedRowGroupReader,
+            ParquetDataSourceId dataSourceId)
+    {
+        MessageType fileSchema = parquetMetadata.getFileMetaData().getSchema();
+        // the statistics are looked up by column index, which requires a flat schema
+        boolean flatSchema = fileSchema.getFields().stream().allMatch(org.apache.parquet.schema.Type::isPrimitive);
+        Map<HiveColumnHandle, Domain> predicateDomains = effectivePredicate.getDomains().get();
+
+        ImmutableList.Builder<BlockMetaData> matchedBlocks = ImmutableList.builder();
+        ImmutableList.Builder<Long> blockOffsets = ImmutableList.builder();
+        ImmutableList.Builder<RowGroupMatch> blockMatches = ImmutableList.builder();
+        for (BlockMetaData block : parquetMetadata.getBlocks()) {
+            Optional<Integer> firstIndex = findFirstNonHiddenColumnId(block);
+            if (!firstIndex.isPresent()) {
+                continue;
+            }
+            RowGroupMatch match = PARTIAL;
+            if (flatSchema) {
+                match = RowGroupMatch.match(predicateDomains, column -> getDomain(block, fileSchema, column, typeManager, dataSourceId));
+                if (match == ALL && !hasAggregationStatistics(block, columns, functionResolution)) {
+                    match = PARTIAL;
+                }
+            }
+            if (match == ALL) {
+                matchedBlocks.add(block);
+            }
+            blockOffsets.add(block.getColumns().get(firstIndex.get()).getFirstDataPageOffset());
+            blockMatches.add(match);
+        }
+
+        List<BlockMetaData> blocks = matchedBlocks.build();
+        Optional<Supplier<ConnectorPageSource>> statisticsPageSource = Optional.empty();
+        if (!blocks.isEmpty()) {
+            statisticsPageSource = Optional.of(() -> new AggregatedParquetPageSource(columns, blocks, fileSchema, typeManager, functionResolution));
+        }
+        return AggregatedRowGroupsPageSource.create(
+                columns,
+                statisticsPageSource,
+                blockOffsets.build(),
+                blockMatches.build(),
+                partiallyMatchedRowGroupReader,
+                typeManager,
+                functionResolution);
+    }
+
+    private static Domain getDomain(BlockMetaData block, MessageType fileSchema, HiveColumnHandle column, TypeManager typeManager, ParquetDataSourceId dataSourceId)
+    {
+        Type type = typeManager.getType(column.getTypeSignature());
+        int columnIndex = column.getHiveColumnIndex();
+        if (columnIndex < 0 || columnIndex >= block.getColumns().size()) {
+            return Domain.all(type);
+        }
+        return TupleDomainParquetPredicate.getDomain(
+                fileSchema.getColumns().get(columnIndex),
+                type,
+                block.getRowCount(),
+                block.getColumns().get(columnIndex).getStatistics(),
+                dataSourceId,
+                Optional.empty());
+    }
+
+    private static boolean hasAggregationStatistics(BlockMetaData block, List<HiveColumnHandle> columns, StandardFunctionResolution functionResolution)
+    {
+        for (HiveColumnHandle column : columns) {
+            Aggregation aggregation = column.getPartialAggregation().get();
+            if (aggregation.getArguments().isEmpty()) {
+                continue;
+            }
+            int columnIndex = column.getHiveColumnIndex();
+            if (columnIndex < 0 || columnIndex >= block.getColumns().size()) {
+                return false;
+            }
+            Statistics<?> statistics = block.getColumns().get(columnIndex).getStatistics();
+            if (statistics == null) {
+                return false;
+            }
+            if (functionResolution.isCountFunction(aggregation.getFunctionHandle()) ? !statistics.isNumNullsSet() : !statistics.hasNonNullValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -34,9 +34,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_WRITER_CLOSE_ERROR;
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_WRITER_DATA_ERROR;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static java.util.Objects.requireNonNull;
 
 public class ParquetFileWriter
@@ -59,6 +61,21 @@ public class ParquetFileWriter
             ParquetWriterOptions parquetWriterOptions,
             int[] fileInputColumnIndexes,
             CompressionCodecName compressionCodecName)
+    {
+        this(outputStream, rollbackAction, columnNames, fileColumnTypes, messageType, primitiveTypes, parquetWriterOptions, fileInputColumnIndexes, compressionCodecName, directExecutor());
+    }
+
+    public ParquetFileWriter(
+            OutputStream outputStream,
+            Callable<Void> rollbackAction,
+            List<String> columnNames,
+            List<Type> fileColumnTypes,
+            MessageType messageType,
+            Map<List<String>, Type> primitiveTypes,
+            ParquetWriterOptions parquetWriterOptions,
+            int[] fileInputColumnIndexes,
+            CompressionCodecName compressionCodecName,
+            Executor columnWriterExecutor)
     {
         requireNonNull(outputStream, "outputStream is null");
 
@@ -69,7 +86,8 @@ public class ParquetFileWriter
                 columnNames,
                 fileColumnTypes,
                 parquetWriterOptions,
-                compressionCodecName.getHadoopCompressionCodecClassName());
+                compressionCodecName.getHadoopCompressionCodecClassName(),
+                columnWriterExecutor);
 
         this.rollbackAction = requireNonNull(rollbackAction, "rollbackAction is null");
         this.fileInputColumnIndexes = requireNonNull(fileInputColumnIndexes, "fileInputColumnIndexes is null");
@@ -16,6 +16,7 @@ package com.facebook.presto.hive.parquet;
 import com.facebook.presto.common.type.Type;
 import com.facebook.presto.common.type.TypeManager;
 import com.facebook.presto.hive.EncryptionInformation;
+import com.facebook.presto.hive.ForParquetWriter;
 import com.facebook.presto.hive.HdfsEnvironment;
 import com.facebook.presto.hive.HiveClientConfig;
 import com.facebook.presto.hive.HiveFileWriter;
@@ -41,13 +42,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_WRITER_OPEN_ERROR;
 import static com.facebook.presto.hive.HiveSessionProperties.getParquetWriterBlockSize;
 import static com.facebook.presto.hive.HiveSessionProperties.getParquetWriterPageSize;
 import static com.facebook.presto.hive.HiveSessionProperties.getParquetWriterVersion;
 import static com.facebook.presto.hive.HiveSessionProperties.isParquetOptimizedWriterEnabled;
+import static com.facebook.presto.hive.HiveSessionProperties.isParquetWriterParallelEncodingEnabled;
 import static com.facebook.presto.hive.HiveType.toHiveTypes;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static org.apache.hadoop.hive.metastore.api.hive_metastoreConstants.META_TABLE_COLUMNS;
@@ -58,19 +63,22 @@ public class ParquetFileWriterFactory
 {
     private final HdfsEnvironment hdfsEnvironment;
     private final TypeManager typeManager;
+    private final Executor columnWriterExecutor;
 
     @Inject
     public ParquetFileWriterFactory(
             HdfsEnvironment hdfsEnvironment,
             TypeManager typeManager,
             NodeVersion nodeVersion,
-            HiveClientConfig hiveConfig)
+            HiveClientConfig hiveConfig,
+            @ForParquetWriter ExecutorService columnWriterExecutor)
     {
         this(
                 hdfsEnvironment,
                 typeManager,
                 nodeVersion,
-                requireNonNull(hiveConfig, "hiveConfig is null").getDateTimeZone());
+                requireNonNull(hiveConfig, "hiveConfig is null").getDateTimeZone(),
+                columnWriterExecutor);
     }
 
     public ParquetFileWriterFactory(
@@ -78,9 +86,20 @@ public class ParquetFileWriterFactory
             TypeManager typeManager,
             NodeVersion nodeVersion,
             DateTimeZone hiveStorageTimeZone)
+    {
+        this(hdfsEnvironment, typeManager, nodeVersion, hiveStorageTimeZone, directExecutor());
+    }
+
+    public ParquetFileWriterFactory(
+            HdfsEnvironment hdfsEnvironment,
+            TypeManager typeManager,
+            NodeVersion nodeVersion,
+            DateTimeZone hiveStorageTimeZone,
+            Executor columnWriterExecutor)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
+        this.columnWriterExecutor = requireNonNull(columnWriterExecutor, "columnWriterExecutor is null");
     }
 
     @Override
@@ -139,7 +158,8 @@ public class ParquetFileWriterFactory
                     schemaConverter.getPrimitiveTypes(),
                     parquetWriterOptions,
                     fileInputColumnIndexes,
-                    compressionCodecName));
+                    compressionCodecName,
+                    isParquetWriterParallelEncodingEnabled(session) ? columnWriterExecutor : directExecutor()));
         }
         catch (IOException e) {
             throw new PrestoException(HIVE_WRITER_OPEN_ERROR, "Error creating Parquet file", e);
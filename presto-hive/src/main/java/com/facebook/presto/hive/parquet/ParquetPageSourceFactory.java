@@ -35,6 +35,7 @@ import com.facebook.presto.parquet.ParquetDataSource;
 import com.facebook.presto.parquet.RichColumnDescriptor;
 import com.facebook.presto.parquet.cache.ParquetMetadataSource;
 import com.facebook.presto.parquet.predicate.Predicate;
+import com.facebook.presto.parquet.reader.ColumnChunkPrefetcher;
 import com.facebook.presto.parquet.reader.ColumnIndexFilterUtils;
 import com.facebook.presto.parquet.reader.ParquetReader;
 import com.facebook.presto.spi.ConnectorPageSource;
@@ -103,6 +104,8 @@ import static com.facebook.presto.hive.HiveCommonSessionProperties.isParquetBatc
 import static com.facebook.presto.hive.HiveCommonSessionProperties.isUseParquetColumnNames;
 import static com.facebook.presto.hive.HiveErrorCode.HIVE_PARTITION_SCHEMA_MISMATCH;
 import static com.facebook.presto.hive.HiveSessionProperties.columnIndexFilterEnabled;
+import static com.facebook.presto.hive.HiveSessionProperties.isParquetBloomFilterEnabled;
+import static com.facebook.presto.hive.HiveSessionProperties.isParquetPrefetchEnabled;
 import static com.facebook.presto.hive.parquet.HdfsParquetDataSource.buildHdfsParquetDataSource;
 import static com.facebook.presto.hive.parquet.ParquetPageSourceFactoryUtils.mapToPrestoException;
 import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
@@ -151,19 +154,41 @@ public class ParquetPageSourceFactory
     private final HdfsEnvironment hdfsEnvironment;
     private final FileFormatDataSourceStats stats;
     private final ParquetMetadataSource parquetMetadataSource;
+    private final Optional<ColumnChunkPrefetcherFactory> prefetcherFactory;
 
-    @Inject
     public ParquetPageSourceFactory(TypeManager typeManager,
             StandardFunctionResolution functionResolution,
             HdfsEnvironment hdfsEnvironment,
             FileFormatDataSourceStats stats,
             ParquetMetadataSource parquetMetadataSource)
+    {
+        this(typeManager, functionResolution, hdfsEnvironment, stats, parquetMetadataSource, Optional.empty());
+    }
+
+    @Inject
+    public ParquetPageSourceFactory(TypeManager typeManager,
+            StandardFunctionResolution functionResolution,
+            HdfsEnvironment hdfsEnvironment,
+            FileFormatDataSourceStats stats,
+            ParquetMetadataSource parquetMetadataSource,
+            ColumnChunkPrefetcherFactory prefetcherFactory)
+    {
+        this(typeManager, functionResolution, hdfsEnvironment, stats, parquetMetadataSource, Optional.of(prefetcherFactory));
+    }
+
+    private ParquetPageSourceFactory(TypeManager typeManager,
+            StandardFunctionResolution functionResolution,
+            HdfsEnvironment hdfsEnvironment,
+            FileFormatDataSourceStats stats,
+            ParquetMetadataSource parquetMetadataSource,
+            Optional<ColumnChunkPrefetcherFactory> prefetcherFactory)
     {
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.functionResolution = requireNonNull(functionResolution, "functionResolution is null");
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.stats = requireNonNull(stats, "stats is null");
         this.parquetMetadataSource = requireNonNull(parquetMetadataSource, "parquetMetadataSource is null");
+        this.prefetcherFactory = requireNonNull(prefetcherFactory, "prefetcherFactory is null");
     }
 
     public static ConnectorPageSource createParquetPageSource(
@@ -179,12 +204,46 @@ public class ParquetPageSourceFactory
             FileFormatDataSourceStats stats,
             HiveFileContext hiveFileContext,
             ParquetMetadataSource parquetMetadataSource)
+    {
+        return createParquetPageSource(
+                hdfsEnvironment,
+                session,
+                configuration,
+                fileSplit,
+                columns,
+                tableName,
+                typeManager,
+                functionResolution,
+                effectivePredicate,
+                stats,
+                hiveFileContext,
+                parquetMetadataSource,
+                Optional.empty(),
+                (parquetReader, types, fields, rowIndexColumns, columnNames) -> new ParquetPageSource(parquetReader, types, fields, rowIndexColumns, columnNames, hiveFileContext.getStats()));
+    }
+
+    static ConnectorPageSource createParquetPageSource(
+            HdfsEnvironment hdfsEnvironment,
+            ConnectorSession session,
+            Configuration configuration,
+            HiveFileSplit fileSplit,
+            List<HiveColumnHandle> columns,
+            SchemaTableName tableName,
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            FileFormatDataSourceStats stats,
+            HiveFileContext hiveFileContext,
+            ParquetMetadataSource parquetMetadataSource,
+            Optional<ColumnChunkPrefetcherFactory> prefetcherFactory,
+            ParquetReaderPageSourceFactory pageSourceFactory)
     {
         AggregatedMemoryContext systemMemoryContext = newSimpleAggregatedMemoryContext();
 
         String user = session.getUser();
         boolean useParquetColumnNames = isUseParquetColumnNames(session);
         boolean columnIndexFilterEnabled = columnIndexFilterEnabled(session);
+        boolean bloomFilterEnabled = isParquetBloomFilterEnabled(session);
         boolean readMaskedValue = getReadNullMaskedParquetEncryptedValue(session);
 
         ParquetDataSource dataSource = null;
@@ -238,7 +297,7 @@ public class ParquetPageSourceFactory
             ImmutableList.Builder<Long> blockStarts = ImmutableList.builder();
             for (BlockMetaData block : footerBlocks.build()) {
                 Optional<ColumnIndexStore> columnIndexStore = ColumnIndexFilterUtils.getColumnIndexStore(parquetPredicate, finalDataSource, block, descriptorsByPath, columnIndexFilterEnabled);
-                if (predicateMatches(parquetPredicate, block, finalDataSource, descriptorsByPath, parquetTupleDomain, columnIndexStore, columnIndexFilterEnabled, Optional.of(session.getWarningCollector()))) {
+                if (predicateMatches(parquetPredicate, block, finalDataSource, descriptorsByPath, parquetTupleDomain, columnIndexStore, columnIndexFilterEnabled, bloomFilterEnabled, Optional.of(session.getWarningCollector()))) {
                     blocks.add(block);
                     blockStarts.add(nextStart);
                     blockIndexStores.add(columnIndexStore.orElse(null));
@@ -254,6 +313,10 @@ public class ParquetPageSourceFactory
                 nextStart += block.getRowCount();
             }
             MessageColumnIO messageColumnIO = getColumnIO(fileSchema, requestedSchema);
+            Optional<ColumnChunkPrefetcher> prefetcher = Optional.empty();
+            if (isParquetPrefetchEnabled(session)) {
+                prefetcher = prefetcherFactory.map(factory -> factory.create(parquetDataSource, systemMemoryContext));
+            }
             ParquetReader parquetReader = new ParquetReader(
                     messageColumnIO,
                     blocks.build(),
@@ -266,7 +329,8 @@ public class ParquetPageSourceFactory
                     parquetPredicate,
                     blockIndexStores,
                     columnIndexFilterEnabled,
-                    fileDecryptor);
+                    fileDecryptor,
+                    prefetcher);
 
             ImmutableList.Builder<String> namesBuilder = ImmutableList.builder();
             ImmutableList.Builder<Type> typesBuilder = ImmutableList.builder();
@@ -307,7 +371,7 @@ public class ParquetPageSourceFactory
                     fieldsBuilder.add(Optional.empty());
                 }
             }
-            return new ParquetPageSource(parquetReader, typesBuilder.build(), fieldsBuilder.build(), rowIndexColumns.build(), namesBuilder.build(), hiveFileContext.getStats());
+            return pageSourceFactory.create(parquetReader, typesBuilder.build(), fieldsBuilder.build(), rowIndexColumns.build(), namesBuilder.build());
         }
         catch (Exception e) {
             try {
@@ -489,7 +553,7 @@ public class ParquetPageSourceFactory
         return (fileDecryptionProperties == null) ? Optional.empty() : Optional.of(new InternalFileDecryptor(fileDecryptionProperties));
     }
 
-    private static Optional<Integer> findFirstNonHiddenColumnId(BlockMetaData block)
+    static Optional<Integer> findFirstNonHiddenColumnId(BlockMetaData block)
     {
         List<ColumnChunkMetaData> columns = block.getColumns();
         for (int i = 0; i < columns.size(); i++) {
@@ -532,6 +596,16 @@ public class ParquetPageSourceFactory
                 effectivePredicate,
                 stats,
                 hiveFileContext,
-                parquetMetadataSource));
+                parquetMetadataSource,
+                prefetcherFactory,
+                (parquetReader, types, fields, rowIndexColumns, columnNames) -> new ParquetPageSource(parquetReader, types, fields, rowIndexColumns, columnNames, hiveFileContext.getStats())));
+    }
+
+    /**
+     * Creates the page source of the requested columns once the reader of the file is open.
+     */
+    interface ParquetReaderPageSourceFactory
+    {
+        ConnectorPageSource create(ParquetReader parquetReader, List<Type> types, List<Optional<Field>> fields, List<Boolean> rowIndexColumns, List<String> columnNames);
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.parquet;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.RuntimeStats;
+import com.facebook.presto.parquet.ParquetCorruptionException;
+import com.facebook.presto.parquet.reader.ParquetSelectiveReader;
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.PrestoException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static com.facebook.presto.hive.HiveErrorCode.HIVE_BAD_DATA;
+import static com.facebook.presto.hive.HiveErrorCode.HIVE_CURSOR_ERROR;
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+public class ParquetSelectivePageSource
+        implements ConnectorPageSource
+{
+    private final ParquetSelectiveReader selectiveReader;
+    private final RuntimeStats runtimeStats;
+    private boolean closed;
+
+    public ParquetSelectivePageSource(ParquetSelectiveReader selectiveReader, RuntimeStats runtimeStats)
+    {
+        this.selectiveReader = requireNonNull(selectiveReader, "selectiveReader is null");
+        this.runtimeStats = requireNonNull(runtimeStats, "runtimeStats is null");
+    }
+
+    @Override
+    public RuntimeStats getRuntimeStats()
+    {
+        return runtimeStats;
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return selectiveReader.getParquetReader().getDataSource().getReadBytes();
+    }
+
+    @Override
+    public long getCompletedPositions()
+    {
+        return selectiveReader.getReadPositions();
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return selectiveReader.getParquetReader().getDataSource().getReadTimeNanos();
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return closed;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return selectiveReader.getParquetReader().getSystemMemoryUsage();
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (closed) {
+            return null;
+        }
+        try {
+            Page page = selectiveReader.getNextPage();
+            if (page == null) {
+                close();
+            }
+            return page;
+        }
+        catch (PrestoException e) {
+            closeWithSuppression(e);
+            throw e;
+        }
+        catch (ParquetCorruptionException e) {
+            closeWithSuppression(e);
+            throw new PrestoException(HIVE_BAD_DATA, e);
+        }
+        catch (IOException | RuntimeException e) {
+            closeWithSuppression(e);
+            throw new PrestoException(HIVE_CURSOR_ERROR, e);
+        }
+    }
+
+    private void closeWithSuppression(Throwable throwable)
+    {
+        requireNonNull(throwable, "throwable is null");
+        try {
+            close();
+        }
+        catch (RuntimeException e) {
+            // Self-suppression not permitted
+            if (e != throwable) {
+                throwable.addSuppressed(e);
+            }
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            selectiveReader.close();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this).toString();
+    }
+}
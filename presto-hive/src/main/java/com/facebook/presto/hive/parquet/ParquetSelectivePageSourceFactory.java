@@ -14,31 +14,68 @@
 package com.facebook.presto.hive.parquet;
 
 import com.facebook.presto.common.Subfield;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.FilterFunction;
 import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.predicate.TupleDomainFilter;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.common.type.TypeManager;
+import com.facebook.presto.expressions.DynamicFilters.DynamicFilterExtractResult;
 import com.facebook.presto.hive.BucketAdaptation;
 import com.facebook.presto.hive.EncryptionInformation;
+import com.facebook.presto.hive.FileFormatDataSourceStats;
+import com.facebook.presto.hive.HdfsEnvironment;
 import com.facebook.presto.hive.HiveCoercer;
 import com.facebook.presto.hive.HiveColumnHandle;
 import com.facebook.presto.hive.HiveFileContext;
 import com.facebook.presto.hive.HiveFileSplit;
 import com.facebook.presto.hive.HiveSelectivePageSourceFactory;
 import com.facebook.presto.hive.metastore.Storage;
+import com.facebook.presto.hive.orc.TupleDomainFilterCache;
+import com.facebook.presto.parquet.Field;
+import com.facebook.presto.parquet.cache.ParquetMetadataSource;
+import com.facebook.presto.parquet.reader.ParquetSelectiveReader;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.SchemaTableName;
+import com.facebook.presto.spi.function.StandardFunctionResolution;
+import com.facebook.presto.spi.relation.InputReferenceExpression;
 import com.facebook.presto.spi.relation.RowExpression;
+import com.facebook.presto.spi.relation.RowExpressionService;
+import com.facebook.presto.spi.relation.VariableReferenceExpression;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import jakarta.inject.Inject;
 import org.apache.hadoop.conf.Configuration;
 import org.joda.time.DateTimeZone;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.IntStream;
 
+import static com.facebook.presto.expressions.DynamicFilters.extractDynamicFilters;
+import static com.facebook.presto.expressions.LogicalRowExpressions.TRUE_CONSTANT;
+import static com.facebook.presto.expressions.LogicalRowExpressions.and;
+import static com.facebook.presto.expressions.RowExpressionNodeInliner.replaceExpression;
+import static com.facebook.presto.hive.HiveUtil.typedPartitionKey;
+import static com.facebook.presto.hive.MetadataUtils.isEntireColumn;
+import static com.facebook.presto.hive.parquet.ParquetPageSourceFactory.createParquetPageSource;
+import static com.facebook.presto.parquet.predicate.TupleDomainFilterEvaluator.isSupportedType;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
 
 public class ParquetSelectivePageSourceFactory
         implements HiveSelectivePageSourceFactory
@@ -48,9 +85,34 @@ public class ParquetSelectivePageSourceFactory
             .add("parquet.hive.serde.ParquetHiveSerDe")
             .build();
 
+    private final TypeManager typeManager;
+    private final StandardFunctionResolution functionResolution;
+    private final RowExpressionService rowExpressionService;
+    private final HdfsEnvironment hdfsEnvironment;
+    private final FileFormatDataSourceStats stats;
+    private final ParquetMetadataSource parquetMetadataSource;
+    private final TupleDomainFilterCache tupleDomainFilterCache;
+    private final ColumnChunkPrefetcherFactory prefetcherFactory;
+
     @Inject
-    public ParquetSelectivePageSourceFactory()
+    public ParquetSelectivePageSourceFactory(
+            TypeManager typeManager,
+            StandardFunctionResolution functionResolution,
+            RowExpressionService rowExpressionService,
+            HdfsEnvironment hdfsEnvironment,
+            FileFormatDataSourceStats stats,
+            ParquetMetadataSource parquetMetadataSource,
+            TupleDomainFilterCache tupleDomainFilterCache,
+            ColumnChunkPrefetcherFactory prefetcherFactory)
     {
+        this.typeManager = requireNonNull(typeManager, "typeManager is null");
+        this.functionResolution = requireNonNull(functionResolution, "functionResolution is null");
+        this.rowExpressionService = requireNonNull(rowExpressionService, "rowExpressionService is null");
+        this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
+        this.stats = requireNonNull(stats, "stats is null");
+        this.parquetMetadataSource = requireNonNull(parquetMetadataSource, "parquetMetadataSource is null");
+        this.tupleDomainFilterCache = requireNonNull(tupleDomainFilterCache, "tupleDomainFilterCache is null");
+        this.prefetcherFactory = requireNonNull(prefetcherFactory, "prefetcherFactory is null");
     }
 
     @Override
@@ -59,6 +121,7 @@ public class ParquetSelectivePageSourceFactory
             ConnectorSession session,
             HiveFileSplit fileSplit,
             Storage storage,
+            SchemaTableName tableName,
             List<HiveColumnHandle> columns,
             Map<Integer, String> prefilledValues,
             Map<Integer, HiveCoercer> coercers,
@@ -76,6 +139,119 @@ public class ParquetSelectivePageSourceFactory
             return Optional.empty();
         }
         checkState(!appendRowNumberEnabled, "append row number is not supported for Parquet Reader");
-        throw new PrestoException(NOT_SUPPORTED, "Parquet reader doesn't support filter pushdown yet");
+        if (!coercers.isEmpty() || bucketAdaptation.isPresent() || columns.stream().anyMatch(HiveColumnHandle::isRowIdColumnHandle)) {
+            throw new PrestoException(NOT_SUPPORTED, "Parquet reader doesn't support filter pushdown with partition schema evolution, bucket conversion or row IDs yet");
+        }
+        checkArgument(!domainPredicate.isNone(), "Unexpected NONE domain");
+
+        // the channels of the columns are their positions in the list of columns
+        Map<String, Integer> channels = IntStream.range(0, columns.size())
+                .boxed()
+                .collect(toImmutableMap(channel -> columns.get(channel).getName(), identity()));
+        List<Type> types = columns.stream()
+                .map(column -> typeManager.getType(column.getTypeSignature()))
+                .collect(toImmutableList());
+
+        Map<Integer, TupleDomainFilter> filters = new HashMap<>();
+        ImmutableMap.Builder<HiveColumnHandle, Domain> fileDomains = ImmutableMap.builder();
+        for (Map.Entry<Subfield, Domain> entry : domainPredicate.getDomains().get().entrySet()) {
+            Subfield subfield = entry.getKey();
+            Integer channel = channels.get(subfield.getRootName());
+            verify(channel != null, "Missing predicate column: %s", subfield.getRootName());
+            Type type = types.get(channel);
+            if (!isEntireColumn(subfield) || !isSupportedType(type)) {
+                throw new PrestoException(NOT_SUPPORTED, format("Parquet reader doesn't support filter pushdown on %s of type %s yet", subfield, type));
+            }
+            filters.put(channel, tupleDomainFilterCache.getFilter(entry.getValue()));
+
+            HiveColumnHandle column = columns.get(channel);
+            if (!prefilledValues.containsKey(column.getHiveColumnIndex())) {
+                fileDomains.put(column, entry.getValue());
+            }
+        }
+
+        List<FilterFunction> filterFunctions = toFilterFunctions(columns, types, remainingPredicate, session);
+        List<Integer> outputChannels = outputColumns.stream()
+                .map(hiveColumnIndex -> IntStream.range(0, columns.size())
+                        .filter(channel -> columns.get(channel).getHiveColumnIndex() == hiveColumnIndex)
+                        .findFirst()
+                        .getAsInt())
+                .collect(toImmutableList());
+
+        // values of the partition keys and other columns that are not stored in the file
+        Map<Integer, Object> constantValues = new HashMap<>();
+        List<Integer> dataChannels = new ArrayList<>();
+        for (int channel = 0; channel < columns.size(); channel++) {
+            HiveColumnHandle column = columns.get(channel);
+            String prefilledValue = prefilledValues.get(column.getHiveColumnIndex());
+            if (prefilledValue != null) {
+                constantValues.put(channel, typedPartitionKey(prefilledValue, types.get(channel), column.getName(), hiveStorageTimeZone));
+            }
+            else {
+                dataChannels.add(channel);
+            }
+        }
+        List<HiveColumnHandle> dataColumns = dataChannels.stream()
+                .map(columns::get)
+                .collect(toImmutableList());
+
+        return Optional.of(createParquetPageSource(
+                hdfsEnvironment,
+                session,
+                configuration,
+                fileSplit,
+                dataColumns,
+                tableName,
+                typeManager,
+                functionResolution,
+                TupleDomain.withColumnDomains(fileDomains.build()),
+                stats,
+                hiveFileContext,
+                parquetMetadataSource,
+                Optional.of(prefetcherFactory),
+                (parquetReader, dataTypes, dataFields, rowIndexColumns, columnNames) -> {
+                    List<Optional<Field>> fields = new ArrayList<>(columns.size());
+                    for (int channel = 0; channel < columns.size(); channel++) {
+                        fields.add(Optional.empty());
+                    }
+                    for (int i = 0; i < dataChannels.size(); i++) {
+                        fields.set(dataChannels.get(i), dataFields.get(i));
+                    }
+                    ParquetSelectiveReader selectiveReader = new ParquetSelectiveReader(
+                            parquetReader,
+                            types,
+                            fields,
+                            constantValues,
+                            filters,
+                            filterFunctions,
+                            outputChannels);
+                    return new ParquetSelectivePageSource(selectiveReader, hiveFileContext.getStats());
+                }));
+    }
+
+    private List<FilterFunction> toFilterFunctions(List<HiveColumnHandle> columns, List<Type> types, RowExpression remainingPredicate, ConnectorSession session)
+    {
+        if (TRUE_CONSTANT.equals(remainingPredicate)) {
+            return ImmutableList.of();
+        }
+
+        Map<VariableReferenceExpression, InputReferenceExpression> variableToInput = IntStream.range(0, columns.size())
+                .boxed()
+                .collect(toImmutableMap(
+                        channel -> new VariableReferenceExpression(Optional.empty(), columns.get(channel).getName(), types.get(channel)),
+                        channel -> new InputReferenceExpression(Optional.empty(), channel, types.get(channel))));
+        RowExpression filter = replaceExpression(remainingPredicate, variableToInput);
+
+        // dynamic filters are added through subfield pushdown
+        DynamicFilterExtractResult extractDynamicFilterResult = extractDynamicFilters(filter);
+        filter = and(extractDynamicFilterResult.getStaticConjuncts());
+        if (TRUE_CONSTANT.equals(filter)) {
+            return ImmutableList.of();
+        }
+
+        return ImmutableList.of(new FilterFunction(
+                session.getSqlFunctionProperties(),
+                rowExpressionService.getDeterminismEvaluator().isDeterministic(filter),
+                rowExpressionService.getPredicateCompiler().compilePredicate(session.getSqlFunctionProperties(), session.getSessionFunctions(), filter).get()));
     }
 }
@@ -55,9 +55,12 @@ import static com.facebook.presto.common.type.TimestampType.TIMESTAMP;
 import static com.facebook.presto.common.type.TinyintType.TINYINT;
 import static com.facebook.presto.common.type.VarbinaryType.VARBINARY;
 import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.expressions.LogicalRowExpressions.TRUE_CONSTANT;
+import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.PARTITION_KEY;
 import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.REGULAR;
 import static com.facebook.presto.hive.HiveSessionProperties.isPartialAggregationPushdownEnabled;
 import static com.facebook.presto.hive.HiveSessionProperties.isPartialAggregationPushdownForVariableLengthDatatypesEnabled;
+import static com.facebook.presto.hive.HiveSessionProperties.isPartialAggregationPushdownWithFilterEnabled;
 import static com.facebook.presto.hive.HiveStorageFormat.DWRF;
 import static com.facebook.presto.hive.HiveStorageFormat.ORC;
 import static com.facebook.presto.hive.HiveStorageFormat.PARQUET;
@@ -68,6 +71,7 @@ import static com.facebook.presto.spi.ConnectorPlanRewriter.rewriteWith;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_FOUND;
 import static com.facebook.presto.spi.plan.AggregationNode.Step.PARTIAL;
 import static java.util.Objects.requireNonNull;
+import static org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector.Category.PRIMITIVE;
 
 public class HivePartialAggregationPushdown
         implements ConnectorPlanOptimizer
@@ -141,7 +145,7 @@ public class HivePartialAggregationPushdown
 
             if (tableScanNode.getTable().getLayout().isPresent()) {
                 HiveTableLayoutHandle hiveTableLayoutHandle = (HiveTableLayoutHandle) tableScanNode.getTable().getLayout().get();
-                if (!hiveTableLayoutHandle.getPredicateColumns().isEmpty()) {
+                if (!hiveTableLayoutHandle.getPredicateColumns().isEmpty() && !isFilterPushdownSupported(hiveTableLayoutHandle)) {
                     return false;
                 }
             }
@@ -198,6 +202,28 @@ public class HivePartialAggregationPushdown
             return true;
         }
 
+        /**
+         * With a filter, the row groups (stripes for ORC) of the files are answered from their statistics when these show that
+         * all their rows match the filter, which requires a filter made only of domains of primitive columns.
+         */
+        private boolean isFilterPushdownSupported(HiveTableLayoutHandle hiveTableLayoutHandle)
+        {
+            if (!isPartialAggregationPushdownWithFilterEnabled(session)
+                    || !hiveTableLayoutHandle.isPushdownFilterEnabled()
+                    || !TRUE_CONSTANT.equals(hiveTableLayoutHandle.getRemainingPredicate())) {
+                return false;
+            }
+            boolean hasSubfieldDomains = hiveTableLayoutHandle.getDomainPredicate().getDomains()
+                    .map(domains -> domains.keySet().stream().anyMatch(subfield -> !subfield.getPath().isEmpty()))
+                    .orElse(false);
+            if (hasSubfieldDomains) {
+                return false;
+            }
+            return hiveTableLayoutHandle.getPredicateColumns().values().stream()
+                    .allMatch(column -> column.getColumnType() == PARTITION_KEY
+                            || (column.getColumnType() == REGULAR && column.getHiveType().getCategory() == PRIMITIVE));
+        }
+
         private boolean isNotSupportedOrcTypeForMinMax(Type type)
         {
             return BOOLEAN.equals(type) ||
@@ -1080,7 +1080,9 @@ public abstract class AbstractTestHiveClient
                 false,
                 new ConfigBasedCacheQuotaRequirementProvider(cacheConfig),
                 encryptionInformationProvider,
-                new HivePartitionSkippabilityChecker());
+                new HivePartitionSkippabilityChecker(),
+                directExecutor(),
+                NOOP_METASTORE_CACHE_STATS);
         pageSinkProvider = new HivePageSinkProvider(
                 getDefaultHiveFileWriterFactories(hiveClientConfig, metastoreClientConfig),
                 hdfsEnvironment,
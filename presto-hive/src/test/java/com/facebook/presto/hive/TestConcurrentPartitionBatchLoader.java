@@ -0,0 +1,196 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.hive.metastore.HiveMetastoreCacheStats;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.SchemaTableName;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.presto.hive.HiveErrorCode.HIVE_PARTITION_DROPPED_DURING_QUERY;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterables.concat;
+import static com.google.common.collect.Iterables.partition;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestConcurrentPartitionBatchLoader
+{
+    private static final SchemaTableName TABLE_NAME = new SchemaTableName("test_schema", "test_table");
+
+    private final ExecutorService executor = newCachedThreadPool(daemonThreadsNamed("test-partition-batch-loader-%s"));
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLoadInOrder()
+    {
+        List<HivePartition> partitions = createPartitions(95);
+        for (int concurrency : new int[] {1, 2, 16}) {
+            HiveMetastoreCacheStats stats = new HiveMetastoreCacheStats();
+            Iterable<List<HivePartitionMetadata>> batches = new ConcurrentPartitionBatchLoader(partition(partitions, 10), TestConcurrentPartitionBatchLoader::toMetadata, executor, concurrency, stats);
+
+            List<HivePartition> loadedPartitions = ImmutableList.copyOf(concat(batches)).stream()
+                    .map(HivePartitionMetadata::getHivePartition)
+                    .collect(toImmutableList());
+            assertEquals(loadedPartitions, partitions);
+            assertEquals(stats.getFetchedPartitions().getTotalCount(), 95);
+            assertEquals(stats.getPartitionBatchFetchTime().getAllTime().getCount(), 10.0);
+            assertEquals(stats.getPartitionBatchWaitTime().getAllTime().getCount(), 10.0);
+        }
+    }
+
+    @Test(timeOut = 30_000)
+    public void testFetchAhead()
+    {
+        // the first batch is only returned once the next ones are being fetched
+        CountDownLatch nextBatchesFetched = new CountDownLatch(3);
+        Function<List<HivePartition>, List<HivePartitionMetadata>> batchLoader = batch -> {
+            if (batch.get(0).getPartitionId().getPartitionName().equals("ds=0")) {
+                try {
+                    assertTrue(nextBatchesFetched.await(10, SECONDS));
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+            else {
+                nextBatchesFetched.countDown();
+            }
+            return toMetadata(batch);
+        };
+
+        Iterator<List<HivePartitionMetadata>> batches = new ConcurrentPartitionBatchLoader(partition(createPartitions(40), 10), batchLoader, executor, 4, new HiveMetastoreCacheStats()).iterator();
+        assertEquals(batches.next().get(0).getHivePartition().getPartitionId().getPartitionName(), "ds=0");
+        assertEquals(ImmutableList.copyOf(batches).size(), 3);
+    }
+
+    @Test
+    public void testFailure()
+    {
+        Function<List<HivePartition>, List<HivePartitionMetadata>> batchLoader = batch -> {
+            if (batch.get(0).getPartitionId().getPartitionName().equals("ds=20")) {
+                throw new PrestoException(HIVE_PARTITION_DROPPED_DURING_QUERY, "Partition no longer exists: ds=20");
+            }
+            return toMetadata(batch);
+        };
+
+        Iterator<List<HivePartitionMetadata>> batches = new ConcurrentPartitionBatchLoader(partition(createPartitions(40), 10), batchLoader, executor, 4, new HiveMetastoreCacheStats()).iterator();
+        assertEquals(batches.next().size(), 10);
+        assertEquals(batches.next().size(), 10);
+        assertThatThrownBy(batches::next)
+                .isInstanceOf(PrestoException.class)
+                .hasMessage("Partition no longer exists: ds=20");
+    }
+
+    @Test(timeOut = 30_000)
+    public void testCancelOnClose()
+            throws Exception
+    {
+        ExecutorService singleThreadExecutor = newSingleThreadExecutor(daemonThreadsNamed("test-partition-batch-loader-cancel-%s"));
+        try {
+            CountDownLatch secondBatchStarted = new CountDownLatch(1);
+            CountDownLatch secondBatchInterrupted = new CountDownLatch(1);
+            AtomicInteger loadedBatches = new AtomicInteger();
+            Function<List<HivePartition>, List<HivePartitionMetadata>> batchLoader = batch -> {
+                loadedBatches.incrementAndGet();
+                if (batch.get(0).getPartitionId().getPartitionName().equals("ds=10")) {
+                    secondBatchStarted.countDown();
+                    try {
+                        // the metastore does not answer until the fetch is cancelled
+                        new CountDownLatch(1).await();
+                    }
+                    catch (InterruptedException e) {
+                        secondBatchInterrupted.countDown();
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(e);
+                    }
+                }
+                return toMetadata(batch);
+            };
+
+            ConcurrentPartitionBatchLoader loader = new ConcurrentPartitionBatchLoader(partition(createPartitions(40), 10), batchLoader, singleThreadExecutor, 4, new HiveMetastoreCacheStats());
+            Iterator<List<HivePartitionMetadata>> batches = loader.iterator();
+            assertEquals(batches.next().size(), 10);
+            assertTrue(secondBatchStarted.await(10, SECONDS));
+
+            // e.g. the split source is closed by a query with a limit
+            loader.close();
+            assertTrue(secondBatchInterrupted.await(10, SECONDS));
+
+            // the thread of the executor is free, and the batches queued behind the cancelled one are not fetched
+            assertEquals(singleThreadExecutor.submit(loadedBatches::get).get(10, SECONDS).intValue(), 2);
+            assertThatThrownBy(batches::next)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("partition batch loader is closed");
+        }
+        finally {
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDirectExecutor()
+    {
+        List<HivePartition> partitions = createPartitions(25);
+        Iterable<List<HivePartitionMetadata>> batches = new ConcurrentPartitionBatchLoader(partition(partitions, 10), TestConcurrentPartitionBatchLoader::toMetadata, directExecutor(), 4, new HiveMetastoreCacheStats());
+        assertEquals(ImmutableList.copyOf(concat(batches)).size(), 25);
+        // the batches can be iterated again
+        assertEquals(ImmutableList.copyOf(concat(batches)).size(), 25);
+    }
+
+    private static List<HivePartition> createPartitions(int count)
+    {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new HivePartition(TABLE_NAME, new PartitionNameWithVersion("ds=" + i, Optional.empty()), ImmutableMap.of()))
+                .collect(toImmutableList());
+    }
+
+    private static List<HivePartitionMetadata> toMetadata(List<HivePartition> batch)
+    {
+        return batch.stream()
+                .map(partition -> new HivePartitionMetadata(
+                        partition,
+                        Optional.empty(),
+                        TableToPartitionMapping.empty(),
+                        Optional.empty(),
+                        ImmutableSet.of(),
+                        Optional.empty()))
+                .collect(toImmutableList());
+    }
+}
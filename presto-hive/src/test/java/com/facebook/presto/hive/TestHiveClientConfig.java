@@ -56,8 +56,9 @@ public class TestHiveClientConfig
                 .setAllowCorruptWritesForTesting(false)
                 .setMinPartitionBatchSize(10)
                 .setMaxPartitionBatchSize(100)
+                .setPartitionBatchFetchConcurrency(1)
                 .setMaxInitialSplits(200)
-                .setMaxInitialSplitSize(new DataSize(32, Unit.MEGABYTE))
+                .setMaxInitialSplitSize(new DataSize(32, MEGABYTE))
                 .setSplitLoaderConcurrency(4)
                 .setDomainCompactionThreshold(100)
                 .setMaxConcurrentFileRenames(20)
@@ -123,13 +124,17 @@ public class TestHiveClientConfig
                 .setFileStatusCacheExpireAfterWrite(new Duration(0, TimeUnit.SECONDS))
                 .setFileStatusCacheMaxRetainedSize(new DataSize(0, KILOBYTE))
                 .setFileStatusCacheTables("")
+                .setCacheInvalidationFeedFile(null)
+                .setCacheInvalidationPollInterval(new Duration(10, TimeUnit.SECONDS))
                 .setPageFileStripeMaxSize(new DataSize(24, Unit.MEGABYTE))
+                .setPageFileColumnarWriterEnabled(false)
                 .setBucketFunctionTypeForExchange(HIVE_COMPATIBLE)
                 .setBucketFunctionTypeForCteMaterialization(PRESTO_NATIVE)
                 .setParquetDereferencePushdownEnabled(false)
                 .setIgnoreUnreadablePartition(false)
                 .setPartialAggregationPushdownEnabled(false)
                 .setPartialAggregationPushdownForVariableLengthDatatypesEnabled(false)
+                .setPartialAggregationPushdownWithFilterEnabled(false)
                 .setFileRenamingEnabled(false)
                 .setPreferManifestsToListFiles(false)
                 .setManifestVerificationEnabled(false)
@@ -140,6 +145,11 @@ public class TestHiveClientConfig
                 .setMaterializedViewMissingPartitionsThreshold(100)
                 .setLooseMemoryAccountingEnabled(false)
                 .setReadColumnIndexFilter(false)
+                .setParquetBloomFilterEnabled(true)
+                .setParquetPrefetchEnabled(false)
+                .setParquetPrefetchMaxMergeDistance(new DataSize(1, MEGABYTE))
+                .setParquetPrefetchMaxReadSize(new DataSize(16, MEGABYTE))
+                .setParquetPrefetchMaxConcurrentReads(64)
                 .setSizeBasedSplitWeightsEnabled(true)
                 .setDynamicSplitSizesEnabled(false)
                 .setMinimumAssignedSplitWeight(0.05)
@@ -183,6 +193,7 @@ public class TestHiveClientConfig
                 .put("hive.allow-corrupt-writes-for-testing", "true")
                 .put("hive.metastore.partition-batch-size.min", "1")
                 .put("hive.metastore.partition-batch-size.max", "1000")
+                .put("hive.metastore.partition-batch-fetch-concurrency", "4")
                 .put("hive.dfs.ipc-ping-interval", "34s")
                 .put("hive.dfs-timeout", "33s")
                 .put("hive.dfs.connect.timeout", "20s")
@@ -250,13 +261,17 @@ public class TestHiveClientConfig
                 .put("hive.file-status-cache-tables", "foo.bar1, foo.bar2")
                 .put("hive.file-status-cache.max-retained-size", "500MB")
                 .put("hive.file-status-cache-expire-time", "30m")
+                .put("hive.cache-invalidation.feed-file", "/tmp/cache-invalidation-events")
+                .put("hive.cache-invalidation.poll-interval", "1s")
                 .put("hive.pagefile.writer.stripe-max-size", "1kB")
+                .put("hive.pagefile.writer.columnar-enabled", "true")
                 .put("hive.bucket-function-type-for-exchange", "PRESTO_NATIVE")
                 .put("hive.bucket-function-type-for-cte-materialization", "HIVE_COMPATIBLE")
                 .put("hive.enable-parquet-dereference-pushdown", "true")
                 .put("hive.ignore-unreadable-partition", "true")
                 .put("hive.partial_aggregation_pushdown_enabled", "true")
                 .put("hive.partial_aggregation_pushdown_for_variable_length_datatypes_enabled", "true")
+                .put("hive.partial_aggregation_pushdown_with_filter_enabled", "true")
                 .put("hive.file_renaming_enabled", "true")
                 .put("hive.prefer-manifests-to-list-files", "true")
                 .put("hive.manifest-verification-enabled", "true")
@@ -267,6 +282,11 @@ public class TestHiveClientConfig
                 .put("hive.verbose-runtime-stats-enabled", "true")
                 .put("hive.materialized-view-missing-partitions-threshold", "50")
                 .put("hive.parquet-column-index-filter-enabled", "true")
+                .put("hive.parquet-bloom-filter-enabled", "false")
+                .put("hive.parquet-prefetch-enabled", "true")
+                .put("hive.parquet-prefetch-max-merge-distance", "2MB")
+                .put("hive.parquet-prefetch-max-read-size", "32MB")
+                .put("hive.parquet-prefetch-max-concurrent-reads", "16")
                 .put("hive.size-based-split-weights-enabled", "false")
                 .put("hive.dynamic-split-sizes-enabled", "true")
                 .put("hive.user-defined-type-encoding-enabled", "true")
@@ -302,13 +322,14 @@ public class TestHiveClientConfig
                 .setMaxSplitSize(new DataSize(256, Unit.MEGABYTE))
                 .setMaxPartitionsPerScan(123)
                 .setMaxOutstandingSplits(10)
-                .setMaxOutstandingSplitsSize(new DataSize(32, Unit.MEGABYTE))
+                .setMaxOutstandingSplitsSize(new DataSize(32, MEGABYTE))
                 .setMaxSplitIteratorThreads(10)
                 .setAllowCorruptWritesForTesting(true)
                 .setMinPartitionBatchSize(1)
                 .setMaxPartitionBatchSize(1000)
+                .setPartitionBatchFetchConcurrency(4)
                 .setMaxInitialSplits(10)
-                .setMaxInitialSplitSize(new DataSize(16, Unit.MEGABYTE))
+                .setMaxInitialSplitSize(new DataSize(16, MEGABYTE))
                 .setSplitLoaderConcurrency(1)
                 .setDomainCompactionThreshold(42)
                 .setMaxConcurrentFileRenames(100)
@@ -373,13 +394,17 @@ public class TestHiveClientConfig
                 .setFileStatusCacheTables("foo.bar1,foo.bar2")
                 .setFileStatusCacheMaxRetainedSize((new DataSize(500, MEGABYTE)))
                 .setFileStatusCacheExpireAfterWrite(new Duration(30, TimeUnit.MINUTES))
+                .setCacheInvalidationFeedFile("/tmp/cache-invalidation-events")
+                .setCacheInvalidationPollInterval(new Duration(1, TimeUnit.SECONDS))
                 .setPageFileStripeMaxSize(new DataSize(1, Unit.KILOBYTE))
+                .setPageFileColumnarWriterEnabled(true)
                 .setBucketFunctionTypeForExchange(PRESTO_NATIVE)
                 .setBucketFunctionTypeForCteMaterialization(HIVE_COMPATIBLE)
                 .setParquetDereferencePushdownEnabled(true)
                 .setIgnoreUnreadablePartition(true)
                 .setPartialAggregationPushdownEnabled(true)
                 .setPartialAggregationPushdownForVariableLengthDatatypesEnabled(true)
+                .setPartialAggregationPushdownWithFilterEnabled(true)
                 .setFileRenamingEnabled(true)
                 .setPreferManifestsToListFiles(true)
                 .setManifestVerificationEnabled(true)
@@ -390,6 +415,11 @@ public class TestHiveClientConfig
                 .setMaterializedViewMissingPartitionsThreshold(50)
                 .setLooseMemoryAccountingEnabled(true)
                 .setReadColumnIndexFilter(true)
+                .setParquetBloomFilterEnabled(false)
+                .setParquetPrefetchEnabled(true)
+                .setParquetPrefetchMaxMergeDistance(new DataSize(2, MEGABYTE))
+                .setParquetPrefetchMaxReadSize(new DataSize(32, MEGABYTE))
+                .setParquetPrefetchMaxConcurrentReads(16)
                 .setSizeBasedSplitWeightsEnabled(false)
                 .setDynamicSplitSizesEnabled(true)
                 .setMinimumAssignedSplitWeight(1.0)
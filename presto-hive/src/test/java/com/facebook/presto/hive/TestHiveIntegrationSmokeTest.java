@@ -115,6 +115,7 @@ import static com.facebook.presto.hive.HiveSessionProperties.MANIFEST_VERIFICATI
 import static com.facebook.presto.hive.HiveSessionProperties.OPTIMIZED_PARTITION_UPDATE_SERIALIZATION_ENABLED;
 import static com.facebook.presto.hive.HiveSessionProperties.PARTIAL_AGGREGATION_PUSHDOWN_ENABLED;
 import static com.facebook.presto.hive.HiveSessionProperties.PARTIAL_AGGREGATION_PUSHDOWN_FOR_VARIABLE_LENGTH_DATATYPES_ENABLED;
+import static com.facebook.presto.hive.HiveSessionProperties.PARTIAL_AGGREGATION_PUSHDOWN_WITH_FILTER_ENABLED;
 import static com.facebook.presto.hive.HiveSessionProperties.PREFER_MANIFESTS_TO_LIST_FILES;
 import static com.facebook.presto.hive.HiveSessionProperties.PUSHDOWN_FILTER_ENABLED;
 import static com.facebook.presto.hive.HiveSessionProperties.RCFILE_OPTIMIZED_WRITER_ENABLED;
@@ -5327,6 +5328,39 @@ public class TestHiveIntegrationSmokeTest
         assertUpdate("DROP TABLE test_pagefile_small_split");
     }
 
+    @Test
+    public void testColumnarPageFileFormat()
+    {
+        Session testSession = Session.builder(getQueryRunner().getDefaultSession())
+                .setCatalogSessionProperty(catalog, "pagefile_writer_columnar_enabled", "true")
+                .setCatalogSessionProperty(catalog, "pagefile_writer_max_stripe_size", "10kB")
+                .setCatalogSessionProperty(catalog, "max_split_size", "20kB")
+                .setCatalogSessionProperty(catalog, "max_initial_split_size", "20kB")
+                .build();
+
+        assertUpdate(
+                testSession,
+                "CREATE TABLE test_columnar_pagefile\n" +
+                        "WITH (\n" +
+                        "format = 'PAGEFILE'\n" +
+                        ") AS\n" +
+                        "SELECT\n" +
+                        "*\n" +
+                        "FROM tpch.orders",
+                "SELECT count(*) FROM orders");
+
+        assertQuery(testSession, "SELECT count(*) FROM test_columnar_pagefile", "SELECT count(*) FROM orders");
+        assertQuery(testSession, "SELECT sum(custkey), max(comment) FROM test_columnar_pagefile", "SELECT sum(custkey), max(comment) FROM orders");
+        assertQuery(testSession, "SELECT * FROM test_columnar_pagefile", "SELECT * FROM orders");
+
+        // stripes not matching the filter are skipped based on their column statistics
+        assertQuery(testSession, "SELECT orderkey, totalprice FROM test_columnar_pagefile WHERE orderkey BETWEEN 100 AND 200", "SELECT orderkey, totalprice FROM orders WHERE orderkey BETWEEN 100 AND 200");
+        assertQuery(testSession, "SELECT count(*) FROM test_columnar_pagefile WHERE orderstatus = 'P'", "SELECT count(*) FROM orders WHERE orderstatus = 'P'");
+        assertQuery(testSession, "SELECT count(*) FROM test_columnar_pagefile WHERE orderkey < 0", "SELECT 0");
+
+        assertUpdate("DROP TABLE test_columnar_pagefile");
+    }
+
     @Test
     public void testPartialAggregatePushdownORC()
     {
@@ -5721,35 +5755,84 @@ public class TestHiveIntegrationSmokeTest
         assertFalse(getQueryRunner().tableExists(session, "test_table"));
     }
 
+    @Test(dataProvider = "fileFormats")
+    public void testPartialAggregatePushdownWithFilter(String fileFormat)
+    {
+        @Language("SQL") String createTable = "" +
+                "CREATE TABLE test_filtered_aggregation_table (" +
+                " _integer INTEGER" +
+                ", _bigint BIGINT" +
+                ", _string VARCHAR" +
+                ", _ds VARCHAR" +
+                ")" +
+                "WITH (format = '" + fileFormat + "', partitioned_by = ARRAY['_ds'])";
+
+        Session session = Session.builder(getSession())
+                .setCatalogSessionProperty(catalog, "pushdown_filter_enabled", "true")
+                .setCatalogSessionProperty(catalog, PARTIAL_AGGREGATION_PUSHDOWN_ENABLED, "true")
+                .setCatalogSessionProperty(catalog, PARTIAL_AGGREGATION_PUSHDOWN_FOR_VARIABLE_LENGTH_DATATYPES_ENABLED, "true")
+                .setCatalogSessionProperty(catalog, PARTIAL_AGGREGATION_PUSHDOWN_WITH_FILTER_ENABLED, "true")
+                .build();
+        try {
+            assertUpdate(session, createTable);
+
+            assertUpdate(session, "INSERT INTO test_filtered_aggregation_table VALUES (3, 4, 'abc', '2024-03-05')", 1);
+            assertUpdate(session, "INSERT INTO test_filtered_aggregation_table VALUES (30, 40, 'foo', '2024-03-05'), (300, 400, NULL, '2024-03-05')", 2);
+            assertUpdate(session, "INSERT INTO test_filtered_aggregation_table VALUES (3000, 4000, 'bar', '2024-03-06')", 1);
+
+            // files fully matching the filter, answered from their statistics, and files not matching it at all
+            assertQuery(session, "SELECT count(*), count(_string), min(_bigint), max(_bigint) FROM test_filtered_aggregation_table WHERE _integer >= 30", "SELECT 3, 2, 40, 4000");
+            assertQuery(session, "SELECT count(*), min(_string), max(_string) FROM test_filtered_aggregation_table WHERE _integer < 30", "SELECT 1, 'abc', 'abc'");
+            // files partially matching the filter, which are read
+            assertQuery(session, "SELECT count(*), count(_string), min(_bigint), max(_bigint) FROM test_filtered_aggregation_table WHERE _integer > 100", "SELECT 2, 1, 400, 4000");
+            assertQuery(session, "SELECT count(*), min(_bigint) FROM test_filtered_aggregation_table WHERE _integer BETWEEN 10 AND 100", "SELECT 1, 40");
+            assertQuery(session, "SELECT count(*), max(_integer) FROM test_filtered_aggregation_table WHERE _string IS NULL", "SELECT 1, 300");
+            // filters on both partition keys and regular columns
+            assertQuery(session, "SELECT count(*), max(_bigint) FROM test_filtered_aggregation_table WHERE _ds = '2024-03-05' AND _integer > 10", "SELECT 2, 400");
+            assertQuery(session, "SELECT count(*), min(_bigint), max(_bigint) FROM test_filtered_aggregation_table WHERE _integer > 10000", "SELECT 0, NULL, NULL");
+        }
+        finally {
+            assertUpdate(session, "DROP TABLE test_filtered_aggregation_table");
+        }
+        assertFalse(getQueryRunner().tableExists(session, "test_filtered_aggregation_table"));
+    }
+
     @Test
-    public void testParquetSelectivePageSourceFails()
+    public void testParquetSelectivePageSource()
     {
         assertUpdate("CREATE TABLE test_parquet_filter_pushdoown (a BIGINT, b BOOLEAN) WITH (format = 'parquet')");
-        assertUpdate(getSession(), "INSERT INTO test_parquet_filter_pushdoown VALUES (1, true)", 1);
+        assertUpdate(getSession(), "INSERT INTO test_parquet_filter_pushdoown VALUES (1, true), (2, null)", 2);
 
         Session noPushdownSession = Session.builder(getSession())
                 .setCatalogSessionProperty("hive", "pushdown_filter_enabled", "false")
                 .setCatalogSessionProperty("hive", "parquet_pushdown_filter_enabled", "false")
                 .build();
-        assertQuery(noPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown", "select 1");
-        assertQuery(noPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown WHERE b = true", "select 1");
-        assertQueryReturnsEmptyResult(noPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown WHERE b = false");
+        assertParquetFilterQueries(noPushdownSession);
 
         Session filterPushdownSession = Session.builder(getSession())
                 .setCatalogSessionProperty("hive", "pushdown_filter_enabled", "true")
                 .setCatalogSessionProperty("hive", "parquet_pushdown_filter_enabled", "false")
                 .build();
-        assertQuery(filterPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown", "select 1");
-        assertQuery(filterPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown WHERE b = true", "select 1");
-        assertQueryReturnsEmptyResult(filterPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown WHERE b = false");
+        assertParquetFilterQueries(filterPushdownSession);
 
         Session parquetFilterPushdownSession = Session.builder(getSession())
                 .setCatalogSessionProperty("hive", "pushdown_filter_enabled", "true")
                 .setCatalogSessionProperty("hive", "parquet_pushdown_filter_enabled", "true")
                 .build();
-        assertQueryFails(parquetFilterPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown", "Parquet reader doesn't support filter pushdown yet");
-        assertQueryFails(parquetFilterPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown WHERE b = true", "Parquet reader doesn't support filter pushdown yet");
-        assertQueryFails(parquetFilterPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown WHERE b = false", "Parquet reader doesn't support filter pushdown yet");
+        assertParquetFilterQueries(parquetFilterPushdownSession);
+        assertQuery(parquetFilterPushdownSession, "SELECT b FROM test_parquet_filter_pushdoown WHERE a > 1", "SELECT CAST(null AS BOOLEAN)");
+        assertQuery(parquetFilterPushdownSession, "SELECT a FROM test_parquet_filter_pushdoown WHERE b OR a = 2", "VALUES 1, 2");
+
+        assertUpdate("DROP TABLE test_parquet_filter_pushdoown");
+    }
+
+    private void assertParquetFilterQueries(Session session)
+    {
+        assertQuery(session, "SELECT a FROM test_parquet_filter_pushdoown", "VALUES 1, 2");
+        assertQuery(session, "SELECT a FROM test_parquet_filter_pushdoown WHERE b = true", "VALUES 1");
+        assertQueryReturnsEmptyResult(session, "SELECT a FROM test_parquet_filter_pushdoown WHERE b = false");
+        assertQuery(session, "SELECT a FROM test_parquet_filter_pushdoown WHERE b IS NULL", "VALUES 2");
+        assertQuery(session, "SELECT a FROM test_parquet_filter_pushdoown WHERE b IS NOT NULL", "VALUES 1");
     }
 
     @DataProvider(name = "testFormatAndCompressionCodecs")
@@ -716,6 +716,7 @@ public class TestHivePageSourceProvider
                 ConnectorSession session,
                 HiveFileSplit fileSplit,
                 Storage storage,
+                SchemaTableName tableName,
                 List<HiveColumnHandle> columns,
                 Map<Integer,
                         String> prefilledValues,
@@ -742,7 +743,16 @@ public class TestHivePageSourceProvider
             implements HiveAggregatedPageSourceFactory
     {
         @Override
-        public Optional<? extends ConnectorPageSource> createPageSource(Configuration configuration, ConnectorSession session, HiveFileSplit fileSplit, Storage storage, List<HiveColumnHandle> columns, HiveFileContext hiveFileContext, Optional<EncryptionInformation> encryptionInformation)
+        public Optional<? extends ConnectorPageSource> createPageSource(
+                Configuration configuration,
+                ConnectorSession session,
+                HiveFileSplit fileSplit,
+                Storage storage,
+                List<HiveColumnHandle> columns,
+                HiveFileContext hiveFileContext,
+                Optional<EncryptionInformation> encryptionInformation,
+                TupleDomain<HiveColumnHandle> effectivePredicate,
+                FileRangeReader partiallyMatchedRowGroupReader)
         {
             if (!OrcSerde.class.getName().equals(storage.getStorageFormat().getSerDe())) {
                 return Optional.empty();
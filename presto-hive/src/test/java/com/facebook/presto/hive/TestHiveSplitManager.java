@@ -111,6 +111,7 @@ import static com.facebook.presto.hive.metastore.HiveColumnStatistics.createDate
 import static com.facebook.presto.hive.metastore.HiveColumnStatistics.createDecimalColumnStatistics;
 import static com.facebook.presto.hive.metastore.HiveColumnStatistics.createDoubleColumnStatistics;
 import static com.facebook.presto.hive.metastore.HiveColumnStatistics.createIntegerColumnStatistics;
+import static com.facebook.presto.hive.metastore.NoopMetastoreCacheStats.NOOP_METASTORE_CACHE_STATS;
 import static com.facebook.presto.hive.metastore.PrestoTableType.MANAGED_TABLE;
 import static com.facebook.presto.hive.metastore.StorageFormat.VIEW_STORAGE_FORMAT;
 import static com.facebook.presto.hive.metastore.StorageFormat.fromHiveStorageFormat;
@@ -553,7 +554,9 @@ public class TestHiveSplitManager
                 false,
                 new ConfigBasedCacheQuotaRequirementProvider(new CacheConfig()),
                 new HiveEncryptionInformationProvider(ImmutableList.of()),
-                new HivePartitionSkippabilityChecker());
+                new HivePartitionSkippabilityChecker(),
+                directExecutor(),
+                NOOP_METASTORE_CACHE_STATS);
 
         HiveColumnHandle partitionColumn = new HiveColumnHandle(
                 "ds",
@@ -702,7 +705,9 @@ public class TestHiveSplitManager
                 false,
                 new ConfigBasedCacheQuotaRequirementProvider(new CacheConfig()),
                 encryptionInformationProvider,
-                new HivePartitionSkippabilityChecker());
+                new HivePartitionSkippabilityChecker(),
+                directExecutor(),
+                NOOP_METASTORE_CACHE_STATS);
 
         HiveColumnHandle partitionColumn = new HiveColumnHandle(
                 "ds",
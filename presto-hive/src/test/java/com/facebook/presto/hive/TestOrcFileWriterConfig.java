@@ -65,7 +65,9 @@ public class TestOrcFileWriterConfig
                 .setStringDictionaryEncodingEnabled(true)
                 .setStringDictionarySortingEnabled(true)
                 .setFlatMapWriterEnabled(false)
-                .setAddHostnameToFileMetadataEnabled(true));
+                .setAddHostnameToFileMetadataEnabled(true)
+                .setBackgroundStripeEncodingEnabled(false)
+                .setMaxConcurrentStripeEncodings(Runtime.getRuntime().availableProcessors()));
     }
 
     @Test
@@ -89,6 +91,8 @@ public class TestOrcFileWriterConfig
                 .put("hive.orc.writer.string-dictionary-sorting-enabled", "false")
                 .put("hive.orc.writer.flat-map-writer-enabled", "true")
                 .put("hive.orc.writer.add-hostname-to-file-metadata-enabled", "false")
+                .put("hive.orc.writer.background-stripe-encoding-enabled", "true")
+                .put("hive.orc.writer.max-concurrent-stripe-encodings", "3")
                 .build();
 
         OrcFileWriterConfig expected = new OrcFileWriterConfig()
@@ -108,7 +112,9 @@ public class TestOrcFileWriterConfig
                 .setStringDictionaryEncodingEnabled(false)
                 .setStringDictionarySortingEnabled(false)
                 .setFlatMapWriterEnabled(true)
-                .setAddHostnameToFileMetadataEnabled(false);
+                .setAddHostnameToFileMetadataEnabled(false)
+                .setBackgroundStripeEncodingEnabled(true)
+                .setMaxConcurrentStripeEncodings(3);
 
         assertFullMapping(properties, expected);
     }
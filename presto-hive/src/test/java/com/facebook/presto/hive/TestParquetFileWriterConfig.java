@@ -36,7 +36,9 @@ public class TestParquetFileWriterConfig
                 .setParquetOptimizedWriterEnabled(false)
                 .setBlockSize(new DataSize(ParquetWriter.DEFAULT_BLOCK_SIZE, BYTE))
                 .setPageSize(new DataSize(ParquetWriter.DEFAULT_PAGE_SIZE, BYTE))
-                .setWriterVersion(ParquetProperties.WriterVersion.PARQUET_1_0));
+                .setWriterVersion(ParquetProperties.WriterVersion.PARQUET_1_0)
+                .setParallelEncodingEnabled(false)
+                .setMaxConcurrentColumnEncodings(Runtime.getRuntime().availableProcessors()));
     }
 
     @Test
@@ -47,13 +49,17 @@ public class TestParquetFileWriterConfig
                 .put("hive.parquet.writer.block-size", "234MB")
                 .put("hive.parquet.writer.page-size", "11MB")
                 .put("hive.parquet.writer.version", "PARQUET_2_0")
+                .put("hive.parquet.writer.parallel-encoding-enabled", "true")
+                .put("hive.parquet.writer.max-concurrent-column-encodings", "7")
                 .build();
 
         ParquetFileWriterConfig expected = new ParquetFileWriterConfig()
                 .setParquetOptimizedWriterEnabled(true)
                 .setBlockSize(new DataSize(234, MEGABYTE))
                 .setPageSize(new DataSize(11, MEGABYTE))
-                .setWriterVersion(ParquetProperties.WriterVersion.PARQUET_2_0);
+                .setWriterVersion(ParquetProperties.WriterVersion.PARQUET_2_0)
+                .setParallelEncodingEnabled(true)
+                .setMaxConcurrentColumnEncodings(7);
 
         assertFullMapping(properties, expected);
     }
@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.REGULAR;
+import static com.facebook.presto.hive.HiveType.HIVE_DOUBLE;
+import static com.facebook.presto.hive.HiveType.HIVE_LONG;
+import static com.facebook.presto.hive.RowGroupMatch.ALL;
+import static com.facebook.presto.hive.RowGroupMatch.NONE;
+import static com.facebook.presto.hive.RowGroupMatch.PARTIAL;
+import static com.facebook.presto.hive.RowGroupMatch.match;
+import static org.testng.Assert.assertEquals;
+
+public class TestRowGroupMatch
+{
+    private static final HiveColumnHandle BIGINT_COLUMN = new HiveColumnHandle("a", HIVE_LONG, BIGINT.getTypeSignature(), 0, REGULAR, Optional.empty(), Optional.empty());
+    private static final HiveColumnHandle DOUBLE_COLUMN = new HiveColumnHandle("b", HIVE_DOUBLE, DOUBLE.getTypeSignature(), 1, REGULAR, Optional.empty(), Optional.empty());
+
+    @Test
+    public void testMatch()
+    {
+        Map<HiveColumnHandle, Domain> predicate = ImmutableMap.of(BIGINT_COLUMN, Domain.create(ValueSet.ofRanges(Range.greaterThan(BIGINT, 10L)), false));
+
+        assertEquals(match(predicate, column -> range(11, 20, false)), ALL);
+        assertEquals(match(predicate, column -> range(0, 10, false)), NONE);
+        assertEquals(match(predicate, column -> range(5, 20, false)), PARTIAL);
+        // rows with null values do not match the filter
+        assertEquals(match(predicate, column -> range(11, 20, true)), PARTIAL);
+        assertEquals(match(predicate, column -> Domain.onlyNull(BIGINT)), NONE);
+        // row groups without statistics
+        assertEquals(match(predicate, column -> Domain.all(BIGINT)), PARTIAL);
+        assertEquals(match(ImmutableMap.of(), column -> Domain.all(BIGINT)), ALL);
+    }
+
+    @Test
+    public void testMatchMultipleColumns()
+    {
+        Map<HiveColumnHandle, Domain> predicate = ImmutableMap.of(
+                BIGINT_COLUMN, Domain.create(ValueSet.ofRanges(Range.greaterThan(BIGINT, 10L)), false),
+                DOUBLE_COLUMN, Domain.notNull(DOUBLE));
+
+        assertEquals(match(predicate, column -> column.equals(BIGINT_COLUMN) ? range(0, 5, false) : Domain.notNull(DOUBLE)), NONE);
+        // the statistics of floating point columns do not tell whether there are NaN values
+        assertEquals(match(predicate, column -> column.equals(BIGINT_COLUMN) ? range(11, 20, false) : Domain.notNull(DOUBLE)), PARTIAL);
+        assertEquals(match(ImmutableMap.of(BIGINT_COLUMN, Domain.notNull(BIGINT)), column -> range(11, 20, false)), ALL);
+    }
+
+    private static Domain range(long low, long high, boolean nullAllowed)
+    {
+        return Domain.create(ValueSet.ofRanges(Range.range(BIGINT, low, true, high, true)), nullAllowed);
+    }
+}
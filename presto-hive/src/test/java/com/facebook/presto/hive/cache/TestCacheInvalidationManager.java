@@ -0,0 +1,258 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.airlift.units.Duration;
+import com.facebook.presto.hive.CachingDirectoryLister;
+import com.facebook.presto.hive.HadoopDirectoryLister;
+import com.facebook.presto.hive.MetastoreClientConfig;
+import com.facebook.presto.hive.metastore.InMemoryCachingHiveMetastore;
+import com.facebook.presto.hive.metastore.MetastoreCacheSpecProvider;
+import com.facebook.presto.hive.metastore.UnimplementedHiveMetastore;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+
+import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.databaseChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.directoryChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.partitionChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.tableChanged;
+import static com.facebook.presto.hive.metastore.NoopMetastoreCacheStats.NOOP_METASTORE_CACHE_STATS;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestCacheInvalidationManager
+{
+    @Test
+    public void testDispatch()
+    {
+        RecordingCachingHiveMetastore metastore = new RecordingCachingHiveMetastore();
+        RecordingCachingDirectoryLister directoryLister = new RecordingCachingDirectoryLister();
+        TestingFeed feed = new TestingFeed();
+        CacheInvalidationManager manager = new CacheInvalidationManager(Optional.of(feed), metastore, directoryLister, new Duration(1, MINUTES));
+
+        feed.addEvents(
+                databaseChanged("tpch"),
+                tableChanged("tpch", "orders", Optional.empty()),
+                tableChanged("tpch", "lineitem", Optional.of("/warehouse/tpch/lineitem")),
+                partitionChanged("tpch", "orders", "ds=2024-01-01", Optional.of("/warehouse/tpch/orders/ds=2024-01-01")));
+        feed.addEvents(directoryChanged("/data/orders"));
+
+        manager.poll();
+        assertEquals(metastore.getInvalidations(), ImmutableList.of("tpch", "tpch.orders", "tpch.lineitem", "tpch.orders.ds=2024-01-01"));
+        assertEquals(directoryLister.getInvalidations(), ImmutableList.of("/warehouse/tpch/lineitem", "/warehouse/tpch/orders/ds=2024-01-01"));
+
+        manager.poll();
+        assertEquals(metastore.getInvalidations().size(), 4);
+        assertEquals(directoryLister.getInvalidations(), ImmutableList.of("/warehouse/tpch/lineitem", "/warehouse/tpch/orders/ds=2024-01-01", "/data/orders"));
+        assertEquals(manager.getProcessedEvents().getTotalCount(), 5);
+        assertEquals(manager.getFailedPolls().getTotalCount(), 0);
+
+        // nothing to evict
+        manager.poll();
+        assertEquals(manager.getProcessedEvents().getTotalCount(), 5);
+        assertEquals(metastore.getFlushCount(), 0);
+        assertEquals(directoryLister.getFlushCount(), 0);
+    }
+
+    @Test
+    public void testFlushOnFailure()
+    {
+        RecordingCachingHiveMetastore metastore = new RecordingCachingHiveMetastore();
+        RecordingCachingDirectoryLister directoryLister = new RecordingCachingDirectoryLister();
+        TestingFeed feed = new TestingFeed();
+        CacheInvalidationManager manager = new CacheInvalidationManager(Optional.of(feed), metastore, directoryLister, new Duration(1, MINUTES));
+
+        // the events of a failed poll may be lost, so both caches are flushed
+        feed.failNextPoll();
+        manager.poll();
+        assertEquals(metastore.getFlushCount(), 1);
+        assertEquals(directoryLister.getFlushCount(), 1);
+        assertEquals(manager.getFailedPolls().getTotalCount(), 1);
+
+        // the polls after the failure are dispatched again
+        feed.addEvents(tableChanged("tpch", "orders", Optional.of("/warehouse/tpch/orders")));
+        manager.poll();
+        assertEquals(metastore.getInvalidations(), ImmutableList.of("tpch.orders"));
+        assertEquals(directoryLister.getInvalidations(), ImmutableList.of("/warehouse/tpch/orders"));
+        assertEquals(metastore.getFlushCount(), 1);
+        assertEquals(manager.getFailedPolls().getTotalCount(), 1);
+    }
+
+    @Test
+    public void testScheduledPolls()
+            throws InterruptedException
+    {
+        RecordingCachingHiveMetastore metastore = new RecordingCachingHiveMetastore();
+        TestingFeed feed = new TestingFeed();
+        CacheInvalidationManager manager = new CacheInvalidationManager(Optional.of(feed), metastore, new RecordingCachingDirectoryLister(), new Duration(10, MILLISECONDS));
+
+        feed.failNextPoll();
+        feed.addEvents(databaseChanged("tpch"));
+        manager.start();
+        try {
+            // a failed poll does not stop the next ones
+            long deadline = System.nanoTime() + SECONDS.toNanos(10);
+            while (metastore.getInvalidations().isEmpty() && System.nanoTime() < deadline) {
+                MILLISECONDS.sleep(10);
+            }
+            assertEquals(metastore.getInvalidations(), ImmutableList.of("tpch"));
+            assertEquals(metastore.getFlushCount(), 1);
+        }
+        finally {
+            manager.stop();
+        }
+    }
+
+    @Test
+    public void testNoFeed()
+    {
+        RecordingCachingHiveMetastore metastore = new RecordingCachingHiveMetastore();
+        CacheInvalidationManager manager = new CacheInvalidationManager(Optional.empty(), metastore, new RecordingCachingDirectoryLister(), new Duration(10, MILLISECONDS));
+        manager.start();
+        manager.stop();
+        assertTrue(metastore.getInvalidations().isEmpty());
+        assertEquals(metastore.getFlushCount(), 0);
+    }
+
+    private static class TestingFeed
+            implements CacheInvalidationFeed
+    {
+        private final Queue<List<CacheInvalidationEvent>> polls = new ArrayDeque<>();
+        private boolean failNextPoll;
+
+        public synchronized void addEvents(CacheInvalidationEvent... events)
+        {
+            polls.add(ImmutableList.copyOf(events));
+        }
+
+        public synchronized void failNextPoll()
+        {
+            failNextPoll = true;
+        }
+
+        @Override
+        public synchronized List<CacheInvalidationEvent> poll()
+                throws IOException
+        {
+            if (failNextPoll) {
+                failNextPoll = false;
+                throw new IOException("poll failed");
+            }
+            List<CacheInvalidationEvent> events = polls.poll();
+            return events == null ? ImmutableList.of() : events;
+        }
+    }
+
+    private static class RecordingCachingHiveMetastore
+            extends InMemoryCachingHiveMetastore
+    {
+        private final List<String> invalidations = new ArrayList<>();
+        private int flushCount;
+
+        public RecordingCachingHiveMetastore()
+        {
+            super(
+                    new UnimplementedHiveMetastore(),
+                    newDirectExecutorService(),
+                    false,
+                    1000,
+                    false,
+                    0.0,
+                    10_000,
+                    NOOP_METASTORE_CACHE_STATS,
+                    new MetastoreCacheSpecProvider(new MetastoreClientConfig()));
+        }
+
+        @Override
+        public synchronized void invalidateCache(String databaseName)
+        {
+            invalidations.add(databaseName);
+        }
+
+        @Override
+        public synchronized void invalidateCache(String databaseName, String tableName)
+        {
+            invalidations.add(databaseName + "." + tableName);
+        }
+
+        @Override
+        public synchronized void invalidateCache(String databaseName, String tableName, String partitionName)
+        {
+            invalidations.add(databaseName + "." + tableName + "." + partitionName);
+        }
+
+        @Override
+        public synchronized void invalidateAll()
+        {
+            flushCount++;
+        }
+
+        public synchronized List<String> getInvalidations()
+        {
+            return ImmutableList.copyOf(invalidations);
+        }
+
+        public synchronized int getFlushCount()
+        {
+            return flushCount;
+        }
+    }
+
+    private static class RecordingCachingDirectoryLister
+            extends CachingDirectoryLister
+    {
+        private final List<String> invalidations = new ArrayList<>();
+        private int flushCount;
+
+        public RecordingCachingDirectoryLister()
+        {
+            super(new HadoopDirectoryLister(), new Duration(1, MINUTES), new DataSize(1, MEGABYTE), ImmutableList.of());
+        }
+
+        @Override
+        public synchronized void invalidateDirectoryListCacheRecursively(String directoryPath)
+        {
+            invalidations.add(directoryPath);
+        }
+
+        @Override
+        public synchronized void flushCache()
+        {
+            flushCount++;
+        }
+
+        public synchronized List<String> getInvalidations()
+        {
+            return ImmutableList.copyOf(invalidations);
+        }
+
+        public synchronized int getFlushCount()
+        {
+            return flushCount;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.databaseChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.directoryChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.partitionChanged;
+import static com.facebook.presto.hive.cache.CacheInvalidationEvent.tableChanged;
+import static com.facebook.presto.hive.cache.FileCacheInvalidationFeed.parseEvent;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+public class TestFileCacheInvalidationFeed
+{
+    @Test
+    public void testParseEvent()
+    {
+        assertEquals(parseEvent("DATABASE tpch"), databaseChanged("tpch"));
+        assertEquals(parseEvent("table tpch orders"), tableChanged("tpch", "orders", Optional.empty()));
+        assertEquals(parseEvent("TABLE tpch orders hdfs://warehouse/tpch/orders"), tableChanged("tpch", "orders", Optional.of("hdfs://warehouse/tpch/orders")));
+        assertEquals(parseEvent("PARTITION tpch orders ds=2024-01-01/hour=00"), partitionChanged("tpch", "orders", "ds=2024-01-01/hour=00", Optional.empty()));
+        assertEquals(
+                parseEvent("PARTITION  tpch  orders  ds=2024-01-01  /data/my orders/ds=2024-01-01"),
+                partitionChanged("tpch", "orders", "ds=2024-01-01", Optional.of("/data/my orders/ds=2024-01-01")));
+        assertEquals(parseEvent("DIRECTORY /data/my orders"), directoryChanged("/data/my orders"));
+
+        assertThrows(IllegalArgumentException.class, () -> parseEvent("TABLE tpch"));
+        assertThrows(IllegalArgumentException.class, () -> parseEvent("DIRECTORY"));
+        assertThrows(IllegalArgumentException.class, () -> parseEvent("VIEW tpch orders"));
+    }
+
+    @Test
+    public void testPoll()
+            throws IOException
+    {
+        Path file = Files.createTempFile("cache-invalidation", ".events");
+        try {
+            // the events written before the feed is created are skipped
+            append(file, "TABLE tpch lineitem\n");
+            FileCacheInvalidationFeed feed = new FileCacheInvalidationFeed(file);
+            assertEquals(feed.poll(), ImmutableList.of());
+
+            append(file, "# comment\n\nTABLE tpch orders\nINVALID\nDATABASE tpch\nDIRECTORY /data/");
+            assertEquals(feed.poll(), ImmutableList.of(tableChanged("tpch", "orders", Optional.empty()), databaseChanged("tpch")));
+
+            // the last line is read once complete
+            append(file, "orders\n");
+            assertEquals(feed.poll(), ImmutableList.of(directoryChanged("/data/orders")));
+            assertEquals(feed.poll(), ImmutableList.of());
+
+            // the file is read from its start once truncated
+            Files.write(file, "DATABASE default\n".getBytes(UTF_8));
+            assertEquals(feed.poll(), ImmutableList.of(databaseChanged("default")));
+
+            Files.delete(file);
+            assertEquals(feed.poll(), ImmutableList.of());
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void append(Path file, String lines)
+            throws IOException
+    {
+        Files.write(file, lines.getBytes(UTF_8), APPEND);
+    }
+}
@@ -283,6 +283,19 @@ public class TestInMemoryCachingHiveMetastore
         metastoreWithAllCachesEnabled.invalidateCache(TEST_METASTORE_CONTEXT, TEST_DATABASE, TEST_TABLE, ImmutableList.of("key"), ImmutableList.of("testpartition1"));
         assertEquals(metastoreWithAllCachesEnabled.getPartitionNames(TEST_METASTORE_CONTEXT, TEST_DATABASE, TEST_TABLE).get(), expectedPartitions);
         assertEquals(mockClient.getAccessCount(), 5);
+
+        // Test invalidate for all the metastore contexts, e.g. when notified of an external change
+        metastoreWithAllCachesEnabled.invalidateCache(TEST_DATABASE);
+        assertEquals(metastoreWithAllCachesEnabled.getPartitionNames(TEST_METASTORE_CONTEXT, TEST_DATABASE, TEST_TABLE).get(), expectedPartitions);
+        assertEquals(mockClient.getAccessCount(), 6);
+
+        metastoreWithAllCachesEnabled.invalidateCache(TEST_DATABASE, TEST_TABLE);
+        assertEquals(metastoreWithAllCachesEnabled.getPartitionNames(TEST_METASTORE_CONTEXT, TEST_DATABASE, TEST_TABLE).get(), expectedPartitions);
+        assertEquals(mockClient.getAccessCount(), 7);
+
+        metastoreWithAllCachesEnabled.invalidateCache(TEST_DATABASE, TEST_TABLE, "key=testpartition1");
+        assertEquals(metastoreWithAllCachesEnabled.getPartitionNames(TEST_METASTORE_CONTEXT, TEST_DATABASE, TEST_TABLE).get(), expectedPartitions);
+        assertEquals(mockClient.getAccessCount(), 8);
     }
 
     @Test
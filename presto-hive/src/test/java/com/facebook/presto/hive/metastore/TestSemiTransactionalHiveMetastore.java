@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.metastore;
+
+import com.facebook.presto.hive.PartitionNameWithVersion;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.presto.hive.HiveColumnConverterProvider.DEFAULT_COLUMN_CONVERTER_PROVIDER;
+import static com.facebook.presto.hive.HiveTestUtils.HDFS_ENVIRONMENT;
+import static com.facebook.presto.hive.metastore.thrift.MockHiveMetastoreClient.TEST_METASTORE_CONTEXT;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestSemiTransactionalHiveMetastore
+{
+    private static final List<PartitionNameWithVersion> BATCH1 = ImmutableList.of(
+            new PartitionNameWithVersion("ds=1", Optional.empty()),
+            new PartitionNameWithVersion("ds=2", Optional.empty()));
+    private static final List<PartitionNameWithVersion> BATCH2 = ImmutableList.of(
+            new PartitionNameWithVersion("ds=3", Optional.empty()));
+
+    private final ExecutorService executor = newCachedThreadPool(daemonThreadsNamed("test-semi-transactional-metastore-%s"));
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test(timeOut = 30_000)
+    public void testConcurrentGetPartitionsByNames()
+            throws Exception
+    {
+        BlockingMetastore delegate = new BlockingMetastore(2);
+        SemiTransactionalHiveMetastore metastore = createMetastore(delegate);
+
+        // the batches are fetched concurrently, as the lock is not held during the fetch
+        Future<Map<String, Optional<Partition>>> batch1 = executor.submit(() -> metastore.getPartitionsByNames(TEST_METASTORE_CONTEXT, "test_schema", "test_table", BATCH1));
+        Future<Map<String, Optional<Partition>>> batch2 = executor.submit(() -> metastore.getPartitionsByNames(TEST_METASTORE_CONTEXT, "test_schema", "test_table", BATCH2));
+        assertTrue(delegate.awaitFetches());
+
+        delegate.release();
+        assertEquals(batch1.get(), ImmutableMap.of("ds=1", Optional.empty(), "ds=2", Optional.empty()));
+        assertEquals(batch2.get(), ImmutableMap.of("ds=3", Optional.empty()));
+    }
+
+    @Test(timeOut = 30_000)
+    public void testTransactionFinishedDuringFetch()
+            throws Exception
+    {
+        BlockingMetastore delegate = new BlockingMetastore(1);
+        SemiTransactionalHiveMetastore metastore = createMetastore(delegate);
+
+        Future<Map<String, Optional<Partition>>> batch = executor.submit(() -> metastore.getPartitionsByNames(TEST_METASTORE_CONTEXT, "test_schema", "test_table", BATCH1));
+        assertTrue(delegate.awaitFetches());
+        metastore.rollback();
+
+        // the transaction state is checked again under the lock once the partitions are fetched
+        delegate.release();
+        assertThatThrownBy(batch::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("Tried to access metastore after transaction has been committed/aborted");
+    }
+
+    private static SemiTransactionalHiveMetastore createMetastore(ExtendedHiveMetastore delegate)
+    {
+        return new SemiTransactionalHiveMetastore(
+                HDFS_ENVIRONMENT,
+                delegate,
+                newDirectExecutorService(),
+                false,
+                false,
+                true,
+                DEFAULT_COLUMN_CONVERTER_PROVIDER);
+    }
+
+    private static class BlockingMetastore
+            extends UnimplementedHiveMetastore
+    {
+        private final CountDownLatch fetchesStarted;
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        public BlockingMetastore(int expectedFetches)
+        {
+            this.fetchesStarted = new CountDownLatch(expectedFetches);
+        }
+
+        public boolean awaitFetches()
+                throws InterruptedException
+        {
+            return fetchesStarted.await(10, SECONDS);
+        }
+
+        public void release()
+        {
+            released.countDown();
+        }
+
+        @Override
+        public Map<String, Optional<Partition>> getPartitionsByNames(MetastoreContext metastoreContext, String databaseName, String tableName, List<PartitionNameWithVersion> partitionNames)
+        {
+            fetchesStarted.countDown();
+            try {
+                assertTrue(released.await(10, SECONDS));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return partitionNames.stream()
+                    .collect(toImmutableMap(PartitionNameWithVersion::getPartitionName, partitionName -> Optional.empty()));
+        }
+    }
+}
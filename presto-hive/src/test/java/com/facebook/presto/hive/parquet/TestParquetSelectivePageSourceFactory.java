@@ -0,0 +1,319 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.parquet;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.PageBuilder;
+import com.facebook.presto.common.Subfield;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.predicate.Domain;
+import com.facebook.presto.common.predicate.Range;
+import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.common.predicate.ValueSet;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.hive.FileFormatDataSourceStats;
+import com.facebook.presto.hive.HiveClientConfig;
+import com.facebook.presto.hive.HiveColumnHandle;
+import com.facebook.presto.hive.HiveFileSplit;
+import com.facebook.presto.hive.HiveType;
+import com.facebook.presto.hive.metastore.Storage;
+import com.facebook.presto.hive.metastore.StorageFormat;
+import com.facebook.presto.hive.orc.TupleDomainFilterCache;
+import com.facebook.presto.parquet.cache.MetadataReader;
+import com.facebook.presto.parquet.writer.ParquetSchemaConverter;
+import com.facebook.presto.parquet.writer.ParquetWriter;
+import com.facebook.presto.parquet.writer.ParquetWriterOptions;
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.SchemaTableName;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.joda.time.DateTimeZone;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.expressions.LogicalRowExpressions.TRUE_CONSTANT;
+import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.PARTITION_KEY;
+import static com.facebook.presto.hive.BaseHiveColumnHandle.ColumnType.REGULAR;
+import static com.facebook.presto.hive.HiveFileContext.DEFAULT_HIVE_FILE_CONTEXT;
+import static com.facebook.presto.hive.HiveStorageFormat.PARQUET;
+import static com.facebook.presto.hive.HiveTestUtils.FUNCTION_AND_TYPE_MANAGER;
+import static com.facebook.presto.hive.HiveTestUtils.FUNCTION_RESOLUTION;
+import static com.facebook.presto.hive.HiveTestUtils.HDFS_ENVIRONMENT;
+import static com.facebook.presto.hive.HiveTestUtils.ROW_EXPRESSION_SERVICE;
+import static com.facebook.presto.hive.HiveTestUtils.SESSION;
+import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestParquetSelectivePageSourceFactory
+{
+    private static final int ROW_COUNT = 3000;
+    private static final List<Type> FILE_TYPES = ImmutableList.of(BIGINT, VARCHAR);
+    private static final List<String> FILE_COLUMNS = ImmutableList.of("id", "name");
+
+    private static final HiveColumnHandle ID = new HiveColumnHandle("id", HiveType.HIVE_LONG, BIGINT.getTypeSignature(), 0, REGULAR, Optional.empty(), ImmutableList.of(), Optional.empty());
+    private static final HiveColumnHandle NAME = new HiveColumnHandle("name", HiveType.HIVE_STRING, VARCHAR.getTypeSignature(), 1, REGULAR, Optional.empty(), ImmutableList.of(), Optional.empty());
+    private static final HiveColumnHandle DS = new HiveColumnHandle("ds", HiveType.HIVE_STRING, VARCHAR.getTypeSignature(), 2, PARTITION_KEY, Optional.empty(), ImmutableList.of(), Optional.empty());
+    private static final List<HiveColumnHandle> COLUMNS = ImmutableList.of(ID, NAME, DS);
+    private static final Map<Integer, String> PREFILLED_VALUES = ImmutableMap.of(DS.getHiveColumnIndex(), "2024-01-01");
+
+    private final FileFormatDataSourceStats stats = new FileFormatDataSourceStats();
+    private final ParquetSelectivePageSourceFactory pageSourceFactory = new ParquetSelectivePageSourceFactory(
+            FUNCTION_AND_TYPE_MANAGER,
+            FUNCTION_RESOLUTION,
+            ROW_EXPRESSION_SERVICE,
+            HDFS_ENVIRONMENT,
+            stats,
+            new MetadataReader(),
+            new TupleDomainFilterCache(),
+            new ColumnChunkPrefetcherFactory(newDirectExecutorService(), new HiveClientConfig(), stats));
+
+    private File temporaryDirectory;
+    private File parquetFile;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        temporaryDirectory = createTempDir();
+        parquetFile = new File(temporaryDirectory, "data.parquet");
+
+        ParquetSchemaConverter schemaConverter = new ParquetSchemaConverter(FILE_TYPES, FILE_COLUMNS);
+        // the ids are increasing, so the row groups have disjoint id ranges
+        ParquetWriterOptions writerOptions = ParquetWriterOptions.builder()
+                .setMaxPageSize(DataSize.succinctBytes(1000))
+                .setMaxBlockSize(DataSize.succinctBytes(10000))
+                .build();
+        try (ParquetWriter writer = new ParquetWriter(
+                new FileOutputStream(parquetFile),
+                schemaConverter.getMessageType(),
+                schemaConverter.getPrimitiveTypes(),
+                FILE_COLUMNS,
+                FILE_TYPES,
+                writerOptions,
+                CompressionCodecName.UNCOMPRESSED.getHadoopCompressionCodecClassName())) {
+            PageBuilder pageBuilder = new PageBuilder(FILE_TYPES);
+            for (int row = 0; row < ROW_COUNT; row++) {
+                BIGINT.writeLong(pageBuilder.getBlockBuilder(0), row);
+                String name = name(row);
+                if (name == null) {
+                    pageBuilder.getBlockBuilder(1).appendNull();
+                }
+                else {
+                    VARCHAR.writeSlice(pageBuilder.getBlockBuilder(1), utf8Slice(name));
+                }
+                pageBuilder.declarePosition();
+                if (pageBuilder.isFull()) {
+                    writer.write(pageBuilder.build());
+                    pageBuilder.reset();
+                }
+            }
+            if (!pageBuilder.isEmpty()) {
+                writer.write(pageBuilder.build());
+            }
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(temporaryDirectory.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testPushedFilters()
+            throws IOException
+    {
+        assertRows(
+                ImmutableMap.of(new Subfield("name"), Domain.multipleValues(VARCHAR, ImmutableList.of(utf8Slice("name_3"), utf8Slice("name_4")))),
+                row -> "name_3".equals(name(row)) || "name_4".equals(name(row)));
+        assertRows(
+                ImmutableMap.of(
+                        new Subfield("id"), Domain.create(ValueSet.ofRanges(Range.range(BIGINT, 100L, true, 200L, false)), false),
+                        new Subfield("name"), Domain.singleValue(VARCHAR, utf8Slice("name_5"))),
+                row -> row >= 100 && row < 200 && "name_5".equals(name(row)));
+        // the filter of a partition key is tested on its value
+        assertRows(
+                ImmutableMap.of(new Subfield("ds"), Domain.singleValue(VARCHAR, utf8Slice("2024-01-01"))),
+                row -> true);
+        assertRows(
+                ImmutableMap.of(new Subfield("ds"), Domain.singleValue(VARCHAR, utf8Slice("2023-01-01"))),
+                row -> false);
+    }
+
+    @Test
+    public void testNulls()
+            throws IOException
+    {
+        assertRows(
+                ImmutableMap.of(new Subfield("name"), Domain.onlyNull(VARCHAR)),
+                row -> name(row) == null);
+        assertRows(
+                ImmutableMap.of(new Subfield("name"), Domain.notNull(VARCHAR)),
+                row -> name(row) != null);
+        assertRows(
+                ImmutableMap.of(new Subfield("name"), Domain.create(ValueSet.of(VARCHAR, utf8Slice("name_1")), true)),
+                row -> name(row) == null || "name_1".equals(name(row)));
+    }
+
+    @Test
+    public void testRowGroupPruning()
+            throws IOException
+    {
+        TupleDomain<Subfield> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                new Subfield("id"), Domain.create(ValueSet.ofRanges(Range.range(BIGINT, 2900L, true, 2950L, true)), false)));
+        try (ConnectorPageSource pageSource = createPageSource(predicate)) {
+            assertEquals(readRows(pageSource), expectedRows(row -> row >= 2900 && row <= 2950));
+            // only the row groups whose id statistics overlap the filter are read
+            assertTrue(pageSource.getCompletedPositions() >= 51);
+            assertTrue(pageSource.getCompletedPositions() < ROW_COUNT, "row groups should be pruned");
+        }
+
+        predicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                new Subfield("id"), Domain.create(ValueSet.ofRanges(Range.greaterThan(BIGINT, (long) ROW_COUNT)), false)));
+        try (ConnectorPageSource pageSource = createPageSource(predicate)) {
+            assertEquals(readRows(pageSource), ImmutableList.of());
+            assertEquals(pageSource.getCompletedPositions(), 0);
+        }
+    }
+
+    @Test
+    public void testUnsupportedFilter()
+    {
+        TupleDomain<Subfield> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                new Subfield("name[1]"), Domain.singleValue(VARCHAR, utf8Slice("name_1"))));
+        assertThatThrownBy(() -> createPageSource(predicate))
+                .isInstanceOf(PrestoException.class)
+                .hasMessageContaining("Parquet reader doesn't support filter pushdown on name[1]")
+                .matches(e -> ((PrestoException) e).getErrorCode().equals(NOT_SUPPORTED.toErrorCode()));
+    }
+
+    private void assertRows(Map<Subfield, Domain> domains, IntPredicate selected)
+            throws IOException
+    {
+        try (ConnectorPageSource pageSource = createPageSource(TupleDomain.withColumnDomains(domains))) {
+            assertEquals(readRows(pageSource), expectedRows(selected));
+        }
+    }
+
+    private ConnectorPageSource createPageSource(TupleDomain<Subfield> domainPredicate)
+    {
+        HiveFileSplit fileSplit = new HiveFileSplit(
+                parquetFile.getAbsolutePath(),
+                0,
+                parquetFile.length(),
+                parquetFile.length(),
+                parquetFile.lastModified(),
+                Optional.empty(),
+                ImmutableMap.of(),
+                0);
+        Storage storage = new Storage(
+                StorageFormat.create(PARQUET.getSerDe(), PARQUET.getInputFormat(), PARQUET.getOutputFormat()),
+                "location",
+                Optional.empty(),
+                false,
+                ImmutableMap.of(),
+                ImmutableMap.of());
+        return pageSourceFactory.createPageSource(
+                new Configuration(false),
+                SESSION,
+                fileSplit,
+                storage,
+                new SchemaTableName("schema", "table"),
+                COLUMNS,
+                PREFILLED_VALUES,
+                ImmutableMap.of(),
+                Optional.empty(),
+                COLUMNS.stream().map(HiveColumnHandle::getHiveColumnIndex).collect(toImmutableList()),
+                domainPredicate,
+                TRUE_CONSTANT,
+                DateTimeZone.UTC,
+                DEFAULT_HIVE_FILE_CONTEXT,
+                Optional.empty(),
+                false,
+                Optional.empty())
+                .get();
+    }
+
+    private static List<List<Object>> readRows(ConnectorPageSource pageSource)
+    {
+        List<List<Object>> rows = new ArrayList<>();
+        while (!pageSource.isFinished()) {
+            Page page = pageSource.getNextPage();
+            if (page == null) {
+                continue;
+            }
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                List<Object> row = new ArrayList<>();
+                row.add(BIGINT.getLong(page.getBlock(0), position));
+                row.add(getSlice(page.getBlock(1), position));
+                row.add(getSlice(page.getBlock(2), position));
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static List<List<Object>> expectedRows(IntPredicate selected)
+    {
+        return IntStream.range(0, ROW_COUNT)
+                .filter(selected)
+                .mapToObj(TestParquetSelectivePageSourceFactory::expectedRow)
+                .collect(toImmutableList());
+    }
+
+    private static List<Object> expectedRow(int row)
+    {
+        List<Object> values = new ArrayList<>();
+        values.add((long) row);
+        values.add(name(row));
+        values.add("2024-01-01");
+        return values;
+    }
+
+    private static String getSlice(Block block, int position)
+    {
+        return block.isNull(position) ? null : VARCHAR.getSlice(block, position).toStringUtf8();
+    }
+
+    private static String name(int row)
+    {
+        return row % 7 == 0 ? null : "name_" + (row % 10);
+    }
+}
@@ -24,6 +24,7 @@ import com.facebook.presto.hive.DynamicConfigurationProvider;
 import com.facebook.presto.hive.FileFormatDataSourceStats;
 import com.facebook.presto.hive.ForCachingHiveMetastore;
 import com.facebook.presto.hive.ForMetastoreHdfsEnvironment;
+import com.facebook.presto.hive.ForOrcWriter;
 import com.facebook.presto.hive.HdfsConfiguration;
 import com.facebook.presto.hive.HdfsConfigurationInitializer;
 import com.facebook.presto.hive.HdfsEnvironment;
@@ -42,6 +43,7 @@ import com.facebook.presto.hive.gcs.GcsConfigurationInitializer;
 import com.facebook.presto.hive.gcs.HiveGcsConfig;
 import com.facebook.presto.hive.gcs.HiveGcsConfigurationInitializer;
 import com.facebook.presto.hive.metastore.InvalidateMetastoreCacheProcedure;
+import com.facebook.presto.iceberg.delete.DeleteFileCache;
 import com.facebook.presto.iceberg.nessie.IcebergNessieConfig;
 import com.facebook.presto.iceberg.optimizer.IcebergPlanOptimizerProvider;
 import com.facebook.presto.iceberg.procedure.ExpireSnapshotsProcedure;
@@ -110,12 +112,14 @@ import static com.facebook.airlift.configuration.ConfigBinder.configBinder;
 import static com.facebook.airlift.json.JsonCodecBinder.jsonCodecBinder;
 import static com.facebook.presto.common.Utils.checkArgument;
 import static com.facebook.presto.iceberg.CatalogType.HADOOP;
+import static com.facebook.presto.iceberg.delete.DeleteFileCache.newDeleteFileCache;
 import static com.facebook.presto.orc.StripeMetadataSource.CacheableRowGroupIndices;
 import static com.facebook.presto.orc.StripeMetadataSource.CacheableSlice;
 import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
 import static com.google.inject.multibindings.OptionalBinder.newOptionalBinder;
 import static java.lang.Math.toIntExact;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.weakref.jmx.ObjectNames.generatedNameOf;
@@ -228,6 +232,15 @@ public class IcebergCommonModule
         return statisticsFileCache;
     }
 
+    @Singleton
+    @Provides
+    public DeleteFileCache createDeleteFileCache(IcebergConfig config, MBeanExporter exporter)
+    {
+        DeleteFileCache deleteFileCache = newDeleteFileCache(config.getMaxDeleteFileCacheSize(), config.isDeleteFileCacheEnabled());
+        exporter.export(generatedNameOf(DeleteFileCache.class, connectorId), deleteFileCache);
+        return deleteFileCache;
+    }
+
     @Singleton
     @Provides
     public ManifestFileCache createManifestFileCache(IcebergConfig config, MBeanExporter exporter)
@@ -258,6 +271,15 @@ public class IcebergCommonModule
                 daemonThreadsNamed("hive-metastore-iceberg-%s"));
     }
 
+    // the ORC file writer factory is only used for the data sinks of the sorting writers, so stripes are never encoded in the background
+    @ForOrcWriter
+    @Singleton
+    @Provides
+    public ExecutorService createOrcWriterExecutor()
+    {
+        return newDirectExecutorService();
+    }
+
     @Provides
     @Singleton
     @ForIcebergSplitManager
@@ -271,6 +293,15 @@ public class IcebergCommonModule
                 daemonThreadsNamed("iceberg-split-manager-" + connectorId + "-%s"));
     }
 
+    // the split loaders iterate over the manifests read on the split manager threads, so they can not share them; bounded by the split manager
+    @Provides
+    @Singleton
+    @ForIcebergSplitLoader
+    public ExecutorService createSplitLoaderExecutor()
+    {
+        return newCachedThreadPool(daemonThreadsNamed("iceberg-split-loader-" + connectorId + "-%s"));
+    }
+
     @Singleton
     @Provides
     public OrcFileTailSource createOrcFileTailSource(OrcCacheConfig orcCacheConfig, MBeanExporter exporter)
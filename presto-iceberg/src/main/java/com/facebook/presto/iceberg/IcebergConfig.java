@@ -17,6 +17,7 @@ import com.facebook.airlift.configuration.Config;
 import com.facebook.airlift.configuration.ConfigDescription;
 import com.facebook.airlift.configuration.LegacyConfig;
 import com.facebook.airlift.units.DataSize;
+import com.facebook.airlift.units.MaxDataSize;
 import com.facebook.presto.hive.HiveCompressionCodec;
 import com.facebook.presto.spi.statistics.ColumnStatisticType;
 import com.google.common.base.Splitter;
@@ -31,6 +32,7 @@ import org.apache.iceberg.hadoop.HadoopFileIO;
 import java.util.EnumSet;
 import java.util.List;
 
+import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
 import static com.facebook.airlift.units.DataSize.succinctDataSize;
 import static com.facebook.presto.hive.HiveCompressionCodec.ZSTD;
@@ -61,6 +63,7 @@ public class IcebergConfig
     private boolean pushdownFilterEnabled;
     private boolean deleteAsJoinRewriteEnabled = true;
     private int deleteAsJoinRewriteMaxDeleteColumns = 400;
+    private DataSize maxEqualityDeleteSize = succinctDataSize(1, GIGABYTE);
     private int rowsForMetadataOptimizationThreshold = 1000;
     private int metadataPreviousVersionsMax = METADATA_PREVIOUS_VERSIONS_MAX_DEFAULT;
     private boolean metadataDeleteAfterCommit = METADATA_DELETE_AFTER_COMMIT_ENABLED_DEFAULT;
@@ -75,7 +78,12 @@ public class IcebergConfig
     private long manifestCacheMaxContentLength = IO_MANIFEST_CACHE_MAX_CONTENT_LENGTH_DEFAULT;
     private DataSize manifestCacheMaxChunkSize = succinctDataSize(2, MEGABYTE);
     private int splitManagerThreads = Runtime.getRuntime().availableProcessors();
+    private boolean backgroundSplitLoadingEnabled;
+    private int maxOutstandingSplits = 1_000;
+    private int maxSplitLoaderThreads = 100;
     private DataSize maxStatisticsFileCacheSize = succinctDataSize(256, MEGABYTE);
+    private boolean deleteFileCacheEnabled;
+    private DataSize maxDeleteFileCacheSize = succinctDataSize(256, MEGABYTE);
     private String materializedViewStoragePrefix = "__mv_storage__";
     private String materializedViewDefaultStorageSchema;
     private int materializedViewMaxChangedPartitions = 100;
@@ -304,6 +312,20 @@ public class IcebergConfig
         return deleteAsJoinRewriteMaxDeleteColumns;
     }
 
+    @NotNull
+    public DataSize getMaxEqualityDeleteSize()
+    {
+        return maxEqualityDeleteSize;
+    }
+
+    @Config("iceberg.max-equality-delete-size")
+    @ConfigDescription("The maximum size in bytes of the rows of an equality delete file applied in memory, when equality deletes are not rewritten as a join")
+    public IcebergConfig setMaxEqualityDeleteSize(DataSize maxEqualityDeleteSize)
+    {
+        this.maxEqualityDeleteSize = maxEqualityDeleteSize;
+        return this;
+    }
+
     @Config("iceberg.rows-for-metadata-optimization-threshold")
     @ConfigDescription("The max partitions number to utilize metadata optimization. 0 means skip the metadata optimization directly.")
     public IcebergConfig setRowsForMetadataOptimizationThreshold(int rowsForMetadataOptimizationThreshold)
@@ -415,6 +437,47 @@ public class IcebergConfig
         return this;
     }
 
+    public boolean isBackgroundSplitLoadingEnabled()
+    {
+        return backgroundSplitLoadingEnabled;
+    }
+
+    @Config("iceberg.background-split-loading-enabled")
+    @ConfigDescription("Enumerate the splits of a table scan in a background thread, so the scheduler does not wait for the manifests to be read")
+    public IcebergConfig setBackgroundSplitLoadingEnabled(boolean backgroundSplitLoadingEnabled)
+    {
+        this.backgroundSplitLoadingEnabled = backgroundSplitLoadingEnabled;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxOutstandingSplits()
+    {
+        return maxOutstandingSplits;
+    }
+
+    @Config("iceberg.max-outstanding-splits")
+    @ConfigDescription("Maximum number of splits loaded in the background that are buffered before they are scheduled")
+    public IcebergConfig setMaxOutstandingSplits(int maxOutstandingSplits)
+    {
+        this.maxOutstandingSplits = maxOutstandingSplits;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxSplitLoaderThreads()
+    {
+        return maxSplitLoaderThreads;
+    }
+
+    @Config("iceberg.max-split-loader-threads")
+    @ConfigDescription("Maximum number of threads enumerating the splits of table scans in the background")
+    public IcebergConfig setMaxSplitLoaderThreads(int maxSplitLoaderThreads)
+    {
+        this.maxSplitLoaderThreads = maxSplitLoaderThreads;
+        return this;
+    }
+
     @Min(0)
     public int getMetadataPreviousVersionsMax()
     {
@@ -468,6 +531,33 @@ public class IcebergConfig
         return this;
     }
 
+    public boolean isDeleteFileCacheEnabled()
+    {
+        return deleteFileCacheEnabled;
+    }
+
+    @Config("iceberg.delete-file-cache-enabled")
+    @ConfigDescription("Cache the decoded position and equality delete files on the workers, to share them across splits and queries")
+    public IcebergConfig setDeleteFileCacheEnabled(boolean deleteFileCacheEnabled)
+    {
+        this.deleteFileCacheEnabled = deleteFileCacheEnabled;
+        return this;
+    }
+
+    @MaxDataSize("2GB")
+    public DataSize getMaxDeleteFileCacheSize()
+    {
+        return maxDeleteFileCacheSize;
+    }
+
+    @Config("iceberg.max-delete-file-cache-size")
+    @ConfigDescription("The maximum size in bytes the decoded delete files cache should consume, up to 2GB")
+    public IcebergConfig setMaxDeleteFileCacheSize(DataSize maxDeleteFileCacheSize)
+    {
+        this.maxDeleteFileCacheSize = maxDeleteFileCacheSize;
+        return this;
+    }
+
     public int getStatisticsKllSketchKParameter()
     {
         return this.statisticsKllSketchKParameter;
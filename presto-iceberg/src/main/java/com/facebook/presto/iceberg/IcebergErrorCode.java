@@ -18,6 +18,7 @@ import com.facebook.presto.common.ErrorType;
 import com.facebook.presto.spi.ErrorCodeSupplier;
 
 import static com.facebook.presto.common.ErrorType.EXTERNAL;
+import static com.facebook.presto.common.ErrorType.INSUFFICIENT_RESOURCES;
 import static com.facebook.presto.common.ErrorType.INTERNAL_ERROR;
 import static com.facebook.presto.common.ErrorType.USER_ERROR;
 
@@ -44,6 +45,7 @@ public enum IcebergErrorCode
     ICEBERG_INVALID_SPEC_ID(19, EXTERNAL),
     ICEBERG_TRANSACTION_CONFLICT_ERROR(20, EXTERNAL),
     ICEBERG_INCOMPATIBLE_COLUMN_TYPE(21, USER_ERROR),
+    ICEBERG_EQUALITY_DELETES_TOO_LARGE(22, INSUFFICIENT_RESOURCES),
     /**/;
 
     private final ErrorCode errorCode;
@@ -43,11 +43,14 @@ import com.facebook.presto.hive.orc.ProjectionBasedDwrfKeyProvider;
 import com.facebook.presto.hive.parquet.ParquetPageSource;
 import com.facebook.presto.iceberg.changelog.ChangelogPageSource;
 import com.facebook.presto.iceberg.delete.DeleteFile;
+import com.facebook.presto.iceberg.delete.DeleteFileCache;
+import com.facebook.presto.iceberg.delete.DeleteFileCacheKey;
 import com.facebook.presto.iceberg.delete.DeleteFilter;
 import com.facebook.presto.iceberg.delete.IcebergDeletePageSink;
 import com.facebook.presto.iceberg.delete.PositionDeleteFilter;
 import com.facebook.presto.iceberg.delete.RowPredicate;
 import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.orc.DwrfEncryptionProvider;
 import com.facebook.presto.orc.DwrfKeyProvider;
 import com.facebook.presto.orc.OrcAggregatedMemoryContext;
@@ -83,7 +86,9 @@ import com.google.common.base.VerifyException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.airlift.slice.Slice;
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -108,6 +113,7 @@ import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
 import org.apache.parquet.io.ColumnIO;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.schema.MessageType;
+import org.roaringbitmap.longlong.ImmutableLongBitmapDataProvider;
 import org.roaringbitmap.longlong.LongBitmapDataProvider;
 import org.roaringbitmap.longlong.Roaring64Bitmap;
 
@@ -120,6 +126,8 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -153,6 +161,7 @@ import static com.facebook.presto.iceberg.IcebergErrorCode.ICEBERG_MISSING_COLUM
 import static com.facebook.presto.iceberg.IcebergErrorCode.ICEBERG_MISSING_DATA;
 import static com.facebook.presto.iceberg.IcebergMetadataColumn.MERGE_PARTITION_DATA;
 import static com.facebook.presto.iceberg.IcebergOrcColumn.ROOT_COLUMN_ID;
+import static com.facebook.presto.iceberg.IcebergSessionProperties.getMaxEqualityDeleteSize;
 import static com.facebook.presto.iceberg.IcebergUtil.deserializePartitionValue;
 import static com.facebook.presto.iceberg.IcebergUtil.getColumns;
 import static com.facebook.presto.iceberg.IcebergUtil.getLocationProvider;
@@ -179,6 +188,8 @@ import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Predicates.not;
 import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
@@ -214,6 +225,7 @@ public class IcebergPageSourceProvider
     private final PageIndexerFactory pageIndexerFactory;
     private final int maxOpenPartitions;
     private final SortParameters sortParameters;
+    private final DeleteFileCache deleteFileCache;
 
     @Inject
     public IcebergPageSourceProvider(
@@ -229,7 +241,8 @@ public class IcebergPageSourceProvider
             JsonCodec<CommitTaskData> jsonCodec,
             PageIndexerFactory pageIndexerFactory,
             IcebergConfig icebergConfig,
-            SortParameters sortParameters)
+            SortParameters sortParameters,
+            DeleteFileCache deleteFileCache)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.fileFormatDataSourceStats = requireNonNull(fileFormatDataSourceStats, "fileFormatDataSourceStats is null");
@@ -245,6 +258,7 @@ public class IcebergPageSourceProvider
         requireNonNull(icebergConfig, "icebergConfig is null");
         this.maxOpenPartitions = icebergConfig.getMaxPartitionsPerWriter();
         this.sortParameters = requireNonNull(sortParameters, "sortParameters is null");
+        this.deleteFileCache = requireNonNull(deleteFileCache, "deleteFileCache is null");
     }
 
     private static ConnectorPageSourceWithRowPositions createParquetPageSource(
@@ -900,6 +914,7 @@ public class IcebergPageSourceProvider
                 split.getPath(),
                 split.getFileFormat());
         boolean storeDeleteFilePath = icebergColumns.contains(DELETE_FILE_PATH_COLUMN_HANDLE);
+        AggregatedMemoryContext deleteFiltersMemoryContext = newSimpleAggregatedMemoryContext();
         Supplier<List<DeleteFilter>> deleteFilters = memoize(() -> {
             // If equality deletes are optimized into a join they don't need to be applied here
             List<DeleteFile> deletesToApply = split
@@ -914,7 +929,8 @@ public class IcebergPageSourceProvider
                     deletesToApply,
                     partitionInsertingPageSource.getRowPositionDelegate().getStartRowPosition(),
                     partitionInsertingPageSource.getRowPositionDelegate().getEndRowPosition(),
-                    storeDeleteFilePath);
+                    storeDeleteFilePath,
+                    deleteFiltersMemoryContext.newLocalMemoryContext(IcebergUpdateablePageSource.class.getSimpleName()));
         });
         Supplier<Optional<RowPredicate>> deletePredicate = memoize(() -> deleteFilters.get().stream()
                 .map(filter -> filter.createPredicate(delegateColumns))
@@ -949,6 +965,7 @@ public class IcebergPageSourceProvider
                 deleteSinkSupplier,
                 deletePredicate,
                 deleteFilters,
+                deleteFiltersMemoryContext,
                 updatedRowPageSinkSupplier,
                 table.getUpdatedColumns(),
                 rowIdColumnHandle,
@@ -991,7 +1008,8 @@ public class IcebergPageSourceProvider
             List<DeleteFile> deleteFiles,
             Optional<Long> startRowPosition,
             Optional<Long> endRowPosition,
-            boolean storeDeleteFilePath)
+            boolean storeDeleteFilePath,
+            LocalMemoryContext memoryContext)
     {
         verify(startRowPosition.isPresent() == endRowPosition.isPresent(), "startRowPosition and endRowPosition must be specified together");
 
@@ -1002,13 +1020,17 @@ public class IcebergPageSourceProvider
         IcebergColumnHandle deleteFilePath = IcebergColumnHandle.create(DELETE_FILE_PATH, typeManager, IcebergColumnHandle.ColumnType.REGULAR);
         IcebergColumnHandle deleteFilePos = IcebergColumnHandle.create(DELETE_FILE_POS, typeManager, IcebergColumnHandle.ColumnType.REGULAR);
         List<IcebergColumnHandle> deleteColumns = ImmutableList.of(deleteFilePath, deleteFilePos);
-        TupleDomain<IcebergColumnHandle> deleteDomain = TupleDomain.fromFixedValues(ImmutableMap.of(deleteFilePath, NullableValue.of(VARCHAR, targetPath)));
+        // the cached deletes of a data file are read for all its rows, so that they are shared by all its splits
+        TupleDomain<IcebergColumnHandle> dataFileDeleteDomain = TupleDomain.fromFixedValues(ImmutableMap.of(deleteFilePath, NullableValue.of(VARCHAR, targetPath)));
+        TupleDomain<IcebergColumnHandle> deleteDomain = dataFileDeleteDomain;
         if (startRowPosition.isPresent()) {
             Range positionRange = Range.range(deleteFilePos.getType(), startRowPosition.get(), true, endRowPosition.get(), true);
             TupleDomain<IcebergColumnHandle> positionDomain = TupleDomain.withColumnDomains(ImmutableMap.of(deleteFilePos, Domain.create(ValueSet.ofRanges(positionRange), false)));
             deleteDomain = deleteDomain.intersect(positionDomain);
         }
 
+        List<ImmutableLongBitmapDataProvider> cachedDeletedRows = new ArrayList<>();
+
         for (DeleteFile delete : deleteFiles) {
             if (delete.content() == POSITION_DELETES) {
                 if (startRowPosition.isPresent()) {
@@ -1026,16 +1048,32 @@ public class IcebergPageSourceProvider
                     }
                 }
 
-                try (ConnectorPageSource pageSource = openDeletes(session, delete, deleteColumns, deleteDomain)) {
-                    readPositionDeletes(pageSource, targetPath, deletedRows);
-                }
-                catch (IOException e) {
-                    throw new PrestoException(ICEBERG_CANNOT_OPEN_SPLIT, format("Cannot open Iceberg delete file: %s", delete.path()), e);
+                if (deleteFileCache.isEnabled()) {
+                    PositionDeleteFilter filter = (PositionDeleteFilter) getCachedDeleteFilter(
+                            new DeleteFileCacheKey(delete.path(), delete.fileSizeInBytes(), deleteColumns, Optional.of(dataFilePath), Optional.empty()),
+                            () -> {
+                                Roaring64Bitmap dataFileDeletedRows = new Roaring64Bitmap();
+                                readPositionDeleteFile(session, delete, deleteColumns, dataFileDeleteDomain, targetPath, dataFileDeletedRows);
+                                return addMemory(memoryContext, new PositionDeleteFilter(dataFileDeletedRows, delete.path()));
+                            });
+                    if (storeDeleteFilePath) {
+                        filters.add(filter);
+                    }
+                    else {
+                        cachedDeletedRows.add(filter.getDeletedRows());
+                    }
+                    continue;
                 }
+
+                long deletedRowsSizeInBytes = deletedRows.getLongSizeInBytes();
+                readPositionDeleteFile(session, delete, deleteColumns, deleteDomain, targetPath, deletedRows);
                 if (storeDeleteFilePath) {
-                    filters.add(new PositionDeleteFilter(deletedRows, delete.path()));
+                    filters.add(addMemory(memoryContext, new PositionDeleteFilter(deletedRows, delete.path())));
                     deletedRows = new Roaring64Bitmap(); // Reset the deleted rows for the next file
                 }
+                else {
+                    memoryContext.setBytes(memoryContext.getBytes() + deletedRows.getLongSizeInBytes() - deletedRowsSizeInBytes);
+                }
             }
             else if (delete.content() == EQUALITY_DELETES) {
                 List<Integer> fieldIds = delete.equalityFieldIds();
@@ -1044,11 +1082,15 @@ public class IcebergPageSourceProvider
                         .map(id -> IcebergColumnHandle.create(schema.findField(id), typeManager, IcebergColumnHandle.ColumnType.REGULAR))
                         .collect(toImmutableList());
 
-                try (ConnectorPageSource pageSource = openDeletes(session, delete, columns, TupleDomain.all())) {
-                    filters.add(readEqualityDeletes(pageSource, columns, storeDeleteFilePath ? delete.path() : null));
+                DataSize maxEqualityDeleteSize = getMaxEqualityDeleteSize(session);
+                if (deleteFileCache.isEnabled()) {
+                    // the path of the delete file is only used when the deleted rows are returned with their delete file
+                    filters.add(getCachedDeleteFilter(
+                            new DeleteFileCacheKey(delete.path(), delete.fileSizeInBytes(), columns, Optional.empty(), Optional.of(maxEqualityDeleteSize)),
+                            () -> addMemory(memoryContext, readEqualityDeleteFile(session, delete, columns, delete.path(), maxEqualityDeleteSize))));
                 }
-                catch (IOException e) {
-                    throw new PrestoException(ICEBERG_CANNOT_OPEN_SPLIT, format("Cannot open Iceberg delete file: %s", delete.path()), e);
+                else {
+                    filters.add(addMemory(memoryContext, readEqualityDeleteFile(session, delete, columns, storeDeleteFilePath ? delete.path() : null, maxEqualityDeleteSize)));
                 }
             }
             else {
@@ -1056,13 +1098,79 @@ public class IcebergPageSourceProvider
             }
         }
 
-        if (!deletedRows.isEmpty() && !storeDeleteFilePath) {
-            filters.add(new PositionDeleteFilter(deletedRows, null));
+        if (!storeDeleteFilePath) {
+            if (deletedRows.isEmpty() && cachedDeletedRows.size() == 1) {
+                filters.add(new PositionDeleteFilter(cachedDeletedRows.get(0), null));
+            }
+            else {
+                long deletedRowsSizeInBytes = deletedRows.getLongSizeInBytes();
+                for (ImmutableLongBitmapDataProvider rows : cachedDeletedRows) {
+                    rows.forEach(deletedRows::addLong);
+                }
+                memoryContext.setBytes(memoryContext.getBytes() + deletedRows.getLongSizeInBytes() - deletedRowsSizeInBytes);
+                if (!deletedRows.isEmpty()) {
+                    filters.add(new PositionDeleteFilter(deletedRows, null));
+                }
+            }
         }
 
         return filters;
     }
 
+    /**
+     * Adds the memory of a delete filter read by the split, including the filters it loads into the delete file cache.
+     * The filters found in the cache were read by another split, and are bounded by the size of the cache.
+     */
+    private static <T extends DeleteFilter> T addMemory(LocalMemoryContext memoryContext, T filter)
+    {
+        memoryContext.setBytes(memoryContext.getBytes() + filter.getRetainedSizeInBytes());
+        return filter;
+    }
+
+    private DeleteFilter getCachedDeleteFilter(DeleteFileCacheKey key, Callable<DeleteFilter> loader)
+    {
+        try {
+            // concurrent splits reading the same delete file wait for a single load
+            return deleteFileCache.get(key, loader);
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfInstanceOf(e.getCause(), PrestoException.class);
+            throwIfUnchecked(e.getCause());
+            throw new PrestoException(ICEBERG_CANNOT_OPEN_SPLIT, format("Cannot read Iceberg delete file: %s", key), e.getCause());
+        }
+    }
+
+    private void readPositionDeleteFile(
+            ConnectorSession session,
+            DeleteFile delete,
+            List<IcebergColumnHandle> deleteColumns,
+            TupleDomain<IcebergColumnHandle> deleteDomain,
+            Slice targetPath,
+            LongBitmapDataProvider deletedRows)
+    {
+        try (ConnectorPageSource pageSource = openDeletes(session, delete, deleteColumns, deleteDomain)) {
+            readPositionDeletes(pageSource, targetPath, deletedRows);
+        }
+        catch (IOException e) {
+            throw new PrestoException(ICEBERG_CANNOT_OPEN_SPLIT, format("Cannot open Iceberg delete file: %s", delete.path()), e);
+        }
+    }
+
+    private DeleteFilter readEqualityDeleteFile(
+            ConnectorSession session,
+            DeleteFile delete,
+            List<IcebergColumnHandle> columns,
+            @Nullable String deleteFilePath,
+            DataSize maxEqualityDeleteSize)
+    {
+        try (ConnectorPageSource pageSource = openDeletes(session, delete, columns, TupleDomain.all())) {
+            return readEqualityDeletes(pageSource, columns, deleteFilePath, maxEqualityDeleteSize);
+        }
+        catch (IOException e) {
+            throw new PrestoException(ICEBERG_CANNOT_OPEN_SPLIT, format("Cannot open Iceberg delete file: %s", delete.path()), e);
+        }
+    }
+
     private ConnectorPageSource openDeletes(
             ConnectorSession session,
             DeleteFile delete,
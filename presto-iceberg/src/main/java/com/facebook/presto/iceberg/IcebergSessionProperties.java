@@ -66,11 +66,13 @@ public final class IcebergSessionProperties
     public static final String PUSHDOWN_FILTER_ENABLED = "pushdown_filter_enabled";
     public static final String DELETE_AS_JOIN_REWRITE_ENABLED = "delete_as_join_rewrite_enabled";
     public static final String DELETE_AS_JOIN_REWRITE_MAX_DELETE_COLUMNS = "delete_as_join_rewrite_max_delete_columns";
+    public static final String MAX_EQUALITY_DELETE_SIZE = "max_equality_delete_size";
     public static final String HIVE_METASTORE_STATISTICS_MERGE_STRATEGY = "hive_statistics_merge_strategy";
     public static final String STATISTIC_SNAPSHOT_RECORD_DIFFERENCE_WEIGHT = "statistic_snapshot_record_difference_weight";
     public static final String ROWS_FOR_METADATA_OPTIMIZATION_THRESHOLD = "rows_for_metadata_optimization_threshold";
     public static final String STATISTICS_KLL_SKETCH_K_PARAMETER = "statistics_kll_sketch_k_parameter";
     public static final String TARGET_SPLIT_SIZE_BYTES = "target_split_size_bytes";
+    public static final String BACKGROUND_SPLIT_LOADING_ENABLED = "background_split_loading_enabled";
     public static final String MATERIALIZED_VIEW_STORAGE_PREFIX = "materialized_view_storage_prefix";
     public static final String MATERIALIZED_VIEW_DEFAULT_STORAGE_SCHEMA = "materialized_view_default_storage_schema";
     public static final String MAX_PARTITIONS_PER_WRITER = "max_partitions_per_writer";
@@ -206,6 +208,11 @@ public final class IcebergSessionProperties
                             return intValue;
                         },
                         integer -> integer))
+                .add(dataSizeSessionProperty(
+                        MAX_EQUALITY_DELETE_SIZE,
+                        "The maximum size of the rows of an equality delete file applied in memory, when equality deletes are not rewritten as a join",
+                        icebergConfig.getMaxEqualityDeleteSize(),
+                        false))
                 .add(integerProperty(
                         ROWS_FOR_METADATA_OPTIMIZATION_THRESHOLD,
                         "The max partitions number to utilize metadata optimization. When partitions number " +
@@ -238,6 +245,11 @@ public final class IcebergSessionProperties
                         "The target split size. Set to 0 to use the iceberg table's read.split.target-size property",
                         0L,
                         false))
+                .add(booleanProperty(
+                        BACKGROUND_SPLIT_LOADING_ENABLED,
+                        "Enumerate the splits of a table scan in a background thread",
+                        icebergConfig.isBackgroundSplitLoadingEnabled(),
+                        false))
                 .add(stringProperty(
                         MATERIALIZED_VIEW_STORAGE_PREFIX,
                         "Default prefix for generated materialized view storage table names. " +
@@ -377,6 +389,11 @@ public final class IcebergSessionProperties
         return session.getProperty(DELETE_AS_JOIN_REWRITE_MAX_DELETE_COLUMNS, Integer.class);
     }
 
+    public static DataSize getMaxEqualityDeleteSize(ConnectorSession session)
+    {
+        return session.getProperty(MAX_EQUALITY_DELETE_SIZE, DataSize.class);
+    }
+
     public static int getRowsForMetadataOptimizationThreshold(ConnectorSession session)
     {
         return session.getProperty(ROWS_FOR_METADATA_OPTIMIZATION_THRESHOLD, Integer.class);
@@ -407,6 +424,11 @@ public final class IcebergSessionProperties
         return session.getProperty(TARGET_SPLIT_SIZE_BYTES, Long.class);
     }
 
+    public static boolean isBackgroundSplitLoadingEnabled(ConnectorSession session)
+    {
+        return session.getProperty(BACKGROUND_SPLIT_LOADING_ENABLED, Boolean.class);
+    }
+
     public static String getMaterializedViewStoragePrefix(ConnectorSession session)
     {
         return session.getProperty(MATERIALIZED_VIEW_STORAGE_PREFIX, String.class);
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.iceberg;
 
+import com.facebook.airlift.concurrent.BoundedExecutor;
 import com.facebook.airlift.concurrent.ThreadPoolExecutorMBean;
 import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.common.type.TypeManager;
@@ -38,10 +39,12 @@ import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static com.facebook.presto.iceberg.ExpressionConverter.toIcebergExpression;
+import static com.facebook.presto.iceberg.IcebergSessionProperties.isBackgroundSplitLoadingEnabled;
 import static com.facebook.presto.iceberg.IcebergTableType.CHANGELOG;
 import static com.facebook.presto.iceberg.IcebergTableType.EQUALITY_DELETES;
 import static com.facebook.presto.iceberg.IcebergUtil.getIcebergTable;
@@ -56,17 +59,24 @@ public class IcebergSplitManager
     private final TypeManager typeManager;
     private final ExecutorService executor;
     private final ThreadPoolExecutorMBean executorServiceMBean;
+    private final Executor splitLoaderExecutor;
+    private final int maxOutstandingSplits;
 
     @Inject
     public IcebergSplitManager(
             IcebergTransactionManager transactionManager,
             TypeManager typeManager,
-            @ForIcebergSplitManager ExecutorService executor)
+            @ForIcebergSplitManager ExecutorService executor,
+            @ForIcebergSplitLoader ExecutorService splitLoaderExecutor,
+            IcebergConfig icebergConfig)
     {
         this.transactionManager = requireNonNull(transactionManager, "transactionManager is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.executor = requireNonNull(executor, "executor is null");
         this.executorServiceMBean = new ThreadPoolExecutorMBean((ThreadPoolExecutor) executor);
+        requireNonNull(icebergConfig, "icebergConfig is null");
+        this.splitLoaderExecutor = new BoundedExecutor(requireNonNull(splitLoaderExecutor, "splitLoaderExecutor is null"), icebergConfig.getMaxSplitLoaderThreads());
+        this.maxOutstandingSplits = icebergConfig.getMaxOutstandingSplits();
     }
 
     @Override
@@ -130,10 +140,9 @@ public class IcebergSplitManager
 
             return procedureContext
                     .flatMap(context -> context.customizeSplitSource(session, tableScan, metadataColumnConstraints))
-                    .orElseGet(() -> new IcebergSplitSource(
-                            session,
-                            tableScan,
-                            metadataColumnConstraints));
+                    .orElseGet(() -> isBackgroundSplitLoadingEnabled(session)
+                            ? new IcebergSplitSource(session, tableScan, metadataColumnConstraints, splitLoaderExecutor, maxOutstandingSplits)
+                            : new IcebergSplitSource(session, tableScan, metadataColumnConstraints));
         }
     }
 
@@ -14,6 +14,9 @@
 package com.facebook.presto.iceberg;
 
 import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.hive.util.AsyncQueue;
+import com.facebook.presto.hive.util.ResumableTask;
+import com.facebook.presto.hive.util.ResumableTasks;
 import com.facebook.presto.iceberg.delete.DeleteFile;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplit;
@@ -24,6 +27,7 @@ import com.facebook.presto.spi.connector.ConnectorPartitionHandle;
 import com.facebook.presto.spi.schedule.NodeSelectionStrategy;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Closer;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.PartitionSpecParser;
@@ -39,10 +43,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import static com.facebook.airlift.concurrent.MoreFutures.toCompletableFuture;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getAffinitySchedulingFileSectionSize;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.getNodeSelectionStrategy;
 import static com.facebook.presto.iceberg.FileFormat.fromIcebergFileFormat;
+import static com.facebook.presto.iceberg.IcebergErrorCode.ICEBERG_FILESYSTEM_ERROR;
 import static com.facebook.presto.iceberg.IcebergSessionProperties.getMinimumAssignedSplitWeight;
 import static com.facebook.presto.iceberg.IcebergUtil.buildLastUpdatedSequenceNumberEvaluator;
 import static com.facebook.presto.iceberg.IcebergUtil.getDataSequenceNumber;
@@ -52,8 +59,11 @@ import static com.facebook.presto.iceberg.IcebergUtil.getTargetSplitSize;
 import static com.facebook.presto.iceberg.IcebergUtil.metadataColumnsMatchPredicates;
 import static com.facebook.presto.iceberg.IcebergUtil.partitionDataFromStructLike;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Iterators.limit;
+import static com.google.common.util.concurrent.Futures.transform;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.apache.iceberg.util.TableScanUtil.splitFiles;
@@ -72,6 +82,11 @@ public class IcebergSplitSource
     private final TupleDomain<IcebergColumnHandle> metadataColumnConstraints;
     private final InclusiveMetricsEvaluator lineageEvaluator;
 
+    // the splits enumerated by the background loader, if any
+    private final Optional<AsyncQueue<ConnectorSplit>> bufferedSplits;
+    private volatile Throwable loaderFailure;
+    private volatile boolean closed;
+
     public IcebergSplitSource(
             ConnectorSession session,
             TableScan tableScan,
@@ -80,11 +95,42 @@ public class IcebergSplitSource
         this(session, getTargetSplitSize(session, tableScan).toBytes(), tableScan.planFiles(), metadataColumnConstraints);
     }
 
+    /**
+     * Creates a split source that enumerates the splits of the scan in the background, on the given executor,
+     * while the scheduler consumes the splits already found, buffering at most {@code maxOutstandingSplits}.
+     * The loader does not wait for the scheduler on a thread of the executor, so it can be bounded.
+     */
+    public IcebergSplitSource(
+            ConnectorSession session,
+            TableScan tableScan,
+            TupleDomain<IcebergColumnHandle> metadataColumnConstraints,
+            Executor splitLoaderExecutor,
+            int maxOutstandingSplits)
+    {
+        this(
+                session,
+                getTargetSplitSize(session, tableScan).toBytes(),
+                tableScan.planFiles(),
+                metadataColumnConstraints,
+                Optional.of(new AsyncQueue<>(maxOutstandingSplits, splitLoaderExecutor)));
+        ResumableTasks.submit(splitLoaderExecutor, new SplitLoaderTask());
+    }
+
     public IcebergSplitSource(
             ConnectorSession session,
             long targetSplitSize,
             CloseableIterable<FileScanTask> fileScanTasks,
             TupleDomain<IcebergColumnHandle> metadataColumnConstraints)
+    {
+        this(session, targetSplitSize, fileScanTasks, metadataColumnConstraints, Optional.empty());
+    }
+
+    private IcebergSplitSource(
+            ConnectorSession session,
+            long targetSplitSize,
+            CloseableIterable<FileScanTask> fileScanTasks,
+            TupleDomain<IcebergColumnHandle> metadataColumnConstraints,
+            Optional<AsyncQueue<ConnectorSplit>> bufferedSplits)
     {
         requireNonNull(session, "session is null");
         this.metadataColumnConstraints = requireNonNull(metadataColumnConstraints, "metadataColumnConstraints is null");
@@ -93,6 +139,7 @@ public class IcebergSplitSource
         this.minimumAssignedSplitWeight = getMinimumAssignedSplitWeight(session);
         this.nodeSelectionStrategy = getNodeSelectionStrategy(session);
         this.affinitySchedulingFileSectionSize = getAffinitySchedulingFileSectionSize(session).toBytes();
+        this.bufferedSplits = requireNonNull(bufferedSplits, "bufferedSplits is null");
         this.fileScanTaskIterator = closer.register(
                 splitFiles(
                         closer.register(fileScanTasks),
@@ -103,20 +150,21 @@ public class IcebergSplitSource
     @Override
     public CompletableFuture<ConnectorSplitBatch> getNextBatch(ConnectorPartitionHandle partitionHandle, int maxSize)
     {
-        // TODO: move this to a background thread
+        if (bufferedSplits.isPresent()) {
+            AsyncQueue<ConnectorSplit> queue = bufferedSplits.get();
+            return toCompletableFuture(transform(
+                    queue.getBatchAsync(maxSize),
+                    splits -> {
+                        throwIfLoaderFailed();
+                        return new ConnectorSplitBatch(splits, queue.isFinished());
+                    },
+                    directExecutor()));
+        }
+
         List<ConnectorSplit> splits = new ArrayList<>();
         Iterator<FileScanTask> iterator = limit(fileScanTaskIterator, maxSize);
         while (iterator.hasNext()) {
-            FileScanTask task = iterator.next();
-            IcebergSplit icebergSplit = (IcebergSplit) toIcebergSplit(task);
-            if (metadataColumnsMatchPredicates(
-                    metadataColumnConstraints,
-                    icebergSplit.getPath(),
-                    icebergSplit.getDataSequenceNumber(),
-                    task.file(),
-                    lineageEvaluator)) {
-                splits.add(icebergSplit);
-            }
+            toMatchingSplit(iterator.next()).ifPresent(splits::add);
         }
         return completedFuture(new ConnectorSplitBatch(splits, isFinished()));
     }
@@ -124,21 +172,86 @@ public class IcebergSplitSource
     @Override
     public boolean isFinished()
     {
+        if (bufferedSplits.isPresent()) {
+            throwIfLoaderFailed();
+            return bufferedSplits.get().isFinished();
+        }
         return !fileScanTaskIterator.hasNext();
     }
 
     @Override
     public void close()
     {
-        try {
-            closer.close();
-            // TODO: remove this after org.apache.iceberg.io.CloseableIterator'withClose
-            //  correct release resources holds by iterator.
-            fileScanTaskIterator = CloseableIterator.empty();
+        closed = true;
+        // unblocks the scheduler waiting for splits, the loader stops at its next step
+        bufferedSplits.ifPresent(AsyncQueue::finish);
+        // waits for the loader to be done with the iterator before closing it
+        synchronized (this) {
+            try {
+                closer.close();
+                // TODO: remove this after org.apache.iceberg.io.CloseableIterator'withClose
+                //  correct release resources holds by iterator.
+                fileScanTaskIterator = CloseableIterator.empty();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Enumerates the splits into the buffer until it is full, and continues once the scheduler took some of them,
+     * so that a split source waiting for the scheduler does not hold a thread of the loader executor.
+     */
+    private class SplitLoaderTask
+            implements ResumableTask
+    {
+        @Override
+        public ResumableTaskStatus process()
+        {
+            AsyncQueue<ConnectorSplit> queue = bufferedSplits.get();
+            synchronized (IcebergSplitSource.this) {
+                try {
+                    while (!closed && fileScanTaskIterator.hasNext()) {
+                        Optional<ConnectorSplit> split = toMatchingSplit(fileScanTaskIterator.next());
+                        if (split.isPresent()) {
+                            ListenableFuture<?> notFull = queue.offer(split.get());
+                            if (!notFull.isDone()) {
+                                return ResumableTaskStatus.continueOn(notFull);
+                            }
+                        }
+                    }
+                }
+                catch (Throwable t) {
+                    loaderFailure = t;
+                }
+            }
+            queue.finish();
+            return ResumableTaskStatus.finished();
         }
-        catch (IOException e) {
-            throw new UncheckedIOException(e);
+    }
+
+    private void throwIfLoaderFailed()
+    {
+        Throwable failure = loaderFailure;
+        if (failure != null) {
+            throwIfInstanceOf(failure, PrestoException.class);
+            throw new PrestoException(ICEBERG_FILESYSTEM_ERROR, "Failed to enumerate the splits of the table", failure);
+        }
+    }
+
+    private Optional<ConnectorSplit> toMatchingSplit(FileScanTask task)
+    {
+        IcebergSplit icebergSplit = (IcebergSplit) toIcebergSplit(task);
+        if (!metadataColumnsMatchPredicates(
+                metadataColumnConstraints,
+                icebergSplit.getPath(),
+                icebergSplit.getDataSequenceNumber(),
+                task.file(),
+                lineageEvaluator)) {
+            return Optional.empty();
         }
+        return Optional.of(icebergSplit);
     }
 
     private ConnectorSplit toIcebergSplit(FileScanTask task)
@@ -23,6 +23,7 @@ import com.facebook.presto.hive.HivePartitionKey;
 import com.facebook.presto.iceberg.delete.DeleteFilter;
 import com.facebook.presto.iceberg.delete.IcebergDeletePageSink;
 import com.facebook.presto.iceberg.delete.RowPredicate;
+import com.facebook.presto.memory.context.AggregatedMemoryContext;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.UpdatablePageSource;
@@ -76,6 +77,8 @@ public class IcebergUpdateablePageSource
     private IcebergDeletePageSink positionDeleteSink;
     private final Supplier<Optional<RowPredicate>> deletePredicate;
     private final Supplier<List<DeleteFilter>> deleteFilters;
+    // the memory of the delete files read for this split, updated as each file is read
+    private final AggregatedMemoryContext deleteFiltersMemoryContext;
 
     private final List<IcebergColumnHandle> columns;
     /**
@@ -121,6 +124,7 @@ public class IcebergUpdateablePageSource
             Supplier<IcebergDeletePageSink> deleteSinkSupplier,
             Supplier<Optional<RowPredicate>> deletePredicate,
             Supplier<List<DeleteFilter>> deleteFilters,
+            AggregatedMemoryContext deleteFiltersMemoryContext,
             Supplier<IcebergPageSink> updatedRowPageSinkSupplier,
             // the columns that this page source is supposed to update
             List<IcebergColumnHandle> updatedColumns,
@@ -137,6 +141,7 @@ public class IcebergUpdateablePageSource
         this.deleteSinkSupplier = deleteSinkSupplier;
         this.deletePredicate = requireNonNull(deletePredicate, "deletePredicate is null");
         this.deleteFilters = requireNonNull(deleteFilters, "deleteFilters is null");
+        this.deleteFiltersMemoryContext = requireNonNull(deleteFiltersMemoryContext, "deleteFiltersMemoryContext is null");
         // information for updates
         this.updatedRowPageSinkSupplier = requireNonNull(updatedRowPageSinkSupplier, "updatedRowPageSinkSupplier is null");
         this.updatedColumns = requireNonNull(updatedColumns, "updatedColumns is null");
@@ -624,6 +629,9 @@ public class IcebergUpdateablePageSource
         catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        finally {
+            deleteFiltersMemoryContext.close();
+        }
     }
 
     @Override
@@ -635,7 +643,7 @@ public class IcebergUpdateablePageSource
     @Override
     public long getSystemMemoryUsage()
     {
-        long totalMemUsage = delegate.getSystemMemoryUsage();
+        long totalMemUsage = delegate.getSystemMemoryUsage() + deleteFiltersMemoryContext.getBytes();
         if (positionDeleteSink != null) {
             totalMemUsage += positionDeleteSink.getSystemMemoryUsage();
         }
@@ -0,0 +1,76 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg.delete;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.hive.CacheStatsMBean;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.ForwardingCache.SimpleForwardingCache;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+
+/**
+ * Worker-wide cache of decoded delete files, shared by the splits of all queries reading them:
+ * the deleted positions of a data file read from a position delete file, and the deleted rows of an
+ * equality delete file.
+ */
+public class DeleteFileCache
+        extends SimpleForwardingCache<DeleteFileCacheKey, DeleteFilter>
+{
+    private static final DataSize MAX_SIZE = new DataSize(2, GIGABYTE);
+
+    private final boolean enabled;
+    private final CacheStatsMBean cacheStats;
+
+    public DeleteFileCache(Cache<DeleteFileCacheKey, DeleteFilter> delegate, boolean enabled)
+    {
+        super(delegate);
+        this.enabled = enabled;
+        this.cacheStats = new CacheStatsMBean(delegate);
+    }
+
+    /**
+     * Creates a cache retaining at most {@code maxSize} of delete filters. The weights saturate at
+     * {@link Integer#MAX_VALUE}, which still exceeds a segment of a cache of at most 2GB: a filter
+     * larger than the whole cache is evicted as soon as it is loaded.
+     */
+    public static DeleteFileCache newDeleteFileCache(DataSize maxSize, boolean enabled)
+    {
+        checkArgument(maxSize.compareTo(MAX_SIZE) <= 0, "maxSize must be at most %s: %s", MAX_SIZE, maxSize);
+        Cache<DeleteFileCacheKey, DeleteFilter> delegate = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<DeleteFileCacheKey, DeleteFilter>weigher((key, filter) -> toIntExact(min(filter.getRetainedSizeInBytes(), Integer.MAX_VALUE)))
+                .recordStats()
+                .build();
+        return new DeleteFileCache(delegate, enabled);
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return cacheStats;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+}
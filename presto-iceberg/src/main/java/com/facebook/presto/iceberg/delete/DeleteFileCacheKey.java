@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg.delete;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.iceberg.IcebergColumnHandle;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+public class DeleteFileCacheKey
+{
+    private final String path;
+    private final long fileSizeInBytes;
+    private final List<IcebergColumnHandle> columns;
+    // the data file whose deleted positions are read, for position delete files
+    private final Optional<String> dataFilePath;
+    // the session limit the rows of equality delete files were read with, as it decides how they are kept
+    private final Optional<DataSize> maxEqualityDeleteSize;
+
+    public DeleteFileCacheKey(String path, long fileSizeInBytes, List<IcebergColumnHandle> columns, Optional<String> dataFilePath, Optional<DataSize> maxEqualityDeleteSize)
+    {
+        this.path = requireNonNull(path, "path is null");
+        this.fileSizeInBytes = fileSizeInBytes;
+        this.columns = ImmutableList.copyOf(requireNonNull(columns, "columns is null"));
+        this.dataFilePath = requireNonNull(dataFilePath, "dataFilePath is null");
+        this.maxEqualityDeleteSize = requireNonNull(maxEqualityDeleteSize, "maxEqualityDeleteSize is null");
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DeleteFileCacheKey)) {
+            return false;
+        }
+        DeleteFileCacheKey that = (DeleteFileCacheKey) o;
+        return fileSizeInBytes == that.fileSizeInBytes &&
+                Objects.equals(path, that.path) &&
+                Objects.equals(columns, that.columns) &&
+                Objects.equals(dataFilePath, that.dataFilePath) &&
+                Objects.equals(maxEqualityDeleteSize, that.maxEqualityDeleteSize);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(path, fileSizeInBytes, columns, dataFilePath, maxEqualityDeleteSize);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("path", path)
+                .add("fileSizeInBytes", fileSizeInBytes)
+                .add("dataFilePath", dataFilePath.orElse(null))
+                .add("maxEqualityDeleteSize", maxEqualityDeleteSize.orElse(null))
+                .toString();
+    }
+}
@@ -23,4 +23,9 @@ public interface DeleteFilter
     RowPredicate createPredicate(List<IcebergColumnHandle> columns);
 
     Optional<String> getDeleteFilePath();
+
+    /**
+     * The estimated memory retained by the decoded deletes of this filter.
+     */
+    long getRetainedSizeInBytes();
 }
@@ -13,51 +13,96 @@
  */
 package com.facebook.presto.iceberg.delete;
 
+import com.facebook.airlift.units.DataSize;
 import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.type.Type;
 import com.facebook.presto.iceberg.IcebergColumnHandle;
 import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.PrestoException;
+import com.google.common.collect.ImmutableList;
 import jakarta.annotation.Nullable;
-import org.apache.iceberg.Schema;
-import org.apache.iceberg.StructLike;
-import org.apache.iceberg.util.StructLikeSet;
-import org.apache.iceberg.util.StructProjection;
+import org.openjdk.jol.info.ClassLayout;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
-import static com.facebook.presto.iceberg.IcebergUtil.schemaFromHandles;
+import static com.facebook.presto.common.type.TypeUtils.hashPosition;
+import static com.facebook.presto.iceberg.IcebergErrorCode.ICEBERG_EQUALITY_DELETES_TOO_LARGE;
+import static com.facebook.presto.iceberg.IcebergSessionProperties.DELETE_AS_JOIN_REWRITE_ENABLED;
+import static com.facebook.presto.iceberg.IcebergSessionProperties.MAX_EQUALITY_DELETE_SIZE;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static java.lang.Math.addExact;
+import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Filters the rows equal to a row of an equality delete file. The deleted rows are kept in the pages read from
+ * the delete file, and are looked up through an open addressing hash table of their addresses, as in PagesHash.
+ */
 public final class EqualityDeleteFilter
         implements DeleteFilter
 {
-    private final Schema schema;
-    private final StructLikeSet deleteSet;
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(EqualityDeleteFilter.class).instanceSize();
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final List<IcebergColumnHandle> columns;
+    private final Type[] types;
+    private final List<Page> pages;
+    // the index of the page in the upper and the position in the page in the lower 32 bits of the distinct deleted rows
+    private final long[] addresses;
+    // the indexes of the addresses, or -1 for the empty slots
+    private final int[] hashTable;
+    private final int mask;
     @Nullable
     private final String deleteFilePath;
+    private final long retainedSizeInBytes;
 
-    private EqualityDeleteFilter(Schema schema, StructLikeSet deleteSet, @Nullable String deleteFilePath)
+    private EqualityDeleteFilter(List<IcebergColumnHandle> columns, Type[] types, List<Page> pages, int positionCount, @Nullable String deleteFilePath)
     {
-        this.schema = requireNonNull(schema, "schema is null");
-        this.deleteSet = requireNonNull(deleteSet, "deleteSet is null");
+        this.columns = ImmutableList.copyOf(requireNonNull(columns, "columns is null"));
+        this.types = requireNonNull(types, "types is null");
+        this.pages = ImmutableList.copyOf(requireNonNull(pages, "pages is null"));
         this.deleteFilePath = deleteFilePath;
+
+        int hashSize = getHashSize(positionCount);
+        this.mask = hashSize - 1;
+        this.hashTable = new int[hashSize];
+        Arrays.fill(hashTable, -1);
+
+        int[] channels = new int[types.length];
+        Arrays.setAll(channels, channel -> channel);
+        long[] addresses = new long[positionCount];
+        int addressCount = 0;
+        long pagesRetainedSizeInBytes = 0;
+        for (int pageIndex = 0; pageIndex < this.pages.size(); pageIndex++) {
+            Page page = this.pages.get(pageIndex);
+            pagesRetainedSizeInBytes += page.getRetainedSizeInBytes();
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                int slot = findSlot(addresses, page, channels, position);
+                // the delete files may contain the same row several times
+                if (hashTable[slot] == -1) {
+                    hashTable[slot] = addressCount;
+                    addresses[addressCount++] = encodeAddress(pageIndex, position);
+                }
+            }
+        }
+        this.addresses = addressCount == positionCount ? addresses : Arrays.copyOf(addresses, addressCount);
+        this.retainedSizeInBytes = INSTANCE_SIZE + pagesRetainedSizeInBytes + sizeOf(this.addresses) + sizeOf(hashTable) +
+                (deleteFilePath == null ? 0 : deleteFilePath.length() * (long) Character.BYTES);
     }
 
     @Override
     public RowPredicate createPredicate(List<IcebergColumnHandle> columns)
     {
-        Type[] types = columns.stream()
-                .map(IcebergColumnHandle::getType)
-                .toArray(Type[]::new);
-
-        Schema fileSchema = schemaFromHandles(columns);
-        StructProjection projection = StructProjection.create(fileSchema, schema);
+        int[] channels = new int[this.columns.size()];
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = columnChannel(columns, this.columns.get(i));
+        }
 
-        return (page, position) -> {
-            StructLike row = new LazyStructLikeRow(types, page, position);
-            return !deleteSet.contains(projection.wrap(row));
-        };
+        return (page, position) -> !contains(page, position, channels);
     }
 
     @Override
@@ -66,26 +111,140 @@ public final class EqualityDeleteFilter
         return Optional.ofNullable(deleteFilePath);
     }
 
-    public static DeleteFilter readEqualityDeletes(ConnectorPageSource pageSource, List<IcebergColumnHandle> columns, String deleteFilePath)
+    @Override
+    public long getRetainedSizeInBytes()
+    {
+        return retainedSizeInBytes;
+    }
+
+    /**
+     * Reads the rows of an equality delete file, failing once they take more than {@code maxSize} in memory.
+     */
+    public static DeleteFilter readEqualityDeletes(ConnectorPageSource pageSource, List<IcebergColumnHandle> columns, @Nullable String deleteFilePath, DataSize maxSize)
     {
         Type[] types = columns.stream()
                 .map(IcebergColumnHandle::getType)
                 .toArray(Type[]::new);
 
-        Schema deleteSchema = schemaFromHandles(columns);
-        StructLikeSet deleteSet = StructLikeSet.create(deleteSchema.asStruct());
-
+        ImmutableList.Builder<Page> pages = ImmutableList.builder();
+        int positionCount = 0;
+        long pagesRetainedSizeInBytes = 0;
         while (!pageSource.isFinished()) {
             Page page = pageSource.getNextPage();
-            if (page == null) {
+            if (page == null || page.getPositionCount() == 0) {
                 continue;
             }
 
-            for (int position = 0; position < page.getPositionCount(); position++) {
-                deleteSet.add(new StructLikeRow(types, page, position));
+            // the pages are retained by the filter, so they should not hold on to the buffers of the reader
+            page = page.getLoadedPage().compact();
+            positionCount = addExact(positionCount, page.getPositionCount());
+            pagesRetainedSizeInBytes += page.getRetainedSizeInBytes();
+            long estimatedSizeInBytes = pagesRetainedSizeInBytes + (long) positionCount * Long.BYTES + (long) getHashSize(positionCount) * Integer.BYTES;
+            if (estimatedSizeInBytes > maxSize.toBytes()) {
+                throw new PrestoException(ICEBERG_EQUALITY_DELETES_TOO_LARGE, format(
+                        "The rows of the equality delete file exceed the maximum size of %s (%s session property). Enable the %s session property to apply the equality deletes with a join",
+                        maxSize,
+                        MAX_EQUALITY_DELETE_SIZE,
+                        DELETE_AS_JOIN_REWRITE_ENABLED));
+            }
+            pages.add(page);
+        }
+
+        return new EqualityDeleteFilter(columns, types, pages.build(), positionCount, deleteFilePath);
+    }
+
+    private boolean contains(Page page, int position, int[] channels)
+    {
+        return hashTable[findSlot(addresses, page, channels, position)] != -1;
+    }
+
+    /**
+     * Returns the slot of the hash table holding the deleted row equal to the row at the position of the page,
+     * or the empty slot where it would be inserted.
+     */
+    private int findSlot(long[] addresses, Page page, int[] channels, int position)
+    {
+        long rawHash = 0;
+        for (int i = 0; i < types.length; i++) {
+            rawHash = combineHash(rawHash, hashPosition(types[i], page.getBlock(channels[i]), position));
+        }
+
+        int slot = getHashPosition(rawHash, mask);
+        while (hashTable[slot] != -1 && !rowEquals(addresses[hashTable[slot]], page, channels, position)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean rowEquals(long address, Page page, int[] channels, int position)
+    {
+        Page deletePage = pages.get(decodePageIndex(address));
+        int deletePosition = decodePosition(address);
+        for (int i = 0; i < types.length; i++) {
+            if (!positionEqualsPosition(types[i], deletePage.getBlock(i), deletePosition, page.getBlock(channels[i]), position)) {
+                return false;
             }
         }
+        return true;
+    }
+
+    // the deletes of an equality delete file match the rows having null values in the same columns
+    private static boolean positionEqualsPosition(Type type, Block leftBlock, int leftPosition, Block rightBlock, int rightPosition)
+    {
+        boolean leftIsNull = leftBlock.isNull(leftPosition);
+        boolean rightIsNull = rightBlock.isNull(rightPosition);
+        if (leftIsNull || rightIsNull) {
+            return leftIsNull && rightIsNull;
+        }
+        return type.equalTo(leftBlock, leftPosition, rightBlock, rightPosition);
+    }
+
+    private static int columnChannel(List<IcebergColumnHandle> columns, IcebergColumnHandle deleteColumn)
+    {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).getId() == deleteColumn.getId()) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Column of the equality delete is missing: " + deleteColumn.getName());
+    }
+
+    private static int getHashSize(int positionCount)
+    {
+        long hashSize = Long.highestOneBit((long) Math.ceil(Math.max(positionCount, 1) / LOAD_FACTOR) * 2 - 1);
+        checkArgument(hashSize <= 1 << 30, "Too many rows in the equality delete file: %s", positionCount);
+        return (int) hashSize;
+    }
+
+    private static long combineHash(long previousHashValue, long value)
+    {
+        return (31 * previousHashValue + value);
+    }
+
+    private static int getHashPosition(long rawHash, int mask)
+    {
+        // the finalisation step of MurmurHash3, to avalanche the bits of the hash
+        rawHash ^= rawHash >>> 33;
+        rawHash *= 0xff51afd7ed558ccdL;
+        rawHash ^= rawHash >>> 33;
+        rawHash *= 0xc4ceb9fe1a85ec53L;
+        rawHash ^= rawHash >>> 33;
+
+        return (int) (rawHash & mask);
+    }
 
-        return new EqualityDeleteFilter(deleteSchema, deleteSet, deleteFilePath);
+    private static long encodeAddress(int pageIndex, int position)
+    {
+        return ((long) pageIndex << 32) | position;
+    }
+
+    private static int decodePageIndex(long address)
+    {
+        return (int) (address >>> 32);
+    }
+
+    private static int decodePosition(long address)
+    {
+        return (int) address;
     }
 }
@@ -162,6 +162,7 @@ import static com.facebook.presto.iceberg.IcebergQueryRunner.getIcebergDataDirec
 import static com.facebook.presto.iceberg.IcebergSessionProperties.COMPRESSION_CODEC;
 import static com.facebook.presto.iceberg.IcebergSessionProperties.DELETE_AS_JOIN_REWRITE_ENABLED;
 import static com.facebook.presto.iceberg.IcebergSessionProperties.DELETE_AS_JOIN_REWRITE_MAX_DELETE_COLUMNS;
+import static com.facebook.presto.iceberg.IcebergSessionProperties.MAX_EQUALITY_DELETE_SIZE;
 import static com.facebook.presto.iceberg.IcebergSessionProperties.PUSHDOWN_FILTER_ENABLED;
 import static com.facebook.presto.iceberg.IcebergSessionProperties.STATISTIC_SNAPSHOT_RECORD_DIFFERENCE_WEIGHT;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
@@ -1655,6 +1656,26 @@ public abstract class IcebergDistributedTestBase
         assertQuery(session, "SELECT name FROM " + tableName, "SELECT name FROM nation WHERE NOT(regionkey = 0 AND name = 'ALGERIA')");
     }
 
+    @Test(dataProvider = "fileFormat")
+    public void testEqualityDeletesExceedingMaxSize(String fileFormat)
+            throws Exception
+    {
+        String tableName = "test_v2_row_delete_" + randomTableSuffix();
+        assertUpdate("CREATE TABLE " + tableName + " with (\"write.format.default\" = '" + fileFormat + "') AS SELECT * FROM tpch.tiny.nation order by nationkey", 25);
+        Table icebergTable = updateTable(tableName);
+
+        writeEqualityDeleteToNationTable(icebergTable, ImmutableMap.of("regionkey", 1L));
+        Session session = Session.builder(deleteAsJoinEnabled(false))
+                .setCatalogSessionProperty(ICEBERG_CATALOG, MAX_EQUALITY_DELETE_SIZE, "1B")
+                .build();
+        assertQueryFails(session, "SELECT * FROM " + tableName, "The rows of the equality delete file exceed the maximum size of 1B .*");
+        // the deletes are applied with a join instead
+        Session joinSession = Session.builder(session)
+                .setCatalogSessionProperty(ICEBERG_CATALOG, DELETE_AS_JOIN_REWRITE_ENABLED, "true")
+                .build();
+        assertQuery(joinSession, "SELECT * FROM " + tableName, "SELECT * FROM nation WHERE regionkey != 1");
+    }
+
     @Test(dataProvider = "equalityDeleteOptions")
     public void testEqualityDeletesWithMultipleDeleteSchemas(String fileFormat, boolean joinRewriteEnabled)
             throws Exception
@@ -22,6 +22,7 @@ import java.util.Map;
 import static com.facebook.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
 import static com.facebook.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
 import static com.facebook.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
 import static com.facebook.airlift.units.DataSize.succinctDataSize;
 import static com.facebook.presto.hive.HiveCompressionCodec.NONE;
@@ -61,6 +62,7 @@ public class TestIcebergConfig
                 .setPushdownFilterEnabled(false)
                 .setDeleteAsJoinRewriteEnabled(true)
                 .setDeleteAsJoinRewriteMaxDeleteColumns(400)
+                .setMaxEqualityDeleteSize(succinctDataSize(1, GIGABYTE))
                 .setRowsForMetadataOptimizationThreshold(1000)
                 .setManifestCachingEnabled(true)
                 .setFileIOImpl(HadoopFileIO.class.getName())
@@ -68,11 +70,16 @@ public class TestIcebergConfig
                 .setManifestCacheExpireDuration(IO_MANIFEST_CACHE_EXPIRATION_INTERVAL_MS_DEFAULT)
                 .setManifestCacheMaxContentLength(IO_MANIFEST_CACHE_MAX_CONTENT_LENGTH_DEFAULT)
                 .setSplitManagerThreads(Runtime.getRuntime().availableProcessors())
+                .setBackgroundSplitLoadingEnabled(false)
+                .setMaxOutstandingSplits(1_000)
+                .setMaxSplitLoaderThreads(100)
                 .setMetadataPreviousVersionsMax(METADATA_PREVIOUS_VERSIONS_MAX_DEFAULT)
                 .setMetadataDeleteAfterCommit(METADATA_DELETE_AFTER_COMMIT_ENABLED_DEFAULT)
                 .setMetricsMaxInferredColumn(METRICS_MAX_INFERRED_COLUMN_DEFAULTS_DEFAULT)
                 .setManifestCacheMaxChunkSize(succinctDataSize(2, MEGABYTE))
                 .setMaxStatisticsFileCacheSize(succinctDataSize(256, MEGABYTE))
+                .setDeleteFileCacheEnabled(false)
+                .setMaxDeleteFileCacheSize(succinctDataSize(256, MEGABYTE))
                 .setStatisticsKllSketchKParameter(1024)
                 .setMaterializedViewStoragePrefix("__mv_storage__")
                 .setMaterializedViewDefaultStorageSchema(null)
@@ -99,6 +106,7 @@ public class TestIcebergConfig
                 .put("iceberg.pushdown-filter-enabled", "true")
                 .put("deprecated.iceberg.delete-as-join-rewrite-enabled", "false")
                 .put("iceberg.delete-as-join-rewrite-max-delete-columns", "1")
+                .put("iceberg.max-equality-delete-size", "128MB")
                 .put("iceberg.rows-for-metadata-optimization-threshold", "500")
                 .put("iceberg.io.manifest.cache-enabled", "false")
                 .put("iceberg.io-impl", "com.facebook.presto.iceberg.HdfsFileIO")
@@ -107,10 +115,15 @@ public class TestIcebergConfig
                 .put("iceberg.io.manifest.cache.max-content-length", "10485760")
                 .put("iceberg.io.manifest.cache.max-chunk-size", "1MB")
                 .put("iceberg.split-manager-threads", "42")
+                .put("iceberg.background-split-loading-enabled", "true")
+                .put("iceberg.max-outstanding-splits", "10")
+                .put("iceberg.max-split-loader-threads", "5")
                 .put("iceberg.metadata-previous-versions-max", "1")
                 .put("iceberg.metadata-delete-after-commit", "true")
                 .put("iceberg.metrics-max-inferred-column", "16")
                 .put("iceberg.max-statistics-file-cache-size", "512MB")
+                .put("iceberg.delete-file-cache-enabled", "true")
+                .put("iceberg.max-delete-file-cache-size", "64MB")
                 .put("iceberg.statistics-kll-sketch-k-parameter", "4096")
                 .put("iceberg.materialized-view-storage-prefix", "custom_mv_prefix")
                 .put("iceberg.materialized-view-default-storage-schema", "_mv_storage")
@@ -134,6 +147,7 @@ public class TestIcebergConfig
                 .setPushdownFilterEnabled(true)
                 .setDeleteAsJoinRewriteEnabled(false)
                 .setDeleteAsJoinRewriteMaxDeleteColumns(1)
+                .setMaxEqualityDeleteSize(succinctDataSize(128, MEGABYTE))
                 .setRowsForMetadataOptimizationThreshold(500)
                 .setManifestCachingEnabled(false)
                 .setFileIOImpl("com.facebook.presto.iceberg.HdfsFileIO")
@@ -142,10 +156,15 @@ public class TestIcebergConfig
                 .setManifestCacheMaxContentLength(10485760)
                 .setManifestCacheMaxChunkSize(succinctDataSize(1, MEGABYTE))
                 .setSplitManagerThreads(42)
+                .setBackgroundSplitLoadingEnabled(true)
+                .setMaxOutstandingSplits(10)
+                .setMaxSplitLoaderThreads(5)
                 .setMetadataPreviousVersionsMax(1)
                 .setMetadataDeleteAfterCommit(true)
                 .setMetricsMaxInferredColumn(16)
                 .setMaxStatisticsFileCacheSize(succinctDataSize(512, MEGABYTE))
+                .setDeleteFileCacheEnabled(true)
+                .setMaxDeleteFileCacheSize(succinctDataSize(64, MEGABYTE))
                 .setStatisticsKllSketchKParameter(4096)
                 .setMaterializedViewStoragePrefix("custom_mv_prefix")
                 .setMaterializedViewDefaultStorageSchema("_mv_storage")
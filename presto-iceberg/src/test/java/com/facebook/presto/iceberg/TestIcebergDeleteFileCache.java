@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg;
+
+import com.facebook.presto.testing.QueryRunner;
+import com.facebook.presto.tests.AbstractTestQueryFramework;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import java.util.OptionalInt;
+
+public class TestIcebergDeleteFileCache
+        extends AbstractTestQueryFramework
+{
+    @Override
+    protected QueryRunner createQueryRunner()
+            throws Exception
+    {
+        return IcebergQueryRunner.builder()
+                .setExtraConnectorProperties(ImmutableMap.of(
+                        "iceberg.delete-file-cache-enabled", "true",
+                        "iceberg.max-delete-file-cache-size", "10MB"))
+                .setNodeCount(OptionalInt.of(2))
+                .build()
+                .getQueryRunner();
+    }
+
+    @Test
+    public void testPositionDeletes()
+    {
+        String tableName = "test_delete_file_cache";
+        try {
+            assertUpdate("CREATE TABLE " + tableName + " WITH (format_version = '2', delete_mode = 'merge-on-read') AS SELECT * FROM tpch.tiny.orders", "SELECT count(*) FROM orders");
+            assertUpdate("DELETE FROM " + tableName + " WHERE orderstatus = 'F'", "SELECT count(*) FROM orders WHERE orderstatus = 'F'");
+
+            // the decoded delete files are reused by the following queries
+            for (int i = 0; i < 3; i++) {
+                assertQuery("SELECT count(*), sum(totalprice) FROM " + tableName, "SELECT count(*), sum(totalprice) FROM orders WHERE orderstatus <> 'F'");
+            }
+
+            // a new delete file is read in addition to the cached one
+            assertUpdate("DELETE FROM " + tableName + " WHERE orderpriority = '1-URGENT'", "SELECT count(*) FROM orders WHERE orderstatus <> 'F' AND orderpriority = '1-URGENT'");
+            assertQuery("SELECT count(*), sum(totalprice) FROM " + tableName, "SELECT count(*), sum(totalprice) FROM orders WHERE orderstatus <> 'F' AND orderpriority <> '1-URGENT'");
+            assertQuery("SELECT orderkey, \"$delete_file_path\" IS NULL FROM " + tableName + " WHERE orderkey < 100", "SELECT orderkey, true FROM orders WHERE orderkey < 100 AND orderstatus <> 'F' AND orderpriority <> '1-URGENT'");
+        }
+        finally {
+            assertUpdate("DROP TABLE IF EXISTS " + tableName);
+        }
+    }
+}
@@ -45,6 +45,7 @@ import java.util.stream.IntStream;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.AFFINITY_SCHEDULING_FILE_SECTION_SIZE;
 import static com.facebook.presto.hive.HiveCommonSessionProperties.NODE_SELECTION_STRATEGY;
 import static com.facebook.presto.iceberg.IcebergQueryRunner.ICEBERG_CATALOG;
+import static com.facebook.presto.iceberg.IcebergSessionProperties.BACKGROUND_SPLIT_LOADING_ENABLED;
 import static com.facebook.presto.iceberg.IcebergSessionProperties.PUSHDOWN_FILTER_ENABLED;
 import static com.facebook.presto.iceberg.IcebergSessionProperties.TARGET_SPLIT_SIZE_BYTES;
 import static com.facebook.presto.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
@@ -204,6 +205,30 @@ public class TestIcebergSplitManager
         assertQuerySucceeds("DROP TABLE test_split_size");
     }
 
+    @Test
+    public void testBackgroundSplitLoading()
+    {
+        Session session = Session.builder(getSession())
+                .setCatalogSessionProperty(ICEBERG_CATALOG, TARGET_SPLIT_SIZE_BYTES, "1")
+                .build();
+        Session backgroundLoadingSession = Session.builder(session)
+                .setCatalogSessionProperty(ICEBERG_CATALOG, BACKGROUND_SPLIT_LOADING_ENABLED, "true")
+                .build();
+        assertUpdate("CREATE TABLE test_background_split_loading (i bigint, p bigint) WITH (partitioning = ARRAY['p'])");
+        for (int i = 0; i < 5; i++) {
+            assertUpdate("INSERT INTO test_background_split_loading SELECT x, x % 3 FROM UNNEST(sequence(" + (i * 100) + ", " + (i * 100 + 99) + ")) AS t(x)", 100);
+        }
+
+        String selectQuery = "SELECT * FROM test_background_split_loading";
+        List<Split> splits = getSplitsForSql(session, selectQuery);
+        assertEquals(getSplitsForSql(backgroundLoadingSession, selectQuery).size(), splits.size());
+        String filteredQuery = "SELECT * FROM test_background_split_loading WHERE p = 1";
+        assertEquals(getSplitsForSql(backgroundLoadingSession, filteredQuery).size(), getSplitsForSql(session, filteredQuery).size());
+
+        assertQuery(backgroundLoadingSession, "SELECT count(*), sum(i) FROM test_background_split_loading WHERE p = 1", "SELECT 167, 41750");
+        assertQuerySucceeds("DROP TABLE test_background_split_loading");
+    }
+
     @Test
     public void testSoftAffinitySchedulingSectionConfig()
     {
@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg.delete;
+
+import com.facebook.airlift.units.DataSize;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
+import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.iceberg.delete.DeleteFileCache.newDeleteFileCache;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class TestDeleteFileCache
+{
+    @Test
+    public void testMaxSize()
+            throws Exception
+    {
+        DeleteFileCache cache = newDeleteFileCache(new DataSize(1, MEGABYTE), true);
+
+        DeleteFilter small = positionDeleteFilter("delete.parquet", 1, 2, 3);
+        DeleteFileCacheKey smallKey = key("delete.parquet");
+        assertSame(cache.get(smallKey, () -> small), small);
+        assertSame(cache.getIfPresent(smallKey), small);
+
+        // a filter larger than the whole cache is returned to the split loading it, but not kept
+        DeleteFilter large = positionDeleteFilter(Strings.repeat("x", 1024 * 1024), 1);
+        DeleteFileCacheKey largeKey = key("large.parquet");
+        assertSame(cache.get(largeKey, () -> large), large);
+        assertNull(cache.getIfPresent(largeKey));
+        assertSame(cache.getIfPresent(smallKey), small);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testMaxSizeAboveIntegerRange()
+    {
+        assertThatThrownBy(() -> newDeleteFileCache(new DataSize(4, GIGABYTE), true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("maxSize must be at most 2GB");
+    }
+
+    private static DeleteFileCacheKey key(String path)
+    {
+        return new DeleteFileCacheKey(path, 100, ImmutableList.of(), Optional.of("data.parquet"), Optional.empty());
+    }
+
+    private static DeleteFilter positionDeleteFilter(String path, long... positions)
+    {
+        Roaring64Bitmap deletedRows = new Roaring64Bitmap();
+        for (long position : positions) {
+            deletedRows.addLong(position);
+        }
+        return new PositionDeleteFilter(deletedRows, path);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.iceberg.delete;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.function.SqlFunctionProperties;
+import com.facebook.presto.common.type.AbstractLongType;
+import com.facebook.presto.common.type.StandardTypes;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.iceberg.IcebergColumnHandle;
+import com.facebook.presto.spi.FixedPageSource;
+import com.facebook.presto.spi.PrestoException;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.TypeSignature.parseTypeSignature;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.iceberg.IcebergColumnHandle.primitiveIcebergColumnHandle;
+import static com.facebook.presto.iceberg.IcebergErrorCode.ICEBERG_EQUALITY_DELETES_TOO_LARGE;
+import static com.facebook.presto.iceberg.IcebergSessionProperties.DELETE_AS_JOIN_REWRITE_ENABLED;
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestEqualityDeleteFilter
+{
+    private static final DataSize MAX_SIZE = new DataSize(1, MEGABYTE);
+
+    // a type whose values all have the same hash, so that every row collides in the hash table
+    private static final Type CONSTANT_HASH_BIGINT = new AbstractLongType(parseTypeSignature(StandardTypes.BIGINT))
+    {
+        @Override
+        public long hash(Block block, int position)
+        {
+            return 42;
+        }
+
+        @Override
+        public Object getObjectValue(SqlFunctionProperties properties, Block block, int position)
+        {
+            return block.isNull(position) ? null : getLong(block, position);
+        }
+    };
+
+    private static final IcebergColumnHandle ID = primitiveIcebergColumnHandle(1, "id", BIGINT, Optional.empty());
+    private static final IcebergColumnHandle NAME = primitiveIcebergColumnHandle(2, "name", VARCHAR, Optional.empty());
+    private static final IcebergColumnHandle VALUE = primitiveIcebergColumnHandle(3, "value", BIGINT, Optional.empty());
+
+    @Test
+    public void testDuplicateKeys()
+    {
+        DeleteFilter filter = readDeletes(
+                ImmutableList.of(ID),
+                MAX_SIZE,
+                new Page(longs(1L, 2L, 1L)),
+                new Page(longs(2L, 1L)));
+        assertTrue(filter instanceof EqualityDeleteFilter);
+
+        RowPredicate predicate = filter.createPredicate(ImmutableList.of(ID));
+        assertRetained(predicate, new Page(longs(0L, 1L, 2L, 3L)), false, true, true, false);
+    }
+
+    @Test
+    public void testNullKeys()
+    {
+        DeleteFilter filter = readDeletes(
+                ImmutableList.of(ID, NAME),
+                MAX_SIZE,
+                new Page(longs(1L, null, null), varchars("a", "b", null)));
+
+        RowPredicate predicate = filter.createPredicate(ImmutableList.of(ID, NAME));
+        // a null only matches a null of the same column
+        assertRetained(
+                predicate,
+                new Page(longs(1L, null, null, 1L, null, 2L), varchars("a", "b", null, null, "a", null)),
+                false, false, false, true, true, true);
+    }
+
+    @Test
+    public void testMultiColumnKeys()
+    {
+        DeleteFilter filter = readDeletes(
+                ImmutableList.of(ID, NAME),
+                MAX_SIZE,
+                new Page(longs(1L, 2L), varchars("a", "b")));
+
+        // the columns of the data page are in a different order, and include a column not in the delete file
+        RowPredicate predicate = filter.createPredicate(ImmutableList.of(VALUE, NAME, ID));
+        assertRetained(
+                predicate,
+                new Page(longs(10L, 11L, 12L, 13L), varchars("a", "b", "b", "a"), longs(1L, 2L, 1L, 2L)),
+                false, false, true, true);
+    }
+
+    @Test
+    public void testHashCollisions()
+    {
+        IcebergColumnHandle column = primitiveIcebergColumnHandle(1, "id", CONSTANT_HASH_BIGINT, Optional.empty());
+        BlockBuilder deletes = CONSTANT_HASH_BIGINT.createBlockBuilder(null, 100);
+        for (long value = 0; value < 100; value += 2) {
+            CONSTANT_HASH_BIGINT.writeLong(deletes, value);
+        }
+        DeleteFilter filter = readDeletes(ImmutableList.of(column), MAX_SIZE, new Page(deletes.build()));
+
+        BlockBuilder rows = CONSTANT_HASH_BIGINT.createBlockBuilder(null, 100);
+        boolean[] expected = new boolean[100];
+        for (int value = 0; value < 100; value++) {
+            CONSTANT_HASH_BIGINT.writeLong(rows, value);
+            expected[value] = value % 2 != 0;
+        }
+        assertRetained(filter.createPredicate(ImmutableList.of(column)), new Page(rows.build()), expected);
+    }
+
+    @Test
+    public void testExceedingMaxSize()
+    {
+        // the rows of the first page fit, the ones of the second page do not
+        DataSize maxSize = DataSize.succinctBytes(readDeletes(ImmutableList.of(ID), MAX_SIZE, new Page(longs(1L, 2L))).getRetainedSizeInBytes());
+        assertThatThrownBy(() -> readDeletes(ImmutableList.of(ID), maxSize, new Page(longs(1L, 2L)), new Page(longs(LongStream.range(3, 103).boxed().toArray(Long[]::new)))))
+                .isInstanceOf(PrestoException.class)
+                .hasMessageStartingWith("The rows of the equality delete file exceed the maximum size of")
+                .hasMessageContaining(DELETE_AS_JOIN_REWRITE_ENABLED)
+                .matches(e -> ((PrestoException) e).getErrorCode().equals(ICEBERG_EQUALITY_DELETES_TOO_LARGE.toErrorCode()));
+    }
+
+    @Test
+    public void testDeleteFilePath()
+    {
+        assertEquals(readDeletes(ImmutableList.of(ID), MAX_SIZE, new Page(longs(1L))).getDeleteFilePath(), Optional.of("delete.parquet"));
+    }
+
+    private static DeleteFilter readDeletes(List<IcebergColumnHandle> columns, DataSize maxSize, Page... pages)
+    {
+        return EqualityDeleteFilter.readEqualityDeletes(new FixedPageSource(ImmutableList.copyOf(pages)), columns, "delete.parquet", maxSize);
+    }
+
+    private static void assertRetained(RowPredicate predicate, Page page, boolean... expected)
+    {
+        assertEquals(page.getPositionCount(), expected.length);
+        for (int position = 0; position < expected.length; position++) {
+            assertEquals(predicate.test(page, position), expected[position], "position " + position);
+        }
+    }
+
+    private static Block longs(Long... values)
+    {
+        BlockBuilder builder = BIGINT.createBlockBuilder(null, values.length);
+        for (Long value : values) {
+            if (value == null) {
+                builder.appendNull();
+            }
+            else {
+                BIGINT.writeLong(builder, value);
+            }
+        }
+        return builder.build();
+    }
+
+    private static Block varchars(String... values)
+    {
+        BlockBuilder builder = VARCHAR.createBlockBuilder(null, values.length);
+        for (String value : values) {
+            if (value == null) {
+                builder.appendNull();
+            }
+            else {
+                VARCHAR.writeSlice(builder, utf8Slice(value));
+            }
+        }
+        return builder.build();
+    }
+}
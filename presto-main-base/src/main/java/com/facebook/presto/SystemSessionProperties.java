@@ -237,6 +237,7 @@ public final class SystemSessionProperties
     public static final String DYNAMIC_FILTERING_MAX_PER_DRIVER_ROW_COUNT = "dynamic_filtering_max_per_driver_row_count";
     public static final String DYNAMIC_FILTERING_MAX_PER_DRIVER_SIZE = "dynamic_filtering_max_per_driver_size";
     public static final String DYNAMIC_FILTERING_RANGE_ROW_LIMIT_PER_DRIVER = "dynamic_filtering_range_row_limit_per_driver";
+    public static final String DYNAMIC_FILTERING_BLOOM_FILTER_MAX_SIZE_PER_DRIVER = "dynamic_filtering_bloom_filter_max_size_per_driver";
     public static final String FRAGMENT_RESULT_CACHING_ENABLED = "fragment_result_caching_enabled";
     public static final String INLINE_SQL_FUNCTIONS = "inline_sql_functions";
     public static final String REMOTE_FUNCTIONS_ENABLED = "remote_functions_enabled";
@@ -329,6 +330,7 @@ public final class SystemSessionProperties
     public static final String PREFILTER_FOR_GROUPBY_LIMIT = "prefilter_for_groupby_limit";
     public static final String PREFILTER_FOR_GROUPBY_LIMIT_TIMEOUT_MS = "prefilter_for_groupby_limit_timeout_ms";
     public static final String OPTIMIZE_JOIN_PROBE_FOR_EMPTY_BUILD_RUNTIME = "optimize_join_probe_for_empty_build_runtime";
+    public static final String JOIN_PROBE_LATE_MATERIALIZATION_ENABLED = "join_probe_late_materialization_enabled";
     public static final String USE_DEFAULTS_FOR_CORRELATED_AGGREGATION_PUSHDOWN_THROUGH_OUTER_JOINS = "use_defaults_for_correlated_aggregation_pushdown_through_outer_joins";
     public static final String MERGE_DUPLICATE_AGGREGATIONS = "merge_duplicate_aggregations";
     public static final String MERGE_AGGREGATIONS_WITH_AND_WITHOUT_FILTER = "merge_aggregations_with_and_without_filter";
@@ -1331,6 +1333,11 @@ public final class SystemSessionProperties
                         "Maximum number of build-side rows per driver up to which min and max values will be collected for dynamic filtering",
                         featuresConfig.getDynamicFilteringRangeRowLimitPerDriver(),
                         false),
+                dataSizeProperty(
+                        DYNAMIC_FILTERING_BLOOM_FILTER_MAX_SIZE_PER_DRIVER,
+                        "Size of the Bloom filter collected per driver and join key for dynamic filtering, 0 disables Bloom filters",
+                        featuresConfig.getDynamicFilteringBloomFilterMaxSizePerDriver(),
+                        false),
                 booleanProperty(
                         FRAGMENT_RESULT_CACHING_ENABLED,
                         "Enable fragment result caching and read/write leaf fragment result pages from/to cache when applicable",
@@ -1943,6 +1950,11 @@ public final class SystemSessionProperties
                         "Optimize join probe at runtime if build side is empty",
                         featuresConfig.isOptimizeJoinProbeForEmptyBuildRuntimeEnabled(),
                         false),
+                booleanProperty(
+                        JOIN_PROBE_LATE_MATERIALIZATION_ENABLED,
+                        "Load the columns of a table scan on the probe side of a join only for the rows matching the build side",
+                        featuresConfig.isJoinProbeLateMaterializationEnabled(),
+                        false),
                 booleanProperty(
                         USE_DEFAULTS_FOR_CORRELATED_AGGREGATION_PUSHDOWN_THROUGH_OUTER_JOINS,
                         "Coalesce with defaults for correlated aggregations",
@@ -3157,6 +3169,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(DYNAMIC_FILTERING_RANGE_ROW_LIMIT_PER_DRIVER, Integer.class);
     }
 
+    public static DataSize getDynamicFilteringBloomFilterMaxSizePerDriver(Session session)
+    {
+        return session.getSystemProperty(DYNAMIC_FILTERING_BLOOM_FILTER_MAX_SIZE_PER_DRIVER, DataSize.class);
+    }
+
     public static boolean isFragmentResultCachingEnabled(Session session)
     {
         return session.getSystemProperty(FRAGMENT_RESULT_CACHING_ENABLED, Boolean.class);
@@ -3600,6 +3617,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(OPTIMIZE_JOIN_PROBE_FOR_EMPTY_BUILD_RUNTIME, Boolean.class);
     }
 
+    public static boolean isJoinProbeLateMaterializationEnabled(Session session)
+    {
+        return session.getSystemProperty(JOIN_PROBE_LATE_MATERIALIZATION_ENABLED, Boolean.class);
+    }
+
     public static boolean useDefaultsForCorrelatedAggregationPushdownThroughOuterJoins(Session session)
     {
         return session.getSystemProperty(USE_DEFAULTS_FOR_CORRELATED_AGGREGATION_PUSHDOWN_THROUGH_OUTER_JOINS, Boolean.class);
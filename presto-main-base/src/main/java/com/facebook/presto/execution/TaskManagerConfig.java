@@ -85,6 +85,7 @@ public class TaskManagerConfig
     private int taskYieldThreads = 3;
 
     private BigDecimal levelTimeMultiplier = new BigDecimal(2.0);
+    private boolean workStealingSplitQueueEnabled;
 
     private boolean legacyLifespanCompletionCondition;
     private TaskPriorityTracking taskPriorityTracking = TaskPriorityTracking.TASK_FAIR;
@@ -286,6 +287,19 @@ public class TaskManagerConfig
         return this;
     }
 
+    public boolean isWorkStealingSplitQueueEnabled()
+    {
+        return workStealingSplitQueueEnabled;
+    }
+
+    @Config("task.work-stealing-split-queue-enabled")
+    @ConfigDescription("Keep waiting splits in a run queue per worker thread and let idle threads steal splits from busy ones")
+    public TaskManagerConfig setWorkStealingSplitQueueEnabled(boolean workStealingSplitQueueEnabled)
+    {
+        this.workStealingSplitQueueEnabled = workStealingSplitQueueEnabled;
+        return this;
+    }
+
     @Min(1)
     public int getMaxWorkerThreads()
     {
@@ -64,13 +64,12 @@ public class MultilevelSplitQueue
     public MultilevelSplitQueue(double levelTimeMultiplier)
     {
         this.levelMinPriority = new AtomicLong[LEVEL_THRESHOLD_SECONDS.length];
-        this.levelWaitingSplits = new ArrayList<>(LEVEL_THRESHOLD_SECONDS.length);
+        this.levelWaitingSplits = createLevelQueues();
         ImmutableList.Builder<CounterStat> counters = ImmutableList.builder();
 
         for (int i = 0; i < LEVEL_THRESHOLD_SECONDS.length; i++) {
             levelScheduledTime[i] = new AtomicLong();
             levelMinPriority[i] = new AtomicLong(-1);
-            levelWaitingSplits.add(new PriorityQueue<>());
             counters.add(new CounterStat());
         }
 
@@ -103,14 +102,7 @@ public class MultilevelSplitQueue
         lock.lock();
         try {
             if (levelWaitingSplits.get(level).isEmpty()) {
-                // Accesses to levelScheduledTime are not synchronized, so we have a data race
-                // here - our level time math will be off. However, the staleness is bounded by
-                // the fact that only running splits that complete during this computation
-                // can update the level time. Therefore, this is benign.
-                long level0Time = getLevel0TargetTime();
-                long levelExpectedTime = (long) (level0Time / Math.pow(levelTimeMultiplier, level));
-                long delta = levelExpectedTime - levelScheduledTime[level].get();
-                levelScheduledTime[level].addAndGet(delta);
+                resetEmptyLevelScheduledTime(level);
             }
 
             levelWaitingSplits.get(level).offer(split);
@@ -128,7 +120,7 @@ public class MultilevelSplitQueue
             lock.lockInterruptibly();
             try {
                 PrioritizedSplitRunner result;
-                while ((result = pollSplit()) == null) {
+                while ((result = pollSplit(levelWaitingSplits)) == null) {
                     notEmpty.await();
                 }
 
@@ -137,10 +129,7 @@ public class MultilevelSplitQueue
                     continue;
                 }
 
-                int selectedLevel = result.getPriority().getLevel();
-                levelMinPriority[selectedLevel].set(result.getPriority().getLevelPriority());
-                selectedLevelCounters.get(selectedLevel).update(1);
-
+                recordSelectedSplit(result);
                 return result;
             }
             finally {
@@ -149,6 +138,34 @@ public class MultilevelSplitQueue
         }
     }
 
+    static List<PriorityQueue<PrioritizedSplitRunner>> createLevelQueues()
+    {
+        List<PriorityQueue<PrioritizedSplitRunner>> levelQueues = new ArrayList<>(LEVEL_THRESHOLD_SECONDS.length);
+        for (int i = 0; i < LEVEL_THRESHOLD_SECONDS.length; i++) {
+            levelQueues.add(new PriorityQueue<>());
+        }
+        return levelQueues;
+    }
+
+    void resetEmptyLevelScheduledTime(int level)
+    {
+        // Accesses to levelScheduledTime are not synchronized, so we have a data race
+        // here - our level time math will be off. However, the staleness is bounded by
+        // the fact that only running splits that complete during this computation
+        // can update the level time. Therefore, this is benign.
+        long level0Time = getLevel0TargetTime();
+        long levelExpectedTime = (long) (level0Time / Math.pow(levelTimeMultiplier, level));
+        long delta = levelExpectedTime - levelScheduledTime[level].get();
+        levelScheduledTime[level].addAndGet(delta);
+    }
+
+    void recordSelectedSplit(PrioritizedSplitRunner split)
+    {
+        int selectedLevel = split.getPriority().getLevel();
+        levelMinPriority[selectedLevel].set(split.getPriority().getLevelPriority());
+        selectedLevelCounters.get(selectedLevel).update(1);
+    }
+
     /**
      * Presto attempts to give each level a target amount of scheduled time, which is configurable
      * using levelTimeMultiplier.
@@ -156,15 +173,16 @@ public class MultilevelSplitQueue
      * This function selects the level that has the lowest ratio of actual to the target time
      * with the objective of minimizing deviation from the target scheduled time. From this level,
      * we pick the split with the lowest priority.
+     * <p>
+     * The caller must hold the lock guarding {@code levelQueues}.
      */
-    @GuardedBy("lock")
-    private PrioritizedSplitRunner pollSplit()
+    PrioritizedSplitRunner pollSplit(List<PriorityQueue<PrioritizedSplitRunner>> levelQueues)
     {
         long targetScheduledTime = getLevel0TargetTime();
         double worstRatio = 1;
         int selectedLevel = -1;
         for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
-            if (!levelWaitingSplits.get(level).isEmpty()) {
+            if (!levelQueues.get(level).isEmpty()) {
                 long levelTime = levelScheduledTime[level].get();
                 double ratio = levelTime == 0 ? 0 : targetScheduledTime / (1.0 * levelTime);
                 if (selectedLevel == -1 || ratio > worstRatio) {
@@ -180,13 +198,12 @@ public class MultilevelSplitQueue
             return null;
         }
 
-        PrioritizedSplitRunner result = levelWaitingSplits.get(selectedLevel).poll();
+        PrioritizedSplitRunner result = levelQueues.get(selectedLevel).poll();
         checkState(result != null, "pollSplit cannot return null");
 
         return result;
     }
 
-    @GuardedBy("lock")
     private long getLevel0TargetTime()
     {
         long level0TargetTime = levelScheduledTime[0].get();
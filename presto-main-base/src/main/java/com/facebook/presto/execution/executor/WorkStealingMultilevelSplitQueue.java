@@ -0,0 +1,328 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.executor;
+
+import com.facebook.airlift.stats.CounterStat;
+import com.facebook.presto.execution.TaskManagerConfig;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import jakarta.inject.Inject;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.floorMod;
+
+/**
+ * A {@link MultilevelSplitQueue} that keeps a separate multilevel run queue for each runner thread.
+ * <p>
+ * A runner thread takes splits from its own queue and re-queues the splits it yielded there,
+ * so a split tends to stay on the thread (and the caches) it last ran on, and runner threads
+ * only synchronize with each other when they run out of work and steal from another queue.
+ * Splits offered by any other thread are spread over the queues round robin.
+ * <p>
+ * Level scheduled time and level minimum priorities are shared by all queues, so each queue
+ * selects levels the same way the single queue does and the time accounting done by
+ * {@link PrioritizedSplitRunner} keeps the same fairness between levels. Within a level, the
+ * lowest priority split is chosen per queue rather than globally.
+ */
+@ThreadSafe
+public class WorkStealingMultilevelSplitQueue
+        extends MultilevelSplitQueue
+{
+    private final List<LocalSplitQueue> queues;
+    private final ThreadLocal<LocalSplitQueue> runnerQueue = new ThreadLocal<>();
+    private final AtomicInteger nextRunnerQueue = new AtomicInteger();
+    private final AtomicInteger nextOfferQueue = new AtomicInteger();
+
+    // number of waiting splits in each level across all queues
+    private final AtomicInteger[] levelWaitingSplitCounts = new AtomicInteger[LEVEL_THRESHOLD_SECONDS.length];
+    private final AtomicInteger waitingSplitCount = new AtomicInteger();
+
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition notEmpty = idleLock.newCondition();
+    private final AtomicInteger idleRunners = new AtomicInteger();
+
+    private final CounterStat stolenSplits = new CounterStat();
+    private final CounterStat contendedQueueLocks = new CounterStat();
+    private final CounterStat idleWaits = new CounterStat();
+
+    @Inject
+    public WorkStealingMultilevelSplitQueue(TaskManagerConfig taskManagerConfig)
+    {
+        this(taskManagerConfig.getLevelTimeMultiplier().doubleValue(), taskManagerConfig.getMaxWorkerThreads());
+    }
+
+    public WorkStealingMultilevelSplitQueue(double levelTimeMultiplier, int queueCount)
+    {
+        super(levelTimeMultiplier);
+        checkArgument(queueCount > 0, "queueCount must be at least 1");
+
+        ImmutableList.Builder<LocalSplitQueue> queues = ImmutableList.builder();
+        for (int i = 0; i < queueCount; i++) {
+            queues.add(new LocalSplitQueue(i));
+        }
+        this.queues = queues.build();
+
+        for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
+            levelWaitingSplitCounts[level] = new AtomicInteger();
+        }
+    }
+
+    @Override
+    public void offer(PrioritizedSplitRunner split)
+    {
+        checkArgument(split != null, "split is null");
+
+        split.setReady();
+        int level = split.getPriority().getLevel();
+
+        LocalSplitQueue queue = runnerQueue.get();
+        if (queue == null) {
+            queue = queues.get(floorMod(nextOfferQueue.getAndIncrement(), queues.size()));
+        }
+
+        if (levelWaitingSplitCounts[level].getAndIncrement() == 0) {
+            resetEmptyLevelScheduledTime(level);
+        }
+
+        lock(queue);
+        try {
+            queue.levelWaitingSplits.get(level).offer(split);
+            queue.size.incrementAndGet();
+        }
+        finally {
+            queue.lock.unlock();
+        }
+
+        // the count must be published before idle runners are checked, see awaitSplits
+        waitingSplitCount.incrementAndGet();
+        if (idleRunners.get() > 0) {
+            idleLock.lock();
+            try {
+                notEmpty.signal();
+            }
+            finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public PrioritizedSplitRunner take()
+            throws InterruptedException
+    {
+        LocalSplitQueue queue = runnerQueue.get();
+        if (queue == null) {
+            queue = queues.get(floorMod(nextRunnerQueue.getAndIncrement(), queues.size()));
+            runnerQueue.set(queue);
+        }
+
+        while (true) {
+            PrioritizedSplitRunner result = poll(queue);
+            if (result == null) {
+                result = steal(queue);
+            }
+            if (result == null) {
+                awaitSplits();
+                continue;
+            }
+
+            if (result.updateLevelPriority()) {
+                offer(result);
+                continue;
+            }
+
+            recordSelectedSplit(result);
+            return result;
+        }
+    }
+
+    private PrioritizedSplitRunner steal(LocalSplitQueue thief)
+    {
+        for (int i = 1; i < queues.size(); i++) {
+            LocalSplitQueue victim = queues.get((thief.index + i) % queues.size());
+            PrioritizedSplitRunner split = poll(victim);
+            if (split != null) {
+                stolenSplits.update(1);
+                return split;
+            }
+        }
+        return null;
+    }
+
+    private PrioritizedSplitRunner poll(LocalSplitQueue queue)
+    {
+        if (queue.size.get() == 0) {
+            return null;
+        }
+
+        PrioritizedSplitRunner split;
+        lock(queue);
+        try {
+            split = pollSplit(queue.levelWaitingSplits);
+            if (split == null) {
+                return null;
+            }
+            queue.size.decrementAndGet();
+        }
+        finally {
+            queue.lock.unlock();
+        }
+
+        levelWaitingSplitCounts[split.getPriority().getLevel()].decrementAndGet();
+        waitingSplitCount.decrementAndGet();
+        return split;
+    }
+
+    /**
+     * An idle runner registers itself before checking for waiting splits, and {@link #offer}
+     * publishes the split before checking for idle runners, so either the runner sees the split
+     * or the offer sees the runner and signals it.
+     */
+    private void awaitSplits()
+            throws InterruptedException
+    {
+        idleLock.lockInterruptibly();
+        try {
+            idleRunners.incrementAndGet();
+            try {
+                if (waitingSplitCount.get() <= 0) {
+                    idleWaits.update(1);
+                }
+                // the count can briefly be negative while a split is taken before its offer is counted
+                while (waitingSplitCount.get() <= 0) {
+                    notEmpty.await();
+                }
+            }
+            finally {
+                idleRunners.decrementAndGet();
+            }
+        }
+        finally {
+            idleLock.unlock();
+        }
+    }
+
+    private void lock(LocalSplitQueue queue)
+    {
+        if (!queue.lock.tryLock()) {
+            contendedQueueLocks.update(1);
+            queue.lock.lock();
+        }
+    }
+
+    @Override
+    public void remove(PrioritizedSplitRunner split)
+    {
+        checkArgument(split != null, "split is null");
+        for (LocalSplitQueue queue : queues) {
+            lock(queue);
+            try {
+                for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
+                    if (queue.levelWaitingSplits.get(level).remove(split)) {
+                        removed(queue, level, 1);
+                    }
+                }
+            }
+            finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<PrioritizedSplitRunner> splits)
+    {
+        for (LocalSplitQueue queue : queues) {
+            lock(queue);
+            try {
+                for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
+                    PriorityQueue<PrioritizedSplitRunner> levelSplits = queue.levelWaitingSplits.get(level);
+                    int sizeBefore = levelSplits.size();
+                    if (levelSplits.removeAll(splits)) {
+                        removed(queue, level, sizeBefore - levelSplits.size());
+                    }
+                }
+            }
+            finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    @GuardedBy("queue.lock")
+    private void removed(LocalSplitQueue queue, int level, int count)
+    {
+        queue.size.addAndGet(-count);
+        levelWaitingSplitCounts[level].addAndGet(-count);
+        waitingSplitCount.addAndGet(-count);
+    }
+
+    @Override
+    public int size()
+    {
+        return waitingSplitCount.get();
+    }
+
+    @Managed
+    public int getRunQueues()
+    {
+        return queues.size();
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getStolenSplits()
+    {
+        return stolenSplits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getContendedQueueLocks()
+    {
+        return contendedQueueLocks;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getIdleWaits()
+    {
+        return idleWaits;
+    }
+
+    private static class LocalSplitQueue
+    {
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+        @GuardedBy("lock")
+        private final List<PriorityQueue<PrioritizedSplitRunner>> levelWaitingSplits = createLevelQueues();
+        // updated under the lock, read without it to skip empty queues
+        private final AtomicInteger size = new AtomicInteger();
+
+        private LocalSplitQueue(int index)
+        {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.type.Type;
+import org.openjdk.jol.info.ClassLayout;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bloom filter over the values of a single type, split in blocks of 512 bits.
+ * All the bits for a value are set in one block, so adding or probing a value touches a single cache line.
+ * Null values are never added and never match.
+ */
+public class BlockedBloomFilter
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(BlockedBloomFilter.class).instanceSize();
+
+    private static final int WORDS_PER_BLOCK = 8;
+    private static final int BLOCK_SIZE_IN_BYTES = WORDS_PER_BLOCK * Long.BYTES;
+    // one salt per word of a block, from the Parquet split block Bloom filter specification
+    private static final int[] SALT = {0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d, 0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31};
+
+    private final Type type;
+    private final long[] words;
+    private final int blockMask;
+
+    /**
+     * Creates an empty filter using at most {@code maxSize} of memory, rounded down to a power of two number of blocks.
+     */
+    public static BlockedBloomFilter create(Type type, DataSize maxSize)
+    {
+        int blockCount = Integer.highestOneBit(toIntExact(max(1, maxSize.toBytes() / BLOCK_SIZE_IN_BYTES)));
+        return new BlockedBloomFilter(type, new long[blockCount * WORDS_PER_BLOCK]);
+    }
+
+    private BlockedBloomFilter(Type type, long[] words)
+    {
+        this.type = requireNonNull(type, "type is null");
+        this.words = requireNonNull(words, "words is null");
+        this.blockMask = words.length / WORDS_PER_BLOCK - 1;
+    }
+
+    public Type getType()
+    {
+        return type;
+    }
+
+    public void add(Block block, int position)
+    {
+        if (block.isNull(position)) {
+            return;
+        }
+        long hash = mix(type.hash(block, position));
+        int offset = blockOffset(hash);
+        int key = (int) hash;
+        for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+            words[offset + i] |= 1L << ((key * SALT[i]) >>> 26);
+        }
+    }
+
+    public boolean mightContain(Block block, int position)
+    {
+        if (block.isNull(position)) {
+            return false;
+        }
+        long hash = mix(type.hash(block, position));
+        int offset = blockOffset(hash);
+        int key = (int) hash;
+        for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+            if ((words[offset + i] & (1L << ((key * SALT[i]) >>> 26))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isCompatibleWith(BlockedBloomFilter other)
+    {
+        return type.equals(other.type) && words.length == other.words.length;
+    }
+
+    /**
+     * Returns a filter matching the values added to either this filter or {@code other}.
+     */
+    public BlockedBloomFilter union(BlockedBloomFilter other)
+    {
+        checkArgument(isCompatibleWith(other), "Bloom filters are not compatible: %s, %s", this, other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new BlockedBloomFilter(type, result);
+    }
+
+    /**
+     * Returns a filter matching only the values that may have been added to both this filter and {@code other}.
+     */
+    public BlockedBloomFilter intersect(BlockedBloomFilter other)
+    {
+        checkArgument(isCompatibleWith(other), "Bloom filters are not compatible: %s, %s", this, other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new BlockedBloomFilter(type, result);
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        return INSTANCE_SIZE + sizeOf(words);
+    }
+
+    private int blockOffset(long hash)
+    {
+        return ((int) (hash >>> 32) & blockMask) * WORDS_PER_BLOCK;
+    }
+
+    // type hashes of small values are not well distributed, so finalize them as in murmur3
+    private static long mix(long hash)
+    {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("type", type)
+                .add("sizeInBytes", sizeOf(words))
+                .toString();
+    }
+}
@@ -47,4 +47,13 @@ public class BucketPartitionFunction
         int bucket = bucketFunction.getBucket(functionArguments, position);
         return bucketToPartition[bucket];
     }
+
+    @Override
+    public void getPartitions(Page functionArguments, int[] partitions)
+    {
+        bucketFunction.getBuckets(functionArguments, partitions);
+        for (int position = 0; position < functionArguments.getPositionCount(); position++) {
+            partitions[position] = bucketToPartition[partitions[position]];
+        }
+    }
 }
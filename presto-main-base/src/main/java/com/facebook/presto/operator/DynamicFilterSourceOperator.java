@@ -21,6 +21,7 @@ import com.facebook.presto.common.predicate.Domain;
 import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.common.predicate.ValueSet;
 import com.facebook.presto.common.type.Type;
+import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.operator.aggregation.TypedSet;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.google.common.collect.ImmutableList;
@@ -28,6 +29,7 @@ import com.google.common.collect.ImmutableMap;
 import jakarta.annotation.Nullable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -46,6 +48,7 @@ import static java.util.stream.Collectors.toSet;
  * The collected pages' value are used for creating a run-time filtering constraint (for probe-side table scan in an inner join).
  * We record all values for the run-time filter only for small build-side pages (which should be the case when using "broadcast" join).
  * For large inputs on build side, we can optionally record the min and max values per channel for orderable types (except Double and Real).
+ * Optionally, all the build-side values are also added to a fixed size Bloom filter per channel, which stays selective for large inputs.
  */
 public class DynamicFilterSourceOperator
         implements Operator
@@ -87,10 +90,12 @@ public class DynamicFilterSourceOperator
         private final int operatorId;
         private final PlanNodeId planNodeId;
         private final Consumer<TupleDomain<String>> dynamicPredicateConsumer;
+        private final Consumer<Map<String, BlockedBloomFilter>> bloomFilterConsumer;
         private final List<Channel> channels;
         private final int maxFilterPositionsCount;
         private final DataSize maxFilterSize;
         private final int minMaxCollectionLimit;
+        private final DataSize bloomFilterMaxSize;
         private final boolean useNewNanDefinition;
 
         private boolean closed;
@@ -99,15 +104,18 @@ public class DynamicFilterSourceOperator
                 int operatorId,
                 PlanNodeId planNodeId,
                 Consumer<TupleDomain<String>> dynamicPredicateConsumer,
+                Consumer<Map<String, BlockedBloomFilter>> bloomFilterConsumer,
                 List<Channel> channels,
                 int maxFilterPositionsCount,
                 DataSize maxFilterSize,
                 int minMaxCollectionLimit,
+                DataSize bloomFilterMaxSize,
                 boolean useNewNanDefinition)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
             this.dynamicPredicateConsumer = requireNonNull(dynamicPredicateConsumer, "dynamicPredicateConsumer is null");
+            this.bloomFilterConsumer = requireNonNull(bloomFilterConsumer, "bloomFilterConsumer is null");
             this.channels = requireNonNull(channels, "channels is null");
             verify(
                     channels.stream().map(channel -> channel.getFilterId()).collect(toSet()).size() == channels.size(),
@@ -118,6 +126,7 @@ public class DynamicFilterSourceOperator
             this.maxFilterPositionsCount = maxFilterPositionsCount;
             this.maxFilterSize = maxFilterSize;
             this.minMaxCollectionLimit = minMaxCollectionLimit;
+            this.bloomFilterMaxSize = requireNonNull(bloomFilterMaxSize, "bloomFilterMaxSize is null");
             this.useNewNanDefinition = useNewNanDefinition;
         }
 
@@ -128,11 +137,13 @@ public class DynamicFilterSourceOperator
             return new DynamicFilterSourceOperator(
                     driverContext.addOperatorContext(operatorId, planNodeId, DynamicFilterSourceOperator.class.getSimpleName()),
                     dynamicPredicateConsumer,
+                    bloomFilterConsumer,
                     channels,
                     planNodeId,
                     maxFilterPositionsCount,
                     maxFilterSize,
                     minMaxCollectionLimit,
+                    bloomFilterMaxSize,
                     useNewNanDefinition);
         }
 
@@ -152,6 +163,8 @@ public class DynamicFilterSourceOperator
 
     private final OperatorContext context;
     private final Consumer<TupleDomain<String>> dynamicPredicateConsumer;
+    private final Consumer<Map<String, BlockedBloomFilter>> bloomFilterConsumer;
+    private final LocalMemoryContext bloomFilterMemoryContext;
     private final int maxFilterPositionsCount;
     private final long maxFilterSizeInBytes;
     private final List<Channel> channels;
@@ -173,14 +186,20 @@ public class DynamicFilterSourceOperator
     @Nullable
     private Block[] maxValues;
 
+    // Not collected when Bloom filters are disabled.
+    @Nullable
+    private BlockedBloomFilter[] bloomFilters;
+
     private DynamicFilterSourceOperator(
             OperatorContext context,
             Consumer<TupleDomain<String>> dynamicPredicateConsumer,
+            Consumer<Map<String, BlockedBloomFilter>> bloomFilterConsumer,
             List<Channel> channels,
             PlanNodeId planNodeId,
             int maxFilterPositionsCount,
             DataSize maxFilterSize,
             int minMaxCollectionLimit,
+            DataSize bloomFilterMaxSize,
             boolean useNewNanDefinition)
     {
         this.context = requireNonNull(context, "context is null");
@@ -188,6 +207,8 @@ public class DynamicFilterSourceOperator
         this.maxFilterSizeInBytes = maxFilterSize.toBytes();
 
         this.dynamicPredicateConsumer = requireNonNull(dynamicPredicateConsumer, "dynamicPredicateConsumer is null");
+        this.bloomFilterConsumer = requireNonNull(bloomFilterConsumer, "bloomFilterConsumer is null");
+        this.bloomFilterMemoryContext = context.newLocalSystemMemoryContext(DynamicFilterSourceOperator.class.getSimpleName());
         this.channels = requireNonNull(channels, "channels is null");
 
         this.blockBuilders = new BlockBuilder[channels.size()];
@@ -214,6 +235,15 @@ public class DynamicFilterSourceOperator
             minValues = new Block[channels.size()];
             maxValues = new Block[channels.size()];
         }
+        if (bloomFilterMaxSize.toBytes() > 0) {
+            bloomFilters = new BlockedBloomFilter[channels.size()];
+            long retainedSizeInBytes = 0;
+            for (int channelIndex = 0; channelIndex < channels.size(); ++channelIndex) {
+                bloomFilters[channelIndex] = BlockedBloomFilter.create(channels.get(channelIndex).getType(), bloomFilterMaxSize);
+                retainedSizeInBytes += bloomFilters[channelIndex].getRetainedSizeInBytes();
+            }
+            bloomFilterMemoryContext.setBytes(retainedSizeInBytes);
+        }
         this.useNewNanDefinition = useNewNanDefinition;
     }
 
@@ -234,6 +264,16 @@ public class DynamicFilterSourceOperator
     {
         verify(!finished, "DynamicFilterSourceOperator: addInput() shouldn't not be called after finish()");
         current = page;
+        if (bloomFilters != null) {
+            // Bloom filters don't depend on the number of rows, so they are collected regardless of the other limits
+            for (int channelIndex = 0; channelIndex < channels.size(); ++channelIndex) {
+                Block block = page.getBlock(channels.get(channelIndex).getIndex());
+                BlockedBloomFilter bloomFilter = bloomFilters[channelIndex];
+                for (int position = 0; position < block.getPositionCount(); ++position) {
+                    bloomFilter.add(block, position);
+                }
+            }
+        }
         if (valueSets == null) {
             // the exact predicate became too large.
             if (minValues == null) {
@@ -366,6 +406,15 @@ public class DynamicFilterSourceOperator
             return;
         }
         finished = true;
+        if (bloomFilters != null) {
+            ImmutableMap.Builder<String, BlockedBloomFilter> bloomFiltersBuilder = ImmutableMap.builder();
+            for (int channelIndex = 0; channelIndex < channels.size(); ++channelIndex) {
+                bloomFiltersBuilder.put(channels.get(channelIndex).getFilterId(), bloomFilters[channelIndex]);
+            }
+            bloomFilters = null;
+            bloomFilterConsumer.accept(bloomFiltersBuilder.build());
+            bloomFilterMemoryContext.setBytes(0);
+        }
         ImmutableMap.Builder<String, Domain> domainsBuilder = ImmutableMap.builder();
         if (valueSets == null) {
             if (minValues == null) {
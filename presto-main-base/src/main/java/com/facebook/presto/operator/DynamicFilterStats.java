@@ -25,30 +25,39 @@ import java.util.Set;
 import static java.util.Objects.requireNonNull;
 
 /**
- * Records the dynamic filter execution stats for an operator on native worker.
+ * Records the dynamic filter execution stats for an operator.
  */
 @ThriftStruct
 public class DynamicFilterStats
 {
     private final Set<PlanNodeId> producerNodeIds;
+    private long filteredPositions;
+
+    public DynamicFilterStats(Set<PlanNodeId> producerNodeIds)
+    {
+        this(producerNodeIds, 0);
+    }
 
     /**
      * Creates a DynamicFilterStats.
      *
      * @param producerNodeIds The set of plan node ids that produce the dynamic filters.
+     * @param filteredPositions The number of input rows removed by the dynamic filters.
      */
     @JsonCreator
     @ThriftConstructor
     public DynamicFilterStats(
-            @JsonProperty("producerNodeIds") Set<PlanNodeId> producerNodeIds)
+            @JsonProperty("producerNodeIds") Set<PlanNodeId> producerNodeIds,
+            @JsonProperty("filteredPositions") long filteredPositions)
     {
         this.producerNodeIds = requireNonNull(producerNodeIds, "producerNodeIds is null");
+        this.filteredPositions = filteredPositions;
     }
 
     public static DynamicFilterStats copyOf(DynamicFilterStats dynamicFilterStats)
     {
         requireNonNull(dynamicFilterStats, "dynamicFilterStats is null");
-        return new DynamicFilterStats(dynamicFilterStats.getProducerNodeIds());
+        return new DynamicFilterStats(dynamicFilterStats.getProducerNodeIds(), dynamicFilterStats.getFilteredPositions());
     }
 
     public void mergeWith(DynamicFilterStats other)
@@ -57,11 +66,12 @@ public class DynamicFilterStats
             return;
         }
         producerNodeIds.addAll(other.getProducerNodeIds());
+        filteredPositions += other.getFilteredPositions();
     }
 
     public boolean empty()
     {
-        return producerNodeIds.isEmpty();
+        return producerNodeIds.isEmpty() && filteredPositions == 0;
     }
 
     @JsonProperty
@@ -70,4 +80,11 @@ public class DynamicFilterStats
     {
         return producerNodeIds;
     }
+
+    @JsonProperty
+    @ThriftField(2)
+    public long getFilteredPositions()
+    {
+        return filteredPositions;
+    }
 }
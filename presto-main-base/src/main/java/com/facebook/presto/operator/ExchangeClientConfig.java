@@ -14,6 +14,7 @@
 package com.facebook.presto.operator;
 
 import com.facebook.airlift.configuration.Config;
+import com.facebook.airlift.configuration.ConfigDescription;
 import com.facebook.airlift.configuration.DefunctConfig;
 import com.facebook.airlift.units.DataSize;
 import com.facebook.airlift.units.Duration;
@@ -40,6 +41,7 @@ public class ExchangeClientConfig
     private int pageBufferClientMaxCallbackThreads = 25;
     private boolean acknowledgePages = true;
     private double responseSizeExponentialMovingAverageDecayingAlpha = 0.1;
+    private boolean inProcessTransportEnabled;
 
     @NotNull
     public DataSize getMaxBufferSize()
@@ -171,4 +173,17 @@ public class ExchangeClientConfig
     {
         return responseSizeExponentialMovingAverageDecayingAlpha;
     }
+
+    public boolean isInProcessTransportEnabled()
+    {
+        return inProcessTransportEnabled;
+    }
+
+    @Config("exchange.in-process-transport-enabled")
+    @ConfigDescription("Read pages of tasks running on the same node directly from their output buffers instead of over HTTP")
+    public ExchangeClientConfig setInProcessTransportEnabled(boolean inProcessTransportEnabled)
+    {
+        this.inProcessTransportEnabled = inProcessTransportEnabled;
+        return this;
+    }
 }
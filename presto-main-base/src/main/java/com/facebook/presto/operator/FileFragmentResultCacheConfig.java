@@ -24,6 +24,7 @@ import jakarta.validation.constraints.Min;
 
 import java.net.URI;
 
+import static com.facebook.airlift.units.DataSize.Unit.BYTE;
 import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
 import static java.util.concurrent.TimeUnit.DAYS;
@@ -39,6 +40,7 @@ public class FileFragmentResultCacheConfig
     private DataSize maxInFlightSize = new DataSize(1, GIGABYTE);
     private DataSize maxSinglePagesSize = new DataSize(500, MEGABYTE);
     private DataSize maxCacheSize = new DataSize(100, GIGABYTE);
+    private DataSize maxMemoryCacheSize = new DataSize(0, BYTE);
 
     private boolean inputDataStatsEnabled;
 
@@ -151,6 +153,20 @@ public class FileFragmentResultCacheConfig
         return this;
     }
 
+    @MinDataSize("0B")
+    public DataSize getMaxMemoryCacheSize()
+    {
+        return maxMemoryCacheSize;
+    }
+
+    @Config("fragment-result-cache.max-memory-cache-size")
+    @ConfigDescription("Maximum size of the serialized results also kept in memory in front of the on-disk cache, 0 to disable")
+    public FileFragmentResultCacheConfig setMaxMemoryCacheSize(DataSize maxMemoryCacheSize)
+    {
+        this.maxMemoryCacheSize = maxMemoryCacheSize;
+        return this;
+    }
+
     public boolean isInputDataStatsEnabled()
     {
         return inputDataStatsEnabled;
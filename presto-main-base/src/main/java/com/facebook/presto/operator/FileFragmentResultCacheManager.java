@@ -19,15 +19,19 @@ import com.facebook.presto.common.block.BlockEncodingSerde;
 import com.facebook.presto.execution.buffer.PagesSerdeFactory;
 import com.facebook.presto.metadata.Split;
 import com.facebook.presto.metadata.Split.SplitIdentifier;
+import com.facebook.presto.operator.FragmentResultMemoryCache.MemoryCacheEntry;
 import com.facebook.presto.spi.PrestoException;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.AbstractIterator;
+import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.InputStreamSliceInput;
 import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.Slice;
 import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
 import jakarta.inject.Inject;
 import org.weakref.jmx.Managed;
 
@@ -51,6 +55,8 @@ import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static com.facebook.presto.spi.page.PagesSerdeUtil.readPages;
 import static com.facebook.presto.spi.page.PagesSerdeUtil.writePages;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
 import static java.nio.file.Files.newInputStream;
 import static java.nio.file.Files.newOutputStream;
 import static java.nio.file.StandardOpenOption.APPEND;
@@ -76,6 +82,8 @@ public class FileFragmentResultCacheManager
     private final ExecutorService removalExecutor;
 
     private final Cache<CacheKey, CacheEntry> cache;
+    // Serialized results kept in memory in front of the files, when enabled.
+    private final Optional<FragmentResultMemoryCache> memoryCache;
     private final boolean inputDataStatsEnabled;
 
     // TODO: Decouple CacheKey by encoding PlanNode and SplitIdentifier separately so we don't have to keep too many objects in memory
@@ -105,6 +113,10 @@ public class FileFragmentResultCacheManager
                 .removalListener(new CacheRemovalListener())
                 .recordStats()
                 .build();
+        long maxMemoryCacheBytes = cacheConfig.getMaxMemoryCacheSize().toBytes();
+        this.memoryCache = maxMemoryCacheBytes > 0 ?
+                Optional.of(new FragmentResultMemoryCache(maxMemoryCacheBytes, cacheConfig.getMaxCachedEntries(), fragmentCacheStats)) :
+                Optional.empty();
         this.inputDataStatsEnabled = cacheConfig.isInputDataStatsEnabled();
 
         File target = new File(baseDirectory.toUri());
@@ -166,11 +178,24 @@ public class FileFragmentResultCacheManager
         try {
             Files.createFile(path);
             try (SliceOutput output = new OutputStreamSliceOutput(newOutputStream(path, APPEND))) {
-                writePages(pagesSerdeFactory.createPagesSerde(), output, pages.iterator());
+                Optional<Slice> serializedPages = Optional.empty();
+                if (memoryCache.isPresent() && resultSize <= memoryCache.get().getMaxEntrySizeInBytes()) {
+                    // serialize the pages once for both the file and the memory tier
+                    DynamicSliceOutput buffer = new DynamicSliceOutput(toIntExact(max(resultSize, 64)));
+                    writePages(pagesSerdeFactory.createPagesSerde(), buffer, pages.iterator());
+                    serializedPages = Optional.of(copyToDirect(buffer.slice()));
+                    output.writeBytes(serializedPages.get());
+                }
+                else {
+                    writePages(pagesSerdeFactory.createPagesSerde(), output, pages.iterator());
+                }
                 long resultPhysicalBytes = output.size();
                 cache.put(key, new CacheEntry(path, resultPhysicalBytes, inputDataSize));
                 fragmentCacheStats.incrementCacheEntries();
                 fragmentCacheStats.addCacheSizeInBytes(resultPhysicalBytes);
+                if (serializedPages.isPresent()) {
+                    memoryCache.get().put(key, serializedPages.get(), inputDataSize);
+                }
             }
             catch (UncheckedIOException | IOException e) {
                 log.warn(e, "%s encountered an error while writing to path %s", Thread.currentThread().getName(), path);
@@ -186,6 +211,14 @@ public class FileFragmentResultCacheManager
         }
     }
 
+    // keeps the cached results out of the Java heap
+    private static Slice copyToDirect(Slice slice)
+    {
+        Slice direct = Slices.allocateDirect(slice.length());
+        direct.setBytes(0, slice);
+        return direct;
+    }
+
     private static void tryDeleteFile(Path path)
     {
         try {
@@ -203,13 +236,39 @@ public class FileFragmentResultCacheManager
     public FragmentCacheResult get(String serializedPlan, Split split)
     {
         CacheKey key = new CacheKey(serializedPlan, split.getSplitIdentifier());
+        // the file entry is looked up even if the result is held in memory, so that the result expires after the same time
+        // without access as the file, and so that the memory entry is removed along with an expired file entry
         CacheEntry cacheEntry = cache.getIfPresent(key);
         if (cacheEntry == null) {
+            memoryCache.ifPresent(memory -> memory.invalidate(key));
             fragmentCacheStats.incrementCacheMiss();
             return new FragmentCacheResult(Optional.empty(), 0);
         }
 
+        if (memoryCache.isPresent()) {
+            Optional<MemoryCacheEntry> memoryCacheEntry = memoryCache.get().get(key);
+            if (memoryCacheEntry.isPresent()) {
+                Iterator<Page> result = readPages(pagesSerdeFactory.createPagesSerde(), memoryCacheEntry.get().getSerializedPages().getInput());
+                fragmentCacheStats.incrementCacheHit();
+                return new FragmentCacheResult(Optional.of(result), memoryCacheEntry.get().getInputDataSize());
+            }
+        }
+
         try {
+            if (memoryCache.isPresent() && memoryCache.get().isAdmitted(key, cacheEntry.getResultBytes())) {
+                // read the file once and serve the pages from memory, so later reads don't touch the disk if the result is admitted
+                Slice serializedPages = Slices.allocateDirect(toIntExact(cacheEntry.getResultBytes()));
+                try (InputStream inputStream = newInputStream(cacheEntry.getPath())) {
+                    serializedPages.setBytes(0, inputStream, serializedPages.length());
+                }
+                if (memoryCache.get().put(key, serializedPages, cacheEntry.getInputDataSize())) {
+                    fragmentCacheStats.incrementMemoryCachePromotion();
+                }
+                Iterator<Page> result = readPages(pagesSerdeFactory.createPagesSerde(), serializedPages.getInput());
+                fragmentCacheStats.incrementCacheHit();
+                return new FragmentCacheResult(Optional.of(result), cacheEntry.getInputDataSize());
+            }
+
             InputStream inputStream = newInputStream(cacheEntry.getPath());
             Iterator<Page> result = readPages(pagesSerdeFactory.createPagesSerde(), new InputStreamSliceInput(inputStream));
             fragmentCacheStats.incrementCacheHit();
@@ -227,6 +286,7 @@ public class FileFragmentResultCacheManager
     public void invalidateAllCache()
     {
         cache.invalidateAll();
+        memoryCache.ifPresent(FragmentResultMemoryCache::invalidateAll);
     }
 
     private static <T> Iterator<T> closeWhenExhausted(Iterator<T> iterator, Closeable resource)
@@ -331,6 +391,8 @@ public class FileFragmentResultCacheManager
         public void onRemoval(RemovalNotification<CacheKey, CacheEntry> notification)
         {
             CacheEntry cacheEntry = notification.getValue();
+            // the result held in memory goes away with its file, whatever the cause of the removal
+            memoryCache.ifPresent(memory -> memory.invalidate(notification.getKey()));
             removalExecutor.submit(() -> tryDeleteFile(cacheEntry.getPath()));
             fragmentCacheStats.incrementCacheRemoval();
             fragmentCacheStats.decrementCacheEntries();
@@ -0,0 +1,572 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.PageBuilder;
+import com.facebook.presto.common.array.LongBigArray;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.type.AbstractLongType;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.function.aggregation.GroupByIdBlock;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.DateType.DATE;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
+import static com.facebook.presto.common.type.SmallintType.SMALLINT;
+import static com.facebook.presto.common.type.TinyintType.TINYINT;
+import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INSUFFICIENT_RESOURCES;
+import static com.facebook.presto.util.HashCollisionsEstimator.estimateNumberOfHashCollisions;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static it.unimi.dsi.fastutil.HashCommon.arraySize;
+import static it.unimi.dsi.fastutil.HashCommon.murmurHash3;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Group by hash for keys made only of fixed-width integral columns. Each group key is packed
+ * into a flat row of longs: a null mask followed by one slot per channel. Hashing is done
+ * column at a time for the whole page and equality is a plain comparison of the packed rows,
+ * so neither needs a compiled {@link PagesHashStrategy} nor a copy of the input blocks.
+ * <p>
+ * The raw hash of a row is the same as the one computed by {@link InterpretedHashGenerator},
+ * so the group ids can be used interchangeably with {@link MultiChannelGroupByHash}.
+ */
+public class FixedWidthGroupByHash
+        implements GroupByHash
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(FixedWidthGroupByHash.class).instanceSize();
+
+    private static final float FILL_RATIO = 0.75f;
+
+    // all of these types store their values as sign extended longs and hash them with the same xxhash64 mix
+    private static final Set<Type> SUPPORTED_TYPES = ImmutableSet.of(BIGINT, INTEGER, SMALLINT, TINYINT, DATE);
+
+    private final List<Type> hashTypes;
+    private final List<Type> types;
+    private final int[] channels;
+    private final Optional<Integer> inputHashChannel;
+
+    // number of longs used by a packed key: the null mask followed by the channel values
+    private final int keyWidth;
+
+    private int hashCapacity;
+    private int maxFill;
+    private int mask;
+
+    // the hash table from raw hashes to groupIds
+    private int[] groupIdsByHash;
+    private long[] rawHashByHashPosition;
+
+    // reverse index from the groupId back to the packed key
+    private final LongBigArray keysByGroupId;
+    // only populated when the raw hash is provided by the input
+    private final LongBigArray rawHashByGroupId;
+
+    private int nextGroupId;
+    private long hashCollisions;
+    private double expectedHashCollisions;
+
+    // reserve enough memory before rehash
+    private final UpdateMemory updateMemory;
+    private long preallocatedMemoryInBytes;
+    private long currentPageSizeInBytes;
+
+    public static boolean isSupportedKey(List<? extends Type> hashTypes)
+    {
+        return !hashTypes.isEmpty() && hashTypes.size() < Long.SIZE && SUPPORTED_TYPES.containsAll(hashTypes);
+    }
+
+    public FixedWidthGroupByHash(
+            List<? extends Type> hashTypes,
+            int[] hashChannels,
+            Optional<Integer> inputHashChannel,
+            int expectedSize,
+            UpdateMemory updateMemory)
+    {
+        this.hashTypes = ImmutableList.copyOf(requireNonNull(hashTypes, "hashTypes is null"));
+        requireNonNull(hashChannels, "hashChannels is null");
+        checkArgument(hashTypes.size() == hashChannels.length, "hashTypes and hashChannels have different sizes");
+        checkArgument(isSupportedKey(hashTypes), "unsupported key types: %s", hashTypes);
+        checkArgument(expectedSize > 0, "expectedSize must be greater than zero");
+
+        this.inputHashChannel = requireNonNull(inputHashChannel, "inputHashChannel is null");
+        this.types = inputHashChannel.isPresent() ? ImmutableList.copyOf(Iterables.concat(hashTypes, ImmutableList.of(BIGINT))) : this.hashTypes;
+        this.channels = hashChannels.clone();
+        this.keyWidth = hashChannels.length + 1;
+
+        hashCapacity = arraySize(expectedSize, FILL_RATIO);
+
+        maxFill = calculateMaxFill(hashCapacity);
+        mask = hashCapacity - 1;
+        groupIdsByHash = new int[hashCapacity];
+        Arrays.fill(groupIdsByHash, -1);
+        rawHashByHashPosition = new long[hashCapacity];
+
+        keysByGroupId = new LongBigArray();
+        keysByGroupId.ensureCapacity((long) maxFill * keyWidth);
+        rawHashByGroupId = new LongBigArray();
+        if (inputHashChannel.isPresent()) {
+            rawHashByGroupId.ensureCapacity(maxFill);
+        }
+
+        // This interface is used for actively reserving memory (push model) for rehash.
+        // The caller can also query memory usage on this object (pull model)
+        this.updateMemory = requireNonNull(updateMemory, "updateMemory is null");
+    }
+
+    @Override
+    public long getEstimatedSize()
+    {
+        return INSTANCE_SIZE +
+                sizeOf(groupIdsByHash) +
+                sizeOf(rawHashByHashPosition) +
+                keysByGroupId.sizeOf() +
+                rawHashByGroupId.sizeOf() +
+                preallocatedMemoryInBytes;
+    }
+
+    @Override
+    public long getHashCollisions()
+    {
+        return hashCollisions;
+    }
+
+    @Override
+    public double getExpectedHashCollisions()
+    {
+        return expectedHashCollisions + estimateNumberOfHashCollisions(getGroupCount(), hashCapacity);
+    }
+
+    @Override
+    public List<Type> getTypes()
+    {
+        return types;
+    }
+
+    @Override
+    public int getGroupCount()
+    {
+        return nextGroupId;
+    }
+
+    @Override
+    public void appendValuesTo(int groupId, PageBuilder pageBuilder, int outputChannelOffset)
+    {
+        checkArgument(groupId >= 0, "groupId is negative");
+        long keyOffset = (long) groupId * keyWidth;
+        long nullMask = keysByGroupId.get(keyOffset);
+        for (int i = 0; i < hashTypes.size(); i++) {
+            BlockBuilder blockBuilder = pageBuilder.getBlockBuilder(outputChannelOffset + i);
+            if ((nullMask & (1L << i)) != 0) {
+                blockBuilder.appendNull();
+            }
+            else {
+                hashTypes.get(i).writeLong(blockBuilder, keysByGroupId.get(keyOffset + i + 1));
+            }
+        }
+
+        if (inputHashChannel.isPresent()) {
+            BIGINT.writeLong(pageBuilder.getBlockBuilder(outputChannelOffset + hashTypes.size()), rawHashByGroupId.get(groupId));
+        }
+    }
+
+    @Override
+    public Work<?> addPage(Page page)
+    {
+        currentPageSizeInBytes = page.getRetainedSizeInBytes();
+        return new AddPageWork(new PackedKeys(page));
+    }
+
+    @Override
+    public List<Page> getBufferedPages()
+    {
+        // This method is left unimplemented since it is not invoked from anywhere within code.
+        // Add an implementation, if needed in future
+        throw new UnsupportedOperationException("FixedWidthGroupByHash does not support getBufferedPages");
+    }
+
+    @Override
+    public Work<GroupByIdBlock> getGroupIds(Page page)
+    {
+        currentPageSizeInBytes = page.getRetainedSizeInBytes();
+        return new GetGroupIdsWork(new PackedKeys(page));
+    }
+
+    @Override
+    public boolean contains(int position, Page page, int[] hashChannels)
+    {
+        long[] key = new long[keyWidth];
+        long rawHash = 0;
+        for (int i = 0; i < hashChannels.length; i++) {
+            Block block = page.getBlock(hashChannels[i]);
+            rawHash *= 31;
+            if (block.isNull(position)) {
+                key[0] |= 1L << i;
+            }
+            else {
+                long value = hashTypes.get(i).getLong(block, position);
+                key[i + 1] = value;
+                rawHash += AbstractLongType.hash(value);
+            }
+        }
+        return findGroupId(key, 0, rawHash) >= 0;
+    }
+
+    @Override
+    public boolean contains(int position, Page page, int[] hashChannels, long rawHash)
+    {
+        long[] key = new long[keyWidth];
+        for (int i = 0; i < hashChannels.length; i++) {
+            Block block = page.getBlock(hashChannels[i]);
+            if (block.isNull(position)) {
+                key[0] |= 1L << i;
+            }
+            else {
+                key[i + 1] = hashTypes.get(i).getLong(block, position);
+            }
+        }
+        return findGroupId(key, 0, rawHash) >= 0;
+    }
+
+    @Override
+    public long getRawHash(int groupId)
+    {
+        if (inputHashChannel.isPresent()) {
+            return rawHashByGroupId.get(groupId);
+        }
+        long keyOffset = (long) groupId * keyWidth;
+        long rawHash = 0;
+        for (int i = 1; i < keyWidth; i++) {
+            // null values are stored as zero, which hashes to zero just like a null
+            rawHash = rawHash * 31 + AbstractLongType.hash(keysByGroupId.get(keyOffset + i));
+        }
+        return rawHash;
+    }
+
+    @VisibleForTesting
+    @Override
+    public int getCapacity()
+    {
+        return hashCapacity;
+    }
+
+    private int findGroupId(long[] keys, int keyOffset, long rawHash)
+    {
+        int hashPosition = getHashPosition(rawHash, mask);
+        while (groupIdsByHash[hashPosition] != -1) {
+            if (rawHashByHashPosition[hashPosition] == rawHash && keyEquals(groupIdsByHash[hashPosition], keys, keyOffset)) {
+                return groupIdsByHash[hashPosition];
+            }
+            // increment position and mask to handle wrap around
+            hashPosition = (hashPosition + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int putIfAbsent(long[] keys, int keyOffset, long rawHash)
+    {
+        int hashPosition = getHashPosition(rawHash, mask);
+
+        // look for an empty slot or a slot containing this key
+        while (groupIdsByHash[hashPosition] != -1) {
+            int groupId = groupIdsByHash[hashPosition];
+            if (rawHashByHashPosition[hashPosition] == rawHash && keyEquals(groupId, keys, keyOffset)) {
+                return groupId;
+            }
+            // increment position and mask to handle wrap around
+            hashPosition = (hashPosition + 1) & mask;
+            hashCollisions++;
+        }
+
+        return addNewGroup(hashPosition, keys, keyOffset, rawHash);
+    }
+
+    private boolean keyEquals(int groupId, long[] keys, int keyOffset)
+    {
+        long groupKeyOffset = (long) groupId * keyWidth;
+        for (int i = 0; i < keyWidth; i++) {
+            if (keysByGroupId.get(groupKeyOffset + i) != keys[keyOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int addNewGroup(int hashPosition, long[] keys, int keyOffset, long rawHash)
+    {
+        // record group id in hash
+        int groupId = nextGroupId++;
+
+        long groupKeyOffset = (long) groupId * keyWidth;
+        for (int i = 0; i < keyWidth; i++) {
+            keysByGroupId.set(groupKeyOffset + i, keys[keyOffset + i]);
+        }
+        if (inputHashChannel.isPresent()) {
+            rawHashByGroupId.set(groupId, rawHash);
+        }
+        groupIdsByHash[hashPosition] = groupId;
+        rawHashByHashPosition[hashPosition] = rawHash;
+
+        // increase capacity, if necessary
+        if (needRehash()) {
+            tryRehash();
+        }
+        return groupId;
+    }
+
+    private boolean tryRehash()
+    {
+        long newCapacityLong = hashCapacity * 2L;
+        if (newCapacityLong > Integer.MAX_VALUE) {
+            throw new PrestoException(GENERIC_INSUFFICIENT_RESOURCES, "Size of hash table cannot exceed 1 billion entries");
+        }
+        int newCapacity = toIntExact(newCapacityLong);
+        int newMaxFill = calculateMaxFill(newCapacity);
+
+        // An estimate of how much extra memory is needed before we can go ahead and expand the hash table.
+        // This includes the new capacity for groupIdsByHash, rawHashByHashPosition, keysByGroupId and rawHashByGroupId as well as the size of the current page
+        long groupSizeInBytes = (keyWidth + (inputHashChannel.isPresent() ? 1 : 0)) * (long) Long.BYTES;
+        preallocatedMemoryInBytes = newCapacity * (long) (Integer.BYTES + Long.BYTES) + newMaxFill * groupSizeInBytes + currentPageSizeInBytes;
+        if (!updateMemory.update()) {
+            // reserved memory but has exceeded the limit
+            return false;
+        }
+
+        expectedHashCollisions += estimateNumberOfHashCollisions(getGroupCount(), hashCapacity);
+
+        int newMask = newCapacity - 1;
+        int[] newGroupIds = new int[newCapacity];
+        Arrays.fill(newGroupIds, -1);
+        long[] newRawHashes = new long[newCapacity];
+
+        for (int oldIndex = 0; oldIndex < hashCapacity; oldIndex++) {
+            int groupId = groupIdsByHash[oldIndex];
+            if (groupId == -1) {
+                continue;
+            }
+            long rawHash = rawHashByHashPosition[oldIndex];
+
+            // find an empty slot for the group
+            int hashPosition = getHashPosition(rawHash, newMask);
+            while (newGroupIds[hashPosition] != -1) {
+                hashPosition = (hashPosition + 1) & newMask;
+                hashCollisions++;
+            }
+
+            // record the mapping
+            newGroupIds[hashPosition] = groupId;
+            newRawHashes[hashPosition] = rawHash;
+        }
+
+        mask = newMask;
+        hashCapacity = newCapacity;
+        maxFill = newMaxFill;
+        groupIdsByHash = newGroupIds;
+        rawHashByHashPosition = newRawHashes;
+
+        keysByGroupId.ensureCapacity((long) maxFill * keyWidth);
+        if (inputHashChannel.isPresent()) {
+            rawHashByGroupId.ensureCapacity(maxFill);
+        }
+
+        preallocatedMemoryInBytes = 0;
+        // release temporary memory reservation
+        updateMemory.update();
+        return true;
+    }
+
+    private boolean needRehash()
+    {
+        return nextGroupId >= maxFill;
+    }
+
+    private static int getHashPosition(long rawHash, int mask)
+    {
+        return (int) (murmurHash3(rawHash) & mask);
+    }
+
+    private static int calculateMaxFill(int hashSize)
+    {
+        checkArgument(hashSize > 0, "hashSize must be greater than 0");
+        int maxFill = (int) Math.ceil(hashSize * FILL_RATIO);
+        if (maxFill == hashSize) {
+            maxFill--;
+        }
+        checkArgument(hashSize > maxFill, "hashSize must be larger than maxFill");
+        return maxFill;
+    }
+
+    /**
+     * Keys and raw hashes of every position of a page, extracted one column at a time.
+     */
+    private class PackedKeys
+    {
+        private final int positionCount;
+        private final long[] keys;
+        private final long[] rawHashes;
+
+        public PackedKeys(Page page)
+        {
+            positionCount = page.getPositionCount();
+            keys = new long[positionCount * keyWidth];
+            rawHashes = new long[positionCount];
+
+            for (int i = 0; i < channels.length; i++) {
+                Block block = page.getBlock(channels[i]);
+                Type type = hashTypes.get(i);
+                long nullBit = 1L << i;
+                boolean mayHaveNull = block.mayHaveNull();
+                int keyOffset = i + 1;
+                for (int position = 0; position < positionCount; position++) {
+                    if (mayHaveNull && block.isNull(position)) {
+                        keys[position * keyWidth] |= nullBit;
+                    }
+                    else {
+                        keys[position * keyWidth + keyOffset] = type.getLong(block, position);
+                    }
+                }
+            }
+
+            if (inputHashChannel.isPresent()) {
+                Block hashBlock = page.getBlock(inputHashChannel.get());
+                for (int position = 0; position < positionCount; position++) {
+                    rawHashes[position] = BIGINT.getLong(hashBlock, position);
+                }
+            }
+            else {
+                for (int i = 1; i < keyWidth; i++) {
+                    for (int position = 0; position < positionCount; position++) {
+                        // null values are stored as zero, which hashes to zero just like a null
+                        rawHashes[position] = rawHashes[position] * 31 + AbstractLongType.hash(keys[position * keyWidth + i]);
+                    }
+                }
+            }
+        }
+
+        public int getPositionCount()
+        {
+            return positionCount;
+        }
+
+        public int putIfAbsent(int position)
+        {
+            return FixedWidthGroupByHash.this.putIfAbsent(keys, position * keyWidth, rawHashes[position]);
+        }
+    }
+
+    private class AddPageWork
+            implements Work<Void>
+    {
+        private final PackedKeys packedKeys;
+
+        private int lastPosition;
+
+        public AddPageWork(PackedKeys packedKeys)
+        {
+            this.packedKeys = requireNonNull(packedKeys, "packedKeys is null");
+        }
+
+        @Override
+        public boolean process()
+        {
+            int positionCount = packedKeys.getPositionCount();
+            checkState(lastPosition <= positionCount, "position count out of bound");
+
+            // needRehash() == true indicates we have reached capacity boundary and a rehash is needed.
+            // We can only proceed if tryRehash() successfully did a rehash.
+            if (needRehash() && !tryRehash()) {
+                return false;
+            }
+
+            // putIfAbsent will rehash automatically if rehash is needed, unless there isn't enough memory to do so.
+            // Therefore needRehash will not generally return true even if we have just crossed the capacity boundary.
+            while (lastPosition < positionCount && !needRehash()) {
+                // get the group for the current row
+                packedKeys.putIfAbsent(lastPosition);
+                lastPosition++;
+            }
+            return lastPosition == positionCount;
+        }
+
+        @Override
+        public Void getResult()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class GetGroupIdsWork
+            implements Work<GroupByIdBlock>
+    {
+        private final BlockBuilder blockBuilder;
+        private final PackedKeys packedKeys;
+
+        private boolean finished;
+        private int lastPosition;
+
+        public GetGroupIdsWork(PackedKeys packedKeys)
+        {
+            this.packedKeys = requireNonNull(packedKeys, "packedKeys is null");
+            // we know the exact size required for the block
+            this.blockBuilder = BIGINT.createFixedSizeBlockBuilder(packedKeys.getPositionCount());
+        }
+
+        @Override
+        public boolean process()
+        {
+            int positionCount = packedKeys.getPositionCount();
+            checkState(lastPosition <= positionCount, "position count out of bound");
+            checkState(!finished);
+
+            // needRehash() == true indicates we have reached capacity boundary and a rehash is needed.
+            // We can only proceed if tryRehash() successfully did a rehash.
+            if (needRehash() && !tryRehash()) {
+                return false;
+            }
+
+            // putIfAbsent will rehash automatically if rehash is needed, unless there isn't enough memory to do so.
+            // Therefore needRehash will not generally return true even if we have just crossed the capacity boundary.
+            while (lastPosition < positionCount && !needRehash()) {
+                // output the group id for this row
+                BIGINT.writeLong(blockBuilder, packedKeys.putIfAbsent(lastPosition));
+                lastPosition++;
+            }
+            return lastPosition == positionCount;
+        }
+
+        @Override
+        public GroupByIdBlock getResult()
+        {
+            checkState(lastPosition == packedKeys.getPositionCount(), "process has not yet finished");
+            checkState(!finished, "result has produced");
+            finished = true;
+            return new GroupByIdBlock(nextGroupId, blockBuilder.build());
+        }
+    }
+}
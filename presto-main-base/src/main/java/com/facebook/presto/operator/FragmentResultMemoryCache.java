@@ -0,0 +1,300 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.operator.FileFragmentResultCacheManager.CacheKey;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.airlift.slice.Slice;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-memory tier of {@link FileFragmentResultCacheManager}, holding the serialized pages of cached results.
+ * The entries are removed along with the cache files they mirror, so they share their expiration.
+ * <p>
+ * Eviction follows W-TinyLFU: a result enters a small LRU admission window, and when it leaves the window it
+ * only replaces the least recently used result of the main region if it has been requested more often recently.
+ * Request frequencies are estimated with a count-min sketch that is periodically halved, so results read once
+ * can't flush the results that are read over and over.
+ */
+@ThreadSafe
+class FragmentResultMemoryCache
+{
+    private static final double WINDOW_FRACTION = 0.01;
+
+    private final long windowMaxBytes;
+    private final long mainMaxBytes;
+    private final FragmentCacheStats fragmentCacheStats;
+
+    @GuardedBy("this")
+    private final FrequencySketch frequencySketch;
+    // both maps are in access order, the first entry is the least recently used one
+    @GuardedBy("this")
+    private final LinkedHashMap<CacheKey, MemoryCacheEntry> window = new LinkedHashMap<>(16, 0.75f, true);
+    @GuardedBy("this")
+    private final LinkedHashMap<CacheKey, MemoryCacheEntry> main = new LinkedHashMap<>(16, 0.75f, true);
+    @GuardedBy("this")
+    private long windowBytes;
+    @GuardedBy("this")
+    private long mainBytes;
+
+    public FragmentResultMemoryCache(long maxSizeInBytes, int expectedEntries, FragmentCacheStats fragmentCacheStats)
+    {
+        checkArgument(maxSizeInBytes > 0, "maxSizeInBytes must be positive");
+        this.windowMaxBytes = (long) (maxSizeInBytes * WINDOW_FRACTION);
+        this.mainMaxBytes = maxSizeInBytes - windowMaxBytes;
+        this.frequencySketch = new FrequencySketch(expectedEntries);
+        this.fragmentCacheStats = requireNonNull(fragmentCacheStats, "fragmentCacheStats is null");
+    }
+
+    /**
+     * Results larger than this are never kept in memory.
+     */
+    public long getMaxEntrySizeInBytes()
+    {
+        return mainMaxBytes;
+    }
+
+    public synchronized Optional<MemoryCacheEntry> get(CacheKey key)
+    {
+        frequencySketch.increment(hash(key));
+        MemoryCacheEntry entry = window.get(key);
+        if (entry == null) {
+            entry = main.get(key);
+        }
+        if (entry == null) {
+            fragmentCacheStats.incrementMemoryCacheMiss();
+            return Optional.empty();
+        }
+        fragmentCacheStats.incrementMemoryCacheHit();
+        return Optional.of(entry);
+    }
+
+    /**
+     * Returns whether the result is held in memory after the call.
+     */
+    public synchronized boolean put(CacheKey key, Slice serializedPages, long inputDataSize)
+    {
+        MemoryCacheEntry entry = new MemoryCacheEntry(serializedPages, inputDataSize);
+        if (entry.getRetainedSizeInBytes() > mainMaxBytes) {
+            return false;
+        }
+        if (window.containsKey(key) || main.containsKey(key)) {
+            return true;
+        }
+
+        window.put(key, entry);
+        windowBytes += entry.getRetainedSizeInBytes();
+        fragmentCacheStats.incrementMemoryCacheEntries();
+        fragmentCacheStats.addMemoryCacheSizeInBytes(entry.getRetainedSizeInBytes());
+
+        Iterator<Map.Entry<CacheKey, MemoryCacheEntry>> windowIterator = window.entrySet().iterator();
+        while (windowBytes > windowMaxBytes) {
+            Map.Entry<CacheKey, MemoryCacheEntry> candidate = windowIterator.next();
+            windowIterator.remove();
+            windowBytes -= candidate.getValue().getRetainedSizeInBytes();
+            admitToMain(candidate.getKey(), candidate.getValue());
+        }
+        return window.containsKey(key) || main.containsKey(key);
+    }
+
+    /**
+     * Returns whether a result of the given size would be held in memory if it was put now, so that a result
+     * read from disk is only loaded in memory in full when it is going to be kept there.
+     */
+    public synchronized boolean isAdmitted(CacheKey key, long sizeInBytes)
+    {
+        if (sizeInBytes > mainMaxBytes) {
+            return false;
+        }
+        // a result that fits in the window is always held, for now
+        return sizeInBytes <= windowMaxBytes || isAdmittedToMain(key, sizeInBytes);
+    }
+
+    @GuardedBy("this")
+    private void admitToMain(CacheKey key, MemoryCacheEntry entry)
+    {
+        if (!isAdmittedToMain(key, entry.getRetainedSizeInBytes())) {
+            evicted(entry);
+            return;
+        }
+        Iterator<Map.Entry<CacheKey, MemoryCacheEntry>> mainIterator = main.entrySet().iterator();
+        while (mainBytes + entry.getRetainedSizeInBytes() > mainMaxBytes) {
+            Map.Entry<CacheKey, MemoryCacheEntry> victim = mainIterator.next();
+            mainIterator.remove();
+            mainBytes -= victim.getValue().getRetainedSizeInBytes();
+            evicted(victim.getValue());
+        }
+        main.put(key, entry);
+        mainBytes += entry.getRetainedSizeInBytes();
+    }
+
+    /**
+     * The candidate is compared with the least recently used result of the main region only, before anything is
+     * evicted, so a rejected candidate never costs the main region any result.
+     */
+    @GuardedBy("this")
+    private boolean isAdmittedToMain(CacheKey key, long sizeInBytes)
+    {
+        if (mainBytes + sizeInBytes <= mainMaxBytes || main.isEmpty()) {
+            return true;
+        }
+        CacheKey victim = main.keySet().iterator().next();
+        return frequencySketch.frequency(hash(key)) > frequencySketch.frequency(hash(victim));
+    }
+
+    @GuardedBy("this")
+    private void evicted(MemoryCacheEntry entry)
+    {
+        fragmentCacheStats.incrementMemoryCacheEviction();
+        fragmentCacheStats.decrementMemoryCacheEntries();
+        fragmentCacheStats.addMemoryCacheSizeInBytes(-entry.getRetainedSizeInBytes());
+    }
+
+    public synchronized void invalidate(CacheKey key)
+    {
+        MemoryCacheEntry entry = window.remove(key);
+        if (entry != null) {
+            windowBytes -= entry.getRetainedSizeInBytes();
+        }
+        else {
+            entry = main.remove(key);
+            if (entry == null) {
+                return;
+            }
+            mainBytes -= entry.getRetainedSizeInBytes();
+        }
+        fragmentCacheStats.decrementMemoryCacheEntries();
+        fragmentCacheStats.addMemoryCacheSizeInBytes(-entry.getRetainedSizeInBytes());
+    }
+
+    public synchronized void invalidateAll()
+    {
+        for (MemoryCacheEntry entry : window.values()) {
+            fragmentCacheStats.decrementMemoryCacheEntries();
+            fragmentCacheStats.addMemoryCacheSizeInBytes(-entry.getRetainedSizeInBytes());
+        }
+        for (MemoryCacheEntry entry : main.values()) {
+            fragmentCacheStats.decrementMemoryCacheEntries();
+            fragmentCacheStats.addMemoryCacheSizeInBytes(-entry.getRetainedSizeInBytes());
+        }
+        window.clear();
+        main.clear();
+        windowBytes = 0;
+        mainBytes = 0;
+    }
+
+    private static long hash(CacheKey key)
+    {
+        return key.hashCode() * 0x9E3779B97F4A7C15L;
+    }
+
+    public static class MemoryCacheEntry
+    {
+        private final Slice serializedPages;
+        private final long inputDataSize;
+
+        public MemoryCacheEntry(Slice serializedPages, long inputDataSize)
+        {
+            this.serializedPages = requireNonNull(serializedPages, "serializedPages is null");
+            this.inputDataSize = inputDataSize;
+        }
+
+        public Slice getSerializedPages()
+        {
+            return serializedPages;
+        }
+
+        public long getInputDataSize()
+        {
+            return inputDataSize;
+        }
+
+        public long getRetainedSizeInBytes()
+        {
+            return serializedPages.getRetainedSize();
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters, four counters per key.
+     * All the counters are halved once the number of increments reaches ten times the table size,
+     * so the estimates favor recent requests.
+     */
+    private static class FrequencySketch
+    {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+        private static final int MAX_COUNT = 15;
+
+        private final long[] table;
+        private final int counterMask;
+        private final int sampleSize;
+        private int additions;
+
+        public FrequencySketch(int expectedEntries)
+        {
+            // one long holds 16 counters, so there are 16 counters per expected entry
+            int size = Integer.highestOneBit(max(min(expectedEntries, 1 << 24), 16) - 1) << 1;
+            this.table = new long[size];
+            this.counterMask = size * 16 - 1;
+            this.sampleSize = 10 * size;
+        }
+
+        public int frequency(long hash)
+        {
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; row++) {
+                int counter = counterIndex(hash, row);
+                frequency = min(frequency, (int) ((table[counter >>> 4] >>> ((counter & 15) << 2)) & MAX_COUNT));
+            }
+            return frequency;
+        }
+
+        public void increment(long hash)
+        {
+            boolean added = false;
+            for (int row = 0; row < SEEDS.length; row++) {
+                int counter = counterIndex(hash, row);
+                int shift = (counter & 15) << 2;
+                if (((table[counter >>> 4] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                    table[counter >>> 4] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        private int counterIndex(long hash, int row)
+        {
+            long value = (hash + SEEDS[row]) * SEEDS[row];
+            value += value >>> 32;
+            return (int) value & counterMask;
+        }
+    }
+}
@@ -55,6 +55,9 @@ public interface GroupByHash
         if (hashTypes.size() == 1 && hashTypes.get(0).equals(BIGINT) && hashChannels.length == 1) {
             return new BigintGroupByHash(hashChannels[0], inputHashChannel.isPresent(), expectedSize, updateMemory);
         }
+        if (FixedWidthGroupByHash.isSupportedKey(hashTypes)) {
+            return new FixedWidthGroupByHash(hashTypes, hashChannels, inputHashChannel, expectedSize, updateMemory);
+        }
         return new MultiChannelGroupByHash(hashTypes, hashChannels, inputHashChannel, expectedSize, processDictionary, joinCompiler, updateMemory);
     }
 
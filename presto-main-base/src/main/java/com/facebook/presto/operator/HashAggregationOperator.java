@@ -44,6 +44,8 @@ import java.util.OptionalLong;
 import java.util.stream.Collectors;
 
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.common.RuntimeMetricName.PARTIAL_AGGREGATION_SKIPPED_ROWS;
+import static com.facebook.presto.common.RuntimeUnit.NONE;
 import static com.facebook.presto.operator.aggregation.builder.InMemoryHashAggregationBuilder.toTypes;
 import static com.facebook.presto.sql.planner.PlannerUtils.INITIAL_HASH_VALUE;
 import static com.facebook.presto.type.TypeUtils.NULL_HASH_CODE;
@@ -561,6 +563,9 @@ public class HashAggregationOperator
 
     private void closeAggregationBuilder()
     {
+        if (aggregationBuilder instanceof SkipAggregationBuilder) {
+            operatorContext.getRuntimeStats().addMetricValue(PARTIAL_AGGREGATION_SKIPPED_ROWS, NONE, inputRowsProcessed);
+        }
         partialAggregationController.ifPresent(
                 controller -> controller.onFlush(
                         inputBytesProcessed,
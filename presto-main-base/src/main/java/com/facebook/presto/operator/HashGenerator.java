@@ -19,10 +19,37 @@ public interface HashGenerator
 {
     long hashPosition(int position, Page page);
 
+    /**
+     * Computes the hash of every position of the page into {@code hashes}, which must be at least as long as the page.
+     * The result must match calling {@link #hashPosition(int, Page)} for each position.
+     */
+    default void hashPositions(Page page, long[] hashes)
+    {
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            hashes[position] = hashPosition(position, page);
+        }
+    }
+
     default int getPartition(int partitionCount, int position, Page page)
     {
-        long rawHash = hashPosition(position, page);
+        return getPartition(partitionCount, hashPosition(position, page));
+    }
+
+    /**
+     * Computes the partition of every position of the page into {@code partitions}, which must be at least as long as the page.
+     */
+    default void getPartitions(int partitionCount, Page page, int[] partitions)
+    {
+        int positionCount = page.getPositionCount();
+        long[] hashes = new long[positionCount];
+        hashPositions(page, hashes);
+        for (int position = 0; position < positionCount; position++) {
+            partitions[position] = getPartition(partitionCount, hashes[position]);
+        }
+    }
 
+    static int getPartition(int partitionCount, long rawHash)
+    {
         // This function reduces the 64 bit rawHash to [0, partitionCount) uniformly. It first reduces the rawHash to 32 bit
         // integer x then normalize it to x / 2^32 * partitionCount to reduce the range of x from [0, 2^32) to [0, partitionCount)
         return (int) ((Integer.toUnsignedLong(Long.hashCode(rawHash)) * partitionCount) >> 32);
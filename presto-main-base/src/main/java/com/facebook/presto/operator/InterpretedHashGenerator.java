@@ -15,7 +15,15 @@ package com.facebook.presto.operator;
 
 import com.facebook.presto.common.Page;
 import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.DictionaryBlock;
+import com.facebook.presto.common.block.IntArrayBlock;
+import com.facebook.presto.common.block.LongArrayBlock;
+import com.facebook.presto.common.block.RunLengthEncodedBlock;
+import com.facebook.presto.common.block.VariableWidthBlock;
+import com.facebook.presto.common.type.AbstractIntType;
+import com.facebook.presto.common.type.AbstractLongType;
 import com.facebook.presto.common.type.Type;
+import com.facebook.presto.common.type.VarcharType;
 import com.facebook.presto.operator.scalar.CombineHashFunction;
 import com.facebook.presto.type.TypeUtils;
 import jakarta.annotation.Nullable;
@@ -24,7 +32,12 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.function.IntFunction;
 
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.DateType.DATE;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
+import static com.facebook.presto.common.type.VarbinaryType.VARBINARY;
 import static com.facebook.presto.sql.planner.PlannerUtils.INITIAL_HASH_VALUE;
+import static com.facebook.presto.type.TypeUtils.NULL_HASH_CODE;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
@@ -78,6 +91,68 @@ public class InterpretedHashGenerator
         return result;
     }
 
+    @Override
+    public void hashPositions(Page page, long[] hashes)
+    {
+        // Note: this must logically match hashPosition(position, Page page), but hashes one column at a time
+        // so that the common block and type combinations run in tight loops without per position virtual calls
+        int positionCount = page.getPositionCount();
+        Arrays.fill(hashes, 0, positionCount, INITIAL_HASH_VALUE);
+        for (int i = 0; i < hashChannelTypes.length; i++) {
+            Block block = page.getBlock(hashChannels == null ? i : hashChannels[i]);
+            combineHashes(hashChannelTypes[i], block, positionCount, hashes);
+        }
+    }
+
+    private static void combineHashes(Type type, Block block, int positionCount, long[] hashes)
+    {
+        if (block instanceof RunLengthEncodedBlock) {
+            long hash = TypeUtils.hashPosition(type, ((RunLengthEncodedBlock) block).getValue(), 0);
+            for (int position = 0; position < positionCount; position++) {
+                hashes[position] = CombineHashFunction.getHash(hashes[position], hash);
+            }
+        }
+        else if (block instanceof DictionaryBlock && ((DictionaryBlock) block).getDictionary().getPositionCount() <= positionCount) {
+            // hash each dictionary entry once, it is only worth it when the dictionary is not larger than the block
+            DictionaryBlock dictionaryBlock = (DictionaryBlock) block;
+            Block dictionary = dictionaryBlock.getDictionary();
+            long[] dictionaryHashes = new long[dictionary.getPositionCount()];
+            combineHashes(type, dictionary, dictionaryHashes.length, dictionaryHashes);
+            for (int position = 0; position < positionCount; position++) {
+                hashes[position] = CombineHashFunction.getHash(hashes[position], dictionaryHashes[dictionaryBlock.getId(position)]);
+            }
+        }
+        else if (block instanceof LongArrayBlock && type == BIGINT) {
+            LongArrayBlock longArrayBlock = (LongArrayBlock) block;
+            boolean mayHaveNull = block.mayHaveNull();
+            for (int position = 0; position < positionCount; position++) {
+                long hash = mayHaveNull && longArrayBlock.isNull(position) ? NULL_HASH_CODE : AbstractLongType.hash(longArrayBlock.getLong(position));
+                hashes[position] = CombineHashFunction.getHash(hashes[position], hash);
+            }
+        }
+        else if (block instanceof IntArrayBlock && (type == INTEGER || type == DATE)) {
+            IntArrayBlock intArrayBlock = (IntArrayBlock) block;
+            boolean mayHaveNull = block.mayHaveNull();
+            for (int position = 0; position < positionCount; position++) {
+                long hash = mayHaveNull && intArrayBlock.isNull(position) ? NULL_HASH_CODE : AbstractIntType.hash(intArrayBlock.getInt(position));
+                hashes[position] = CombineHashFunction.getHash(hashes[position], hash);
+            }
+        }
+        else if (block instanceof VariableWidthBlock && (type instanceof VarcharType || type == VARBINARY)) {
+            VariableWidthBlock variableWidthBlock = (VariableWidthBlock) block;
+            boolean mayHaveNull = block.mayHaveNull();
+            for (int position = 0; position < positionCount; position++) {
+                long hash = mayHaveNull && variableWidthBlock.isNull(position) ? NULL_HASH_CODE : variableWidthBlock.hash(position, 0, variableWidthBlock.getSliceLength(position));
+                hashes[position] = CombineHashFunction.getHash(hashes[position], hash);
+            }
+        }
+        else {
+            for (int position = 0; position < positionCount; position++) {
+                hashes[position] = CombineHashFunction.getHash(hashes[position], TypeUtils.hashPosition(type, block, position));
+            }
+        }
+    }
+
     public long hashPosition(int position, IntFunction<Block> blockProvider)
     {
         // Note: this code is duplicated for performance but must logically match hashPosition(position, Page page)
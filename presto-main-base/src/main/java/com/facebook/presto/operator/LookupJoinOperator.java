@@ -70,6 +70,8 @@ public class LookupJoinOperator
     private final ListenableFuture<LookupSourceProvider> lookupSourceProviderFuture;
     private LookupSourceProvider lookupSourceProvider;
     private JoinProbe probe;
+    // whether a page was already built from the current probe page
+    private boolean probeOutputBuilt;
 
     private Page outputPage;
 
@@ -234,6 +236,7 @@ public class LookupJoinOperator
         // create probe
         inputPageSpillEpoch = spillInfoSnapshot.getSpillEpoch();
         probe = joinProbeFactory.createJoinProbe(page);
+        probeOutputBuilt = false;
 
         // initialize to invalid join position to force output code to advance the cursors
         joinPosition = -1;
@@ -450,7 +453,7 @@ public class LookupJoinOperator
         long currentJoinPosition = this.joinPosition;
         boolean currentProbePositionProducedRow = this.currentProbePositionProducedRow;
 
-        clearProbe();
+        clearProbe(false);
 
         if (currentPosition < 0) {
             // Processing of the page hasn't been started yet.
@@ -591,7 +594,7 @@ public class LookupJoinOperator
     private boolean advanceProbePosition(LookupSource lookupSource)
     {
         if (!probe.advanceNextPosition()) {
-            clearProbe();
+            clearProbe(true);
             return false;
         }
 
@@ -696,13 +699,13 @@ public class LookupJoinOperator
     private boolean tryBuildPage()
     {
         if (pageBuilder.isFull()) {
-            buildPage();
+            buildPage(false);
             return true;
         }
         return false;
     }
 
-    private void buildPage()
+    private void buildPage(boolean probeFinished)
     {
         verify(outputPage == null);
         verify(probe != null);
@@ -711,18 +714,23 @@ public class LookupJoinOperator
             return;
         }
 
-        outputPage = pageBuilder.build(probe);
+        // lazy probe blocks can only be loaded for the output positions if no other page needs the rest of them
+        outputPage = pageBuilder.build(probe, probeFinished && !probeOutputBuilt);
+        probeOutputBuilt = true;
         pageBuilder.reset();
     }
 
-    private void clearProbe()
+    /**
+     * @param probeFinished whether all the positions of the probe page were processed, and the page is not used anymore
+     */
+    private void clearProbe(boolean probeFinished)
     {
         // Before updating the probe flush the current page
         if (probe != null) {
             nullProbeRowCount += probe.getNullRowCount();
             inputProbeRowCount += probe.getPositionCount();
         }
-        buildPage();
+        buildPage(probeFinished);
         probe = null;
     }
 }
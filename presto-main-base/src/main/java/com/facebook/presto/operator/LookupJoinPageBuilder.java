@@ -16,6 +16,7 @@ package com.facebook.presto.operator;
 import com.facebook.presto.common.Page;
 import com.facebook.presto.common.PageBuilder;
 import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.LazyBlock;
 import com.facebook.presto.common.type.Type;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 
@@ -98,6 +99,15 @@ public class LookupJoinPageBuilder
     }
 
     public Page build(JoinProbe probe)
+    {
+        return build(probe, false);
+    }
+
+    /**
+     * @param probePositionsLoadable whether this is the only page built from the probe page, in which case the probe
+     * blocks that are still lazy are loaded for the output positions only, e.g. the rows of a wide scan that match the build side
+     */
+    public Page build(JoinProbe probe, boolean probePositionsLoadable)
     {
         int outputPositions = probeIndexBuilder.size();
         verify(buildPageBuilder.getPositionCount() == outputPositions);
@@ -105,10 +115,32 @@ public class LookupJoinPageBuilder
         int[] probeOutputChannels = probe.getOutputChannels();
         Block[] blocks = new Block[probeOutputChannels.length + buildOutputChannelCount];
         Page probePage = probe.getPage();
+        int[] probeIndices = null;
+        if (probePositionsLoadable && outputPositions > 0) {
+            for (int i = 0; i < probeOutputChannels.length; i++) {
+                Block block = probePage.getBlock(probeOutputChannels[i]);
+                if (blocks[i] == null && isNotLoadedLazyBlock(block)) {
+                    if (probeIndices == null) {
+                        probeIndices = probeIndexBuilder.toIntArray();
+                    }
+                    blocks[i] = ((LazyBlock) block).loadPositions(probeIndices, 0, outputPositions);
+                    // a lazy block can be loaded this way only once
+                    for (int j = i + 1; j < probeOutputChannels.length; j++) {
+                        if (probeOutputChannels[j] == probeOutputChannels[i]) {
+                            blocks[j] = blocks[i];
+                        }
+                    }
+                }
+            }
+        }
         if (!isSequentialProbeIndices || outputPositions == 0) {
-            int[] probeIndices = probeIndexBuilder.toIntArray();
+            if (probeIndices == null) {
+                probeIndices = probeIndexBuilder.toIntArray();
+            }
             for (int i = 0; i < probeOutputChannels.length; i++) {
-                blocks[i] = probePage.getBlock(probeOutputChannels[i]).getPositions(probeIndices, 0, outputPositions);
+                if (blocks[i] == null) {
+                    blocks[i] = probePage.getBlock(probeOutputChannels[i]).getPositions(probeIndices, 0, outputPositions);
+                }
             }
         }
         else {
@@ -119,11 +151,18 @@ public class LookupJoinPageBuilder
             boolean outputProbeBlocksDirectly = startRegion == 0 && outputPositions == probePage.getPositionCount();
 
             for (int i = 0; i < probeOutputChannels.length; i++) {
+                if (blocks[i] != null) {
+                    continue;
+                }
                 Block block = probePage.getBlock(probeOutputChannels[i]);
                 if (!outputProbeBlocksDirectly) {
                     // only a subregion of the block should be output
                     block = block.getRegion(startRegion, outputPositions);
                 }
+                else if (isNotLoadedLazyBlock(block)) {
+                    // the source of the probe page may read its next page before the lazy block is loaded downstream
+                    block = block.getLoadedBlock();
+                }
                 blocks[i] = block;
             }
         }
@@ -198,8 +237,17 @@ public class LookupJoinPageBuilder
         // Estimate the size of an average probe page row
         int estimatedBytesPerRow = 0;
         for (int index : probe.getOutputChannels()) {
-            estimatedBytesPerRow += probePage.getBlock(index).getSizeInBytes() / probePage.getPositionCount();
+            Block block = probePage.getBlock(index);
+            // the size of a lazy block is not known without loading it, which may only be needed for a few positions
+            if (!isNotLoadedLazyBlock(block)) {
+                estimatedBytesPerRow += block.getSizeInBytes() / probePage.getPositionCount();
+            }
         }
         return estimatedBytesPerRow;
     }
+
+    private static boolean isNotLoadedLazyBlock(Block block)
+    {
+        return (block instanceof LazyBlock) && !((LazyBlock) block).isLoaded();
+    }
 }
@@ -17,6 +17,8 @@ import com.facebook.airlift.stats.CounterStat;
 import com.facebook.presto.Session;
 import com.facebook.presto.common.Page;
 import com.facebook.presto.common.RuntimeStats;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.LazyBlock;
 import com.facebook.presto.memory.QueryContextVisitor;
 import com.facebook.presto.memory.context.AggregatedMemoryContext;
 import com.facebook.presto.memory.context.LocalMemoryContext;
@@ -82,6 +84,8 @@ public class OperatorContext
     private final AtomicLong nullJoinProbeKeyCount = new AtomicLong();
     // Number of probe rows for join operator
     private final AtomicLong joinProbeKeyCount = new AtomicLong();
+    // Number of input rows removed by dynamic filters
+    private final AtomicLong dynamicFilterFilteredPositions = new AtomicLong();
 
     private final AtomicLong additionalCpuNanos = new AtomicLong();
 
@@ -180,7 +184,7 @@ public class OperatorContext
     {
         operationTimer.recordOperationComplete(addInputTiming);
         if (page != null) {
-            inputDataSize.update(page.getSizeInBytes());
+            inputDataSize.update(getLoadedSizeInBytes(page));
             inputPositions.update(page.getPositionCount());
         }
     }
@@ -220,7 +224,7 @@ public class OperatorContext
     {
         operationTimer.recordOperationComplete(getOutputTiming);
         if (page != null) {
-            outputDataSize.update(page.getSizeInBytes());
+            outputDataSize.update(getLoadedSizeInBytes(page));
             outputPositions.update(page.getPositionCount());
         }
     }
@@ -251,6 +255,11 @@ public class OperatorContext
         joinProbeKeyCount.getAndAdd(positions);
     }
 
+    public void recordDynamicFilterFilteredPositions(long positions)
+    {
+        dynamicFilterFilteredPositions.getAndAdd(positions);
+    }
+
     public void recordPhysicalWrittenData(long sizeInBytes)
     {
         physicalWrittenDataSize.getAndAdd(sizeInBytes);
@@ -581,7 +590,7 @@ public class OperatorContext
                 memoryFuture.get().isDone() ? Optional.empty() : Optional.of(WAITING_FOR_MEMORY),
                 info,
                 runtimeStats,
-                new DynamicFilterStats(new HashSet<>()),
+                new DynamicFilterStats(new HashSet<>(), dynamicFilterFilteredPositions.get()),
                 nullJoinBuildKeyCount.get(),
                 joinBuildKeyCount.get(),
                 nullJoinProbeKeyCount.get(),
@@ -593,6 +602,33 @@ public class OperatorContext
         return visitor.visitOperatorContext(this, context);
     }
 
+    /**
+     * Returns the size of the page without loading its lazy blocks, which the next operator may only load for a few positions.
+     */
+    private static long getLoadedSizeInBytes(Page page)
+    {
+        for (int channel = 0; channel < page.getChannelCount(); channel++) {
+            Block block = page.getBlock(channel);
+            if (block instanceof LazyBlock && !((LazyBlock) block).isLoaded()) {
+                return loadedBlocksSizeInBytes(page);
+            }
+        }
+        // the size of a loaded page is cached by the page
+        return page.getSizeInBytes();
+    }
+
+    private static long loadedBlocksSizeInBytes(Page page)
+    {
+        long sizeInBytes = 0;
+        for (int channel = 0; channel < page.getChannelCount(); channel++) {
+            Block block = page.getBlock(channel);
+            if (!(block instanceof LazyBlock) || ((LazyBlock) block).isLoaded()) {
+                sizeInBytes += block.getSizeInBytes();
+            }
+        }
+        return sizeInBytes;
+    }
+
     private static long nanosBetween(long start, long end)
     {
         return max(0, end - start);
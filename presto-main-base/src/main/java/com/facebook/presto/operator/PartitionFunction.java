@@ -20,4 +20,14 @@ public interface PartitionFunction
     int getPartitionCount();
 
     int getPartition(Page page, int position);
+
+    /**
+     * Computes the partition of every position of the page into {@code partitions}, which must be at least as long as the page.
+     */
+    default void getPartitions(Page page, int[] partitions)
+    {
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            partitions[position] = getPartition(page, position);
+        }
+    }
 }
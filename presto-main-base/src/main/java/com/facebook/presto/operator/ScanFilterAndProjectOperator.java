@@ -81,6 +81,7 @@ public class ScanFilterAndProjectOperator
     private final LocalMemoryContext outputMemoryContext;
     private final SettableFuture<?> blocked = SettableFuture.create();
     private final Optional<Supplier<TupleDomain<ColumnHandle>>> dynamicFilterSupplier;
+    private final Optional<Supplier<Map<Integer, BlockedBloomFilter>>> dynamicBloomFilterSupplier;
     private final MergingPageOutput mergingOutput;
 
     private RecordCursor cursor;
@@ -104,6 +105,7 @@ public class ScanFilterAndProjectOperator
             Iterable<ColumnHandle> columns,
             Iterable<Type> types,
             Optional<Supplier<TupleDomain<ColumnHandle>>> dynamicFilterSupplier,
+            Optional<Supplier<Map<Integer, BlockedBloomFilter>>> dynamicBloomFilterSupplier,
             MergingPageOutput mergingOutput)
     {
         this.cursorProcessor = requireNonNull(cursorProcessor, "cursorProcessor is null");
@@ -118,6 +120,7 @@ public class ScanFilterAndProjectOperator
         this.pageProcessorMemoryContext = newSimpleAggregatedMemoryContext().newLocalMemoryContext(ScanFilterAndProjectOperator.class.getSimpleName());
         this.outputMemoryContext = operatorContext.newLocalSystemMemoryContext(ScanFilterAndProjectOperator.class.getSimpleName());
         this.dynamicFilterSupplier = requireNonNull(dynamicFilterSupplier, "dynamicFilterSupplier is null");
+        this.dynamicBloomFilterSupplier = requireNonNull(dynamicBloomFilterSupplier, "dynamicBloomFilterSupplier is null");
         this.mergingOutput = requireNonNull(mergingOutput, "mergingOutput is null");
 
         this.pageBuilder = new PageBuilder(ImmutableList.copyOf(requireNonNull(types, "types is null")));
@@ -300,9 +303,12 @@ public class ScanFilterAndProjectOperator
             if (page != null) {
                 // update operator stats
                 page = recordProcessedInput(page);
+                page = applyDynamicBloomFilters(page);
 
-                Iterator<Optional<Page>> output = pageProcessor.process(sqlFunctionProperties, yieldSignal, pageProcessorMemoryContext, page);
-                mergingOutput.addInput(output);
+                if (page.getPositionCount() > 0) {
+                    Iterator<Optional<Page>> output = pageProcessor.process(sqlFunctionProperties, yieldSignal, pageProcessorMemoryContext, page);
+                    mergingOutput.addInput(output);
+                }
             }
 
             // stats update
@@ -318,6 +324,57 @@ public class ScanFilterAndProjectOperator
         return result;
     }
 
+    /**
+     * Removes the rows whose join keys are not in the build side Bloom filters that are available so far.
+     * Only the key columns are loaded, the other columns stay lazy.
+     */
+    private Page applyDynamicBloomFilters(Page page)
+    {
+        if (!dynamicBloomFilterSupplier.isPresent()) {
+            return page;
+        }
+        Map<Integer, BlockedBloomFilter> bloomFilters = dynamicBloomFilterSupplier.get().get();
+        if (bloomFilters.isEmpty()) {
+            return page;
+        }
+
+        int[] positions = new int[page.getPositionCount()];
+        for (int position = 0; position < positions.length; position++) {
+            positions[position] = position;
+        }
+        int positionCount = positions.length;
+        for (Map.Entry<Integer, BlockedBloomFilter> entry : bloomFilters.entrySet()) {
+            Block block = page.getBlock(entry.getKey());
+            BlockedBloomFilter bloomFilter = entry.getValue();
+            int retainedCount = 0;
+            for (int i = 0; i < positionCount; i++) {
+                int position = positions[i];
+                if (bloomFilter.mightContain(block, position)) {
+                    positions[retainedCount++] = position;
+                }
+            }
+            positionCount = retainedCount;
+        }
+
+        if (positionCount == page.getPositionCount()) {
+            return page;
+        }
+        operatorContext.recordDynamicFilterFilteredPositions(page.getPositionCount() - positionCount);
+
+        int retainedPositionCount = positionCount;
+        Block[] blocks = new Block[page.getChannelCount()];
+        for (int channel = 0; channel < blocks.length; channel++) {
+            Block block = page.getBlock(channel);
+            if (block instanceof LazyBlock && !((LazyBlock) block).isLoaded()) {
+                blocks[channel] = new LazyBlock(retainedPositionCount, lazyBlock -> lazyBlock.setBlock(block.getLoadedBlock().getPositions(positions, 0, retainedPositionCount)));
+            }
+            else {
+                blocks[channel] = block.getPositions(positions, 0, retainedPositionCount);
+            }
+        }
+        return new Page(retainedPositionCount, blocks);
+    }
+
     private final class RecordingLazyBlockLoader
             implements LazyBlockLoader<LazyBlock>
     {
@@ -417,6 +474,7 @@ public class ScanFilterAndProjectOperator
         private final List<ColumnHandle> columns;
         private final List<Type> types;
         private final Optional<Supplier<TupleDomain<ColumnHandle>>> dynamicFilterSupplier;
+        private final Optional<Supplier<Map<Integer, BlockedBloomFilter>>> dynamicBloomFilterSupplier;
         private final DataSize minOutputPageSize;
         private final int minOutputPageRowCount;
         private boolean closed;
@@ -432,6 +490,7 @@ public class ScanFilterAndProjectOperator
                 Iterable<ColumnHandle> columns,
                 List<Type> types,
                 Optional<Supplier<TupleDomain<ColumnHandle>>> dynamicFilterSupplier,
+                Optional<Supplier<Map<Integer, BlockedBloomFilter>>> dynamicBloomFilterSupplier,
                 DataSize minOutputPageSize,
                 int minOutputPageRowCount)
         {
@@ -445,6 +504,7 @@ public class ScanFilterAndProjectOperator
             this.columns = ImmutableList.copyOf(requireNonNull(columns, "columns is null"));
             this.types = requireNonNull(types, "types is null");
             this.dynamicFilterSupplier = requireNonNull(dynamicFilterSupplier, "dynamicFilterSupplier is null");
+            this.dynamicBloomFilterSupplier = requireNonNull(dynamicBloomFilterSupplier, "dynamicBloomFilterSupplier is null");
             this.minOutputPageSize = requireNonNull(minOutputPageSize, "minOutputPageSize is null");
             this.minOutputPageRowCount = minOutputPageRowCount;
         }
@@ -470,6 +530,7 @@ public class ScanFilterAndProjectOperator
                     columns,
                     types,
                     dynamicFilterSupplier,
+                    dynamicBloomFilterSupplier,
                     new MergingPageOutput(types, minOutputPageSize.toBytes(), minOutputPageRowCount));
         }
 
@@ -15,6 +15,9 @@ package com.facebook.presto.operator;
 
 import com.facebook.presto.common.Page;
 import com.facebook.presto.common.RuntimeStats;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.LazyBlock;
+import com.facebook.presto.common.block.PositionsLazyBlockLoader;
 import com.facebook.presto.execution.ScheduledSplit;
 import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.metadata.Split;
@@ -59,6 +62,7 @@ public class TableScanOperator
         private final PageSourceProvider pageSourceProvider;
         private final TableHandle table;
         private final List<ColumnHandle> columns;
+        private final boolean lazyBlocksRetained;
         private boolean closed;
 
         public TableScanOperatorFactory(
@@ -67,12 +71,28 @@ public class TableScanOperator
                 PageSourceProvider pageSourceProvider,
                 TableHandle table,
                 Iterable<ColumnHandle> columns)
+        {
+            this(operatorId, sourceId, pageSourceProvider, table, columns, false);
+        }
+
+        /**
+         * @param lazyBlocksRetained whether the pages are handed to the next operator without loading their lazy blocks,
+         * which is only safe if that operator loads them before it asks for the next page, like the probe side of a join
+         */
+        public TableScanOperatorFactory(
+                int operatorId,
+                PlanNodeId sourceId,
+                PageSourceProvider pageSourceProvider,
+                TableHandle table,
+                Iterable<ColumnHandle> columns,
+                boolean lazyBlocksRetained)
         {
             this.operatorId = operatorId;
             this.sourceId = requireNonNull(sourceId, "sourceId is null");
             this.pageSourceProvider = requireNonNull(pageSourceProvider, "pageSourceProvider is null");
             this.table = requireNonNull(table, "table is null");
             this.columns = ImmutableList.copyOf(requireNonNull(columns, "columns is null"));
+            this.lazyBlocksRetained = lazyBlocksRetained;
         }
 
         @Override
@@ -91,7 +111,8 @@ public class TableScanOperator
                     sourceId,
                     pageSourceProvider,
                     table,
-                    columns);
+                    columns,
+                    lazyBlocksRetained);
         }
 
         @Override
@@ -106,6 +127,7 @@ public class TableScanOperator
     private final PageSourceProvider pageSourceProvider;
     private final TableHandle table;
     private final List<ColumnHandle> columns;
+    private final boolean lazyBlocksRetained;
     private final LocalMemoryContext systemMemoryContext;
     private final SettableFuture<?> blocked = SettableFuture.create();
 
@@ -113,6 +135,8 @@ public class TableScanOperator
     private ConnectorPageSource source;
 
     private boolean finished;
+    // whether the next operator may still load the lazy blocks of the last page from the page source
+    private boolean lazyPageRetained;
 
     private long completedBytes;
     private long completedPositions;
@@ -124,12 +148,24 @@ public class TableScanOperator
             PageSourceProvider pageSourceProvider,
             TableHandle table,
             Iterable<ColumnHandle> columns)
+    {
+        this(operatorContext, planNodeId, pageSourceProvider, table, columns, false);
+    }
+
+    public TableScanOperator(
+            OperatorContext operatorContext,
+            PlanNodeId planNodeId,
+            PageSourceProvider pageSourceProvider,
+            TableHandle table,
+            Iterable<ColumnHandle> columns,
+            boolean lazyBlocksRetained)
     {
         this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
         this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
         this.pageSourceProvider = requireNonNull(pageSourceProvider, "pageSourceProvider is null");
         this.table = requireNonNull(table, "table is null");
         this.columns = ImmutableList.copyOf(requireNonNull(columns, "columns is null"));
+        this.lazyBlocksRetained = lazyBlocksRetained;
         this.systemMemoryContext = operatorContext.localSystemMemoryContext();
     }
 
@@ -219,7 +255,8 @@ public class TableScanOperator
     public boolean isFinished()
     {
         if (!finished) {
-            finished = (source != null) && source.isFinished();
+            // the page source must not be closed before the lazy blocks of its last page are loaded
+            finished = (source != null) && source.isFinished() && !lazyPageRetained;
             if (source != null) {
                 systemMemoryContext.setBytes(source.getSystemMemoryUsage());
             }
@@ -263,21 +300,101 @@ public class TableScanOperator
             source = pageSourceProvider.createPageSource(operatorContext.getSession(), split, table, columns, operatorContext.getRuntimeStats());
         }
 
+        if (lazyPageRetained) {
+            // the next operator asks for another page once it is done with the previous one
+            lazyPageRetained = false;
+            if (source.isFinished()) {
+                return null;
+            }
+        }
+
         Page page = source.getNextPage();
         if (page != null) {
-            // assure the page is in memory before handing to another operator
-            page = page.getLoadedPage();
+            if (lazyBlocksRetained) {
+                page = recordLoadedBlocks(page);
+            }
+            else {
+                // assure the page is in memory before handing to another operator
+                page = page.getLoadedPage();
+            }
         }
 
         // update operator stats
         recordInputStats();
 
         // updating system memory usage should happen after page is loaded.
+        // The lazy blocks retained by the next operator update it again once they are loaded.
         systemMemoryContext.setBytes(source.getSystemMemoryUsage());
 
         return page;
     }
 
+    private Page recordLoadedBlocks(Page page)
+    {
+        Block[] blocks = null;
+        for (int channel = 0; channel < page.getChannelCount(); channel++) {
+            Block block = page.getBlock(channel);
+            if (block instanceof LazyBlock && !((LazyBlock) block).isLoaded()) {
+                if (blocks == null) {
+                    blocks = new Block[page.getChannelCount()];
+                    for (int i = 0; i < blocks.length; i++) {
+                        blocks[i] = page.getBlock(i);
+                    }
+                }
+                blocks[channel] = new LazyBlock(page.getPositionCount(), new RecordingLazyBlockLoader((LazyBlock) block));
+            }
+        }
+        if (blocks == null) {
+            return page;
+        }
+        lazyPageRetained = true;
+        return new Page(page.getPositionCount(), blocks);
+    }
+
+    /**
+     * Accounts the bytes read and the memory used by the page source when the next operator loads a lazy block,
+     * in full or for some positions only.
+     */
+    private final class RecordingLazyBlockLoader
+            implements PositionsLazyBlockLoader<LazyBlock>
+    {
+        private LazyBlock delegateLazyBlock;
+
+        private RecordingLazyBlockLoader(LazyBlock delegateLazyBlock)
+        {
+            this.delegateLazyBlock = requireNonNull(delegateLazyBlock, "delegateLazyBlock is null");
+        }
+
+        @Override
+        public void load(LazyBlock block)
+        {
+            block.setBlock(loaded(delegate().getLoadedBlock()));
+        }
+
+        @Override
+        public Block loadPositions(int[] positions, int length)
+        {
+            return loaded(delegate().loadPositions(positions, 0, length));
+        }
+
+        private LazyBlock delegate()
+        {
+            checkState(delegateLazyBlock != null, "delegateLazyBlock already loaded");
+            LazyBlock delegate = delegateLazyBlock;
+            delegateLazyBlock = null;
+            return delegate;
+        }
+
+        private Block loaded(Block block)
+        {
+            if (!finished) {
+                recordInputStats();
+                systemMemoryContext.setBytes(source.getSystemMemoryUsage());
+            }
+            return block;
+        }
+    }
+
     private void recordInputStats()
     {
         checkState(source != null, "source must not be null");
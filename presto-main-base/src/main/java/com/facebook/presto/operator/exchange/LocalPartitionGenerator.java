@@ -46,6 +46,16 @@ public class LocalPartitionGenerator
         return processRawHash(rawHash) & hashMask;
     }
 
+    public void getPartitions(Page page, int[] partitions)
+    {
+        int positionCount = page.getPositionCount();
+        long[] rawHashes = new long[positionCount];
+        hashGenerator.hashPositions(page, rawHashes);
+        for (int position = 0; position < positionCount; position++) {
+            partitions[position] = processRawHash(rawHashes[position]) & hashMask;
+        }
+    }
+
     public long getRawHash(Page page, int position)
     {
         return hashGenerator.hashPosition(position, page);
@@ -38,6 +38,7 @@ class PartitioningExchanger
     private final Optional<Integer> hashChannel;
     private final IntArrayList[] partitionAssignments;
     private final PageReleasedListener onPageReleased;
+    private int[] partitions = new int[0];
 
     public PartitioningExchanger(
             List<Consumer<PageReference>> partitions,
@@ -69,9 +70,13 @@ class PartitioningExchanger
 
         // assign each row to a partition
         Page partitioningChannelsPage = extractPartitioningChannels(page);
-        for (int position = 0; position < partitioningChannelsPage.getPositionCount(); position++) {
-            int partition = partitionFunction.getPartition(partitioningChannelsPage, position);
-            partitionAssignments[partition].add(position);
+        int positionCount = partitioningChannelsPage.getPositionCount();
+        if (partitions.length < positionCount) {
+            partitions = new int[positionCount];
+        }
+        partitionFunction.getPartitions(partitioningChannelsPage, partitions);
+        for (int position = 0; position < positionCount; position++) {
+            partitionAssignments[partitions[position]].add(position);
         }
 
         // build a page for each partition
@@ -409,6 +409,7 @@ public class OptimizedPartitionedOutputOperator
         private final int fixedWidthRowSize;
         private final DecodedBlockNode[] decodedBlocks;
 
+        private int[] partitions = new int[0];
         private boolean hasAnyRowBeenReplicated;
 
         public PagePartitioner(
@@ -512,7 +513,17 @@ public class OptimizedPartitionedOutputOperator
                 position = 0;
             }
 
+            // Compute the partitions of all remaining positions in one batch, partitions[i] belongs to position firstPosition + i
+            int firstPosition = position;
             Page partitionFunctionArgs = getPartitionFunctionArguments(page);
+            if (firstPosition > 0) {
+                partitionFunctionArgs = partitionFunctionArgs.getRegion(firstPosition, positionCount - firstPosition);
+            }
+            if (partitions.length < positionCount) {
+                partitions = new int[positionCount];
+            }
+            partitionFunction.getPartitions(partitionFunctionArgs, partitions);
+
             // Skip null block checks if mayHaveNull reports that no positions will be null
             if (nullChannel >= 0 && page.getBlock(nullChannel).mayHaveNull()) {
                 Block nullBlock = page.getBlock(nullChannel);
@@ -523,15 +534,13 @@ public class OptimizedPartitionedOutputOperator
                         }
                     }
                     else {
-                        int partition = partitionFunction.getPartition(partitionFunctionArgs, position);
-                        partitionBuffers[partition].addPosition(position);
+                        partitionBuffers[partitions[position - firstPosition]].addPosition(position);
                     }
                 }
             }
             else {
                 for (; position < positionCount; position++) {
-                    int partition = partitionFunction.getPartition(partitionFunctionArgs, position);
-                    partitionBuffers[partition].addPosition(position);
+                    partitionBuffers[partitions[position - firstPosition]].addPosition(position);
                 }
             }
 
@@ -14,12 +14,13 @@
 package com.facebook.presto.spiller;
 
 import com.facebook.airlift.concurrent.NotThreadSafe;
+import com.facebook.presto.CompressionCodec;
 import com.facebook.presto.common.Page;
 import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.operator.SpillContext;
 import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.page.PagesSerde;
-import com.facebook.presto.spi.page.PagesSerdeUtil;
+import com.facebook.presto.spi.page.SerializedPage;
 import com.facebook.presto.spi.spiller.SpillCipher;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
@@ -28,30 +29,40 @@ import com.google.common.io.Closer;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
-import io.airlift.slice.InputStreamSliceInput;
 import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.Slice;
 import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 
-import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.facebook.airlift.concurrent.MoreFutures.getFutureValue;
 import static com.facebook.presto.common.block.PageBuilderStatus.DEFAULT_MAX_PAGE_SIZE_IN_BYTES;
 import static com.facebook.presto.execution.buffer.PageSplitterUtil.splitPage;
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_SPILL_FAILURE;
+import static com.facebook.presto.spi.page.PagesSerdeUtil.isChecksumValid;
+import static com.facebook.presto.spi.page.PagesSerdeUtil.readSerializedPage;
 import static com.facebook.presto.spi.page.PagesSerdeUtil.writeSerializedPage;
 import static com.facebook.presto.spiller.FileSingleStreamSpillerFactory.SPILL_FILE_PREFIX;
 import static com.facebook.presto.spiller.FileSingleStreamSpillerFactory.SPILL_FILE_SUFFIX;
+import static com.facebook.presto.spiller.SpillFileFooter.readFully;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static com.google.common.collect.Iterators.transform;
+import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
 import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.util.Objects.requireNonNull;
 
 @NotThreadSafe
@@ -60,6 +71,7 @@ public class FileSingleStreamSpiller
 {
     @VisibleForTesting
     static final int BUFFER_SIZE = 4 * 1024;
+    private static final long MAPPED_SEGMENT_SIZE = 1L << 30;
 
     private final FileHolder targetFile;
     private final Closer closer = Closer.create();
@@ -68,13 +80,24 @@ public class FileSingleStreamSpiller
     private final SpillContext localSpillContext;
     private final LocalMemoryContext memoryContext;
     private final Optional<SpillCipher> spillCipher;
+    private final CompressionCodec compressionCodec;
 
     private final ListeningExecutorService executor;
+    private final ListeningExecutorService readExecutor;
+    private final int prefetchPageCount;
+    private final boolean memoryMappedReads;
+
+    // index of the pages written so far, stored in the footer on commit
+    private final LongArrayList pageOffsets = new LongArrayList();
+    private final IntArrayList pageLengths = new IntArrayList();
+    private long fileSize;
 
     private boolean writable = true;
     private boolean committed;
     private volatile long spilledPagesInMemorySize;
     private ListenableFuture<?> spillInProgress = Futures.immediateFuture(null);
+    // set when the pages are read through memory mapped buffers
+    private MappedSpillFile mappedFile;
 
     public FileSingleStreamSpiller(
             PagesSerde serde,
@@ -83,10 +106,19 @@ public class FileSingleStreamSpiller
             SpillerStats spillerStats,
             SpillContext spillContext,
             LocalMemoryContext memoryContext,
-            Optional<SpillCipher> spillCipher)
+            Optional<SpillCipher> spillCipher,
+            CompressionCodec compressionCodec,
+            ListeningExecutorService readExecutor,
+            int prefetchPageCount,
+            boolean memoryMappedReads)
     {
         this.serde = requireNonNull(serde, "serde is null");
         this.executor = requireNonNull(executor, "executor is null");
+        this.readExecutor = requireNonNull(readExecutor, "readExecutor is null");
+        checkArgument(prefetchPageCount >= 0, "prefetchPageCount is negative");
+        this.prefetchPageCount = prefetchPageCount;
+        this.memoryMappedReads = memoryMappedReads;
+        this.compressionCodec = requireNonNull(compressionCodec, "compressionCodec is null");
         this.spillerStats = requireNonNull(spillerStats, "spillerStats is null");
         this.localSpillContext = spillContext.newLocalSpillContext();
         this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
@@ -143,6 +175,17 @@ public class FileSingleStreamSpiller
     @Override
     public void commit()
     {
+        if (committed) {
+            return;
+        }
+        checkNoSpillInProgress();
+        SpillFileFooter footer = new SpillFileFooter(compressionCodec, pageOffsets.toLongArray(), pageLengths.toIntArray());
+        try (SliceOutput output = new OutputStreamSliceOutput(targetFile.newOutputStream(APPEND), BUFFER_SIZE)) {
+            footer.writeTo(output, fileSize);
+        }
+        catch (UncheckedIOException | IOException e) {
+            throw new PrestoException(GENERIC_SPILL_FAILURE, format("Failed to commit spill file: %s", e.getMessage()), e);
+        }
         committed = true;
     }
 
@@ -161,9 +204,13 @@ public class FileSingleStreamSpiller
                             long pageSize = serializedPage.getSizeInBytes();
                             localSpillContext.updateBytes(pageSize);
                             spillerStats.addToTotalSpilledBytes(pageSize);
+                            long pageOffset = output.size();
                             writeSerializedPage(output, serializedPage);
+                            pageOffsets.add(fileSize + pageOffset);
+                            pageLengths.add(toIntExact(output.size() - pageOffset));
                         });
             }
+            fileSize += output.size();
         }
         catch (UncheckedIOException | IOException e) {
             throw new PrestoException(GENERIC_SPILL_FAILURE, format("Failed to spill pages: %s", e.getMessage()), e);
@@ -181,11 +228,14 @@ public class FileSingleStreamSpiller
             }
 
             checkState(committed, "Cannot read pages since spill file is not committed");
-            InputStream input = closer.register(targetFile.newInputStream());
-            Iterator<Page> deserializedPages = PagesSerdeUtil.readPages(serde, new InputStreamSliceInput(input, BUFFER_SIZE));
-            Iterator<Page> compactPages = transform(deserializedPages, Page::compact);
+            FileChannel channel = closer.register(targetFile.newFileChannel(READ));
+            SpillFileFooter footer = SpillFileFooter.readFrom(channel);
+            checkState(footer.getCompressionCodec() == compressionCodec, "Spill file was written with %s but is read with %s", footer.getCompressionCodec(), compressionCodec);
             spillerStats.addToTotalSpilledBytesRead(getSpilledPagesInMemorySize());
-            return closeWhenExhausted(compactPages, input);
+            if (memoryMappedReads) {
+                mappedFile = closer.register(new MappedSpillFile(channel, footer, MAPPED_SEGMENT_SIZE));
+            }
+            return new PrefetchingPageIterator(channel, footer);
         }
         catch (IOException e) {
             throw new PrestoException(GENERIC_SPILL_FAILURE, format("Failed to read spilled pages: %s", e.getMessage()), e);
@@ -210,27 +260,116 @@ public class FileSingleStreamSpiller
         checkState(spillInProgress.isDone(), "spill in progress");
     }
 
-    private static <T> Iterator<T> closeWhenExhausted(Iterator<T> iterator, Closeable resource)
+    private Page readPage(FileChannel channel, SpillFileFooter footer, int page)
+    {
+        try {
+            if (mappedFile != null) {
+                return readMappedPage(page);
+            }
+
+            long start = System.nanoTime();
+            byte[] bytes = readFully(channel, footer.getPageOffset(page), footer.getPageLength(page));
+            spillerStats.addSpillFileRead(bytes.length, System.nanoTime() - start);
+
+            SerializedPage serializedPage = readSerializedPage(Slices.wrappedBuffer(bytes).getInput());
+            if (!isChecksumValid(serializedPage)) {
+                throw new PrestoException(GENERIC_SPILL_FAILURE, format("Checksum mismatch reading page %s of spill file", page));
+            }
+            // the decompressor and cipher of the serde are not thread safe, so only the reads overlap
+            synchronized (serde) {
+                return serde.deserialize(serializedPage).compact();
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Page readMappedPage(int page)
+            throws IOException
     {
-        requireNonNull(iterator, "iterator is null");
-        requireNonNull(resource, "resource is null");
+        // the file is not closed while a page is being read from it
+        synchronized (mappedFile) {
+            long start = System.nanoTime();
+            Slice slice = mappedFile.getPage(page);
+            spillerStats.addSpillFileRead(slice.length(), System.nanoTime() - start);
 
-        return new AbstractIterator<T>()
+            // Variable width blocks keep pointing at the mapping, which stays mapped as long as they are referenced,
+            // so the page is not compacted and can still be used once the spiller is closed.
+            SerializedPage serializedPage = readSerializedPage(slice.getInput());
+            synchronized (serde) {
+                return serde.deserialize(serializedPage);
+            }
+        }
+    }
+
+    /**
+     * Reads the pages listed in the footer, keeping up to {@code prefetchPageCount} of the following
+     * pages being read and decoded on the read executor while the current page is being consumed.
+     * The memory of the prefetched pages is reserved until they are handed out.
+     */
+    private class PrefetchingPageIterator
+            extends AbstractIterator<Page>
+    {
+        private final FileChannel channel;
+        private final SpillFileFooter footer;
+        private final ArrayDeque<ListenableFuture<Page>> prefetchedPages = new ArrayDeque<>();
+        // retained size of the pages read ahead which were not handed out yet
+        private final AtomicLong prefetchedBytes = new AtomicLong();
+        private int nextPage;
+
+        public PrefetchingPageIterator(FileChannel channel, SpillFileFooter footer)
         {
-            @Override
-            protected T computeNext()
-            {
-                if (iterator.hasNext()) {
-                    return iterator.next();
-                }
-                try {
-                    resource.close();
-                }
-                catch (IOException e) {
-                    throw new UncheckedIOException(e);
+            this.channel = requireNonNull(channel, "channel is null");
+            this.footer = requireNonNull(footer, "footer is null");
+        }
+
+        @Override
+        protected Page computeNext()
+        {
+            if (prefetchPageCount == 0) {
+                if (nextPage < footer.getPageCount()) {
+                    return readPage(channel, footer, nextPage++);
                 }
-                return endOfData();
+                return finish();
+            }
+
+            prefetch();
+            ListenableFuture<Page> page = prefetchedPages.poll();
+            if (page == null) {
+                return finish();
             }
-        };
+            spillerStats.recordPrefetch(page.isDone());
+            // start reading the following page before handing out the current one
+            prefetch();
+            Page spilledPage = getFutureValue(page);
+            prefetchedBytes.addAndGet(-spilledPage.getRetainedSizeInBytes());
+            memoryContext.setBytes(BUFFER_SIZE + prefetchedBytes.get());
+            return spilledPage;
+        }
+
+        private void prefetch()
+        {
+            while (prefetchedPages.size() < prefetchPageCount && nextPage < footer.getPageCount()) {
+                int page = nextPage++;
+                prefetchedPages.add(readExecutor.submit(() -> {
+                    Page prefetchedPage = readPage(channel, footer, page);
+                    prefetchedBytes.addAndGet(prefetchedPage.getRetainedSizeInBytes());
+                    return prefetchedPage;
+                }));
+            }
+        }
+
+        private Page finish()
+        {
+            memoryContext.setBytes(BUFFER_SIZE);
+            try {
+                channel.close();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return endOfData();
+        }
     }
 }
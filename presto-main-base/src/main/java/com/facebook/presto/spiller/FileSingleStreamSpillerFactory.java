@@ -47,6 +47,7 @@ import static java.nio.file.Files.delete;
 import static java.nio.file.Files.getFileStore;
 import static java.nio.file.Files.newDirectoryStream;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 
 public class FileSingleStreamSpillerFactory
@@ -59,9 +60,14 @@ public class FileSingleStreamSpillerFactory
     @VisibleForTesting
     static final String SPILL_FILE_SUFFIX = ".bin";
     private static final String SPILL_FILE_GLOB = "spill*.bin";
+    private static final int DEFAULT_PREFETCH_PAGE_COUNT = 2;
 
     private final ListeningExecutorService executor;
+    private final ListeningExecutorService readExecutor;
     private final PagesSerdeFactory serdeFactory;
+    private final CompressionCodec spillCompressionCodec;
+    private final int spillPrefetchPageCount;
+    private final boolean memoryMappedReads;
     private final List<Path> spillPaths;
     private final SpillerStats spillerStats;
     private final double maxUsedSpaceThreshold;
@@ -80,7 +86,13 @@ public class FileSingleStreamSpillerFactory
                 requireNonNull(featuresConfig, "featuresConfig is null").getSpillerSpillPaths(),
                 requireNonNull(featuresConfig, "featuresConfig is null").getSpillMaxUsedSpaceThreshold(),
                 requireNonNull(nodeSpillConfig, "nodeSpillConfig is null").getSpillCompressionCodec(),
-                requireNonNull(nodeSpillConfig, "nodeSpillConfig is null").isSpillEncryptionEnabled());
+                requireNonNull(nodeSpillConfig, "nodeSpillConfig is null").isSpillEncryptionEnabled(),
+                listeningDecorator(newFixedThreadPool(
+                        requireNonNull(featuresConfig, "featuresConfig is null").getSpillerThreads(),
+                        daemonThreadsNamed("binary-spiller-reader-%s"))),
+                requireNonNull(nodeSpillConfig, "nodeSpillConfig is null").isSpillChecksumEnabled(),
+                requireNonNull(nodeSpillConfig, "nodeSpillConfig is null").getSpillPrefetchPageCount(),
+                requireNonNull(nodeSpillConfig, "nodeSpillConfig is null").isSpillMemoryMappedReadsEnabled());
     }
 
     @VisibleForTesting
@@ -93,8 +105,42 @@ public class FileSingleStreamSpillerFactory
             CompressionCodec spillCompressionCodec,
             boolean spillEncryptionEnabled)
     {
-        this.serdeFactory = new PagesSerdeFactory(requireNonNull(blockEncodingSerde, "blockEncodingSerde is null"), spillCompressionCodec);
+        // the pages are read on their own executor, as a read waited for on the spill executor could otherwise never run
+        this(
+                executor,
+                blockEncodingSerde,
+                spillerStats,
+                spillPaths,
+                maxUsedSpaceThreshold,
+                spillCompressionCodec,
+                spillEncryptionEnabled,
+                listeningDecorator(newCachedThreadPool(daemonThreadsNamed("binary-spiller-reader-%s"))),
+                false,
+                DEFAULT_PREFETCH_PAGE_COUNT,
+                false);
+    }
+
+    @VisibleForTesting
+    FileSingleStreamSpillerFactory(
+            ListeningExecutorService executor,
+            BlockEncodingSerde blockEncodingSerde,
+            SpillerStats spillerStats,
+            List<Path> spillPaths,
+            double maxUsedSpaceThreshold,
+            CompressionCodec spillCompressionCodec,
+            boolean spillEncryptionEnabled,
+            ListeningExecutorService readExecutor,
+            boolean spillChecksumEnabled,
+            int spillPrefetchPageCount,
+            boolean spillMemoryMappedReadsEnabled)
+    {
+        this.spillCompressionCodec = requireNonNull(spillCompressionCodec, "spillCompressionCodec is null");
+        this.serdeFactory = new PagesSerdeFactory(requireNonNull(blockEncodingSerde, "blockEncodingSerde is null"), spillCompressionCodec, spillChecksumEnabled);
         this.executor = requireNonNull(executor, "executor is null");
+        this.readExecutor = requireNonNull(readExecutor, "readExecutor is null");
+        this.spillPrefetchPageCount = spillPrefetchPageCount;
+        // mapped pages are deserialized in place, which is only possible when they are stored as raw block encodings
+        this.memoryMappedReads = spillMemoryMappedReadsEnabled && spillCompressionCodec == CompressionCodec.NONE && !spillEncryptionEnabled && !spillChecksumEnabled;
         this.spillerStats = requireNonNull(spillerStats, "spillerStats can not be null");
         requireNonNull(spillPaths, "spillPaths is null");
         this.spillPaths = ImmutableList.copyOf(spillPaths);
@@ -126,6 +172,7 @@ public class FileSingleStreamSpillerFactory
     public void destroy()
     {
         executor.shutdownNow();
+        readExecutor.shutdownNow();
     }
 
     private static void cleanupOldSpillFiles(Path path)
@@ -154,7 +201,18 @@ public class FileSingleStreamSpillerFactory
             spillCipher = Optional.of(new AesSpillCipher());
         }
         PagesSerde serde = serdeFactory.createPagesSerdeForSpill(spillCipher);
-        return new FileSingleStreamSpiller(serde, executor, getNextSpillPath(), spillerStats, spillContext, memoryContext, spillCipher);
+        return new FileSingleStreamSpiller(
+                serde,
+                executor,
+                getNextSpillPath(),
+                spillerStats,
+                spillContext,
+                memoryContext,
+                spillCipher,
+                spillCompressionCodec,
+                readExecutor,
+                spillPrefetchPageCount,
+                memoryMappedReads);
     }
 
     private synchronized Path getNextSpillPath()
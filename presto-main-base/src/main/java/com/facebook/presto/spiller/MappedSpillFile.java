@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.spiller;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Memory maps the pages of a committed spill file. Consecutive pages are grouped into segments of up to
+ * {@code maxSegmentSize} bytes which are mapped once, on first use, so that a large spill only needs a few
+ * mappings. The pages read from the file keep the mapping of their segment, which is only unmapped once the
+ * segment buffer is garbage collected, so the pages remain usable after the file is closed, e.g. when they
+ * become the lookup source of a join.
+ */
+final class MappedSpillFile
+        implements Closeable
+{
+    private final FileChannel channel;
+    private final SpillFileFooter footer;
+    private final int[] pageSegments;
+    private final long[] segmentOffsets;
+    private final long[] segmentLengths;
+    private final MappedByteBuffer[] segments;
+    private boolean closed;
+
+    public MappedSpillFile(FileChannel channel, SpillFileFooter footer, long maxSegmentSize)
+    {
+        this.channel = requireNonNull(channel, "channel is null");
+        this.footer = requireNonNull(footer, "footer is null");
+        checkArgument(maxSegmentSize > 0 && maxSegmentSize <= Integer.MAX_VALUE, "maxSegmentSize must be between 1 and %s", Integer.MAX_VALUE);
+
+        int pageCount = footer.getPageCount();
+        pageSegments = new int[pageCount];
+        LongArrayList offsets = new LongArrayList();
+        LongArrayList lengths = new LongArrayList();
+        long segmentOffset = 0;
+        long segmentEnd = 0;
+        for (int page = 0; page < pageCount; page++) {
+            long pageOffset = footer.getPageOffset(page);
+            long pageEnd = pageOffset + footer.getPageLength(page);
+            // a page larger than the segment size gets a segment of its own
+            if (offsets.isEmpty() || pageEnd - segmentOffset > maxSegmentSize) {
+                if (!offsets.isEmpty()) {
+                    lengths.add(segmentEnd - segmentOffset);
+                }
+                segmentOffset = pageOffset;
+                offsets.add(segmentOffset);
+            }
+            segmentEnd = max(segmentEnd, pageEnd);
+            pageSegments[page] = offsets.size() - 1;
+        }
+        if (!offsets.isEmpty()) {
+            lengths.add(segmentEnd - segmentOffset);
+        }
+        segmentOffsets = offsets.toLongArray();
+        segmentLengths = lengths.toLongArray();
+        segments = new MappedByteBuffer[segmentOffsets.length];
+    }
+
+    @VisibleForTesting
+    int getSegmentCount()
+    {
+        return segments.length;
+    }
+
+    /**
+     * Returns the serialized page, backed by the mapping of its segment.
+     */
+    public synchronized Slice getPage(int page)
+            throws IOException
+    {
+        checkState(!closed, "spill file is closed");
+        int segment = pageSegments[page];
+        if (segments[segment] == null) {
+            segments[segment] = channel.map(READ_ONLY, segmentOffsets[segment], segmentLengths[segment]);
+        }
+        int offset = toIntExact(footer.getPageOffset(page) - segmentOffsets[segment]);
+        // the page is a slice of its own, so that its retained size is bounded by the size of the page and not of the segment
+        return Slices.wrappedBuffer(segments[segment].slice(offset, footer.getPageLength(page)));
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // the segments are not unmapped explicitly, as the pages read from them may still be in use
+        Arrays.fill(segments, null);
+    }
+}
@@ -14,8 +14,10 @@
 package com.facebook.presto.spiller;
 
 import com.facebook.airlift.configuration.Config;
+import com.facebook.airlift.configuration.ConfigDescription;
 import com.facebook.airlift.units.DataSize;
 import com.facebook.presto.CompressionCodec;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 public class NodeSpillConfig
@@ -27,6 +29,9 @@ public class NodeSpillConfig
 
     private CompressionCodec spillCompressionCodec = CompressionCodec.NONE;
     private boolean spillEncryptionEnabled;
+    private boolean spillChecksumEnabled;
+    private int spillPrefetchPageCount = 2;
+    private boolean spillMemoryMappedReadsEnabled;
 
     @NotNull
     public DataSize getMaxSpillPerNode()
@@ -91,6 +96,46 @@ public class NodeSpillConfig
         return this;
     }
 
+    public boolean isSpillChecksumEnabled()
+    {
+        return spillChecksumEnabled;
+    }
+
+    @Config("experimental.spill-checksum-enabled")
+    @ConfigDescription("Compute a checksum for each spilled page and verify it when the page is read back")
+    public NodeSpillConfig setSpillChecksumEnabled(boolean spillChecksumEnabled)
+    {
+        this.spillChecksumEnabled = spillChecksumEnabled;
+        return this;
+    }
+
+    @Min(0)
+    public int getSpillPrefetchPageCount()
+    {
+        return spillPrefetchPageCount;
+    }
+
+    @Config("experimental.spill-prefetch-page-count")
+    @ConfigDescription("Number of spilled pages read and decoded ahead of the operator when unspilling; 0 reads synchronously")
+    public NodeSpillConfig setSpillPrefetchPageCount(int spillPrefetchPageCount)
+    {
+        this.spillPrefetchPageCount = spillPrefetchPageCount;
+        return this;
+    }
+
+    public boolean isSpillMemoryMappedReadsEnabled()
+    {
+        return spillMemoryMappedReadsEnabled;
+    }
+
+    @Config("experimental.spill-memory-mapped-reads-enabled")
+    @ConfigDescription("Read uncompressed, unencrypted spill files through memory mapped buffers instead of copying them onto the heap")
+    public NodeSpillConfig setSpillMemoryMappedReadsEnabled(boolean spillMemoryMappedReadsEnabled)
+    {
+        this.spillMemoryMappedReadsEnabled = spillMemoryMappedReadsEnabled;
+        return this;
+    }
+
     @NotNull
     public DataSize getTempStorageBufferSize()
     {
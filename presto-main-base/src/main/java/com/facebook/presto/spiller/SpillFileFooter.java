@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.spiller;
+
+import com.facebook.presto.CompressionCodec;
+import io.airlift.slice.BasicSliceInput;
+import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.toIntExact;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Index written at the end of a spill file once it is committed.
+ * <pre>
+ * [serialized page]...[serialized page]
+ * [page offset (long), page length (int)] x page count
+ * [index offset (long)][page count (int)][compression codec (byte)][magic (int)]
+ * </pre>
+ * Each page length covers the serialized page header as well as its data, so any page
+ * can be read independently with a single positional read.
+ */
+final class SpillFileFooter
+{
+    private static final int MAGIC = 0x53504C31; // "SPL1"
+    private static final int INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES + Byte.BYTES + Integer.BYTES;
+
+    private final CompressionCodec compressionCodec;
+    private final long[] pageOffsets;
+    private final int[] pageLengths;
+
+    public SpillFileFooter(CompressionCodec compressionCodec, long[] pageOffsets, int[] pageLengths)
+    {
+        this.compressionCodec = requireNonNull(compressionCodec, "compressionCodec is null");
+        this.pageOffsets = requireNonNull(pageOffsets, "pageOffsets is null");
+        this.pageLengths = requireNonNull(pageLengths, "pageLengths is null");
+        checkArgument(pageOffsets.length == pageLengths.length, "pageOffsets and pageLengths have different sizes");
+    }
+
+    public CompressionCodec getCompressionCodec()
+    {
+        return compressionCodec;
+    }
+
+    public int getPageCount()
+    {
+        return pageOffsets.length;
+    }
+
+    public long getPageOffset(int page)
+    {
+        return pageOffsets[page];
+    }
+
+    public int getPageLength(int page)
+    {
+        return pageLengths[page];
+    }
+
+    public void writeTo(SliceOutput output, long indexOffset)
+    {
+        for (int page = 0; page < pageOffsets.length; page++) {
+            output.writeLong(pageOffsets[page]);
+            output.writeInt(pageLengths[page]);
+        }
+        output.writeLong(indexOffset);
+        output.writeInt(pageOffsets.length);
+        output.writeByte(compressionCodec.ordinal());
+        output.writeInt(MAGIC);
+    }
+
+    public static SpillFileFooter readFrom(FileChannel channel)
+            throws IOException
+    {
+        long fileSize = channel.size();
+        if (fileSize < TRAILER_SIZE) {
+            throw new IOException(format("Spill file is too small to contain a footer: %s bytes", fileSize));
+        }
+        BasicSliceInput trailer = Slices.wrappedBuffer(readFully(channel, fileSize - TRAILER_SIZE, TRAILER_SIZE)).getInput();
+        long indexOffset = trailer.readLong();
+        int pageCount = trailer.readInt();
+        int codecOrdinal = trailer.readByte();
+        int magic = trailer.readInt();
+        if (magic != MAGIC || codecOrdinal < 0 || codecOrdinal >= CompressionCodec.values().length) {
+            throw new IOException("Spill file footer is corrupted");
+        }
+        if (indexOffset < 0 || indexOffset + (long) pageCount * INDEX_ENTRY_SIZE != fileSize - TRAILER_SIZE) {
+            throw new IOException(format("Spill file index is corrupted: offset %s, page count %s, file size %s", indexOffset, pageCount, fileSize));
+        }
+
+        long[] pageOffsets = new long[pageCount];
+        int[] pageLengths = new int[pageCount];
+        BasicSliceInput index = Slices.wrappedBuffer(readFully(channel, indexOffset, toIntExact((long) pageCount * INDEX_ENTRY_SIZE))).getInput();
+        for (int page = 0; page < pageCount; page++) {
+            pageOffsets[page] = index.readLong();
+            pageLengths[page] = index.readInt();
+        }
+        return new SpillFileFooter(CompressionCodec.values()[codecOrdinal], pageOffsets, pageLengths);
+    }
+
+    public static byte[] readFully(FileChannel channel, long position, int length)
+            throws IOException
+    {
+        byte[] bytes = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException(format("Unexpected end of spill file reading %s bytes at %s", length, position));
+            }
+        }
+        return bytes;
+    }
+}
@@ -17,10 +17,16 @@ import org.weakref.jmx.Managed;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 public class SpillerStats
 {
     protected final AtomicLong totalSpilledBytes = new AtomicLong();
     protected final AtomicLong totalSpilledBytesRead = new AtomicLong();
+    protected final AtomicLong totalSpillFileBytesRead = new AtomicLong();
+    protected final AtomicLong totalSpillFileReadTimeNanos = new AtomicLong();
+    protected final AtomicLong prefetchHits = new AtomicLong();
+    protected final AtomicLong prefetchMisses = new AtomicLong();
 
     @Managed
     public long getTotalSpilledBytes()
@@ -34,6 +40,40 @@ public class SpillerStats
         return totalSpilledBytesRead.get();
     }
 
+    @Managed
+    public long getTotalSpillFileBytesRead()
+    {
+        return totalSpillFileBytesRead.get();
+    }
+
+    @Managed
+    public long getTotalSpillFileReadTimeNanos()
+    {
+        return totalSpillFileReadTimeNanos.get();
+    }
+
+    @Managed
+    public double getSpillFileReadBytesPerSecond()
+    {
+        long readTimeNanos = totalSpillFileReadTimeNanos.get();
+        if (readTimeNanos == 0) {
+            return 0;
+        }
+        return totalSpillFileBytesRead.get() * (double) SECONDS.toNanos(1) / readTimeNanos;
+    }
+
+    @Managed
+    public long getPrefetchHits()
+    {
+        return prefetchHits.get();
+    }
+
+    @Managed
+    public long getPrefetchMisses()
+    {
+        return prefetchMisses.get();
+    }
+
     public void addToTotalSpilledBytes(long delta)
     {
         totalSpilledBytes.addAndGet(delta);
@@ -43,4 +83,20 @@ public class SpillerStats
     {
         totalSpilledBytesRead.addAndGet(delta);
     }
+
+    public void addSpillFileRead(long bytes, long readTimeNanos)
+    {
+        totalSpillFileBytesRead.addAndGet(bytes);
+        totalSpillFileReadTimeNanos.addAndGet(readTimeNanos);
+    }
+
+    public void recordPrefetch(boolean hit)
+    {
+        if (hit) {
+            prefetchHits.incrementAndGet();
+        }
+        else {
+            prefetchMisses.incrementAndGet();
+        }
+    }
 }
@@ -42,6 +42,7 @@ import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Stream;
 
+import static com.facebook.airlift.units.DataSize.Unit.BYTE;
 import static com.facebook.airlift.units.DataSize.Unit.KILOBYTE;
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
 import static com.facebook.presto.spi.StandardErrorCode.INVALID_SESSION_PROPERTY;
@@ -187,6 +188,7 @@ public class FeaturesConfig
     private int dynamicFilteringMaxPerDriverRowCount = 100;
     private DataSize dynamicFilteringMaxPerDriverSize = new DataSize(10, KILOBYTE);
     private int dynamicFilteringRangeRowLimitPerDriver;
+    private DataSize dynamicFilteringBloomFilterMaxSizePerDriver = new DataSize(0, BYTE);
 
     private boolean fragmentResultCachingEnabled;
 
@@ -286,6 +288,7 @@ public class FeaturesConfig
     private double pushAggregationBelowJoinByteReductionThreshold = 1;
     private boolean prefilterForGroupbyLimit;
     private boolean isOptimizeJoinProbeWithEmptyBuildRuntime;
+    private boolean joinProbeLateMaterializationEnabled;
     private boolean useDefaultsForCorrelatedAggregationPushdownThroughOuterJoins = true;
     private boolean mergeDuplicateAggregationsEnabled = true;
     private boolean mergeAggregationsWithAndWithoutFilter;
@@ -1632,6 +1635,20 @@ public class FeaturesConfig
         return this;
     }
 
+    @MaxDataSize("64MB")
+    public DataSize getDynamicFilteringBloomFilterMaxSizePerDriver()
+    {
+        return dynamicFilteringBloomFilterMaxSizePerDriver;
+    }
+
+    @Config("dynamic-filtering-bloom-filter-max-size-per-driver")
+    @ConfigDescription("Size of the Bloom filter collected per driver and join key for dynamic filtering. Bloom filters are not collected when set to 0")
+    public FeaturesConfig setDynamicFilteringBloomFilterMaxSizePerDriver(DataSize dynamicFilteringBloomFilterMaxSizePerDriver)
+    {
+        this.dynamicFilteringBloomFilterMaxSizePerDriver = dynamicFilteringBloomFilterMaxSizePerDriver;
+        return this;
+    }
+
     public boolean isFragmentResultCachingEnabled()
     {
         return fragmentResultCachingEnabled;
@@ -2905,6 +2922,19 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isJoinProbeLateMaterializationEnabled()
+    {
+        return joinProbeLateMaterializationEnabled;
+    }
+
+    @Config("join-probe-late-materialization-enabled")
+    @ConfigDescription("Load the columns of a table scan on the probe side of a join only for the rows matching the build side")
+    public FeaturesConfig setJoinProbeLateMaterializationEnabled(boolean joinProbeLateMaterializationEnabled)
+    {
+        this.joinProbeLateMaterializationEnabled = joinProbeLateMaterializationEnabled;
+        return this;
+    }
+
     public boolean isUseDefaultsForCorrelatedAggregationPushdownThroughOuterJoins()
     {
         return useDefaultsForCorrelatedAggregationPushdownThroughOuterJoins;
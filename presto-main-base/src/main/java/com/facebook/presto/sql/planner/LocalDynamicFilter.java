@@ -17,11 +17,13 @@ import com.facebook.presto.common.predicate.Domain;
 import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.expressions.DynamicFilters.DynamicFilterExtractResult;
 import com.facebook.presto.expressions.DynamicFilters.DynamicFilterPlaceholder;
+import com.facebook.presto.operator.BlockedBloomFilter;
 import com.facebook.presto.spi.plan.AbstractJoinNode;
 import com.facebook.presto.spi.plan.FilterNode;
 import com.facebook.presto.spi.plan.PlanNode;
 import com.facebook.presto.spi.relation.VariableReferenceExpression;
 import com.facebook.presto.sql.planner.optimizations.PlanNodeSearcher;
+import com.google.common.base.VerifyException;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
@@ -35,6 +37,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
+import static com.facebook.presto.common.function.OperatorType.EQUAL;
 import static com.facebook.presto.expressions.DynamicFilters.extractDynamicFilters;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Verify.verify;
@@ -57,6 +60,11 @@ public class LocalDynamicFilter
     // The resulting predicates from each build-side partition.
     private final List<TupleDomain<String>> partitions;
 
+    private final SettableFuture<Map<VariableReferenceExpression, BlockedBloomFilter>> bloomFilterResultFuture;
+
+    // The Bloom filters from each build-side partition, when they are collected.
+    private final List<Map<String, BlockedBloomFilter>> bloomFilterPartitions;
+
     public LocalDynamicFilter(Multimap<String, DynamicFilterPlaceholder> probeVariables, Map<String, Integer> buildChannels, int partitionCount)
     {
         this.probeVariables = requireNonNull(probeVariables, "probeVariables is null");
@@ -67,6 +75,9 @@ public class LocalDynamicFilter
 
         this.partitionCount = partitionCount;
         this.partitions = new ArrayList<>(partitionCount);
+
+        this.bloomFilterResultFuture = SettableFuture.create();
+        this.bloomFilterPartitions = new ArrayList<>(partitionCount);
     }
 
     private synchronized void addPartition(TupleDomain<String> tupleDomain)
@@ -83,6 +94,34 @@ public class LocalDynamicFilter
         }
     }
 
+    private synchronized void addBloomFilterPartition(Map<String, BlockedBloomFilter> bloomFilters)
+    {
+        // Called concurrently by each DynamicFilterSourceOperator instance collecting Bloom filters (when collection is over).
+        verify(bloomFilterPartitions.size() < partitionCount);
+        bloomFilterPartitions.add(bloomFilters);
+        if (bloomFilterPartitions.size() == partitionCount) {
+            verify(bloomFilterResultFuture.set(mergeBloomFilters()), "dynamic filter Bloom filters are provided more than once");
+        }
+    }
+
+    private Map<VariableReferenceExpression, BlockedBloomFilter> mergeBloomFilters()
+    {
+        ImmutableMap.Builder<VariableReferenceExpression, BlockedBloomFilter> builder = ImmutableMap.builder();
+        for (String filterId : buildChannels.keySet()) {
+            BlockedBloomFilter merged = bloomFilterPartitions.stream()
+                    .map(partition -> partition.get(filterId))
+                    .reduce(BlockedBloomFilter::union)
+                    .orElseThrow(() -> new VerifyException("no Bloom filter collected for " + filterId));
+            // A Bloom filter only answers equality, so it can't be used for range comparisons against the build side.
+            for (DynamicFilterPlaceholder placeholder : probeVariables.get(filterId)) {
+                if (placeholder.getOperator() == EQUAL && placeholder.getInput().getType().equals(merged.getType())) {
+                    builder.put((VariableReferenceExpression) placeholder.getInput(), merged);
+                }
+            }
+        }
+        return builder.build();
+    }
+
     private TupleDomain<VariableReferenceExpression> convertTupleDomain(TupleDomain<String> result)
     {
         if (result.isNone()) {
@@ -161,6 +200,16 @@ public class LocalDynamicFilter
         return this::addPartition;
     }
 
+    public ListenableFuture<Map<VariableReferenceExpression, BlockedBloomFilter>> getBloomFilterResultFuture()
+    {
+        return bloomFilterResultFuture;
+    }
+
+    public Consumer<Map<String, BlockedBloomFilter>> getBloomFilterConsumer()
+    {
+        return this::addBloomFilterPartition;
+    }
+
     @Override
     public String toString()
     {
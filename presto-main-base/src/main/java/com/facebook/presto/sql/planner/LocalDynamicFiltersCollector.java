@@ -14,10 +14,15 @@
 package com.facebook.presto.sql.planner;
 
 import com.facebook.presto.common.predicate.TupleDomain;
+import com.facebook.presto.operator.BlockedBloomFilter;
 import com.facebook.presto.spi.relation.VariableReferenceExpression;
+import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.ThreadSafe;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @ThreadSafe
 public class LocalDynamicFiltersCollector
 {
@@ -28,9 +33,13 @@ public class LocalDynamicFiltersCollector
     @GuardedBy ("this")
     private TupleDomain<VariableReferenceExpression> predicate;
 
+    @GuardedBy ("this")
+    private Map<VariableReferenceExpression, BlockedBloomFilter> bloomFilters;
+
     public LocalDynamicFiltersCollector()
     {
         this.predicate = TupleDomain.all();
+        this.bloomFilters = ImmutableMap.of();
     }
 
     public synchronized TupleDomain<VariableReferenceExpression> getPredicate()
@@ -42,4 +51,19 @@ public class LocalDynamicFiltersCollector
     {
         this.predicate = this.predicate.intersect(predicate);
     }
+
+    public synchronized Map<VariableReferenceExpression, BlockedBloomFilter> getBloomFilters()
+    {
+        return bloomFilters;
+    }
+
+    public synchronized void intersectBloomFilters(Map<VariableReferenceExpression, BlockedBloomFilter> bloomFilters)
+    {
+        Map<VariableReferenceExpression, BlockedBloomFilter> result = new HashMap<>(this.bloomFilters);
+        bloomFilters.forEach((variable, bloomFilter) -> result.merge(variable, bloomFilter, (existing, added) -> {
+            // filters of different sizes can't be combined, keeping either of them is still correct
+            return existing.isCompatibleWith(added) ? existing.intersect(added) : existing;
+        }));
+        this.bloomFilters = ImmutableMap.copyOf(result);
+    }
 }
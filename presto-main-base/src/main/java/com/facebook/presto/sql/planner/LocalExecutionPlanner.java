@@ -54,6 +54,7 @@ import com.facebook.presto.metadata.FunctionAndTypeManager;
 import com.facebook.presto.metadata.Metadata;
 import com.facebook.presto.operator.AggregationOperator.AggregationOperatorFactory;
 import com.facebook.presto.operator.AssignUniqueIdOperator;
+import com.facebook.presto.operator.BlockedBloomFilter;
 import com.facebook.presto.operator.DeleteOperator.DeleteOperatorFactory;
 import com.facebook.presto.operator.DevNullOperator.DevNullOperatorFactory;
 import com.facebook.presto.operator.DriverFactory;
@@ -271,6 +272,7 @@ import java.util.stream.IntStream;
 import static com.facebook.airlift.concurrent.MoreFutures.addSuccessCallback;
 import static com.facebook.airlift.units.DataSize.Unit.BYTE;
 import static com.facebook.presto.SystemSessionProperties.getAdaptivePartialAggregationRowsReductionRatioThreshold;
+import static com.facebook.presto.SystemSessionProperties.getDynamicFilteringBloomFilterMaxSizePerDriver;
 import static com.facebook.presto.SystemSessionProperties.getDynamicFilteringMaxPerDriverRowCount;
 import static com.facebook.presto.SystemSessionProperties.getDynamicFilteringMaxPerDriverSize;
 import static com.facebook.presto.SystemSessionProperties.getDynamicFilteringRangeRowLimitPerDriver;
@@ -284,6 +286,7 @@ import static com.facebook.presto.SystemSessionProperties.getTaskWriterCount;
 import static com.facebook.presto.SystemSessionProperties.isAdaptivePartialAggregationEnabled;
 import static com.facebook.presto.SystemSessionProperties.isEnableDynamicFiltering;
 import static com.facebook.presto.SystemSessionProperties.isExchangeChecksumEnabled;
+import static com.facebook.presto.SystemSessionProperties.isJoinProbeLateMaterializationEnabled;
 import static com.facebook.presto.SystemSessionProperties.isJoinSpillingEnabled;
 import static com.facebook.presto.SystemSessionProperties.isNativeExecutionEnabled;
 import static com.facebook.presto.SystemSessionProperties.isOptimizeCommonSubExpressions;
@@ -1599,6 +1602,7 @@ public class LocalExecutionPlanner
 
             Optional<List<DynamicFilterPlaceholder>> dynamicFilters = extractDynamicFilterResult.map(DynamicFilterExtractResult::getDynamicConjuncts);
             Optional<Supplier<TupleDomain<ColumnHandle>>> dynamicFilterSupplier = Optional.empty();
+            Optional<Supplier<Map<Integer, BlockedBloomFilter>>> dynamicBloomFilterSupplier = Optional.empty();
             if (dynamicFilters.isPresent() && !dynamicFilters.get().isEmpty() && sourceNode instanceof TableScanNode) {
                 TableScanNode tableScanNode = (TableScanNode) sourceNode;
                 LocalDynamicFiltersCollector collector = context.getDynamicFiltersCollector();
@@ -1606,6 +1610,12 @@ public class LocalExecutionPlanner
                     TupleDomain<VariableReferenceExpression> predicate = collector.getPredicate();
                     return predicate.transform(tableScanNode.getAssignments()::get);
                 });
+                if (getDynamicFilteringBloomFilterMaxSizePerDriver(session).toBytes() > 0) {
+                    Map<VariableReferenceExpression, Integer> scanLayout = ImmutableMap.copyOf(sourceLayout);
+                    dynamicBloomFilterSupplier = Optional.of(() -> collector.getBloomFilters().entrySet().stream()
+                            .filter(entry -> scanLayout.containsKey(entry.getKey()))
+                            .collect(toImmutableMap(entry -> scanLayout.get(entry.getKey()), Map.Entry::getValue)));
+                }
             }
 
             // compiler uses inputs instead of variables, so rewrite the expressions first
@@ -1649,6 +1659,7 @@ public class LocalExecutionPlanner
                             columns,
                             projections.stream().map(RowExpression::getType).collect(toImmutableList()),
                             dynamicFilterSupplier,
+                            dynamicBloomFilterSupplier,
                             getFilterAndProjectMinOutputPageSize(session),
                             getFilterAndProjectMinOutputPageRowCount(session));
 
@@ -1709,6 +1720,11 @@ public class LocalExecutionPlanner
 
         @Override
         public PhysicalOperation visitTableScan(TableScanNode node, LocalExecutionPlanContext context)
+        {
+            return createTableScan(node, false, context);
+        }
+
+        private PhysicalOperation createTableScan(TableScanNode node, boolean lazyBlocksRetained, LocalExecutionPlanContext context)
         {
             List<ColumnHandle> columns = new ArrayList<>();
             for (VariableReferenceExpression variable : node.getOutputVariables()) {
@@ -1716,7 +1732,7 @@ public class LocalExecutionPlanner
             }
 
             TableHandle tableHandle = node.getTable();
-            OperatorFactory operatorFactory = new TableScanOperatorFactory(context.getNextOperatorId(), node.getId(), pageSourceProvider, tableHandle, columns);
+            OperatorFactory operatorFactory = new TableScanOperatorFactory(context.getNextOperatorId(), node.getId(), pageSourceProvider, tableHandle, columns, lazyBlocksRetained);
             return new PhysicalOperation(operatorFactory, makeLayout(node), context, stageExecutionDescriptor.isScanGroupedExecution(node.getId()) ? GROUPED_EXECUTION : UNGROUPED_EXECUTION);
         }
 
@@ -2418,7 +2434,14 @@ public class LocalExecutionPlanner
                 LocalExecutionPlanContext context)
         {
             // Plan probe
-            PhysicalOperation probeSource = probeNode.accept(this, context);
+            PhysicalOperation probeSource;
+            if (probeNode instanceof TableScanNode && isJoinProbeLateMaterializationEnabled(context.getSession())) {
+                // the join loads the columns it does not need to find the matches only for the matching rows
+                probeSource = createTableScan((TableScanNode) probeNode, true, context);
+            }
+            else {
+                probeSource = probeNode.accept(this, context);
+            }
 
             // Plan build
             LocalExecutionPlanContext buildContext = context.createSubContext();
@@ -2574,10 +2597,12 @@ public class LocalExecutionPlanner
                     context.getNextOperatorId(),
                     planNodeId,
                     dynamicFilter.getTupleDomainConsumer(),
+                    dynamicFilter.getBloomFilterConsumer(),
                     filterBuildChannels,
                     getDynamicFilteringMaxPerDriverRowCount(context.getSession()),
                     getDynamicFilteringMaxPerDriverSize(context.getSession()),
                     getDynamicFilteringRangeRowLimitPerDriver(context.getSession()),
+                    getDynamicFilteringBloomFilterMaxSizePerDriver(context.getSession()),
                     useNewNanDefinition);
         }
 
@@ -2599,6 +2624,7 @@ public class LocalExecutionPlanner
                         // Intersect dynamic filters' predicates when they become ready,
                         // in order to support multiple join nodes in the same plan fragment.
                         addSuccessCallback(filter.getResultFuture(), collector::intersect);
+                        addSuccessCallback(filter.getBloomFilterResultFuture(), collector::intersectBloomFilters);
                         return filter;
                     });
         }
@@ -327,6 +327,12 @@ public final class SystemPartitioningHandle
                 return generator.getPartition(bucketCount, position, page);
             }
 
+            @Override
+            public void getBuckets(Page page, int[] buckets)
+            {
+                generator.getPartitions(bucketCount, page, buckets);
+            }
+
             @Override
             public String toString()
             {
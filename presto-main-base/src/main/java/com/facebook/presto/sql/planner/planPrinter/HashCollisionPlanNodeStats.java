@@ -52,12 +52,13 @@ public class HashCollisionPlanNodeStats
             long planNodeJoinBuildKeyCount,
             long planNodeNullJoinProbeKeyCount,
             long planNodeJoinProbeKeyCount,
+            long planNodePartialAggregationSkippedPositions,
             Optional<DynamicFilterStats> dynamicFilterStats,
             Map<String, OperatorHashCollisionsStats> operatorHashCollisionsStats)
     {
         super(planNodeId, planNodeScheduledTime, planNodeCpuTime, planNodeBlockedWallTime, planNodeAddInputWallTime, planNodeGetOutputWallTime, planNodeFinishWallTime,
                 planNodeInputPositions, planNodeInputDataSize, planNodeRawInputPositions, planNodeRawInputDataSize, planNodeOutputPositions, planNodeOutputDataSize,
-                planNodePeakMemorySize, operatorInputStats, planNodeNullJoinBuildKeyCount, planNodeJoinBuildKeyCount, planNodeNullJoinProbeKeyCount, planNodeJoinProbeKeyCount, dynamicFilterStats);
+                planNodePeakMemorySize, operatorInputStats, planNodeNullJoinBuildKeyCount, planNodeJoinBuildKeyCount, planNodeNullJoinProbeKeyCount, planNodeJoinProbeKeyCount, planNodePartialAggregationSkippedPositions, dynamicFilterStats);
         this.operatorHashCollisionsStats = requireNonNull(operatorHashCollisionsStats, "operatorHashCollisionsStats is null");
     }
 
@@ -122,6 +123,7 @@ public class HashCollisionPlanNodeStats
                 merged.getPlanNodeJoinBuildKeyCount(),
                 merged.getPlanNodeNullJoinProbeKeyCount(),
                 merged.getPlanNodeJoinProbeKeyCount(),
+                merged.getPlanNodePartialAggregationSkippedPositions(),
                 merged.getDynamicFilterStats(),
                 operatorHashCollisionsStats);
     }
@@ -60,6 +60,7 @@ public class PlanNodeStats
     private final long planNodeJoinBuildKeyCount;
     private final long planNodeNullJoinProbeKeyCount;
     private final long planNodeJoinProbeKeyCount;
+    private final long planNodePartialAggregationSkippedPositions;
     private final Optional<DynamicFilterStats> dynamicFilterStats;
 
     @JsonCreator
@@ -83,6 +84,7 @@ public class PlanNodeStats
             @JsonProperty("planNodeJoinBuildKeyCount") long planNodeJoinBuildKeyCount,
             @JsonProperty("planNodeNullJoinProbeKeyCount") long planNodeNullJoinProbeKeyCount,
             @JsonProperty("planNodeJoinProbeKeyCount") long planNodeJoinProbeKeyCount,
+            @JsonProperty("planNodePartialAggregationSkippedPositions") long planNodePartialAggregationSkippedPositions,
             @JsonProperty("dynamicFilterStats") Optional<DynamicFilterStats> dynamicFilterStats)
     {
         this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
@@ -106,6 +108,7 @@ public class PlanNodeStats
         this.planNodeJoinBuildKeyCount = planNodeJoinBuildKeyCount;
         this.planNodeNullJoinProbeKeyCount = planNodeNullJoinProbeKeyCount;
         this.planNodeJoinProbeKeyCount = planNodeJoinProbeKeyCount;
+        this.planNodePartialAggregationSkippedPositions = planNodePartialAggregationSkippedPositions;
         this.dynamicFilterStats = dynamicFilterStats;
     }
 
@@ -256,6 +259,15 @@ public class PlanNodeStats
         return planNodeJoinProbeKeyCount;
     }
 
+    /**
+     * Number of input positions that were passed through a partial aggregation without being aggregated.
+     */
+    @JsonProperty
+    public long getPlanNodePartialAggregationSkippedPositions()
+    {
+        return planNodePartialAggregationSkippedPositions;
+    }
+
     public Optional<DynamicFilterStats> getDynamicFilterStats()
     {
         return dynamicFilterStats;
@@ -293,6 +305,7 @@ public class PlanNodeStats
         long planNodeJoinBuildKeyCount = this.planNodeJoinBuildKeyCount + other.planNodeJoinBuildKeyCount;
         long planNodeNullJoinProbeKeyCount = this.planNodeNullJoinProbeKeyCount + other.planNodeNullJoinProbeKeyCount;
         long planNodeJoinProbeKeyCount = this.planNodeJoinProbeKeyCount + other.planNodeJoinProbeKeyCount;
+        long planNodePartialAggregationSkippedPositions = saturatingAdd(this.planNodePartialAggregationSkippedPositions, other.planNodePartialAggregationSkippedPositions);
         Optional<DynamicFilterStats> optionalDynamicFilterStats = mergeDynamicFilterStats(this.dynamicFilterStats, other.dynamicFilterStats);
 
         return new PlanNodeStats(
@@ -313,6 +326,7 @@ public class PlanNodeStats
                 planNodeJoinBuildKeyCount,
                 planNodeNullJoinProbeKeyCount,
                 planNodeJoinProbeKeyCount,
+                planNodePartialAggregationSkippedPositions,
                 optionalDynamicFilterStats);
     }
 }
@@ -14,6 +14,7 @@
 package com.facebook.presto.sql.planner.planPrinter;
 
 import com.facebook.airlift.units.Duration;
+import com.facebook.presto.common.RuntimeMetric;
 import com.facebook.presto.execution.StageInfo;
 import com.facebook.presto.execution.TaskInfo;
 import com.facebook.presto.operator.DynamicFilterStats;
@@ -36,6 +37,7 @@ import java.util.Set;
 
 import static com.facebook.airlift.units.DataSize.Unit.BYTE;
 import static com.facebook.airlift.units.DataSize.succinctDataSize;
+import static com.facebook.presto.common.RuntimeMetricName.PARTIAL_AGGREGATION_SKIPPED_ROWS;
 import static com.facebook.presto.util.MoreMaps.mergeMaps;
 import static com.google.common.collect.Iterables.getLast;
 import static com.google.common.collect.Lists.reverse;
@@ -92,6 +94,7 @@ public class PlanNodeStatsSummarizer
         Map<PlanNodeId, Long> planNodeJoinBuildKeyCount = new HashMap<>();
         Map<PlanNodeId, Long> planNodeNullJoinProbeKeyCount = new HashMap<>();
         Map<PlanNodeId, Long> planNodeJoinProbeKeyCount = new HashMap<>();
+        Map<PlanNodeId, Long> planNodePartialAggregationSkippedPositions = new HashMap<>();
         Map<PlanNodeId, Optional<DynamicFilterStats>> planNodeIdDynamicFilterStatsMap = new HashMap<>();
 
         Map<PlanNodeId, Map<String, OperatorInputStats>> operatorInputStats = new HashMap<>();
@@ -172,6 +175,8 @@ public class PlanNodeStatsSummarizer
                 planNodeJoinBuildKeyCount.merge(planNodeId, operatorStats.getJoinBuildKeyCount(), Long::sum);
                 planNodeNullJoinProbeKeyCount.merge(planNodeId, operatorStats.getNullJoinProbeKeyCount(), Long::sum);
                 planNodeJoinProbeKeyCount.merge(planNodeId, operatorStats.getJoinProbeKeyCount(), Long::sum);
+                RuntimeMetric skippedPositions = operatorStats.getRuntimeStats().getMetric(PARTIAL_AGGREGATION_SKIPPED_ROWS);
+                planNodePartialAggregationSkippedPositions.merge(planNodeId, skippedPositions == null ? 0L : skippedPositions.getSum(), MoreMath::saturatingAdd);
 
                 planNodeIdDynamicFilterStatsMap.merge(planNodeId, Optional.of(operatorStats.getDynamicFilterStats()), PlanNodeStats::mergeDynamicFilterStats);
 
@@ -240,6 +245,7 @@ public class PlanNodeStatsSummarizer
                         planNodeJoinBuildKeyCount.get(planNodeId),
                         planNodeNullJoinProbeKeyCount.get(planNodeId),
                         planNodeJoinProbeKeyCount.get(planNodeId),
+                        planNodePartialAggregationSkippedPositions.get(planNodeId),
                         planNodeIdDynamicFilterStatsMap.get(planNodeId),
                         operatorHashCollisionsStats.get(planNodeId));
             }
@@ -264,6 +270,7 @@ public class PlanNodeStatsSummarizer
                         planNodeJoinBuildKeyCount.get(planNodeId),
                         planNodeNullJoinProbeKeyCount.get(planNodeId),
                         planNodeJoinProbeKeyCount.get(planNodeId),
+                        planNodePartialAggregationSkippedPositions.get(planNodeId),
                         planNodeIdDynamicFilterStatsMap.get(planNodeId),
                         windowNodeStats.get(planNodeId));
             }
@@ -288,6 +295,7 @@ public class PlanNodeStatsSummarizer
                         planNodeJoinBuildKeyCount.get(planNodeId),
                         planNodeNullJoinProbeKeyCount.get(planNodeId),
                         planNodeJoinProbeKeyCount.get(planNodeId),
+                        planNodePartialAggregationSkippedPositions.get(planNodeId),
                         planNodeIdDynamicFilterStatsMap.get(planNodeId));
             }
 
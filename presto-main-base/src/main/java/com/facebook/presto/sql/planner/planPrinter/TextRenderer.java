@@ -135,6 +135,12 @@ public class TextRenderer
 
         output.append(format(", Output: %s (%s)%n", formatPositions(nodeStats.getPlanNodeOutputPositions()), nodeStats.getPlanNodeOutputDataSize().toString()));
 
+        if (nodeStats.getPlanNodePartialAggregationSkippedPositions() > 0) {
+            output.append(format("Partial aggregation skipped: %s (%s%% of input)%n",
+                    formatPositions(nodeStats.getPlanNodePartialAggregationSkippedPositions()),
+                    formatDouble(100.0d * nodeStats.getPlanNodePartialAggregationSkippedPositions() / nodeStats.getPlanNodeInputPositions())));
+        }
+
         printDistributions(output, nodeStats);
 
         if (nodeStats instanceof WindowPlanNodeStats) {
@@ -48,11 +48,12 @@ public class WindowPlanNodeStats
             long planNodeJoinBuildKeyCount,
             long planNodeNullJoinProbeKeyCount,
             long planNodeJoinProbeKeyCount,
+            long planNodePartialAggregationSkippedPositions,
             Optional<DynamicFilterStats> dynamicFilterStats,
             WindowOperatorStats windowOperatorStats)
     {
         super(planNodeId, planNodeScheduledTime, planNodeCpuTime, planNodeBlockedWallTime, planNodeAddInputWallTime, planNodeGetOutputWallTime, planNodeFinishWallTime, planNodeInputPositions, planNodeInputDataSize, planNodeRawInputPositions, planNodeRawInputDataSize,
-                planNodeOutputPositions, planNodeOutputDataSize, planNodePeakMemorySize, operatorInputStats, planNodeNullJoinBuildKeyCount, planNodeJoinBuildKeyCount, planNodeNullJoinProbeKeyCount, planNodeJoinProbeKeyCount, dynamicFilterStats);
+                planNodeOutputPositions, planNodeOutputDataSize, planNodePeakMemorySize, operatorInputStats, planNodeNullJoinBuildKeyCount, planNodeJoinBuildKeyCount, planNodeNullJoinProbeKeyCount, planNodeJoinProbeKeyCount, planNodePartialAggregationSkippedPositions, dynamicFilterStats);
         this.windowOperatorStats = windowOperatorStats;
     }
 
@@ -87,6 +88,7 @@ public class WindowPlanNodeStats
                 merged.getPlanNodeJoinBuildKeyCount(),
                 merged.getPlanNodeNullJoinProbeKeyCount(),
                 merged.getPlanNodeJoinProbeKeyCount(),
+                merged.getPlanNodePartialAggregationSkippedPositions(),
                 merged.getDynamicFilterStats(),
                 windowOperatorStats);
     }
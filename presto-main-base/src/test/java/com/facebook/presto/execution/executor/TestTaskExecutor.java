@@ -456,6 +456,35 @@ public class TestTaskExecutor
         }
     }
 
+    @Test(timeOut = 30_000)
+    public void testWorkStealingSplitQueue()
+            throws Exception
+    {
+        WorkStealingMultilevelSplitQueue splitQueue = new WorkStealingMultilevelSplitQueue(2, 2);
+        TestingTicker ticker = new TestingTicker();
+        // the only runner thread owns the first run queue, so it has to steal the splits offered to the second one
+        TaskExecutor taskExecutor = new TaskExecutor(1, 4, 4, 4, TASK_FAIR, splitQueue, ticker);
+        taskExecutor.start();
+        try {
+            TaskHandle taskHandle = taskExecutor.addTask(new TaskId("test", 0, 0, 0, 0), () -> 0, 10, new Duration(1, MILLISECONDS), OptionalInt.empty());
+
+            ImmutableList.Builder<TestingJob> jobs = ImmutableList.builder();
+            for (int i = 0; i < 4; i++) {
+                jobs.add(new TestingJob(ticker, new Phaser(), new Phaser(), new Phaser(), 3, 10));
+            }
+            List<ListenableFuture<?>> futures = taskExecutor.enqueueSplits(taskHandle, false, jobs.build());
+            for (ListenableFuture<?> future : futures) {
+                future.get(10, SECONDS);
+            }
+
+            assertGreaterThan(splitQueue.getStolenSplits().getTotalCount(), 0L);
+            assertEquals(splitQueue.size(), 0);
+        }
+        finally {
+            taskExecutor.stop();
+        }
+    }
+
     @Test
     public void testTaskExecutorRunawaySplitInterrupt()
             throws Exception
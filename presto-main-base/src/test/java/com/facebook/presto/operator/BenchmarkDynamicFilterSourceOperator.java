@@ -47,6 +47,7 @@ import java.util.concurrent.TimeUnit;
 import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
 import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
 import static com.facebook.presto.SessionTestUtils.TEST_SESSION;
+import static com.facebook.presto.SystemSessionProperties.getDynamicFilteringBloomFilterMaxSizePerDriver;
 import static com.facebook.presto.SystemSessionProperties.getDynamicFilteringMaxPerDriverRowCount;
 import static com.facebook.presto.SystemSessionProperties.getDynamicFilteringMaxPerDriverSize;
 import static com.facebook.presto.SystemSessionProperties.getDynamicFilteringRangeRowLimitPerDriver;
@@ -87,10 +88,12 @@ public class BenchmarkDynamicFilterSourceOperator
                     1,
                     new PlanNodeId("joinNodeId"),
                     (tupleDomain -> {}),
+                    (bloomFilters -> {}),
                     ImmutableList.of(new DynamicFilterSourceOperator.Channel("0", BIGINT, 0)),
                     getDynamicFilteringMaxPerDriverRowCount(TEST_SESSION),
                     getDynamicFilteringMaxPerDriverSize(TEST_SESSION),
                     getDynamicFilteringRangeRowLimitPerDriver(TEST_SESSION),
+                    getDynamicFilteringBloomFilterMaxSizePerDriver(TEST_SESSION),
                     true);
         }
 
@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.common.block.Block;
+import org.testng.annotations.Test;
+
+import static com.facebook.airlift.units.DataSize.Unit.KILOBYTE;
+import static com.facebook.presto.block.BlockAssertions.createLongSequenceBlock;
+import static com.facebook.presto.block.BlockAssertions.createLongsBlock;
+import static com.facebook.presto.block.BlockAssertions.createStringsBlock;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestBlockedBloomFilter
+{
+    private static final DataSize SIZE = new DataSize(8, KILOBYTE);
+
+    @Test
+    public void testAddedValuesMatch()
+    {
+        BlockedBloomFilter filter = BlockedBloomFilter.create(BIGINT, SIZE);
+        Block block = createLongSequenceBlock(0, 1000);
+        addAll(filter, block);
+        for (int position = 0; position < block.getPositionCount(); position++) {
+            assertTrue(filter.mightContain(block, position));
+        }
+
+        int falsePositives = 0;
+        Block probe = createLongSequenceBlock(1000, 11000);
+        for (int position = 0; position < probe.getPositionCount(); position++) {
+            if (filter.mightContain(probe, position)) {
+                falsePositives++;
+            }
+        }
+        // with about 65 bits of filter and 8 bits set per value, the false positive rate is well under a percent
+        assertTrue(falsePositives < 100, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testNulls()
+    {
+        BlockedBloomFilter filter = BlockedBloomFilter.create(VARCHAR, SIZE);
+        Block block = createStringsBlock("a", null);
+        addAll(filter, block);
+        assertTrue(filter.mightContain(block, 0));
+        assertFalse(filter.mightContain(block, 1));
+    }
+
+    @Test
+    public void testUnionAndIntersect()
+    {
+        Block block = createLongsBlock(1L, 2L, 3L);
+        BlockedBloomFilter left = BlockedBloomFilter.create(BIGINT, SIZE);
+        left.add(block, 0);
+        left.add(block, 1);
+        BlockedBloomFilter right = BlockedBloomFilter.create(BIGINT, SIZE);
+        right.add(block, 1);
+        right.add(block, 2);
+
+        BlockedBloomFilter union = left.union(right);
+        for (int position = 0; position < 3; position++) {
+            assertTrue(union.mightContain(block, position));
+        }
+        BlockedBloomFilter intersection = left.intersect(right);
+        assertTrue(intersection.mightContain(block, 1));
+        assertFalse(intersection.mightContain(block, 0));
+        assertFalse(intersection.mightContain(block, 2));
+
+        assertFalse(left.isCompatibleWith(BlockedBloomFilter.create(VARCHAR, SIZE)));
+        assertFalse(left.isCompatibleWith(BlockedBloomFilter.create(BIGINT, new DataSize(1, KILOBYTE))));
+    }
+
+    private static void addAll(BlockedBloomFilter filter, Block block)
+    {
+        for (int position = 0; position < block.getPositionCount(); position++) {
+            filter.add(block, position);
+        }
+    }
+}
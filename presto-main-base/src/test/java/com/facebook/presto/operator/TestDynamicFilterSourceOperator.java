@@ -32,11 +32,13 @@ import org.testng.annotations.Test;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.IntStream;
 
 import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.airlift.units.DataSize.Unit.BYTE;
 import static com.facebook.airlift.units.DataSize.Unit.KILOBYTE;
 import static com.facebook.presto.SessionTestUtils.TEST_SESSION;
 import static com.facebook.presto.block.BlockAssertions.createBlockOfReals;
@@ -71,6 +73,8 @@ import static io.airlift.slice.Slices.utf8Slice;
 import static java.lang.Float.floatToRawIntBits;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 @Test(singleThreaded = true)
 public class TestDynamicFilterSourceOperator
@@ -80,6 +84,7 @@ public class TestDynamicFilterSourceOperator
     private PipelineContext pipelineContext;
 
     private ImmutableList.Builder<TupleDomain<String>> partitions;
+    private ImmutableList.Builder<Map<String, BlockedBloomFilter>> bloomFilterPartitions;
 
     @BeforeMethod
     public void setUp()
@@ -90,6 +95,7 @@ public class TestDynamicFilterSourceOperator
                 .addPipelineContext(0, true, true, false);
 
         partitions = ImmutableList.builder();
+        bloomFilterPartitions = ImmutableList.builder();
     }
 
     @AfterMethod(alwaysRun = true)
@@ -115,18 +121,19 @@ public class TestDynamicFilterSourceOperator
 
     private OperatorFactory createOperatorFactory(DynamicFilterSourceOperator.Channel... buildChannels)
     {
-        return createOperatorFactory(100, new DataSize(10, KILOBYTE), 1_000_000, Arrays.asList(buildChannels), true);
+        return createOperatorFactory(100, new DataSize(10, KILOBYTE), 1_000_000, new DataSize(0, BYTE), Arrays.asList(buildChannels), true);
     }
 
     private OperatorFactory createOperatorFactoryWithOldNanDefinition(DynamicFilterSourceOperator.Channel... buildChannels)
     {
-        return createOperatorFactory(100, new DataSize(10, KILOBYTE), 1_000_000, Arrays.asList(buildChannels), false);
+        return createOperatorFactory(100, new DataSize(10, KILOBYTE), 1_000_000, new DataSize(0, BYTE), Arrays.asList(buildChannels), false);
     }
 
     private OperatorFactory createOperatorFactory(
             int maxFilterPositionsCount,
             DataSize maxFilterSize,
             int minMaxCollectionLimit,
+            DataSize bloomFilterMaxSize,
             Iterable<DynamicFilterSourceOperator.Channel> buildChannels,
             boolean useNewNanDefinition)
     {
@@ -134,10 +141,12 @@ public class TestDynamicFilterSourceOperator
                 0,
                 new PlanNodeId("PLAN_NODE_ID"),
                 this::consumePredicate,
+                bloomFilterPartitions::add,
                 ImmutableList.copyOf(buildChannels),
                 maxFilterPositionsCount,
                 maxFilterSize,
                 minMaxCollectionLimit,
+                bloomFilterMaxSize,
                 useNewNanDefinition);
     }
 
@@ -172,7 +181,7 @@ public class TestDynamicFilterSourceOperator
         List<DynamicFilterSourceOperator.Channel> buildChannels = IntStream.range(0, types.size())
                 .mapToObj(i -> channel(i, types.get(i)))
                 .collect(toImmutableList());
-        OperatorFactory operatorFactory = createOperatorFactory(maxFilterPositionsCount, maxFilterSize, minMaxCollectionLimit, buildChannels, true);
+        OperatorFactory operatorFactory = createOperatorFactory(maxFilterPositionsCount, maxFilterSize, minMaxCollectionLimit, new DataSize(0, BYTE), buildChannels, true);
         verifyPassthrough(createOperator(operatorFactory), types, pages);
         operatorFactory.noMoreOperators();
         assertEquals(partitions.build(), expectedTupleDomains);
@@ -425,6 +434,33 @@ public class TestDynamicFilterSourceOperator
         assertEquals(partitions.build(), ImmutableList.of(TupleDomain.none()));
     }
 
+    @Test
+    public void testCollectBloomFilter()
+    {
+        OperatorFactory operatorFactory = createOperatorFactory(
+                2,
+                new DataSize(10, KILOBYTE),
+                1_000_000,
+                new DataSize(1, KILOBYTE),
+                ImmutableList.of(channel(0, BIGINT), channel(1, VARCHAR)),
+                true);
+        verifyPassthrough(createOperator(operatorFactory),
+                ImmutableList.of(BIGINT, VARCHAR),
+                new Page(createLongsBlock(1L, 2L, 3L, null), createStringsBlock("a", "b", "c", "d")));
+        operatorFactory.noMoreOperators();
+
+        // the bloom filter is still collected once the distinct values exceed the limit of the tuple domain
+        List<Map<String, BlockedBloomFilter>> bloomFilters = bloomFilterPartitions.build();
+        assertEquals(bloomFilters.size(), 1);
+        BlockedBloomFilter longs = bloomFilters.get(0).get("0");
+        Block probe = createLongsBlock(1L, 2L, 3L, null);
+        for (int position = 0; position < 3; position++) {
+            assertTrue(longs.mightContain(probe, position));
+        }
+        assertFalse(longs.mightContain(probe, 3));
+        assertTrue(bloomFilters.get(0).get("1").mightContain(createStringsBlock("c"), 0));
+    }
+
     @Test
     public void testSingleColumnCollectMinMaxRangeWhenTooManyPositions()
     {
@@ -43,7 +43,8 @@ public class TestExchangeClientConfig
                 .setPageBufferClientMaxCallbackThreads(25)
                 .setClientThreads(25)
                 .setAcknowledgePages(true)
-                .setResponseSizeExponentialMovingAverageDecayingAlpha(0.1));
+                .setResponseSizeExponentialMovingAverageDecayingAlpha(0.1)
+                .setInProcessTransportEnabled(false));
     }
 
     @Test
@@ -60,6 +61,7 @@ public class TestExchangeClientConfig
                 .put("exchange.page-buffer-client.max-callback-threads", "16")
                 .put("exchange.acknowledge-pages", "false")
                 .put("exchange.response-size-exponential-moving-average-decaying-alpha", "0.42")
+                .put("exchange.in-process-transport-enabled", "true")
                 .build();
 
         ExchangeClientConfig expected = new ExchangeClientConfig()
@@ -72,7 +74,8 @@ public class TestExchangeClientConfig
                 .setClientThreads(2)
                 .setPageBufferClientMaxCallbackThreads(16)
                 .setAcknowledgePages(false)
-                .setResponseSizeExponentialMovingAverageDecayingAlpha(0.42);
+                .setResponseSizeExponentialMovingAverageDecayingAlpha(0.42)
+                .setInProcessTransportEnabled(true);
 
         assertFullMapping(properties, expected);
     }
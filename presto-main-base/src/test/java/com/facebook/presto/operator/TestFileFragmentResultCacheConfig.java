@@ -25,6 +25,7 @@ import java.util.Map;
 import static com.facebook.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
 import static com.facebook.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
 import static com.facebook.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static com.facebook.airlift.units.DataSize.Unit.BYTE;
 import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
 import static java.util.concurrent.TimeUnit.DAYS;
@@ -43,6 +44,7 @@ public class TestFileFragmentResultCacheConfig
                 .setMaxInFlightSize(new DataSize(1, GIGABYTE))
                 .setMaxSinglePagesSize(new DataSize(500, MEGABYTE))
                 .setMaxCacheSize(new DataSize(100, GIGABYTE))
+                .setMaxMemoryCacheSize(new DataSize(0, BYTE))
                 .setInputDataStatsEnabled(false));
     }
 
@@ -59,6 +61,7 @@ public class TestFileFragmentResultCacheConfig
                 .put("fragment-result-cache.max-in-flight-size", "2GB")
                 .put("fragment-result-cache.max-single-pages-size", "200MB")
                 .put("fragment-result-cache.max-cache-size", "200GB")
+                .put("fragment-result-cache.max-memory-cache-size", "4GB")
                 .put("fragment-result-cache.input-data-stats-enabled", "true")
                 .build();
 
@@ -71,6 +74,7 @@ public class TestFileFragmentResultCacheConfig
                 .setMaxInFlightSize(new DataSize(2, GIGABYTE))
                 .setMaxSinglePagesSize(new DataSize(200, MEGABYTE))
                 .setMaxCacheSize(new DataSize(200, GIGABYTE))
+                .setMaxMemoryCacheSize(new DataSize(4, GIGABYTE))
                 .setInputDataStatsEnabled(true);
 
         assertFullMapping(properties, expected);
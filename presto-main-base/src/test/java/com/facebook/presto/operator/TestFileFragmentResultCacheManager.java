@@ -14,6 +14,7 @@
 package com.facebook.presto.operator;
 
 import com.facebook.airlift.units.DataSize;
+import com.facebook.airlift.units.Duration;
 import com.facebook.presto.common.Page;
 import com.facebook.presto.common.block.TestingBlockEncodingSerde;
 import com.facebook.presto.metadata.Split;
@@ -44,8 +45,10 @@ import static com.facebook.presto.block.BlockAssertions.createStringsBlock;
 import static com.facebook.presto.spi.schedule.NodeSelectionStrategy.NO_PREFERENCE;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Strings.repeat;
 import static java.nio.file.Files.createTempDirectory;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
@@ -215,6 +218,138 @@ public class TestFileFragmentResultCacheManager
         cleanupCacheDirectory(cacheDirectory);
     }
 
+    @Test(timeOut = 30_000)
+    public void testMemoryCache()
+            throws Exception
+    {
+        // each result fits in the memory tier, but not two of them
+        List<Page> pages1 = ImmutableList.of(new Page(createStringsBlock(repeat("a", 1000))));
+        List<Page> pages2 = ImmutableList.of(new Page(createStringsBlock(repeat("b", 1000))));
+
+        URI cacheDirectory = getNewCacheDirectory("testMemoryCache");
+        FragmentCacheStats stats = new FragmentCacheStats();
+        FileFragmentResultCacheConfig config = new FileFragmentResultCacheConfig();
+        config.setMaxMemoryCacheSize(new DataSize(1500, DataSize.Unit.BYTE));
+        FileFragmentResultCacheManager cacheManager = fileFragmentResultCacheManager(stats, config, cacheDirectory);
+
+        cacheManager.put(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_1, pages1, INPUT_DATA_SIZE_1).get();
+        assertEquals(stats.getMemoryCacheEntries(), 1);
+        assertTrue(stats.getMemoryCacheSizeInBytes() > 0);
+
+        // Neither result has been read yet, so the second one is not admitted in place of the first one.
+        cacheManager.put(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2, pages2, INPUT_DATA_SIZE_2).get();
+        assertEquals(stats.getMemoryCacheEntries(), 1);
+        assertEquals(stats.getMemoryCacheEviction(), 1);
+
+        // Reading the second result from disk makes it more frequent than the first one, so it's promoted.
+        FragmentCacheResult fragmentCacheResult = cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2);
+        assertPagesEqual(fragmentCacheResult.getPages().get(), pages2.iterator());
+        assertEquals(fragmentCacheResult.getInputDataSize(), INPUT_DATA_SIZE_2);
+        assertEquals(stats.getMemoryCacheMiss(), 1);
+        assertEquals(stats.getMemoryCachePromotion(), 1);
+        assertEquals(stats.getMemoryCacheEviction(), 2);
+        assertEquals(stats.getMemoryCacheEntries(), 1);
+
+        // The promoted result is served from memory without the file.
+        cleanupCacheDirectory(cacheDirectory);
+        fragmentCacheResult = cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2);
+        assertPagesEqual(fragmentCacheResult.getPages().get(), pages2.iterator());
+        assertEquals(fragmentCacheResult.getInputDataSize(), INPUT_DATA_SIZE_2);
+        assertEquals(stats.getMemoryCacheHit(), 1);
+        assertEquals(stats.getCacheHit(), 2);
+        assertEquals(stats.getCacheMiss(), 0);
+
+        cacheManager.invalidateAllCache();
+        assertEquals(stats.getMemoryCacheEntries(), 0);
+        assertEquals(stats.getMemoryCacheSizeInBytes(), 0);
+        assertFalse(cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2).getPages().isPresent());
+    }
+
+    @Test(timeOut = 30_000)
+    public void testMemoryCacheAdmission()
+            throws Exception
+    {
+        List<Page> pages1 = ImmutableList.of(new Page(createStringsBlock(repeat("a", 1000))));
+        List<Page> pages2 = ImmutableList.of(new Page(createStringsBlock(repeat("b", 1000))));
+
+        URI cacheDirectory = getNewCacheDirectory("testMemoryCacheAdmission");
+        FragmentCacheStats stats = new FragmentCacheStats();
+        FileFragmentResultCacheConfig config = new FileFragmentResultCacheConfig();
+        config.setMaxMemoryCacheSize(new DataSize(1500, DataSize.Unit.BYTE));
+        FileFragmentResultCacheManager cacheManager = fileFragmentResultCacheManager(stats, config, cacheDirectory);
+
+        cacheManager.put(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_1, pages1, INPUT_DATA_SIZE_1).get();
+        cacheManager.put(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2, pages2, INPUT_DATA_SIZE_2).get();
+        assertEquals(stats.getMemoryCacheEviction(), 1);
+
+        // The first result is read twice, so reading the second one from disk once doesn't promote it.
+        cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_1);
+        cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_1);
+        assertEquals(stats.getMemoryCacheHit(), 2);
+        FragmentCacheResult fragmentCacheResult = cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2);
+        assertPagesEqual(fragmentCacheResult.getPages().get(), pages2.iterator());
+        assertEquals(stats.getMemoryCacheMiss(), 1);
+        assertEquals(stats.getMemoryCachePromotion(), 0);
+        assertEquals(stats.getMemoryCacheEviction(), 1);
+        assertEquals(stats.getMemoryCacheEntries(), 1);
+
+        // Once the second result is read more often than the first one, it replaces it.
+        cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2);
+        assertEquals(stats.getMemoryCachePromotion(), 0);
+        fragmentCacheResult = cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2);
+        assertPagesEqual(fragmentCacheResult.getPages().get(), pages2.iterator());
+        assertEquals(stats.getMemoryCacheMiss(), 3);
+        assertEquals(stats.getMemoryCachePromotion(), 1);
+        assertEquals(stats.getMemoryCacheEviction(), 2);
+        assertEquals(stats.getMemoryCacheEntries(), 1);
+        cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2);
+        assertEquals(stats.getMemoryCacheHit(), 3);
+
+        cleanupCacheDirectory(cacheDirectory);
+    }
+
+    @Test(timeOut = 30_000)
+    public void testMemoryCacheFollowsFileCache()
+            throws Exception
+    {
+        List<Page> pages1 = ImmutableList.of(new Page(createStringsBlock("plan-1-split-1")));
+        List<Page> pages2 = ImmutableList.of(new Page(createStringsBlock("plan-1-split-2")));
+
+        // a result evicted from the file tier is removed from the memory tier
+        URI cacheDirectory = getNewCacheDirectory("testMemoryCacheFollowsFileCache");
+        FragmentCacheStats stats = new FragmentCacheStats();
+        FileFragmentResultCacheConfig config = new FileFragmentResultCacheConfig()
+                .setMaxCachedEntries(1)
+                .setMaxMemoryCacheSize(new DataSize(1, DataSize.Unit.MEGABYTE));
+        FileFragmentResultCacheManager cacheManager = fileFragmentResultCacheManager(stats, config, cacheDirectory);
+
+        cacheManager.put(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_1, pages1, INPUT_DATA_SIZE_1).get();
+        assertEquals(stats.getMemoryCacheEntries(), 1);
+        cacheManager.put(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2, pages2, INPUT_DATA_SIZE_2).get();
+        assertEquals(stats.getMemoryCacheEntries(), 1);
+        assertFalse(cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_1).getPages().isPresent());
+        assertPagesEqual(cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_2).getPages().get(), pages2.iterator());
+        assertEquals(stats.getMemoryCacheHit(), 1);
+        cleanupCacheDirectory(cacheDirectory);
+
+        // a result expired from the file tier is not served from the memory tier
+        cacheDirectory = getNewCacheDirectory("testMemoryCacheFollowsFileCache");
+        stats = new FragmentCacheStats();
+        config = new FileFragmentResultCacheConfig()
+                .setCacheTtl(new Duration(1, MILLISECONDS))
+                .setMaxMemoryCacheSize(new DataSize(1, DataSize.Unit.MEGABYTE));
+        cacheManager = fileFragmentResultCacheManager(stats, config, cacheDirectory);
+
+        cacheManager.put(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_1, pages1, INPUT_DATA_SIZE_1).get();
+        assertEquals(stats.getMemoryCacheEntries(), 1);
+        MILLISECONDS.sleep(10);
+        assertFalse(cacheManager.get(SERIALIZED_PLAN_FRAGMENT_1, SPLIT_1).getPages().isPresent());
+        assertEquals(stats.getMemoryCacheEntries(), 0);
+        assertEquals(stats.getMemoryCacheSizeInBytes(), 0);
+        assertEquals(stats.getMemoryCacheHit(), 0);
+        cleanupCacheDirectory(cacheDirectory);
+    }
+
     private static void assertPagesEqual(Iterator<Page> pages1, Iterator<Page> pages2)
     {
         while (pages1.hasNext() && pages2.hasNext()) {
@@ -37,15 +37,18 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
+import static com.facebook.presto.block.BlockAssertions.createIntsBlock;
 import static com.facebook.presto.block.BlockAssertions.createLongSequenceBlock;
 import static com.facebook.presto.block.BlockAssertions.createLongsBlock;
 import static com.facebook.presto.block.BlockAssertions.createStringSequenceBlock;
 import static com.facebook.presto.common.block.DictionaryId.randomDictionaryId;
 import static com.facebook.presto.common.type.BigintType.BIGINT;
 import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
 import static com.facebook.presto.common.type.VarcharType.VARCHAR;
 import static com.facebook.presto.operator.GroupByHash.createGroupByHash;
 import static com.facebook.presto.type.TypeUtils.getHashBlock;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.math.DoubleMath.log2;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -199,6 +202,79 @@ public class TestGroupByHash
         BlockAssertions.assertBlockEquals(BIGINT, outputPage.getBlock(0), BlockAssertions.createLongSequenceBlock(0, 50));
     }
 
+    @Test
+    public void testFixedWidthMultipleColumns()
+    {
+        List<Long> bigintValues = new ArrayList<>();
+        List<Integer> intValues = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            bigintValues.add(i % 7 == 0 ? null : (long) (i % 50));
+            intValues.add(i % 11 == 0 ? null : i % 3);
+        }
+        Block bigintBlock = createLongsBlock(bigintValues);
+        Block intBlock = createIntsBlock(intValues);
+        List<Type> types = ImmutableList.of(BIGINT, INTEGER);
+        Page page = new Page(bigintBlock, intBlock);
+
+        GroupByHash groupByHash = createGroupByHash(types, new int[] {0, 1}, Optional.empty(), 4, false, JOIN_COMPILER, UpdateMemory.NOOP);
+        assertTrue(groupByHash instanceof FixedWidthGroupByHash);
+        GroupByHash expectedGroupByHash = new MultiChannelGroupByHash(types, new int[] {0, 1}, Optional.empty(), 4, false, JOIN_COMPILER, UpdateMemory.NOOP);
+
+        Work<GroupByIdBlock> work = groupByHash.getGroupIds(page);
+        assertTrue(work.process());
+        GroupByIdBlock groupIds = work.getResult();
+        Work<GroupByIdBlock> expectedWork = expectedGroupByHash.getGroupIds(page);
+        assertTrue(expectedWork.process());
+        GroupByIdBlock expectedGroupIds = expectedWork.getResult();
+
+        assertEquals(groupByHash.getGroupCount(), expectedGroupByHash.getGroupCount());
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            assertEquals(groupIds.getGroupId(position), expectedGroupIds.getGroupId(position));
+        }
+
+        PageBuilder pageBuilder = new PageBuilder(groupByHash.getTypes());
+        PageBuilder expectedPageBuilder = new PageBuilder(expectedGroupByHash.getTypes());
+        for (int groupId = 0; groupId < groupByHash.getGroupCount(); groupId++) {
+            assertEquals(groupByHash.getRawHash(groupId), expectedGroupByHash.getRawHash(groupId));
+            pageBuilder.declarePosition();
+            groupByHash.appendValuesTo(groupId, pageBuilder, 0);
+            expectedPageBuilder.declarePosition();
+            expectedGroupByHash.appendValuesTo(groupId, expectedPageBuilder, 0);
+        }
+        Page outputPage = pageBuilder.build();
+        Page expectedOutputPage = expectedPageBuilder.build();
+        BlockAssertions.assertBlockEquals(BIGINT, outputPage.getBlock(0), expectedOutputPage.getBlock(0));
+        BlockAssertions.assertBlockEquals(INTEGER, outputPage.getBlock(1), expectedOutputPage.getBlock(1));
+
+        assertTrue(groupByHash.contains(0, new Page(createLongsBlock((Long) null), createIntsBlock((Integer) null)), new int[] {0, 1}));
+        assertTrue(groupByHash.contains(0, new Page(createLongsBlock(1L), createIntsBlock(1)), new int[] {0, 1}));
+        assertFalse(groupByHash.contains(0, new Page(createLongsBlock(0L), createIntsBlock(5)), new int[] {0, 1}));
+    }
+
+    @Test
+    public void testFixedWidthPrecomputedHash()
+    {
+        Block bigintBlock = createLongSequenceBlock(0, 100);
+        Block intBlock = createIntsBlock(IntStream.range(0, 100).map(i -> i % 10).boxed().collect(toImmutableList()));
+        List<Type> types = ImmutableList.of(BIGINT, INTEGER);
+        Block hashBlock = getHashBlock(types, bigintBlock, intBlock);
+
+        GroupByHash groupByHash = createGroupByHash(TEST_SESSION, types, new int[] {0, 1}, Optional.of(2), 100, JOIN_COMPILER);
+        assertEquals(groupByHash.getTypes(), ImmutableList.of(BIGINT, INTEGER, BIGINT));
+        assertTrue(groupByHash.addPage(new Page(bigintBlock, intBlock, hashBlock)).process());
+        assertEquals(groupByHash.getGroupCount(), 100);
+
+        PageBuilder pageBuilder = new PageBuilder(groupByHash.getTypes());
+        for (int groupId = 0; groupId < groupByHash.getGroupCount(); groupId++) {
+            pageBuilder.declarePosition();
+            groupByHash.appendValuesTo(groupId, pageBuilder, 0);
+        }
+        Page outputPage = pageBuilder.build();
+        BlockAssertions.assertBlockEquals(BIGINT, outputPage.getBlock(0), bigintBlock);
+        BlockAssertions.assertBlockEquals(INTEGER, outputPage.getBlock(1), intBlock);
+        BlockAssertions.assertBlockEquals(BIGINT, outputPage.getBlock(2), hashBlock);
+    }
+
     @Test
     public void testContains()
     {
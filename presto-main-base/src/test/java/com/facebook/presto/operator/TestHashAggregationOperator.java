@@ -18,6 +18,7 @@ import com.facebook.airlift.units.DataSize.Unit;
 import com.facebook.presto.ExceededMemoryLimitException;
 import com.facebook.presto.RowPagesBuilder;
 import com.facebook.presto.common.Page;
+import com.facebook.presto.common.RuntimeMetric;
 import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.block.BlockBuilder;
 import com.facebook.presto.common.block.ByteArrayBlock;
@@ -67,6 +68,7 @@ import static com.facebook.presto.RowPagesBuilder.rowPagesBuilder;
 import static com.facebook.presto.SessionTestUtils.TEST_SESSION;
 import static com.facebook.presto.block.BlockAssertions.createLongRepeatBlock;
 import static com.facebook.presto.block.BlockAssertions.createLongsBlock;
+import static com.facebook.presto.common.RuntimeMetricName.PARTIAL_AGGREGATION_SKIPPED_ROWS;
 import static com.facebook.presto.common.type.BigintType.BIGINT;
 import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
 import static com.facebook.presto.common.type.DoubleType.DOUBLE;
@@ -902,6 +904,46 @@ public class TestHashAggregationOperator
         assertFalse(partialAggregationController.isPartialAggregationDisabled());
     }
 
+    @Test
+    public void testAdaptivePartialAggregationRecordsSkippedRows()
+    {
+        List<Integer> hashChannels = Ints.asList(0);
+        DataSize maxPartialMemory = succinctBytes(1);
+        HashAggregationOperatorFactory operatorFactory = new HashAggregationOperatorFactory(
+                0,
+                new PlanNodeId("test"),
+                ImmutableList.of(BIGINT),
+                hashChannels,
+                ImmutableList.of(),
+                ImmutableList.of(),
+                Step.PARTIAL,
+                false,
+                ImmutableList.of(generateAccumulatorFactory(LONG_SUM, ImmutableList.of(0), Optional.empty())),
+                Optional.empty(),
+                Optional.empty(),
+                100,
+                Optional.of(maxPartialMemory),
+                false,
+                Optional.of(new PartialAggregationController(maxPartialMemory, 0.8)),
+                new DataSize(0, MEGABYTE),
+                new DataSize(0, MEGABYTE),
+                new FailingSpillerFactory(),
+                joinCompiler,
+                false);
+
+        // the distinct first page disables partial aggregation, so the rows of the following pages are passed through
+        List<Page> input = rowPagesBuilder(false, hashChannels, BIGINT)
+                .addSequencePage(10, 0)
+                .addBlocksPage(createLongRepeatBlock(1, 10))
+                .addBlocksPage(createLongRepeatBlock(2, 5))
+                .build();
+        Operator operator = operatorFactory.createOperator(createDriverContext());
+        toPages(operator, input.iterator());
+
+        RuntimeMetric skippedRows = operator.getOperatorContext().getRuntimeStats().getMetric(PARTIAL_AGGREGATION_SKIPPED_ROWS);
+        assertEquals(skippedRows.getSum(), 15);
+    }
+
     @Test
     public void testAdaptivePartialAggregationIsTriggeredOnlyOnFlush()
     {
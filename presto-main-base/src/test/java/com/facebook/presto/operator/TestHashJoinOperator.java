@@ -18,11 +18,18 @@ import com.facebook.presto.ExceededMemoryLimitException;
 import com.facebook.presto.RowPagesBuilder;
 import com.facebook.presto.Session;
 import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.block.LazyBlock;
+import com.facebook.presto.common.block.PositionsLazyBlockLoader;
 import com.facebook.presto.common.type.Type;
 import com.facebook.presto.execution.Lifespan;
+import com.facebook.presto.execution.ScheduledSplit;
 import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.TaskSource;
 import com.facebook.presto.execution.TaskStateMachine;
 import com.facebook.presto.memory.context.LocalMemoryContext;
+import com.facebook.presto.metadata.Split;
 import com.facebook.presto.operator.HashBuilderOperator.HashBuilderOperatorFactory;
 import com.facebook.presto.operator.ValuesOperator.ValuesOperatorFactory;
 import com.facebook.presto.operator.exchange.LocalExchange.LocalExchangeFactory;
@@ -31,7 +38,12 @@ import com.facebook.presto.operator.exchange.LocalExchangeSinkOperator.LocalExch
 import com.facebook.presto.operator.exchange.LocalExchangeSourceOperator.LocalExchangeSourceOperatorFactory;
 import com.facebook.presto.operator.index.PageBuffer;
 import com.facebook.presto.operator.index.PageBufferOperator.PageBufferOperatorFactory;
+import com.facebook.presto.spi.ConnectorId;
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.ConnectorTableHandle;
 import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.TableHandle;
+import com.facebook.presto.spi.connector.ConnectorTransactionHandle;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spiller.GenericPartitioningSpillerFactory;
 import com.facebook.presto.spiller.PartitioningSpillerFactory;
@@ -40,7 +52,10 @@ import com.facebook.presto.spiller.SingleStreamSpillerFactory;
 import com.facebook.presto.sql.gen.JoinFilterFunctionCompiler.JoinFilterFunctionFactory;
 import com.facebook.presto.sql.planner.PartitioningProviderManager;
 import com.facebook.presto.testing.MaterializedResult;
+import com.facebook.presto.testing.PageConsumerOperator;
+import com.facebook.presto.testing.TestingSplit;
 import com.facebook.presto.testing.TestingTaskContext;
+import com.facebook.presto.testing.TestingTransactionHandle;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -79,6 +94,7 @@ import static com.facebook.presto.RowPagesBuilder.rowPagesBuilder;
 import static com.facebook.presto.SessionTestUtils.TEST_SESSION;
 import static com.facebook.presto.SystemSessionProperties.QUERY_MAX_MEMORY_PER_NODE;
 import static com.facebook.presto.SystemSessionProperties.getQueryMaxMemoryPerNode;
+import static com.facebook.presto.block.BlockAssertions.createLongSequenceBlock;
 import static com.facebook.presto.common.type.BigintType.BIGINT;
 import static com.facebook.presto.common.type.VarcharType.VARCHAR;
 import static com.facebook.presto.operator.OperatorAssertion.assertOperatorEquals;
@@ -103,6 +119,7 @@ import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
@@ -1451,6 +1468,69 @@ public class TestHashJoinOperator
         assertOperatorEquals(joinOperatorFactory, taskContext.addPipelineContext(0, true, true, false).addDriverContext(), probeInput, expected, true, getHashChannels(probePages, buildPages));
     }
 
+    @Test
+    public void testLazyProbeColumnLoadedForMatchedPositions()
+    {
+        TaskContext taskContext = createTaskContext();
+
+        // build factory
+        RowPagesBuilder buildPages = rowPagesBuilder(false, Ints.asList(0), ImmutableList.of(BIGINT, BIGINT))
+                .addSequencePage(10, 20, 30);
+        BuildSideSetup buildSideSetup = setupBuildSide(false, taskContext, Ints.asList(0), buildPages, Optional.empty(), false, SINGLE_STREAM_SPILLER_FACTORY);
+        JoinBridgeManager<PartitionedLookupSourceFactory> lookupSourceFactory = buildSideSetup.getLookupSourceFactoryManager();
+
+        // probe factory
+        RowPagesBuilder probePages = rowPagesBuilder(false, Ints.asList(0), ImmutableList.of(BIGINT, BIGINT));
+        OperatorFactory joinOperatorFactory = innerJoinOperatorFactory(lookupSourceFactory, probePages, PARTITIONING_SPILLER_FACTORY);
+
+        // build drivers and operators
+        instantiateBuildDrivers(buildSideSetup, taskContext);
+        buildLookupSource(buildSideSetup);
+
+        // the probe side is a table scan handing over its pages without loading them, the keys are 0 to 99
+        LazyProbePageSource pageSource = new LazyProbePageSource(100);
+        DriverContext driverContext = taskContext.addPipelineContext(0, true, true, false).addDriverContext();
+        PlanNodeId sourceId = new PlanNodeId("scan");
+        TableScanOperator scanOperator = new TableScanOperator(
+                driverContext.addOperatorContext(99, sourceId, "scan"),
+                sourceId,
+                (session, split, table, columns, runtimeStats) -> pageSource,
+                new TableHandle(new ConnectorId("test"), new ConnectorTableHandle() {}, new ConnectorTransactionHandle() {}, Optional.empty()),
+                ImmutableList.of(),
+                true);
+        List<Page> outputPages = new ArrayList<>();
+        Driver driver = Driver.createDriver(
+                driverContext,
+                scanOperator,
+                joinOperatorFactory.createOperator(driverContext),
+                new PageConsumerOperator(driverContext.addOperatorContext(100, new PlanNodeId("sink"), "sink"), outputPages::add, Function.identity()));
+        driver.updateSource(new TaskSource(sourceId, ImmutableSet.of(new ScheduledSplit(0, sourceId, new Split(new ConnectorId("test"), TestingTransactionHandle.create(), TestingSplit.createLocalSplit()))), true));
+        while (!driver.isFinished()) {
+            driver.process();
+        }
+
+        // only the probe rows matching the build side were decoded, and the stats did not load the others
+        assertEquals(pageSource.getLoadedPositions(), IntStream.range(20, 30).boxed().collect(toImmutableList()));
+        assertTrue(pageSource.isClosed());
+
+        MaterializedResult expected = MaterializedResult.resultBuilder(taskContext.getSession(), BIGINT, BIGINT, BIGINT, BIGINT)
+                .row(20L, 1020L, 20L, 30L)
+                .row(21L, 1021L, 21L, 31L)
+                .row(22L, 1022L, 22L, 32L)
+                .row(23L, 1023L, 23L, 33L)
+                .row(24L, 1024L, 24L, 34L)
+                .row(25L, 1025L, 25L, 35L)
+                .row(26L, 1026L, 26L, 36L)
+                .row(27L, 1027L, 27L, 37L)
+                .row(28L, 1028L, 28L, 38L)
+                .row(29L, 1029L, 29L, 39L)
+                .build();
+        MaterializedResult actual = MaterializedResult.resultBuilder(taskContext.getSession(), BIGINT, BIGINT, BIGINT, BIGINT)
+                .pages(outputPages)
+                .build();
+        assertEqualsIgnoreOrder(actual.getMaterializedRows(), expected.getMaterializedRows());
+    }
+
     @DataProvider
     public static Object[][] testMemoryLimitProvider()
     {
@@ -1851,4 +1931,97 @@ public class TestHashJoinOperator
             };
         }
     }
+
+    /**
+     * Returns a single page of keys and a lazy column of the keys plus 1000, which can only be loaded for some positions.
+     */
+    private static class LazyProbePageSource
+            implements ConnectorPageSource
+    {
+        private final int positionCount;
+        private final List<Integer> loadedPositions = new ArrayList<>();
+        private boolean pageReturned;
+        private boolean closed;
+
+        public LazyProbePageSource(int positionCount)
+        {
+            this.positionCount = positionCount;
+        }
+
+        public List<Integer> getLoadedPositions()
+        {
+            return loadedPositions;
+        }
+
+        public boolean isClosed()
+        {
+            return closed;
+        }
+
+        @Override
+        public long getCompletedBytes()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getCompletedPositions()
+        {
+            return pageReturned ? positionCount : 0;
+        }
+
+        @Override
+        public long getReadTimeNanos()
+        {
+            return 0;
+        }
+
+        @Override
+        public boolean isFinished()
+        {
+            return pageReturned;
+        }
+
+        @Override
+        public Page getNextPage()
+        {
+            if (pageReturned) {
+                return null;
+            }
+            pageReturned = true;
+            LazyBlock values = new LazyBlock(positionCount, new PositionsLazyBlockLoader<LazyBlock>()
+            {
+                @Override
+                public void load(LazyBlock block)
+                {
+                    fail("lazy probe column was loaded in full");
+                }
+
+                @Override
+                public Block loadPositions(int[] positions, int length)
+                {
+                    assertFalse(closed, "page source was closed before the lazy probe column was loaded");
+                    BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, length);
+                    for (int i = 0; i < length; i++) {
+                        loadedPositions.add(positions[i]);
+                        BIGINT.writeLong(blockBuilder, positions[i] + 1000);
+                    }
+                    return blockBuilder.build();
+                }
+            });
+            return new Page(createLongSequenceBlock(0, positionCount), values);
+        }
+
+        @Override
+        public long getSystemMemoryUsage()
+        {
+            return 0;
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.operator.exchange.LocalPartitionGenerator;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.facebook.presto.block.BlockAssertions.createDoublesBlock;
+import static com.facebook.presto.block.BlockAssertions.createIntsBlock;
+import static com.facebook.presto.block.BlockAssertions.createLongsBlock;
+import static com.facebook.presto.block.BlockAssertions.createRLEBlock;
+import static com.facebook.presto.block.BlockAssertions.createRandomDictionaryBlock;
+import static com.facebook.presto.block.BlockAssertions.createStringsBlock;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+
+public class TestInterpretedHashGenerator
+{
+    private static final List<Type> TYPES = ImmutableList.of(BIGINT, INTEGER, VARCHAR, DOUBLE);
+
+    @Test
+    public void testFlatBlocks()
+    {
+        assertBatchHashesMatch(new Page(
+                createLongsBlock(1L, null, 3L, -4L, 5L, 6L),
+                createIntsBlock(10, 20, null, 40, -50, 60),
+                createStringsBlock("a", "bb", null, "", "ccc", "a"),
+                createDoublesBlock(1.0, 2.0, 3.0, null, 5.0, 6.0)));
+    }
+
+    @Test
+    public void testDictionaryAndRunLengthEncodedBlocks()
+    {
+        assertBatchHashesMatch(new Page(
+                createRandomDictionaryBlock(createLongsBlock(1L, null, 3L), 100),
+                createRandomDictionaryBlock(createIntsBlock(7, null), 100),
+                createRLEBlock("value", 100),
+                createRLEBlock(1.5, 100)));
+
+        assertBatchHashesMatch(new Page(
+                createRLEBlock(42L, 10),
+                createRandomDictionaryBlock(createIntsBlock(7, 8, 9), 10),
+                createRandomDictionaryBlock(createStringsBlock("a", null), 10),
+                createRandomDictionaryBlock(createDoublesBlock(1.0, 2.0), 10)));
+
+        // a dictionary larger than the block is hashed per position
+        assertBatchHashesMatch(new Page(
+                createRandomDictionaryBlock(createLongsBlock(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), 4),
+                createIntsBlock(1, 2, 3, 4),
+                createRandomDictionaryBlock(createStringsBlock("a", "b", "c", "d", "e", null, "g"), 4),
+                createDoublesBlock(1.0, 2.0, 3.0, 4.0)));
+    }
+
+    @Test
+    public void testPartitions()
+    {
+        Page page = new Page(
+                createLongsBlock(1L, null, 3L, -4L, 5L, 6L, 7L, 8L),
+                createIntsBlock(10, 20, null, 40, -50, 60, 70, 80),
+                createStringsBlock("a", "bb", null, "", "ccc", "a", "d", "e"),
+                createDoublesBlock(1.0, 2.0, 3.0, null, 5.0, 6.0, 7.0, 8.0));
+        HashGenerator hashGenerator = InterpretedHashGenerator.createPositionalWithTypes(TYPES);
+
+        int[] partitions = new int[page.getPositionCount()];
+        hashGenerator.getPartitions(5, page, partitions);
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            assertEquals(partitions[position], hashGenerator.getPartition(5, position, page));
+        }
+
+        LocalPartitionGenerator partitionGenerator = new LocalPartitionGenerator(hashGenerator, 4);
+        partitionGenerator.getPartitions(page, partitions);
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            assertEquals(partitions[position], partitionGenerator.getPartition(page, position));
+        }
+    }
+
+    private static void assertBatchHashesMatch(Page page)
+    {
+        HashGenerator hashGenerator = InterpretedHashGenerator.createPositionalWithTypes(TYPES);
+        long[] hashes = new long[page.getPositionCount()];
+        hashGenerator.hashPositions(page, hashes);
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            assertEquals(hashes[position], hashGenerator.hashPosition(position, page), "position " + position);
+        }
+    }
+}
@@ -18,17 +18,22 @@ import com.facebook.presto.common.PageBuilder;
 import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.block.BlockBuilder;
 import com.facebook.presto.common.block.DictionaryBlock;
+import com.facebook.presto.common.block.LazyBlock;
+import com.facebook.presto.common.block.PositionsLazyBlockLoader;
 import com.facebook.presto.common.type.Type;
 import com.facebook.presto.operator.JoinProbe.JoinProbeFactory;
 import com.google.common.collect.ImmutableList;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.facebook.presto.common.type.BigintType.BIGINT;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 public class TestLookupJoinPageBuilder
@@ -155,6 +160,54 @@ public class TestLookupJoinPageBuilder
         }
     }
 
+    @Test
+    public void testLoadProbePositions()
+    {
+        int entries = 100;
+        BlockBuilder blockBuilder = BIGINT.createFixedSizeBlockBuilder(entries);
+        for (int i = 0; i < entries; i++) {
+            BIGINT.writeLong(blockBuilder, i);
+        }
+        Block block = blockBuilder.build();
+        JoinProbeFactory joinProbeFactory = new JoinProbeFactory(new int[] {0, 1}, ImmutableList.of(0), OptionalInt.empty());
+        LookupSource lookupSource = new TestLookupSource(ImmutableList.of(BIGINT), new Page(block));
+        LookupJoinPageBuilder lookupJoinPageBuilder = new LookupJoinPageBuilder(ImmutableList.of(BIGINT));
+
+        // only the matching positions of the lazy probe block are loaded
+        AtomicReference<int[]> loadedPositions = new AtomicReference<>();
+        JoinProbe probe = joinProbeFactory.createJoinProbe(new Page(block, new LazyBlock(entries, new TestingPositionsLoader(block, loadedPositions))));
+        for (int joinPosition = 0; probe.advanceNextPosition(); joinPosition++) {
+            if (joinPosition % 10 == 3) {
+                lookupJoinPageBuilder.appendRow(probe, lookupSource, joinPosition);
+            }
+        }
+        Page output = lookupJoinPageBuilder.build(probe, true);
+        assertEquals(loadedPositions.get(), new int[] {3, 13, 23, 33, 43, 53, 63, 73, 83, 93});
+        assertEquals(output.getPositionCount(), 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(output.getBlock(0).getLong(i), i * 10 + 3);
+            assertEquals(output.getBlock(1).getLong(i), i * 10 + 3);
+            assertEquals(output.getBlock(2).getLong(i), i * 10 + 3);
+        }
+        lookupJoinPageBuilder.reset();
+
+        // the whole lazy probe block is loaded when other pages may be built from the probe page
+        loadedPositions.set(null);
+        LazyBlock lazyBlock = new LazyBlock(entries, new TestingPositionsLoader(block, loadedPositions));
+        probe = joinProbeFactory.createJoinProbe(new Page(block, lazyBlock));
+        for (int joinPosition = 0; probe.advanceNextPosition(); joinPosition++) {
+            if (joinPosition % 10 == 3) {
+                lookupJoinPageBuilder.appendRow(probe, lookupSource, joinPosition);
+            }
+        }
+        output = lookupJoinPageBuilder.build(probe, false);
+        assertNull(loadedPositions.get());
+        assertTrue(lazyBlock.isLoaded());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(output.getBlock(1).getLong(i), i * 10 + 3);
+        }
+    }
+
     @Test
     public void testCrossJoinWithEmptyBuild()
     {
@@ -175,6 +228,32 @@ public class TestLookupJoinPageBuilder
         assertTrue(lookupJoinPageBuilder.isFull());
     }
 
+    private static class TestingPositionsLoader
+            implements PositionsLazyBlockLoader<LazyBlock>
+    {
+        private final Block block;
+        private final AtomicReference<int[]> loadedPositions;
+
+        public TestingPositionsLoader(Block block, AtomicReference<int[]> loadedPositions)
+        {
+            this.block = block;
+            this.loadedPositions = loadedPositions;
+        }
+
+        @Override
+        public void load(LazyBlock lazyBlock)
+        {
+            lazyBlock.setBlock(block);
+        }
+
+        @Override
+        public Block loadPositions(int[] positions, int length)
+        {
+            loadedPositions.set(Arrays.copyOf(positions, length));
+            return block.copyPositions(positions, 0, length);
+        }
+    }
+
     private final class TestLookupSource
             implements LookupSource
     {
@@ -1047,6 +1047,7 @@ public final class FunctionAssertions
                     ImmutableList.of(),
                     ImmutableList.of(projection.getType()),
                     Optional.empty(),
+                    Optional.empty(),
                     new DataSize(0, BYTE),
                     0);
         }
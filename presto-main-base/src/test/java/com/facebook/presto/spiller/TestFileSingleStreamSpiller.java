@@ -18,9 +18,12 @@ import com.facebook.presto.common.Page;
 import com.facebook.presto.common.block.BlockBuilder;
 import com.facebook.presto.common.block.BlockEncodingManager;
 import com.facebook.presto.common.type.Type;
+import com.facebook.presto.execution.buffer.PagesSerdeFactory;
 import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.operator.PageAssertions;
+import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.page.PageCodecMarker;
+import com.facebook.presto.spi.page.PagesSerde;
 import com.facebook.presto.spi.page.PagesSerdeUtil;
 import com.facebook.presto.spi.page.SerializedPage;
 import com.google.common.collect.ImmutableList;
@@ -34,6 +37,8 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
@@ -42,14 +47,22 @@ import static com.facebook.presto.common.type.BigintType.BIGINT;
 import static com.facebook.presto.common.type.DoubleType.DOUBLE;
 import static com.facebook.presto.common.type.VarbinaryType.VARBINARY;
 import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.spi.page.PagesSerdeUtil.readSerializedPage;
 import static com.google.common.io.MoreFiles.deleteRecursively;
 import static com.google.common.io.MoreFiles.listFiles;
 import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static java.lang.Double.doubleToLongBits;
 import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 
 public class TestFileSingleStreamSpiller
@@ -57,6 +70,7 @@ public class TestFileSingleStreamSpiller
     private static final List<Type> TYPES = ImmutableList.of(BIGINT, DOUBLE, VARBINARY);
 
     private final ListeningExecutorService executor = listeningDecorator(newCachedThreadPool());
+    private final ListeningExecutorService readExecutor = listeningDecorator(newCachedThreadPool());
     private final File tempDirectory = Files.createTempDir();
 
     @AfterClass(alwaysRun = true)
@@ -64,6 +78,7 @@ public class TestFileSingleStreamSpiller
             throws Exception
     {
         executor.shutdown();
+        readExecutor.shutdown();
         deleteRecursively(tempDirectory.toPath(), ALLOW_INSECURE);
     }
 
@@ -150,6 +165,237 @@ public class TestFileSingleStreamSpiller
         assertEquals(memoryContext.getBytes(), 0);
     }
 
+    @DataProvider(name = "prefetchPageCount")
+    public Object[][] createPrefetchPageCount()
+    {
+        return new Object[][] {{0}, {1}, {4}};
+    }
+
+    @Test(dataProvider = "prefetchPageCount")
+    public void testSpillWithPrefetchAndChecksum(int prefetchPageCount)
+            throws Exception
+    {
+        File spillPath = new File(tempDirectory, UUID.randomUUID().toString());
+        SpillerStats spillerStats = new SpillerStats();
+        FileSingleStreamSpillerFactory spillerFactory = new FileSingleStreamSpillerFactory(
+                executor, // executor won't be closed, because we don't call destroy() on the spiller factory
+                new BlockEncodingManager(),
+                spillerStats,
+                ImmutableList.of(spillPath.toPath()),
+                1.0,
+                CompressionCodec.ZSTD,
+                false,
+                readExecutor,
+                true,
+                prefetchPageCount,
+                false);
+        LocalMemoryContext memoryContext = newSimpleAggregatedMemoryContext().newLocalMemoryContext("test");
+        SingleStreamSpiller spiller = spillerFactory.create(TYPES, new TestingSpillContext(), memoryContext);
+
+        Page page = buildPage();
+        spiller.spill(Iterators.forArray(page, page, page)).get();
+        spiller.spill(Iterators.forArray(page, page)).get();
+        spiller.commit();
+
+        ImmutableList<Page> spilledPages = ImmutableList.copyOf(spiller.getSpilledPages());
+        assertEquals(spilledPages.size(), 5);
+        for (Page spilledPage : spilledPages) {
+            PageAssertions.assertPageEquals(TYPES, page, spilledPage);
+        }
+        assertTrue(spillerStats.getTotalSpillFileBytesRead() > 0);
+        assertEquals(spillerStats.getPrefetchHits() + spillerStats.getPrefetchMisses(), prefetchPageCount == 0 ? 0 : 5);
+
+        spiller.close();
+        assertEquals(listFiles(spillPath.toPath()).size(), 0);
+    }
+
+    @Test(dataProvider = "prefetchPageCount")
+    public void testSpillWithMemoryMappedReads(int prefetchPageCount)
+            throws Exception
+    {
+        File spillPath = new File(tempDirectory, UUID.randomUUID().toString());
+        SpillerStats spillerStats = new SpillerStats();
+        FileSingleStreamSpillerFactory spillerFactory = new FileSingleStreamSpillerFactory(
+                executor, // executor won't be closed, because we don't call destroy() on the spiller factory
+                new BlockEncodingManager(),
+                spillerStats,
+                ImmutableList.of(spillPath.toPath()),
+                1.0,
+                CompressionCodec.NONE,
+                false,
+                readExecutor,
+                false,
+                prefetchPageCount,
+                true);
+        SingleStreamSpiller spiller = spillerFactory.create(TYPES, new TestingSpillContext(), newSimpleAggregatedMemoryContext().newLocalMemoryContext("test"));
+
+        Page page = buildPage();
+        spiller.spill(Iterators.forArray(page, page, page)).get();
+        spiller.commit();
+
+        ImmutableList<Page> spilledPages = ImmutableList.copyOf(spiller.getSpilledPages());
+        assertEquals(spilledPages.size(), 3);
+        for (Page spilledPage : spilledPages) {
+            PageAssertions.assertPageEquals(TYPES, page, spilledPage);
+        }
+        assertTrue(spillerStats.getTotalSpillFileBytesRead() > 0);
+
+        spiller.close();
+        assertEquals(listFiles(spillPath.toPath()).size(), 0);
+
+        // the unspilled pages are still read after the spiller is closed, e.g. as the lookup source of a join
+        for (Page spilledPage : spilledPages) {
+            PageAssertions.assertPageEquals(TYPES, page, spilledPage);
+        }
+    }
+
+    @Test
+    public void testMappedSpillFileSegments()
+            throws Exception
+    {
+        File spillPath = new File(tempDirectory, UUID.randomUUID().toString());
+        FileSingleStreamSpillerFactory spillerFactory = new FileSingleStreamSpillerFactory(
+                executor, // executor won't be closed, because we don't call destroy() on the spiller factory
+                new BlockEncodingManager(),
+                new SpillerStats(),
+                ImmutableList.of(spillPath.toPath()),
+                1.0,
+                CompressionCodec.NONE,
+                false);
+        SingleStreamSpiller spiller = spillerFactory.create(TYPES, new TestingSpillContext(), newSimpleAggregatedMemoryContext().newLocalMemoryContext("test"));
+        try {
+            Page page = buildPage();
+            spiller.spill(Iterators.forArray(page, page, page, page, page)).get();
+            spiller.commit();
+
+            PagesSerde serde = new PagesSerdeFactory(new BlockEncodingManager(), CompressionCodec.NONE).createPagesSerde();
+            try (FileChannel channel = FileChannel.open(listFiles(spillPath.toPath()).get(0), READ)) {
+                SpillFileFooter footer = SpillFileFooter.readFrom(channel);
+                assertEquals(footer.getPageCount(), 5);
+
+                // two pages fit in a segment
+                MappedSpillFile mappedFile = new MappedSpillFile(channel, footer, 2L * footer.getPageLength(0));
+                assertEquals(mappedFile.getSegmentCount(), 3);
+                for (int i = 4; i >= 0; i--) {
+                    assertEquals(mappedFile.getPage(i).length(), footer.getPageLength(i));
+                    PageAssertions.assertPageEquals(TYPES, page, serde.deserialize(readSerializedPage(mappedFile.getPage(i).getInput())));
+                }
+                Page mappedPage = serde.deserialize(readSerializedPage(mappedFile.getPage(0).getInput()));
+                mappedFile.close();
+                assertThrows(IllegalStateException.class, () -> mappedFile.getPage(0));
+                // the segment of a page still referenced stays mapped
+                PageAssertions.assertPageEquals(TYPES, page, mappedPage);
+
+                // a page larger than the segment size is mapped on its own
+                MappedSpillFile pagePerSegmentFile = new MappedSpillFile(channel, footer, 1);
+                assertEquals(pagePerSegmentFile.getSegmentCount(), 5);
+                PageAssertions.assertPageEquals(TYPES, page, serde.deserialize(readSerializedPage(pagePerSegmentFile.getPage(2).getInput())));
+                pagePerSegmentFile.close();
+            }
+        }
+        finally {
+            spiller.close();
+        }
+    }
+
+    @Test
+    public void testPrefetchedPagesMemory()
+            throws Exception
+    {
+        File spillPath = new File(tempDirectory, UUID.randomUUID().toString());
+        FileSingleStreamSpillerFactory spillerFactory = new FileSingleStreamSpillerFactory(
+                executor, // executor won't be closed, because we don't call destroy() on the spiller factory
+                new BlockEncodingManager(),
+                new SpillerStats(),
+                ImmutableList.of(spillPath.toPath()),
+                1.0,
+                CompressionCodec.NONE,
+                false,
+                newDirectExecutorService(),
+                false,
+                4,
+                false);
+        LocalMemoryContext memoryContext = newSimpleAggregatedMemoryContext().newLocalMemoryContext("test");
+        SingleStreamSpiller spiller = spillerFactory.create(TYPES, new TestingSpillContext(), memoryContext);
+
+        Page page = buildPage();
+        spiller.spill(Iterators.forArray(page, page, page, page, page)).get();
+
+        Iterator<Page> spilledPages = spiller.getSpilledPages();
+        Page spilledPage = spilledPages.next();
+        // the next four pages are read ahead on the direct executor
+        assertEquals(memoryContext.getBytes(), FileSingleStreamSpiller.BUFFER_SIZE + 4 * spilledPage.getRetainedSizeInBytes());
+        assertEquals(Iterators.size(spilledPages), 4);
+        assertEquals(memoryContext.getBytes(), FileSingleStreamSpiller.BUFFER_SIZE);
+
+        spiller.close();
+        assertEquals(memoryContext.getBytes(), 0);
+    }
+
+    @Test
+    public void testGetAllSpilledPagesWithSingleThread()
+            throws Exception
+    {
+        File spillPath = new File(tempDirectory, UUID.randomUUID().toString());
+        ListeningExecutorService singleThreadExecutor = listeningDecorator(newSingleThreadExecutor());
+        try {
+            FileSingleStreamSpillerFactory spillerFactory = new FileSingleStreamSpillerFactory(
+                    singleThreadExecutor,
+                    new BlockEncodingManager(),
+                    new SpillerStats(),
+                    ImmutableList.of(spillPath.toPath()),
+                    1.0,
+                    CompressionCodec.NONE,
+                    false);
+            SingleStreamSpiller spiller = spillerFactory.create(TYPES, new TestingSpillContext(), newSimpleAggregatedMemoryContext().newLocalMemoryContext("test"));
+
+            Page page = buildPage();
+            spiller.spill(Iterators.forArray(page, page, page)).get();
+            // the pages are read ahead on the read executor, while the spill executor waits for them
+            assertEquals(spiller.getAllSpilledPages().get(10, SECONDS).size(), 3);
+            spiller.close();
+            spillerFactory.destroy();
+        }
+        finally {
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+
+    @Test(expectedExceptions = PrestoException.class, expectedExceptionsMessageRegExp = "Checksum mismatch reading page 0 of spill file")
+    public void testCorruptedSpillFile()
+            throws Exception
+    {
+        File spillPath = new File(tempDirectory, UUID.randomUUID().toString());
+        FileSingleStreamSpillerFactory spillerFactory = new FileSingleStreamSpillerFactory(
+                executor, // executor won't be closed, because we don't call destroy() on the spiller factory
+                new BlockEncodingManager(),
+                new SpillerStats(),
+                ImmutableList.of(spillPath.toPath()),
+                1.0,
+                CompressionCodec.NONE,
+                false,
+                readExecutor,
+                true,
+                1,
+                false);
+        SingleStreamSpiller spiller = spillerFactory.create(TYPES, new TestingSpillContext(), newSimpleAggregatedMemoryContext().newLocalMemoryContext("test"));
+        try {
+            spiller.spill(buildPage()).get();
+            spiller.commit();
+
+            // flip the last byte of the first page's data, right after the 21 byte serialized page header
+            Path spillFile = listFiles(spillPath.toPath()).get(0);
+            byte[] bytes = readAllBytes(spillFile);
+            bytes[21] ^= 1;
+            write(spillFile, bytes);
+
+            ImmutableList.copyOf(spiller.getSpilledPages());
+        }
+        finally {
+            spiller.close();
+        }
+    }
+
     private Page buildPage()
     {
         BlockBuilder col1 = BIGINT.createBlockBuilder(null, 1);
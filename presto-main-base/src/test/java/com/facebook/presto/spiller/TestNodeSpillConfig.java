@@ -38,6 +38,9 @@ public class TestNodeSpillConfig
                 .setQueryMaxSpillPerNode(new DataSize(100, GIGABYTE))
                 .setSpillCompressionCodec(CompressionCodec.NONE)
                 .setSpillEncryptionEnabled(false)
+                .setSpillChecksumEnabled(false)
+                .setSpillPrefetchPageCount(2)
+                .setSpillMemoryMappedReadsEnabled(false)
                 .setTempStorageBufferSize(new DataSize(4, KILOBYTE)));
     }
 
@@ -50,6 +53,9 @@ public class TestNodeSpillConfig
                 .put("experimental.query-max-spill-per-node", "15 MB")
                 .put("experimental.spill-compression-codec", "LZ4")
                 .put("experimental.spill-encryption-enabled", "true")
+                .put("experimental.spill-checksum-enabled", "true")
+                .put("experimental.spill-prefetch-page-count", "4")
+                .put("experimental.spill-memory-mapped-reads-enabled", "true")
                 .put("experimental.temp-storage-buffer-size", "24MB")
                 .build();
 
@@ -59,6 +65,9 @@ public class TestNodeSpillConfig
                 .setQueryMaxSpillPerNode(new DataSize(15, MEGABYTE))
                 .setSpillCompressionCodec(CompressionCodec.LZ4)
                 .setSpillEncryptionEnabled(true)
+                .setSpillChecksumEnabled(true)
+                .setSpillPrefetchPageCount(4)
+                .setSpillMemoryMappedReadsEnabled(true)
                 .setTempStorageBufferSize(new DataSize(24, MEGABYTE));
 
         assertFullMapping(properties, expected);
@@ -13,27 +13,47 @@
  */
 package com.facebook.presto.operator;
 
+import com.facebook.presto.execution.TaskManager;
+import com.facebook.presto.metadata.InternalNodeManager;
+import com.facebook.presto.server.ForAsyncRpc;
 import com.facebook.presto.spi.PrestoException;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 
 import java.net.URI;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
+import static java.util.Objects.requireNonNull;
 
 public class HttpAndThriftRpcShuffleClientProvider
         implements RpcShuffleClientProvider
 {
     private final HttpShuffleClientProvider httpShuffleClientProvider;
     private final ThriftShuffleClientProvider thriftShuffleClientProvider;
+    private final boolean inProcessTransportEnabled;
+    private final InternalNodeManager nodeManager;
+    private final Provider<TaskManager> taskManager;
+    private final ScheduledExecutorService timeoutExecutor;
 
     @Inject
     public HttpAndThriftRpcShuffleClientProvider(
             @ForExchange HttpShuffleClientProvider httpShuffleClientProvider,
-            @ForExchange ThriftShuffleClientProvider thriftShuffleClientProvider)
+            @ForExchange ThriftShuffleClientProvider thriftShuffleClientProvider,
+            ExchangeClientConfig exchangeClientConfig,
+            InternalNodeManager nodeManager,
+            // the task manager is looked up lazily since it depends on the exchange client through the local execution planner
+            Provider<TaskManager> taskManager,
+            @ForAsyncRpc ScheduledExecutorService timeoutExecutor)
     {
         this.httpShuffleClientProvider = httpShuffleClientProvider;
         this.thriftShuffleClientProvider = thriftShuffleClientProvider;
+        this.inProcessTransportEnabled = requireNonNull(exchangeClientConfig, "exchangeClientConfig is null").isInProcessTransportEnabled();
+        this.nodeManager = requireNonNull(nodeManager, "nodeManager is null");
+        this.taskManager = requireNonNull(taskManager, "taskManager is null");
+        this.timeoutExecutor = requireNonNull(timeoutExecutor, "timeoutExecutor is null");
     }
 
     @Override
@@ -42,6 +62,9 @@ public class HttpAndThriftRpcShuffleClientProvider
         switch (location.getScheme().toLowerCase(Locale.getDefault())) {
             case "https":
             case "http":
+                if (inProcessTransportEnabled && isLocal(location)) {
+                    return new LocalRpcShuffleClient(taskManager.get(), timeoutExecutor, location);
+                }
                 return httpShuffleClientProvider.get(location);
             case "thrift":
                 return thriftShuffleClientProvider.get(location);
@@ -49,4 +72,11 @@ public class HttpAndThriftRpcShuffleClientProvider
                 throw new PrestoException(GENERIC_INTERNAL_ERROR, "unsupported task result client scheme " + location.getScheme());
         }
     }
+
+    private boolean isLocal(URI location)
+    {
+        URI currentNodeUri = nodeManager.getCurrentNode().getInternalUri();
+        return location.getScheme().equalsIgnoreCase(currentNodeUri.getScheme())
+                && Objects.equals(location.getAuthority(), currentNodeUri.getAuthority());
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.TaskManager;
+import com.facebook.presto.execution.buffer.BufferInfo;
+import com.facebook.presto.execution.buffer.BufferResult;
+import com.facebook.presto.execution.buffer.OutputBuffers.OutputBufferId;
+import com.facebook.presto.execution.buffer.PageBufferInfo;
+import com.facebook.presto.operator.PageBufferClient.PagesResponse;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.errorprone.annotations.ThreadSafe;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.facebook.airlift.concurrent.MoreFutures.addTimeout;
+import static com.facebook.presto.operator.PageBufferClient.PagesResponse.createPagesResponse;
+import static com.facebook.presto.util.TaskUtils.DEFAULT_MAX_WAIT_TIME;
+import static com.facebook.presto.util.TaskUtils.randomizeWaitTime;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the results of a task running in this process straight from its output buffer.
+ * The serialized pages are handed over by reference, so there is no HTTP framing and no copy.
+ */
+@ThreadSafe
+public final class LocalRpcShuffleClient
+        implements RpcShuffleClient
+{
+    private final TaskManager taskManager;
+    private final ScheduledExecutorService timeoutExecutor;
+    private final TaskId taskId;
+    private final OutputBufferId outputBufferId;
+
+    public LocalRpcShuffleClient(TaskManager taskManager, ScheduledExecutorService timeoutExecutor, URI location)
+    {
+        this.taskManager = requireNonNull(taskManager, "taskManager is null");
+        this.timeoutExecutor = requireNonNull(timeoutExecutor, "timeoutExecutor is null");
+        requireNonNull(location, "location is null");
+
+        // location format: {task location}/results/{bufferId}, as built by the stage for its remote sources,
+        // so the ids are found from the end of the path whatever the prefix of the task location is
+        List<String> segments = Splitter.on('/').omitEmptyStrings().splitToList(location.getPath());
+        int segmentCount = segments.size();
+        checkArgument(segmentCount >= 3 && segments.get(segmentCount - 2).equals("results"), "Invalid task results location: %s", location);
+        this.taskId = TaskId.valueOf(segments.get(segmentCount - 3));
+        this.outputBufferId = OutputBufferId.fromString(segments.get(segmentCount - 1));
+    }
+
+    @VisibleForTesting
+    TaskId getTaskId()
+    {
+        return taskId;
+    }
+
+    @VisibleForTesting
+    OutputBufferId getOutputBufferId()
+    {
+        return outputBufferId;
+    }
+
+    @Override
+    public ListenableFuture<PagesResponse> getResults(long token, DataSize maxResponseSize)
+    {
+        // like the remote endpoints, return an empty response if no data arrives in time so the client can make progress
+        ListenableFuture<BufferResult> bufferResultFuture = addTimeout(
+                taskManager.getTaskResults(taskId, outputBufferId, token, maxResponseSize.toBytes()),
+                () -> BufferResult.emptyResults(taskManager.getTaskInstanceId(taskId), token, getBufferedBytes(), false),
+                randomizeWaitTime(DEFAULT_MAX_WAIT_TIME),
+                timeoutExecutor);
+        return Futures.transform(
+                bufferResultFuture,
+                result -> createPagesResponse(
+                        result.getTaskInstanceId(),
+                        result.getToken(),
+                        result.getNextToken(),
+                        result.getSerializedPages(),
+                        result.isBufferComplete()),
+                directExecutor());
+    }
+
+    @Override
+    public void acknowledgeResultsAsync(long nextToken)
+    {
+        taskManager.acknowledgeTaskResults(taskId, outputBufferId, nextToken);
+    }
+
+    @Override
+    public ListenableFuture<?> abortResults()
+    {
+        taskManager.abortTaskResults(taskId, outputBufferId);
+        return immediateFuture(null);
+    }
+
+    @Override
+    public Throwable rewriteException(Throwable throwable)
+    {
+        return throwable;
+    }
+
+    private long getBufferedBytes()
+    {
+        return taskManager.getOutputBufferInfo(taskId).getBuffers().stream()
+                .filter(info -> info.getBufferId().equals(outputBufferId))
+                .map(BufferInfo::getPageBufferInfo)
+                .map(PageBufferInfo::getBufferedBytes)
+                .findFirst()
+                .orElse(0L);
+    }
+}
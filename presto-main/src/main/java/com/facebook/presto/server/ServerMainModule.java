@@ -78,6 +78,7 @@ import com.facebook.presto.execution.TaskThresholdMemoryRevokingScheduler;
 import com.facebook.presto.execution.buffer.SpoolingOutputBufferFactory;
 import com.facebook.presto.execution.executor.MultilevelSplitQueue;
 import com.facebook.presto.execution.executor.TaskExecutor;
+import com.facebook.presto.execution.executor.WorkStealingMultilevelSplitQueue;
 import com.facebook.presto.execution.scheduler.FlatNetworkTopology;
 import com.facebook.presto.execution.scheduler.LegacyNetworkTopology;
 import com.facebook.presto.execution.scheduler.NetworkTopology;
@@ -575,7 +576,12 @@ public class ServerMainModule
         newExporter(binder).export(TaskManager.class).withGeneratedName();
         binder.bind(TaskExecutor.class).in(Scopes.SINGLETON);
         newExporter(binder).export(TaskExecutor.class).withGeneratedName();
-        binder.bind(MultilevelSplitQueue.class).in(Scopes.SINGLETON);
+        if (buildConfigObject(TaskManagerConfig.class).isWorkStealingSplitQueueEnabled()) {
+            binder.bind(MultilevelSplitQueue.class).to(WorkStealingMultilevelSplitQueue.class).in(Scopes.SINGLETON);
+        }
+        else {
+            binder.bind(MultilevelSplitQueue.class).in(Scopes.SINGLETON);
+        }
         newExporter(binder).export(MultilevelSplitQueue.class).withGeneratedName();
         binder.bind(LocalExecutionPlanner.class).in(Scopes.SINGLETON);
         configBinder(binder).bindConfig(FileFragmentResultCacheConfig.class);
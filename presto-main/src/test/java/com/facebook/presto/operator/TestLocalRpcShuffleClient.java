@@ -0,0 +1,293 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.airlift.http.client.testing.TestingHttpClient;
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.Session;
+import com.facebook.presto.common.Page;
+import com.facebook.presto.execution.StateMachine.StateChangeListener;
+import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.TaskInfo;
+import com.facebook.presto.execution.TaskManager;
+import com.facebook.presto.execution.TaskSource;
+import com.facebook.presto.execution.TaskState;
+import com.facebook.presto.execution.TaskStatus;
+import com.facebook.presto.execution.buffer.BufferInfo;
+import com.facebook.presto.execution.buffer.BufferResult;
+import com.facebook.presto.execution.buffer.BufferState;
+import com.facebook.presto.execution.buffer.OutputBufferInfo;
+import com.facebook.presto.execution.buffer.OutputBuffers;
+import com.facebook.presto.execution.buffer.OutputBuffers.OutputBufferId;
+import com.facebook.presto.execution.buffer.PageBufferInfo;
+import com.facebook.presto.execution.scheduler.TableWriteInfo;
+import com.facebook.presto.memory.MemoryPoolAssignmentsRequest;
+import com.facebook.presto.metadata.InMemoryNodeManager;
+import com.facebook.presto.operator.PageBufferClient.PagesResponse;
+import com.facebook.presto.spi.page.SerializedPage;
+import com.facebook.presto.sql.planner.PlanFragment;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.facebook.airlift.concurrent.Threads.daemonThreadsNamed;
+import static com.facebook.airlift.testing.Assertions.assertInstanceOf;
+import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.block.BlockAssertions.createLongSequenceBlock;
+import static com.facebook.presto.execution.buffer.TestingPagesSerdeFactory.testingPagesSerde;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestLocalRpcShuffleClient
+{
+    private static final TaskId TASK_ID = TaskId.valueOf("query.1.0.2.0");
+    private static final OutputBufferId BUFFER_ID = new OutputBufferId(3);
+    private static final URI CURRENT_NODE_URI = URI.create("http://10.0.0.1:8080");
+
+    private final ScheduledExecutorService timeoutExecutor = newScheduledThreadPool(1, daemonThreadsNamed("test-local-rpc-shuffle-client-%s"));
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        timeoutExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testParseLocation()
+    {
+        LocalRpcShuffleClient client = new LocalRpcShuffleClient(new TestingTaskManager(), timeoutExecutor, URI.create("http://10.0.0.1:8080/v1/task/query.1.0.2.0/results/3"));
+        assertEquals(client.getTaskId(), TASK_ID);
+        assertEquals(client.getOutputBufferId(), BUFFER_ID);
+
+        // the ids are taken relative to the results segment, whatever the prefix of the task location
+        client = new LocalRpcShuffleClient(new TestingTaskManager(), timeoutExecutor, URI.create("https://10.0.0.1:8443/presto/v1/task/query.1.0.2.0/results/3/"));
+        assertEquals(client.getTaskId(), TASK_ID);
+        assertEquals(client.getOutputBufferId(), BUFFER_ID);
+
+        assertThrows(IllegalArgumentException.class, () -> new LocalRpcShuffleClient(new TestingTaskManager(), timeoutExecutor, URI.create("http://10.0.0.1:8080/v1/task/query.1.0.2.0")));
+        assertThrows(IllegalArgumentException.class, () -> new LocalRpcShuffleClient(new TestingTaskManager(), timeoutExecutor, URI.create("http://10.0.0.1:8080/results/3")));
+    }
+
+    @Test
+    public void testReadPages()
+            throws Exception
+    {
+        TestingTaskManager taskManager = new TestingTaskManager();
+        LocalRpcShuffleClient client = new LocalRpcShuffleClient(taskManager, timeoutExecutor, URI.create("http://10.0.0.1:8080/v1/task/query.1.0.2.0/results/3"));
+
+        ListenableFuture<PagesResponse> response = client.getResults(5, new DataSize(1, MEGABYTE));
+        assertFalse(response.isDone());
+        assertEquals(taskManager.requestedTokens, ImmutableList.of(5L));
+
+        SerializedPage page = testingPagesSerde().serialize(new Page(createLongSequenceBlock(0, 10)));
+        taskManager.results.set(new BufferResult("instance", 5, 7, true, 0, ImmutableList.of(page, page)));
+        PagesResponse pagesResponse = response.get(10, SECONDS);
+        assertEquals(pagesResponse.getTaskInstanceId(), "instance");
+        assertEquals(pagesResponse.getToken(), 5);
+        assertEquals(pagesResponse.getNextToken(), 7);
+        assertTrue(pagesResponse.isClientComplete());
+        // the pages of the output buffer are handed over as they are
+        assertEquals(pagesResponse.getPages().size(), 2);
+        assertSame(pagesResponse.getPages().get(0), page);
+
+        client.acknowledgeResultsAsync(7);
+        assertEquals(taskManager.acknowledgedTokens, ImmutableList.of(7L));
+        assertTrue(client.abortResults().isDone());
+        assertTrue(taskManager.aborted);
+    }
+
+    @Test
+    public void testResultsTimeout()
+            throws Exception
+    {
+        TestingTaskManager taskManager = new TestingTaskManager();
+        LocalRpcShuffleClient client = new LocalRpcShuffleClient(taskManager, timeoutExecutor, URI.create("http://10.0.0.1:8080/v1/task/query.1.0.2.0/results/3"));
+
+        // no data arrives, so an empty response is returned once the long poll times out
+        PagesResponse pagesResponse = client.getResults(5, new DataSize(1, MEGABYTE)).get(10, SECONDS);
+        assertEquals(pagesResponse.getTaskInstanceId(), "instance");
+        assertEquals(pagesResponse.getToken(), 5);
+        assertEquals(pagesResponse.getNextToken(), 5);
+        assertFalse(pagesResponse.isClientComplete());
+        assertEquals(pagesResponse.getPages().size(), 0);
+    }
+
+    @Test
+    public void testRouting()
+    {
+        TestingTaskManager taskManager = new TestingTaskManager();
+        HttpAndThriftRpcShuffleClientProvider provider = createProvider(taskManager, true);
+        assertInstanceOf(provider.get(URI.create("http://10.0.0.1:8080/v1/task/query.1.0.2.0/results/3")), LocalRpcShuffleClient.class);
+        assertInstanceOf(provider.get(URI.create("HTTP://10.0.0.1:8080/v1/task/query.1.0.2.0/results/3")), LocalRpcShuffleClient.class);
+        // other nodes, and other servers of this node, are read through the network
+        assertInstanceOf(provider.get(URI.create("http://10.0.0.2:8080/v1/task/query.1.0.2.0/results/3")), HttpRpcShuffleClient.class);
+        assertInstanceOf(provider.get(URI.create("http://10.0.0.1:8081/v1/task/query.1.0.2.0/results/3")), HttpRpcShuffleClient.class);
+        assertInstanceOf(provider.get(URI.create("https://10.0.0.1:8080/v1/task/query.1.0.2.0/results/3")), HttpRpcShuffleClient.class);
+        assertInstanceOf(provider.get(URI.create("thrift://10.0.0.1:8080/v1/task/query.1.0.2.0/results/3")), ThriftRpcShuffleClient.class);
+
+        provider = createProvider(taskManager, false);
+        assertInstanceOf(provider.get(URI.create("http://10.0.0.1:8080/v1/task/query.1.0.2.0/results/3")), HttpRpcShuffleClient.class);
+    }
+
+    private HttpAndThriftRpcShuffleClientProvider createProvider(TaskManager taskManager, boolean inProcessTransportEnabled)
+    {
+        return new HttpAndThriftRpcShuffleClientProvider(
+                new HttpShuffleClientProvider(new TestingHttpClient(request -> {
+                    throw new UnsupportedOperationException();
+                })),
+                // the thrift client is only looked up, and never called
+                new ThriftShuffleClientProvider((addressSelectionContext, headers) -> null),
+                new ExchangeClientConfig().setInProcessTransportEnabled(inProcessTransportEnabled),
+                new InMemoryNodeManager(CURRENT_NODE_URI),
+                () -> taskManager,
+                timeoutExecutor);
+    }
+
+    private static class TestingTaskManager
+            implements TaskManager
+    {
+        private final SettableFuture<BufferResult> results = SettableFuture.create();
+        private final List<Long> requestedTokens = new ArrayList<>();
+        private final List<Long> acknowledgedTokens = new ArrayList<>();
+        private boolean aborted;
+
+        @Override
+        public String getTaskInstanceId(TaskId taskId)
+        {
+            assertEquals(taskId, TASK_ID);
+            return "instance";
+        }
+
+        @Override
+        public ListenableFuture<BufferResult> getTaskResults(TaskId taskId, OutputBufferId bufferId, long startingSequenceId, long maxSizeInBytes)
+        {
+            assertEquals(taskId, TASK_ID);
+            assertEquals(bufferId, BUFFER_ID);
+            requestedTokens.add(startingSequenceId);
+            return results;
+        }
+
+        @Override
+        public OutputBufferInfo getOutputBufferInfo(TaskId taskId)
+        {
+            assertEquals(taskId, TASK_ID);
+            return new OutputBufferInfo(
+                    "PARTITIONED",
+                    BufferState.NO_MORE_BUFFERS,
+                    false,
+                    true,
+                    0,
+                    0,
+                    0,
+                    0,
+                    ImmutableList.of(new BufferInfo(BUFFER_ID, false, 0, 0, new PageBufferInfo(3, 0, 0, 0, 0))));
+        }
+
+        @Override
+        public void acknowledgeTaskResults(TaskId taskId, OutputBufferId bufferId, long sequenceId)
+        {
+            assertEquals(taskId, TASK_ID);
+            assertEquals(bufferId, BUFFER_ID);
+            acknowledgedTokens.add(sequenceId);
+        }
+
+        @Override
+        public TaskInfo abortTaskResults(TaskId taskId, OutputBufferId bufferId)
+        {
+            assertEquals(taskId, TASK_ID);
+            assertEquals(bufferId, BUFFER_ID);
+            aborted = true;
+            return null;
+        }
+
+        @Override
+        public List<TaskInfo> getAllTaskInfo()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskInfo getTaskInfo(TaskId taskId)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskStatus getTaskStatus(TaskId taskId)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ListenableFuture<TaskInfo> getTaskInfo(TaskId taskId, TaskState currentState)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ListenableFuture<TaskStatus> getTaskStatus(TaskId taskId, TaskState currentState)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateMemoryPoolAssignments(MemoryPoolAssignmentsRequest assignments)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskInfo updateTask(Session session, TaskId taskId, Optional<PlanFragment> fragment, List<TaskSource> sources, OutputBuffers outputBuffers, Optional<TableWriteInfo> tableWriteInfo)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskInfo cancelTask(TaskId taskId)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskInfo abortTask(TaskId taskId)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addStateChangeListener(TaskId taskId, StateChangeListener<TaskState> stateChangeListener)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeRemoteSource(TaskId taskId, TaskId remoteSourceTaskId)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc;
+
+import com.facebook.presto.orc.StripeReader.StripeStreamId;
+import com.facebook.presto.orc.stream.DecompressedStream;
+import com.google.common.cache.Cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the decompressed data streams of stripes across the queries of a worker, so repeated
+ * reads of the same stripes skip both reading and decompressing these streams.
+ */
+public class DecompressedStreamCache
+{
+    private final Cache<StripeStreamId, CacheableDecompressedStream> cache;
+    private final AtomicLong readBytesSaved = new AtomicLong();
+    private final AtomicLong decompressedBytesSaved = new AtomicLong();
+
+    public DecompressedStreamCache(Cache<StripeStreamId, CacheableDecompressedStream> cache)
+    {
+        this.cache = requireNonNull(cache, "cache is null");
+    }
+
+    public Optional<DecompressedStream> get(StripeStreamId stripeStreamId, long fileModificationTime)
+    {
+        CacheableDecompressedStream cachedStream = cache.getIfPresent(stripeStreamId);
+        if (cachedStream == null) {
+            return Optional.empty();
+        }
+        if (cachedStream.getFileModificationTime() != fileModificationTime) {
+            cache.invalidate(stripeStreamId);
+            // This get call is to increment the miss count for invalidated entries so the stats are recorded correctly.
+            cache.getIfPresent(stripeStreamId);
+            return Optional.empty();
+        }
+        DecompressedStream stream = cachedStream.getStream();
+        readBytesSaved.addAndGet(stream.getCompressedSize());
+        decompressedBytesSaved.addAndGet(stream.getData().length);
+        return Optional.of(stream);
+    }
+
+    public void put(StripeStreamId stripeStreamId, DecompressedStream stream, long fileModificationTime)
+    {
+        cache.put(stripeStreamId, new CacheableDecompressedStream(stream, fileModificationTime));
+    }
+
+    public Cache<StripeStreamId, CacheableDecompressedStream> getCache()
+    {
+        return cache;
+    }
+
+    /**
+     * Returns the number of compressed bytes that were not read from storage because of cache hits.
+     */
+    public long getReadBytesSaved()
+    {
+        return readBytesSaved.get();
+    }
+
+    /**
+     * Returns the number of bytes that were not decompressed because of cache hits.
+     */
+    public long getDecompressedBytesSaved()
+    {
+        return decompressedBytesSaved.get();
+    }
+
+    public static class CacheableDecompressedStream
+    {
+        private final DecompressedStream stream;
+        private final long fileModificationTime;
+
+        public CacheableDecompressedStream(DecompressedStream stream, long fileModificationTime)
+        {
+            this.stream = requireNonNull(stream, "stream is null");
+            this.fileModificationTime = fileModificationTime;
+        }
+
+        public DecompressedStream getStream()
+        {
+            return stream;
+        }
+
+        public long getFileModificationTime()
+        {
+            return fileModificationTime;
+        }
+    }
+}
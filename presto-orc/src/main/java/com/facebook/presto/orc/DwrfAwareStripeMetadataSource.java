@@ -112,4 +112,10 @@ public class DwrfAwareStripeMetadataSource
     {
         return delegate.getRowIndexes(metadataReader, hiveWriterVersion, stripeId, streamId, inputStream, bloomFilters, runtimeStats, fileModificationTime);
     }
+
+    @Override
+    public Optional<DecompressedStreamCache> getDecompressedStreamCache()
+    {
+        return delegate.getDecompressedStreamCache();
+    }
 }
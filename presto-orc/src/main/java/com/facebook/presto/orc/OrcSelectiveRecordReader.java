@@ -19,8 +19,8 @@ import com.facebook.presto.common.Subfield;
 import com.facebook.presto.common.block.Block;
 import com.facebook.presto.common.block.BlockLease;
 import com.facebook.presto.common.block.LazyBlock;
-import com.facebook.presto.common.block.LazyBlockLoader;
 import com.facebook.presto.common.block.LongArrayBlock;
+import com.facebook.presto.common.block.PositionsLazyBlockLoader;
 import com.facebook.presto.common.block.RunLengthEncodedBlock;
 import com.facebook.presto.common.predicate.FilterFunction;
 import com.facebook.presto.common.predicate.TupleDomainFilter;
@@ -78,6 +78,7 @@ import static com.facebook.presto.orc.OrcReader.MAX_BATCH_SIZE;
 import static com.facebook.presto.orc.StreamDescriptorFactory.createStreamDescriptor;
 import static com.facebook.presto.orc.reader.SelectiveStreamReaders.createStreamReader;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Predicates.not;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -919,7 +920,7 @@ public class OrcSelectiveRecordReader
     }
 
     private final class OrcBlockLoader
-            implements LazyBlockLoader<LazyBlock>
+            implements PositionsLazyBlockLoader<LazyBlock>
     {
         private final SelectiveStreamReader reader;
         @Nullable
@@ -947,8 +948,29 @@ public class OrcSelectiveRecordReader
                 return;
             }
 
+            lazyBlock.setBlock(read(positions, positionCount));
+            loaded = true;
+        }
+
+        @Override
+        public Block loadPositions(int[] selectedPositions, int length)
+        {
+            checkState(!loaded, "block is already loaded");
+
+            // only the rows of the selected positions are decoded, e.g. the probe rows which matched a join
+            int[] rowPositions = new int[length];
+            for (int i = 0; i < length; i++) {
+                rowPositions[i] = positions[selectedPositions[i]];
+            }
+            Block block = read(rowPositions, length);
+            loaded = true;
+            return block;
+        }
+
+        private Block read(int[] rowPositions, int rowCount)
+        {
             try {
-                reader.read(offset, positions, positionCount);
+                reader.read(offset, rowPositions, rowCount);
             }
             catch (IOException e) {
                 OrcSelectiveRecordReader.this.getOrcDataSourceId().attachToException(e);
@@ -959,15 +981,13 @@ public class OrcSelectiveRecordReader
                 throw e;
             }
 
-            Block block = reader.getBlock(positions, positionCount);
+            Block block = reader.getBlock(rowPositions, rowCount);
             if (coercer != null) {
                 block = coercer.apply(block);
             }
-            lazyBlock.setBlock(block);
 
             updateMaxCombinedBytesPerRow(hiveColumnIndices[columnIndex], block);
-
-            loaded = true;
+            return block;
         }
     }
 
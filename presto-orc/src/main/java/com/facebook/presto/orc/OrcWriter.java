@@ -62,6 +62,7 @@ import org.openjdk.jol.info.ClassLayout;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -71,10 +72,13 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.facebook.airlift.concurrent.MoreFutures.getFutureValue;
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
 import static com.facebook.presto.common.io.DataOutput.createDataOutput;
 import static com.facebook.presto.orc.DwrfEncryptionInfo.UNENCRYPTED;
@@ -100,6 +104,7 @@ import static io.airlift.slice.Slices.utf8Slice;
 import static java.lang.Integer.min;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.stream.Collectors.toList;
 
 public class OrcWriter
@@ -134,10 +139,16 @@ public class OrcWriter
     private final List<ClosedStripe> closedStripes = new ArrayList<>();
     private final List<OrcType> orcTypes;
 
-    private final List<ColumnWriter> columnWriters;
     private final Optional<DwrfStripeCacheWriter> dwrfStripeCacheWriter;
     private final int dictionaryMaxMemoryBytes;
-    private final DictionaryCompressionOptimizer dictionaryCompressionOptimizer;
+    private final Optional<Executor> stripeEncodingExecutor;
+    // column writers buffering the current stripe
+    private ColumnWriterSet columnWriterSet;
+    // column writers of the stripe encoded in the background, only used with a stripe encoding executor
+    @Nullable
+    private ColumnWriterSet backgroundColumnWriterSet;
+    @Nullable
+    private CompletableFuture<BufferedStripe> backgroundStripe;
     @Nullable
     private final OrcWriteValidation.OrcWriteValidationBuilder validationBuilder;
     private final CompressionBufferPool compressionBufferPool;
@@ -146,7 +157,12 @@ public class OrcWriter
     private int rowGroupRowCount;
     private int bufferedBytes;
     private long columnWritersRetainedBytes;
+    private long backgroundColumnWritersRetainedBytes;
+    // only updated while writing a stripe, which may happen in the background
     private long closedStripesRetainedBytes;
+    // sizes of the written stripes, only updated on the writer thread once the stripes are written, as the data sink is not thread safe
+    private long writtenBytes;
+    private long writtenRetainedBytes;
     private long previouslyRecordedSizeInBytes;
     private boolean closed;
 
@@ -305,8 +321,35 @@ public class OrcWriter
         }
 
         // create column writers
+        checkArgument(orcTypes.get(0).getFieldCount() == types.size());
+        // the validation records the stripes on the writer thread, so they are encoded there when the file is validated
+        this.stripeEncodingExecutor = validationBuilder == null ? requireNonNull(options.getStripeEncodingExecutor(), "stripeEncodingExecutor is null") : Optional.empty();
+        int dictionaryMaxMemoryBytes = toIntExact(options.getDictionaryMaxMemory().toBytes());
+        int dictionaryMemoryAlmostFullRangeBytes = toIntExact(options.getDictionaryMemoryAlmostFullRange().toBytes());
+        if (stripeEncodingExecutor.isPresent()) {
+            // the dictionaries of both sets of column writers are held at the same time, so they share the dictionary memory limit
+            this.dictionaryMaxMemoryBytes = dictionaryMaxMemoryBytes / 2;
+            // each set of column writers has its own compression buffers, as they are used by different threads
+            this.columnWriterSet = createColumnWriterSet(withCompressionBufferPool(columnWriterOptions), options, dictionaryMemoryAlmostFullRangeBytes / 2);
+            this.backgroundColumnWriterSet = createColumnWriterSet(withCompressionBufferPool(columnWriterOptions), options, dictionaryMemoryAlmostFullRangeBytes / 2);
+        }
+        else {
+            this.dictionaryMaxMemoryBytes = dictionaryMaxMemoryBytes;
+            this.columnWriterSet = createColumnWriterSet(columnWriterOptions, options, dictionaryMemoryAlmostFullRangeBytes);
+        }
+
+        for (Entry<String, String> entry : this.userMetadata.entrySet()) {
+            recordValidation(validation -> validation.addMetadataProperty(entry.getKey(), utf8Slice(entry.getValue())));
+        }
+
+        this.writtenRetainedBytes = dataSink.getRetainedSizeInBytes();
+        this.previouslyRecordedSizeInBytes = getRetainedBytes();
+        stats.updateSizeInBytes(previouslyRecordedSizeInBytes);
+    }
+
+    private ColumnWriterSet createColumnWriterSet(ColumnWriterOptions columnWriterOptions, OrcWriterOptions options, int dictionaryMemoryAlmostFullRangeBytes)
+    {
         OrcType rootType = orcTypes.get(0);
-        checkArgument(rootType.getFieldCount() == types.size());
         ImmutableList.Builder<ColumnWriter> columnWriters = ImmutableList.builder();
         ImmutableSet.Builder<DictionaryColumnWriter> dictionaryColumnWriters = ImmutableSet.builder();
         for (int columnIndex = 0; columnIndex < types.size(); columnIndex++) {
@@ -335,11 +378,8 @@ public class OrcWriter
                 }
             }
         }
-        this.columnWriters = columnWriters.build();
-        this.dictionaryMaxMemoryBytes = toIntExact(options.getDictionaryMaxMemory().toBytes());
-        int dictionaryMemoryAlmostFullRangeBytes = toIntExact(options.getDictionaryMemoryAlmostFullRange().toBytes());
         int dictionaryUsefulCheckColumnSizeBytes = toIntExact(options.getDictionaryUsefulCheckColumnSize().toBytes());
-        this.dictionaryCompressionOptimizer = new DictionaryCompressionOptimizer(
+        DictionaryCompressionOptimizer dictionaryCompressionOptimizer = new DictionaryCompressionOptimizer(
                 dictionaryColumnWriters.build(),
                 flushPolicy.getStripeMinBytes(),
                 flushPolicy.getStripeMaxBytes(),
@@ -348,25 +388,26 @@ public class OrcWriter
                 dictionaryMemoryAlmostFullRangeBytes,
                 dictionaryUsefulCheckColumnSizeBytes,
                 options.getDictionaryUsefulCheckPerChunkFrequency());
+        return new ColumnWriterSet(columnWriterOptions, columnWriters.build(), dictionaryCompressionOptimizer);
+    }
 
-        for (Entry<String, String> entry : this.userMetadata.entrySet()) {
-            recordValidation(validation -> validation.addMetadataProperty(entry.getKey(), utf8Slice(entry.getValue())));
-        }
-
-        this.previouslyRecordedSizeInBytes = getRetainedBytes();
-        stats.updateSizeInBytes(previouslyRecordedSizeInBytes);
+    private static ColumnWriterOptions withCompressionBufferPool(ColumnWriterOptions columnWriterOptions)
+    {
+        return columnWriterOptions.toBuilder()
+                .setCompressionBufferPool(new LastUsedCompressionBufferPool())
+                .build();
     }
 
     @VisibleForTesting
     List<ColumnWriter> getColumnWriters()
     {
-        return columnWriters;
+        return columnWriterSet.getColumnWriters();
     }
 
     @VisibleForTesting
     DictionaryCompressionOptimizer getDictionaryCompressionOptimizer()
     {
-        return dictionaryCompressionOptimizer;
+        return columnWriterSet.getDictionaryCompressionOptimizer();
     }
 
     /**
@@ -374,7 +415,7 @@ public class OrcWriter
      */
     public long getWrittenBytes()
     {
-        return dataSink.size();
+        return writtenBytes;
     }
 
     /**
@@ -389,9 +430,10 @@ public class OrcWriter
     {
         return INSTANCE_SIZE +
                 columnWritersRetainedBytes +
-                closedStripesRetainedBytes +
-                dataSink.getRetainedSizeInBytes() +
+                backgroundColumnWritersRetainedBytes +
+                writtenRetainedBytes +
                 compressionBufferPool.getRetainedBytes() +
+                (stripeEncodingExecutor.isPresent() ? columnWriterSet.getCompressionBufferPoolRetainedBytes() + backgroundColumnWriterSet.getCompressionBufferPoolRetainedBytes() : 0) +
                 (validationBuilder == null ? 0 : validationBuilder.getRetainedSize());
     }
 
@@ -403,7 +445,7 @@ public class OrcWriter
             return;
         }
 
-        checkArgument(page.getChannelCount() == columnWriters.size());
+        checkArgument(page.getChannelCount() == columnWriterSet.getColumnWriters().size());
 
         if (validationBuilder != null) {
             validationBuilder.addPage(page);
@@ -437,6 +479,7 @@ public class OrcWriter
     private void writeChunk(Page chunk)
             throws IOException
     {
+        List<ColumnWriter> columnWriters = columnWriterSet.getColumnWriters();
         if (rowGroupRowCount == 0) {
             columnWriters.forEach(ColumnWriter::beginRowGroup);
         }
@@ -456,32 +499,114 @@ public class OrcWriter
 
         // record checkpoint if necessary
         if (rowGroupRowCount == rowGroupMaxRowCount) {
-            finishRowGroup();
+            finishRowGroup(columnWriters);
+            rowGroupRowCount = 0;
         }
 
         // convert dictionary encoded columns to direct if dictionary memory usage exceeded
+        DictionaryCompressionOptimizer dictionaryCompressionOptimizer = columnWriterSet.getDictionaryCompressionOptimizer();
         dictionaryCompressionOptimizer.optimize(bufferedBytes, stripeRowCount);
 
         // flush stripe if necessary
-        bufferedBytes = toIntExact(columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum());
+        bufferedBytes = toIntExact(columnWriterSet.getBufferedBytes());
         boolean dictionaryIsFull = dictionaryCompressionOptimizer.isFull(bufferedBytes);
         Optional<FlushReason> flushReason = flushPolicy.shouldFlushStripe(stripeRowCount, bufferedBytes, dictionaryIsFull);
         if (flushReason.isPresent()) {
             flushStripe(flushReason.get());
         }
-        columnWritersRetainedBytes = columnWriters.stream().mapToLong(ColumnWriter::getRetainedBytes).sum();
+        columnWritersRetainedBytes = columnWriterSet.getRetainedBytes();
     }
 
-    private void finishRowGroup()
+    private void finishRowGroup(List<ColumnWriter> columnWriters)
     {
         Map<Integer, ColumnStatistics> columnStatistics = new HashMap<>();
         columnWriters.forEach(columnWriter -> columnStatistics.putAll(columnWriter.finishRowGroup()));
         recordValidation(validation -> validation.addRowGroupStatistics(columnStatistics));
-        rowGroupRowCount = 0;
     }
 
     private void flushStripe(FlushReason flushReason)
             throws IOException
+    {
+        // the stripes are written in order, so wait for the stripe encoded in the background
+        waitForBackgroundStripe();
+
+        BufferedStripe stripe = new BufferedStripe(columnWriterSet, flushReason, stripeRowCount, rowGroupRowCount, stripeRawSize, bufferedBytes);
+        if (stripeEncodingExecutor.isPresent() && flushReason != CLOSED) {
+            // buffer the next stripe in the other column writers, while this stripe is encoded and written in the background
+            columnWriterSet = backgroundColumnWriterSet;
+            backgroundColumnWriterSet = stripe.getColumnWriterSet();
+            backgroundColumnWritersRetainedBytes = columnWritersRetainedBytes;
+            columnWritersRetainedBytes = columnWriterSet.getRetainedBytes();
+            startNextStripe();
+            backgroundStripe = supplyAsync(() -> {
+                try {
+                    writeStripe(stripe);
+                    return stripe;
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, stripeEncodingExecutor.get());
+            return;
+        }
+
+        try {
+            writeStripe(stripe);
+            stripeWritten(stripe);
+        }
+        finally {
+            startNextStripe();
+        }
+    }
+
+    private void waitForBackgroundStripe()
+            throws IOException
+    {
+        if (backgroundStripe == null) {
+            return;
+        }
+        try {
+            stripeWritten(getFutureValue(backgroundStripe));
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        finally {
+            backgroundStripe = null;
+            backgroundColumnWritersRetainedBytes = backgroundColumnWriterSet.getRetainedBytes();
+        }
+    }
+
+    /**
+     * Records a written stripe on the writer thread.
+     */
+    private void stripeWritten(BufferedStripe stripe)
+    {
+        writtenBytes = dataSink.size();
+        writtenRetainedBytes = closedStripesRetainedBytes + dataSink.getRetainedSizeInBytes();
+        stripe.getStripeInformation().ifPresent(stripeInformation -> stats.recordStripeWritten(
+                flushPolicy.getStripeMinBytes(),
+                flushPolicy.getStripeMaxBytes(),
+                dictionaryMaxMemoryBytes,
+                stripe.getFlushReason(),
+                stripe.getDictionaryMemoryBytes(),
+                stripeInformation));
+    }
+
+    private void startNextStripe()
+    {
+        rowGroupRowCount = 0;
+        stripeRowCount = 0;
+        stripeRawSize = 0;
+        bufferedBytes = toIntExact(columnWriterSet.getBufferedBytes());
+    }
+
+    /**
+     * Encodes the stripe and writes it to the data sink. With a stripe encoding executor, this runs
+     * in the background, and only touches the column writers of the stripe and the state of the written stripes.
+     */
+    private void writeStripe(BufferedStripe stripe)
+            throws IOException
     {
         List<DataOutput> outputData = new ArrayList<>();
         long stripeStartOffset = dataSink.size();
@@ -491,13 +616,13 @@ public class OrcWriter
             stripeStartOffset += MAGIC.length();
         }
 
-        flushColumnWriters(flushReason);
+        flushColumnWriters(stripe);
         try {
             // add stripe data
-            outputData.addAll(bufferStripeData(stripeStartOffset, flushReason));
-            rawSize += stripeRawSize;
+            outputData.addAll(bufferStripeData(stripeStartOffset, stripe));
+            rawSize += stripe.getRawSize();
             // if the file is being closed, add the file footer
-            if (flushReason == CLOSED) {
+            if (stripe.getFlushReason() == CLOSED) {
                 outputData.addAll(bufferFileFooter());
             }
 
@@ -505,28 +630,24 @@ public class OrcWriter
             dataSink.write(outputData);
         }
         finally {
-            // open next stripe
-            columnWriters.forEach(ColumnWriter::reset);
-            dictionaryCompressionOptimizer.reset();
-            rowGroupRowCount = 0;
-            stripeRowCount = 0;
-            stripeRawSize = 0;
-            bufferedBytes = toIntExact(columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum());
+            // reset the column writers for the next stripe
+            stripe.getColumnWriterSet().reset();
         }
     }
 
-    private void flushColumnWriters(FlushReason flushReason)
+    private void flushColumnWriters(BufferedStripe stripe)
     {
-        if (stripeRowCount == 0) {
-            verify(flushReason == CLOSED, "An empty stripe is not allowed");
+        List<ColumnWriter> columnWriters = stripe.getColumnWriterSet().getColumnWriters();
+        if (stripe.getRowCount() == 0) {
+            verify(stripe.getFlushReason() == CLOSED, "An empty stripe is not allowed");
         }
         else {
-            if (rowGroupRowCount > 0) {
-                finishRowGroup();
+            if (stripe.getRowGroupRowCount() > 0) {
+                finishRowGroup(columnWriters);
             }
 
             // convert any dictionary encoded column with a low compression ratio to direct
-            dictionaryCompressionOptimizer.finalOptimize(bufferedBytes);
+            stripe.getColumnWriterSet().getDictionaryCompressionOptimizer().finalOptimize(stripe.getBufferedBytes());
         }
 
         columnWriters.forEach(ColumnWriter::close);
@@ -536,13 +657,17 @@ public class OrcWriter
      * Collect the data for the stripe.  This is not the actual data, but
      * instead are functions that know how to write the data.
      */
-    private List<DataOutput> bufferStripeData(long stripeStartOffset, FlushReason flushReason)
+    private List<DataOutput> bufferStripeData(long stripeStartOffset, BufferedStripe stripe)
             throws IOException
     {
-        if (stripeRowCount == 0) {
+        if (stripe.getRowCount() == 0) {
             return ImmutableList.of();
         }
 
+        List<ColumnWriter> columnWriters = stripe.getColumnWriterSet().getColumnWriters();
+        int stripeRowCount = stripe.getRowCount();
+        long stripeRawSize = stripe.getRawSize();
+
         List<Stream> unencryptedStreams = new ArrayList<>(columnWriters.size() * 3);
         Multimap<Integer, Stream> encryptedStreams = ArrayListMultimap.create();
         List<StreamDataOutput> indexStreams = new ArrayList<>(columnWriters.size());
@@ -646,13 +771,8 @@ public class OrcWriter
         closedStripesRetainedBytes += closedStripe.getRetainedSizeInBytes();
 
         recordValidation(validation -> validation.addStripe(stripeInformation.getNumberOfRows()));
-        stats.recordStripeWritten(
-                flushPolicy.getStripeMinBytes(),
-                flushPolicy.getStripeMaxBytes(),
-                dictionaryMaxMemoryBytes,
-                flushReason,
-                dictionaryCompressionOptimizer.getDictionaryMemoryBytes(),
-                stripeInformation);
+        // the stats are recorded on the writer thread, once the stripe is written
+        stripe.setStripeInformation(stripeInformation, stripe.getColumnWriterSet().getDictionaryCompressionOptimizer().getDictionaryMemoryBytes());
 
         return ImmutableList.<DataOutput>builder()
                 .addAll(indexStreams)
@@ -930,6 +1050,122 @@ public class OrcWriter
         return fileStats.build();
     }
 
+    private static class ColumnWriterSet
+    {
+        private final ColumnWriterOptions columnWriterOptions;
+        private final List<ColumnWriter> columnWriters;
+        private final DictionaryCompressionOptimizer dictionaryCompressionOptimizer;
+
+        public ColumnWriterSet(ColumnWriterOptions columnWriterOptions, List<ColumnWriter> columnWriters, DictionaryCompressionOptimizer dictionaryCompressionOptimizer)
+        {
+            this.columnWriterOptions = requireNonNull(columnWriterOptions, "columnWriterOptions is null");
+            this.columnWriters = requireNonNull(columnWriters, "columnWriters is null");
+            this.dictionaryCompressionOptimizer = requireNonNull(dictionaryCompressionOptimizer, "dictionaryCompressionOptimizer is null");
+        }
+
+        public List<ColumnWriter> getColumnWriters()
+        {
+            return columnWriters;
+        }
+
+        public DictionaryCompressionOptimizer getDictionaryCompressionOptimizer()
+        {
+            return dictionaryCompressionOptimizer;
+        }
+
+        public long getBufferedBytes()
+        {
+            return columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum();
+        }
+
+        public long getRetainedBytes()
+        {
+            return columnWriters.stream().mapToLong(ColumnWriter::getRetainedBytes).sum();
+        }
+
+        public long getCompressionBufferPoolRetainedBytes()
+        {
+            return columnWriterOptions.getCompressionBufferPool().getRetainedBytes();
+        }
+
+        public void reset()
+        {
+            columnWriters.forEach(ColumnWriter::reset);
+            dictionaryCompressionOptimizer.reset();
+        }
+    }
+
+    /**
+     * A stripe buffered in a set of column writers, which is not encoded yet.
+     */
+    private static class BufferedStripe
+    {
+        private final ColumnWriterSet columnWriterSet;
+        private final FlushReason flushReason;
+        private final int rowCount;
+        private final int rowGroupRowCount;
+        private final long rawSize;
+        private final int bufferedBytes;
+        private Optional<StripeInformation> stripeInformation = Optional.empty();
+        private int dictionaryMemoryBytes;
+
+        public BufferedStripe(ColumnWriterSet columnWriterSet, FlushReason flushReason, int rowCount, int rowGroupRowCount, long rawSize, int bufferedBytes)
+        {
+            this.columnWriterSet = requireNonNull(columnWriterSet, "columnWriterSet is null");
+            this.flushReason = requireNonNull(flushReason, "flushReason is null");
+            this.rowCount = rowCount;
+            this.rowGroupRowCount = rowGroupRowCount;
+            this.rawSize = rawSize;
+            this.bufferedBytes = bufferedBytes;
+        }
+
+        public ColumnWriterSet getColumnWriterSet()
+        {
+            return columnWriterSet;
+        }
+
+        public FlushReason getFlushReason()
+        {
+            return flushReason;
+        }
+
+        public int getRowCount()
+        {
+            return rowCount;
+        }
+
+        public int getRowGroupRowCount()
+        {
+            return rowGroupRowCount;
+        }
+
+        public long getRawSize()
+        {
+            return rawSize;
+        }
+
+        public int getBufferedBytes()
+        {
+            return bufferedBytes;
+        }
+
+        public Optional<StripeInformation> getStripeInformation()
+        {
+            return stripeInformation;
+        }
+
+        public int getDictionaryMemoryBytes()
+        {
+            return dictionaryMemoryBytes;
+        }
+
+        public void setStripeInformation(StripeInformation stripeInformation, int dictionaryMemoryBytes)
+        {
+            this.stripeInformation = Optional.of(requireNonNull(stripeInformation, "stripeInformation is null"));
+            this.dictionaryMemoryBytes = dictionaryMemoryBytes;
+        }
+    }
+
     private static class ClosedStripe
     {
         private static final int INSTANCE_SIZE = ClassLayout.parseClass(ClosedStripe.class).instanceSize() + ClassLayout.parseClass(StripeInformation.class).instanceSize();
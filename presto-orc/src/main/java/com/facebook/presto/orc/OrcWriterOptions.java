@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableSet;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static com.facebook.airlift.units.DataSize.Unit.BYTE;
 import static com.facebook.airlift.units.DataSize.Unit.KILOBYTE;
@@ -77,6 +78,7 @@ public class OrcWriterOptions
     private final int maxFlattenedMapKeyCount;
     private final boolean resetOutputBuffer;
     private final boolean lazyOutputBuffer;
+    private final Optional<Executor> stripeEncodingExecutor;
 
     /**
      * Contains indexes of columns (not nodes!) for which writer should use flattened encoding, e.g. flat maps.
@@ -106,7 +108,8 @@ public class OrcWriterOptions
             boolean mapStatisticsEnabled,
             int maxFlattenedMapKeyCount,
             boolean resetOutputBuffer,
-            boolean lazyOutputBuffer)
+            boolean lazyOutputBuffer,
+            Optional<Executor> stripeEncodingExecutor)
     {
         requireNonNull(flushPolicy, "flushPolicy is null");
         checkArgument(rowGroupMaxRowCount >= 1, "rowGroupMaxRowCount must be at least 1");
@@ -121,6 +124,7 @@ public class OrcWriterOptions
         requireNonNull(streamLayoutFactory, "streamLayoutFactory is null");
         requireNonNull(dwrfWriterOptions, "dwrfWriterOptions is null");
         requireNonNull(flattenedColumns, "flattenedColumns is null");
+        requireNonNull(stripeEncodingExecutor, "stripeEncodingExecutor is null");
         checkArgument(maxFlattenedMapKeyCount > 0, "maxFlattenedMapKeyCount must be positive: %s", maxFlattenedMapKeyCount);
 
         this.flushPolicy = flushPolicy;
@@ -146,6 +150,7 @@ public class OrcWriterOptions
         this.maxFlattenedMapKeyCount = maxFlattenedMapKeyCount;
         this.resetOutputBuffer = resetOutputBuffer;
         this.lazyOutputBuffer = lazyOutputBuffer;
+        this.stripeEncodingExecutor = stripeEncodingExecutor;
     }
 
     public OrcWriterFlushPolicy getFlushPolicy()
@@ -263,6 +268,14 @@ public class OrcWriterOptions
         return lazyOutputBuffer;
     }
 
+    /**
+     * Executor encoding and writing the closed stripes in the background, while the writer buffers the next stripe.
+     */
+    public Optional<Executor> getStripeEncodingExecutor()
+    {
+        return stripeEncodingExecutor;
+    }
+
     @Override
     public String toString()
     {
@@ -328,6 +341,7 @@ public class OrcWriterOptions
         private int maxFlattenedMapKeyCount = DEFAULT_MAX_FLATTENED_MAP_KEY_COUNT;
         private boolean resetOutputBuffer = DEFAULT_RESET_OUTPUT_BUFFER;
         private boolean lazyOutputBuffer = DEFAULT_LAZY_OUTPUT_BUFFER;
+        private Optional<Executor> stripeEncodingExecutor = Optional.empty();
 
         public Builder withFlushPolicy(OrcWriterFlushPolicy flushPolicy)
         {
@@ -481,6 +495,12 @@ public class OrcWriterOptions
             return this;
         }
 
+        public Builder withStripeEncodingExecutor(Optional<Executor> stripeEncodingExecutor)
+        {
+            this.stripeEncodingExecutor = requireNonNull(stripeEncodingExecutor, "stripeEncodingExecutor is null");
+            return this;
+        }
+
         public OrcWriterOptions build()
         {
             Optional<DwrfStripeCacheOptions> dwrfWriterOptions;
@@ -514,7 +534,8 @@ public class OrcWriterOptions
                     mapStatisticsEnabled,
                     maxFlattenedMapKeyCount,
                     resetOutputBuffer,
-                    lazyOutputBuffer);
+                    lazyOutputBuffer,
+                    stripeEncodingExecutor);
         }
     }
 }
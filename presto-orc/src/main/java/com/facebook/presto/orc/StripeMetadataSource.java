@@ -25,6 +25,7 @@ import io.airlift.slice.Slice;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
@@ -52,6 +53,14 @@ public interface StripeMetadataSource
             long fileModificationTime)
             throws IOException;
 
+    /**
+     * Returns the cache of decompressed data streams the stripe readers should use, if any.
+     */
+    default Optional<DecompressedStreamCache> getDecompressedStreamCache()
+    {
+        return Optional.empty();
+    }
+
     class CacheableSlice
     {
         private final Slice slice;
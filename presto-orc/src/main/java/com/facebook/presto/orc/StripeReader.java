@@ -31,6 +31,7 @@ import com.facebook.presto.orc.metadata.StripeFooter;
 import com.facebook.presto.orc.metadata.StripeInformation;
 import com.facebook.presto.orc.metadata.statistics.ColumnStatistics;
 import com.facebook.presto.orc.metadata.statistics.HiveBloomFilter;
+import com.facebook.presto.orc.stream.DecompressedStream;
 import com.facebook.presto.orc.stream.InputStreamSource;
 import com.facebook.presto.orc.stream.InputStreamSources;
 import com.facebook.presto.orc.stream.OrcInputStream;
@@ -68,6 +69,7 @@ import static com.facebook.presto.orc.metadata.ColumnEncoding.ColumnEncodingKind
 import static com.facebook.presto.orc.metadata.ColumnEncoding.ColumnEncodingKind.DICTIONARY_V2;
 import static com.facebook.presto.orc.metadata.DwrfMetadataReader.toStripeEncryptionGroup;
 import static com.facebook.presto.orc.metadata.OrcType.OrcTypeKind.STRUCT;
+import static com.facebook.presto.orc.metadata.Stream.StreamArea.DATA;
 import static com.facebook.presto.orc.metadata.Stream.StreamArea.INDEX;
 import static com.facebook.presto.orc.metadata.Stream.StreamKind.BLOOM_FILTER;
 import static com.facebook.presto.orc.metadata.Stream.StreamKind.DICTIONARY_DATA;
@@ -348,26 +350,64 @@ public class StripeReader
         // Note: this code does not use the Java 8 stream APIs to avoid any extra object allocation
         //
 
+        // use the decompressed data streams that are cached, and only read the other streams
+        ImmutableMap.Builder<StreamId, OrcInputStream> streamsBuilder = ImmutableMap.builder();
+        Optional<DecompressedStreamCache> decompressedStreamCache = Optional.empty();
+        if (cacheable && decompressor.isPresent()) {
+            decompressedStreamCache = stripeMetadataSource.getDecompressedStreamCache();
+        }
+        if (decompressedStreamCache.isPresent()) {
+            ImmutableMap.Builder<StreamId, DiskRange> uncachedDiskRanges = ImmutableMap.builder();
+            for (Entry<StreamId, DiskRange> entry : diskRanges.entrySet()) {
+                Optional<DecompressedStream> decompressedStream = Optional.empty();
+                if (isDecompressedStreamCacheable(entry.getKey(), decryptors)) {
+                    decompressedStream = decompressedStreamCache.get().get(new StripeStreamId(stripeId, entry.getKey()), fileModificationTime);
+                }
+                if (decompressedStream.isPresent()) {
+                    streamsBuilder.put(entry.getKey(), new OrcInputStream(orcDataSource.getId(), decompressedStream.get(), systemMemoryUsage));
+                }
+                else {
+                    uncachedDiskRanges.put(entry);
+                }
+            }
+            diskRanges = uncachedDiskRanges.build();
+        }
+
         // read ranges
         Map<StreamId, OrcDataSourceInput> streamsData = stripeMetadataSource.getInputs(orcDataSource, stripeId, diskRanges, cacheable, fileModificationTime);
 
         // transform streams to OrcInputStream
-        ImmutableMap.Builder<StreamId, OrcInputStream> streamsBuilder = ImmutableMap.builder();
         for (Entry<StreamId, OrcDataSourceInput> entry : streamsData.entrySet()) {
             OrcDataSourceInput sourceInput = entry.getValue();
             Optional<DwrfDataEncryptor> dwrfDecryptor = createDwrfDecryptor(entry.getKey(), decryptors);
-            streamsBuilder.put(entry.getKey(), new OrcInputStream(
+            OrcInputStream inputStream = new OrcInputStream(
                     orcDataSource.getId(),
                     sharedDecompressionBuffer,
                     sourceInput.getInput(),
                     decompressor,
                     dwrfDecryptor,
                     systemMemoryUsage,
-                    sourceInput.getRetainedSizeInBytes()));
+                    sourceInput.getRetainedSizeInBytes());
+            if (decompressedStreamCache.isPresent() && isDecompressedStreamCacheable(entry.getKey(), decryptors)) {
+                // decompress the whole stream once, so the following reads of this stripe can share it
+                DecompressedStream decompressedStream = inputStream.decompressFully();
+                decompressedStreamCache.get().put(new StripeStreamId(stripeId, entry.getKey()), decompressedStream, fileModificationTime);
+                inputStream = new OrcInputStream(orcDataSource.getId(), decompressedStream, systemMemoryUsage);
+            }
+            streamsBuilder.put(entry.getKey(), inputStream);
         }
         return streamsBuilder.build();
     }
 
+    private static boolean isDecompressedStreamCacheable(StreamId streamId, Optional<DwrfEncryptionInfo> decryptors)
+    {
+        // index streams are cached by the stripe metadata source, and encrypted streams are never cached in plain text
+        if (streamId.getStreamKind().getStreamArea() != DATA) {
+            return false;
+        }
+        return !decryptors.isPresent() || !decryptors.get().getEncryptorByNodeId(streamId.getColumn()).isPresent();
+    }
+
     private Optional<DwrfDataEncryptor> createDwrfDecryptor(StreamId id, Optional<DwrfEncryptionInfo> decryptors)
     {
         if (!decryptors.isPresent()) {
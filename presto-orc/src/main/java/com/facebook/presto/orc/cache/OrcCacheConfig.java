@@ -41,6 +41,10 @@ public class OrcCacheConfig
     private DataSize rowGroupIndexCacheSize = new DataSize(0, BYTE);
     private Duration rowGroupIndexCacheTtlSinceLastAccess = new Duration(0, SECONDS);
 
+    private boolean decompressedStreamCacheEnabled;
+    private DataSize decompressedStreamCacheSize = new DataSize(0, BYTE);
+    private Duration decompressedStreamCacheTtlSinceLastAccess = new Duration(0, SECONDS);
+
     private boolean dwrfStripeCacheEnabled = true;
     private DataSize expectedFileTailSize = new DataSize(EXPECTED_FOOTER_SIZE_IN_BYTES, BYTE);
 
@@ -194,6 +198,47 @@ public class OrcCacheConfig
         return this;
     }
 
+    public boolean isDecompressedStreamCacheEnabled()
+    {
+        return decompressedStreamCacheEnabled;
+    }
+
+    @Config("orc.decompressed-stream-cache-enabled")
+    @ConfigDescription("Cache the decompressed data streams of stripes across queries")
+    public OrcCacheConfig setDecompressedStreamCacheEnabled(boolean decompressedStreamCacheEnabled)
+    {
+        this.decompressedStreamCacheEnabled = decompressedStreamCacheEnabled;
+        return this;
+    }
+
+    @MinDataSize("0B")
+    public DataSize getDecompressedStreamCacheSize()
+    {
+        return decompressedStreamCacheSize;
+    }
+
+    @Config("orc.decompressed-stream-cache-size")
+    @ConfigDescription("Size of the decompressed stripe data stream cache")
+    public OrcCacheConfig setDecompressedStreamCacheSize(DataSize decompressedStreamCacheSize)
+    {
+        this.decompressedStreamCacheSize = decompressedStreamCacheSize;
+        return this;
+    }
+
+    @MinDuration("0s")
+    public Duration getDecompressedStreamCacheTtlSinceLastAccess()
+    {
+        return decompressedStreamCacheTtlSinceLastAccess;
+    }
+
+    @Config("orc.decompressed-stream-cache-ttl-since-last-access")
+    @ConfigDescription("Time-to-live for decompressed stripe data stream cache entry after last access")
+    public OrcCacheConfig setDecompressedStreamCacheTtlSinceLastAccess(Duration decompressedStreamCacheTtlSinceLastAccess)
+    {
+        this.decompressedStreamCacheTtlSinceLastAccess = decompressedStreamCacheTtlSinceLastAccess;
+        return this;
+    }
+
     public boolean isDwrfStripeCacheEnabled()
     {
         return dwrfStripeCacheEnabled;
@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.stream;
+
+import com.facebook.presto.orc.OrcCorruptionException;
+import com.facebook.presto.orc.OrcDataSourceId;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.Arrays;
+
+import static com.facebook.presto.orc.checkpoint.InputStreamCheckpoint.createInputStreamCheckpoint;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The decompressed data of a compressed stream, together with the offsets of its compression blocks,
+ * so the checkpoints of the stream, which point into the compressed stream, can be resolved in the data.
+ * <p>
+ * Instances are immutable and may be shared by the readers of different queries.
+ */
+public final class DecompressedStream
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(DecompressedStream.class).instanceSize();
+
+    private final byte[] data;
+    private final long compressedSize;
+    // start of each compression block in the compressed stream and in the data, followed by the end of the stream
+    private final int[] compressedBlockOffsets;
+    private final int[] decompressedBlockOffsets;
+
+    public DecompressedStream(byte[] data, long compressedSize, int[] compressedBlockOffsets, int[] decompressedBlockOffsets)
+    {
+        this.data = requireNonNull(data, "data is null");
+        this.compressedSize = compressedSize;
+        this.compressedBlockOffsets = requireNonNull(compressedBlockOffsets, "compressedBlockOffsets is null");
+        this.decompressedBlockOffsets = requireNonNull(decompressedBlockOffsets, "decompressedBlockOffsets is null");
+        checkArgument(compressedBlockOffsets.length > 0, "compressedBlockOffsets is empty");
+        checkArgument(compressedBlockOffsets.length == decompressedBlockOffsets.length, "compressedBlockOffsets and decompressedBlockOffsets have different lengths");
+        checkArgument(decompressedBlockOffsets[decompressedBlockOffsets.length - 1] == data.length, "decompressedBlockOffsets does not end at the end of the data");
+    }
+
+    public byte[] getData()
+    {
+        return data;
+    }
+
+    /**
+     * Returns the size of the stream before decompression, which is the amount of I/O saved when this stream is reused.
+     */
+    public long getCompressedSize()
+    {
+        return compressedSize;
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        return INSTANCE_SIZE + sizeOf(data) + sizeOf(compressedBlockOffsets) + sizeOf(decompressedBlockOffsets);
+    }
+
+    /**
+     * Returns the position in the data of a compressed block offset and a decompressed offset in that block.
+     */
+    public int getPosition(OrcDataSourceId orcDataSourceId, int compressedBlockOffset, int decompressedOffset)
+            throws OrcCorruptionException
+    {
+        int block = Arrays.binarySearch(compressedBlockOffsets, compressedBlockOffset);
+        if (block < 0) {
+            throw new OrcCorruptionException(orcDataSourceId, "Checkpoint block offset %s is not the start of a compression block", compressedBlockOffset);
+        }
+        int position = decompressedBlockOffsets[block] + decompressedOffset;
+        if (position > data.length) {
+            throw new OrcCorruptionException(orcDataSourceId, "Checkpoint decompressed offset %s is beyond the end of the stream", decompressedOffset);
+        }
+        return position;
+    }
+
+    /**
+     * Returns the checkpoint of a position in the data, relative to the last compression block starting at or before it.
+     */
+    public long getCheckpoint(int position)
+    {
+        int low = 0;
+        int high = decompressedBlockOffsets.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (decompressedBlockOffsets[middle] <= position) {
+                low = middle;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        return createInputStreamCheckpoint(compressedBlockOffsets[low], position - decompressedBlockOffsets[low]);
+    }
+}
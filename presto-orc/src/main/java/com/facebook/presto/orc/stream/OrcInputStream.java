@@ -22,6 +22,7 @@ import com.facebook.presto.orc.OrcLocalMemoryContext;
 import com.facebook.presto.orc.metadata.OrcType.OrcTypeKind;
 import io.airlift.slice.ByteArrays;
 import io.airlift.slice.FixedLengthSliceInput;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.openjdk.jol.info.ClassLayout;
 
 import java.io.IOException;
@@ -29,11 +30,13 @@ import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Optional;
 
+import static com.facebook.presto.orc.NoopOrcLocalMemoryContext.NOOP_ORC_LOCAL_MEMORY_CONTEXT;
 import static com.facebook.presto.orc.checkpoint.InputStreamCheckpoint.createInputStreamCheckpoint;
 import static com.facebook.presto.orc.checkpoint.InputStreamCheckpoint.decodeCompressedBlockOffset;
 import static com.facebook.presto.orc.checkpoint.InputStreamCheckpoint.decodeDecompressedOffset;
 import static com.facebook.presto.orc.stream.LongDecode.zigzagDecode;
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkState;
 import static io.airlift.slice.SizeOf.SIZE_OF_DOUBLE;
 import static io.airlift.slice.SizeOf.SIZE_OF_FLOAT;
 import static io.airlift.slice.SizeOf.SIZE_OF_INT;
@@ -41,6 +44,7 @@ import static io.airlift.slice.SizeOf.SIZE_OF_LONG;
 import static io.airlift.slice.SizeOf.SIZE_OF_SHORT;
 import static io.airlift.slice.SizeOf.sizeOf;
 import static io.airlift.slice.Slices.EMPTY_SLICE;
+import static java.lang.Math.max;
 import static java.lang.Math.round;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
@@ -60,6 +64,7 @@ public final class OrcInputStream
     private final long compressedSliceInputRetainedSizeInBytes;
     private final Optional<OrcDecompressor> decompressor;
     private final Optional<DwrfDataEncryptor> dwrfDecryptor;
+    private final Optional<DecompressedStream> decompressedStream;
     private final OrcLocalMemoryContext memoryUsage;
     // Temporary memory for reading a float or double at buffer boundary.
     private final byte[] temporaryBuffer = new byte[SIZE_OF_DOUBLE];
@@ -87,6 +92,7 @@ public final class OrcInputStream
 
         this.decompressor = requireNonNull(decompressor, "decompressor is null");
         this.dwrfDecryptor = requireNonNull(dwrfDecryptor, "dwrfDecryptor is null");
+        this.decompressedStream = Optional.empty();
 
         // memory reserved in the systemMemoryContext is never release and instead it is
         // expected that the context itself will be destroyed at the end of the read
@@ -112,6 +118,32 @@ public final class OrcInputStream
         memoryUsage.setBytes(getRetainedSizeInBytes());
     }
 
+    /**
+     * Creates a stream reading an already decompressed stream. The checkpoints of the stream still
+     * point into the compressed stream, and are resolved using the block offsets of the decompressed stream.
+     */
+    public OrcInputStream(
+            OrcDataSourceId orcDataSourceId,
+            DecompressedStream decompressedStream,
+            OrcAggregatedMemoryContext systemMemoryContext)
+    {
+        this.orcDataSourceId = requireNonNull(orcDataSourceId, "orcDataSource is null");
+        this.decompressedStream = Optional.of(requireNonNull(decompressedStream, "decompressedStream is null"));
+        this.sharedDecompressionBuffer = new SharedBuffer(NOOP_ORC_LOCAL_MEMORY_CONTEXT);
+        this.decompressor = Optional.empty();
+        this.dwrfDecryptor = Optional.empty();
+
+        requireNonNull(systemMemoryContext, "systemMemoryContext is null");
+        this.memoryUsage = systemMemoryContext.newOrcLocalMemoryContext(OrcInputStream.class.getSimpleName());
+
+        this.buffer = decompressedStream.getData();
+        this.length = buffer.length;
+        this.compressedSliceInput = EMPTY_SLICE.getInput();
+        this.compressedSliceInputRetainedSizeInBytes = compressedSliceInput.getRetainedSize();
+
+        memoryUsage.setBytes(getRetainedSizeInBytes());
+    }
+
     @Override
     public void close()
     {
@@ -193,6 +225,9 @@ public final class OrcInputStream
 
     public long getCheckpoint()
     {
+        if (decompressedStream.isPresent()) {
+            return decompressedStream.get().getCheckpoint(buffer == null ? decompressedStream.get().getData().length : position);
+        }
         // if the decompressed buffer is empty, return a checkpoint starting at the next block
         if (buffer == null || (position == 0 && available() == 0)) {
             return createInputStreamCheckpoint(toIntExact(compressedSliceInput.position()), 0);
@@ -207,6 +242,17 @@ public final class OrcInputStream
     {
         int compressedBlockOffset = decodeCompressedBlockOffset(checkpoint);
         int decompressedOffset = decodeDecompressedOffset(checkpoint);
+        if (decompressedStream.isPresent()) {
+            // all the compression blocks are in the buffer, so the buffer is never discarded
+            position = decompressedStream.get().getPosition(orcDataSourceId, compressedBlockOffset, decompressedOffset);
+            if (buffer == null) {
+                buffer = decompressedStream.get().getData();
+                length = buffer.length;
+                memoryUsage.setBytes(getRetainedSizeInBytes());
+            }
+            return false;
+        }
+
         boolean discardedBuffer;
         if (compressedBlockOffset != currentCompressedBlockOffset) {
             if (!decompressor.isPresent() && !dwrfDecryptor.isPresent()) {
@@ -492,6 +538,40 @@ public final class OrcInputStream
         memoryUsage.setBytes(getRetainedSizeInBytes());
     }
 
+    /**
+     * Decompresses the remaining compression blocks of this stream. This must be called before anything is read from the stream.
+     */
+    public DecompressedStream decompressFully()
+            throws IOException
+    {
+        checkState(decompressor.isPresent(), "stream is not compressed");
+        checkState(buffer != null && position == 0 && available() == 0, "stream has already been read");
+
+        IntArrayList compressedBlockOffsets = new IntArrayList();
+        IntArrayList decompressedBlockOffsets = new IntArrayList();
+        byte[] data = new byte[toIntExact(compressedSliceInput.remaining())];
+        int size = 0;
+        long compressedSize = compressedSliceInput.remaining();
+        while (true) {
+            advance();
+            if (buffer == null) {
+                break;
+            }
+            compressedBlockOffsets.add(currentCompressedBlockOffset);
+            decompressedBlockOffsets.add(size);
+            int available = available();
+            if (data.length - size < available) {
+                data = Arrays.copyOf(data, max(data.length * 2, size + available));
+            }
+            System.arraycopy(buffer, position, data, size, available);
+            size += available;
+            position = length;
+        }
+        compressedBlockOffsets.add(toIntExact(compressedSliceInput.position()));
+        decompressedBlockOffsets.add(size);
+        return new DecompressedStream(Arrays.copyOf(data, size), compressedSize, compressedBlockOffsets.toIntArray(), decompressedBlockOffsets.toIntArray());
+    }
+
     public long getRetainedSizeInBytes()
     {
         return INSTANCE_SIZE +
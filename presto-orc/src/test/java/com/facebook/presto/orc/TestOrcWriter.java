@@ -24,6 +24,7 @@ import com.facebook.presto.orc.OrcWriteValidation.OrcWriteValidationMode;
 import com.facebook.presto.orc.metadata.CompressionKind;
 import com.facebook.presto.orc.metadata.Stream;
 import com.facebook.presto.orc.metadata.StripeFooter;
+import com.facebook.presto.orc.metadata.StripeInformation;
 import com.facebook.presto.orc.writer.StreamLayoutFactory;
 import com.facebook.presto.orc.writer.StreamLayoutFactory.ColumnSizeLayoutFactory;
 import com.facebook.presto.orc.writer.StreamLayoutFactory.StreamSizeLayoutFactory;
@@ -35,32 +36,39 @@ import org.testng.annotations.Test;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.facebook.airlift.testing.Assertions.assertGreaterThanOrEqual;
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
 import static com.facebook.presto.common.type.VarcharType.VARCHAR;
 import static com.facebook.presto.orc.DwrfEncryptionProvider.NO_ENCRYPTION;
 import static com.facebook.presto.orc.NoOpOrcWriterStats.NOOP_WRITER_STATS;
 import static com.facebook.presto.orc.OrcEncoding.DWRF;
 import static com.facebook.presto.orc.OrcEncoding.ORC;
 import static com.facebook.presto.orc.OrcTester.HIVE_STORAGE_TIME_ZONE;
+import static com.facebook.presto.orc.OrcTester.createCustomOrcRecordReader;
 import static com.facebook.presto.orc.StripeReader.isIndexStream;
 import static com.facebook.presto.orc.TestingOrcPredicate.ORC_ROW_GROUP_SIZE;
 import static com.facebook.presto.orc.TestingOrcPredicate.ORC_STRIPE_SIZE;
 import static com.facebook.presto.orc.metadata.CompressionKind.NONE;
 import static com.facebook.presto.orc.metadata.CompressionKind.ZLIB;
 import static com.facebook.presto.orc.metadata.CompressionKind.ZSTD;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 public class TestOrcWriter
 {
@@ -226,6 +234,95 @@ public class TestOrcWriter
         }
     }
 
+    @Test
+    public void testBackgroundStripeEncoding()
+            throws IOException
+    {
+        ExecutorService executor = newFixedThreadPool(2);
+        Thread writerThread = Thread.currentThread();
+        List<Integer> stripeDictionaryMaxMemoryBytes = new ArrayList<>();
+        WriterStats stats = new WriterStats()
+        {
+            @Override
+            public void recordStripeWritten(int stripeMinBytes, int stripeMaxBytes, int dictionaryMaxMemoryBytes, FlushReason flushReason, int dictionaryBytes, StripeInformation stripeInformation)
+            {
+                // the stripes written in the background are recorded on the writer thread
+                assertSame(Thread.currentThread(), writerThread);
+                stripeDictionaryMaxMemoryBytes.add(dictionaryMaxMemoryBytes);
+            }
+
+            @Override
+            public void updateSizeInBytes(long deltaInBytes)
+            {
+            }
+        };
+        try (TempFile tempFile = new TempFile()) {
+            OrcWriter writer = new OrcWriter(
+                    new OutputStreamDataSink(new FileOutputStream(tempFile.getFile())),
+                    ImmutableList.of("test1", "test2"),
+                    ImmutableList.of(BIGINT, VARCHAR),
+                    DWRF,
+                    ZSTD,
+                    Optional.empty(),
+                    NO_ENCRYPTION,
+                    OrcWriterOptions.builder()
+                            .withFlushPolicy(DefaultOrcWriterFlushPolicy.builder()
+                                    .withStripeMinSize(new DataSize(0, MEGABYTE))
+                                    .withStripeMaxSize(new DataSize(32, MEGABYTE))
+                                    .withStripeMaxRowCount(1_000)
+                                    .build())
+                            .withRowGroupMaxRowCount(300)
+                            .withDictionaryMaxMemory(new DataSize(32, MEGABYTE))
+                            .withStripeEncodingExecutor(Optional.of(executor))
+                            .build(),
+                    ImmutableMap.of(),
+                    HIVE_STORAGE_TIME_ZONE,
+                    false,
+                    null,
+                    stats);
+
+            // the stripes are encoded in the background while the writer buffers the next stripes
+            long writtenBytes = 0;
+            int pageCount = 10;
+            int pageRows = 2_500;
+            for (int page = 0; page < pageCount; page++) {
+                BlockBuilder longBlockBuilder = BIGINT.createBlockBuilder(null, pageRows);
+                BlockBuilder stringBlockBuilder = VARCHAR.createBlockBuilder(null, pageRows);
+                for (int row = 0; row < pageRows; row++) {
+                    long value = page * pageRows + row;
+                    BIGINT.writeLong(longBlockBuilder, value);
+                    VARCHAR.writeSlice(stringBlockBuilder, Slices.utf8Slice(String.valueOf(value % 100)));
+                }
+                writer.write(new Page(longBlockBuilder.build(), stringBlockBuilder.build()));
+                assertGreaterThanOrEqual(writer.getWrittenBytes(), writtenBytes);
+                writtenBytes = writer.getWrittenBytes();
+            }
+            writer.close();
+            assertEquals(writer.getWrittenBytes(), tempFile.getFile().length());
+
+            assertEquals(OrcTester.getStripes(tempFile.getFile(), DWRF).size(), 25);
+            // both sets of column writers hold dictionaries at the same time, so each gets half of the dictionary memory
+            assertEquals(stripeDictionaryMaxMemoryBytes.size(), 25);
+            assertTrue(stripeDictionaryMaxMemoryBytes.stream().allMatch(bytes -> bytes == new DataSize(16, MEGABYTE).toBytes()));
+            try (OrcBatchRecordReader reader = createCustomOrcRecordReader(tempFile, DWRF, OrcPredicate.TRUE, ImmutableList.of(BIGINT, VARCHAR), 1024, false, false)) {
+                long expected = 0;
+                for (int batchSize = reader.nextBatch(); batchSize > 0; batchSize = reader.nextBatch()) {
+                    Block longBlock = reader.readBlock(0);
+                    Block stringBlock = reader.readBlock(1);
+                    for (int position = 0; position < batchSize; position++) {
+                        assertEquals(BIGINT.getLong(longBlock, position), expected);
+                        assertEquals(VARCHAR.getSlice(stringBlock, position).toStringUtf8(), String.valueOf(expected % 100));
+                        expected++;
+                    }
+                }
+                assertEquals(expected, pageCount * pageRows);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     public static class MockDataSink
             implements DataSink
     {
@@ -16,6 +16,7 @@ package com.facebook.presto.orc.stream;
 import com.facebook.presto.orc.OrcCorruptionException;
 import com.facebook.presto.orc.TestingHiveOrcAggregatedMemoryContext;
 import com.facebook.presto.orc.checkpoint.ByteArrayStreamCheckpoint;
+import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
 import io.airlift.slice.SliceOutput;
 import io.airlift.slice.Slices;
@@ -26,6 +27,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static com.facebook.presto.orc.metadata.ColumnEncoding.DEFAULT_SEQUENCE_ID;
+import static org.testng.Assert.assertEquals;
+
 public class TestByteArrayStream
         extends AbstractTestValueStream<Slice, ByteArrayStreamCheckpoint, ByteArrayOutputStream, ByteArrayInputStream>
 {
@@ -48,6 +52,56 @@ public class TestByteArrayStream
         testWriteValue(groups);
     }
 
+    @Test
+    public void testDecompressedStream()
+            throws IOException
+    {
+        // write enough groups to span several compression blocks
+        ByteArrayOutputStream outputStream = createValueOutputStream();
+        List<List<Slice>> groups = new ArrayList<>();
+        for (int groupIndex = 0; groupIndex < 10; groupIndex++) {
+            outputStream.recordCheckpoint();
+            List<Slice> group = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                Slice value = Slices.allocate(8);
+                SliceOutput output = value.getOutput();
+                output.writeInt(groupIndex);
+                output.writeInt(i * 31);
+                group.add(value);
+                writeValue(outputStream, value);
+            }
+            groups.add(group);
+        }
+        outputStream.close();
+
+        DynamicSliceOutput sliceOutput = new DynamicSliceOutput(1000);
+        outputStream.getStreamDataOutput(33, DEFAULT_SEQUENCE_ID).writeData(sliceOutput);
+        List<ByteArrayStreamCheckpoint> checkpoints = outputStream.getCheckpoints();
+
+        TestingHiveOrcAggregatedMemoryContext aggregatedMemoryContext = new TestingHiveOrcAggregatedMemoryContext();
+        DecompressedStream decompressedStream = new OrcInputStream(
+                ORC_DATA_SOURCE_ID,
+                new SharedBuffer(aggregatedMemoryContext.newOrcLocalMemoryContext("sharedDecompressionBuffer")),
+                sliceOutput.slice().getInput(),
+                getOrcDecompressor(),
+                Optional.empty(),
+                aggregatedMemoryContext,
+                sliceOutput.slice().getRetainedSize())
+                .decompressFully();
+        assertEquals(decompressedStream.getCompressedSize(), sliceOutput.size());
+        assertEquals(decompressedStream.getData().length, 10 * 20_000 * 8);
+
+        // the decompressed stream resolves the checkpoints of the compressed stream
+        OrcInputStream input = new OrcInputStream(ORC_DATA_SOURCE_ID, decompressedStream, aggregatedMemoryContext);
+        ByteArrayInputStream valueStream = new ByteArrayInputStream(input);
+        for (int groupIndex = groups.size() - 1; groupIndex >= 0; groupIndex--) {
+            valueStream.seekToCheckpoint(checkpoints.get(groupIndex));
+            for (Slice expectedValue : groups.get(groupIndex)) {
+                assertEquals(readValue(valueStream), expectedValue);
+            }
+        }
+    }
+
     @Override
     protected ByteArrayOutputStream createValueOutputStream()
     {
@@ -59,7 +59,7 @@ public class FileParquetDataSource
     }
 
     @Override
-    protected void readInternal(long position, byte[] buffer, int bufferOffset, int bufferLength)
+    protected synchronized void readInternal(long position, byte[] buffer, int bufferOffset, int bufferLength)
     {
         try {
             input.seek(position);
@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet;
+
+import com.facebook.airlift.units.DataSize;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public final class ParquetDataSourceUtils
+{
+    private ParquetDataSourceUtils()
+    {
+    }
+
+    /**
+     * Merge disk ranges that are closer than {@code maxMergeDistance}, as long as the merged range
+     * is not larger than {@code maxReadSize}.
+     */
+    public static List<DiskRange> mergeAdjacentDiskRanges(Collection<DiskRange> diskRanges, DataSize maxMergeDistance, DataSize maxReadSize)
+    {
+        if (diskRanges.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        // sort ranges by start offset
+        List<DiskRange> ranges = new ArrayList<>(diskRanges);
+        ranges.sort(Comparator.comparingLong(DiskRange::getOffset));
+
+        // merge overlapping ranges
+        long maxReadSizeBytes = maxReadSize.toBytes();
+        long maxMergeDistanceBytes = maxMergeDistance.toBytes();
+        ImmutableList.Builder<DiskRange> result = ImmutableList.builder();
+        DiskRange last = ranges.get(0);
+        for (int i = 1; i < ranges.size(); i++) {
+            DiskRange current = ranges.get(i);
+            DiskRange merged = last.span(current);
+            if (merged.getLength() <= maxReadSizeBytes && last.getEnd() + maxMergeDistanceBytes >= current.getOffset()) {
+                last = merged;
+            }
+            else {
+                result.add(last);
+                last = current;
+            }
+        }
+        result.add(last);
+
+        return result.build();
+    }
+}
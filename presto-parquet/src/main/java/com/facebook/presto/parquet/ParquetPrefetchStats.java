@@ -0,0 +1,30 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet;
+
+/**
+ * Receives the statistics of the column chunks read ahead of the Parquet readers.
+ * The methods may be called concurrently from the I/O threads.
+ */
+public interface ParquetPrefetchStats
+{
+    void addPrefetchReadBytes(long bytes);
+
+    /**
+     * Bytes that were read ahead but never used by a column reader, including the gaps between merged ranges.
+     */
+    void addPrefetchWastedBytes(long bytes);
+
+    void addPrefetchWaitTime(long nanos);
+}
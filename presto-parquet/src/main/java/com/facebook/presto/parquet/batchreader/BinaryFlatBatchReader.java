@@ -15,6 +15,8 @@
 package com.facebook.presto.parquet.batchreader;
 
 import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.DictionaryBlock;
+import com.facebook.presto.common.block.DictionaryId;
 import com.facebook.presto.common.block.RunLengthEncodedBlock;
 import com.facebook.presto.common.block.VariableWidthBlock;
 import com.facebook.presto.parquet.ColumnReader;
@@ -26,6 +28,8 @@ import com.facebook.presto.parquet.batchreader.decoders.Decoders.FlatDecoders;
 import com.facebook.presto.parquet.batchreader.decoders.FlatDefinitionLevelDecoder;
 import com.facebook.presto.parquet.batchreader.decoders.ValuesDecoder.BinaryValuesDecoder;
 import com.facebook.presto.parquet.batchreader.decoders.ValuesDecoder.BinaryValuesDecoder.ValueBuffer;
+import com.facebook.presto.parquet.batchreader.decoders.rle.BinaryRLEDictionaryValuesDecoder.RLEValueBuffer;
+import com.facebook.presto.parquet.batchreader.dictionary.BinaryBatchDictionary;
 import com.facebook.presto.parquet.batchreader.dictionary.Dictionaries;
 import com.facebook.presto.parquet.dictionary.Dictionary;
 import com.facebook.presto.parquet.reader.ColumnChunk;
@@ -42,6 +46,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static com.facebook.presto.common.block.DictionaryId.randomDictionaryId;
 import static com.facebook.presto.parquet.ParquetErrorCode.PARQUET_IO_READ_ERROR;
 import static com.facebook.presto.parquet.batchreader.decoders.Decoders.readFlatPage;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -61,6 +66,9 @@ public class BinaryFlatBatchReader
     protected int remainingCountInPage;
 
     private Dictionary dictionary;
+    // the values of the dictionary of the column chunk, shared by the dictionary blocks of all the batches
+    private Block dictionaryBlock;
+    private final DictionaryId dictionaryId = randomDictionaryId();
     private int readOffset;
     private PageReader pageReader;
 
@@ -125,6 +133,7 @@ public class BinaryFlatBatchReader
                 (definitionLevelDecoder == null ? 0 : definitionLevelDecoder.getRetainedSizeInBytes()) +
                 (valuesDecoder == null ? 0 : valuesDecoder.getRetainedSizeInBytes()) +
                 (dictionary == null ? 0 : dictionary.getRetainedSizeInBytes()) +
+                (dictionaryBlock == null ? 0 : dictionaryBlock.getRetainedSizeInBytes()) +
                 (pageReader == null ? 0 : pageReader.getRetainedSizeInBytes());
     }
 
@@ -189,6 +198,10 @@ public class BinaryFlatBatchReader
             return new ColumnChunk(block, new int[0], new int[0]);
         }
 
+        if (isDictionaryEncoded(valueBuffers)) {
+            return new ColumnChunk(createDictionaryBlock(valueBuffers, valuesDecoderContexts, isNull), new int[0], new int[0]);
+        }
+
         byte[] byteBuffer = new byte[bufferSize];
         int[] offsets = new int[nextBatchSize + 1];
 
@@ -260,6 +273,10 @@ public class BinaryFlatBatchReader
             remainingCountInPage -= readChunkSize;
         }
 
+        if (isDictionaryEncoded(valueBuffers)) {
+            return new ColumnChunk(createDictionaryBlock(valueBuffers, valuesDecoderContexts, isNull), new int[0], new int[0]);
+        }
+
         byte[] byteBuffer = new byte[bufferSize];
         int[] offsets = new int[nextBatchSize + 1];
 
@@ -279,6 +296,49 @@ public class BinaryFlatBatchReader
         return new ColumnChunk(block, new int[0], new int[0]);
     }
 
+    private boolean isDictionaryEncoded(List<ValueBuffer> valueBuffers)
+    {
+        if (!(dictionary instanceof BinaryBatchDictionary)) {
+            return false;
+        }
+        for (ValueBuffer valueBuffer : valueBuffers) {
+            if (!(valueBuffer instanceof RLEValueBuffer)) {
+                // the writer fell back to plain encoding in some page of this batch
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a block of ids into the dictionary of the column chunk instead of copying the values,
+     * so that the engine can process each distinct value once. The batches of a column chunk share
+     * the same dictionary id, and nulls refer to the null entry at the end of the dictionary.
+     */
+    private Block createDictionaryBlock(List<ValueBuffer> valueBuffers, List<ValuesDecoderContext> valuesDecoderContexts, boolean[] isNull)
+    {
+        if (dictionaryBlock == null) {
+            dictionaryBlock = ((BinaryBatchDictionary) dictionary).toBlock();
+        }
+        int nullId = dictionaryBlock.getPositionCount() - 1;
+
+        int[] ids = new int[nextBatchSize];
+        for (int i = 0; i < valuesDecoderContexts.size(); i++) {
+            ValuesDecoderContext valuesDecoderContext = valuesDecoderContexts.get(i);
+            int[] dictionaryIds = ((RLEValueBuffer) valueBuffers.get(i)).getDictionaryIds();
+            if (valuesDecoderContext.getNonNullCount() == valuesDecoderContext.getValueCount()) {
+                System.arraycopy(dictionaryIds, 0, ids, valuesDecoderContext.getStart(), dictionaryIds.length);
+                continue;
+            }
+
+            int sourceIndex = 0;
+            for (int position = valuesDecoderContext.getStart(); position < valuesDecoderContext.getEnd(); position++) {
+                ids[position] = isNull[position] ? nullId : dictionaryIds[sourceIndex++];
+            }
+        }
+        return new DictionaryBlock(nextBatchSize, dictionaryBlock, ids, dictionaryId);
+    }
+
     private void seek()
             throws IOException
     {
@@ -14,6 +14,8 @@
 
 package com.facebook.presto.parquet.batchreader.dictionary;
 
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.VariableWidthBlock;
 import com.facebook.presto.parquet.DictionaryPage;
 import com.facebook.presto.parquet.batchreader.BytesUtils;
 import com.facebook.presto.parquet.dictionary.Dictionary;
@@ -21,8 +23,11 @@ import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import org.openjdk.jol.info.ClassLayout;
 
+import java.util.Optional;
+
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.airlift.slice.SizeOf.sizeOf;
+import static io.airlift.slice.Slices.wrappedBuffer;
 import static java.util.Objects.requireNonNull;
 
 public final class BinaryBatchDictionary
@@ -100,6 +105,29 @@ public final class BinaryBatchDictionary
         }
     }
 
+    /**
+     * Returns the values of this dictionary as a block, followed by a null at position {@code dictionarySize}.
+     */
+    public Block toBlock()
+    {
+        int bufferSize = 0;
+        for (int dictionaryId = 0; dictionaryId < dictionarySize; dictionaryId++) {
+            bufferSize += getLength(dictionaryId);
+        }
+
+        byte[] byteBuffer = new byte[bufferSize];
+        int[] blockOffsets = new int[dictionarySize + 2];
+        boolean[] isNull = new boolean[dictionarySize + 1];
+        int bufferIndex = 0;
+        for (int dictionaryId = 0; dictionaryId < dictionarySize; dictionaryId++) {
+            bufferIndex += copyTo(byteBuffer, bufferIndex, dictionaryId);
+            blockOffsets[dictionaryId + 1] = bufferIndex;
+        }
+        blockOffsets[dictionarySize + 1] = bufferIndex;
+        isNull[dictionarySize] = true;
+        return new VariableWidthBlock(dictionarySize + 1, wrappedBuffer(byteBuffer), blockOffsets, Optional.of(isNull));
+    }
+
     @Override
     public long getRetainedSizeInBytes()
     {
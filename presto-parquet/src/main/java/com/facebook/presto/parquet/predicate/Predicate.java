@@ -17,6 +17,7 @@ import com.facebook.presto.parquet.ParquetDataSourceId;
 import com.facebook.presto.spi.WarningCollector;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
 
 import java.util.Map;
@@ -43,6 +44,12 @@ public interface Predicate
         {
             return true;
         }
+
+        @Override
+        public boolean matches(ColumnDescriptor column, BloomFilter bloomFilter)
+        {
+            return true;
+        }
     };
 
     /**
@@ -73,4 +80,14 @@ public interface Predicate
      * @param columnIndexStore column index (statistics) store
      */
     boolean matches(long numberOfRows, Optional<ColumnIndexStore> columnIndexStore);
+
+    /**
+     * Should the Parquet Reader process a file section with the specified Bloom filter of a single column.
+     * Like dictionaries, Bloom filters are checked one column at a time, so no more of them need to be
+     * read once the section can be eliminated.
+     *
+     * @param column the column of the Bloom filter
+     * @param bloomFilter the split block Bloom filter of the column chunk
+     */
+    boolean matches(ColumnDescriptor column, BloomFilter bloomFilter);
 }
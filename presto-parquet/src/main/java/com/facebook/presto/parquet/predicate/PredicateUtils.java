@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.parquet.predicate;
 
+import com.facebook.presto.common.predicate.Domain;
 import com.facebook.presto.common.predicate.TupleDomain;
 import com.facebook.presto.common.type.Type;
 import com.facebook.presto.parquet.DictionaryPage;
@@ -31,7 +32,10 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.EncodingStats;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.crypto.HiddenColumnChunkMetaData;
+import org.apache.parquet.format.BloomFilterHeader;
 import org.apache.parquet.format.DictionaryPageHeader;
 import org.apache.parquet.format.PageHeader;
 import org.apache.parquet.format.PageType;
@@ -55,8 +59,10 @@ import static com.facebook.presto.common.type.SmallintType.SMALLINT;
 import static com.facebook.presto.common.type.TinyintType.TINYINT;
 import static com.facebook.presto.parquet.ParquetCompressionUtils.decompress;
 import static com.facebook.presto.parquet.ParquetTypeUtils.getParquetEncoding;
+import static com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate.getDiscreteValues;
 import static com.google.common.base.Verify.verify;
 import static io.airlift.slice.Slices.wrappedBuffer;
+import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
 import static org.apache.parquet.column.Encoding.BIT_PACKED;
 import static org.apache.parquet.column.Encoding.PLAIN_DICTIONARY;
@@ -64,6 +70,9 @@ import static org.apache.parquet.column.Encoding.RLE;
 
 public final class PredicateUtils
 {
+    // the Thrift header of a Bloom filter only has a few small fields
+    private static final int BLOOM_FILTER_HEADER_SIZE_ESTIMATE = 64;
+
     private PredicateUtils()
     {
     }
@@ -117,6 +126,29 @@ public final class PredicateUtils
             Optional<ColumnIndexStore> columnIndexStore,
             boolean readColumnIndex,
             Optional<WarningCollector> warningCollector)
+    {
+        return predicateMatches(
+                parquetPredicate,
+                block,
+                dataSource,
+                descriptorsByPath,
+                parquetTupleDomain,
+                columnIndexStore,
+                readColumnIndex,
+                false,
+                warningCollector);
+    }
+
+    public static boolean predicateMatches(
+            Predicate parquetPredicate,
+            BlockMetaData block,
+            ParquetDataSource dataSource,
+            Map<List<String>, RichColumnDescriptor> descriptorsByPath,
+            TupleDomain<ColumnDescriptor> parquetTupleDomain,
+            Optional<ColumnIndexStore> columnIndexStore,
+            boolean readColumnIndex,
+            boolean readBloomFilter,
+            Optional<WarningCollector> warningCollector)
     {
         Map<ColumnDescriptor, Statistics<?>> columnStatistics = getStatistics(block, descriptorsByPath);
         if (!parquetPredicate.matches(block.getRowCount(), columnStatistics, dataSource.getId(), warningCollector)) {
@@ -128,7 +160,12 @@ public final class PredicateUtils
             return false;
         }
 
-        return dictionaryPredicatesMatch(parquetPredicate, block, dataSource, descriptorsByPath, parquetTupleDomain);
+        if (!dictionaryPredicatesMatch(parquetPredicate, block, dataSource, descriptorsByPath, parquetTupleDomain)) {
+            return false;
+        }
+
+        // Bloom filters need an extra read per column, so they are checked last
+        return !readBloomFilter || bloomFilterPredicatesMatch(parquetPredicate, block, dataSource, descriptorsByPath, parquetTupleDomain);
     }
 
     private static Map<ColumnDescriptor, Statistics<?>> getStatistics(BlockMetaData blockMetadata, Map<List<String>, RichColumnDescriptor> descriptorsByPath)
@@ -164,6 +201,77 @@ public final class PredicateUtils
         return true;
     }
 
+    private static boolean bloomFilterPredicatesMatch(Predicate parquetPredicate, BlockMetaData blockMetadata, ParquetDataSource dataSource, Map<List<String>, RichColumnDescriptor> descriptorsByPath, TupleDomain<ColumnDescriptor> parquetTupleDomain)
+    {
+        for (ColumnChunkMetaData columnMetaData : blockMetadata.getColumns()) {
+            if (HiddenColumnChunkMetaData.isHiddenColumn(columnMetaData) || columnMetaData.isEncrypted() || columnMetaData.getBloomFilterOffset() < 0) {
+                continue;
+            }
+            RichColumnDescriptor descriptor = descriptorsByPath.get(Arrays.asList(columnMetaData.getPath().toArray()));
+            // the dictionary of a column with only dictionary encoded pages was already checked, and it is exact
+            if (descriptor != null && !isOnlyDictionaryEncodingPages(columnMetaData) && isBloomFilterPredicate(descriptor, parquetTupleDomain)) {
+                Optional<BloomFilter> bloomFilter = readBloomFilter(dataSource, columnMetaData);
+                //  Early abort, predicate already filters block so no more Bloom filters need be read
+                if (bloomFilter.isPresent() && !parquetPredicate.matches(descriptor, bloomFilter.get())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBloomFilterPredicate(ColumnDescriptor columnDescriptor, TupleDomain<ColumnDescriptor> parquetTupleDomain)
+    {
+        verify(parquetTupleDomain.getDomains().isPresent(), "parquetTupleDomain is empty");
+        Domain domain = parquetTupleDomain.getDomains().get().get(columnDescriptor);
+        return domain != null && getDiscreteValues(domain).isPresent();
+    }
+
+    /**
+     * Reads the split block Bloom filter of a column chunk, which is stored at the offset recorded in the footer.
+     * Bloom filters with an unsupported algorithm, hash or compression, or that can't be read, are ignored.
+     */
+    @VisibleForTesting
+    public static Optional<BloomFilter> readBloomFilter(ParquetDataSource dataSource, ColumnChunkMetaData columnMetaData)
+    {
+        long offset = columnMetaData.getBloomFilterOffset();
+        if (offset < 0) {
+            return Optional.empty();
+        }
+
+        try {
+            // writers that record the length of the Bloom filter allow reading it at once, otherwise the header is read first
+            int length = columnMetaData.getBloomFilterLength();
+            byte[] buffer = new byte[length > 0 ? length : BLOOM_FILTER_HEADER_SIZE_ESTIMATE];
+            dataSource.readFully(offset, buffer);
+
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(buffer);
+            BloomFilterHeader header = Util.readBloomFilterHeader(inputStream);
+            if (!header.getAlgorithm().isSetBLOCK() || !header.getHash().isSetXXHASH() || !header.getCompression().isSetUNCOMPRESSED()) {
+                return Optional.empty();
+            }
+            int bitsetSize = header.getNumBytes();
+            if (bitsetSize <= 0 || bitsetSize > BlockSplitBloomFilter.UPPER_BOUND_BYTES) {
+                return Optional.empty();
+            }
+
+            int headerSize = buffer.length - inputStream.available();
+            byte[] bitset = new byte[bitsetSize];
+            int bufferedBitsetSize = min(bitsetSize, inputStream.available());
+            System.arraycopy(buffer, headerSize, bitset, 0, bufferedBitsetSize);
+            if (bufferedBitsetSize < bitsetSize) {
+                byte[] remaining = new byte[bitsetSize - bufferedBitsetSize];
+                dataSource.readFully(offset + headerSize + bufferedBitsetSize, remaining);
+                System.arraycopy(remaining, 0, bitset, bufferedBitsetSize, remaining.length);
+            }
+            return Optional.of(new BlockSplitBloomFilter(bitset));
+        }
+        catch (IOException | RuntimeException ignored) {
+            // OK to ignore exceptions when reading Bloom filters, the row group is read as if there was none
+            return Optional.empty();
+        }
+    }
+
     private static Optional<DictionaryPage> readDictionaryPage(byte[] data, CompressionCodecName codecName)
     {
         try {
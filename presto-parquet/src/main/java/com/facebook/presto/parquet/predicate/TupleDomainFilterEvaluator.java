@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.predicate;
+
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.DictionaryBlock;
+import com.facebook.presto.common.block.RunLengthEncodedBlock;
+import com.facebook.presto.common.predicate.TupleDomainFilter;
+import com.facebook.presto.common.type.DecimalType;
+import com.facebook.presto.common.type.Type;
+import io.airlift.slice.Slice;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.common.type.Chars.isCharType;
+import static com.facebook.presto.common.type.DateType.DATE;
+import static com.facebook.presto.common.type.DoubleType.DOUBLE;
+import static com.facebook.presto.common.type.IntegerType.INTEGER;
+import static com.facebook.presto.common.type.RealType.REAL;
+import static com.facebook.presto.common.type.SmallintType.SMALLINT;
+import static com.facebook.presto.common.type.TimestampType.TIMESTAMP;
+import static com.facebook.presto.common.type.TinyintType.TINYINT;
+import static com.facebook.presto.common.type.VarbinaryType.VARBINARY;
+import static com.facebook.presto.common.type.Varchars.isVarcharType;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.toIntExact;
+
+/**
+ * Evaluates a {@link TupleDomainFilter} on the positions of a block decoded by the Parquet column readers.
+ * Each distinct value of dictionary and run length encoded blocks is only tested once.
+ */
+public final class TupleDomainFilterEvaluator
+{
+    private static final byte FILTER_NOT_EVALUATED = 0;
+    private static final byte FILTER_PASSED = 1;
+    private static final byte FILTER_FAILED = 2;
+
+    private TupleDomainFilterEvaluator() {}
+
+    public static boolean isSupportedType(Type type)
+    {
+        return type.equals(BIGINT) ||
+                type.equals(INTEGER) ||
+                type.equals(SMALLINT) ||
+                type.equals(TINYINT) ||
+                type.equals(DATE) ||
+                type.equals(TIMESTAMP) ||
+                type.equals(BOOLEAN) ||
+                type.equals(DOUBLE) ||
+                type.equals(REAL) ||
+                type.equals(VARBINARY) ||
+                type instanceof DecimalType ||
+                isVarcharType(type) ||
+                isCharType(type);
+    }
+
+    /**
+     * Keeps the positions of the block that pass the filter at the start of {@code positions},
+     * and returns how many of them there are.
+     *
+     * @param positions Monotonically increasing list of positions to evaluate
+     * @param positionCount Number of valid entries in the positions array
+     */
+    public static int filter(Block block, Type type, TupleDomainFilter filter, int[] positions, int positionCount)
+    {
+        if (block instanceof RunLengthEncodedBlock) {
+            return testPosition(((RunLengthEncodedBlock) block).getValue(), 0, type, filter) ? positionCount : 0;
+        }
+        if (block instanceof DictionaryBlock) {
+            return filterDictionary((DictionaryBlock) block, type, filter, positions, positionCount);
+        }
+
+        int outputPositionCount = 0;
+        for (int i = 0; i < positionCount; i++) {
+            int position = positions[i];
+            if (testPosition(block, position, type, filter)) {
+                positions[outputPositionCount] = position;
+                outputPositionCount++;
+            }
+        }
+        return outputPositionCount;
+    }
+
+    private static int filterDictionary(DictionaryBlock block, Type type, TupleDomainFilter filter, int[] positions, int positionCount)
+    {
+        Block dictionary = block.getDictionary();
+        byte[] results = new byte[dictionary.getPositionCount()];
+
+        int outputPositionCount = 0;
+        for (int i = 0; i < positionCount; i++) {
+            int position = positions[i];
+            int id = block.getId(position);
+            if (results[id] == FILTER_NOT_EVALUATED) {
+                results[id] = testPosition(dictionary, id, type, filter) ? FILTER_PASSED : FILTER_FAILED;
+            }
+            if (results[id] == FILTER_PASSED) {
+                positions[outputPositionCount] = position;
+                outputPositionCount++;
+            }
+        }
+        return outputPositionCount;
+    }
+
+    private static boolean testPosition(Block block, int position, Type type, TupleDomainFilter filter)
+    {
+        if (block.isNull(position)) {
+            return filter.testNull();
+        }
+
+        if (type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT) || type.equals(DATE) || type.equals(TIMESTAMP)) {
+            return filter.testLong(type.getLong(block, position));
+        }
+        if (type.equals(BOOLEAN)) {
+            return filter.testBoolean(type.getBoolean(block, position));
+        }
+        if (type.equals(DOUBLE)) {
+            return filter.testDouble(type.getDouble(block, position));
+        }
+        if (type.equals(REAL)) {
+            return filter.testFloat(intBitsToFloat(toIntExact(type.getLong(block, position))));
+        }
+        if (type instanceof DecimalType) {
+            if (((DecimalType) type).isShort()) {
+                return filter.testLong(type.getLong(block, position));
+            }
+            return filter.testDecimal(block.getLong(position, 0), block.getLong(position, Long.BYTES));
+        }
+        if (isVarcharType(type) || isCharType(type) || type.equals(VARBINARY)) {
+            Slice slice = type.getSlice(block, position);
+            if (!filter.testLength(slice.length())) {
+                return false;
+            }
+            if (slice.hasByteArray()) {
+                return filter.testBytes(slice.byteArray(), slice.byteArrayOffset(), slice.length());
+            }
+            return filter.testBytes(slice.getBytes(), 0, slice.length());
+        }
+
+        throw new UnsupportedOperationException("Unsupported filter type: " + type);
+    }
+}
@@ -31,6 +31,7 @@ import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.filter2.predicate.FilterApi;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
@@ -44,6 +45,7 @@ import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,7 +64,10 @@ import static com.facebook.presto.common.type.Varchars.isVarcharType;
 import static com.facebook.presto.parquet.ParquetWarningCode.PARQUET_FILE_STATISTICS_CORRUPTION;
 import static com.facebook.presto.parquet.predicate.PredicateUtils.isStatisticsOverflow;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.lang.Float.floatToRawIntBits;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Objects.requireNonNull;
@@ -393,6 +398,90 @@ public class TupleDomainParquetPredicate
         return true;
     }
 
+    @Override
+    public boolean matches(ColumnDescriptor column, BloomFilter bloomFilter)
+    {
+        requireNonNull(bloomFilter, "bloomFilter is null");
+        if (effectivePredicate.isNone()) {
+            return false;
+        }
+
+        Map<ColumnDescriptor, Domain> effectivePredicateDomains = effectivePredicate.getDomains()
+                .orElseThrow(() -> new IllegalStateException("Effective predicate other than none should have domains"));
+
+        Domain effectivePredicateDomain = effectivePredicateDomains.get(column);
+        if (effectivePredicateDomain == null) {
+            return true;
+        }
+
+        Optional<List<Long>> hashes = getBloomFilterHashes(effectivePredicateDomain, column.getPrimitiveType().getPrimitiveTypeName(), bloomFilter);
+        return !hashes.isPresent() || hashes.get().stream().anyMatch(bloomFilter::findHash);
+    }
+
+    /**
+     * Returns the values allowed by the domain if it only allows a set of single values, which is what
+     * equality and IN-list predicates turn into. Bloom filters can't be used for other domains, and they
+     * don't record nulls.
+     */
+    static Optional<Collection<Object>> getDiscreteValues(Domain domain)
+    {
+        if (domain.isNullAllowed() || domain.isAll() || domain.isNone()) {
+            return Optional.empty();
+        }
+        return domain.getValues().getValuesProcessor().transform(
+                ranges -> {
+                    if (!ranges.getOrderedRanges().stream().allMatch(Range::isSingleValue)) {
+                        return Optional.empty();
+                    }
+                    return Optional.of(ranges.getOrderedRanges().stream()
+                            .map(Range::getSingleValue)
+                            .collect(toImmutableList()));
+                },
+                discreteValues -> discreteValues.isWhiteList() ? Optional.of(discreteValues.getValues()) : Optional.empty(),
+                allOrNone -> Optional.empty());
+    }
+
+    /**
+     * Hashes the values of the domain the way the Parquet writer hashes the values of a column of the given type,
+     * or returns empty if the Bloom filter can't be used for the domain.
+     */
+    @VisibleForTesting
+    public static Optional<List<Long>> getBloomFilterHashes(Domain domain, PrimitiveTypeName primitiveType, BloomFilter bloomFilter)
+    {
+        Optional<Collection<Object>> values = getDiscreteValues(domain);
+        if (!values.isPresent()) {
+            return Optional.empty();
+        }
+
+        Type type = domain.getType();
+        ImmutableList.Builder<Long> hashes = ImmutableList.builder();
+        for (Object value : values.get()) {
+            if (primitiveType == INT32 && (type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT) || type.equals(DATE))) {
+                long longValue = (long) value;
+                // a value that doesn't fit in the column can't be in it
+                if (longValue == (int) longValue) {
+                    hashes.add(bloomFilter.hash((int) longValue));
+                }
+            }
+            else if (primitiveType == INT64 && (type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT))) {
+                hashes.add(bloomFilter.hash((long) value));
+            }
+            else if (primitiveType == FLOAT && type.equals(REAL)) {
+                hashes.add(bloomFilter.hash(intBitsToFloat(toIntExact((long) value))));
+            }
+            else if (primitiveType == PrimitiveTypeName.DOUBLE && type.equals(DOUBLE)) {
+                hashes.add(bloomFilter.hash((double) value));
+            }
+            else if (primitiveType == BINARY && isVarcharType(type)) {
+                hashes.add(bloomFilter.hash(Binary.fromConstantByteBuffer(((Slice) value).toByteBuffer())));
+            }
+            else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(hashes.build());
+    }
+
     @VisibleForTesting
     public Domain getDomain(Type type, long rowCount, ColumnIndex columnIndex, RichColumnDescriptor descriptor)
     {
@@ -470,9 +559,8 @@ public class TupleDomainParquetPredicate
     {
         FilterPredicate filter = null;
 
-        //  It could be a Presto bug that we don't see effectivePredicate.getDomains().get() has more than 1 domain.
-        //  For example, the 'where c1=3 or c1=10002' clause should have two domains but it has none
-        //  we assume the relation cross domains are 'or'
+        // The domains of a tuple domain are a conjunction, so the rows of a page are only read
+        // if the pages of every column with a predicate could have matching values.
         for (RichColumnDescriptor column : columns) {
             Domain domain = effectivePredicate.getDomains().get().get(column);
             if (domain == null || domain.isNone()) {
@@ -488,7 +576,7 @@ public class TupleDomainParquetPredicate
                 filter = columnFilter;
             }
             else {
-                filter = FilterApi.or(filter, columnFilter);
+                filter = FilterApi.and(filter, columnFilter);
             }
         }
 
@@ -579,7 +667,7 @@ public class TupleDomainParquetPredicate
     @VisibleForTesting
     public static Range getRange(Type type, Object min, Object max)
     {
-        if (type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT)) {
+        if (type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT) || type.equals(DATE)) {
             long minValue = asLong(min);
             long maxValue = asLong(max);
             return Range.range(type, minValue, true, maxValue, true);
@@ -589,6 +677,10 @@ public class TupleDomainParquetPredicate
             long maxValue = floatToRawIntBits((float) max);
             return Range.range(type, minValue, true, maxValue, true);
         }
+        else if (min instanceof Binary && isVarcharType(type)) {
+            // string page statistics are compared as unsigned bytes, like slices
+            return Range.range(type, Slices.wrappedBuffer(((Binary) min).toByteBuffer()), true, Slices.wrappedBuffer(((Binary) max).toByteBuffer()), true);
+        }
         else {
             return Range.range(type, min, true, max, true);
         }
@@ -0,0 +1,232 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.reader;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.memory.context.LocalMemoryContext;
+import com.facebook.presto.parquet.DiskRange;
+import com.facebook.presto.parquet.ParquetDataSource;
+import com.facebook.presto.parquet.ParquetPrefetchStats;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.facebook.airlift.concurrent.MoreFutures.getFutureValue;
+import static com.facebook.presto.parquet.ParquetDataSourceUtils.mergeAdjacentDiskRanges;
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Reads the column chunks of the row groups of a Parquet file ahead of the column readers.
+ * The column chunks of a row group are merged into larger reads, which are issued concurrently
+ * on the I/O executor, so the reader only waits for the reads that are not finished yet.
+ * <p>
+ * This class is not thread safe, it is used by the thread of the reader.
+ */
+public class ColumnChunkPrefetcher
+        implements Closeable
+{
+    private final ParquetDataSource dataSource;
+    private final Executor executor;
+    private final DataSize maxMergeDistance;
+    private final DataSize maxReadSize;
+    private final ParquetPrefetchStats stats;
+    private final LocalMemoryContext memoryContext;
+
+    // prefetched row groups by index in the file
+    private final TreeMap<Integer, List<PrefetchedRange>> rowGroups = new TreeMap<>();
+
+    public ColumnChunkPrefetcher(
+            ParquetDataSource dataSource,
+            Executor executor,
+            DataSize maxMergeDistance,
+            DataSize maxReadSize,
+            ParquetPrefetchStats stats,
+            LocalMemoryContext memoryContext)
+    {
+        this.dataSource = requireNonNull(dataSource, "dataSource is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        this.maxMergeDistance = requireNonNull(maxMergeDistance, "maxMergeDistance is null");
+        this.maxReadSize = requireNonNull(maxReadSize, "maxReadSize is null");
+        this.stats = requireNonNull(stats, "stats is null");
+        this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
+    }
+
+    /**
+     * Starts reading the column chunks of a row group, unless it has already been prefetched.
+     * Column chunks larger than the maximum read size are left to the column readers.
+     */
+    public void prefetch(int rowGroup, Collection<DiskRange> columnChunks)
+    {
+        if (rowGroups.containsKey(rowGroup)) {
+            return;
+        }
+
+        List<DiskRange> diskRanges = columnChunks.stream()
+                .filter(diskRange -> diskRange.getLength() <= maxReadSize.toBytes())
+                .collect(toImmutableList());
+        List<PrefetchedRange> ranges = mergeAdjacentDiskRanges(diskRanges, maxMergeDistance, maxReadSize).stream()
+                .map(diskRange -> new PrefetchedRange(diskRange, supplyAsync(() -> read(diskRange), executor)))
+                .collect(toImmutableList());
+        rowGroups.put(rowGroup, ranges);
+        updateMemoryUsage();
+    }
+
+    /**
+     * Copies the bytes from a prefetched column chunk, waiting for its read to finish.
+     *
+     * @return false if these bytes have not been prefetched
+     */
+    public boolean readFully(long position, byte[] buffer, int bufferOffset, int bufferLength)
+    {
+        if (bufferLength == 0) {
+            return false;
+        }
+        DiskRange diskRange = new DiskRange(position, bufferLength);
+        for (List<PrefetchedRange> ranges : rowGroups.values()) {
+            for (PrefetchedRange range : ranges) {
+                if (range.getDiskRange().contains(diskRange)) {
+                    byte[] data = range.getData();
+                    System.arraycopy(data, toIntExact(position - range.getDiskRange().getOffset()), buffer, bufferOffset, bufferLength);
+                    range.addUsedBytes(bufferLength);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the buffers of the row groups before the given one.
+     */
+    public void releaseBefore(int rowGroup)
+    {
+        Iterator<Map.Entry<Integer, List<PrefetchedRange>>> iterator = rowGroups.headMap(rowGroup).entrySet().iterator();
+        while (iterator.hasNext()) {
+            release(iterator.next().getValue());
+            iterator.remove();
+        }
+        updateMemoryUsage();
+    }
+
+    @Override
+    public void close()
+    {
+        rowGroups.values().forEach(this::release);
+        rowGroups.clear();
+        memoryContext.close();
+    }
+
+    private byte[] read(DiskRange diskRange)
+    {
+        byte[] buffer = new byte[diskRange.getLength()];
+        dataSource.readFully(diskRange.getOffset(), buffer);
+        stats.addPrefetchReadBytes(buffer.length);
+        return buffer;
+    }
+
+    private void release(List<PrefetchedRange> ranges)
+    {
+        long wastedBytes = 0;
+        for (PrefetchedRange range : ranges) {
+            wastedBytes += range.release();
+        }
+        if (wastedBytes > 0) {
+            stats.addPrefetchWastedBytes(wastedBytes);
+        }
+    }
+
+    private void updateMemoryUsage()
+    {
+        long bytes = 0;
+        for (List<PrefetchedRange> ranges : rowGroups.values()) {
+            for (PrefetchedRange range : ranges) {
+                bytes += range.getDiskRange().getLength();
+            }
+        }
+        memoryContext.setBytes(bytes);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("dataSource", dataSource.getId())
+                .add("rowGroups", rowGroups.keySet())
+                .toString();
+    }
+
+    private final class PrefetchedRange
+    {
+        private final DiskRange diskRange;
+        private final CompletableFuture<byte[]> data;
+        private long usedBytes;
+
+        public PrefetchedRange(DiskRange diskRange, CompletableFuture<byte[]> data)
+        {
+            this.diskRange = requireNonNull(diskRange, "diskRange is null");
+            this.data = requireNonNull(data, "data is null");
+        }
+
+        public DiskRange getDiskRange()
+        {
+            return diskRange;
+        }
+
+        public byte[] getData()
+        {
+            if (data.isDone()) {
+                return getFutureValue(data);
+            }
+            long start = System.nanoTime();
+            try {
+                return getFutureValue(data);
+            }
+            finally {
+                stats.addPrefetchWaitTime(System.nanoTime() - start);
+            }
+        }
+
+        public void addUsedBytes(long bytes)
+        {
+            usedBytes += bytes;
+        }
+
+        /**
+         * Returns the number of bytes that were read but not used.
+         */
+        public long release()
+        {
+            if (!data.isDone()) {
+                // the read still runs on the executor, but nothing waits for it anymore
+                data.cancel(false);
+                return 0;
+            }
+            if (data.isCompletedExceptionally()) {
+                return 0;
+            }
+            return diskRange.getLength() - min(usedBytes, diskRange.getLength());
+        }
+    }
+}
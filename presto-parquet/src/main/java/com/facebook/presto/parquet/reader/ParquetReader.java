@@ -29,6 +29,7 @@ import com.facebook.presto.memory.context.AggregatedMemoryContext;
 import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.parquet.ColumnReader;
 import com.facebook.presto.parquet.ColumnReaderFactory;
+import com.facebook.presto.parquet.DiskRange;
 import com.facebook.presto.parquet.Field;
 import com.facebook.presto.parquet.GroupField;
 import com.facebook.presto.parquet.ParquetCorruptionException;
@@ -39,6 +40,7 @@ import com.facebook.presto.parquet.RichColumnDescriptor;
 import com.facebook.presto.parquet.predicate.Predicate;
 import com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate;
 import com.facebook.presto.parquet.reader.ColumnIndexFilterUtils.OffsetRange;
+import com.google.common.collect.ImmutableList;
 import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
 import it.unimi.dsi.fastutil.booleans.BooleanList;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
@@ -118,6 +120,7 @@ public class ParquetReader
     private final List<RowRanges> blockRowRanges;
     private final Map<ColumnPath, ColumnDescriptor> paths = new HashMap<>();
     private final boolean columnIndexFilterEnabled;
+    private final Optional<ColumnChunkPrefetcher> prefetcher;
     private BlockMetaData currentBlockMetadata;
     /**
      * Index in the Parquet file of the first row of the current group
@@ -147,6 +150,40 @@ public class ParquetReader
             List<ColumnIndexStore> blockIndexStores,
             boolean columnIndexFilterEnabled,
             Optional<InternalFileDecryptor> fileDecryptor)
+    {
+        this(
+                messageColumnIO,
+                blocks,
+                firstRowsOfBlocks,
+                dataSource,
+                systemMemoryContext,
+                maxReadBlockSize,
+                batchReadEnabled,
+                enableVerification,
+                parquetPredicate,
+                blockIndexStores,
+                columnIndexFilterEnabled,
+                fileDecryptor,
+                Optional.empty());
+    }
+
+    /**
+     * @param prefetcher reads the column chunks of the current and the next row group ahead of the column readers
+     */
+    public ParquetReader(
+            MessageColumnIO messageColumnIO,
+            List<BlockMetaData> blocks,
+            Optional<List<Long>> firstRowsOfBlocks,
+            ParquetDataSource dataSource,
+            AggregatedMemoryContext systemMemoryContext,
+            DataSize maxReadBlockSize,
+            boolean batchReadEnabled,
+            boolean enableVerification,
+            Predicate parquetPredicate,
+            List<ColumnIndexStore> blockIndexStores,
+            boolean columnIndexFilterEnabled,
+            Optional<InternalFileDecryptor> fileDecryptor,
+            Optional<ColumnChunkPrefetcher> prefetcher)
     {
         this.blocks = blocks;
         this.firstRowsOfBlocks = requireNonNull(firstRowsOfBlocks, "firstRowsOfBlocks is null");
@@ -183,12 +220,14 @@ public class ParquetReader
         this.columnIndexFilterEnabled = columnIndexFilterEnabled;
         requireNonNull(fileDecryptor, "fileDecryptor is null");
         this.fileDecryptor = fileDecryptor;
+        this.prefetcher = requireNonNull(prefetcher, "prefetcher is null");
     }
 
     @Override
     public void close()
             throws IOException
     {
+        prefetcher.ifPresent(ColumnChunkPrefetcher::close);
         dataSource.close();
         parquetReaderMemoryContext.close();
         systemMemoryContext.close();
@@ -243,30 +282,57 @@ public class ParquetReader
 
     private boolean advanceToNextRowGroup()
     {
-        currentBlock++;
-        if (currentBlock == blocks.size()) {
-            return false;
-        }
-        currentBlockMetadata = blocks.get(currentBlock);
-        firstRowIndexInGroup = firstRowsOfBlocks.map(firstRows -> firstRows.get(currentBlock));
-
-        if (filter != null && columnIndexFilterEnabled) {
-            ColumnIndexStore columnIndexStore = blockIndexStores.get(currentBlock);
-            if (columnIndexStore != null) {
-                currentGroupRowRanges = getRowRanges(currentBlock);
-                long rowCount = currentGroupRowRanges.rowCount();
-                if (rowCount == 0) {
-                    return false;
+        while (true) {
+            currentBlock++;
+            if (currentBlock == blocks.size()) {
+                return false;
+            }
+            currentBlockMetadata = blocks.get(currentBlock);
+            firstRowIndexInGroup = firstRowsOfBlocks.map(firstRows -> firstRows.get(currentBlock));
+            currentGroupRowRanges = null;
+
+            if (filter != null && columnIndexFilterEnabled) {
+                ColumnIndexStore columnIndexStore = blockIndexStores.get(currentBlock);
+                if (columnIndexStore != null) {
+                    currentGroupRowRanges = getRowRanges(currentBlock);
+                    // the column indexes rule out every page of the row group, the next one may still match
+                    if (currentGroupRowRanges.rowCount() == 0) {
+                        continue;
+                    }
                 }
             }
+            break;
         }
 
         nextRowInGroup = 0L;
         currentGroupRowCount = currentBlockMetadata.getRowCount();
         initializeColumnReaders();
+        if (prefetcher.isPresent()) {
+            // the next row group is read while the current one is decoded
+            prefetcher.get().releaseBefore(currentBlock);
+            prefetchRowGroup(currentBlock);
+            if (currentBlock + 1 < blocks.size()) {
+                prefetchRowGroup(currentBlock + 1);
+            }
+        }
         return true;
     }
 
+    private void prefetchRowGroup(int block)
+    {
+        BlockMetaData blockMetadata = blocks.get(block);
+        if (blockMetadata.getRowCount() == 0) {
+            return;
+        }
+        ImmutableList.Builder<DiskRange> columnChunks = ImmutableList.builder();
+        for (PrimitiveColumnIO column : columns) {
+            findColumnChunkMetaData(blockMetadata, column.getColumnDescriptor())
+                    .filter(metadata -> metadata.getTotalSize() > 0)
+                    .ifPresent(metadata -> columnChunks.add(new DiskRange(metadata.getStartingPos(), toIntExact(metadata.getTotalSize()))));
+        }
+        prefetcher.get().prefetch(block, columnChunks.build());
+    }
+
     private ColumnChunk readArray(GroupField field)
             throws IOException
     {
@@ -443,7 +509,7 @@ public class ParquetReader
                 }
                 //Read upto totalSize bytes
                 len = (int) Math.min(len, totalSize - readBytes);
-                dataSource.readFully(currentPosition, buffer, offset, len);
+                readFully(currentPosition, buffer, offset, len);
 
                 //Update references
                 currentPosition += len;
@@ -460,6 +526,13 @@ public class ParquetReader
         return dataSourceAsStream;
     }
 
+    private void readFully(long position, byte[] buffer, int offset, int length)
+    {
+        if (!prefetcher.isPresent() || !prefetcher.get().readFully(position, buffer, offset, length)) {
+            dataSource.readFully(position, buffer, offset, length);
+        }
+    }
+
     private boolean shouldUseColumnIndex(ColumnPath path)
     {
         return filter != null &&
@@ -510,12 +583,21 @@ public class ParquetReader
     private ColumnChunkMetaData getColumnChunkMetaData(ColumnDescriptor columnDescriptor)
             throws IOException
     {
-        for (ColumnChunkMetaData metadata : currentBlockMetadata.getColumns()) {
+        Optional<ColumnChunkMetaData> metadata = findColumnChunkMetaData(currentBlockMetadata, columnDescriptor);
+        if (!metadata.isPresent()) {
+            throw new ParquetCorruptionException("Metadata is missing for column: %s", columnDescriptor);
+        }
+        return metadata.get();
+    }
+
+    private static Optional<ColumnChunkMetaData> findColumnChunkMetaData(BlockMetaData blockMetadata, ColumnDescriptor columnDescriptor)
+    {
+        for (ColumnChunkMetaData metadata : blockMetadata.getColumns()) {
             if (!HiddenColumnChunkMetaData.isHiddenColumn(metadata) && metadata.getPath().equals(ColumnPath.get(columnDescriptor.getPath()))) {
-                return metadata;
+                return Optional.of(metadata);
             }
         }
-        throw new ParquetCorruptionException("Metadata is missing for column: %s", columnDescriptor);
+        return Optional.empty();
     }
 
     private void initializeColumnReaders()
@@ -0,0 +1,251 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.reader;
+
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.LazyBlock;
+import com.facebook.presto.common.block.LazyBlockLoader;
+import com.facebook.presto.common.block.RunLengthEncodedBlock;
+import com.facebook.presto.common.predicate.FilterFunction;
+import com.facebook.presto.common.predicate.TupleDomainFilter;
+import com.facebook.presto.common.type.FixedWidthType;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.parquet.Field;
+import com.facebook.presto.spi.PrestoException;
+import com.google.common.collect.ImmutableList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.facebook.presto.parquet.ParquetErrorCode.PARQUET_IO_READ_ERROR;
+import static com.facebook.presto.parquet.predicate.TupleDomainFilterEvaluator.filter;
+import static com.facebook.presto.parquet.predicate.TupleDomainFilterEvaluator.isSupportedType;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the rows of a Parquet file that pass a conjunction of per-column {@link TupleDomainFilter}s
+ * and {@link FilterFunction}s.
+ * <p>
+ * The columns with a filter are decoded first, one at a time, and each filter is only evaluated on
+ * the rows that passed the previous ones. The other columns are returned as lazy blocks of the
+ * selected rows, and are not decoded at all for the batches in which no row is selected: their
+ * column readers skip over these rows when the next batch is read.
+ */
+public class ParquetSelectiveReader
+        implements Closeable
+{
+    private final ParquetReader parquetReader;
+    private final List<Type> types;
+    private final List<Optional<Field>> fields;
+    // values of the columns that are not read from the file, which may be null
+    private final Map<Integer, Object> constantValues;
+    // columns are filtered in this order
+    private final int[] filterChannels;
+    private final TupleDomainFilter[] filters;
+    private final List<FilterFunction> filterFunctions;
+    private final List<Integer> outputChannels;
+
+    private int batchId;
+    private long readPositions;
+    private int[] positions = new int[0];
+    private RuntimeException[] errors = new RuntimeException[0];
+
+    /**
+     * @param types types of the columns, indexed by channel
+     * @param fields fields of the columns, indexed by channel; empty for the columns in {@code constantValues} and the columns missing from the file
+     * @param filters filters of the columns, by channel
+     * @param filterFunctions filters on several columns, whose input channels are the channels of the columns
+     * @param outputChannels channels of the returned pages
+     */
+    public ParquetSelectiveReader(
+            ParquetReader parquetReader,
+            List<Type> types,
+            List<Optional<Field>> fields,
+            Map<Integer, Object> constantValues,
+            Map<Integer, TupleDomainFilter> filters,
+            List<FilterFunction> filterFunctions,
+            List<Integer> outputChannels)
+    {
+        this.parquetReader = requireNonNull(parquetReader, "parquetReader is null");
+        this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
+        this.fields = ImmutableList.copyOf(requireNonNull(fields, "fields is null"));
+        checkArgument(types.size() == fields.size(), "types and fields must correspond one-to-one");
+        this.constantValues = requireNonNull(constantValues, "constantValues is null");
+        this.filterFunctions = ImmutableList.copyOf(requireNonNull(filterFunctions, "filterFunctions is null"));
+        this.outputChannels = ImmutableList.copyOf(requireNonNull(outputChannels, "outputChannels is null"));
+
+        requireNonNull(filters, "filters is null");
+        for (Map.Entry<Integer, TupleDomainFilter> entry : filters.entrySet()) {
+            Type type = types.get(entry.getKey());
+            checkArgument(isSupportedType(type), "Unsupported filter type: %s", type);
+        }
+        // fixed width values are cheaper to decode and test, so their filters go first
+        List<Integer> orderedChannels = filters.keySet().stream()
+                .sorted(Comparator.comparing((Integer channel) -> !(types.get(channel) instanceof FixedWidthType)).thenComparing(channel -> channel))
+                .collect(toImmutableList());
+        this.filterChannels = orderedChannels.stream().mapToInt(Integer::intValue).toArray();
+        this.filters = orderedChannels.stream().map(filters::get).toArray(TupleDomainFilter[]::new);
+    }
+
+    public long getReadPositions()
+    {
+        return readPositions;
+    }
+
+    public ParquetReader getParquetReader()
+    {
+        return parquetReader;
+    }
+
+    /**
+     * Returns the next page of selected rows, or null once the file has been read. The page may be empty.
+     */
+    public Page getNextPage()
+            throws IOException
+    {
+        batchId++;
+        int batchSize = parquetReader.nextBatch();
+        if (batchSize <= 0) {
+            return null;
+        }
+        readPositions += batchSize;
+
+        initializePositions(batchSize);
+        int positionCount = batchSize;
+
+        Block[] blocks = new Block[types.size()];
+        for (int i = 0; i < filterChannels.length && positionCount > 0; i++) {
+            int channel = filterChannels[i];
+            blocks[channel] = readBlock(channel, batchSize);
+            positionCount = filter(blocks[channel], types.get(channel), filters[i], positions, positionCount);
+        }
+
+        for (int i = 0; i < filterFunctions.size() && positionCount > 0; i++) {
+            FilterFunction filterFunction = filterFunctions.get(i);
+            int[] inputChannels = filterFunction.getInputChannels();
+            Block[] inputBlocks = new Block[inputChannels.length];
+            for (int j = 0; j < inputChannels.length; j++) {
+                int channel = inputChannels[j];
+                if (blocks[channel] == null) {
+                    blocks[channel] = readBlock(channel, batchSize);
+                }
+                inputBlocks[j] = blocks[channel];
+            }
+            positionCount = filterFunction.filter(new Page(batchSize, inputBlocks), positions, positionCount, errors);
+        }
+        for (int i = 0; i < positionCount; i++) {
+            if (errors[i] != null) {
+                throw errors[i];
+            }
+        }
+
+        if (positionCount == 0) {
+            // none of the columns left is read for this batch, so their readers skip it
+            return new Page(0);
+        }
+
+        Block[] outputBlocks = new Block[outputChannels.size()];
+        for (int i = 0; i < outputBlocks.length; i++) {
+            int channel = outputChannels.get(i);
+            if (blocks[channel] != null) {
+                outputBlocks[i] = positionCount == batchSize ? blocks[channel] : blocks[channel].getPositions(positions, 0, positionCount);
+            }
+            else if (fields.get(channel).isPresent()) {
+                outputBlocks[i] = new LazyBlock(positionCount, new SelectedPositionsBlockLoader(fields.get(channel).get(), batchSize, positions, positionCount));
+            }
+            else {
+                outputBlocks[i] = RunLengthEncodedBlock.create(types.get(channel), constantValues.get(channel), positionCount);
+            }
+        }
+        return new Page(positionCount, outputBlocks);
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        parquetReader.close();
+    }
+
+    private Block readBlock(int channel, int batchSize)
+            throws IOException
+    {
+        Optional<Field> field = fields.get(channel);
+        if (field.isPresent()) {
+            return parquetReader.readBlock(field.get());
+        }
+        return RunLengthEncodedBlock.create(types.get(channel), constantValues.get(channel), batchSize);
+    }
+
+    private void initializePositions(int batchSize)
+    {
+        if (positions.length < batchSize) {
+            positions = new int[batchSize];
+            errors = new RuntimeException[batchSize];
+        }
+        for (int i = 0; i < batchSize; i++) {
+            positions[i] = i;
+        }
+        Arrays.fill(errors, 0, batchSize, null);
+    }
+
+    private final class SelectedPositionsBlockLoader
+            implements LazyBlockLoader<LazyBlock>
+    {
+        private final int expectedBatchId = batchId;
+        private final Field field;
+        private final int batchSize;
+        private final int[] selectedPositions;
+        private boolean loaded;
+
+        public SelectedPositionsBlockLoader(Field field, int batchSize, int[] positions, int positionCount)
+        {
+            this.field = requireNonNull(field, "field is null");
+            this.batchSize = batchSize;
+            // the positions array is reused by the next batch
+            this.selectedPositions = positionCount == batchSize ? null : Arrays.copyOf(positions, positionCount);
+        }
+
+        @Override
+        public void load(LazyBlock lazyBlock)
+        {
+            if (loaded) {
+                return;
+            }
+
+            checkState(batchId == expectedBatchId, "Parquet batch has been read past");
+            try {
+                Block block = parquetReader.readBlock(field);
+                if (selectedPositions != null) {
+                    block = block.getPositions(selectedPositions, 0, selectedPositions.length);
+                }
+                checkState(block.getPositionCount() == (selectedPositions == null ? batchSize : selectedPositions.length), "Unexpected block position count");
+                lazyBlock.setBlock(block);
+            }
+            catch (IOException e) {
+                throw new PrestoException(PARQUET_IO_READ_ERROR, "Error reading Parquet column " + field, e);
+            }
+            loaded = true;
+        }
+    }
+}
@@ -39,14 +39,20 @@ import org.openjdk.jol.info.ClassLayout;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import static com.facebook.airlift.concurrent.MoreFutures.getFutureValue;
 import static com.facebook.presto.parquet.writer.ParquetDataOutput.createDataOutput;
 import static com.facebook.presto.parquet.writer.ParquetWriterOptions.DEFAULT_MAX_PAGE_SIZE;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.slice.SizeOf.SIZE_OF_INT;
 import static io.airlift.slice.Slices.wrappedBuffer;
 import static java.lang.Math.max;
@@ -54,6 +60,8 @@ import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.apache.parquet.hadoop.metadata.CompressionCodecName.BROTLI;
 import static org.apache.parquet.hadoop.metadata.CompressionCodecName.GZIP;
 import static org.apache.parquet.hadoop.metadata.CompressionCodecName.LZ4;
@@ -77,6 +85,7 @@ public class ParquetWriter
     private final ParquetWriterOptions writerOption;
     private final List<String> names;
     private final MessageType messageType;
+    private final Executor columnWriterExecutor;
 
     private final int chunkMaxLogicalBytes;
 
@@ -95,11 +104,27 @@ public class ParquetWriter
             List<Type> types,
             ParquetWriterOptions writerOption,
             String compressionCodecClass)
+    {
+        this(outputStream, messageType, primitiveTypes, columnNames, types, writerOption, compressionCodecClass, directExecutor());
+    }
+
+    /**
+     * @param columnWriterExecutor the executor encoding and compressing the columns of a row group concurrently
+     */
+    public ParquetWriter(OutputStream outputStream,
+            MessageType messageType,
+            Map<List<String>, Type> primitiveTypes,
+            List<String> columnNames,
+            List<Type> types,
+            ParquetWriterOptions writerOption,
+            String compressionCodecClass,
+            Executor columnWriterExecutor)
     {
         this.outputStream = new OutputStreamSliceOutput(requireNonNull(outputStream, "outputstream is null"));
         this.names = ImmutableList.copyOf(requireNonNull(columnNames, "columnNames is null"));
         this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
         this.writerOption = requireNonNull(writerOption, "writerOption is null");
+        this.columnWriterExecutor = requireNonNull(columnWriterExecutor, "columnWriterExecutor is null");
 
         checkArgument(types.size() == columnNames.size(), "type size %s is not equal to name size %s", types.size(), columnNames.size());
 
@@ -177,12 +202,11 @@ public class ParquetWriter
     private void writeChunk(Page page)
             throws IOException
     {
-        long bufferedBytes = 0;
-        for (int channel = 0; channel < page.getChannelCount(); channel++) {
+        long bufferedBytes = forEachColumnWriter(channel -> {
             ColumnWriter writer = columnWriters.get(channel);
             writer.writeBlock(new ColumnChunk(page.getBlock(channel)));
-            bufferedBytes += writer.getBufferedBytes();
-        }
+            return writer.getBufferedBytes();
+        }).stream().mapToLong(Long::longValue).sum();
         rows += page.getPositionCount();
 
         if (bufferedBytes >= writerOption.getMaxRowGroupSize()) {
@@ -225,11 +249,9 @@ public class ParquetWriter
         }
 
         // get all data in buffer
-        ImmutableList.Builder<BufferData> builder = ImmutableList.builder();
-        for (ColumnWriter columnWriter : columnWriters) {
-            columnWriter.getBuffer().forEach(builder::add);
-        }
-        List<BufferData> bufferDataList = builder.build();
+        List<BufferData> bufferDataList = forEachColumnWriter(channel -> columnWriters.get(channel).getBuffer()).stream()
+                .flatMap(List::stream)
+                .collect(toImmutableList());
 
         // update stats
         long stripeStartOffset = outputStream.longSize();
@@ -245,6 +267,44 @@ public class ParquetWriter
                 .forEach(data -> data.writeData(outputStream));
     }
 
+    /**
+     * Runs the task for every column writer on the column writer executor, and returns the results in column order.
+     * The column writers do not share any state, so that each of them can be used by a different thread.
+     */
+    private <T> List<T> forEachColumnWriter(ColumnWriterTask<T> task)
+            throws IOException
+    {
+        List<CompletableFuture<T>> futures = new ArrayList<>(columnWriters.size());
+        for (int channel = 0; channel < columnWriters.size(); channel++) {
+            int column = channel;
+            futures.add(supplyAsync(() -> {
+                try {
+                    return task.run(column);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, columnWriterExecutor));
+        }
+
+        try {
+            // wait for all the tasks, so that no column writer is still in use when this method fails
+            getFutureValue(allOf(futures.toArray(new CompletableFuture[0])));
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .collect(toImmutableList());
+    }
+
+    private interface ColumnWriterTask<T>
+    {
+        T run(int channel)
+                throws IOException;
+    }
+
     private void writeFooter()
             throws IOException
     {
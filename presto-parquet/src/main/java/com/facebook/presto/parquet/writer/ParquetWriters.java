@@ -84,7 +84,13 @@ class ParquetWriters
 
     static List<ColumnWriter> getColumnWriters(MessageType messageType, Map<List<String>, Type> prestoTypes, ParquetProperties parquetProperties, CompressionCodecName compressionCodecName)
     {
-        WriterBuilder writeBuilder = new WriterBuilder(messageType, prestoTypes, parquetProperties, compressionCodecName);
+        // the column chunks that do not benefit from dictionary encoding fall back to these properties,
+        // which need their own ValuesWriterFactory as they are not the default ones
+        ParquetProperties nonDictionaryProperties = ParquetProperties.copy(parquetProperties)
+                .withDictionaryEncoding(false)
+                .withValuesWriterFactory(getValuesWriterFactory(parquetProperties.getWriterVersion()))
+                .build();
+        WriterBuilder writeBuilder = new WriterBuilder(messageType, prestoTypes, parquetProperties, nonDictionaryProperties, compressionCodecName);
         ParquetTypeVisitor.visit(messageType, writeBuilder);
         return writeBuilder.build();
     }
@@ -95,14 +101,16 @@ class ParquetWriters
         private final MessageType type;
         private final Map<List<String>, Type> prestoTypes;
         private final ParquetProperties parquetProperties;
+        private final ParquetProperties nonDictionaryProperties;
         private final CompressionCodecName compressionCodecName;
         private final ImmutableList.Builder<ColumnWriter> builder = ImmutableList.builder();
 
-        WriterBuilder(MessageType messageType, Map<List<String>, Type> prestoTypes, ParquetProperties parquetProperties, CompressionCodecName compressionCodecName)
+        WriterBuilder(MessageType messageType, Map<List<String>, Type> prestoTypes, ParquetProperties parquetProperties, ParquetProperties nonDictionaryProperties, CompressionCodecName compressionCodecName)
         {
             this.type = requireNonNull(messageType, "messageType is null");
             this.prestoTypes = requireNonNull(prestoTypes, "prestoTypes is null");
             this.parquetProperties = requireNonNull(parquetProperties, "parquetProperties is null");
+            this.nonDictionaryProperties = requireNonNull(nonDictionaryProperties, "nonDictionaryProperties is null");
             this.compressionCodecName = requireNonNull(compressionCodecName, "compressionCodecName is null");
         }
 
@@ -158,6 +166,7 @@ class ParquetWriters
                     return new PrimitiveColumnWriterV1(prestoType,
                             columnDescriptor,
                             getValueWriter(() -> parquetProperties.newValuesWriter(columnDescriptor), prestoType, columnDescriptor.getPrimitiveType()),
+                            () -> nonDictionaryProperties.newValuesWriter(columnDescriptor),
                             parquetProperties.newDefinitionLevelWriter(columnDescriptor),
                             parquetProperties.newRepetitionLevelWriter(columnDescriptor),
                             compressionCodecName,
@@ -166,6 +175,7 @@ class ParquetWriters
                     return new PrimitiveColumnWriterV2(prestoType,
                             columnDescriptor,
                             getValueWriter(() -> parquetProperties.newValuesWriter(columnDescriptor), prestoType, columnDescriptor.getPrimitiveType()),
+                            () -> nonDictionaryProperties.newValuesWriter(columnDescriptor),
                             parquetProperties.newDefinitionLevelEncoder(columnDescriptor),
                             parquetProperties.newRepetitionLevelEncoder(columnDescriptor),
                             compressionCodecName,
@@ -27,6 +27,7 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.ValuesWriter;
 import org.apache.parquet.format.ColumnMetaData;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
@@ -37,6 +38,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static com.facebook.presto.parquet.writer.ParquetCompressor.getCompressor;
 import static com.facebook.presto.parquet.writer.ParquetDataOutput.createDataOutput;
@@ -45,10 +47,14 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 import static org.apache.parquet.bytes.BytesInput.copy;
+import static org.apache.parquet.bytes.BytesUtils.getWidthFromMaxInt;
 
 public abstract class PrimitiveColumnWriter
         implements ColumnWriter
 {
+    // minimum ratio of the plain size of the values to their dictionary encoded size for the dictionary to be worth it
+    private static final double DICTIONARY_MIN_COMPRESSION_RATIO = 1.25;
+
     protected final ColumnDescriptor columnDescriptor;
     protected final PrimitiveValueWriter primitiveValueWriter;
     protected final ParquetMetadataConverter parquetMetadataConverter = new ParquetMetadataConverter();
@@ -62,10 +68,15 @@ public abstract class PrimitiveColumnWriter
 
     private final Type type;
     private final CompressionCodecName compressionCodec;
+    private final Supplier<ValuesWriter> nonDictionaryValuesWriterSupplier;
 
     protected boolean closed;
     protected boolean getDataStreamsCalled;
 
+    // whether the values of some pages of the current column chunk are not dictionary encoded
+    private boolean hasNonDictionaryPages;
+    private boolean dictionaryEncodingDisabled;
+
     // current page stats
     protected int valueCount;
     protected int currentPageNullCounts;
@@ -76,13 +87,14 @@ public abstract class PrimitiveColumnWriter
     protected long totalValues;
     protected Statistics<?> columnStatistics;
 
-    public PrimitiveColumnWriter(Type type, ColumnDescriptor columnDescriptor, PrimitiveValueWriter primitiveValueWriter, CompressionCodecName compressionCodecName, int pageSizeThreshold)
+    public PrimitiveColumnWriter(Type type, ColumnDescriptor columnDescriptor, PrimitiveValueWriter primitiveValueWriter, Supplier<ValuesWriter> nonDictionaryValuesWriterSupplier, CompressionCodecName compressionCodecName, int pageSizeThreshold)
     {
         this.type = requireNonNull(type, "type is null");
         this.columnDescriptor = requireNonNull(columnDescriptor, "columnDescriptor is null");
         this.maxDefinitionLevel = columnDescriptor.getMaxDefinitionLevel();
 
         this.primitiveValueWriter = requireNonNull(primitiveValueWriter, "primitiveValueWriter is null");
+        this.nonDictionaryValuesWriterSupplier = requireNonNull(nonDictionaryValuesWriterSupplier, "nonDictionaryValuesWriterSupplier is null");
         this.encodings = new HashSet<>();
         this.compressionCodec = requireNonNull(compressionCodecName, "compressionCodecName is null");
         this.compressor = getCompressor(compressionCodecName);
@@ -182,6 +194,11 @@ public abstract class PrimitiveColumnWriter
 
             primitiveValueWriter.resetDictionary();
         }
+        if (!dictionaryEncodingDisabled && !isDictionaryEffective(dictionaryPage)) {
+            // the next column chunks are written without building a dictionary that would be thrown away
+            primitiveValueWriter.setValuesWriterSupplier(nonDictionaryValuesWriterSupplier);
+            dictionaryEncodingDisabled = true;
+        }
         getDataStreamsCalled = true;
 
         return ImmutableList.<ParquetDataOutput>builder()
@@ -190,6 +207,33 @@ public abstract class PrimitiveColumnWriter
                 .build();
     }
 
+    protected void addValueEncoding(Encoding encoding)
+    {
+        encodings.add(encoding);
+        if (!encoding.usesDictionary()) {
+            hasNonDictionaryPages = true;
+        }
+    }
+
+    private boolean isDictionaryEffective(@Nullable DictionaryPage dictionaryPage)
+    {
+        if (hasNonDictionaryPages) {
+            // the values did not fit in the dictionary, or the dictionary did not compress the first page
+            return false;
+        }
+        long nonNullValues = totalValues - columnStatistics.getNumNulls();
+        if (dictionaryPage == null || dictionaryPage.getDictionarySize() == 0 || nonNullValues <= 0) {
+            return true;
+        }
+
+        // estimate the plain size of the values from the average size of the dictionary entries
+        int dictionarySize = dictionaryPage.getDictionarySize();
+        double dictionaryBytes = dictionaryPage.getUncompressedSize();
+        double plainBytes = dictionaryBytes / dictionarySize * nonNullValues;
+        double dictionaryEncodedBytes = dictionaryBytes + nonNullValues * getWidthFromMaxInt(dictionarySize - 1) / 8.0;
+        return plainBytes >= dictionaryEncodedBytes * DICTIONARY_MIN_COMPRESSION_RATIO;
+    }
+
     public abstract long getBufferedBytes();
 
     @Override
@@ -209,6 +253,7 @@ public abstract class PrimitiveColumnWriter
         totalUnCompressedSize = 0;
         totalValues = 0;
         encodings.clear();
+        hasNonDictionaryPages = false;
         this.columnStatistics = Statistics.createStats(columnDescriptor.getPrimitiveType());
 
         getDataStreamsCalled = false;
@@ -28,6 +28,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static com.facebook.presto.parquet.writer.ParquetDataOutput.createDataOutput;
 import static com.facebook.presto.parquet.writer.levels.RepetitionLevelIterables.getIterator;
@@ -40,9 +41,9 @@ public class PrimitiveColumnWriterV1
     private final ValuesWriter definitionLevelWriter;
     private final ValuesWriter repetitionLevelWriter;
 
-    public PrimitiveColumnWriterV1(Type type, ColumnDescriptor columnDescriptor, PrimitiveValueWriter primitiveValueWriter, ValuesWriter definitionLevelWriter, ValuesWriter repetitionLevelWriter, CompressionCodecName compressionCodecName, int pageSizeThreshold)
+    public PrimitiveColumnWriterV1(Type type, ColumnDescriptor columnDescriptor, PrimitiveValueWriter primitiveValueWriter, Supplier<ValuesWriter> nonDictionaryValuesWriterSupplier, ValuesWriter definitionLevelWriter, ValuesWriter repetitionLevelWriter, CompressionCodecName compressionCodecName, int pageSizeThreshold)
     {
-        super(type, columnDescriptor, primitiveValueWriter, compressionCodecName, pageSizeThreshold);
+        super(type, columnDescriptor, primitiveValueWriter, nonDictionaryValuesWriterSupplier, compressionCodecName, pageSizeThreshold);
 
         this.definitionLevelWriter = requireNonNull(definitionLevelWriter, "definitionLevelWriter is null");
         this.repetitionLevelWriter = requireNonNull(repetitionLevelWriter, "repetitionLevelWriter is null");
@@ -116,7 +117,7 @@ public class PrimitiveColumnWriterV1
         // Add encoding should be called after ValuesWriter#getBytes() and before ValuesWriter#reset()
         encodings.add(repetitionLevelWriter.getEncoding());
         encodings.add(definitionLevelWriter.getEncoding());
-        encodings.add(primitiveValueWriter.getEncoding());
+        addValueEncoding(primitiveValueWriter.getEncoding());
 
         // reset page stats
         valueCount = 0;
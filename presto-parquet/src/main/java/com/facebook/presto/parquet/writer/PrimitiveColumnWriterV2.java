@@ -21,6 +21,7 @@ import io.airlift.slice.Slices;
 import org.apache.parquet.bytes.BytesInput;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.ValuesWriter;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 
@@ -28,6 +29,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static com.facebook.presto.parquet.writer.ParquetDataOutput.createDataOutput;
 import static com.facebook.presto.parquet.writer.levels.RepetitionLevelIterables.getIterator;
@@ -44,9 +46,9 @@ public class PrimitiveColumnWriterV2
     // current page stats
     private int currentPageRowCount;
 
-    public PrimitiveColumnWriterV2(Type type, ColumnDescriptor columnDescriptor, PrimitiveValueWriter primitiveValueWriter, RunLengthBitPackingHybridEncoder definitionLevelEncoder, RunLengthBitPackingHybridEncoder repetitionLevelEncoder, CompressionCodecName compressionCodecName, int pageSizeThreshold)
+    public PrimitiveColumnWriterV2(Type type, ColumnDescriptor columnDescriptor, PrimitiveValueWriter primitiveValueWriter, Supplier<ValuesWriter> nonDictionaryValuesWriterSupplier, RunLengthBitPackingHybridEncoder definitionLevelEncoder, RunLengthBitPackingHybridEncoder repetitionLevelEncoder, CompressionCodecName compressionCodecName, int pageSizeThreshold)
     {
-        super(type, columnDescriptor, primitiveValueWriter, compressionCodecName, pageSizeThreshold);
+        super(type, columnDescriptor, primitiveValueWriter, nonDictionaryValuesWriterSupplier, compressionCodecName, pageSizeThreshold);
 
         this.definitionLevelEncoder = requireNonNull(definitionLevelEncoder, "definitionLevelEncoder is null");
         this.repetitionLevelEncoder = requireNonNull(repetitionLevelEncoder, "repetitionLevelEncoder is null");
@@ -105,7 +107,7 @@ public class PrimitiveColumnWriterV2
         ParquetDataOutput definitions = createDataOutput(copy(definitionLevelEncoder.toBytes()));
 
         // Add encoding should be called after primitiveValueWriter.getBytes() and before primitiveValueWriter.reset()
-        encodings.add(primitiveValueWriter.getEncoding());
+        addValueEncoding(primitiveValueWriter.getEncoding());
 
         long uncompressedSize = bytes.size() + repetitions.size() + definitions.size();
 
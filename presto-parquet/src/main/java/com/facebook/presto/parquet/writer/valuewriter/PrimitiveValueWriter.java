@@ -30,7 +30,7 @@ public abstract class PrimitiveValueWriter
 {
     private Statistics<?> statistics;
     private final PrimitiveType parquetType;
-    private final Supplier<ValuesWriter> valuesWriterSupplier;
+    private Supplier<ValuesWriter> valuesWriterSupplier;
     private ValuesWriter valuesWriter;
 
     public PrimitiveValueWriter(PrimitiveType parquetType, Supplier<ValuesWriter> valuesWriterSupplier)
@@ -81,6 +81,14 @@ public abstract class PrimitiveValueWriter
         this.statistics = Statistics.createStats(parquetType);
     }
 
+    /**
+     * Sets the supplier of the values writers of the next column chunks.
+     */
+    public void setValuesWriterSupplier(Supplier<ValuesWriter> valuesWriterSupplier)
+    {
+        this.valuesWriterSupplier = requireNonNull(valuesWriterSupplier, "valuesWriterSupplier is null");
+    }
+
     public void resetChunk()
     {
         valuesWriter = valuesWriterSupplier.get();
@@ -25,6 +25,7 @@ import com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate;
 import com.facebook.presto.spi.PrestoWarning;
 import com.facebook.presto.testing.TestingWarningCollector;
 import com.facebook.presto.testing.TestingWarningCollectorConfig;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
@@ -36,6 +37,9 @@ import org.apache.parquet.column.statistics.FloatStatistics;
 import org.apache.parquet.column.statistics.IntStatistics;
 import org.apache.parquet.column.statistics.LongStatistics;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.PrimitiveType;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -62,6 +66,7 @@ import static com.facebook.presto.common.type.VarcharType.createUnboundedVarchar
 import static com.facebook.presto.common.type.VarcharType.createVarcharType;
 import static com.facebook.presto.parquet.ParquetEncoding.PLAIN_DICTIONARY;
 import static com.facebook.presto.parquet.ParquetWarningCode.PARQUET_FILE_STATISTICS_CORRUPTION;
+import static com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate.getBloomFilterHashes;
 import static com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate.getDomain;
 import static com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate.getRange;
 import static io.airlift.slice.Slices.EMPTY_SLICE;
@@ -406,6 +411,60 @@ public class TestTupleDomainParquetPredicate
         assertEquals(range2.getHigh().getValue(), (long) floatToRawIntBits(2.0f));
         assertEquals(range3.getLow().getValue(), 1.0);
         assertEquals(range3.getHigh().getValue(), 2.0);
+
+        Range range4 = getRange(DATE, 18000, 18100);
+        Range range5 = getRange(createUnboundedVarcharType(), Binary.fromString("apple"), Binary.fromString("banana"));
+        assertEquals(range4.getLow().getValue(), 18000L);
+        assertEquals(range4.getHigh().getValue(), 18100L);
+        assertEquals(range5.getLow().getValue(), utf8Slice("apple"));
+        assertEquals(range5.getHigh().getValue(), utf8Slice("banana"));
+    }
+
+    @Test
+    public void testGetBloomFilterHashes()
+    {
+        BloomFilter bloomFilter = new BlockSplitBloomFilter(1024);
+
+        Domain bigintValues = Domain.create(ValueSet.of(BIGINT, 42L, 404L), false);
+        assertEquals(getBloomFilterHashes(bigintValues, INT64, bloomFilter).get().size(), 2);
+        assertTrue(getBloomFilterHashes(bigintValues, INT64, bloomFilter).get().contains(bloomFilter.hash(42L)));
+        // the values of an INT32 column are hashed as ints, values out of the range of the column can't match
+        assertEquals(getBloomFilterHashes(Domain.create(ValueSet.of(BIGINT, 42L, 1L << 40), false), INT32, bloomFilter).get(), ImmutableList.of(bloomFilter.hash(42)));
+        assertEquals(getBloomFilterHashes(singleValue(REAL, (long) floatToRawIntBits(1.5f)), FLOAT, bloomFilter).get(), ImmutableList.of(bloomFilter.hash(1.5f)));
+        assertEquals(getBloomFilterHashes(singleValue(createUnboundedVarcharType(), utf8Slice("abc")), BINARY, bloomFilter).get(), ImmutableList.of(bloomFilter.hash(Binary.fromString("abc"))));
+
+        // only a finite set of values without null can be looked up
+        assertFalse(getBloomFilterHashes(Domain.create(ValueSet.of(BIGINT, 42L), true), INT64, bloomFilter).isPresent());
+        assertFalse(getBloomFilterHashes(Domain.create(ValueSet.ofRanges(range(BIGINT, 1L, true, 10L, true)), false), INT64, bloomFilter).isPresent());
+        assertFalse(getBloomFilterHashes(notNull(BIGINT), INT64, bloomFilter).isPresent());
+        assertFalse(getBloomFilterHashes(singleValue(BOOLEAN, true), PrimitiveTypeName.BOOLEAN, bloomFilter).isPresent());
+    }
+
+    @Test
+    public void testMatchesWithBloomFilter()
+    {
+        RichColumnDescriptor column = new RichColumnDescriptor(
+                new ColumnDescriptor(new String[] {"path"}, BINARY, 0, 0),
+                new PrimitiveType(OPTIONAL, BINARY, "Test column"));
+        BloomFilter bloomFilter = new BlockSplitBloomFilter(1024);
+        bloomFilter.insertHash(bloomFilter.hash(Binary.fromString("apple")));
+        bloomFilter.insertHash(bloomFilter.hash(Binary.fromString("banana")));
+
+        TupleDomain<ColumnDescriptor> matching = TupleDomain.withColumnDomains(ImmutableMap.of(
+                column,
+                Domain.create(ValueSet.of(createUnboundedVarcharType(), utf8Slice("banana"), utf8Slice("cherry")), false)));
+        assertTrue(new TupleDomainParquetPredicate(matching, singletonList(column)).matches(column, bloomFilter));
+
+        TupleDomain<ColumnDescriptor> notMatching = TupleDomain.withColumnDomains(ImmutableMap.of(
+                column,
+                Domain.create(ValueSet.of(createUnboundedVarcharType(), utf8Slice("cherry"), utf8Slice("durian")), false)));
+        assertFalse(new TupleDomainParquetPredicate(notMatching, singletonList(column)).matches(column, bloomFilter));
+
+        // a Bloom filter can't rule out null
+        TupleDomain<ColumnDescriptor> withNull = TupleDomain.withColumnDomains(ImmutableMap.of(
+                column,
+                Domain.create(ValueSet.of(createUnboundedVarcharType(), utf8Slice("cherry")), true)));
+        assertTrue(new TupleDomainParquetPredicate(withNull, singletonList(column)).matches(column, bloomFilter));
     }
 
     private TupleDomain<ColumnDescriptor> getEffectivePredicate(RichColumnDescriptor column, VarcharType type, Slice value)
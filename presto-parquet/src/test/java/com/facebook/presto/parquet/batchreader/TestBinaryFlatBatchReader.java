@@ -0,0 +1,200 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.batchreader;
+
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.DictionaryBlock;
+import com.facebook.presto.common.block.DictionaryId;
+import com.facebook.presto.parquet.DataPage;
+import com.facebook.presto.parquet.DataPageV1;
+import com.facebook.presto.parquet.DictionaryPage;
+import com.facebook.presto.parquet.ParquetEncoding;
+import com.facebook.presto.parquet.PrimitiveField;
+import com.facebook.presto.parquet.RichColumnDescriptor;
+import com.facebook.presto.parquet.reader.PageReader;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.values.plain.PlainValuesWriter;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Types;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.parquet.ParquetEncoding.PLAIN;
+import static com.facebook.presto.parquet.ParquetEncoding.PLAIN_DICTIONARY;
+import static com.facebook.presto.parquet.ParquetEncoding.RLE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.parquet.bytes.BytesUtils.getWidthFromMaxInt;
+import static org.apache.parquet.hadoop.metadata.CompressionCodecName.UNCOMPRESSED;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TestBinaryFlatBatchReader
+{
+    private static final List<String> DICTIONARY = ImmutableList.of("apple", "banana", "cherry");
+
+    @Test
+    public void testDictionaryEncodedColumnChunk()
+            throws IOException
+    {
+        int[] ids = {0, 1, 2, 2, 1, 0, 0, 1, 2, 0};
+        List<DataPage> pages = ImmutableList.of(dictionaryDataPage(ids), dictionaryDataPage(ids));
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            for (int id : ids) {
+                expected.add(DICTIONARY.get(id));
+            }
+        }
+
+        BinaryFlatBatchReader reader = createReader(pages);
+        // the second batch spans both pages
+        List<Block> blocks = readBatches(reader, 20, 8);
+        assertValues(blocks, expected);
+
+        DictionaryId dictionaryId = null;
+        Block dictionary = null;
+        for (Block block : blocks) {
+            assertTrue(block instanceof DictionaryBlock);
+            DictionaryBlock dictionaryBlock = (DictionaryBlock) block;
+            if (dictionaryId == null) {
+                dictionaryId = dictionaryBlock.getDictionarySourceId();
+                dictionary = dictionaryBlock.getDictionary();
+            }
+            // all the batches of the column chunk share the dictionary
+            assertEquals(dictionaryBlock.getDictionarySourceId(), dictionaryId);
+            assertSame(dictionaryBlock.getDictionary(), dictionary);
+        }
+
+        // another column chunk has a dictionary of its own
+        Block otherBlock = readBatches(createReader(pages), 20, 20).get(0);
+        assertTrue(otherBlock instanceof DictionaryBlock);
+        assertNotEquals(((DictionaryBlock) otherBlock).getDictionarySourceId(), dictionaryId);
+    }
+
+    @Test
+    public void testMixedDictionaryAndPlainPages()
+            throws IOException
+    {
+        // the writer fell back to plain encoding for the second page of the column chunk
+        int[] ids = {2, 1, 0, 0, 1, 2, 2, 1, 0, 1};
+        List<String> plainValues = ImmutableList.of("date", "elderberry", "fig", "apple", "grape", "banana", "date", "fig", "apple", "cherry");
+        List<DataPage> pages = ImmutableList.of(dictionaryDataPage(ids), plainDataPage(plainValues));
+        List<String> expected = new ArrayList<>();
+        for (int id : ids) {
+            expected.add(DICTIONARY.get(id));
+        }
+        expected.addAll(plainValues);
+
+        List<Block> blocks = readBatches(createReader(pages), 20, 8);
+        assertValues(blocks, expected);
+        assertEquals(blocks.size(), 3);
+        // only dictionary encoded values
+        assertTrue(blocks.get(0) instanceof DictionaryBlock);
+        // dictionary encoded and plain values
+        assertFalse(blocks.get(1) instanceof DictionaryBlock);
+        // only plain values
+        assertFalse(blocks.get(2) instanceof DictionaryBlock);
+    }
+
+    private static BinaryFlatBatchReader createReader(List<DataPage> pages)
+            throws IOException
+    {
+        PrimitiveType parquetType = Types.required(BINARY).named("test");
+        RichColumnDescriptor descriptor = new RichColumnDescriptor(new ColumnDescriptor(new String[] {"test"}, parquetType, 0, 0), parquetType);
+        int valueCount = pages.stream()
+                .mapToInt(DataPage::getValueCount)
+                .sum();
+        PageReader pageReader = new PageReader(UNCOMPRESSED, pages.iterator(), valueCount, dictionaryPage(), null, Optional.empty(), null, -1, -1);
+
+        BinaryFlatBatchReader reader = new BinaryFlatBatchReader(descriptor);
+        reader.init(pageReader, new PrimitiveField(VARCHAR, 0, 0, true, descriptor, 0), null);
+        return reader;
+    }
+
+    private static List<Block> readBatches(BinaryFlatBatchReader reader, int valueCount, int batchSize)
+    {
+        ImmutableList.Builder<Block> blocks = ImmutableList.builder();
+        for (int position = 0; position < valueCount; position += batchSize) {
+            reader.prepareNextRead(Math.min(batchSize, valueCount - position));
+            blocks.add(reader.readNext().getBlock());
+        }
+        return blocks.build();
+    }
+
+    private static void assertValues(List<Block> blocks, List<String> expected)
+    {
+        int index = 0;
+        for (Block block : blocks) {
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                assertFalse(block.isNull(position));
+                assertEquals(VARCHAR.getSlice(block, position).toStringUtf8(), expected.get(index++));
+            }
+        }
+        assertEquals(index, expected.size());
+    }
+
+    private static DictionaryPage dictionaryPage()
+            throws IOException
+    {
+        PlainValuesWriter writer = new PlainValuesWriter(20, 1024, new HeapByteBufferAllocator());
+        for (String value : DICTIONARY) {
+            writer.writeBytes(Binary.fromString(value));
+        }
+        return new DictionaryPage(Slices.wrappedBuffer(writer.getBytes().toByteArray()), DICTIONARY.size(), PLAIN_DICTIONARY);
+    }
+
+    private static DataPage dictionaryDataPage(int[] ids)
+            throws IOException
+    {
+        int bitWidth = getWidthFromMaxInt(DICTIONARY.size() - 1);
+        RunLengthBitPackingHybridEncoder encoder = new RunLengthBitPackingHybridEncoder(bitWidth, 20, 1024, new HeapByteBufferAllocator());
+        for (int id : ids) {
+            encoder.writeInt(id);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(bitWidth);
+        output.write(encoder.toBytes().toByteArray());
+        return dataPage(Slices.wrappedBuffer(output.toByteArray()), ids.length, PLAIN_DICTIONARY);
+    }
+
+    private static DataPage plainDataPage(List<String> values)
+            throws IOException
+    {
+        PlainValuesWriter writer = new PlainValuesWriter(20, 1024, new HeapByteBufferAllocator());
+        for (String value : values) {
+            writer.writeBytes(Binary.fromConstantByteArray(value.getBytes(UTF_8)));
+        }
+        return dataPage(Slices.wrappedBuffer(writer.getBytes().toByteArray()), values.size(), PLAIN);
+    }
+
+    private static DataPage dataPage(Slice slice, int valueCount, ParquetEncoding encoding)
+    {
+        return new DataPageV1(slice, valueCount, slice.length(), -1, null, RLE, RLE, encoding);
+    }
+}
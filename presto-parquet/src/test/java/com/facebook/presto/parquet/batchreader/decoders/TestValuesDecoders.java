@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.parquet.batchreader.decoders;
 
+import com.facebook.presto.common.block.Block;
 import com.facebook.presto.parquet.DictionaryPage;
 import com.facebook.presto.parquet.batchreader.decoders.ValuesDecoder.BinaryValuesDecoder;
 import com.facebook.presto.parquet.batchreader.decoders.ValuesDecoder.BooleanValuesDecoder;
@@ -60,6 +61,8 @@ import static java.lang.Math.min;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.parquet.bytes.BytesUtils.getWidthFromMaxInt;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public abstract class TestValuesDecoders
 {
@@ -462,6 +465,23 @@ public abstract class TestValuesDecoders
         binaryBatchReadWithSkipHelper(1024, 1024, valueCount, binaryDictionary(dataPage, dictionarySize, binaryDictionary), expectedValues);
     }
 
+    @Test
+    public void testBinaryDictionaryToBlock()
+    {
+        int dictionarySize = 29;
+        List<Object> dictionary = new ArrayList<>();
+        byte[] dictionaryPage = generatePlainValuesPage(dictionarySize, -1, dictionary);
+        BinaryBatchDictionary binaryDictionary = new BinaryBatchDictionary(new DictionaryPage(Slices.wrappedBuffer(dictionaryPage), dictionarySize, PLAIN_DICTIONARY));
+
+        Block block = binaryDictionary.toBlock();
+        assertEquals(block.getPositionCount(), dictionarySize + 1);
+        for (int dictionaryId = 0; dictionaryId < dictionarySize; dictionaryId++) {
+            assertFalse(block.isNull(dictionaryId));
+            assertEquals(block.getSlice(dictionaryId, 0, block.getSliceLength(dictionaryId)).getBytes(), ((String) dictionary.get(dictionaryId)).getBytes(UTF_8));
+        }
+        assertTrue(block.isNull(dictionarySize));
+    }
+
     @Test
     public void testInt64Plain()
             throws IOException
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.predicate;
+
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.BlockBuilder;
+import com.facebook.presto.common.block.DictionaryBlock;
+import com.facebook.presto.common.block.RunLengthEncodedBlock;
+import com.facebook.presto.common.predicate.TupleDomainFilter;
+import com.facebook.presto.common.predicate.TupleDomainFilter.BigintRange;
+import com.facebook.presto.common.predicate.TupleDomainFilter.BytesValues;
+import com.facebook.presto.common.type.ArrayType;
+import com.facebook.presto.common.type.Type;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.parquet.predicate.TupleDomainFilterEvaluator.filter;
+import static com.facebook.presto.parquet.predicate.TupleDomainFilterEvaluator.isSupportedType;
+import static io.airlift.slice.Slices.utf8Slice;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestTupleDomainFilterEvaluator
+{
+    @Test
+    public void testIsSupportedType()
+    {
+        assertTrue(isSupportedType(BIGINT));
+        assertTrue(isSupportedType(VARCHAR));
+        assertFalse(isSupportedType(new ArrayType(BIGINT)));
+    }
+
+    @Test
+    public void testFilterLongs()
+    {
+        BlockBuilder builder = BIGINT.createBlockBuilder(null, 6);
+        for (long value : new long[] {1, 5, 10, 15, 20}) {
+            BIGINT.writeLong(builder, value);
+        }
+        builder.appendNull();
+        Block block = builder.build();
+
+        assertFilter(block, BIGINT, BigintRange.of(5, 15, false), allPositions(6), 1, 2, 3);
+        assertFilter(block, BIGINT, BigintRange.of(5, 15, true), allPositions(6), 1, 2, 3, 5);
+        // only the given positions are tested
+        assertFilter(block, BIGINT, BigintRange.of(5, 15, false), new int[] {0, 2, 4}, 2);
+    }
+
+    @Test
+    public void testFilterSlices()
+    {
+        BlockBuilder builder = VARCHAR.createBlockBuilder(null, 4);
+        for (String value : new String[] {"apple", "banana", "cherry", "banana"}) {
+            VARCHAR.writeSlice(builder, utf8Slice(value));
+        }
+        Block block = builder.build();
+
+        assertFilter(block, VARCHAR, bytesValues("banana", "cherry"), allPositions(4), 1, 2, 3);
+    }
+
+    @Test
+    public void testFilterDictionary()
+    {
+        BlockBuilder builder = BIGINT.createBlockBuilder(null, 3);
+        BIGINT.writeLong(builder, 1);
+        BIGINT.writeLong(builder, 2);
+        builder.appendNull();
+        Block block = new DictionaryBlock(builder.build(), new int[] {0, 1, 2, 1, 0, 1});
+
+        assertFilter(block, BIGINT, BigintRange.of(2, 2, false), allPositions(6), 1, 3, 5);
+        assertFilter(block, BIGINT, BigintRange.of(2, 2, true), allPositions(6), 1, 2, 3, 5);
+    }
+
+    @Test
+    public void testFilterRunLengthEncoded()
+    {
+        Block block = RunLengthEncodedBlock.create(VARCHAR, utf8Slice("banana"), 4);
+
+        assertFilter(block, VARCHAR, bytesValues("banana"), new int[] {0, 2, 3}, 0, 2, 3);
+        assertFilter(block, VARCHAR, bytesValues("apple"), allPositions(4));
+    }
+
+    private static void assertFilter(Block block, Type type, TupleDomainFilter filter, int[] positions, int... expectedPositions)
+    {
+        int positionCount = filter(block, type, filter, positions, positions.length);
+        assertEquals(Arrays.copyOf(positions, positionCount), expectedPositions);
+    }
+
+    private static int[] allPositions(int positionCount)
+    {
+        return IntStream.range(0, positionCount).toArray();
+    }
+
+    private static TupleDomainFilter bytesValues(String... values)
+    {
+        return BytesValues.of(Arrays.stream(values).map(value -> value.getBytes(UTF_8)).toArray(byte[][]::new), false);
+    }
+}
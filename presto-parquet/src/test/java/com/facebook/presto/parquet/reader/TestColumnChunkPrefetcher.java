@@ -0,0 +1,163 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.reader;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.facebook.presto.parquet.AbstractParquetDataSource;
+import com.facebook.presto.parquet.DiskRange;
+import com.facebook.presto.parquet.ParquetDataSourceId;
+import com.facebook.presto.parquet.ParquetPrefetchStats;
+import com.google.common.collect.ImmutableList;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.internal.column.columnindex.ColumnIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.airlift.units.DataSize.Unit.BYTE;
+import static com.facebook.airlift.units.DataSize.Unit.GIGABYTE;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.parquet.ParquetDataSourceUtils.mergeAdjacentDiskRanges;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestColumnChunkPrefetcher
+{
+    @Test
+    public void testMergeAdjacentDiskRanges()
+    {
+        List<DiskRange> consistent10ByteGap = ImmutableList.of(new DiskRange(300, 90), new DiskRange(100, 90), new DiskRange(200, 90));
+        assertEquals(mergeAdjacentDiskRanges(ImmutableList.of(), new DataSize(10, BYTE), new DataSize(1, GIGABYTE)), ImmutableList.of());
+        assertEquals(mergeAdjacentDiskRanges(consistent10ByteGap, new DataSize(9, BYTE), new DataSize(1, GIGABYTE)),
+                ImmutableList.of(new DiskRange(100, 90), new DiskRange(200, 90), new DiskRange(300, 90)));
+        assertEquals(mergeAdjacentDiskRanges(consistent10ByteGap, new DataSize(10, BYTE), new DataSize(1, GIGABYTE)), ImmutableList.of(new DiskRange(100, 290)));
+        assertEquals(mergeAdjacentDiskRanges(consistent10ByteGap, new DataSize(10, BYTE), new DataSize(190, BYTE)),
+                ImmutableList.of(new DiskRange(100, 190), new DiskRange(300, 90)));
+    }
+
+    @Test
+    public void testPrefetch()
+    {
+        TestingParquetDataSource dataSource = new TestingParquetDataSource(1000);
+        TestingPrefetchStats stats = new TestingPrefetchStats();
+        AggregatedMemoryContext memoryContext = newSimpleAggregatedMemoryContext();
+        ColumnChunkPrefetcher prefetcher = new ColumnChunkPrefetcher(
+                dataSource,
+                directExecutor(),
+                new DataSize(10, BYTE),
+                new DataSize(200, BYTE),
+                stats,
+                memoryContext.newLocalMemoryContext("test"));
+
+        // the first two column chunks are merged, the last one is larger than a read
+        prefetcher.prefetch(0, ImmutableList.of(new DiskRange(0, 95), new DiskRange(100, 100), new DiskRange(200, 300)));
+        prefetcher.prefetch(1, ImmutableList.of(new DiskRange(500, 100)));
+        assertEquals(dataSource.getReads(), ImmutableList.of(new DiskRange(0, 200), new DiskRange(500, 100)));
+        assertEquals(stats.readBytes, 300);
+        assertEquals(memoryContext.getBytes(), 300);
+
+        byte[] buffer = new byte[50];
+        assertTrue(prefetcher.readFully(120, buffer, 0, 50));
+        assertEquals(buffer, dataSource.getData(120, 50));
+        assertTrue(prefetcher.readFully(500, buffer, 0, 50));
+        assertEquals(buffer, dataSource.getData(500, 50));
+        assertFalse(prefetcher.readFully(300, buffer, 0, 50));
+        assertEquals(dataSource.getReads().size(), 2);
+
+        prefetcher.releaseBefore(1);
+        assertEquals(stats.wastedBytes, 150);
+        assertEquals(memoryContext.getBytes(), 100);
+        assertFalse(prefetcher.readFully(120, buffer, 0, 50));
+
+        prefetcher.close();
+        assertEquals(stats.wastedBytes, 200);
+        assertEquals(memoryContext.getBytes(), 0);
+    }
+
+    private static class TestingParquetDataSource
+            extends AbstractParquetDataSource
+    {
+        private final byte[] data;
+        private final List<DiskRange> reads = new ArrayList<>();
+
+        public TestingParquetDataSource(int size)
+        {
+            super(new ParquetDataSourceId("test"));
+            data = new byte[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = (byte) i;
+            }
+        }
+
+        public List<DiskRange> getReads()
+        {
+            return reads;
+        }
+
+        public byte[] getData(int offset, int length)
+        {
+            return Arrays.copyOfRange(data, offset, offset + length);
+        }
+
+        @Override
+        protected void readInternal(long position, byte[] buffer, int bufferOffset, int bufferLength)
+        {
+            reads.add(new DiskRange(position, bufferLength));
+            System.arraycopy(data, (int) position, buffer, bufferOffset, bufferLength);
+        }
+
+        @Override
+        public Optional<ColumnIndex> readColumnIndex(ColumnChunkMetaData column)
+        {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<OffsetIndex> readOffsetIndex(ColumnChunkMetaData column)
+        {
+            return Optional.empty();
+        }
+    }
+
+    private static class TestingPrefetchStats
+            implements ParquetPrefetchStats
+    {
+        private long readBytes;
+        private long wastedBytes;
+
+        @Override
+        public void addPrefetchReadBytes(long bytes)
+        {
+            readBytes += bytes;
+        }
+
+        @Override
+        public void addPrefetchWastedBytes(long bytes)
+        {
+            wastedBytes += bytes;
+        }
+
+        @Override
+        public void addPrefetchWaitTime(long nanos)
+        {
+        }
+    }
+}
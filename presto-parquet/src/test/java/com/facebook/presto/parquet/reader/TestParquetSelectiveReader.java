@@ -0,0 +1,315 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.reader;
+
+import com.facebook.airlift.units.DataSize;
+import com.facebook.presto.common.Page;
+import com.facebook.presto.common.PageBuilder;
+import com.facebook.presto.common.block.Block;
+import com.facebook.presto.common.block.LazyBlock;
+import com.facebook.presto.common.predicate.TupleDomainFilter;
+import com.facebook.presto.common.predicate.TupleDomainFilter.BigintRange;
+import com.facebook.presto.common.predicate.TupleDomainFilter.BytesValues;
+import com.facebook.presto.common.type.Type;
+import com.facebook.presto.parquet.Field;
+import com.facebook.presto.parquet.FileParquetDataSource;
+import com.facebook.presto.parquet.cache.MetadataReader;
+import com.facebook.presto.parquet.writer.ParquetSchemaConverter;
+import com.facebook.presto.parquet.writer.ParquetWriter;
+import com.facebook.presto.parquet.writer.ParquetWriterOptions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.ColumnIOConverter;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.schema.MessageType;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
+import static com.facebook.presto.common.type.BigintType.BIGINT;
+import static com.facebook.presto.common.type.VarcharType.VARCHAR;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.parquet.ParquetTypeUtils.getColumnIO;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.slice.Slices.utf8Slice;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestParquetSelectiveReader
+{
+    private static final int ROW_COUNT = 3000;
+    private static final List<Type> FILE_TYPES = ImmutableList.of(BIGINT, VARCHAR);
+    private static final List<String> FILE_COLUMNS = ImmutableList.of("id", "name");
+
+    private File temporaryDirectory;
+    private File parquetFile;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        temporaryDirectory = createTempDir();
+        parquetFile = new File(temporaryDirectory, "data.parquet");
+
+        ParquetSchemaConverter schemaConverter = new ParquetSchemaConverter(FILE_TYPES, FILE_COLUMNS);
+        // small row groups, so that a scan spans several of them
+        ParquetWriterOptions writerOptions = ParquetWriterOptions.builder()
+                .setMaxPageSize(DataSize.succinctBytes(1000))
+                .setMaxBlockSize(DataSize.succinctBytes(10000))
+                .build();
+        try (ParquetWriter writer = new ParquetWriter(
+                new FileOutputStream(parquetFile),
+                schemaConverter.getMessageType(),
+                schemaConverter.getPrimitiveTypes(),
+                FILE_COLUMNS,
+                FILE_TYPES,
+                writerOptions,
+                CompressionCodecName.UNCOMPRESSED.getHadoopCompressionCodecClassName())) {
+            PageBuilder pageBuilder = new PageBuilder(FILE_TYPES);
+            for (int row = 0; row < ROW_COUNT; row++) {
+                BIGINT.writeLong(pageBuilder.getBlockBuilder(0), row);
+                String name = name(row);
+                if (name == null) {
+                    pageBuilder.getBlockBuilder(1).appendNull();
+                }
+                else {
+                    VARCHAR.writeSlice(pageBuilder.getBlockBuilder(1), utf8Slice(name));
+                }
+                pageBuilder.declarePosition();
+                if (pageBuilder.isFull()) {
+                    writer.write(pageBuilder.build());
+                    pageBuilder.reset();
+                }
+            }
+            if (!pageBuilder.isEmpty()) {
+                writer.write(pageBuilder.build());
+            }
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(temporaryDirectory.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testFilter()
+            throws IOException
+    {
+        // the rows at the end of the file, so that the name column skips the batches before them
+        assertRows(
+                ImmutableMap.of(0, BigintRange.of(2500, 2599, false)),
+                ImmutableList.of(0, 1),
+                row -> row >= 2500 && row < 2600);
+
+        // rows selected in every batch
+        assertRows(
+                ImmutableMap.of(1, bytesValues("name_3", "name_4")),
+                ImmutableList.of(1, 0),
+                row -> "name_3".equals(name(row)) || "name_4".equals(name(row)));
+
+        // the filters of all columns apply
+        assertRows(
+                ImmutableMap.of(0, BigintRange.of(1000, 1999, false), 1, bytesValues("name_3", "name_4")),
+                ImmutableList.of(0),
+                row -> row >= 1000 && row < 2000 && ("name_3".equals(name(row)) || "name_4".equals(name(row))));
+    }
+
+    @Test
+    public void testNulls()
+            throws IOException
+    {
+        assertRows(
+                ImmutableMap.of(1, TupleDomainFilter.IS_NULL),
+                ImmutableList.of(0, 1),
+                row -> name(row) == null);
+        assertRows(
+                ImmutableMap.of(0, BigintRange.of(0, 99, false), 1, TupleDomainFilter.IS_NOT_NULL),
+                ImmutableList.of(0, 1),
+                row -> row < 100 && name(row) != null);
+        // a filter allowing nulls also returns the rows with null values
+        assertRows(
+                ImmutableMap.of(1, BytesValues.of(new byte[][] {"name_1".getBytes(UTF_8), "name_2".getBytes(UTF_8)}, true)),
+                ImmutableList.of(0, 1),
+                row -> name(row) == null || "name_1".equals(name(row)) || "name_2".equals(name(row)));
+    }
+
+    @Test
+    public void testNoSelectedRows()
+            throws IOException
+    {
+        try (ParquetSelectiveReader reader = createReader(ImmutableMap.of(0, BigintRange.of(ROW_COUNT, ROW_COUNT + 100, false)), ImmutableList.of(0, 1))) {
+            for (Page page = reader.getNextPage(); page != null; page = reader.getNextPage()) {
+                assertEquals(page.getPositionCount(), 0);
+            }
+            assertEquals(reader.getReadPositions(), ROW_COUNT);
+        }
+    }
+
+    @Test
+    public void testLazyColumns()
+            throws IOException
+    {
+        try (ParquetSelectiveReader reader = createReader(ImmutableMap.of(0, BigintRange.of(10, 19, false)), ImmutableList.of(0, 1))) {
+            List<List<Object>> rows = new ArrayList<>();
+            for (Page page = reader.getNextPage(); page != null; page = reader.getNextPage()) {
+                if (page.getPositionCount() > 0) {
+                    // the filtered column is read, the other one only once it is used
+                    assertFalse(page.getBlock(0) instanceof LazyBlock);
+                    assertTrue(page.getBlock(1) instanceof LazyBlock);
+                    assertFalse(((LazyBlock) page.getBlock(1)).isLoaded());
+                    rows.addAll(toRows(page, FILE_TYPES));
+                }
+            }
+            assertEquals(rows, expectedRows(ImmutableList.of(0, 1), row -> row >= 10 && row < 20));
+        }
+    }
+
+    @Test
+    public void testConstantColumn()
+            throws IOException
+    {
+        List<Type> types = ImmutableList.of(BIGINT, VARCHAR, BIGINT);
+        Map<Integer, Object> constantValues = ImmutableMap.of(2, 42L);
+
+        try (ParquetSelectiveReader reader = createReader(types, constantValues, ImmutableMap.of(2, BigintRange.of(42, 42, false), 0, BigintRange.of(10, 19, false)), ImmutableList.of(2, 0))) {
+            List<List<Object>> rows = readRows(reader, ImmutableList.of(BIGINT, BIGINT));
+            assertEquals(rows, IntStream.range(10, 20)
+                    .mapToObj(row -> Arrays.<Object>asList(42L, (long) row))
+                    .collect(toImmutableList()));
+        }
+
+        try (ParquetSelectiveReader reader = createReader(types, constantValues, ImmutableMap.of(2, BigintRange.of(0, 1, false)), ImmutableList.of(0, 1, 2))) {
+            assertEquals(readRows(reader, types), ImmutableList.of());
+            assertEquals(reader.getReadPositions(), ROW_COUNT);
+        }
+    }
+
+    private void assertRows(Map<Integer, TupleDomainFilter> filters, List<Integer> outputChannels, IntPredicate selected)
+            throws IOException
+    {
+        try (ParquetSelectiveReader reader = createReader(filters, outputChannels)) {
+            List<Type> outputTypes = outputChannels.stream()
+                    .map(FILE_TYPES::get)
+                    .collect(toImmutableList());
+            assertEquals(readRows(reader, outputTypes), expectedRows(outputChannels, selected));
+            assertEquals(reader.getReadPositions(), ROW_COUNT);
+        }
+    }
+
+    private ParquetSelectiveReader createReader(Map<Integer, TupleDomainFilter> filters, List<Integer> outputChannels)
+            throws IOException
+    {
+        return createReader(FILE_TYPES, ImmutableMap.of(), filters, outputChannels);
+    }
+
+    private ParquetSelectiveReader createReader(List<Type> types, Map<Integer, Object> constantValues, Map<Integer, TupleDomainFilter> filters, List<Integer> outputChannels)
+            throws IOException
+    {
+        FileParquetDataSource dataSource = new FileParquetDataSource(parquetFile);
+        ParquetMetadata parquetMetadata = MetadataReader.readFooter(dataSource, parquetFile.length(), Optional.empty(), false).getParquetMetadata();
+        assertTrue(parquetMetadata.getBlocks().size() > 1, "the file should have several row groups");
+        MessageType schema = parquetMetadata.getFileMetaData().getSchema();
+        MessageColumnIO messageColumnIO = getColumnIO(schema, schema);
+        ParquetReader parquetReader = new ParquetReader(messageColumnIO, parquetMetadata.getBlocks(), Optional.empty(), dataSource, newSimpleAggregatedMemoryContext(), new DataSize(16, MEGABYTE), false, false, null, null, false, Optional.empty());
+
+        List<Optional<Field>> fields = new ArrayList<>();
+        for (int channel = 0; channel < types.size(); channel++) {
+            fields.add(constantValues.containsKey(channel) ? Optional.empty() : ColumnIOConverter.constructField(types.get(channel), messageColumnIO.getChild(channel)));
+        }
+        return new ParquetSelectiveReader(parquetReader, types, fields, constantValues, filters, ImmutableList.of(), outputChannels);
+    }
+
+    private static List<List<Object>> readRows(ParquetSelectiveReader reader, List<Type> outputTypes)
+            throws IOException
+    {
+        ImmutableList.Builder<List<Object>> rows = ImmutableList.builder();
+        for (Page page = reader.getNextPage(); page != null; page = reader.getNextPage()) {
+            rows.addAll(toRows(page, outputTypes));
+        }
+        return rows.build();
+    }
+
+    private static List<List<Object>> toRows(Page page, List<Type> types)
+    {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            List<Object> row = new ArrayList<>();
+            for (int channel = 0; channel < types.size(); channel++) {
+                row.add(getValue(types.get(channel), page.getBlock(channel), position));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<List<Object>> expectedRows(List<Integer> outputChannels, IntPredicate selected)
+    {
+        return IntStream.range(0, ROW_COUNT)
+                .filter(selected)
+                .mapToObj(row -> expectedRow(outputChannels, row))
+                .collect(toImmutableList());
+    }
+
+    private static List<Object> expectedRow(List<Integer> outputChannels, int row)
+    {
+        List<Object> values = new ArrayList<>();
+        for (int channel : outputChannels) {
+            values.add(channel == 0 ? Long.valueOf(row) : name(row));
+        }
+        return values;
+    }
+
+    private static Object getValue(Type type, Block block, int position)
+    {
+        if (block.isNull(position)) {
+            return null;
+        }
+        if (type == VARCHAR) {
+            return VARCHAR.getSlice(block, position).toStringUtf8();
+        }
+        return type.getLong(block, position);
+    }
+
+    private static String name(int row)
+    {
+        return row % 7 == 0 ? null : "name_" + (row % 10);
+    }
+
+    private static TupleDomainFilter bytesValues(String... values)
+    {
+        return BytesValues.of(Arrays.stream(values).map(value -> value.getBytes(UTF_8)).toArray(byte[][]::new), false);
+    }
+}
@@ -26,6 +26,9 @@ import com.facebook.presto.parquet.FileParquetDataSource;
 import com.facebook.presto.parquet.cache.MetadataReader;
 import com.facebook.presto.parquet.reader.ParquetReader;
 import com.google.common.collect.ImmutableList;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.io.ColumnIOConverter;
@@ -43,6 +46,8 @@ import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import static com.facebook.airlift.units.DataSize.Unit.MEGABYTE;
 import static com.facebook.presto.common.block.MethodHandleUtil.nativeValueGetter;
@@ -62,7 +67,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.io.Files.createTempDir;
 import static com.google.common.io.MoreFiles.deleteRecursively;
 import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
@@ -178,6 +185,81 @@ public class TestParquetWriter
         }
     }
 
+    @Test
+    public void testParallelEncodingWithDictionaryFallback()
+            throws Exception
+    {
+        temporaryDirectory = createTempDir();
+        parquetFile = new File(temporaryDirectory, randomUUID().toString());
+        List<Type> types = ImmutableList.of(VARCHAR, VARCHAR, BIGINT);
+        List<String> names = ImmutableList.of("col_1", "col_2", "col_3");
+        ParquetWriterOptions parquetWriterOptions = ParquetWriterOptions.builder()
+                .setMaxPageSize(DataSize.succinctBytes(1000))
+                .setMaxBlockSize(DataSize.succinctBytes(20000))
+                .setMaxDictionaryPageSize(DataSize.succinctBytes(1000))
+                .build();
+        int pageCount = 30;
+        int pageRowCount = 100;
+        ExecutorService executor = newFixedThreadPool(3);
+        try (ParquetWriter parquetWriter = createParquetWriter(parquetFile, types, names, parquetWriterOptions, CompressionCodecName.SNAPPY, executor)) {
+            for (int pageIdx = 0; pageIdx < pageCount; pageIdx++) {
+                PageBuilder pageBuilder = new PageBuilder(pageRowCount, types);
+                for (int rowIdx = 0; rowIdx < pageRowCount; rowIdx++) {
+                    int row = pageIdx * pageRowCount + rowIdx;
+                    VARCHAR.writeString(pageBuilder.getBlockBuilder(0), "value_" + (row % 5));
+                    VARCHAR.writeString(pageBuilder.getBlockBuilder(1), "unique_value_" + row);
+                    BIGINT.writeLong(pageBuilder.getBlockBuilder(2), row);
+                    pageBuilder.declarePosition();
+                }
+                parquetWriter.write(pageBuilder.build());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        FileParquetDataSource dataSource = new FileParquetDataSource(parquetFile);
+        ParquetMetadata parquetMetadata = MetadataReader.readFooter(dataSource, parquetFile.length(), Optional.empty(), false).getParquetMetadata();
+        List<BlockMetaData> rowGroups = parquetMetadata.getBlocks();
+        assertTrue(rowGroups.size() > 2);
+        for (int rowGroup = 0; rowGroup < rowGroups.size(); rowGroup++) {
+            List<ColumnChunkMetaData> columns = rowGroups.get(rowGroup).getColumns();
+            assertTrue(isDictionaryEncoded(columns.get(0)));
+            if (rowGroup > 0) {
+                // the unique values do not fit in the dictionary of the first row group
+                assertFalse(isDictionaryEncoded(columns.get(1)));
+            }
+        }
+
+        MessageType schema = parquetMetadata.getFileMetaData().getSchema();
+        MessageColumnIO messageColumnIO = getColumnIO(schema, schema);
+        List<Field> fields = ImmutableList.of(
+                ColumnIOConverter.constructField(VARCHAR, messageColumnIO.getChild(0)).get(),
+                ColumnIOConverter.constructField(VARCHAR, messageColumnIO.getChild(1)).get(),
+                ColumnIOConverter.constructField(BIGINT, messageColumnIO.getChild(2)).get());
+        ParquetReader parquetReader = new ParquetReader(messageColumnIO, rowGroups, Optional.empty(), dataSource, newSimpleAggregatedMemoryContext(), new DataSize(16, MEGABYTE), false, false, null, null, false, Optional.empty());
+        int row = 0;
+        int batchSize = parquetReader.nextBatch();
+        while (batchSize > 0) {
+            Block values = parquetReader.readBlock(fields.get(0));
+            Block uniqueValues = parquetReader.readBlock(fields.get(1));
+            Block rows = parquetReader.readBlock(fields.get(2));
+            for (int position = 0; position < batchSize; position++) {
+                assertEquals(BIGINT.getLong(rows, position), row);
+                assertEquals(VARCHAR.getSlice(values, position).toStringUtf8(), "value_" + (row % 5));
+                assertEquals(VARCHAR.getSlice(uniqueValues, position).toStringUtf8(), "unique_value_" + row);
+                row++;
+            }
+            batchSize = parquetReader.nextBatch();
+        }
+        assertEquals(row, pageCount * pageRowCount);
+    }
+
+    private static boolean isDictionaryEncoded(ColumnChunkMetaData column)
+    {
+        return column.getEncodings().stream().anyMatch(Encoding::usesDictionary);
+    }
+
     @DataProvider(name = "testMetadataCreation")
     public static Object[][] types()
     {
@@ -269,6 +351,13 @@ public class TestParquetWriter
     public static ParquetWriter createParquetWriter(File outputFile, List<Type> types, List<String> columnNames,
             ParquetWriterOptions parquetWriterOptions, CompressionCodecName compressionCodecName)
             throws Exception
+    {
+        return createParquetWriter(outputFile, types, columnNames, parquetWriterOptions, compressionCodecName, directExecutor());
+    }
+
+    public static ParquetWriter createParquetWriter(File outputFile, List<Type> types, List<String> columnNames,
+            ParquetWriterOptions parquetWriterOptions, CompressionCodecName compressionCodecName, Executor columnWriterExecutor)
+            throws Exception
     {
         checkArgument(types.size() == columnNames.size());
         ParquetSchemaConverter schemaConverter = new ParquetSchemaConverter(
@@ -281,7 +370,8 @@ public class TestParquetWriter
                 columnNames,
                 types,
                 parquetWriterOptions,
-                compressionCodecName.getHadoopCompressionCodecClassName());
+                compressionCodecName.getHadoopCompressionCodecClassName(),
+                columnWriterExecutor);
     }
 
     @AfterClass(alwaysRun = true)
@@ -22,4 +22,15 @@ public interface BucketFunction
      * Note the tuple values may be null.
      */
     int getBucket(Page page, int position);
+
+    /**
+     * Gets the bucket for every position of the page into {@code buckets},
+     * which must be at least as long as the page.
+     */
+    default void getBuckets(Page page, int[] buckets)
+    {
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            buckets[position] = getBucket(page, position);
+        }
+    }
 }